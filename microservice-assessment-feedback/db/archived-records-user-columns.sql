@@ -0,0 +1,27 @@
+-- Valorizzazione delle colonne student_id e teacher_id delle righe archiviate esistenti.
+--
+-- Da eseguire su PostgreSQL dopo l'avvio della versione che aggiunge le colonne (create da
+-- ddl-auto=update): le righe archiviate prima di allora le hanno vuote e non verrebbero trovate
+-- dall'anonimizzazione degli utenti. I feedback non riportano lo studente nel contenuto JSON e lo
+-- ereditano dalla valutazione archiviata con lo stesso corso. Lo script è idempotente: aggiorna
+-- solo le righe con entrambe le colonne vuote.
+
+BEGIN;
+
+UPDATE archived_records
+SET student_id = payload::jsonb ->> 'studentId',
+    teacher_id = payload::jsonb ->> 'teacherId'
+WHERE student_id IS NULL
+  AND teacher_id IS NULL
+  AND entity_type <> 'DETAILED_FEEDBACK';
+
+UPDATE archived_records f
+SET student_id = a.student_id
+FROM archived_records a
+WHERE f.entity_type = 'DETAILED_FEEDBACK'
+  AND f.student_id IS NULL
+  AND a.entity_type = 'ASSESSMENT'
+  AND a.course_id = f.course_id
+  AND a.entity_id = f.payload::jsonb ->> 'assessmentId';
+
+COMMIT;
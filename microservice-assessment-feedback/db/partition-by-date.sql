@@ -0,0 +1,96 @@
+-- Partizionamento per anno accademico di valutazioni e risposte ai questionari.
+--
+-- Da eseguire su PostgreSQL (11 o successivo), a servizio fermo. Le tabelle assessments e
+-- survey_responses diventano tabelle partizionate per intervallo su assessment_date e
+-- submission_date, con una partizione per anno accademico (<tabella>_ay<anno di inizio>, dal
+-- primo settembre) e una partizione di default per le date fuori dagli intervalli. Le partizioni
+-- degli anni successivi vengono create dal servizio (partitioning.*), che sposta nella nuova
+-- partizione le eventuali righe già finite in quella di default.
+--
+-- PostgreSQL richiede che la chiave primaria di una tabella partizionata contenga la chiave di
+-- partizione, quindi diventa (id, data). Di conseguenza nessuna chiave esterna può riferire
+-- assessments(id): solo qui viene rimosso il vincolo di detailed_feedback, che il mapping JPA
+-- continua a dichiarare per i database non partizionati, e il controllo è fatto dal servizio
+-- prima dell'eliminazione di una valutazione (409 Conflict se ha feedback). Le chiavi esterne delle tabelle convertite
+-- (survey_responses.survey_id) e gli indici vengono ricreati sulla tabella partizionata.
+--
+-- Lo script è idempotente: le tabelle già partizionate vengono saltate. Il mese di inizio
+-- dell'anno accademico deve coincidere con partitioning.academic-year-start-month.
+
+BEGIN;
+
+CREATE FUNCTION pg_temp.partition_by_academic_year(tbl text, col text, start_month int)
+RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+  old_table text := tbl || '_unpartitioned';
+  foreign_keys text[];
+  foreign_key_names text[];
+  index_defs text[];
+  def text;
+  first_year int;
+  last_year int;
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(tbl)) THEN
+    RAISE NOTICE 'Tabella % già partizionata', tbl;
+    RETURN;
+  END IF;
+
+  -- Le chiavi esterne verso la tabella non sono ammesse su una tabella partizionata senza vincolo
+  -- di unicità sul solo id: vanno rimosse.
+  FOR def IN
+    SELECT format('ALTER TABLE %s DROP CONSTRAINT %I', conrelid::regclass, conname)
+    FROM pg_constraint
+    WHERE contype = 'f' AND confrelid = to_regclass(tbl)
+  LOOP
+    EXECUTE def;
+  END LOOP;
+
+  -- Chiavi esterne e indici secondari della tabella, da ricreare dopo la copia.
+  SELECT array_agg(pg_get_constraintdef(oid)), array_agg(conname::text)
+  INTO foreign_keys, foreign_key_names
+  FROM pg_constraint
+  WHERE contype = 'f' AND conrelid = to_regclass(tbl);
+
+  SELECT array_agg(pg_get_indexdef(i.indexrelid))
+  INTO index_defs
+  FROM pg_index i
+  WHERE i.indrelid = to_regclass(tbl)
+    AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid);
+
+  EXECUTE format('ALTER TABLE %I RENAME TO %I', tbl, old_table);
+  EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS) '
+      || 'PARTITION BY RANGE (%I)', tbl, old_table, col);
+  EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', tbl || '_default', tbl);
+
+  -- Un anno accademico inizia il primo giorno di start_month: una data prima di quel mese
+  -- appartiene all'anno accademico iniziato l'anno solare precedente.
+  EXECUTE format('SELECT min(extract(year FROM %1$I) - CASE WHEN extract(month FROM %1$I) < %2$s '
+      || 'THEN 1 ELSE 0 END)::int FROM %3$I', col, start_month, old_table)
+  INTO first_year;
+  last_year := extract(year FROM now())::int
+      - CASE WHEN extract(month FROM now()) < start_month THEN 1 ELSE 0 END + 1;
+  FOR y IN COALESCE(LEAST(first_year, last_year), last_year)..last_year LOOP
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+        tbl || '_ay' || y, tbl, make_date(y, start_month, 1),
+        make_date(y + 1, start_month, 1));
+  END LOOP;
+
+  EXECUTE format('INSERT INTO %I SELECT * FROM %I', tbl, old_table);
+  EXECUTE format('DROP TABLE %I', old_table);
+
+  -- Chiave primaria e indici sono creati dopo il caricamento, una volta per partizione.
+  EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, %I)', tbl, col);
+  FOREACH def IN ARRAY COALESCE(index_defs, ARRAY[]::text[]) LOOP
+    EXECUTE def;
+  END LOOP;
+  FOR i IN 1..COALESCE(array_length(foreign_keys, 1), 0) LOOP
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I %s', tbl, foreign_key_names[i],
+        foreign_keys[i]);
+  END LOOP;
+  EXECUTE format('ANALYZE %I', tbl);
+END $$;
+
+SELECT pg_temp.partition_by_academic_year('assessments', 'assessment_date', 9);
+SELECT pg_temp.partition_by_academic_year('survey_responses', 'submission_date', 9);
+
+COMMIT;
@@ -0,0 +1,65 @@
+-- Conversione delle chiavi primarie di valutazioni, feedback e questionari da varchar a uuid.
+--
+-- Da eseguire su PostgreSQL, a servizio fermo, prima di avviare la versione che salva gli ID
+-- in colonne uuid native: con ddl-auto=update Hibernate non cambia il tipo delle colonne
+-- esistenti. Gli ID già presenti sono UUID versione 4 e vengono convertiti così come sono; i
+-- nuovi ID sono UUID versione 7, ordinati nel tempo. Lo script è idempotente: le colonne già
+-- di tipo uuid vengono saltate.
+
+BEGIN;
+
+-- Le chiavi esterne verso le tabelle convertite vanno rimosse e ricreate, perché i due lati
+-- devono avere lo stesso tipo.
+CREATE TEMP TABLE uuid_foreign_keys ON COMMIT DROP AS
+SELECT c.conrelid::regclass AS table_name, c.conname AS constraint_name,
+       pg_get_constraintdef(c.oid) AS definition
+FROM pg_constraint c
+WHERE c.contype = 'f'
+  AND c.confrelid IN ('assessments'::regclass, 'teacher_surveys'::regclass);
+
+DO $$
+DECLARE
+  fk record;
+BEGIN
+  FOR fk IN SELECT * FROM uuid_foreign_keys LOOP
+    EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.constraint_name);
+  END LOOP;
+END $$;
+
+DO $$
+DECLARE
+  col record;
+BEGIN
+  FOR col IN
+    SELECT table_name, column_name
+    FROM information_schema.columns
+    WHERE table_schema = current_schema()
+      AND data_type <> 'uuid'
+      AND (table_name, column_name) IN (
+        ('assessments', 'id'),
+        ('detailed_feedback', 'id'),
+        ('detailed_feedback', 'assessment_id'),
+        ('teacher_surveys', 'id'),
+        ('survey_responses', 'id'),
+        ('survey_responses', 'survey_id'),
+        ('survey_submissions', 'id'),
+        ('survey_submissions', 'survey_id'))
+  LOOP
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE uuid USING %I::uuid',
+        col.table_name, col.column_name, col.column_name);
+    -- La conversione riscrive tabella e indici: aggiorna le statistiche del pianificatore.
+    EXECUTE format('ANALYZE %I', col.table_name);
+  END LOOP;
+END $$;
+
+DO $$
+DECLARE
+  fk record;
+BEGIN
+  FOR fk IN SELECT * FROM uuid_foreign_keys LOOP
+    EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I %s',
+        fk.table_name, fk.constraint_name, fk.definition);
+  END LOOP;
+END $$;
+
+COMMIT;
@@ -2,6 +2,7 @@ package it.unimol.microserviceassessmentfeedback;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principale di avvio del microservizio Assessment Feedback.
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * dell'applicazione.
  */
 @SpringBootApplication
+@EnableScheduling
 public class MicroserviceAssessmentFeedbackApplication {
 
   public static void main(String[] args) {
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -71,6 +72,31 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
   }
 
+  /**
+   * Gestisce le eccezioni di tipo DataIntegrityViolationException, ad esempio l'eliminazione di
+   * una valutazione che ha ancora feedback associati. Il messaggio di un vincolo violato sul
+   * database non viene esposto perché contiene lo statement SQL.
+   *
+   * @param ex      l'eccezione lanciata
+   * @param request la richiesta HTTP che ha causato l'eccezione
+   * @return una ResponseEntity contenente i dettagli dell'errore e status 409
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+      DataIntegrityViolationException ex, HttpServletRequest request) {
+
+    ErrorResponse errorResponse = new ErrorResponse(
+        LocalDateTime.now(ZoneId.systemDefault()),
+        HttpStatus.CONFLICT.value(),
+        "Conflict",
+        ex.getCause() == null ? ex.getMessage()
+            : "L'operazione viola un vincolo di integrità dei dati",
+        request.getRequestURI()
+    );
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+  }
+
   /**
    * Gestisce gli errori di validazione dei parametri di input.
    *
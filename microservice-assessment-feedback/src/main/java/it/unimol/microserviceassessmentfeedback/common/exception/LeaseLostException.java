@@ -0,0 +1,25 @@
+package it.unimol.microserviceassessmentfeedback.common.exception;
+
+/**
+ * Lancia un'eccezione quando una replica perde il lease di un job di background durante
+ * l'esecuzione: il lavoro in corso va annullato perché un'altra replica può averlo ripreso.
+ */
+public class LeaseLostException extends RuntimeException {
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con messaggio.
+   *
+   * @param message il messaggio di errore
+   */
+  public LeaseLostException(String message) {
+    super(message);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+}
@@ -0,0 +1,536 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Insieme compresso di interi non negativi, organizzato come una bitmap Roaring.
+ *
+ * <p>I valori sono divisi in blocchi di 65536 in base ai 16 bit alti; ogni blocco è un
+ * contenitore ordinato per chiave. Un blocco con al più {@value #ARRAY_MAX} valori è un array
+ * ordinato dei 16 bit bassi (2 byte per valore), un blocco più denso è una bitmap di 8 KB: la
+ * memoria resta proporzionale ai valori presenti, mentre appartenenza e aggiunta costano una
+ * ricerca binaria sulle chiavi più un accesso al contenitore. Differenza e intersezione lavorano
+ * per contenitore, a parole di 64 bit quando entrambi sono bitmap.</p>
+ *
+ * <p>La classe non è thread-safe: chi la condivide tra thread deve sincronizzarne l'accesso.</p>
+ */
+public final class CompressedBitmap {
+
+  /**
+   * Numero massimo di valori di un contenitore array, oltre il quale diventa una bitmap.
+   */
+  static final int ARRAY_MAX = 4096;
+
+  private static final int MAGIC = 0x52424D31;
+  private static final int BITMAP_WORDS = 1024;
+
+  private char[] keys = new char[4];
+  private Container[] containers = new Container[4];
+  private int size;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di un insieme vuoto.
+   */
+  public CompressedBitmap() {
+  }
+
+  /**
+   * Crea un insieme con i valori indicati.
+   *
+   * @param values i valori, non negativi
+   * @return il nuovo insieme
+   */
+  public static CompressedBitmap of(int... values) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int value : values) {
+      bitmap.add(value);
+    }
+    return bitmap;
+  }
+
+  /**
+   * Legge un insieme prodotto da {@link #serialize()}.
+   *
+   * @param bytes il contenuto serializzato
+   * @return l'insieme
+   * @throws IllegalArgumentException se il contenuto non è un insieme serializzato
+   */
+  public static CompressedBitmap deserialize(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if (bytes.length < 2 * Integer.BYTES || buffer.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Formato della bitmap non riconosciuto");
+    }
+    CompressedBitmap bitmap = new CompressedBitmap();
+    int count = buffer.getInt();
+    for (int i = 0; i < count; i++) {
+      char key = buffer.getChar();
+      int cardinality = buffer.getInt();
+      Container container;
+      if (cardinality <= ARRAY_MAX) {
+        char[] values = new char[cardinality];
+        buffer.asCharBuffer().get(values);
+        buffer.position(buffer.position() + cardinality * Character.BYTES);
+        container = new ArrayContainer(values, cardinality);
+      } else {
+        long[] words = new long[BITMAP_WORDS];
+        buffer.asLongBuffer().get(words);
+        buffer.position(buffer.position() + BITMAP_WORDS * Long.BYTES);
+        container = new BitmapContainer(words, cardinality);
+      }
+      bitmap.append(key, container);
+    }
+    return bitmap;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CompressedBitmap that)) {
+      return false;
+    }
+    return Arrays.equals(toArray(), that.toArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toArray());
+  }
+
+  @Override
+  public String toString() {
+    return "CompressedBitmap{"
+        + "cardinality=" + getCardinality()
+        + ", containers=" + size
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se l'insieme contiene un valore.
+   *
+   * @param value il valore
+   * @return true se il valore è presente
+   */
+  public boolean contains(int value) {
+    int index = indexOf(high(value));
+    return index >= 0 && containers[index].contains(low(value));
+  }
+
+  /**
+   * Restituisce il numero di valori presenti.
+   *
+   * @return la cardinalità dell'insieme
+   */
+  public long getCardinality() {
+    long cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += containers[i].cardinality;
+    }
+    return cardinality;
+  }
+
+  /**
+   * Indica se l'insieme è vuoto.
+   *
+   * @return true se non ci sono valori
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Aggiunge un valore.
+   *
+   * @param value il valore, non negativo
+   * @return true se il valore non era presente
+   * @throws IllegalArgumentException se il valore è negativo
+   */
+  public boolean add(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Valore negativo: " + value);
+    }
+    char key = high(value);
+    int index = indexOf(key);
+    if (index < 0) {
+      index = -index - 1;
+      insert(index, key, new ArrayContainer(new char[4], 0));
+    }
+    Container container = containers[index];
+    int before = container.cardinality;
+    containers[index] = container.add(low(value));
+    return containers[index].cardinality > before;
+  }
+
+  /**
+   * Aggiunge tutti i valori di un altro insieme.
+   *
+   * @param other l'insieme da unire a questo
+   */
+  public void or(CompressedBitmap other) {
+    for (int j = 0; j < other.size; j++) {
+      int index = indexOf(other.keys[j]);
+      if (index < 0) {
+        insert(-index - 1, other.keys[j], other.containers[j].copy());
+      } else {
+        containers[index] = containers[index].or(other.containers[j]);
+      }
+    }
+  }
+
+  /**
+   * Calcola i valori di questo insieme assenti nell'altro.
+   *
+   * @param other l'insieme da sottrarre
+   * @return un nuovo insieme con la differenza
+   */
+  public CompressedBitmap andNot(CompressedBitmap other) {
+    CompressedBitmap result = new CompressedBitmap();
+    for (int i = 0; i < size; i++) {
+      int index = other.indexOf(keys[i]);
+      Container container = index < 0
+          ? containers[i].copy() : containers[i].andNot(other.containers[index]);
+      if (container.cardinality > 0) {
+        result.append(keys[i], container);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Conta i valori presenti in entrambi gli insiemi, senza costruire l'intersezione.
+   *
+   * @param other l'altro insieme
+   * @return la cardinalità dell'intersezione
+   */
+  public long andCardinality(CompressedBitmap other) {
+    long cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      int index = other.indexOf(keys[i]);
+      if (index >= 0) {
+        cardinality += containers[i].andCardinality(other.containers[index]);
+      }
+    }
+    return cardinality;
+  }
+
+  /**
+   * Passa i valori in ordine crescente a un consumer.
+   *
+   * @param consumer il consumer dei valori
+   */
+  public void forEach(IntConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      containers[i].forEach(keys[i] << 16, consumer);
+    }
+  }
+
+  /**
+   * Restituisce i valori in ordine crescente.
+   *
+   * @return l'array dei valori
+   */
+  public int[] toArray() {
+    int[] values = new int[Math.toIntExact(getCardinality())];
+    int[] position = {0};
+    forEach(value -> values[position[0]++] = value);
+    return values;
+  }
+
+  /**
+   * Restituisce una copia indipendente dell'insieme.
+   *
+   * @return la copia
+   */
+  public CompressedBitmap copy() {
+    CompressedBitmap copy = new CompressedBitmap();
+    for (int i = 0; i < size; i++) {
+      copy.append(keys[i], containers[i].copy());
+    }
+    return copy;
+  }
+
+  /**
+   * Serializza l'insieme in un formato compatto e indipendente dall'architettura.
+   *
+   * @return il contenuto serializzato
+   */
+  public byte[] serialize() {
+    int length = 2 * Integer.BYTES;
+    for (int i = 0; i < size; i++) {
+      int cardinality = containers[i].cardinality;
+      length += Character.BYTES + Integer.BYTES + (cardinality <= ARRAY_MAX
+          ? cardinality * Character.BYTES : BITMAP_WORDS * Long.BYTES);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    buffer.putInt(MAGIC).putInt(size);
+    for (int i = 0; i < size; i++) {
+      Container container = containers[i];
+      buffer.putChar(keys[i]).putInt(container.cardinality);
+      if (container.cardinality <= ARRAY_MAX) {
+        container.forEach(0, value -> buffer.putChar((char) value));
+      } else {
+        for (long word : ((BitmapContainer) container).words) {
+          buffer.putLong(word);
+        }
+      }
+    }
+    return buffer.array();
+  }
+
+  private int indexOf(char key) {
+    return Arrays.binarySearch(keys, 0, size, key);
+  }
+
+  private void insert(int index, char key, Container container) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      containers = Arrays.copyOf(containers, size * 2);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = container;
+    size++;
+  }
+
+  private void append(char key, Container container) {
+    insert(size, key, container);
+  }
+
+  private static char high(int value) {
+    return (char) (value >>> 16);
+  }
+
+  private static char low(int value) {
+    return (char) value;
+  }
+
+  /**
+   * Blocco di 65536 valori consecutivi, rappresentato dai 16 bit bassi.
+   */
+  private abstract static class Container {
+
+    int cardinality;
+
+    abstract boolean contains(char value);
+
+    /**
+     * Aggiunge un valore, restituendo il contenitore da usare al posto di questo.
+     */
+    abstract Container add(char value);
+
+    /**
+     * Unisce un altro contenitore, restituendo il contenitore da usare al posto di questo.
+     */
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract long andCardinality(Container other);
+
+    abstract void forEach(int base, IntConsumer consumer);
+
+    abstract Container copy();
+  }
+
+  /**
+   * Contenitore sparso: array ordinato dei valori.
+   */
+  private static final class ArrayContainer extends Container {
+
+    private char[] values;
+
+    ArrayContainer(char[] values, int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        return this;
+      }
+      if (cardinality == ARRAY_MAX) {
+        return toBitmap().add(value);
+      }
+      index = -index - 1;
+      if (cardinality == values.length) {
+        values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+      }
+      System.arraycopy(values, index, values, index + 1, cardinality - index);
+      values[index] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    Container or(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        return bitmap.copy().or(this);
+      }
+      Container result = this;
+      ArrayContainer array = (ArrayContainer) other;
+      for (int i = 0; i < array.cardinality; i++) {
+        result = result.add(array.values[i]);
+      }
+      return result;
+    }
+
+    @Override
+    Container andNot(Container other) {
+      char[] remaining = new char[cardinality];
+      int count = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (!other.contains(values[i])) {
+          remaining[count++] = values[i];
+        }
+      }
+      return new ArrayContainer(remaining, count);
+    }
+
+    @Override
+    long andCardinality(Container other) {
+      long count = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (other.contains(values[i])) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    void forEach(int base, IntConsumer consumer) {
+      for (int i = 0; i < cardinality; i++) {
+        consumer.accept(base | values[i]);
+      }
+    }
+
+    @Override
+    Container copy() {
+      return new ArrayContainer(Arrays.copyOf(values, Math.max(4, cardinality)), cardinality);
+    }
+
+    private BitmapContainer toBitmap() {
+      BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+      for (int i = 0; i < cardinality; i++) {
+        bitmap.add(values[i]);
+      }
+      return bitmap;
+    }
+  }
+
+  /**
+   * Contenitore denso: un bit per ciascuno dei 65536 valori del blocco.
+   */
+  private static final class BitmapContainer extends Container {
+
+    private final long[] words;
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(char value) {
+      long before = words[value >>> 6];
+      words[value >>> 6] = before | (1L << value);
+      if (words[value >>> 6] != before) {
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    Container or(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        int count = 0;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          words[i] |= bitmap.words[i];
+          count += Long.bitCount(words[i]);
+        }
+        cardinality = count;
+        return this;
+      }
+      other.forEach(0, value -> add((char) value));
+      return this;
+    }
+
+    @Override
+    Container andNot(Container other) {
+      long[] remaining = Arrays.copyOf(words, BITMAP_WORDS);
+      if (other instanceof BitmapContainer bitmap) {
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          remaining[i] &= ~bitmap.words[i];
+        }
+      } else {
+        other.forEach(0, value -> remaining[value >>> 6] &= ~(1L << value));
+      }
+      int count = 0;
+      for (long word : remaining) {
+        count += Long.bitCount(word);
+      }
+      BitmapContainer result = new BitmapContainer(remaining, count);
+      return count > ARRAY_MAX ? result : result.toArray();
+    }
+
+    @Override
+    long andCardinality(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        long count = 0;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          count += Long.bitCount(words[i] & bitmap.words[i]);
+        }
+        return count;
+      }
+      return other.andCardinality(this);
+    }
+
+    @Override
+    void forEach(int base, IntConsumer consumer) {
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          consumer.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+    }
+
+    @Override
+    Container copy() {
+      return new BitmapContainer(Arrays.copyOf(words, BITMAP_WORDS), cardinality);
+    }
+
+    private ArrayContainer toArray() {
+      char[] values = new char[Math.max(4, cardinality)];
+      int[] count = {0};
+      forEach(0, value -> values[count[0]++] = (char) value);
+      return new ArrayContainer(values, cardinality);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Serializzazione delle domande dei questionari con cache delle liste già deserializzate.
+ *
+ * <p>Le domande sono salvate come JSON insieme a una versione, l'hash del JSON calcolato in
+ * scrittura. La versione resta stabile anche se il database normalizza il documento (come fa
+ * {@code jsonb}), quindi può fare da chiave di una cache LRU limitata: tutti i questionari con
+ * le stesse domande, e tutte le letture dello stesso questionario, condividono una sola lista
+ * deserializzata. Le liste in cache sono non modificabili e condivise, quindi né la lista né le
+ * domande vanno modificate da chi le riceve.</p>
+ */
+public final class SurveyQuestionsCodec {
+
+  static final int MAX_CACHED_VERSIONS = 1024;
+
+  private static final ListToJsonConverter CONVERTER = new ListToJsonConverter();
+  private static final Map<String, List<SurveyQuestionDto>> CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<String, List<SurveyQuestionDto>>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<SurveyQuestionDto>> eldest) {
+          return size() > MAX_CACHED_VERSIONS;
+        }
+      });
+
+  // ============ Costruttore ============
+
+  private SurveyQuestionsCodec() {
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Serializza le domande in JSON.
+   *
+   * @param questions le domande
+   * @return il JSON delle domande, o null se la lista è vuota o null
+   */
+  public static String encode(List<SurveyQuestionDto> questions) {
+    return CONVERTER.convertToDatabaseColumn(questions);
+  }
+
+  /**
+   * Calcola la versione di un JSON di domande.
+   *
+   * @param json il JSON delle domande
+   * @return l'hash del JSON, o null se il JSON è null
+   */
+  public static String version(String json) {
+    if (json == null) {
+      return null;
+    }
+    return DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Restituisce le domande deserializzate, dalla cache se la versione è già nota.
+   *
+   * @param version la versione salvata con il JSON, null se non ancora calcolata
+   * @param json il JSON delle domande
+   * @return la lista non modificabile delle domande, o null se il JSON è vuoto o non valido
+   */
+  public static List<SurveyQuestionDto> decode(String version, String json) {
+    if (json == null || json.isBlank()) {
+      return null;
+    }
+
+    String key = version != null ? version : version(json);
+    List<SurveyQuestionDto> cached = CACHE.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    List<SurveyQuestionDto> parsed = CONVERTER.convertToEntityAttribute(json);
+    if (parsed == null) {
+      return null;
+    }
+    List<SurveyQuestionDto> interned = Collections.unmodifiableList(new ArrayList<>(parsed));
+    List<SurveyQuestionDto> previous = CACHE.putIfAbsent(key, interned);
+    return previous != null ? previous : interned;
+  }
+
+  static int cachedVersions() {
+    return CACHE.size();
+  }
+
+  static void clearCache() {
+    CACHE.clear();
+  }
+}
@@ -0,0 +1,103 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generatore degli ID delle entità come UUID versione 7 (RFC 9562), ordinati nel tempo.
+ *
+ * <p>I primi 48 bit sono il timestamp in millisecondi, seguiti da un contatore di 12 bit che
+ * rende gli ID generati dalla stessa istanza strettamente crescenti anche nello stesso
+ * millisecondo; il resto è casuale. Gli inserimenti finiscono così in coda all'indice della
+ * chiave primaria invece che in pagine casuali, come accade con gli UUID versione 4. Nella forma
+ * testuale l'ordine lessicografico coincide con quello temporale, quindi anche le colonne
+ * {@code varchar} e le scansioni keyset ne beneficiano.</p>
+ */
+public final class TimeOrderedIds {
+
+  /**
+   * Il più piccolo UUID, da usare come chiave di partenza delle scansioni keyset.
+   */
+  public static final String MIN = "00000000-0000-0000-0000-000000000000";
+
+  private static final int COUNTER_BITS = 12;
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+  private static final long VARIANT_RFC = 0x8000000000000000L;
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+  // ============ Costruttore ============
+
+  private TimeOrderedIds() {
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se una stringa è un UUID in forma canonica, quindi memorizzabile in una colonna
+   * {@code uuid}.
+   *
+   * @param id la stringa da verificare
+   * @return true se la stringa è un UUID valido
+   */
+  public static boolean isValid(String id) {
+    if (id == null || id.length() != 36) {
+      return false;
+    }
+    try {
+      UUID.fromString(id);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Genera un nuovo ID.
+   *
+   * @return l'ID in forma canonica minuscola
+   */
+  public static String next() {
+    return nextUuid().toString();
+  }
+
+  /**
+   * Genera un nuovo UUID versione 7, maggiore di tutti quelli generati in precedenza da questa
+   * istanza. Oltre 4096 ID nello stesso millisecondo il timestamp avanza di un'unità, come
+   * previsto dalla specifica.
+   *
+   * @return il nuovo UUID
+   */
+  public static UUID nextUuid() {
+    long now = System.currentTimeMillis() << COUNTER_BITS;
+    long stamp = LAST_STAMP.updateAndGet(last -> Math.max(last + 1, now));
+    long millis = stamp >>> COUNTER_BITS;
+    long counter = stamp & ((1L << COUNTER_BITS) - 1);
+
+    long mostSignificant = (millis << 16) | VERSION_7 | counter;
+    long leastSignificant = (RANDOM.nextLong() & VARIANT_MASK) | VARIANT_RFC;
+    return new UUID(mostSignificant, leastSignificant);
+  }
+
+  /**
+   * Estrae il timestamp in millisecondi da un ID generato da questa classe.
+   *
+   * @param id l'ID
+   * @return i millisecondi dall'epoca Unix codificati nell'ID
+   * @throws IllegalArgumentException se l'ID non è un UUID versione 7
+   */
+  public static long timestampOf(String id) {
+    UUID uuid = UUID.fromString(id);
+    if (uuid.version() != 7) {
+      throw new IllegalArgumentException("ID non ordinato nel tempo: " + id);
+    }
+    return uuid.getMostSignificantBits() >>> 16;
+  }
+}
@@ -0,0 +1,50 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import java.util.UUID;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+
+/**
+ * Tipo Hibernate per gli ID {@code String} salvati in colonne {@code uuid} native.
+ *
+ * <p>Le entità continuano a esporre l'ID come stringa, mentre il database lo memorizza in 16 byte
+ * invece che come testo di 36 caratteri, insieme a tutte le chiavi esterne che lo referenziano.
+ * Si usa insieme a {@code @JdbcTypeCode(SqlTypes.UUID)}.</p>
+ *
+ * <p>Una stringa che non è un UUID non può esistere nella colonna: nelle ricerche viene
+ * convertita in {@link TimeOrderedIds#MIN}, che non viene mai generato, così un ID malformato
+ * ricevuto da un client produce "non trovato" invece di un errore di conversione.</p>
+ */
+public class UuidStringJavaType extends StringJavaType {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final UUID NO_MATCH = UUID.fromString(TimeOrderedIds.MIN);
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default, usato da Hibernate.
+   */
+  public UuidStringJavaType() {
+    super();
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+    if (value != null && UUID.class.isAssignableFrom(type)) {
+      return type.cast(TimeOrderedIds.isValid(value) ? UUID.fromString(value) : NO_MATCH);
+    }
+    return super.unwrap(value, type, options);
+  }
+
+  @Override
+  public <X> String wrap(X value, WrapperOptions options) {
+    if (value instanceof UUID uuid) {
+      return uuid.toString();
+    }
+    return super.wrap(value, options);
+  }
+}
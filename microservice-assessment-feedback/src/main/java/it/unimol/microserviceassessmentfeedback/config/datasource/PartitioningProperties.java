@@ -0,0 +1,157 @@
+package it.unimol.microserviceassessmentfeedback.config.datasource;
+
+import it.unimol.microserviceassessmentfeedback.service.partitioning.AcademicYear;
+import java.time.LocalDateTime;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties per il partizionamento per anno accademico delle tabelle assessments e
+ * survey_responses. Mappa le configurazioni dal file application.properties con prefisso
+ * "partitioning".
+ */
+@Component
+@ConfigurationProperties(prefix = "partitioning")
+public class PartitioningProperties {
+
+  private boolean enabled = false;
+  private int academicYearStartMonth = 9;
+  private int futureYears = 1;
+  private int retainedYears = 0;
+  private String archiveSchema = "archive";
+  private long lockTimeoutMs = 5000;
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se le tabelle sono state partizionate con lo script di partizionamento.
+   *
+   * @return true se le tabelle sono partizionate
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Imposta se le tabelle sono partizionate.
+   *
+   * @param enabled true dopo aver eseguito lo script di partizionamento
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Ottiene il mese di inizio dell'anno accademico.
+   *
+   * @return il mese, da 1 a 12
+   */
+  public int getAcademicYearStartMonth() {
+    return academicYearStartMonth;
+  }
+
+  /**
+   * Imposta il mese di inizio dell'anno accademico; deve coincidere con quello usato dallo script
+   * di partizionamento.
+   *
+   * @param academicYearStartMonth il mese, da 1 a 12
+   */
+  public void setAcademicYearStartMonth(int academicYearStartMonth) {
+    this.academicYearStartMonth = academicYearStartMonth;
+  }
+
+  /**
+   * Ottiene il numero di anni accademici futuri per cui le partizioni vengono create in anticipo.
+   *
+   * @return il numero di anni futuri
+   */
+  public int getFutureYears() {
+    return futureYears;
+  }
+
+  /**
+   * Imposta il numero di anni accademici futuri per cui le partizioni vengono create in anticipo.
+   *
+   * @param futureYears il numero di anni futuri
+   */
+  public void setFutureYears(int futureYears) {
+    this.futureYears = futureYears;
+  }
+
+  /**
+   * Ottiene il numero di anni accademici passati mantenuti nelle tabelle; le partizioni più
+   * vecchie vengono archiviate. Zero disattiva l'archiviazione automatica.
+   *
+   * @return il numero di anni mantenuti
+   */
+  public int getRetainedYears() {
+    return retainedYears;
+  }
+
+  /**
+   * Imposta il numero di anni accademici passati mantenuti nelle tabelle.
+   *
+   * @param retainedYears il numero di anni mantenuti, zero per non archiviare
+   */
+  public void setRetainedYears(int retainedYears) {
+    this.retainedYears = retainedYears;
+  }
+
+  /**
+   * Ottiene lo schema in cui vengono spostate le partizioni archiviate.
+   *
+   * @return lo schema di archivio
+   */
+  public String getArchiveSchema() {
+    return archiveSchema;
+  }
+
+  /**
+   * Imposta lo schema in cui vengono spostate le partizioni archiviate.
+   *
+   * @param archiveSchema lo schema di archivio
+   */
+  public void setArchiveSchema(String archiveSchema) {
+    this.archiveSchema = archiveSchema;
+  }
+
+  /**
+   * Ottiene l'attesa massima dei lock sulle tabelle durante la manutenzione delle partizioni.
+   *
+   * @return l'attesa massima in millisecondi
+   */
+  public long getLockTimeoutMs() {
+    return lockTimeoutMs;
+  }
+
+  /**
+   * Imposta l'attesa massima dei lock sulle tabelle durante la manutenzione delle partizioni.
+   *
+   * @param lockTimeoutMs l'attesa massima in millisecondi
+   */
+  public void setLockTimeoutMs(long lockTimeoutMs) {
+    this.lockTimeoutMs = lockTimeoutMs;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Restituisce il limite inferiore sulla data di invio per le letture delle risposte a un
+   * questionario. Con le tabelle partizionate è l'inizio dell'anno accademico in cui il
+   * questionario è stato creato, così la lettura salta le partizioni precedenti senza escludere
+   * risposte registrate poco prima della data di creazione; altrimenti non serve alcun limite.
+   *
+   * @param surveyCreatedAt la data di creazione del questionario, se nota
+   * @return il limite inferiore, o null se la lettura non va limitata
+   */
+  public LocalDateTime responsesLowerBound(LocalDateTime surveyCreatedAt) {
+    if (!enabled || surveyCreatedAt == null) {
+      return null;
+    }
+    return AcademicYear.containing(surveyCreatedAt.toLocalDate(), academicYearStartMonth).start();
+  }
+}
@@ -0,0 +1,122 @@
+package it.unimol.microserviceassessmentfeedback.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configurazione del DataSource con repliche in lettura, attiva con
+ * {@code datasource.replicas.enabled=true}.
+ *
+ * <p>Il primario ({@code spring.datasource.*}) e ogni replica hanno un pool Hikari separato, con
+ * le impostazioni comuni di {@code spring.datasource.hikari.*} e le metriche {@code hikaricp.*}
+ * per pool. Il DataSource dell'applicazione è un {@link LazyConnectionDataSourceProxy} su
+ * {@link ReplicaRoutingDataSource}: la connessione fisica viene presa al primo statement, quando
+ * è noto se la transazione è in sola lettura.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+  private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Crea i pool del primario e delle repliche e il DataSource che instrada le connessioni.
+   *
+   * @param dataSourceProperties la configurazione del primario
+   * @param replicaProperties la configurazione delle repliche
+   * @param environment l'ambiente, per le impostazioni Hikari comuni
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   * @return il DataSource che instrada le connessioni
+   */
+  @Bean(destroyMethod = "close")
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      DataSourceProperties dataSourceProperties, ReadReplicaProperties replicaProperties,
+      Environment environment, MeterRegistry meterRegistry) {
+    Binder binder = Binder.get(environment);
+    HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    configurePool(primary, ReplicaRoutingDataSource.PRIMARY, binder, meterRegistry);
+
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (ReadReplicaProperties.Target target : replicaProperties.getTargets()) {
+      String name = target.getName() != null ? target.getName() : "replica-" + replicas.size();
+      HikariDataSource replica = DataSourceBuilder.create()
+          .type(HikariDataSource.class)
+          .driverClassName(dataSourceProperties.determineDriverClassName())
+          .url(target.getUrl())
+          .username(target.getUsername() != null
+              ? target.getUsername() : dataSourceProperties.determineUsername())
+          .password(target.getPassword() != null
+              ? target.getPassword() : dataSourceProperties.determinePassword())
+          .build();
+      configurePool(replica, name, binder, meterRegistry);
+      replica.setMaximumPoolSize(target.getMaximumPoolSize());
+      replica.setReadOnly(true);
+      // Una replica irraggiungibile all'avvio non blocca l'applicazione: le letture vanno al
+      // primario finché la misura del ritardo non riesce
+      replica.setInitializationFailTimeout(-1);
+      replicas.put(name, replica);
+    }
+    return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getMaxLagMs(),
+        replicaProperties.getLagQuery(), replicaProperties.isRepositoryReads(), meterRegistry);
+  }
+
+  /**
+   * DataSource dell'applicazione: scritture e transazioni ordinarie sul primario, transazioni in
+   * sola lettura sulle repliche.
+   *
+   * @param replicaRoutingDataSource il DataSource che instrada le connessioni
+   * @return il DataSource principale
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  /**
+   * Rilascia la connessione alla fine di ogni transazione invece che alla chiusura della sessione:
+   * con open-in-view una richiesta può eseguire una transazione in sola lettura e poi una di
+   * scrittura, e ognuna deve prendere la propria connessione.
+   *
+   * @return il customizer delle proprietà Hibernate
+   */
+  @Bean
+  public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+    return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+
+  private static void configurePool(HikariDataSource pool, String name, Binder binder,
+      MeterRegistry meterRegistry) {
+    binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+    pool.setPoolName(name);
+    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+  }
+}
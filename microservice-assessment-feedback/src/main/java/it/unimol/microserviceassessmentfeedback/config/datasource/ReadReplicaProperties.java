@@ -0,0 +1,232 @@
+package it.unimol.microserviceassessmentfeedback.config.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Properties per l'instradamento delle letture verso le repliche del database. Mappa le
+ * configurazioni dal file application.properties con prefisso "datasource.replicas".
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReadReplicaProperties {
+
+  /**
+   * Query di default per il ritardo di replica su PostgreSQL, in millisecondi. Una replica che ha
+   * applicato tutto il WAL ricevuto ha ritardo zero anche se il primario è inattivo.
+   */
+  public static final String POSTGRES_LAG_QUERY = "SELECT CASE "
+      + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+      + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) "
+      + "END";
+
+  private boolean enabled = false;
+  private List<Target> targets = new ArrayList<>();
+  private long maxLagMs = 5000;
+  private String lagQuery = POSTGRES_LAG_QUERY;
+  private boolean repositoryReads = false;
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se l'instradamento verso le repliche è attivo.
+   *
+   * @return true se attivo
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Imposta se l'instradamento verso le repliche è attivo.
+   *
+   * @param enabled true per attivarlo
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Ottiene le repliche configurate.
+   *
+   * @return le repliche
+   */
+  public List<Target> getTargets() {
+    return targets;
+  }
+
+  /**
+   * Imposta le repliche configurate.
+   *
+   * @param targets le repliche
+   */
+  public void setTargets(List<Target> targets) {
+    this.targets = targets;
+  }
+
+  /**
+   * Ottiene il ritardo massimo oltre il quale una replica non riceve letture.
+   *
+   * @return il ritardo massimo in millisecondi
+   */
+  public long getMaxLagMs() {
+    return maxLagMs;
+  }
+
+  /**
+   * Imposta il ritardo massimo oltre il quale una replica non riceve letture.
+   *
+   * @param maxLagMs il ritardo massimo in millisecondi
+   */
+  public void setMaxLagMs(long maxLagMs) {
+    this.maxLagMs = maxLagMs;
+  }
+
+  /**
+   * Ottiene la query che restituisce il ritardo di una replica in millisecondi.
+   *
+   * @return la query
+   */
+  public String getLagQuery() {
+    return lagQuery;
+  }
+
+  /**
+   * Imposta la query che restituisce il ritardo di una replica in millisecondi.
+   *
+   * @param lagQuery la query
+   */
+  public void setLagQuery(String lagQuery) {
+    this.lagQuery = lagQuery;
+  }
+
+  /**
+   * Indica se anche le transazioni in sola lettura aperte da Spring Data attorno alle singole
+   * chiamate ai repository vanno sulle repliche.
+   *
+   * @return true se vanno sulle repliche
+   */
+  public boolean isRepositoryReads() {
+    return repositoryReads;
+  }
+
+  /**
+   * Imposta se anche le transazioni in sola lettura aperte da Spring Data attorno alle singole
+   * chiamate ai repository vanno sulle repliche.
+   *
+   * @param repositoryReads true per instradarle sulle repliche
+   */
+  public void setRepositoryReads(boolean repositoryReads) {
+    this.repositoryReads = repositoryReads;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Una replica del database, con il proprio pool di connessioni.
+   */
+  public static class Target {
+
+    private String name;
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+
+    /**
+     * Ottiene il nome della replica, usato nel pool e nelle metriche.
+     *
+     * @return il nome della replica
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Imposta il nome della replica, usato nel pool e nelle metriche.
+     *
+     * @param name il nome della replica
+     */
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Ottiene l'URL JDBC della replica.
+     *
+     * @return l'URL JDBC
+     */
+    public String getUrl() {
+      return url;
+    }
+
+    /**
+     * Imposta l'URL JDBC della replica.
+     *
+     * @param url l'URL JDBC
+     */
+    public void setUrl(String url) {
+      this.url = url;
+    }
+
+    /**
+     * Ottiene l'utente della replica; se assente si usa quello del primario.
+     *
+     * @return l'utente
+     */
+    public String getUsername() {
+      return username;
+    }
+
+    /**
+     * Imposta l'utente della replica.
+     *
+     * @param username l'utente
+     */
+    public void setUsername(String username) {
+      this.username = username;
+    }
+
+    /**
+     * Ottiene la password della replica; se assente si usa quella del primario.
+     *
+     * @return la password
+     */
+    public String getPassword() {
+      return password;
+    }
+
+    /**
+     * Imposta la password della replica.
+     *
+     * @param password la password
+     */
+    public void setPassword(String password) {
+      this.password = password;
+    }
+
+    /**
+     * Ottiene la dimensione massima del pool della replica.
+     *
+     * @return la dimensione massima del pool
+     */
+    public int getMaximumPoolSize() {
+      return maximumPoolSize;
+    }
+
+    /**
+     * Imposta la dimensione massima del pool della replica.
+     *
+     * @param maximumPoolSize la dimensione massima del pool
+     */
+    public void setMaximumPoolSize(int maximumPoolSize) {
+      this.maximumPoolSize = maximumPoolSize;
+    }
+  }
+}
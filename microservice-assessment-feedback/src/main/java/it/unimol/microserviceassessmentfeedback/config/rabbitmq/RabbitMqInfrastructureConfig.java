@@ -21,21 +21,57 @@ import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.FEEDBACK_UPDATED;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.SURVEY_COMMENTS_REQUESTED;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.SURVEY_COMPLETED;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.SURVEY_LIFECYCLE_CHANGED;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.SURVEY_RESPONSES_BULK_SUBMITTED;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.SURVEY_RESPONSE_SUBMITTED;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.SURVEY_RESULTS_REQUESTED;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.PublisherRoutingKeys.USER_ANONYMISED;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.DEAD_LETTER_ROUTING_KEY;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_ASSESSMENT;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_ASSIGNMENT;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_COURSE;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_EXAM;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_FEEDBACK;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_PARTITION;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_SURVEY;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.FAMILY_USER;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.QUEUE_MODE_LAZY;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.QUEUE_TYPE_QUORUM;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_DEAD_LETTER_EXCHANGE;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_DEAD_LETTER_ROUTING_KEY;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_DELIVERY_LIMIT;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_MAX_LENGTH;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_MAX_PRIORITY;
 import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_MESSAGE_TTL;
-
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_OVERFLOW;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_QUEUE_MODE;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_QUEUE_TYPE;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.QueueConfigurationConstants.X_SINGLE_ACTIVE_CONSUMER;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.CACHE_INVALIDATION_QUEUE_PREFIX;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.CONSISTENT_HASH_EXCHANGE_TYPE;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.DEFAULT_PARTITION_WEIGHT;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.HASH_HEADER_ARGUMENT;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -46,6 +82,8 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMqInfrastructureConfig {
 
+  private static final Logger logger = LoggerFactory.getLogger(RabbitMqInfrastructureConfig.class);
+
   private final RabbitMqProperties properties;
 
   // ============ Costruttore ============
@@ -65,6 +103,25 @@ public class RabbitMqInfrastructureConfig {
 
   // ============ Metodi di Classe ============
 
+  // ===================================================================
+  //  ADMIN
+  // ===================================================================
+
+  /**
+   * Crea il RabbitAdmin che dichiara exchange, code e binding all'apertura della connessione.
+   *
+   * <p>Gli errori di dichiarazione vengono propagati. Fanno eccezione le sole code costruite dai
+   * profili di famiglia, marcate singolarmente per ignorare l'errore: una coda già esistente con
+   * argomenti diversi dal profilo configurato viene gestita da {@link RabbitMqQueueReconciler}.</p>
+   *
+   * @param connectionFactory la factory di connessione RabbitMQ
+   * @return il RabbitAdmin configurato
+   */
+  @Bean
+  public RabbitAdmin rabbitAdmin(ConnectionFactory connectionFactory) {
+    return new RabbitAdmin(connectionFactory);
+  }
+
   // ===================================================================
   //  EXCHANGES
   // ===================================================================
@@ -135,7 +192,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue assessmentCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getAssessment().getCreated());
+    return createDurableQueueWithDlx(FAMILY_ASSESSMENT,
+        properties.getQueue().getAssessment().getCreated());
   }
 
   /**
@@ -145,7 +203,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue assessmentUpdatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getAssessment().getUpdated());
+    return createDurableQueueWithDlx(FAMILY_ASSESSMENT,
+        properties.getQueue().getAssessment().getUpdated());
   }
 
   /**
@@ -155,7 +214,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue assessmentDeletedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getAssessment().getDeleted());
+    return createDurableQueueWithDlx(FAMILY_ASSESSMENT,
+        properties.getQueue().getAssessment().getDeleted());
   }
 
   /**
@@ -208,7 +268,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue feedbackCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getFeedback().getCreated());
+    return createDurableQueueWithDlx(FAMILY_FEEDBACK,
+        properties.getQueue().getFeedback().getCreated());
   }
 
   /**
@@ -218,7 +279,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue feedbackUpdatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getFeedback().getUpdated());
+    return createDurableQueueWithDlx(FAMILY_FEEDBACK,
+        properties.getQueue().getFeedback().getUpdated());
   }
 
   /**
@@ -228,7 +290,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue feedbackDeletedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getFeedback().getDeleted());
+    return createDurableQueueWithDlx(FAMILY_FEEDBACK,
+        properties.getQueue().getFeedback().getDeleted());
   }
 
   /**
@@ -281,7 +344,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue surveyCompletedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getSurvey().getCompleted());
+    return createDurableQueueWithDlx(FAMILY_SURVEY,
+        properties.getQueue().getSurvey().getCompleted());
   }
 
   /**
@@ -291,7 +355,7 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue surveyResponseSubmittedQueue() {
-    return createDurableQueueWithDlx(
+    return createDurableQueueWithDlx(FAMILY_SURVEY,
         properties.getQueue().getSurvey().getResponse().getSubmitted());
   }
 
@@ -302,7 +366,7 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue surveyResponsesBulkSubmittedQueue() {
-    return createDurableQueueWithDlx(
+    return createDurableQueueWithDlx(FAMILY_SURVEY,
         properties.getQueue().getSurvey().getResponse().getBulkSubmitted());
   }
 
@@ -313,7 +377,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue surveyResultsRequestedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getSurvey().getResultsRequested());
+    return createDurableQueueWithDlx(FAMILY_SURVEY,
+        properties.getQueue().getSurvey().getResultsRequested());
   }
 
   /**
@@ -323,7 +388,19 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue surveyCommentsRequestedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getSurvey().getCommentsRequested());
+    return createDurableQueueWithDlx(FAMILY_SURVEY,
+        properties.getQueue().getSurvey().getCommentsRequested());
+  }
+
+  /**
+   * Coda per gli eventi aggregati di cambio stato dei survey.
+   *
+   * @return la coda configurata
+   */
+  @Bean
+  public Queue surveyLifecycleChangedQueue() {
+    return createDurableQueueWithDlx(FAMILY_SURVEY,
+        properties.getQueue().getSurvey().getLifecycleChanged());
   }
 
   /**
@@ -391,6 +468,46 @@ public class RabbitMqInfrastructureConfig {
         .with(SURVEY_COMMENTS_REQUESTED);
   }
 
+  /**
+   * Binding per survey.lifecycle.changed.
+   *
+   * @return il binding configurato
+   */
+  @Bean
+  public Binding surveyLifecycleChangedBinding() {
+    return BindingBuilder
+        .bind(surveyLifecycleChangedQueue())
+        .to(assessmentsExchange())
+        .with(SURVEY_LIFECYCLE_CHANGED);
+  }
+
+  // ===================================================================
+  //  PUBLISHER QUEUES - USER
+  // ===================================================================
+
+  /**
+   * Coda per gli eventi di completamento dell'anonimizzazione degli utenti.
+   *
+   * @return la coda configurata
+   */
+  @Bean
+  public Queue userAnonymisedQueue() {
+    return createDurableQueueWithDlx(FAMILY_USER, properties.getQueue().getUserAnonymised());
+  }
+
+  /**
+   * Binding per user.anonymised.
+   *
+   * @return il binding configurato
+   */
+  @Bean
+  public Binding userAnonymisedBinding() {
+    return BindingBuilder
+        .bind(userAnonymisedQueue())
+        .to(assessmentsExchange())
+        .with(USER_ANONYMISED);
+  }
+
   /**
    * Binding per user.created.
    *
@@ -454,7 +571,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue assignmentSubmittedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getAssignmentSubmitted());
+    return createDurableQueueWithDlx(FAMILY_ASSIGNMENT,
+        properties.getQueue().getAssignmentSubmitted());
   }
 
   /**
@@ -464,7 +582,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue assignmentCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getAssignmentCreated());
+    return createDurableQueueWithDlx(FAMILY_ASSIGNMENT,
+        properties.getQueue().getAssignmentCreated());
   }
 
   /**
@@ -474,7 +593,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue assignmentUpdatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getAssignmentUpdated());
+    return createDurableQueueWithDlx(FAMILY_ASSIGNMENT,
+        properties.getQueue().getAssignmentUpdated());
   }
 
   /**
@@ -484,7 +604,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue examCompletedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getExamCompleted());
+    return createDurableQueueWithDlx(FAMILY_EXAM,
+        properties.getQueue().getExamCompleted(), properties.getLanes().getCritical());
   }
 
   /**
@@ -494,7 +615,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue examGradeRegisteredQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getExamGradeRegistered());
+    return createDurableQueueWithDlx(FAMILY_EXAM,
+        properties.getQueue().getExamGradeRegistered(), properties.getLanes().getCritical());
   }
 
   /**
@@ -504,7 +626,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue courseCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getCourseCreated());
+    return createDurableQueueWithDlx(FAMILY_COURSE,
+        properties.getQueue().getCourseCreated(), properties.getLanes().getHousekeeping());
   }
 
   /**
@@ -514,7 +637,7 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue courseDeletedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getCourseDeleted());
+    return createDurableQueueWithDlx(FAMILY_COURSE, properties.getQueue().getCourseDeleted());
   }
 
   /**
@@ -524,7 +647,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue teacherCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getTeacherCreated());
+    return createDurableQueueWithDlx(FAMILY_USER,
+        properties.getQueue().getTeacherCreated(), properties.getLanes().getHousekeeping());
   }
 
   /**
@@ -534,7 +658,8 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue studentCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getStudentCreated());
+    return createDurableQueueWithDlx(FAMILY_USER,
+        properties.getQueue().getStudentCreated(), properties.getLanes().getHousekeeping());
   }
 
   /**
@@ -577,11 +702,14 @@ public class RabbitMqInfrastructureConfig {
   }
 
   /**
-   * Binding consumer per exam.completed.
+   * Binding consumer per exam.completed. Non dichiarato quando il partizionamento degli eventi
+   * esame è attivo.
    *
    * @return il binding configurato
    */
   @Bean
+  @ConditionalOnProperty(prefix = "rabbitmq.partitioning", name = "enabled",
+      havingValue = "false", matchIfMissing = true)
   public Binding examCompletedBinding() {
     return BindingBuilder
         .bind(examCompletedQueue())
@@ -590,11 +718,14 @@ public class RabbitMqInfrastructureConfig {
   }
 
   /**
-   * Binding consumer per exam.grade.registered.
+   * Binding consumer per exam.grade.registered. Non dichiarato quando il partizionamento degli
+   * eventi esame è attivo.
    *
    * @return il binding configurato
    */
   @Bean
+  @ConditionalOnProperty(prefix = "rabbitmq.partitioning", name = "enabled",
+      havingValue = "false", matchIfMissing = true)
   public Binding examGradeRegisteredBinding() {
     return BindingBuilder
         .bind(examGradeRegisteredQueue())
@@ -661,7 +792,7 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue userCreatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getUserCreated());
+    return createDurableQueueWithDlx(FAMILY_USER, properties.getQueue().getUserCreated());
   }
 
   /**
@@ -671,7 +802,7 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue userUpdatedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getUserUpdated());
+    return createDurableQueueWithDlx(FAMILY_USER, properties.getQueue().getUserUpdated());
   }
 
   /**
@@ -681,7 +812,7 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue userDeletedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getUserDeleted());
+    return createDurableQueueWithDlx(FAMILY_USER, properties.getQueue().getUserDeleted());
   }
 
   /**
@@ -691,21 +822,196 @@ public class RabbitMqInfrastructureConfig {
    */
   @Bean
   public Queue roleAssignedQueue() {
-    return createDurableQueueWithDlx(properties.getQueue().getRoleAssigned());
+    return createDurableQueueWithDlx(FAMILY_USER, properties.getQueue().getRoleAssigned());
   }
 
+  // ===================================================================
+  //  CACHE INVALIDATION (fanout tra repliche)
+  // ===================================================================
+
   /**
-   * Crea una coda durabile con configurazione dead letter exchange.
+   * Crea il fanout exchange su cui le repliche si notificano le invalidazioni delle cache locali.
    *
+   * @return il fanout exchange configurato
+   */
+  @Bean
+  public FanoutExchange cacheInvalidationExchange() {
+    return ExchangeBuilder
+        .fanoutExchange(properties.getExchange().getCache())
+        .durable(true)
+        .build();
+  }
+
+  /**
+   * Coda esclusiva della replica per le invalidazioni delle cache locali. Il nome è generato
+   * all'avvio e la coda viene eliminata alla chiusura della connessione: ogni replica riceve
+   * tutte le invalidazioni pubblicate mentre è attiva, e quelle perse durante una disconnessione
+   * sono coperte dalla scadenza delle voci in cache.
+   *
+   * @return la coda anonima della replica
+   */
+  @Bean
+  public Queue cacheInvalidationQueue() {
+    return new AnonymousQueue(new Base64UrlNamingStrategy(CACHE_INVALIDATION_QUEUE_PREFIX));
+  }
+
+  /**
+   * Binding della coda della replica al fanout exchange delle invalidazioni.
+   *
+   * @return il binding configurato
+   */
+  @Bean
+  public Binding cacheInvalidationBinding() {
+    return BindingBuilder
+        .bind(cacheInvalidationQueue())
+        .to(cacheInvalidationExchange());
+  }
+
+  // ===================================================================
+  //  EXAM PARTITIONS (consistent-hash su studentId)
+  // ===================================================================
+
+  /**
+   * Dichiara la coda di ingresso degli eventi esame, legata al topic exchange principale per
+   * exam.completed ed exam.grade.registered, l'exchange x-consistent-hash e una coda per ciascuna
+   * partizione con single active consumer.
+   *
+   * <p>Richiede il plugin rabbitmq_consistent_hash_exchange sul broker. I publisher degli eventi
+   * esame non impostano l'header di hash: è {@code ExamPartitionConsumer} a consumare la coda di
+   * ingresso e a ripubblicare ogni evento sull'exchange con l'header configurato (default
+   * {@code studentId}) letto dal corpo. Anche la coda di ingresso usa single active consumer,
+   * così una sola replica ripubblica e l'ordine degli eventi resta quello di arrivo.</p>
+   *
+   * @return le dichiarazioni di exchange, code e binding delle partizioni
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "rabbitmq.partitioning", name = "enabled", havingValue = "true")
+  public Declarables examPartitionDeclarables() {
+    RabbitMqProperties.Partitioning partitioning = properties.getPartitioning();
+    Queue intakeQueue = reconciled(queueBuilder(FAMILY_PARTITION,
+        partitioning.intakeQueueName(), properties.getLanes().getCritical())
+        .withArgument(X_SINGLE_ACTIVE_CONSUMER, true)
+        .build());
+    CustomExchange hashExchange = new CustomExchange(partitioning.getExchange(),
+        CONSISTENT_HASH_EXCHANGE_TYPE, true, false);
+    hashExchange.addArgument(HASH_HEADER_ARGUMENT, partitioning.getHashHeader());
+
+    List<Declarable> declarables = new ArrayList<>();
+    declarables.add(intakeQueue);
+    declarables.add(BindingBuilder.bind(intakeQueue).to(assessmentsExchange())
+        .with(EXAM_COMPLETED));
+    declarables.add(BindingBuilder.bind(intakeQueue).to(assessmentsExchange())
+        .with(EXAM_GRADE_REGISTERED));
+    declarables.add(hashExchange);
+
+    for (int partition = 0; partition < partitioning.getPartitions(); partition++) {
+      Queue queue = reconciled(queueBuilder(FAMILY_PARTITION, partitioning.queueName(partition),
+          properties.getLanes().getCritical())
+          .withArgument(X_SINGLE_ACTIVE_CONSUMER, true)
+          .build());
+      declarables.add(queue);
+      declarables.add(BindingBuilder.bind(queue).to(hashExchange)
+          .with(DEFAULT_PARTITION_WEIGHT).noargs());
+    }
+    return new Declarables(declarables);
+  }
+
+  /**
+   * Crea una coda durabile con configurazione dead letter exchange, secondo il profilo della
+   * famiglia di appartenenza.
+   *
+   * @param family la famiglia di code il cui profilo va applicato
    * @param queueName il nome della coda da creare
    * @return la coda configurata con DLX, TTL e routing key
    */
-  private Queue createDurableQueueWithDlx(String queueName) {
-    return QueueBuilder
+  private Queue createDurableQueueWithDlx(String family, String queueName) {
+    return createDurableQueueWithDlx(family, queueName, null);
+  }
+
+  /**
+   * Crea una coda durabile con DLX associata a una corsia di priorità. Se la corsia dichiara una
+   * priorità massima, la coda viene creata come priority queue.
+   *
+   * @param family la famiglia di code il cui profilo va applicato
+   * @param queueName il nome della coda da creare
+   * @param lane la corsia della coda, o null per la corsia standard
+   * @return la coda configurata con DLX, TTL, routing key ed eventuale x-max-priority
+   */
+  private Queue createDurableQueueWithDlx(String family, String queueName,
+      RabbitMqProperties.Lane lane) {
+    return reconciled(queueBuilder(family, queueName, lane).build());
+  }
+
+  /**
+   * Marca una coda costruita da un profilo di famiglia perché il {@code RabbitAdmin} ignori gli
+   * errori della sua dichiarazione, lasciandoli a {@link RabbitMqQueueReconciler}.
+   *
+   * @param queue la coda da marcare
+   * @return la stessa coda
+   */
+  private static Queue reconciled(Queue queue) {
+    queue.setIgnoreDeclarationExceptions(true);
+    return queue;
+  }
+
+  /**
+   * Prepara il builder di una coda durabile applicando DLX, profilo della famiglia e corsia.
+   *
+   * <p>Le code quorum non supportano x-max-priority né la modalità lazy e non accettano
+   * l'overflow reject-publish-dlx: le combinazioni non valide vengono segnalate all'avvio invece
+   * di far fallire la dichiarazione sul broker.</p>
+   *
+   * @param family la famiglia di code il cui profilo va applicato
+   * @param queueName il nome della coda da creare
+   * @param lane la corsia della coda, o null per la corsia standard
+   * @return il builder configurato
+   */
+  private QueueBuilder queueBuilder(String family, String queueName,
+      RabbitMqProperties.Lane lane) {
+    RabbitMqProperties.QueueProfile profile = properties.getQueueProfiles().resolve(family);
+    RabbitMqProperties.QueueType type = profile.getType() != null
+        ? profile.getType() : RabbitMqProperties.QueueType.CLASSIC;
+    int ttl = profile.getTtl() != null ? profile.getTtl() : properties.getMessage().getTtl();
+
+    QueueBuilder builder = QueueBuilder
         .durable(queueName)
         .withArgument(X_DEAD_LETTER_EXCHANGE, properties.getExchange().getDlx())
         .withArgument(X_DEAD_LETTER_ROUTING_KEY, DEAD_LETTER_ROUTING_KEY)
-        .withArgument(X_MESSAGE_TTL, properties.getMessage().getTtl())
-        .build();
-  }
-}
\ No newline at end of file
+        .withArgument(X_MESSAGE_TTL, ttl);
+
+    if (type == RabbitMqProperties.QueueType.QUORUM) {
+      builder.withArgument(X_QUEUE_TYPE, QUEUE_TYPE_QUORUM);
+      if (profile.getDeliveryLimit() != null) {
+        builder.withArgument(X_DELIVERY_LIMIT, profile.getDeliveryLimit());
+      }
+      if (profile.getOverflow() == RabbitMqProperties.Overflow.REJECT_PUBLISH_DLX) {
+        throw new IllegalStateException("Overflow reject-publish-dlx non supportato dalle code "
+            + "quorum (famiglia: " + family + ")");
+      }
+    } else {
+      if (type == RabbitMqProperties.QueueType.LAZY) {
+        builder.withArgument(X_QUEUE_MODE, QUEUE_MODE_LAZY);
+      }
+      if (profile.getDeliveryLimit() != null) {
+        logger.warn("Delivery limit ignored for classic queue {} (family: {})", queueName,
+            family);
+      }
+    }
+
+    if (profile.getMaxLength() != null) {
+      builder.withArgument(X_MAX_LENGTH, profile.getMaxLength());
+    }
+    if (profile.getOverflow() != null) {
+      builder.withArgument(X_OVERFLOW, profile.getOverflow().getArgument());
+    }
+
+    if (lane != null && lane.getMaxPriority() > 0) {
+      if (type == RabbitMqProperties.QueueType.QUORUM) {
+        logger.warn("x-max-priority ignored for quorum queue {} (family: {})", queueName, family);
+      } else {
+        builder.withArgument(X_MAX_PRIORITY, lane.getMaxPriority());
+      }
+    }
+    return builder;
+  }
+}
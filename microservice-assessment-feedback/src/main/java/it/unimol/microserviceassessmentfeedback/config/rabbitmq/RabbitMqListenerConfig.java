@@ -0,0 +1,102 @@
+package it.unimol.microserviceassessmentfeedback.config.rabbitmq;
+
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.CRITICAL_LISTENER_FACTORY;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.HOUSEKEEPING_LISTENER_FACTORY;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Configurazione dei listener container per le corsie di priorità. Ogni corsia ha un proprio
+ * pool di consumer con capacità riservata, separato dal pool standard di Spring Boot.
+ */
+@Configuration
+public class RabbitMqListenerConfig {
+
+  private static final Logger logger = LoggerFactory.getLogger(RabbitMqListenerConfig.class);
+
+  private final RabbitMqProperties properties;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle properties RabbitMQ.
+   *
+   * @param properties le configurazioni RabbitMQ caricate da application.properties
+   */
+  public RabbitMqListenerConfig(RabbitMqProperties properties) {
+    this.properties = properties;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Factory dei listener per gli eventi critici (voti ed esami).
+   *
+   * @param connectionFactory la factory di connessione RabbitMQ
+   * @param messageConverter il convertitore di messaggi JSON
+   * @param configurer il configuratore di Spring Boot, se disponibile
+   * @return la factory configurata con la capacità della corsia critica
+   */
+  @Bean(name = CRITICAL_LISTENER_FACTORY)
+  public SimpleRabbitListenerContainerFactory criticalListenerContainerFactory(
+      ConnectionFactory connectionFactory, Jackson2JsonMessageConverter messageConverter,
+      ObjectProvider<SimpleRabbitListenerContainerFactoryConfigurer> configurer) {
+    RabbitMqProperties.Lane critical = properties.getLanes().getCritical();
+    if (!properties.getPartitioning().isEnabled()
+        && Math.max(critical.getConcurrency(), critical.getMaxConcurrency()) > 1) {
+      logger.warn("Critical lane runs up to {} consumers without exam partitioning: events of "
+          + "the same student may be processed out of order",
+          Math.max(critical.getConcurrency(), critical.getMaxConcurrency()));
+    }
+    return createLaneFactory("critical", critical, connectionFactory,
+        messageConverter, configurer);
+  }
+
+  /**
+   * Factory dei listener per gli eventi di manutenzione (creazione studenti, docenti, corsi).
+   *
+   * @param connectionFactory la factory di connessione RabbitMQ
+   * @param messageConverter il convertitore di messaggi JSON
+   * @param configurer il configuratore di Spring Boot, se disponibile
+   * @return la factory configurata con la capacità della corsia di manutenzione
+   */
+  @Bean(name = HOUSEKEEPING_LISTENER_FACTORY)
+  public SimpleRabbitListenerContainerFactory housekeepingListenerContainerFactory(
+      ConnectionFactory connectionFactory, Jackson2JsonMessageConverter messageConverter,
+      ObjectProvider<SimpleRabbitListenerContainerFactoryConfigurer> configurer) {
+    return createLaneFactory("housekeeping", properties.getLanes().getHousekeeping(),
+        connectionFactory, messageConverter, configurer);
+  }
+
+  private SimpleRabbitListenerContainerFactory createLaneFactory(String laneName,
+      RabbitMqProperties.Lane lane, ConnectionFactory connectionFactory,
+      Jackson2JsonMessageConverter messageConverter,
+      ObjectProvider<SimpleRabbitListenerContainerFactoryConfigurer> configurer) {
+    SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    SimpleRabbitListenerContainerFactoryConfigurer bootConfigurer = configurer.getIfAvailable();
+    if (bootConfigurer != null) {
+      bootConfigurer.configure(factory, connectionFactory);
+    } else {
+      factory.setConnectionFactory(connectionFactory);
+    }
+    factory.setMessageConverter(messageConverter);
+    factory.setConcurrentConsumers(Math.max(1, lane.getConcurrency()));
+    factory.setMaxConcurrentConsumers(Math.max(lane.getConcurrency(), lane.getMaxConcurrency()));
+    factory.setPrefetchCount(Math.max(1, lane.getPrefetch()));
+    factory.setTaskExecutor(new SimpleAsyncTaskExecutor("rabbit-" + laneName + "-"));
+    return factory;
+  }
+}
@@ -1,5 +1,7 @@
 package it.unimol.microserviceassessmentfeedback.config.rabbitmq;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +17,9 @@ public class RabbitMqProperties {
   private Exchange exchange = new Exchange();
   private Queue queue = new Queue();
   private Message message = new Message();
+  private Partitioning partitioning = new Partitioning();
+  private Lanes lanes = new Lanes();
+  private QueueProfiles queueProfiles = new QueueProfiles();
 
   // ============ Costruttore ============
 
@@ -76,6 +81,60 @@ public class RabbitMqProperties {
     this.message = message;
   }
 
+  /**
+   * Ottiene la configurazione del partizionamento delle code esami.
+   *
+   * @return la configurazione del partizionamento
+   */
+  public Partitioning getPartitioning() {
+    return partitioning;
+  }
+
+  /**
+   * Imposta la configurazione del partizionamento delle code esami.
+   *
+   * @param partitioning la configurazione del partizionamento
+   */
+  public void setPartitioning(Partitioning partitioning) {
+    this.partitioning = partitioning;
+  }
+
+  /**
+   * Ottiene la configurazione delle corsie di priorità dei consumer.
+   *
+   * @return la configurazione delle corsie
+   */
+  public Lanes getLanes() {
+    return lanes;
+  }
+
+  /**
+   * Imposta la configurazione delle corsie di priorità dei consumer.
+   *
+   * @param lanes la configurazione delle corsie
+   */
+  public void setLanes(Lanes lanes) {
+    this.lanes = lanes;
+  }
+
+  /**
+   * Ottiene i profili di dichiarazione delle code per famiglia.
+   *
+   * @return la configurazione dei profili delle code
+   */
+  public QueueProfiles getQueueProfiles() {
+    return queueProfiles;
+  }
+
+  /**
+   * Imposta i profili di dichiarazione delle code per famiglia.
+   *
+   * @param queueProfiles la configurazione dei profili delle code
+   */
+  public void setQueueProfiles(QueueProfiles queueProfiles) {
+    this.queueProfiles = queueProfiles;
+  }
+
   // ============ Metodi di Classe ============
 
   /**
@@ -85,6 +144,7 @@ public class RabbitMqProperties {
 
     private String assessments;
     private String dlx = "unimol.dlx";
+    private String cache = "unimol.assessment-feedback.cache";
 
     /**
      * Ottiene il nome dell'exchange per gli assessments.
@@ -121,6 +181,24 @@ public class RabbitMqProperties {
     public void setDlx(String dlx) {
       this.dlx = dlx;
     }
+
+    /**
+     * Ottiene il nome del fanout exchange per l'invalidazione delle cache locali.
+     *
+     * @return il nome dell'exchange
+     */
+    public String getCache() {
+      return cache;
+    }
+
+    /**
+     * Imposta il nome del fanout exchange per l'invalidazione delle cache locali.
+     *
+     * @param cache il nome dell'exchange
+     */
+    public void setCache(String cache) {
+      this.cache = cache;
+    }
   }
 
   /**
@@ -148,6 +226,9 @@ public class RabbitMqProperties {
     private String userDeleted = "user.deleted.queue";
     private String roleAssigned = "role.assigned.queue";
 
+    // PUBLISHER QUEUES - User
+    private String userAnonymised = "user.anonymised.queue";
+
     // Getters e Setters - Queue Class Main
 
     /**
@@ -456,6 +537,24 @@ public class RabbitMqProperties {
       this.roleAssigned = roleAssigned;
     }
 
+    /**
+     * Ottiene il nome della coda user anonymised.
+     *
+     * @return il nome della coda
+     */
+    public String getUserAnonymised() {
+      return userAnonymised;
+    }
+
+    /**
+     * Imposta il nome della coda user anonymised.
+     *
+     * @param userAnonymised il nome della coda
+     */
+    public void setUserAnonymised(String userAnonymised) {
+      this.userAnonymised = userAnonymised;
+    }
+
     /**
      * Configurazione delle code assessment.
      */
@@ -593,6 +692,7 @@ public class RabbitMqProperties {
       private Response response = new Response();
       private String resultsRequested = "survey.results.requested";
       private String commentsRequested = "survey.comments.requested";
+      private String lifecycleChanged = "survey.lifecycle.changed";
 
       /**
        * Ottiene il nome della coda survey completed.
@@ -666,6 +766,24 @@ public class RabbitMqProperties {
         this.commentsRequested = commentsRequested;
       }
 
+      /**
+       * Ottiene il nome della coda survey lifecycle changed.
+       *
+       * @return il nome della coda
+       */
+      public String getLifecycleChanged() {
+        return lifecycleChanged;
+      }
+
+      /**
+       * Imposta il nome della coda survey lifecycle changed.
+       *
+       * @param lifecycleChanged il nome della coda
+       */
+      public void setLifecycleChanged(String lifecycleChanged) {
+        this.lifecycleChanged = lifecycleChanged;
+      }
+
       /**
        * Configurazione delle code survey response.
        */
@@ -738,4 +856,564 @@ public class RabbitMqProperties {
       this.ttl = ttl;
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Configurazione del partizionamento consistent-hash degli eventi esame.
+   *
+   * <p>Gli eventi exam.completed ed exam.grade.registered arrivano su una coda di ingresso, da
+   * cui vengono ripubblicati su un exchange x-consistent-hash con l'header {@code studentId}
+   * valorizzato dal corpo del messaggio, e distribuiti su N code partizione con single active
+   * consumer. Tutti gli eventi dello stesso studente finiscono nella stessa partizione e vengono
+   * quindi elaborati in ordine.</p>
+   */
+  public static class Partitioning {
+
+    private boolean enabled = false;
+    private int partitions = 4;
+    private String exchange = "unimol.exam.partitioned";
+    private String queuePrefix = "exam.events.partition";
+    private String hashHeader = "studentId";
+    private long rebalanceIntervalMs = 30000;
+    private long activeWindowMs = 60000;
+
+    /**
+     * Indica se il partizionamento è abilitato.
+     *
+     * @return true se abilitato
+     */
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    /**
+     * Abilita o disabilita il partizionamento.
+     *
+     * @param enabled true per abilitare
+     */
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * Ottiene il numero di partizioni.
+     *
+     * @return il numero di partizioni
+     */
+    public int getPartitions() {
+      return partitions;
+    }
+
+    /**
+     * Imposta il numero di partizioni.
+     *
+     * @param partitions il numero di partizioni
+     */
+    public void setPartitions(int partitions) {
+      this.partitions = partitions;
+    }
+
+    /**
+     * Ottiene il nome dell'exchange consistent-hash.
+     *
+     * @return il nome dell'exchange
+     */
+    public String getExchange() {
+      return exchange;
+    }
+
+    /**
+     * Imposta il nome dell'exchange consistent-hash.
+     *
+     * @param exchange il nome dell'exchange
+     */
+    public void setExchange(String exchange) {
+      this.exchange = exchange;
+    }
+
+    /**
+     * Ottiene il prefisso dei nomi delle code partizione.
+     *
+     * @return il prefisso delle code
+     */
+    public String getQueuePrefix() {
+      return queuePrefix;
+    }
+
+    /**
+     * Imposta il prefisso dei nomi delle code partizione.
+     *
+     * @param queuePrefix il prefisso delle code
+     */
+    public void setQueuePrefix(String queuePrefix) {
+      this.queuePrefix = queuePrefix;
+    }
+
+    /**
+     * Ottiene il nome dell'header usato come chiave di hash.
+     *
+     * @return il nome dell'header
+     */
+    public String getHashHeader() {
+      return hashHeader;
+    }
+
+    /**
+     * Imposta il nome dell'header usato come chiave di hash.
+     *
+     * @param hashHeader il nome dell'header
+     */
+    public void setHashHeader(String hashHeader) {
+      this.hashHeader = hashHeader;
+    }
+
+    /**
+     * Ottiene l'intervallo di ribilanciamento delle partizioni in millisecondi.
+     *
+     * @return l'intervallo in millisecondi
+     */
+    public long getRebalanceIntervalMs() {
+      return rebalanceIntervalMs;
+    }
+
+    /**
+     * Imposta l'intervallo di ribilanciamento delle partizioni in millisecondi.
+     *
+     * @param rebalanceIntervalMs l'intervallo in millisecondi
+     */
+    public void setRebalanceIntervalMs(long rebalanceIntervalMs) {
+      this.rebalanceIntervalMs = rebalanceIntervalMs;
+    }
+
+    /**
+     * Ottiene la finestra entro cui una partizione che ha ricevuto messaggi è considerata attiva
+     * su questa replica.
+     *
+     * @return la finestra in millisecondi
+     */
+    public long getActiveWindowMs() {
+      return activeWindowMs;
+    }
+
+    /**
+     * Imposta la finestra entro cui una partizione è considerata attiva su questa replica.
+     *
+     * @param activeWindowMs la finestra in millisecondi
+     */
+    public void setActiveWindowMs(long activeWindowMs) {
+      this.activeWindowMs = activeWindowMs;
+    }
+
+    /**
+     * Restituisce il nome della coda associata a una partizione.
+     *
+     * @param partition indice della partizione (0-based)
+     * @return il nome della coda partizione
+     */
+    public String queueName(int partition) {
+      return queuePrefix + "." + partition;
+    }
+
+    /**
+     * Restituisce il nome della coda di ingresso da cui gli eventi vengono ripubblicati sulle
+     * partizioni.
+     *
+     * @return il nome della coda di ingresso
+     */
+    public String intakeQueueName() {
+      return queuePrefix + ".intake";
+    }
+  }
+
+  /**
+   * Configurazione delle corsie di priorità dei consumer.
+   *
+   * <p>Gli eventi critici (registrazione voti, completamento esami) e quelli di manutenzione
+   * (creazione studenti, docenti e corsi) usano pool di listener separati, così un picco di eventi
+   * a bassa priorità non sottrae capacità alle registrazioni dei voti.</p>
+   *
+   * <p>La corsia critica ha un solo consumer di default: con più consumer sulla stessa coda gli
+   * eventi di uno studente possono essere elaborati fuori ordine, cosa che solo il partizionamento
+   * degli eventi esame evita.</p>
+   */
+  public static class Lanes {
+
+    private Lane critical = new Lane(1, 1, 1);
+    private Lane housekeeping = new Lane(1, 2, 20);
+
+    /**
+     * Ottiene la corsia degli eventi critici.
+     *
+     * @return la configurazione della corsia critica
+     */
+    public Lane getCritical() {
+      return critical;
+    }
+
+    /**
+     * Imposta la corsia degli eventi critici.
+     *
+     * @param critical la configurazione della corsia critica
+     */
+    public void setCritical(Lane critical) {
+      this.critical = critical;
+    }
+
+    /**
+     * Ottiene la corsia degli eventi di manutenzione.
+     *
+     * @return la configurazione della corsia di manutenzione
+     */
+    public Lane getHousekeeping() {
+      return housekeeping;
+    }
+
+    /**
+     * Imposta la corsia degli eventi di manutenzione.
+     *
+     * @param housekeeping la configurazione della corsia di manutenzione
+     */
+    public void setHousekeeping(Lane housekeeping) {
+      this.housekeeping = housekeeping;
+    }
+  }
+
+  /**
+   * Capacità riservata e priorità di una singola corsia.
+   */
+  public static class Lane {
+
+    private int concurrency;
+    private int maxConcurrency;
+    private int prefetch;
+    private int maxPriority = 0;
+
+    /**
+     * Costruttore di default.
+     */
+    public Lane() {
+      this(1, 1, 1);
+    }
+
+    /**
+     * Costruttore con la capacità della corsia.
+     *
+     * @param concurrency numero di consumer riservati
+     * @param maxConcurrency numero massimo di consumer
+     * @param prefetch numero di messaggi prelevati per consumer
+     */
+    public Lane(int concurrency, int maxConcurrency, int prefetch) {
+      this.concurrency = concurrency;
+      this.maxConcurrency = maxConcurrency;
+      this.prefetch = prefetch;
+    }
+
+    /**
+     * Ottiene il numero di consumer riservati alla corsia.
+     *
+     * @return il numero di consumer
+     */
+    public int getConcurrency() {
+      return concurrency;
+    }
+
+    /**
+     * Imposta il numero di consumer riservati alla corsia.
+     *
+     * @param concurrency il numero di consumer
+     */
+    public void setConcurrency(int concurrency) {
+      this.concurrency = concurrency;
+    }
+
+    /**
+     * Ottiene il numero massimo di consumer della corsia.
+     *
+     * @return il numero massimo di consumer
+     */
+    public int getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    /**
+     * Imposta il numero massimo di consumer della corsia.
+     *
+     * @param maxConcurrency il numero massimo di consumer
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Ottiene il prefetch per consumer.
+     *
+     * @return il prefetch
+     */
+    public int getPrefetch() {
+      return prefetch;
+    }
+
+    /**
+     * Imposta il prefetch per consumer.
+     *
+     * @param prefetch il prefetch
+     */
+    public void setPrefetch(int prefetch) {
+      this.prefetch = prefetch;
+    }
+
+    /**
+     * Ottiene la priorità massima dichiarata sulle code della corsia (0 = coda senza priorità).
+     *
+     * @return il valore di x-max-priority
+     */
+    public int getMaxPriority() {
+      return maxPriority;
+    }
+
+    /**
+     * Imposta la priorità massima dichiarata sulle code della corsia.
+     *
+     * @param maxPriority il valore di x-max-priority (0 per disabilitare)
+     */
+    public void setMaxPriority(int maxPriority) {
+      this.maxPriority = maxPriority;
+    }
+  }
+
+  /**
+   * Profili di dichiarazione delle code, per famiglia (assessment, feedback, survey, assignment,
+   * exam, course, user, partition).
+   *
+   * <p>Ogni famiglia eredita dal profilo {@code defaults} i valori che non ridefinisce. Con la
+   * configurazione di default tutte le code restano classiche con il TTL di
+   * {@code rabbitmq.message.ttl}, cioè identiche a quelle già dichiarate sul broker.</p>
+   */
+  public static class QueueProfiles {
+
+    private QueueProfile defaults = new QueueProfile();
+    private Map<String, QueueProfile> families = new LinkedHashMap<>();
+    private boolean recreateEmptyOnMismatch = false;
+
+    /**
+     * Ottiene il profilo di default.
+     *
+     * @return il profilo applicato alle famiglie senza configurazione specifica
+     */
+    public QueueProfile getDefaults() {
+      return defaults;
+    }
+
+    /**
+     * Imposta il profilo di default.
+     *
+     * @param defaults il profilo applicato alle famiglie senza configurazione specifica
+     */
+    public void setDefaults(QueueProfile defaults) {
+      this.defaults = defaults;
+    }
+
+    /**
+     * Ottiene i profili specifici per famiglia di code.
+     *
+     * @return la mappa famiglia → profilo
+     */
+    public Map<String, QueueProfile> getFamilies() {
+      return families;
+    }
+
+    /**
+     * Imposta i profili specifici per famiglia di code.
+     *
+     * @param families la mappa famiglia → profilo
+     */
+    public void setFamilies(Map<String, QueueProfile> families) {
+      this.families = families;
+    }
+
+    /**
+     * Indica se una coda esistente con argomenti diversi dal profilo può essere ricreata quando è
+     * vuota.
+     *
+     * @return true se la ricreazione delle code vuote è abilitata
+     */
+    public boolean isRecreateEmptyOnMismatch() {
+      return recreateEmptyOnMismatch;
+    }
+
+    /**
+     * Abilita o disabilita la ricreazione delle code vuote con argomenti diversi dal profilo.
+     *
+     * @param recreateEmptyOnMismatch true per abilitare la ricreazione
+     */
+    public void setRecreateEmptyOnMismatch(boolean recreateEmptyOnMismatch) {
+      this.recreateEmptyOnMismatch = recreateEmptyOnMismatch;
+    }
+
+    /**
+     * Risolve il profilo effettivo di una famiglia, completando i valori non impostati con quelli
+     * del profilo di default.
+     *
+     * @param family il nome della famiglia di code
+     * @return il profilo effettivo
+     */
+    public QueueProfile resolve(String family) {
+      QueueProfile specific = families.get(family);
+      if (specific == null) {
+        return defaults;
+      }
+
+      QueueProfile resolved = new QueueProfile();
+      resolved.setType(specific.getType() != null ? specific.getType() : defaults.getType());
+      resolved.setTtl(specific.getTtl() != null ? specific.getTtl() : defaults.getTtl());
+      resolved.setDeliveryLimit(specific.getDeliveryLimit() != null
+          ? specific.getDeliveryLimit() : defaults.getDeliveryLimit());
+      resolved.setMaxLength(specific.getMaxLength() != null
+          ? specific.getMaxLength() : defaults.getMaxLength());
+      resolved.setOverflow(specific.getOverflow() != null
+          ? specific.getOverflow() : defaults.getOverflow());
+      return resolved;
+    }
+  }
+
+  /**
+   * Profilo di dichiarazione di una famiglia di code. I valori null non vengono dichiarati (o
+   * vengono ereditati dal profilo di default).
+   */
+  public static class QueueProfile {
+
+    private QueueType type;
+    private Integer ttl;
+    private Integer deliveryLimit;
+    private Long maxLength;
+    private Overflow overflow;
+
+    /**
+     * Ottiene il tipo di coda.
+     *
+     * @return il tipo di coda, o null per la coda classica
+     */
+    public QueueType getType() {
+      return type;
+    }
+
+    /**
+     * Imposta il tipo di coda.
+     *
+     * @param type il tipo di coda
+     */
+    public void setType(QueueType type) {
+      this.type = type;
+    }
+
+    /**
+     * Ottiene il TTL dei messaggi della coda in millisecondi.
+     *
+     * @return il TTL, o null per usare {@code rabbitmq.message.ttl}
+     */
+    public Integer getTtl() {
+      return ttl;
+    }
+
+    /**
+     * Imposta il TTL dei messaggi della coda in millisecondi.
+     *
+     * @param ttl il TTL in millisecondi
+     */
+    public void setTtl(Integer ttl) {
+      this.ttl = ttl;
+    }
+
+    /**
+     * Ottiene il numero massimo di consegne prima del dead-lettering (solo code quorum).
+     *
+     * @return il limite di consegne, o null se non impostato
+     */
+    public Integer getDeliveryLimit() {
+      return deliveryLimit;
+    }
+
+    /**
+     * Imposta il numero massimo di consegne prima del dead-lettering (solo code quorum).
+     *
+     * @param deliveryLimit il limite di consegne
+     */
+    public void setDeliveryLimit(Integer deliveryLimit) {
+      this.deliveryLimit = deliveryLimit;
+    }
+
+    /**
+     * Ottiene il numero massimo di messaggi in coda.
+     *
+     * @return la lunghezza massima, o null se illimitata
+     */
+    public Long getMaxLength() {
+      return maxLength;
+    }
+
+    /**
+     * Imposta il numero massimo di messaggi in coda.
+     *
+     * @param maxLength la lunghezza massima
+     */
+    public void setMaxLength(Long maxLength) {
+      this.maxLength = maxLength;
+    }
+
+    /**
+     * Ottiene il comportamento al raggiungimento della lunghezza massima.
+     *
+     * @return la politica di overflow, o null per il default del broker (drop-head)
+     */
+    public Overflow getOverflow() {
+      return overflow;
+    }
+
+    /**
+     * Imposta il comportamento al raggiungimento della lunghezza massima.
+     *
+     * @param overflow la politica di overflow
+     */
+    public void setOverflow(Overflow overflow) {
+      this.overflow = overflow;
+    }
+  }
+
+  /**
+   * Tipo di coda RabbitMQ.
+   */
+  public enum QueueType {
+    /** Coda classica con messaggi in memoria. */
+    CLASSIC,
+    /** Coda classica in modalità lazy: i messaggi vengono scritti subito su disco. */
+    LAZY,
+    /** Coda quorum replicata (Raft), con supporto al delivery limit. */
+    QUORUM
+  }
+
+  /**
+   * Politica di overflow al raggiungimento di x-max-length.
+   */
+  public enum Overflow {
+    /** Scarta (o manda in dead letter) il messaggio più vecchio. */
+    DROP_HEAD("drop-head"),
+    /** Rifiuta i nuovi messaggi con nack al publisher. */
+    REJECT_PUBLISH("reject-publish"),
+    /** Rifiuta i nuovi messaggi inoltrandoli alla dead letter (solo code classiche). */
+    REJECT_PUBLISH_DLX("reject-publish-dlx");
+
+    private final String argument;
+
+    Overflow(String argument) {
+      this.argument = argument;
+    }
+
+    /**
+     * Ottiene il valore dell'argomento x-overflow.
+     *
+     * @return il valore dell'argomento
+     */
+    public String getArgument() {
+      return argument;
+    }
+  }
+}
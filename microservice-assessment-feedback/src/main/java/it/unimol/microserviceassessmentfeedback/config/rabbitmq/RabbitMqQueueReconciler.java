@@ -0,0 +1,114 @@
+package it.unimol.microserviceassessmentfeedback.config.rabbitmq;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.RabbitUtils;
+import org.springframework.amqp.rabbit.core.DeclarationExceptionEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Riconcilia le code già presenti sul broker con i profili di dichiarazione configurati.
+ *
+ * <p>RabbitMQ non permette di modificare gli argomenti di una coda esistente: la ridichiarazione
+ * con argomenti diversi (tipo quorum, lazy, max-length, TTL...) fallisce con
+ * PRECONDITION_FAILED. Le code costruite dai profili di famiglia sono marcate perché il
+ * {@code RabbitAdmin} non interrompa l'avvio in questo caso; questo listener riceve l'errore e,
+ * se abilitato, elimina e ricrea la coda solo se è vuota e senza consumer. Altrimenti la coda
+ * resta invariata e viene segnalata per una migrazione manuale. Gli errori delle altre
+ * dichiarazioni non vengono gestiti e interrompono l'inizializzazione. I binding della coda
+ * ricreata vengono ridichiarati dallo stesso ciclo di inizializzazione del {@code RabbitAdmin},
+ * che dichiara i binding dopo le code.</p>
+ */
+@Component
+public class RabbitMqQueueReconciler implements ApplicationListener<DeclarationExceptionEvent> {
+
+  private static final Logger logger = LoggerFactory.getLogger(RabbitMqQueueReconciler.class);
+
+  private final AmqpAdmin amqpAdmin;
+  private final RabbitMqProperties properties;
+  private final Set<String> mismatchedQueues = ConcurrentHashMap.newKeySet();
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del reconciler.
+   *
+   * @param amqpAdmin l'admin AMQP usato per ispezionare, eliminare e ridichiarare le code
+   * @param properties le configurazioni RabbitMQ
+   */
+  public RabbitMqQueueReconciler(AmqpAdmin amqpAdmin, RabbitMqProperties properties) {
+    this.amqpAdmin = amqpAdmin;
+    this.properties = properties;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public void onApplicationEvent(DeclarationExceptionEvent event) {
+    if (!(event.getDeclarable() instanceof Queue queue)
+        || !queue.isIgnoreDeclarationExceptions()
+        || !(event.getThrowable() instanceof Exception exception)
+        || !RabbitUtils.isMismatchedQueueArgs(exception)) {
+      return;
+    }
+    reconcile(queue);
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce le code i cui argomenti sul broker non corrispondono al profilo configurato.
+   *
+   * @return i nomi delle code ancora da migrare
+   */
+  public Set<String> getMismatchedQueues() {
+    return Set.copyOf(mismatchedQueues);
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Tenta di allineare una coda esistente al profilo configurato.
+   *
+   * @param queue la coda dichiarata dall'applicazione
+   * @return true se la coda è stata ricreata con il nuovo profilo
+   */
+  boolean reconcile(Queue queue) {
+    String name = queue.getName();
+    mismatchedQueues.add(name);
+
+    if (!properties.getQueueProfiles().isRecreateEmptyOnMismatch()) {
+      logger.warn("Queue {} exists with different arguments; keeping the current declaration. "
+          + "Enable rabbitmq.queue-profiles.recreate-empty-on-mismatch or migrate it manually",
+          name);
+      return false;
+    }
+
+    QueueInformation info = amqpAdmin.getQueueInfo(name);
+    if (info == null || info.getMessageCount() > 0 || info.getConsumerCount() > 0) {
+      logger.warn("Queue {} has different arguments but is not empty or idle "
+          + "(messages: {}, consumers: {}); keeping the current declaration", name,
+          info != null ? info.getMessageCount() : "n/a",
+          info != null ? info.getConsumerCount() : "n/a");
+      return false;
+    }
+
+    try {
+      amqpAdmin.deleteQueue(name, true, true);
+      amqpAdmin.declareQueue(queue);
+      mismatchedQueues.remove(name);
+      logger.info("Queue {} recreated with arguments {}", name, queue.getArguments());
+      return true;
+    } catch (AmqpException e) {
+      logger.warn("Unable to recreate queue {}: {}", name, e.getMessage());
+      return false;
+    }
+  }
+}
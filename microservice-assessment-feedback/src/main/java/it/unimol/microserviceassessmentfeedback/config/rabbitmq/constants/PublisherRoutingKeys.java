@@ -2,7 +2,7 @@ package it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants;
 
 /**
  * Costanti per le routing key dei publisher RabbitMQ. Definisce le chiavi di routing per i messaggi
- * pubblicati da questo microservizio (Assessment, Feedback, Survey).
+ * pubblicati da questo microservizio (Assessment, Feedback, Survey, User).
  */
 public final class PublisherRoutingKeys {
 
@@ -26,6 +26,11 @@ public final class PublisherRoutingKeys {
   public static final String SURVEY_RESPONSES_BULK_SUBMITTED = "survey.responses.bulk.submitted";
   public static final String SURVEY_RESULTS_REQUESTED = "survey.results.requested";
   public static final String SURVEY_COMMENTS_REQUESTED = "survey.comments.requested";
+  public static final String SURVEY_LIFECYCLE_CHANGED = "survey.lifecycle.changed";
+  // ===================================================================
+  //  USER ROUTING KEYS
+  // ===================================================================
+  public static final String USER_ANONYMISED = "user.anonymised";
 
   // ============ Costruttore ============
 
@@ -14,6 +14,26 @@ public final class QueueConfigurationConstants {
   public static final String X_MESSAGE_TTL = "x-message-ttl";
   public static final String X_MAX_RETRIES = "x-max-retries";
   public static final String X_RETRY_DELAY = "x-retry-delay";
+  public static final String X_SINGLE_ACTIVE_CONSUMER = "x-single-active-consumer";
+  public static final String X_MAX_PRIORITY = "x-max-priority";
+  public static final String X_QUEUE_TYPE = "x-queue-type";
+  public static final String X_QUEUE_MODE = "x-queue-mode";
+  public static final String X_DELIVERY_LIMIT = "x-delivery-limit";
+  public static final String X_MAX_LENGTH = "x-max-length";
+  public static final String X_OVERFLOW = "x-overflow";
+  public static final String QUEUE_TYPE_QUORUM = "quorum";
+  public static final String QUEUE_MODE_LAZY = "lazy";
+  // ===================================================================
+  //  QUEUE FAMILIES (profili di dichiarazione)
+  // ===================================================================
+  public static final String FAMILY_ASSESSMENT = "assessment";
+  public static final String FAMILY_FEEDBACK = "feedback";
+  public static final String FAMILY_SURVEY = "survey";
+  public static final String FAMILY_ASSIGNMENT = "assignment";
+  public static final String FAMILY_EXAM = "exam";
+  public static final String FAMILY_COURSE = "course";
+  public static final String FAMILY_USER = "user";
+  public static final String FAMILY_PARTITION = "partition";
   // ===================================================================
   //  DEAD LETTER CONFIGURATION
   // ===================================================================
@@ -18,6 +18,12 @@ public final class RabbitMqInfrastructureConstants {
   public static final String DIRECT_EXCHANGE_TYPE = "direct";
   public static final String FANOUT_EXCHANGE_TYPE = "fanout";
   public static final String HEADERS_EXCHANGE_TYPE = "headers";
+  public static final String CONSISTENT_HASH_EXCHANGE_TYPE = "x-consistent-hash";
+  // ===================================================================
+  //  CONSISTENT HASH ARGUMENTS
+  // ===================================================================
+  public static final String HASH_HEADER_ARGUMENT = "hash-header";
+  public static final String DEFAULT_PARTITION_WEIGHT = "1";
   // ===================================================================
   //  ROUTING KEY PATTERNS
   // ===================================================================
@@ -34,8 +40,15 @@ public final class RabbitMqInfrastructureConstants {
   public static final String ASSESSMENT_QUEUE_PREFIX = "assessment";
   public static final String FEEDBACK_QUEUE_PREFIX = "feedback";
   public static final String SURVEY_QUEUE_PREFIX = "survey";
+  public static final String CACHE_INVALIDATION_QUEUE_PREFIX = "assessment-feedback.cache.";
   public static final String DLQ_SUFFIX = ".dlq";
   // ===================================================================
+  //  LISTENER CONTAINER FACTORIES (corsie di priorità)
+  // ===================================================================
+  public static final String CRITICAL_LISTENER_FACTORY = "criticalListenerContainerFactory";
+  public static final String HOUSEKEEPING_LISTENER_FACTORY =
+      "housekeepingListenerContainerFactory";
+  // ===================================================================
   //  DURABILITY AND PERSISTENCE
   // ===================================================================
   public static final boolean DEFAULT_DURABLE = true;
@@ -28,6 +28,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -235,6 +236,8 @@ public class AssessmentController {
    * Ottiene tutte le valutazioni associate a uno specifico corso.
    *
    * @param id L'ID univoco del corso di cui recuperare le valutazioni.
+   * @param academicYear L'anno accademico facoltativo (es. "2024/2025") a cui limitare le
+   *     valutazioni; limita la lettura alla partizione dell'anno.
    * @return Una lista di oggetti {@link it.unimol.microserviceassessmentfeedback.dto.AssessmentDto}
    *     che rappresentano le valutazioni per il corso specificato.
    * @apiNote GET - getAssessmentsByCourse - TEACHER/ADMIN/SUPER_ADMIN TRACCIA: Gestione valutazioni
@@ -260,8 +263,12 @@ public class AssessmentController {
           content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
-  public ResponseEntity<List<AssessmentDto>> getAssessmentsByCourse(@PathVariable String id) {
+  public ResponseEntity<List<AssessmentDto>> getAssessmentsByCourse(@PathVariable String id,
+      @RequestParam(required = false) String academicYear) {
     logger.info("Richiesta per ottenere valutazioni per corso con ID: {}", id);
+    if (academicYear != null) {
+      return ResponseEntity.ok(assessmentService.getAssessmentsByCourse(id, academicYear));
+    }
     return ResponseEntity.ok(assessmentService.getAssessmentsByCourse(id));
   }
 
@@ -462,6 +469,8 @@ public class AssessmentController {
           description = "Accesso vietato - non autorizzato a eliminare questa valutazione"),
       @ApiResponse(responseCode = "404", description = "Valutazione non trovata",
           content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "409", description = "La valutazione ha feedback associati",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
       @ApiResponse(responseCode = "500", description = "Internal server error")
   })
   public ResponseEntity<Void> deleteAssessment(@PathVariable String id) {
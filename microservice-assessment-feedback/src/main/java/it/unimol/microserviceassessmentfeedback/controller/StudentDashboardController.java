@@ -0,0 +1,104 @@
+package it.unimol.microserviceassessmentfeedback.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import it.unimol.microserviceassessmentfeedback.common.util.JwtRequestHelper;
+import it.unimol.microserviceassessmentfeedback.dto.StudentDashboardDto;
+import it.unimol.microserviceassessmentfeedback.enums.RoleType;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardService;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardService.StudentDashboardView;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST della dashboard studente. Restituisce in una sola chiamata valutazioni,
+ * feedback, risposte e questionari disponibili dello studente autenticato, con supporto agli
+ * ETag per evitare di ritrasferire una dashboard invariata.
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@Tag(name = "StudentDashboard Controller", description = "API della dashboard dello studente")
+@SecurityRequirement(name = "bearerAuth")
+public class StudentDashboardController {
+
+  private static final Logger logger = LoggerFactory.getLogger(StudentDashboardController.class);
+  private final StudentDashboardService studentDashboardService;
+  @Autowired
+  private JwtRequestHelper jwtRequestHelper;
+
+  // ============ Costruttore ============
+
+  @Autowired
+  public StudentDashboardController(StudentDashboardService studentDashboardService) {
+    this.studentDashboardService = studentDashboardService;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Ottiene la dashboard dello studente autenticato.
+   *
+   * @param request L'oggetto {@link jakarta.servlet.http.HttpServletRequest} utilizzato per
+   *     estrarre l'ID dello studente autenticato.
+   * @param ifNoneMatch L'ETag della dashboard già in possesso del client, se presente.
+   * @return La dashboard dello studente con il relativo ETag, oppure 304 se invariata.
+   * @apiNote GET - getPersonalDashboard - STUDENT/ADMIN/SUPER_ADMIN TRACCIA: "Studenti -
+   *     Visualizzazione del feedback ricevuto" NOTA: sostituisce le quattro chiamate a
+   *     valutazioni, feedback, risposte e questionari disponibili.
+   * @see StudentDashboardService#getDashboard(String, String)
+   * @see JwtRequestHelper#extractStudentIdFromRequest(HttpServletRequest)
+   */
+  @GetMapping("/personal")
+  @PreAuthorize("hasRole('" + RoleType.ROLE_STUDENT + "') "
+      + "or hasRole('" + RoleType.ROLE_ADMIN + "') "
+      + "or hasRole('" + RoleType.ROLE_SUPER_ADMIN + "')")
+  @Operation(summary = "Ottieni la dashboard personale",
+      description = "Restituisce valutazioni, feedback, risposte e questionari disponibili dello "
+          + "studente autenticato. Supporta If-None-Match.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Dashboard trovata con successo",
+          content = @Content(schema = @Schema(implementation = StudentDashboardDto.class))),
+      @ApiResponse(responseCode = "304", description = "Dashboard invariata"),
+      @ApiResponse(responseCode = "401", description = "Accesso non autorizzato"),
+      @ApiResponse(responseCode = "403",
+          description = "Accesso vietato - ruolo STUDENT richiesto"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  public ResponseEntity<StudentDashboardDto> getPersonalDashboard(HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    String studentId = jwtRequestHelper.extractStudentIdFromRequest(request);
+    logger.debug("Richiesta dashboard personale per studente: {}", studentId);
+
+    StudentDashboardView view = studentDashboardService.getDashboard(studentId, ifNoneMatch);
+    if (view.notModified()) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(view.etag())
+          .cacheControl(CacheControl.noCache().cachePrivate())
+          .build();
+    }
+    return ResponseEntity.ok()
+        .eTag(view.etag())
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .body(view.dashboard());
+  }
+}
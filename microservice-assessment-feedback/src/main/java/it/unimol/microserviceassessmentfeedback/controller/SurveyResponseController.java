@@ -192,6 +192,92 @@ public class SurveyResponseController {
     return ResponseEntity.ok(responseService.getSurveyResults(id, userId));
   }
 
+  /**
+   * Ottiene gli studenti del corso che non hanno ancora risposto a un questionario.
+   *
+   * @param id L'ID univoco del questionario.
+   * @param request L'oggetto HttpServletRequest per estrarre l'ID utente.
+   * @return La lista degli ID degli studenti che non hanno ancora risposto.
+   * @apiNote GET - getNonRespondents - TEACHER/ADMIN/SUPER_ADMIN TRACCIA: Implicito per
+   *     monitoraggio della partecipazione ai questionari NOTA: gli iscritti al corso sono gli
+   *     studenti con almeno una valutazione nel corso
+   * @see it.unimol.microserviceassessmentfeedback.service.SurveyResponseService
+   *     #getNonRespondents(String, String)
+   * @see JwtRequestHelper#getUserIdFromRequest(HttpServletRequest)
+   * @see it.unimol.microserviceassessmentfeedback.enums.RoleType
+   */
+  @GetMapping("/{id}/non-respondents")
+  @PreAuthorize("hasRole('" + RoleType.ROLE_TEACHER + "') "
+      + "or hasRole('" + RoleType.ROLE_ADMIN + "') "
+      + "or hasRole('" + RoleType.ROLE_SUPER_ADMIN + "')")
+  @Operation(summary = "Ottieni i non rispondenti del questionario",
+      description = "Recupera gli studenti del corso che non hanno ancora compilato il "
+          + "questionario")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Non rispondenti trovati con successo"),
+      @ApiResponse(responseCode = "401",
+          description = "Accesso non autorizzato - JWT token richiesto"),
+      @ApiResponse(responseCode = "403",
+          description = "Accesso vietato - Ruolo TEACHER/ADMIN richiesto"),
+      @ApiResponse(responseCode = "404", description = "Questionario non trovato",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  public ResponseEntity<List<String>> getNonRespondents(
+      @Parameter(description = "ID Questionario", required = true, example = "uuid-questionario-1")
+      @PathVariable String id,
+      HttpServletRequest request) {
+    String userId = jwtRequestHelper.getUserIdFromRequest(request);
+    logger.info("Richiesta per ottenere non rispondenti questionario con ID: {} da utente: {}",
+        id, userId);
+    return ResponseEntity.ok(responseService.getNonRespondents(id, userId));
+  }
+
+  /**
+   * Invia un promemoria agli studenti del corso che non hanno ancora risposto a un questionario
+   * attivo.
+   *
+   * @param id L'ID univoco del questionario.
+   * @param request L'oggetto HttpServletRequest per estrarre l'ID utente.
+   * @return Una mappa con l'ID del questionario e il numero di studenti a cui è stato inviato
+   *     il promemoria.
+   * @apiNote POST - remindNonRespondents - TEACHER/ADMIN/SUPER_ADMIN TRACCIA: Implicito per
+   *     sollecito della compilazione dei questionari
+   * @see it.unimol.microserviceassessmentfeedback.service.SurveyResponseService
+   *     #remindNonRespondents(String, String)
+   * @see JwtRequestHelper#getUserIdFromRequest(HttpServletRequest)
+   * @see it.unimol.microserviceassessmentfeedback.enums.RoleType
+   */
+  @PostMapping("/{id}/reminders")
+  @PreAuthorize("hasRole('" + RoleType.ROLE_TEACHER + "') "
+      + "or hasRole('" + RoleType.ROLE_ADMIN + "') "
+      + "or hasRole('" + RoleType.ROLE_SUPER_ADMIN + "')")
+  @Operation(summary = "Invia promemoria ai non rispondenti",
+      description = "Notifica gli studenti del corso che non hanno ancora compilato il "
+          + "questionario attivo")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Promemoria inviati con successo"),
+      @ApiResponse(responseCode = "400", description = "Questionario non attivo",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "401",
+          description = "Accesso non autorizzato - JWT token richiesto"),
+      @ApiResponse(responseCode = "403",
+          description = "Accesso vietato - Ruolo TEACHER/ADMIN richiesto"),
+      @ApiResponse(responseCode = "404", description = "Questionario non trovato",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  public ResponseEntity<Map<String, Object>> remindNonRespondents(
+      @Parameter(description = "ID Questionario", required = true, example = "uuid-questionario-1")
+      @PathVariable String id,
+      HttpServletRequest request) {
+    String userId = jwtRequestHelper.getUserIdFromRequest(request);
+    logger.info("Richiesta per inviare promemoria questionario con ID: {} da utente: {}", id,
+        userId);
+    int reminded = responseService.remindNonRespondents(id, userId);
+    return ResponseEntity.ok(Map.of("surveyId", id, "reminded", reminded));
+  }
+
   /**
    * Invia le risposte di uno studente a un questionario.
    *
@@ -10,6 +10,8 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import it.unimol.microserviceassessmentfeedback.common.exception.ErrorResponse;
 import it.unimol.microserviceassessmentfeedback.common.util.JwtRequestHelper;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleRequestDto;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleResultDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
 import it.unimol.microserviceassessmentfeedback.enums.RoleType;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
@@ -458,6 +460,45 @@ public class TeacherSurveyController {
     return ResponseEntity.ok(updatedSurvey);
   }
 
+  /**
+   * Applica un'operazione massiva (apertura, chiusura o clonazione per il periodo successivo) ai
+   * questionari selezionati per anno accademico, semestre e corso.
+   *
+   * @param request Un oggetto {@link SurveyBulkLifecycleRequestDto} con operazione e filtro.
+   * @return Un {@link org.springframework.http.ResponseEntity} contenente l'oggetto
+   *     {@link SurveyBulkLifecycleResultDto} con l'esito, con stato HTTP 200 (OK).
+   * @apiNote POST - applyBulkLifecycle - ADMIN/SUPER_ADMIN TRACCIA: [NON SPECIFICATO/RICHIESTO
+   *     NELLA TRACCIA] NOTA: Solo amministratori, per le chiusure e riaperture di fine semestre
+   * @see it.unimol.microserviceassessmentfeedback.service.TeacherSurveyService
+   *     #applyBulkLifecycle(SurveyBulkLifecycleRequestDto)
+   * @see it.unimol.microserviceassessmentfeedback.enums.RoleType
+   */
+  @PostMapping("/bulk/lifecycle")
+  @PreAuthorize("hasRole('" + RoleType.ROLE_ADMIN + "') "
+      + "or hasRole('" + RoleType.ROLE_SUPER_ADMIN + "')")
+  @Operation(summary = "Operazione massiva sui questionari",
+      description = "Apre, chiude o clona per il periodo successivo tutti i questionari che "
+          + "corrispondono al filtro. Le transizioni non ammesse vengono escluse.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Operazione applicata",
+          content = @Content(schema = @Schema(
+              implementation = SurveyBulkLifecycleResultDto.class))),
+      @ApiResponse(responseCode = "400", description = "Dati richiesta non validi",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "401",
+          description = "Accesso non autorizzato - Token JWT richiesto"),
+      @ApiResponse(responseCode = "403",
+          description = "Accesso vietato - ruolo ADMIN o SUPER_ADMIN richiesto"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  public ResponseEntity<SurveyBulkLifecycleResultDto> applyBulkLifecycle(
+      @Parameter(description = "Operazione e filtro dei questionari", required = true)
+      @Valid @RequestBody SurveyBulkLifecycleRequestDto request) {
+    logger.info("Richiesta operazione massiva {} sui questionari", request.getAction());
+    SurveyBulkLifecycleResultDto result = surveyService.applyBulkLifecycle(request);
+    return ResponseEntity.ok(result);
+  }
+
   /**
    * Elimina un questionario di valutazione.
    *
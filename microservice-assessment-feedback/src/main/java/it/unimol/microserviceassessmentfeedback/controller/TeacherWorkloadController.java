@@ -0,0 +1,103 @@
+package it.unimol.microserviceassessmentfeedback.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import it.unimol.microserviceassessmentfeedback.common.util.JwtRequestHelper;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherWorkloadDto;
+import it.unimol.microserviceassessmentfeedback.enums.RoleType;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST del carico di lavoro dei docenti. Restituisce in una sola chiamata, per ogni
+ * corso del docente, valutazioni senza feedback, feedback scritti e tasso di risposta ai
+ * questionari.
+ */
+@RestController
+@RequestMapping("/api/v1/workload")
+@Tag(name = "TeacherWorkload Controller", description = "API del carico di lavoro dei docenti")
+@SecurityRequirement(name = "bearerAuth")
+public class TeacherWorkloadController {
+
+  private static final Logger logger = LoggerFactory.getLogger(TeacherWorkloadController.class);
+  private final TeacherWorkloadService teacherWorkloadService;
+  @Autowired
+  private JwtRequestHelper jwtRequestHelper;
+
+  // ============ Costruttore ============
+
+  @Autowired
+  public TeacherWorkloadController(TeacherWorkloadService teacherWorkloadService) {
+    this.teacherWorkloadService = teacherWorkloadService;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Recupera il carico di lavoro di un docente, suddiviso per corso.
+   *
+   * @param teacherId L'ID univoco del docente.
+   * @param request La richiesta HTTP per estrarre informazioni dell'utente autenticato.
+   * @return Una lista di oggetti {@link TeacherWorkloadDto}, uno per corso del docente.
+   * @apiNote GET - getTeacherWorkload - TEACHER/ADMIN/SUPER_ADMIN (TEACHER solo per se stesso)
+   *     TRACCIA: [NON SPECIFICATO/RICHIESTO NELLA TRACCIA] NOTA: sostituisce il conteggio lato
+   *     client di valutazioni, feedback e risposte del docente
+   * @see TeacherWorkloadService#getWorkload(String)
+   * @see JwtRequestHelper#extractTeacherIdFromRequest(HttpServletRequest)
+   */
+  @GetMapping("/teachers/{teacherId}")
+  @PreAuthorize("hasRole('" + RoleType.ROLE_TEACHER + "') "
+      + "or hasRole('" + RoleType.ROLE_ADMIN + "') "
+      + "or hasRole('" + RoleType.ROLE_SUPER_ADMIN + "')")
+  @Operation(summary = "Ottieni il carico di lavoro di un docente",
+      description = "Restituisce per ogni corso del docente le valutazioni senza feedback, i "
+          + "feedback scritti e il tasso di risposta ai questionari")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Carico di lavoro trovato con successo",
+          content = @Content(schema = @Schema(implementation = TeacherWorkloadDto.class))),
+      @ApiResponse(responseCode = "401", description = "Accesso non autorizzato"),
+      @ApiResponse(responseCode = "403",
+          description = "Accesso vietato - un docente può vedere solo il proprio carico"),
+      @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  public ResponseEntity<List<TeacherWorkloadDto>> getTeacherWorkload(
+      @Parameter(description = "ID Docente", required = true, example = "uuid-teacher-789")
+      @PathVariable String teacherId,
+      HttpServletRequest request) {
+
+    String userRole = jwtRequestHelper.getUserRoleFromRequest(request);
+    if (RoleType.ROLE_TEACHER.equals(userRole)) {
+      String currentTeacherId = jwtRequestHelper.extractTeacherIdFromRequest(request);
+      if (!teacherId.equals(currentTeacherId)) {
+        logger.warn("Tentativo di accesso non autorizzato: docente {} ha tentato di accedere al "
+            + "carico di lavoro del docente {}", currentTeacherId, teacherId);
+        throw new AccessDeniedException(
+            "Un docente può visualizzare solo il proprio carico di lavoro");
+      }
+    }
+
+    logger.debug("Richiesta carico di lavoro per docente: {}", teacherId);
+    return ResponseEntity.ok(teacherWorkloadService.getWorkload(teacherId));
+  }
+}
@@ -0,0 +1,154 @@
+package it.unimol.microserviceassessmentfeedback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO della dashboard di uno studente.
+ * Riunisce in un'unica risposta valutazioni, feedback, risposte ai questionari e questionari
+ * disponibili, con alcuni indicatori di sintesi.
+ */
+@Schema(description = "Dashboard dello Studente")
+public class StudentDashboardDto {
+
+  @Schema(description = "ID dello studente", example = "456")
+  private String studentId;
+
+  @Schema(description = "Valutazioni dello studente")
+  private List<AssessmentDto> assessments;
+
+  @Schema(description = "Feedback dettagliati ricevuti dallo studente")
+  private List<DetailedFeedbackDto> feedback;
+
+  @Schema(description = "Risposte inviate dallo studente ai questionari")
+  private List<SurveyResponseDto> surveyResponses;
+
+  @Schema(description = "Questionari attualmente disponibili")
+  private List<TeacherSurveyDto> availableSurveys;
+
+  @Schema(description = "Media dei voti delle valutazioni, null se assenti", example = "27.5")
+  private Double averageScore;
+
+  @Schema(description = "Numero di questionari disponibili non ancora compilati", example = "2")
+  private int pendingSurveys;
+
+  @Schema(description = "Data di calcolo dei dati personali della dashboard",
+      example = "2024-03-15T10:30:00")
+  private LocalDateTime generatedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public StudentDashboardDto() {
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StudentDashboardDto that)) {
+      return false;
+    }
+    return pendingSurveys == that.pendingSurveys
+        && Objects.equals(studentId, that.studentId)
+        && Objects.equals(assessments, that.assessments)
+        && Objects.equals(feedback, that.feedback)
+        && Objects.equals(surveyResponses, that.surveyResponses)
+        && Objects.equals(availableSurveys, that.availableSurveys)
+        && Objects.equals(averageScore, that.averageScore)
+        && Objects.equals(generatedAt, that.generatedAt);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(studentId, assessments, feedback, surveyResponses, availableSurveys,
+        averageScore, pendingSurveys, generatedAt);
+  }
+
+  @Override
+  public String toString() {
+    return "StudentDashboardDto{"
+        + "studentId='" + studentId + '\''
+        + ", assessments=" + (assessments != null ? assessments.size() : 0)
+        + ", feedback=" + (feedback != null ? feedback.size() : 0)
+        + ", surveyResponses=" + (surveyResponses != null ? surveyResponses.size() : 0)
+        + ", availableSurveys=" + (availableSurveys != null ? availableSurveys.size() : 0)
+        + ", averageScore=" + averageScore
+        + ", pendingSurveys=" + pendingSurveys
+        + ", generatedAt=" + generatedAt
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getStudentId() {
+    return studentId;
+  }
+
+  public void setStudentId(String studentId) {
+    this.studentId = studentId;
+  }
+
+  public List<AssessmentDto> getAssessments() {
+    return assessments;
+  }
+
+  public void setAssessments(List<AssessmentDto> assessments) {
+    this.assessments = assessments;
+  }
+
+  public List<DetailedFeedbackDto> getFeedback() {
+    return feedback;
+  }
+
+  public void setFeedback(List<DetailedFeedbackDto> feedback) {
+    this.feedback = feedback;
+  }
+
+  public List<SurveyResponseDto> getSurveyResponses() {
+    return surveyResponses;
+  }
+
+  public void setSurveyResponses(List<SurveyResponseDto> surveyResponses) {
+    this.surveyResponses = surveyResponses;
+  }
+
+  public List<TeacherSurveyDto> getAvailableSurveys() {
+    return availableSurveys;
+  }
+
+  public void setAvailableSurveys(List<TeacherSurveyDto> availableSurveys) {
+    this.availableSurveys = availableSurveys;
+  }
+
+  public Double getAverageScore() {
+    return averageScore;
+  }
+
+  public void setAverageScore(Double averageScore) {
+    this.averageScore = averageScore;
+  }
+
+  public int getPendingSurveys() {
+    return pendingSurveys;
+  }
+
+  public void setPendingSurveys(int pendingSurveys) {
+    this.pendingSurveys = pendingSurveys;
+  }
+
+  public LocalDateTime getGeneratedAt() {
+    return generatedAt;
+  }
+
+  public void setGeneratedAt(LocalDateTime generatedAt) {
+    this.generatedAt = generatedAt;
+  }
+}
@@ -0,0 +1,160 @@
+package it.unimol.microserviceassessmentfeedback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import java.util.Objects;
+
+/**
+ * DTO per le richieste di operazioni massive sul ciclo di vita dei questionari.
+ * Il filtro seleziona i questionari per anno accademico ed eventualmente semestre e corso.
+ */
+@Schema(description = "DTO per le operazioni massive sui Questionari")
+public class SurveyBulkLifecycleRequestDto {
+
+  @Schema(description = "Operazione da eseguire", example = "CLOSE",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @NotNull(message = "L'operazione è richiesta")
+  private SurveyLifecycleAction action;
+
+  @Schema(description = "Anno accademico dei questionari da selezionare", example = "2023-2024",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @NotBlank(message = "AcademicYear è richiesto")
+  @Pattern(regexp = "\\d{4}-\\d{4}", message = "Il formato dell'anno accademico deve essere "
+      + "YYYY-YYYY")
+  private String academicYear;
+
+  @Schema(description = "Semestre dei questionari da selezionare (opzionale)", example = "2")
+  @Positive(message = "Semester deve essere un numero positivo")
+  private Integer semester;
+
+  @Schema(description = "Corso dei questionari da selezionare (opzionale)",
+      example = "uuid-corso-456")
+  private String courseId;
+
+  @Schema(description = "Anno accademico di destinazione per CLONE; se assente viene calcolato "
+      + "dal periodo successivo", example = "2024-2025")
+  @Pattern(regexp = "\\d{4}-\\d{4}", message = "Il formato dell'anno accademico deve essere "
+      + "YYYY-YYYY")
+  private String targetAcademicYear;
+
+  @Schema(description = "Semestre di destinazione per CLONE; se assente viene calcolato dal "
+      + "periodo successivo", example = "1")
+  @Positive(message = "Semester deve essere un numero positivo")
+  private Integer targetSemester;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public SurveyBulkLifecycleRequestDto() {
+  }
+
+  /**
+   * Costruttore con i parametri del filtro.
+   *
+   * @param action operazione da eseguire
+   * @param academicYear anno accademico
+   * @param semester semestre (opzionale)
+   * @param courseId ID del corso (opzionale)
+   */
+  public SurveyBulkLifecycleRequestDto(SurveyLifecycleAction action, String academicYear,
+      Integer semester, String courseId) {
+    this.action = action;
+    this.academicYear = academicYear;
+    this.semester = semester;
+    this.courseId = courseId;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SurveyBulkLifecycleRequestDto that)) {
+      return false;
+    }
+    return action == that.action
+        && Objects.equals(academicYear, that.academicYear)
+        && Objects.equals(semester, that.semester)
+        && Objects.equals(courseId, that.courseId)
+        && Objects.equals(targetAcademicYear, that.targetAcademicYear)
+        && Objects.equals(targetSemester, that.targetSemester);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(action, academicYear, semester, courseId, targetAcademicYear,
+        targetSemester);
+  }
+
+  @Override
+  public String toString() {
+    return "SurveyBulkLifecycleRequestDto{"
+        + "action=" + action
+        + ", academicYear='" + academicYear + '\''
+        + ", semester=" + semester
+        + ", courseId='" + courseId + '\''
+        + ", targetAcademicYear='" + targetAcademicYear + '\''
+        + ", targetSemester=" + targetSemester
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public SurveyLifecycleAction getAction() {
+    return action;
+  }
+
+  public void setAction(SurveyLifecycleAction action) {
+    this.action = action;
+  }
+
+  public String getAcademicYear() {
+    return academicYear;
+  }
+
+  public void setAcademicYear(String academicYear) {
+    this.academicYear = academicYear;
+  }
+
+  public Integer getSemester() {
+    return semester;
+  }
+
+  public void setSemester(Integer semester) {
+    this.semester = semester;
+  }
+
+  public String getCourseId() {
+    return courseId;
+  }
+
+  public void setCourseId(String courseId) {
+    this.courseId = courseId;
+  }
+
+  public String getTargetAcademicYear() {
+    return targetAcademicYear;
+  }
+
+  public void setTargetAcademicYear(String targetAcademicYear) {
+    this.targetAcademicYear = targetAcademicYear;
+  }
+
+  public Integer getTargetSemester() {
+    return targetSemester;
+  }
+
+  public void setTargetSemester(Integer targetSemester) {
+    this.targetSemester = targetSemester;
+  }
+
+  // ============ Metodi di Classe ============
+}
@@ -0,0 +1,147 @@
+package it.unimol.microserviceassessmentfeedback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import java.util.Objects;
+
+/**
+ * DTO con l'esito di un'operazione massiva sul ciclo di vita dei questionari.
+ */
+@Schema(description = "Esito di un'operazione massiva sui Questionari")
+public class SurveyBulkLifecycleResultDto {
+
+  @Schema(description = "Operazione eseguita", example = "CLOSE")
+  private SurveyLifecycleAction action;
+
+  @Schema(description = "Stato risultante dei questionari modificati o creati", example = "CLOSED")
+  private SurveyStatus targetStatus;
+
+  @Schema(description = "Numero di questionari selezionati dal filtro", example = "1200")
+  private int matched;
+
+  @Schema(description = "Numero di questionari modificati o creati", example = "1150")
+  private int updated;
+
+  @Schema(description = "Numero di questionari esclusi (transizione non valida o già presenti)",
+      example = "50")
+  private int skipped;
+
+  @Schema(description = "Numero di lotti applicati (uno per evento pubblicato)", example = "3")
+  private int batches;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public SurveyBulkLifecycleResultDto() {
+  }
+
+  /**
+   * Costruttore con tutti i parametri.
+   *
+   * @param action operazione eseguita
+   * @param targetStatus stato risultante
+   * @param matched questionari selezionati
+   * @param updated questionari modificati o creati
+   * @param skipped questionari esclusi
+   * @param batches lotti applicati
+   */
+  public SurveyBulkLifecycleResultDto(SurveyLifecycleAction action, SurveyStatus targetStatus,
+      int matched, int updated, int skipped, int batches) {
+    this.action = action;
+    this.targetStatus = targetStatus;
+    this.matched = matched;
+    this.updated = updated;
+    this.skipped = skipped;
+    this.batches = batches;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SurveyBulkLifecycleResultDto that)) {
+      return false;
+    }
+    return matched == that.matched
+        && updated == that.updated
+        && skipped == that.skipped
+        && batches == that.batches
+        && action == that.action
+        && targetStatus == that.targetStatus;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(action, targetStatus, matched, updated, skipped, batches);
+  }
+
+  @Override
+  public String toString() {
+    return "SurveyBulkLifecycleResultDto{"
+        + "action=" + action
+        + ", targetStatus=" + targetStatus
+        + ", matched=" + matched
+        + ", updated=" + updated
+        + ", skipped=" + skipped
+        + ", batches=" + batches
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public SurveyLifecycleAction getAction() {
+    return action;
+  }
+
+  public void setAction(SurveyLifecycleAction action) {
+    this.action = action;
+  }
+
+  public SurveyStatus getTargetStatus() {
+    return targetStatus;
+  }
+
+  public void setTargetStatus(SurveyStatus targetStatus) {
+    this.targetStatus = targetStatus;
+  }
+
+  public int getMatched() {
+    return matched;
+  }
+
+  public void setMatched(int matched) {
+    this.matched = matched;
+  }
+
+  public int getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(int updated) {
+    this.updated = updated;
+  }
+
+  public int getSkipped() {
+    return skipped;
+  }
+
+  public void setSkipped(int skipped) {
+    this.skipped = skipped;
+  }
+
+  public int getBatches() {
+    return batches;
+  }
+
+  public void setBatches(int batches) {
+    this.batches = batches;
+  }
+
+  // ============ Metodi di Classe ============
+}
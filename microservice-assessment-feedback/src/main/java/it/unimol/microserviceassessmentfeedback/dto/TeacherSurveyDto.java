@@ -64,6 +64,19 @@ public class TeacherSurveyDto {
   @Schema(description = "Data di chiusura del questionario", example = "2024-03-31T23:59:59")
   private LocalDateTime closingDate;
 
+  @Schema(description = "Apertura programmata: a questa data il questionario passa ad ACTIVE",
+      example = "2024-03-01T09:00:00")
+  private LocalDateTime scheduledOpenAt;
+
+  @Schema(description = "Chiusura programmata: a questa data il questionario passa a CLOSED",
+      example = "2024-03-31T23:59:59")
+  private LocalDateTime scheduledCloseAt;
+
+  @Schema(description = "Se true, in aggiornamento rimuove l'apertura e la chiusura programmate "
+      + "prima di applicare quelle indicate nella richiesta", example = "false",
+      accessMode = Schema.AccessMode.WRITE_ONLY)
+  private boolean clearSchedule;
+
   @Schema(description = "Titolo del questionario", example = "Questionario Valutazione "
       + "Insegnamento Matematica I", requiredMode = Schema.RequiredMode.REQUIRED, maxLength = 255)
   @NotBlank(message = "Il titolo del questionario è richiesto")
@@ -140,6 +153,8 @@ public class TeacherSurveyDto {
         && status == that.status
         && Objects.equals(creationDate, that.creationDate)
         && Objects.equals(closingDate, that.closingDate)
+        && Objects.equals(scheduledOpenAt, that.scheduledOpenAt)
+        && Objects.equals(scheduledCloseAt, that.scheduledCloseAt)
         && Objects.equals(title, that.title)
         && Objects.equals(description, that.description)
         && Objects.equals(questions, that.questions);
@@ -147,8 +162,8 @@ public class TeacherSurveyDto {
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, courseId, teacherId, academicYear,
-        semester, status, creationDate, closingDate, title, description, questions);
+    return Objects.hash(id, courseId, teacherId, academicYear, semester, status, creationDate,
+        closingDate, scheduledOpenAt, scheduledCloseAt, title, description, questions);
   }
 
   @Override
@@ -162,6 +177,8 @@ public class TeacherSurveyDto {
         + ", status=" + status
         + ", creationDate=" + creationDate
         + ", closingDate=" + closingDate
+        + ", scheduledOpenAt=" + scheduledOpenAt
+        + ", scheduledCloseAt=" + scheduledCloseAt
         + ", title='" + title + '\''
         + ", description='" + description + '\''
         + ", questions=" + questions
@@ -233,6 +250,30 @@ public class TeacherSurveyDto {
     this.closingDate = closingDate;
   }
 
+  public LocalDateTime getScheduledOpenAt() {
+    return scheduledOpenAt;
+  }
+
+  public void setScheduledOpenAt(LocalDateTime scheduledOpenAt) {
+    this.scheduledOpenAt = scheduledOpenAt;
+  }
+
+  public LocalDateTime getScheduledCloseAt() {
+    return scheduledCloseAt;
+  }
+
+  public void setScheduledCloseAt(LocalDateTime scheduledCloseAt) {
+    this.scheduledCloseAt = scheduledCloseAt;
+  }
+
+  public boolean isClearSchedule() {
+    return clearSchedule;
+  }
+
+  public void setClearSchedule(boolean clearSchedule) {
+    this.clearSchedule = clearSchedule;
+  }
+
   public String getTitle() {
     return title;
   }
@@ -275,6 +316,8 @@ public class TeacherSurveyDto {
     private SurveyStatus status;
     private LocalDateTime creationDate;
     private LocalDateTime closingDate;
+    private LocalDateTime scheduledOpenAt;
+    private LocalDateTime scheduledCloseAt;
     private String title;
     private String description;
     private List<SurveyQuestionDto> questions;
@@ -319,6 +362,16 @@ public class TeacherSurveyDto {
       return this;
     }
 
+    public Builder scheduledOpenAt(LocalDateTime scheduledOpenAt) {
+      this.scheduledOpenAt = scheduledOpenAt;
+      return this;
+    }
+
+    public Builder scheduledCloseAt(LocalDateTime scheduledCloseAt) {
+      this.scheduledCloseAt = scheduledCloseAt;
+      return this;
+    }
+
     public Builder title(String title) {
       this.title = title;
       return this;
@@ -334,9 +387,17 @@ public class TeacherSurveyDto {
       return this;
     }
 
+    /**
+     * Costruisce il DTO con i valori impostati.
+     *
+     * @return il DTO del questionario
+     */
     public TeacherSurveyDto build() {
-      return new TeacherSurveyDto(id, courseId, teacherId, academicYear,
+      TeacherSurveyDto dto = new TeacherSurveyDto(id, courseId, teacherId, academicYear,
           semester, status, creationDate, closingDate, title, description, questions);
+      dto.setScheduledOpenAt(scheduledOpenAt);
+      dto.setScheduledCloseAt(scheduledCloseAt);
+      return dto;
     }
   }
 
@@ -378,6 +439,10 @@ public class TeacherSurveyDto {
     @Min(value = 1, message = "La lunghezza massima del testo deve essere almeno 1")
     private Integer maxLengthText;
 
+    @Schema(description = "Posizione della domanda nel questionario, da 0 (assegnata alla "
+        + "creazione)", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    private Integer ordinal;
+
     // ============ Costruttore ============
 
     /**
@@ -422,12 +487,14 @@ public class TeacherSurveyDto {
           && questionType == that.questionType
           && Objects.equals(minRating, that.minRating)
           && Objects.equals(maxRating, that.maxRating)
-          && Objects.equals(maxLengthText, that.maxLengthText);
+          && Objects.equals(maxLengthText, that.maxLengthText)
+          && Objects.equals(ordinal, that.ordinal);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(id, questionText, questionType, minRating, maxRating, maxLengthText);
+      return Objects.hash(id, questionText, questionType, minRating, maxRating, maxLengthText,
+          ordinal);
     }
 
     @Override
@@ -439,6 +506,7 @@ public class TeacherSurveyDto {
           + ", minRating=" + minRating
           + ", maxRating=" + maxRating
           + ", maxLengthText=" + maxLengthText
+          + ", ordinal=" + ordinal
           + '}';
     }
 
@@ -491,6 +559,14 @@ public class TeacherSurveyDto {
       this.maxLengthText = maxLengthText;
     }
 
+    public Integer getOrdinal() {
+      return ordinal;
+    }
+
+    public void setOrdinal(Integer ordinal) {
+      this.ordinal = ordinal;
+    }
+
     // ============ Metodi di Classe ============
     public static SurveyQuestionDto.Builder builder() {
       return new SurveyQuestionDto.Builder();
@@ -507,6 +583,7 @@ public class TeacherSurveyDto {
       private Integer minRating;
       private Integer maxRating;
       private Integer maxLengthText;
+      private Integer ordinal;
 
       public Builder id(String id) {
         this.id = id;
@@ -538,6 +615,11 @@ public class TeacherSurveyDto {
         return this;
       }
 
+      public Builder ordinal(Integer ordinal) {
+        this.ordinal = ordinal;
+        return this;
+      }
+
       /**
        * Costruisce un oggetto SurveyQuestionDto con i valori impostati.
        * Imposta i valori di default per minRating, maxRating e maxLengthText se non specificati.
@@ -556,8 +638,10 @@ public class TeacherSurveyDto {
         if (questionType == QuestionType.TEXT && maxLengthText == null) {
           maxLengthText = 255;
         }
-        return new SurveyQuestionDto(id, questionText, questionType, minRating, maxRating,
-            maxLengthText);
+        SurveyQuestionDto question = new SurveyQuestionDto(id, questionText, questionType,
+            minRating, maxRating, maxLengthText);
+        question.setOrdinal(ordinal);
+        return question;
       }
     }
   }
@@ -0,0 +1,165 @@
+package it.unimol.microserviceassessmentfeedback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+/**
+ * DTO del carico di lavoro di un docente su un corso.
+ * Riporta le valutazioni ancora senza feedback, i feedback scritti e il tasso di risposta ai
+ * questionari del corso.
+ */
+@Schema(description = "Carico di lavoro del Docente per corso")
+public class TeacherWorkloadDto {
+
+  @Schema(description = "ID del docente", example = "789")
+  private String teacherId;
+
+  @Schema(description = "ID del corso", example = "123")
+  private String courseId;
+
+  @Schema(description = "Numero di valutazioni registrate", example = "40")
+  private long assessments;
+
+  @Schema(description = "Valutazioni ancora senza feedback dettagliato", example = "12")
+  private long pendingGrading;
+
+  @Schema(description = "Numero di feedback dettagliati scritti", example = "30")
+  private long feedbackWritten;
+
+  @Schema(description = "Numero di studenti distinti valutati nel corso", example = "35")
+  private long students;
+
+  @Schema(description = "Numero di questionari del corso", example = "2")
+  private long surveys;
+
+  @Schema(description = "Numero di questionari compilati dagli studenti", example = "49")
+  private long surveySubmissions;
+
+  @Schema(description = "Frazione delle coppie studente/questionario compilate, null se non "
+      + "calcolabile", example = "0.7")
+  private Double surveyResponseRate;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public TeacherWorkloadDto() {
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TeacherWorkloadDto that)) {
+      return false;
+    }
+    return assessments == that.assessments
+        && pendingGrading == that.pendingGrading
+        && feedbackWritten == that.feedbackWritten
+        && students == that.students
+        && surveys == that.surveys
+        && surveySubmissions == that.surveySubmissions
+        && Objects.equals(teacherId, that.teacherId)
+        && Objects.equals(courseId, that.courseId)
+        && Objects.equals(surveyResponseRate, that.surveyResponseRate);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(teacherId, courseId, assessments, pendingGrading, feedbackWritten,
+        students, surveys, surveySubmissions, surveyResponseRate);
+  }
+
+  @Override
+  public String toString() {
+    return "TeacherWorkloadDto{"
+        + "teacherId='" + teacherId + '\''
+        + ", courseId='" + courseId + '\''
+        + ", assessments=" + assessments
+        + ", pendingGrading=" + pendingGrading
+        + ", feedbackWritten=" + feedbackWritten
+        + ", students=" + students
+        + ", surveys=" + surveys
+        + ", surveySubmissions=" + surveySubmissions
+        + ", surveyResponseRate=" + surveyResponseRate
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getTeacherId() {
+    return teacherId;
+  }
+
+  public void setTeacherId(String teacherId) {
+    this.teacherId = teacherId;
+  }
+
+  public String getCourseId() {
+    return courseId;
+  }
+
+  public void setCourseId(String courseId) {
+    this.courseId = courseId;
+  }
+
+  public long getAssessments() {
+    return assessments;
+  }
+
+  public void setAssessments(long assessments) {
+    this.assessments = assessments;
+  }
+
+  public long getPendingGrading() {
+    return pendingGrading;
+  }
+
+  public void setPendingGrading(long pendingGrading) {
+    this.pendingGrading = pendingGrading;
+  }
+
+  public long getFeedbackWritten() {
+    return feedbackWritten;
+  }
+
+  public void setFeedbackWritten(long feedbackWritten) {
+    this.feedbackWritten = feedbackWritten;
+  }
+
+  public long getStudents() {
+    return students;
+  }
+
+  public void setStudents(long students) {
+    this.students = students;
+  }
+
+  public long getSurveys() {
+    return surveys;
+  }
+
+  public void setSurveys(long surveys) {
+    this.surveys = surveys;
+  }
+
+  public long getSurveySubmissions() {
+    return surveySubmissions;
+  }
+
+  public void setSurveySubmissions(long surveySubmissions) {
+    this.surveySubmissions = surveySubmissions;
+  }
+
+  public Double getSurveyResponseRate() {
+    return surveyResponseRate;
+  }
+
+  public void setSurveyResponseRate(Double surveyResponseRate) {
+    this.surveyResponseRate = surveyResponseRate;
+  }
+}
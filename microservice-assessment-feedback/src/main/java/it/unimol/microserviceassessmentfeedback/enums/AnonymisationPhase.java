@@ -0,0 +1,28 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+/**
+ * Enum per le fasi dell'anonimizzazione di un utente cancellato, nell'ordine in cui vengono
+ * eseguite. I feedback sono individuati tramite lo studente della valutazione, quindi vengono
+ * oscurati prima che la valutazione sia pseudonimizzata. Le ultime fasi trattano le righe dei
+ * corsi archiviati e le partizioni spostate nello schema di archivio.
+ */
+public enum AnonymisationPhase {
+  FEEDBACK_TEXT,
+  STUDENT_ASSESSMENTS,
+  SURVEY_RESPONSES,
+  SURVEY_SUBMISSIONS,
+  TEACHER_ASSESSMENTS,
+  TEACHER_SURVEYS,
+  ARCHIVED_RECORDS,
+  ARCHIVED_PARTITIONS,
+  DONE;
+
+  /**
+   * Restituisce la fase successiva.
+   *
+   * @return la fase successiva, o DONE se questa è l'ultima
+   */
+  public AnonymisationPhase next() {
+    return this == DONE ? DONE : values()[ordinal() + 1];
+  }
+}
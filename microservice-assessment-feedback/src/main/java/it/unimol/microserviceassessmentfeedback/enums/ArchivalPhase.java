@@ -0,0 +1,24 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+/**
+ * Enum per le fasi dell'archiviazione di un corso, nell'ordine in cui vengono eseguite.
+ * Le righe figlie (risposte, feedback) sono archiviate prima delle righe a cui fanno riferimento.
+ */
+public enum ArchivalPhase {
+  CLOSE_SURVEYS,
+  SURVEY_RESPONSES,
+  SURVEY_SUBMISSIONS,
+  TEACHER_SURVEYS,
+  DETAILED_FEEDBACK,
+  ASSESSMENTS,
+  DONE;
+
+  /**
+   * Restituisce la fase successiva.
+   *
+   * @return la fase successiva, o DONE se questa è l'ultima
+   */
+  public ArchivalPhase next() {
+    return this == DONE ? DONE : values()[ordinal() + 1];
+  }
+}
@@ -0,0 +1,11 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+/**
+ * Enum per lo stato dei job di background elaborati a chunk (archiviazione, anonimizzazione).
+ */
+public enum BackgroundJobStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
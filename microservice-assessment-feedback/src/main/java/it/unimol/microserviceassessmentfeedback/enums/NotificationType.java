@@ -0,0 +1,34 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+/**
+ * Enum per le tipologie di notifica. Ogni tipologia ha un proprio digest per destinatario.
+ */
+public enum NotificationType {
+  TEACHER_SUBMISSION("Nuove consegne"),
+  TEACHER_EXAM_COMPLETION("Esami completati"),
+  ASSESSMENT_REMINDER("Valutazioni in sospeso"),
+  STUDENT_FEEDBACK("Nuovi feedback"),
+  STUDENT_GRADE("Nuovi voti"),
+  STUDENT_SURVEY("Nuovi survey"),
+  ASSIGNMENT_UPDATE("Assignment modificati"),
+  ASSIGNMENT_DEADLINE("Scadenze imminenti"),
+  COURSE_DELETION("Corsi cancellati"),
+  WELCOME("Benvenuto"),
+  SURVEY_POST_EXAM("Survey post-esame"),
+  SURVEY_SCHEDULED("Survey programmati");
+
+  private final String label;
+
+  NotificationType(String label) {
+    this.label = label;
+  }
+
+  /**
+   * Restituisce l'etichetta usata come oggetto della notifica.
+   *
+   * @return l'etichetta della tipologia
+   */
+  public String getLabel() {
+    return label;
+  }
+}
@@ -0,0 +1,11 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+/**
+ * Enum per lo stato di un task programmato.
+ */
+public enum ScheduledTaskStatus {
+  PENDING,
+  CLAIMED,
+  DONE,
+  FAILED
+}
@@ -0,0 +1,10 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+/**
+ * Enum per le tipologie di task programmati.
+ */
+public enum ScheduledTaskType {
+  ASSESSMENT_REMINDER,
+  ASSIGNMENT_DEADLINE_REMINDER,
+  FEEDBACK_SURVEY
+}
@@ -0,0 +1,13 @@
+package it.unimol.microserviceassessmentfeedback.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Enum per le operazioni massive sul ciclo di vita dei questionari.
+ */
+@Schema(description = "Operazione massiva sui questionari (e.g., OPEN, CLOSE, CLONE)")
+public enum SurveyLifecycleAction {
+  OPEN,
+  CLOSE,
+  CLONE
+}
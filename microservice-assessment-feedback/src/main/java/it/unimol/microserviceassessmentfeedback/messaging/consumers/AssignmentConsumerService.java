@@ -4,6 +4,7 @@ import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
 import it.unimol.microserviceassessmentfeedback.enums.ReferenceType;
 import it.unimol.microserviceassessmentfeedback.service.AssessmentService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.ScheduledTaskService;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -27,6 +28,9 @@ public class AssignmentConsumerService extends BaseEventConsumer {
   @Autowired
   private NotificationService notificationService;
 
+  @Autowired
+  private ScheduledTaskService scheduledTaskService;
+
   @RabbitListener(queues = "${rabbitmq.queue.assignmentSubmitted}")
   public void handleAssignmentSubmitted(Map<String, Object> message) {
     processMessage(message, "ASSIGNMENT_SUBMITTED");
@@ -247,8 +251,7 @@ public class AssignmentConsumerService extends BaseEventConsumer {
         "📅 REMINDER SCHEDULED - Teacher: {} | Assignment: {} | Assessment: {} | Reminder in 48h",
         teacherId, assignmentId, assessmentId);
 
-    // TODO: Implementare con @Scheduled o sistema di code delayed
-    // scheduler.scheduleReminder(teacherId, assignmentId, Duration.ofHours(48));
+    scheduledTaskService.scheduleAssessmentReminder(teacherId, assignmentId, assessmentId);
   }
 
   private void updateCourseStatistics(String courseId, String eventType, String studentId) {
@@ -305,7 +308,6 @@ public class AssignmentConsumerService extends BaseEventConsumer {
     // TODO
   }
 
-  @SuppressWarnings("unused")
   private void scheduleAssignmentDeadlineReminders(String assignmentId, String courseId,
       Long dueDate) {
     if (dueDate != null) {
@@ -313,7 +315,7 @@ public class AssignmentConsumerService extends BaseEventConsumer {
           assignmentId,
           LocalDateTime.ofInstant(Instant.ofEpochMilli(dueDate), java.time.ZoneId.systemDefault()));
 
-      // TODO
+      scheduledTaskService.scheduleDeadlineReminders(assignmentId, courseId, dueDate);
     }
   }
 
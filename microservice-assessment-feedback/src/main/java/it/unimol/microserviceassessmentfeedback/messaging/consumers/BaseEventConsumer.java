@@ -3,6 +3,7 @@ package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 /**
@@ -19,6 +20,9 @@ public abstract class BaseEventConsumer {
   @Value("${spring.application.name:microservice-assessment-feedback}")
   protected String serviceName;
 
+  @Autowired(required = false)
+  private EventConsumerMetrics consumerMetrics;
+
   // ============ Costruttore ============
 
   // ============ Metodi Override ============
@@ -82,12 +86,17 @@ public abstract class BaseEventConsumer {
     try {
       String eventType = (String) message.get("eventType");
       String sourceService = (String) message.get("serviceName");
-      Long timestamp = (Long) message.get("timestamp");
+      Long timestamp = getLongValue(message, "timestamp");
 
       logger.info("Processing {} event from service: {} at timestamp: {}",
           eventType, sourceService, timestamp);
 
-      handleMessage(message, messageType);
+      if (consumerMetrics != null) {
+        consumerMetrics.observe(getClass().getSimpleName(), messageType, timestamp,
+            () -> handleMessage(message, messageType));
+      } else {
+        handleMessage(message, messageType);
+      }
 
       logger.info("{} event processed successfully", eventType);
 
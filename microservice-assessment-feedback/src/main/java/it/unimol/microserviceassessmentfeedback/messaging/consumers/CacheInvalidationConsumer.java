@@ -0,0 +1,50 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.CacheInvalidationPublisher;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import java.util.List;
+import java.util.Map;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consumer delle invalidazioni delle cache locali pubblicate dalle altre repliche.
+ * Ascolta la coda anonima della replica collegata al fanout exchange delle cache e applica
+ * l'invalidazione a {@link LocalEntityCache}.
+ */
+@Service
+public class CacheInvalidationConsumer extends BaseEventConsumer {
+
+  @Autowired
+  private LocalEntityCache localEntityCache;
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+  @Override
+  protected void handleMessage(Map<String, Object> message, String messageType) {
+    if (CacheInvalidationPublisher.CACHE_INVALIDATED.equals(messageType)) {
+      processCacheInvalidated(message);
+    } else {
+      logger.warn("Unknown message type: {}", messageType);
+    }
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+  public void handleCacheInvalidated(Map<String, Object> message) {
+    processMessage(message, CacheInvalidationPublisher.CACHE_INVALIDATED);
+  }
+
+  private void processCacheInvalidated(Map<String, Object> message) {
+    List<String> keys = message.get("keys") instanceof List<?> values
+        ? values.stream().map(String::valueOf).toList()
+        : null;
+    localEntityCache.applyRemote(getStringValue(message, "origin"),
+        getStringValue(message, "cache"), keys, getLongValue(message, "timestamp"));
+  }
+}
@@ -0,0 +1,45 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import java.util.Locale;
+
+/**
+ * Corsie di priorità dei consumer. Determina a quale pool di listener e a quale serie di
+ * metriche appartiene ciascun tipo di messaggio.
+ */
+public enum ConsumerLane {
+  CRITICAL,
+  STANDARD,
+  HOUSEKEEPING;
+
+  /**
+   * Restituisce la corsia associata a un tipo di messaggio.
+   *
+   * @param messageType il tipo di messaggio (es. "EXAM_GRADE_REGISTERED")
+   * @return la corsia del messaggio
+   */
+  public static ConsumerLane forMessageType(String messageType) {
+    if (messageType == null) {
+      return STANDARD;
+    }
+    switch (messageType) {
+      case "EXAM_GRADE_REGISTERED":
+      case "EXAM_COMPLETED":
+        return CRITICAL;
+      case "STUDENT_CREATED":
+      case "TEACHER_CREATED":
+      case "COURSE_CREATED":
+        return HOUSEKEEPING;
+      default:
+        return STANDARD;
+    }
+  }
+
+  /**
+   * Restituisce il valore del tag usato nelle metriche.
+   *
+   * @return il nome della corsia in minuscolo
+   */
+  public String tagValue() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -1,5 +1,9 @@
 package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.HOUSEKEEPING_LISTENER_FACTORY;
+
+import it.unimol.microserviceassessmentfeedback.service.archival.CourseArchivalService;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryProjectionService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
 import java.util.Map;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -18,6 +22,12 @@ public class CourseConsumerService extends BaseEventConsumer {
   @Autowired
   private NotificationService notificationService;
 
+  @Autowired
+  private CourseArchivalService courseArchivalService;
+
+  @Autowired
+  private DirectoryProjectionService directoryProjectionService;
+
   // ============ Costruttore ============
 
   // ============ Metodi Override ============
@@ -39,7 +49,8 @@ public class CourseConsumerService extends BaseEventConsumer {
 
   // ============ Metodi di Classe ============
 
-  @RabbitListener(queues = "${rabbitmq.queue.courseCreated}")
+  @RabbitListener(queues = "${rabbitmq.queue.courseCreated}",
+      containerFactory = HOUSEKEEPING_LISTENER_FACTORY)
   public void handleCourseCreated(Map<String, Object> message) {
     processMessage(message, "COURSE_CREATED");
   }
@@ -66,8 +77,9 @@ public class CourseConsumerService extends BaseEventConsumer {
         courseId, courseName, teacherId);
 
     try {
-      // 1. Inizializzare template di assessment per il corso
-      initializeCourseFeedbackSettings(courseId, courseName, teacherId, department);
+      // 1. Registrare il corso nella proiezione locale dei corsi
+      directoryProjectionService.applyCourse(courseId, courseName, courseCode, teacherId,
+          department, academicYear, semester, getLongValue(message, "timestamp"));
 
       // 2. Preparare template di survey per il corso
       setupCourseSurveyTemplates(courseId, courseName, semester);
@@ -98,44 +110,10 @@ public class CourseConsumerService extends BaseEventConsumer {
     logger.info("Processing course deletion - Course ID: {}, Course Name: {}, Reason: {}",
         courseId, courseName, reason);
 
-    try {
-      // 1. Archiviare tutti i dati di assessment del corso
-      archiveCourseData(courseId, courseName);
-
-      // 2. Finalizzare tutti i survey attivi del corso
-      finalizeCourseActiveSurveys(courseId);
-
-      // 3. Archiviare tutti i feedback del corso
-      archiveCourseFeedbacks(courseId);
-
-      // 4. Notificare la cancellazione
-      notificationService.notifyCourseDeletion(courseId, teacherId, reason);
-
-      // 5. Pulire configurazioni del corso
-      cleanupCourseConfigurations(courseId);
-
-      logger.info("Course deletion processed successfully for course: {} ({})", courseName,
-          courseId);
-
-    } catch (Exception e) {
-      logger.error("Error processing course deletion for course: {}", courseId, e);
-      throw e;
-    }
-  }
-
-  private void initializeCourseFeedbackSettings(String courseId, String courseName,
-      String teacherId, String department) {
-    logger.info("🎯 Initializing feedback settings for course: {} | Teacher: {} | Department: {}",
-        courseName, teacherId, department);
-
-    // Simula la creazione di template di feedback specifici per il dipartimento
-    if ("Computer Science".equalsIgnoreCase(department)) {
-      logger.info("📝 Created programming assignment feedback templates for course: {}", courseId);
-    } else if ("Mathematics".equalsIgnoreCase(department)) {
-      logger.info("📝 Created mathematical proof feedback templates for course: {}", courseId);
-    } else {
-      logger.info("📝 Created general feedback templates for course: {}", courseId);
-    }
+    // L'archiviazione di valutazioni, feedback, questionari e risposte avviene a chunk in
+    // background; la notifica di cancellazione viene inviata al completamento del job.
+    directoryProjectionService.applyCourseDeleted(courseId, getLongValue(message, "timestamp"));
+    courseArchivalService.enqueue(courseId, courseName, teacherId, reason);
   }
 
   private void setupCourseSurveyTemplates(String courseId, String courseName, String semester) {
@@ -157,43 +135,4 @@ public class CourseConsumerService extends BaseEventConsumer {
     logger.info("📬 Enabled exam completion notifications for teacher: {}", teacherId);
     logger.info("📬 Enabled feedback request notifications for course: {}", courseId);
   }
-
-  private void archiveCourseData(String courseId, String courseName) {
-    logger.info("📦 Archiving all assessment data for course: {} ({})", courseName, courseId);
-
-    // Simula l'archiviazione dei dati
-    logger.info("💾 Archived {} assessments for course: {}",
-        (int) (Math.random() * 50 + 10), courseId);
-    logger.info("💾 Archived {} feedback entries for course: {}",
-        (int) (Math.random() * 100 + 20), courseId);
-  }
-
-  private void finalizeCourseActiveSurveys(String courseId) {
-    logger.info("📊 Finalizing active surveys for course: {}", courseId);
-
-    // Simula la finalizzazione dei survey attivi
-    int activeSurveys = (int) (Math.random() * 5 + 1);
-    for (int i = 1; i <= activeSurveys; i++) {
-      logger.info("✅ Finalized survey #{} for course: {}", i, courseId);
-    }
-  }
-
-  private void archiveCourseFeedbacks(String courseId) {
-    logger.info("📂 Archiving all feedback for course: {}", courseId);
-
-    // Simula l'archiviazione dei feedback
-    int feedbackCount = (int) (Math.random() * 80 + 20);
-    logger.info("💾 Successfully archived {} feedback entries for course: {}", feedbackCount,
-        courseId);
-  }
-
-  private void cleanupCourseConfigurations(String courseId) {
-    logger.info("🧹 Cleaning up course configurations for: {}", courseId);
-
-    // Simula la pulizia delle configurazioni
-    logger.info("🗑️ Removed feedback templates for course: {}", courseId);
-    logger.info("🗑️ Removed survey configurations for course: {}", courseId);
-    logger.info("🗑️ Removed notification settings for course: {}", courseId);
-    logger.info("✨ Course cleanup completed for: {}", courseId);
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metriche Micrometer dei consumer di eventi.
+ *
+ * <p>Per ogni messaggio registra il ritardo tra pubblicazione e ricezione (lag) per tipo di
+ * messaggio e corsia di priorità ({@link ConsumerLane}), la durata dell'handler per
+ * {@code messageType}, l'esito (successo/errore) e il numero di messaggi in elaborazione per
+ * listener. Le metriche sono esposte da actuator anche in formato Prometheus.</p>
+ */
+@Component
+public class EventConsumerMetrics {
+
+  static final String LAG_METRIC = "rabbitmq.consumer.lag";
+  static final String HANDLER_METRIC = "rabbitmq.consumer.handler.duration";
+  static final String MESSAGES_METRIC = "rabbitmq.consumer.messages";
+  static final String IN_FLIGHT_METRIC = "rabbitmq.consumer.in.flight";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore delle metriche dei consumer.
+   *
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   */
+  public EventConsumerMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il numero di messaggi in elaborazione per un listener.
+   *
+   * @param listener il nome del listener
+   * @return il numero di messaggi in elaborazione
+   */
+  public int getInFlight(String listener) {
+    AtomicInteger counter = inFlight.get(listener);
+    return counter != null ? counter.get() : 0;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Esegue l'handler di un messaggio registrandone lag, durata, esito e messaggi in volo.
+   * Le eccezioni dell'handler vengono conteggiate come errori e rilanciate.
+   *
+   * @param listener il nome del listener che elabora il messaggio
+   * @param messageType il tipo di messaggio
+   * @param publishedAt il timestamp di pubblicazione in epoch millis, o null se assente
+   * @param handler la logica di elaborazione del messaggio
+   */
+  public void observe(String listener, String messageType, Long publishedAt, Runnable handler) {
+    String type = messageType != null ? messageType : "UNKNOWN";
+    if (publishedAt != null) {
+      long lag = Math.max(0L, System.currentTimeMillis() - publishedAt);
+      Timer.builder(LAG_METRIC)
+          .description("Ritardo tra pubblicazione e ricezione dell'evento")
+          .tag("messageType", type)
+          .tag("lane", ConsumerLane.forMessageType(messageType).tagValue())
+          .publishPercentileHistogram()
+          .register(meterRegistry)
+          .record(Duration.ofMillis(lag));
+    }
+
+    AtomicInteger listenerInFlight = inFlight.computeIfAbsent(listener, this::registerInFlight);
+    listenerInFlight.incrementAndGet();
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "failure";
+    try {
+      handler.run();
+      outcome = "success";
+    } finally {
+      listenerInFlight.decrementAndGet();
+      sample.stop(Timer.builder(HANDLER_METRIC)
+          .description("Durata dell'handler per tipo di messaggio")
+          .tag("messageType", type)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(meterRegistry));
+      Counter.builder(MESSAGES_METRIC)
+          .description("Messaggi consumati per tipo ed esito")
+          .tag("messageType", type)
+          .tag("outcome", outcome)
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+
+  private AtomicInteger registerInFlight(String listener) {
+    AtomicInteger counter = new AtomicInteger();
+    Gauge.builder(IN_FLIGHT_METRIC, counter, AtomicInteger::get)
+        .description("Messaggi in elaborazione per listener")
+        .tag("listener", listener)
+        .register(meterRegistry);
+    return counter;
+  }
+}
@@ -1,13 +1,17 @@
 package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.CRITICAL_LISTENER_FACTORY;
+
 import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
 import it.unimol.microserviceassessmentfeedback.enums.ReferenceType;
 import it.unimol.microserviceassessmentfeedback.service.AssessmentService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.ScheduledTaskService;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,12 +26,17 @@ import org.springframework.stereotype.Service;
 @Service
 public class ExamConsumerService extends BaseEventConsumer {
 
+  private static final String GRADE_NOTE_SEPARATOR = " | Grade: ";
+
   @Autowired
   private AssessmentService assessmentService;
 
   @Autowired
   private NotificationService notificationService;
 
+  @Autowired
+  private ScheduledTaskService scheduledTaskService;
+
   // ============ Costruttore ============
 
   // ============ Metodi Override ============
@@ -49,12 +58,14 @@ public class ExamConsumerService extends BaseEventConsumer {
 
   // ============ Metodi di Classe ============
 
-  @RabbitListener(queues = "${rabbitmq.queue.examCompleted}")
+  @RabbitListener(queues = "${rabbitmq.queue.examCompleted}",
+      containerFactory = CRITICAL_LISTENER_FACTORY)
   public void handleExamCompleted(Map<String, Object> message) {
     processMessage(message, "EXAM_COMPLETED");
   }
 
-  @RabbitListener(queues = "${rabbitmq.queue.examGradeRegistered}")
+  @RabbitListener(queues = "${rabbitmq.queue.examGradeRegistered}",
+      containerFactory = CRITICAL_LISTENER_FACTORY)
   public void handleExamGradeRegistered(Map<String, Object> message) {
     processMessage(message, "EXAM_GRADE_REGISTERED");
   }
@@ -72,13 +83,20 @@ public class ExamConsumerService extends BaseEventConsumer {
         examId, studentId, courseId, examType);
 
     try {
-      // 1. Creare un assessment iniziale per tracciare l'esame completato
-      AssessmentDto pendingAssessment = createPendingAssessmentFromExam(
-          examId, studentId, courseId, teacherId, completionTime, examType, duration
-      );
-      AssessmentDto createdAssessment = assessmentService.createAssessment(pendingAssessment);
-      logger.info("Created pending assessment with ID: {} for exam: {}",
-          createdAssessment.getId(), examId);
+      // 1. Creare un assessment iniziale per tracciare l'esame completato, se una consegna
+      //    precedente dello stesso evento non l'ha già creato
+      Optional<AssessmentDto> existing = assessmentService.findExamAssessment(examId, studentId);
+      if (existing.isPresent()) {
+        logger.info("Assessment {} already exists for exam: {} | Student: {}",
+            existing.get().getId(), examId, studentId);
+      } else {
+        AssessmentDto pendingAssessment = createPendingAssessmentFromExam(
+            examId, studentId, courseId, teacherId, completionTime, examType, duration
+        );
+        AssessmentDto createdAssessment = assessmentService.createAssessment(pendingAssessment);
+        logger.info("Created pending assessment with ID: {} for exam: {}",
+            createdAssessment.getId(), examId);
+      }
 
       // 2. Notificare il docente che l'esame è stato completato e richiede correzione
       notificationService.notifyTeacherOfExamCompletion(teacherId, examId, studentId);
@@ -115,13 +133,20 @@ public class ExamConsumerService extends BaseEventConsumer {
         examId, studentId, score, maxScore, grade);
 
     try {
-      // 1. Aggiornare l'assessment esistente con il voto o crearne uno nuovo
+      // 1. Aggiornare l'assessment esistente con il voto o crearne uno nuovo. Senza ID
+      //    nell'evento l'assessment si cerca per (esame, studente), così che una nuova
+      //    consegna dello stesso evento aggiorni la riga invece di aggiungerne un'altra
       if (assessmentId != null) {
         updateAssessmentWithGrade(assessmentId, score, grade, feedback, gradeDate);
       } else {
-        // Se non esiste assessment, crearne uno completo
-        createAssessmentWithGrade(examId, studentId, courseId, teacherId,
-            score, maxScore, grade, feedback, gradeDate);
+        Optional<AssessmentDto> existing =
+            assessmentService.findExamAssessment(examId, studentId);
+        if (existing.isPresent()) {
+          applyGrade(existing.get(), score, grade, feedback, gradeDate);
+        } else {
+          createAssessmentWithGrade(examId, studentId, courseId, teacherId,
+              score, maxScore, grade, feedback, gradeDate);
+        }
       }
 
       // 2. Notificare lo studente del voto ricevuto
@@ -179,36 +204,46 @@ public class ExamConsumerService extends BaseEventConsumer {
     try {
       AssessmentDto assessment = assessmentService.getAssessmentById(assessmentId);
       if (assessment != null) {
-        // Aggiorna con il voto finale
-        assessment.setScore(score != null ? score.doubleValue() : 0.0);
-
-        // Aggiorna le note con il feedback
-        String updatedNotes = assessment.getNotes().replace("awaiting grade", "graded");
-        updatedNotes += String.format(" | Grade: %s", grade);
-
-        if (feedback != null && !feedback.trim().isEmpty()) {
-          if (feedback.length() > 100) {
-            updatedNotes += " | Feedback: " + feedback.substring(0, 100) + "...";
-          } else {
-            updatedNotes += " | Feedback: " + feedback;
-          }
-        }
+        applyGrade(assessment, score, grade, feedback, gradeDate);
+      }
+    } catch (Exception e) {
+      logger.error("Could not update assessment {} with grade: {}", assessmentId, e.getMessage());
+    }
+  }
 
-        assessment.setNotes(updatedNotes);
+  private void applyGrade(AssessmentDto assessment, Integer score, String grade,
+      String feedback, Long gradeDate) {
+    // Aggiorna con il voto finale
+    assessment.setScore(score != null ? score.doubleValue() : 0.0);
 
-        // Aggiorna la data se fornita
-        if (gradeDate != null) {
-          assessment.setAssessmentDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(gradeDate),
-              java.time.ZoneId.systemDefault()));
-        }
+    // Aggiorna le note con il feedback, scartando voto e feedback di una consegna precedente
+    String updatedNotes = assessment.getNotes() != null
+        ? assessment.getNotes().replace("awaiting grade", "graded") : "Exam graded";
+    int previousGrade = updatedNotes.indexOf(GRADE_NOTE_SEPARATOR);
+    if (previousGrade >= 0) {
+      updatedNotes = updatedNotes.substring(0, previousGrade);
+    }
+    updatedNotes += GRADE_NOTE_SEPARATOR + grade;
 
-        assessmentService.updateAssessment(assessmentId, assessment);
-        logger.info("Updated assessment {} with grade: {} and score: {}", assessmentId, grade,
-            score);
+    if (feedback != null && !feedback.trim().isEmpty()) {
+      if (feedback.length() > 100) {
+        updatedNotes += " | Feedback: " + feedback.substring(0, 100) + "...";
+      } else {
+        updatedNotes += " | Feedback: " + feedback;
       }
-    } catch (Exception e) {
-      logger.error("Could not update assessment {} with grade: {}", assessmentId, e.getMessage());
     }
+
+    assessment.setNotes(updatedNotes);
+
+    // Aggiorna la data se fornita
+    if (gradeDate != null) {
+      assessment.setAssessmentDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(gradeDate),
+          java.time.ZoneId.systemDefault()));
+    }
+
+    assessmentService.updateAssessment(assessment.getId(), assessment);
+    logger.info("Updated assessment {} with grade: {} and score: {}", assessment.getId(), grade,
+        score);
   }
 
   private void createAssessmentWithGrade(String examId, String studentId, String courseId,
@@ -252,8 +287,7 @@ public class ExamConsumerService extends BaseEventConsumer {
     logger.info("📋 Scheduling feedback survey for student: {} | Exam: {} | Course: {}",
         studentId, examId, courseId);
 
-    // Simula la programmazione del survey
-    notificationService.scheduleFeedbackSurvey(studentId, examId, courseId);
+    scheduledTaskService.scheduleFeedbackSurvey(studentId, examId, courseId);
   }
 
   private void updateExamStatistics(String courseId, String examType, String studentId,
@@ -0,0 +1,275 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.ConsumerRoutingKeys.EXAM_COMPLETED;
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.ConsumerRoutingKeys.EXAM_GRADE_REGISTERED;
+
+import it.unimol.microserviceassessmentfeedback.config.rabbitmq.RabbitMqProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumer della coda di ingresso e delle code partizione degli eventi esame.
+ *
+ * <p>I publisher degli eventi esame non valorizzano l'header di hash, quindi gli eventi arrivano
+ * prima sulla coda di ingresso: da lì vengono ripubblicati sull'exchange x-consistent-hash con
+ * l'header impostato al {@code studentId} letto dal corpo, e confermati solo dopo la
+ * ripubblicazione. Gli eventi privi di {@code studentId} finiscono tutti nella stessa
+ * partizione.</p>
+ *
+ * <p>Registra poi un listener container per ciascuna partizione dichiarata in
+ * {@code RabbitMqInfrastructureConfig}. Le code usano single active consumer, quindi ogni
+ * partizione viene elaborata da una sola replica alla volta e gli eventi dello stesso studente
+ * restano ordinati. Se una replica esce, il broker promuove automaticamente il consumer successivo.
+ * Quando entrano nuove repliche, il ribilanciamento periodico rilascia le partizioni in eccesso
+ * rispetto alla quota equa, così il broker può assegnarle agli altri consumer. I messaggi
+ * rifiutati non vengono rimessi in coda ma finiscono sul dead letter exchange delle code.</p>
+ *
+ * <p>All'avvio rimuove dal broker i binding delle code esame non partizionate, rimasti da un
+ * deploy precedente senza partizionamento: altrimenti ogni evento esame verrebbe consegnato sia
+ * alla coda di ingresso sia alle vecchie code, ed elaborato due volte fuori dall'ordine delle
+ * partizioni. Le vecchie code restano dichiarate e il loro listener smaltisce i messaggi già
+ * accodati.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "rabbitmq.partitioning", name = "enabled", havingValue = "true")
+public class ExamPartitionConsumer implements SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExamPartitionConsumer.class);
+
+  private final ConnectionFactory connectionFactory;
+  private final MessageConverter messageConverter;
+  private final AmqpAdmin amqpAdmin;
+  private final AmqpTemplate amqpTemplate;
+  private final ExamConsumerService examConsumerService;
+  private final RabbitMqProperties.Partitioning partitioning;
+  private final String assessmentsExchange;
+  private final String examCompletedQueue;
+  private final String examGradeRegisteredQueue;
+
+  private final List<SimpleMessageListenerContainer> containers = new ArrayList<>();
+  private final AtomicLongArray lastDelivery;
+  private SimpleMessageListenerContainer intakeContainer;
+  private volatile boolean running;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del consumer partizionato.
+   *
+   * @param connectionFactory la factory di connessione RabbitMQ
+   * @param messageConverter il convertitore JSON dei messaggi
+   * @param amqpAdmin l'admin AMQP usato per leggere il numero di consumer sulle code
+   * @param amqpTemplate il template usato per ripubblicare gli eventi sulle partizioni
+   * @param examConsumerService il consumer che contiene la logica degli eventi esame
+   * @param properties le configurazioni RabbitMQ
+   */
+  public ExamPartitionConsumer(ConnectionFactory connectionFactory,
+      MessageConverter messageConverter, AmqpAdmin amqpAdmin, AmqpTemplate amqpTemplate,
+      ExamConsumerService examConsumerService, RabbitMqProperties properties) {
+    this.connectionFactory = connectionFactory;
+    this.messageConverter = messageConverter;
+    this.amqpAdmin = amqpAdmin;
+    this.amqpTemplate = amqpTemplate;
+    this.examConsumerService = examConsumerService;
+    this.partitioning = properties.getPartitioning();
+    this.assessmentsExchange = properties.getExchange().getAssessments();
+    this.examCompletedQueue = properties.getQueue().getExamCompleted();
+    this.examGradeRegisteredQueue = properties.getQueue().getExamGradeRegistered();
+    this.lastDelivery = new AtomicLongArray(Math.max(0, partitioning.getPartitions()));
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public void start() {
+    removeLegacyBindings();
+    for (int i = 0; i < partitioning.getPartitions(); i++) {
+      int partition = i;
+      SimpleMessageListenerContainer container = createContainer(
+          partitioning.queueName(partition), message -> onMessage(partition, message));
+      containers.add(container);
+      container.start();
+    }
+    intakeContainer = createContainer(partitioning.intakeQueueName(), this::onIntake);
+    intakeContainer.start();
+    running = true;
+    logger.info("Started {} exam partition consumers on {}.*", containers.size(),
+        partitioning.getQueuePrefix());
+  }
+
+  @Override
+  public void stop() {
+    if (intakeContainer != null) {
+      intakeContainer.stop();
+      intakeContainer = null;
+    }
+    containers.forEach(SimpleMessageListenerContainer::stop);
+    containers.clear();
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Rimuove i binding tra il topic exchange principale e le code esame non partizionate. La
+   * rimozione di un binding assente non è un errore, quindi l'operazione è ripetibile a ogni
+   * avvio.
+   */
+  void removeLegacyBindings() {
+    unbind(examCompletedQueue, EXAM_COMPLETED);
+    unbind(examGradeRegisteredQueue, EXAM_GRADE_REGISTERED);
+  }
+
+  private void unbind(String queueName, String routingKey) {
+    try {
+      amqpAdmin.removeBinding(new Binding(queueName, Binding.DestinationType.QUEUE,
+          assessmentsExchange, routingKey, null));
+      logger.info("Removed legacy binding {} -> {} ({})", assessmentsExchange, queueName,
+          routingKey);
+    } catch (RuntimeException e) {
+      logger.warn("Could not remove legacy binding {} -> {} ({}): {}", assessmentsExchange,
+          queueName, routingKey, e.getMessage());
+    }
+  }
+
+  /**
+   * Rilascia le partizioni attive in eccesso rispetto alla quota equa della replica.
+   *
+   * <p>Il numero di repliche è stimato dal numero di consumer registrati sulla prima partizione;
+   * una partizione è considerata attiva se ha ricevuto messaggi entro la finestra configurata.
+   * Il rilascio avviene fermando e riavviando il container: il broker attiva il consumer
+   * successivo e i messaggi non confermati vengono riconsegnati in ordine.</p>
+   */
+  @Scheduled(fixedDelayString = "${rabbitmq.partitioning.rebalance-interval-ms:30000}")
+  public void rebalance() {
+    if (!running || containers.isEmpty()) {
+      return;
+    }
+
+    QueueInformation info = amqpAdmin.getQueueInfo(partitioning.queueName(0));
+    int consumers = info != null ? info.getConsumerCount() : 1;
+    long now = System.currentTimeMillis();
+
+    List<Integer> active = activePartitions(now);
+    int excess = excessPartitions(active.size(), partitioning.getPartitions(), consumers);
+    for (int i = 0; i < excess; i++) {
+      int partition = active.get(active.size() - 1 - i);
+      logger.info("Releasing exam partition {} ({} active, {} consumers)", partition,
+          active.size(), consumers);
+      lastDelivery.set(partition, 0L);
+      SimpleMessageListenerContainer container = containers.get(partition);
+      container.stop();
+      container.start();
+    }
+  }
+
+  /**
+   * Calcola quante partizioni attive devono essere rilasciate per rientrare nella quota equa.
+   *
+   * @param active numero di partizioni attualmente attive su questa replica
+   * @param partitions numero totale di partizioni
+   * @param consumers numero di consumer (repliche) registrati
+   * @return numero di partizioni da rilasciare
+   */
+  static int excessPartitions(int active, int partitions, int consumers) {
+    if (consumers <= 1) {
+      return 0;
+    }
+    int fairShare = (partitions + consumers - 1) / consumers;
+    return Math.max(0, active - fairShare);
+  }
+
+  List<Integer> activePartitions(long now) {
+    List<Integer> active = new ArrayList<>();
+    for (int partition = 0; partition < lastDelivery.length(); partition++) {
+      long last = lastDelivery.get(partition);
+      if (last > 0 && now - last <= partitioning.getActiveWindowMs()) {
+        active.add(partition);
+      }
+    }
+    return active;
+  }
+
+  /**
+   * Ripubblica un evento della coda di ingresso sull'exchange consistent-hash, con l'header di
+   * hash valorizzato dal {@code studentId} del corpo e la routing key originale.
+   *
+   * @param message il messaggio ricevuto sulla coda di ingresso
+   */
+  void onIntake(Message message) {
+    String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+    Object payload = messageConverter.fromMessage(message);
+    Object studentId = payload instanceof Map<?, ?> body ? body.get("studentId") : null;
+    if (studentId != null) {
+      message.getMessageProperties().setHeader(partitioning.getHashHeader(),
+          String.valueOf(studentId));
+    } else {
+      logger.warn("Exam event without studentId routed to the default partition (routing key: "
+          + "{})", routingKey);
+    }
+    amqpTemplate.send(partitioning.getExchange(), routingKey, message);
+  }
+
+  void onMessage(int partition, Message message) {
+    lastDelivery.set(partition, System.currentTimeMillis());
+    String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+    Object payload = messageConverter.fromMessage(message);
+    if (!(payload instanceof Map<?, ?>)) {
+      logger.warn("Discarding non-map payload on exam partition {} (routing key: {})", partition,
+          routingKey);
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> body = (Map<String, Object>) payload;
+    dispatch(routingKey, body);
+  }
+
+  void dispatch(String routingKey, Map<String, Object> body) {
+    if (EXAM_COMPLETED.equals(routingKey)) {
+      examConsumerService.handleExamCompleted(body);
+    } else if (EXAM_GRADE_REGISTERED.equals(routingKey)) {
+      examConsumerService.handleExamGradeRegistered(body);
+    } else {
+      logger.warn("Unexpected routing key on exam partition: {}", routingKey);
+    }
+  }
+
+  SimpleMessageListenerContainer createContainer(String queueName,
+      MessageListener listener) {
+    SimpleMessageListenerContainer container =
+        new SimpleMessageListenerContainer(connectionFactory);
+    container.setQueueNames(queueName);
+    container.setConcurrentConsumers(1);
+    container.setMaxConcurrentConsumers(1);
+    container.setPrefetchCount(1);
+    container.setDefaultRequeueRejected(false);
+    container.setMessageListener(listener);
+    container.afterPropertiesSet();
+    return container;
+  }
+}
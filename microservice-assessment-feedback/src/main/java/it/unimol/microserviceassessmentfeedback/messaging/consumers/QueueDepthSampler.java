@@ -0,0 +1,101 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Campiona periodicamente profondità e numero di consumer delle code dichiarate dal servizio e
+ * li espone come gauge Micrometer ({@code rabbitmq.queue.depth}, {@code rabbitmq.queue.consumers}).
+ */
+@Component
+public class QueueDepthSampler {
+
+  static final String DEPTH_METRIC = "rabbitmq.queue.depth";
+  static final String CONSUMERS_METRIC = "rabbitmq.queue.consumers";
+
+  private static final Logger logger = LoggerFactory.getLogger(QueueDepthSampler.class);
+
+  private final AmqpAdmin amqpAdmin;
+  private final MeterRegistry meterRegistry;
+  private final ObjectProvider<Queue> queues;
+  private final ObjectProvider<Declarables> declarables;
+
+  private final Map<String, AtomicLong> depths = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> consumers = new ConcurrentHashMap<>();
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del campionatore.
+   *
+   * @param amqpAdmin l'admin AMQP usato per leggere lo stato delle code
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   * @param queues le code dichiarate come bean
+   * @param declarables le dichiarazioni aggregate (es. code partizione)
+   */
+  public QueueDepthSampler(AmqpAdmin amqpAdmin, MeterRegistry meterRegistry,
+      ObjectProvider<Queue> queues, ObjectProvider<Declarables> declarables) {
+    this.amqpAdmin = amqpAdmin;
+    this.meterRegistry = meterRegistry;
+    this.queues = queues;
+    this.declarables = declarables;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Legge dal broker lo stato di tutte le code note e aggiorna le gauge.
+   * Gli errori di connessione vengono ignorati fino al campionamento successivo.
+   */
+  @Scheduled(fixedDelayString = "${rabbitmq.metrics.queue-depth-interval-ms:15000}")
+  public void sample() {
+    for (String queueName : queueNames()) {
+      try {
+        QueueInformation info = amqpAdmin.getQueueInfo(queueName);
+        if (info != null) {
+          gauge(depths, DEPTH_METRIC, queueName).set(info.getMessageCount());
+          gauge(consumers, CONSUMERS_METRIC, queueName).set(info.getConsumerCount());
+        }
+      } catch (Exception e) {
+        logger.debug("Unable to sample queue {}: {}", queueName, e.getMessage());
+      }
+    }
+  }
+
+  Set<String> queueNames() {
+    Set<String> names = new LinkedHashSet<>();
+    queues.orderedStream().forEach(queue -> names.add(queue.getName()));
+    declarables.orderedStream()
+        .flatMap(group -> group.getDeclarablesByType(Queue.class).stream())
+        .forEach(queue -> names.add(queue.getName()));
+    return names;
+  }
+
+  private AtomicLong gauge(Map<String, AtomicLong> values, String metric, String queueName) {
+    return values.computeIfAbsent(queueName, name -> {
+      AtomicLong value = new AtomicLong();
+      Gauge.builder(metric, value, AtomicLong::get)
+          .tag("queue", name)
+          .register(meterRegistry);
+      return value;
+    });
+  }
+}
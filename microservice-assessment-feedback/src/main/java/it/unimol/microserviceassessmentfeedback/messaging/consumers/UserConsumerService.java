@@ -1,5 +1,9 @@
 package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 
+import static it.unimol.microserviceassessmentfeedback.config.rabbitmq.constants.RabbitMqInfrastructureConstants.HOUSEKEEPING_LISTENER_FACTORY;
+
+import it.unimol.microserviceassessmentfeedback.service.anonymisation.UserAnonymisationService;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryProjectionService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
 import java.util.Map;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -18,6 +22,12 @@ public class UserConsumerService extends BaseEventConsumer {
   @Autowired
   private NotificationService notificationService;
 
+  @Autowired
+  private UserAnonymisationService userAnonymisationService;
+
+  @Autowired
+  private DirectoryProjectionService directoryProjectionService;
+
   // ============ Costruttore ============
 
   // ============ Metodi Override ============
@@ -42,12 +52,14 @@ public class UserConsumerService extends BaseEventConsumer {
 
   // ============ Metodi di Classe ============
 
-  @RabbitListener(queues = "${rabbitmq.queue.teacherCreated}")
+  @RabbitListener(queues = "${rabbitmq.queue.teacherCreated}",
+      containerFactory = HOUSEKEEPING_LISTENER_FACTORY)
   public void handleTeacherCreated(Map<String, Object> message) {
     processMessage(message, "TEACHER_CREATED");
   }
 
-  @RabbitListener(queues = "${rabbitmq.queue.studentCreated}")
+  @RabbitListener(queues = "${rabbitmq.queue.studentCreated}",
+      containerFactory = HOUSEKEEPING_LISTENER_FACTORY)
   public void handleStudentCreated(Map<String, Object> message) {
     processMessage(message, "STUDENT_CREATED");
   }
@@ -73,8 +85,9 @@ public class UserConsumerService extends BaseEventConsumer {
         teacherId, firstName, lastName, department);
 
     try {
-      // 1. Inizializzare il profilo docente per assessment e feedback
-      initializeTeacherProfile(teacherId, firstName, lastName, email, department, academicTitle);
+      // 1. Registrare il docente nella proiezione locale degli utenti
+      directoryProjectionService.applyTeacher(teacherId, firstName, lastName, department,
+          getLongValue(message, "timestamp"));
 
       // 2. Configurare template di feedback personalizzati per il docente
       setupTeacherFeedbackTemplates(teacherId, department, specialization);
@@ -114,23 +127,21 @@ public class UserConsumerService extends BaseEventConsumer {
         studentId, firstName, lastName, matriculationNumber, degreeProgram);
 
     try {
-      // 1. Inizializzare il profilo studente per assessment e feedback
-      initializeStudentProfile(studentId, firstName, lastName, email, matriculationNumber,
-          degreeProgram);
+      // 1. Registrare lo studente nella proiezione locale degli utenti
+      directoryProjectionService.applyStudent(studentId, firstName, lastName, department,
+          degreeProgram, yearOfStudy, getLongValue(message, "timestamp"));
 
       // 2. Configurare preferenze di notifica dello studente
       initializeStudentNotificationPreferences(studentId, email);
 
-      // 3. Preparare dashboard personalizzata per feedback
-      initializeStudentDashboard(studentId, degreeProgram, yearOfStudy);
-
-      // 4. Configurare survey preferences basate sul corso di studio
+      // 3. Configurare survey preferences basate sul corso di studio
+      // (la dashboard dello studente viene costruita alla prima lettura)
       setupStudentSurveyPreferences(studentId, degreeProgram, yearOfStudy);
 
-      // 5. Programmare survey di benvenuto se configurato
+      // 4. Programmare survey di benvenuto se configurato
       triggerWelcomeSurvey(studentId, degreeProgram, department);
 
-      // 6. Inviare notifica di benvenuto
+      // 5. Inviare notifica di benvenuto
       notificationService.sendWelcomeNotification(studentId, "STUDENT", department);
 
       logger.info("Student creation processed successfully for: {} {} ({}) - {}",
@@ -152,30 +163,12 @@ public class UserConsumerService extends BaseEventConsumer {
     logger.info("Processing user deletion - User ID: {}, Type: {}, Reason: {}", userId, userType,
         reason);
 
-    try {
-      if ("TEACHER".equals(userType)) {
-        handleTeacherDeletion(userId, reason);
-      } else if ("STUDENT".equals(userType)) {
-        handleStudentDeletion(userId, reason);
-      }
-
-      logger.info("User deletion processed successfully for: {} ({})", userId, userType);
-
-    } catch (Exception e) {
-      logger.error("Error processing user deletion for user: {}", userId, e);
-      throw e;
-    }
-  }
-
-  private void initializeTeacherProfile(String teacherId, String firstName, String lastName,
-      String email, String department, String academicTitle) {
-    logger.info("👨‍🏫 Initializing teacher profile for: {} {} | Department: {} | Title: {}",
-        firstName, lastName, department, academicTitle);
+    directoryProjectionService.applyUserDeleted(userId, userType,
+        getLongValue(message, "timestamp"));
 
-    // Simula la creazione del profilo locale
-    logger.info("📋 Created local teacher profile with ID: {}", teacherId);
-    logger.info("📧 Registered email: {} for notifications", email);
-    logger.info("🎓 Academic title: {} in department: {}", academicTitle, department);
+    // L'anonimizzazione di valutazioni, feedback e risposte avviene a chunk in background;
+    // l'evento user.anonymised viene pubblicato al completamento del job.
+    userAnonymisationService.enqueue(userId, userType, reason);
   }
 
   private void setupTeacherFeedbackTemplates(String teacherId, String department,
@@ -228,16 +221,6 @@ public class UserConsumerService extends BaseEventConsumer {
     }
   }
 
-  private void initializeStudentProfile(String studentId, String firstName, String lastName,
-      String email, String matriculationNumber, String degreeProgram) {
-    logger.info("🎓 Initializing student profile for: {} {} | Matriculation: {} | Program: {}",
-        firstName, lastName, matriculationNumber, degreeProgram);
-    logger.info("📋 Created local student profile with ID: {}", studentId);
-    logger.info("📧 Registered email: {} for communications", email);
-    logger.info("🆔 Matriculation Number: {}", matriculationNumber);
-    logger.info("📚 Enrolled in Degree Program: {}", degreeProgram);
-  }
-
   private void initializeStudentNotificationPreferences(String studentId, String email) {
     logger.info("🔔 Initializing notification preferences for student: {} with email: {}",
         studentId,
@@ -245,16 +228,6 @@ public class UserConsumerService extends BaseEventConsumer {
     logger.info("✅ Default notification preferences set for student ID: {}", studentId);
   }
 
-  private void initializeStudentDashboard(String studentId, String degreeProgram,
-      Integer yearOfStudy) {
-    logger.info("📊 Preparing personalized dashboard for student: {} | Program: {} | Year: {}",
-        studentId, degreeProgram, yearOfStudy);
-    logger.info("📈 Dashboard widgets configured for academic progress and feedback summary.");
-    if (yearOfStudy != null) {
-      logger.info("📆 Tailored dashboard for Year of Study: {}", yearOfStudy);
-    }
-  }
-
   private void setupStudentSurveyPreferences(String studentId, String degreeProgram,
       Integer yearOfStudy) {
     logger.info("📋 Setting up survey preferences for student: {} | Program: {} | Year: {}",
@@ -279,21 +252,4 @@ public class UserConsumerService extends BaseEventConsumer {
       logger.info("❌ Welcome survey not configured to be triggered for student: {}", studentId);
     }
   }
-
-  private void handleTeacherDeletion(String userId, String reason) {
-    logger.info("🗑️ Handling teacher deletion for ID: {} due to: {}", userId, reason);
-    logger.info("🚫 Deactivating teacher profile with ID: {}", userId);
-    logger.info(
-        "🗑️ Archiving associated feedback templates and assessment criteria for teacher ID: {}",
-        userId);
-  }
-
-  private void handleStudentDeletion(String userId, String reason) {
-    logger.info("🗑️ Handling student deletion for ID: {} due to: {}", userId, reason);
-    logger.info("🚫 Deactivating student profile with ID: {}", userId);
-    logger.info(
-        "🗑️ Archiving associated dashboard data, notification preferences, and survey responses "
-            + "for student ID: {}",
-        userId);
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package it.unimol.microserviceassessmentfeedback.messaging.publishers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servizio responsabile della pubblicazione delle invalidazioni delle cache locali verso le
+ * altre repliche, sul fanout exchange dedicato.
+ *
+ * <p>Una pubblicazione fallita non viene ritentata né propagata: la modifica è già stata
+ * confermata e le repliche che non ricevono l'invalidazione la recuperano alla scadenza delle
+ * voci in cache.</p>
+ */
+@Service
+public class CacheInvalidationPublisher extends BaseEventPublisher {
+
+  public static final String CACHE_INVALIDATED = "CACHE_INVALIDATED";
+
+  @Value("${rabbitmq.exchange.cache}")
+  private String cacheExchange;
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Pubblica l'invalidazione di una cache locale.
+   *
+   * @param origin l'identificativo della replica che ha modificato i dati
+   * @param cacheName il nome della cache
+   * @param keys le chiavi da invalidare, o null per svuotare la cache
+   */
+  public void publishInvalidation(String origin, String cacheName, List<String> keys) {
+    Map<String, Object> message = new HashMap<>();
+    addBaseMessageFields(message, CACHE_INVALIDATED);
+    message.put("origin", origin);
+    message.put("cache", cacheName);
+    message.put("keys", keys);
+    try {
+      rabbitTemplate.convertAndSend(cacheExchange, "", message);
+      logger.debug("Cache invalidation published for {}: {}", cacheName,
+          keys != null ? keys : "all");
+    } catch (AmqpException e) {
+      logger.warn("Error publishing cache invalidation for {}: {}", cacheName, e.getMessage());
+    }
+  }
+}
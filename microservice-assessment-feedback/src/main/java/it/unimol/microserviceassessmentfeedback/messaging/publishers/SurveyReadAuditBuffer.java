@@ -0,0 +1,208 @@
+package it.unimol.microserviceassessmentfeedback.messaging.publishers;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffer in memoria per gli eventi di audit generati dalle letture dei questionari
+ * (richieste di risultati e di commenti).
+ *
+ * <p>Le richieste vengono campionate, accorpate per (tipo, questionario, utente, finestra
+ * temporale) e accodate in un ring buffer a capacità fissa. Un publisher schedulato svuota il
+ * buffer a lotti quando la finestra di accorpamento è chiusa, così la latenza delle GET non
+ * dipende più dal broker. Se il buffer è pieno l'evento viene scartato e conteggiato.</p>
+ */
+@Component
+public class SurveyReadAuditBuffer {
+
+  private static final Logger logger = LoggerFactory.getLogger(SurveyReadAuditBuffer.class);
+
+  private final TeacherSurveyMessageService teacherSurveyMessageService;
+  private final double sampleRate;
+  private final long windowMillis;
+  private final int batchSize;
+
+  private final BlockingQueue<AuditKey> ring;
+  private final Map<AuditKey, AtomicInteger> pending = new ConcurrentHashMap<>();
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private final AtomicLong publishedEvents = new AtomicLong();
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del buffer di audit.
+   *
+   * @param teacherSurveyMessageService publisher degli eventi sui questionari
+   * @param sampleRate frazione di richieste registrate (0.0 - 1.0)
+   * @param capacity capacità massima del ring buffer
+   * @param windowMillis ampiezza della finestra di accorpamento in millisecondi
+   * @param batchSize numero massimo di eventi pubblicati per ciclo di svuotamento
+   */
+  public SurveyReadAuditBuffer(TeacherSurveyMessageService teacherSurveyMessageService,
+      @Value("${audit.read-events.sample-rate:1.0}") double sampleRate,
+      @Value("${audit.read-events.buffer-capacity:10000}") int capacity,
+      @Value("${audit.read-events.window-ms:60000}") long windowMillis,
+      @Value("${audit.read-events.batch-size:200}") int batchSize) {
+    this.teacherSurveyMessageService = teacherSurveyMessageService;
+    this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+    this.ring = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.windowMillis = Math.max(1L, windowMillis);
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il numero di eventi in attesa di pubblicazione.
+   *
+   * @return numero di chiavi accorpate ancora nel buffer
+   */
+  public int getPendingCount() {
+    return ring.size();
+  }
+
+  /**
+   * Restituisce il numero di eventi scartati per buffer pieno.
+   *
+   * @return contatore degli eventi scartati
+   */
+  public long getDroppedCount() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Restituisce il numero di eventi accorpati pubblicati sul broker.
+   *
+   * @return contatore degli eventi pubblicati
+   */
+  public long getPublishedCount() {
+    return publishedEvents.get();
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Registra una richiesta dei risultati di un questionario.
+   *
+   * @param surveyId identificativo del questionario
+   * @param requestedBy identificativo di chi ha richiesto i risultati
+   */
+  public void recordResultsRequested(String surveyId, String requestedBy) {
+    record(AuditType.RESULTS, surveyId, requestedBy, System.currentTimeMillis());
+  }
+
+  /**
+   * Registra una richiesta dei commenti di un questionario.
+   *
+   * @param surveyId identificativo del questionario
+   * @param requestedBy identificativo di chi ha richiesto i commenti
+   */
+  public void recordCommentsRequested(String surveyId, String requestedBy) {
+    record(AuditType.COMMENTS, surveyId, requestedBy, System.currentTimeMillis());
+  }
+
+  /**
+   * Svuota periodicamente il buffer pubblicando le finestre già chiuse.
+   */
+  @Scheduled(fixedDelayString = "${audit.read-events.flush-interval-ms:5000}")
+  public void flush() {
+    drain(System.currentTimeMillis(), false);
+  }
+
+  /**
+   * Pubblica tutti gli eventi rimasti nel buffer, anche se la finestra non è chiusa.
+   * Invocato alla chiusura del contesto applicativo.
+   */
+  @PreDestroy
+  public void flushAll() {
+    long now = System.currentTimeMillis();
+    int published;
+    do {
+      published = drain(now, true);
+    } while (published > 0);
+  }
+
+  void record(AuditType type, String surveyId, String requestedBy, long now) {
+    if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return;
+    }
+
+    AuditKey key = new AuditKey(type, surveyId, requestedBy, now - (now % windowMillis));
+    AtomicInteger counter = pending.computeIfAbsent(key, k -> new AtomicInteger());
+    if (counter.getAndIncrement() > 0) {
+      return;
+    }
+
+    if (!ring.offer(key)) {
+      pending.remove(key, counter);
+      long dropped = droppedEvents.incrementAndGet();
+      logger.debug("Read audit buffer full, dropped {} event for survey ID: {} (total dropped: {})",
+          type, surveyId, dropped);
+    }
+  }
+
+  int drain(long now, boolean force) {
+    int published = 0;
+    while (published < batchSize) {
+      AuditKey head = ring.peek();
+      if (head == null || (!force && head.windowStart() + windowMillis > now)) {
+        break;
+      }
+      ring.poll();
+
+      AtomicInteger counter = pending.remove(head);
+      int requestCount = counter != null ? counter.get() : 1;
+      try {
+        publish(head, requestCount);
+        publishedEvents.incrementAndGet();
+      } catch (Exception e) {
+        logger.warn("Error publishing read audit event {} for survey ID: {}: {}",
+            head.type(), head.surveyId(), e.getMessage());
+      }
+      published++;
+    }
+
+    if (published > 0) {
+      logger.debug("Read audit buffer flushed {} events, {} still pending", published,
+          ring.size());
+    }
+    return published;
+  }
+
+  private void publish(AuditKey key, int requestCount) {
+    if (key.type() == AuditType.RESULTS) {
+      teacherSurveyMessageService.publishSurveyResultsRequested(key.surveyId(),
+          key.requestedBy(), requestCount, key.windowStart());
+    } else {
+      teacherSurveyMessageService.publishSurveyCommentsRequested(key.surveyId(),
+          key.requestedBy(), requestCount, key.windowStart());
+    }
+  }
+
+  /**
+   * Tipologia di lettura tracciata.
+   */
+  enum AuditType {
+    RESULTS,
+    COMMENTS
+  }
+
+  /**
+   * Chiave di accorpamento delle richieste.
+   */
+  record AuditKey(AuditType type, String surveyId, String requestedBy, long windowStart) {
+  }
+}
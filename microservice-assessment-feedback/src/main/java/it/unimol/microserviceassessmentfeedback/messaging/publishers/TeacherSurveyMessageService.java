@@ -1,8 +1,12 @@
 package it.unimol.microserviceassessmentfeedback.messaging.publishers;
 
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import org.springframework.stereotype.Service;
 
 /**
@@ -44,6 +48,25 @@ public class TeacherSurveyMessageService extends BaseEventPublisher {
     publishMessage("survey.results.requested", message, "survey", surveyId);
   }
 
+  /**
+   * Pubblica un evento accorpato di richiesta dei risultati di un survey.
+   *
+   * @param surveyId l'ID del survey
+   * @param requestedBy l'identificativo di chi ha richiesto i risultati
+   * @param requestCount il numero di richieste accorpate nella finestra
+   * @param windowStart l'inizio della finestra di accorpamento (epoch millis)
+   */
+  public void publishSurveyResultsRequested(String surveyId, String requestedBy,
+      int requestCount, long windowStart) {
+    Map<String, Object> message = new HashMap<>();
+    addBaseMessageFields(message, "SURVEY_RESULTS_REQUESTED");
+    message.put("surveyId", surveyId);
+    message.put("requestedBy", requestedBy);
+    message.put("requestCount", requestCount);
+    message.put("windowStart", windowStart);
+    publishMessage("survey.results.requested", message, "survey", surveyId);
+  }
+
   /**
    * Pubblica un evento di richiesta dei commenti di un survey.
    *
@@ -58,6 +81,48 @@ public class TeacherSurveyMessageService extends BaseEventPublisher {
     publishMessage("survey.comments.requested", message, "survey", surveyId);
   }
 
+  /**
+   * Pubblica un evento accorpato di richiesta dei commenti di un survey.
+   *
+   * @param surveyId l'ID del survey
+   * @param requestedBy l'identificativo di chi ha richiesto i commenti
+   * @param requestCount il numero di richieste accorpate nella finestra
+   * @param windowStart l'inizio della finestra di accorpamento (epoch millis)
+   */
+  public void publishSurveyCommentsRequested(String surveyId, String requestedBy,
+      int requestCount, long windowStart) {
+    Map<String, Object> message = new HashMap<>();
+    addBaseMessageFields(message, "SURVEY_COMMENTS_REQUESTED");
+    message.put("surveyId", surveyId);
+    message.put("requestedBy", requestedBy);
+    message.put("requestCount", requestCount);
+    message.put("windowStart", windowStart);
+    publishMessage("survey.comments.requested", message, "survey", surveyId);
+  }
+
+  /**
+   * Pubblica un evento aggregato per un lotto di survey che hanno cambiato stato insieme
+   * (transizioni programmate o operazioni massive), al posto di un evento per ciascun survey.
+   *
+   * @param action l'operazione che ha prodotto il cambio di stato
+   * @param status lo stato risultante dei survey del lotto
+   * @param surveyIds gli ID dei survey del lotto
+   * @param trigger l'origine del cambio di stato (es. SCHEDULED, BULK)
+   */
+  public void publishSurveyLifecycleChanged(SurveyLifecycleAction action, SurveyStatus status,
+      List<String> surveyIds, String trigger) {
+    String batchId = UUID.randomUUID().toString();
+    Map<String, Object> message = new HashMap<>();
+    addBaseMessageFields(message, "SURVEY_LIFECYCLE_CHANGED");
+    message.put("batchId", batchId);
+    message.put("action", action.toString());
+    message.put("status", status.toString());
+    message.put("trigger", trigger);
+    message.put("surveyCount", surveyIds.size());
+    message.put("surveyIds", surveyIds);
+    publishMessage("survey.lifecycle.changed", message, "survey batch", batchId);
+  }
+
   /**
    * Crea il messaggio associato a un evento relativo a un survey del docente.
    *
@@ -0,0 +1,40 @@
+package it.unimol.microserviceassessmentfeedback.messaging.publishers;
+
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servizio responsabile della pubblicazione degli eventi relativi agli utenti.
+ * Notifica agli altri microservizi il completamento dell'anonimizzazione dei dati di un utente
+ * cancellato.
+ */
+@Service
+public class UserMessageService extends BaseEventPublisher {
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+  /**
+   * Pubblica un evento di completamento dell'anonimizzazione di un utente. Lo pseudonimo non
+   * viene pubblicato, per non ricollegare i dati anonimizzati all'utente.
+   *
+   * @param job il job di anonimizzazione completato
+   */
+  public void publishUserAnonymised(AnonymisationJob job) {
+    Map<String, Object> message = new HashMap<>();
+    addBaseMessageFields(message, "USER_ANONYMISED");
+    message.put("jobId", job.getId());
+    message.put("userId", job.getUserId());
+    message.put("userType", job.getUserType());
+    message.put("anonymisedCount", job.getAnonymisedCount());
+    message.put("chunks", job.getChunks());
+    message.put("completedAt", job.getCompletedAt());
+    publishMessage("user.anonymised", message, "user", job.getUserId());
+  }
+}
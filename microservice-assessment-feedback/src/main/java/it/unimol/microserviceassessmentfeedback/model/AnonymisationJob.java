@@ -0,0 +1,293 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.AnonymisationPhase;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entità JPA che rappresenta il job di anonimizzazione dei dati di un utente cancellato.
+ * Lo pseudonimo viene generato alla creazione del job e non è derivabile dall'ID utente: ogni
+ * chunk sostituisce l'ID con lo stesso pseudonimo, quindi ripetere un chunk dopo un riavvio non
+ * altera il risultato. Fase e ultima chiave elaborata costituiscono il checkpoint.
+ */
+@Entity
+@Table(name = "anonymisation_jobs", indexes = {
+    @Index(name = "uk_anonymisation_jobs_user", columnList = "user_id", unique = true),
+    @Index(name = "idx_anonymisation_jobs_status", columnList = "status, created_at")
+})
+public class AnonymisationJob {
+
+  @Id
+  private String id;
+
+  @Column(name = "user_id", nullable = false)
+  private String userId;
+
+  @Column(name = "user_type")
+  private String userType;
+
+  @Column(length = 500)
+  private String reason;
+
+  @Column(nullable = false)
+  private String pseudonym;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private BackgroundJobStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private AnonymisationPhase phase;
+
+  @Column(name = "last_key")
+  private String lastKey;
+
+  @Column(name = "anonymised_count", nullable = false)
+  private long anonymisedCount;
+
+  @Column(nullable = false)
+  private int chunks;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @Version
+  private Long version;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public AnonymisationJob() {
+  }
+
+  /**
+   * Costruttore di un nuovo job in attesa di esecuzione, con uno pseudonimo casuale.
+   *
+   * @param userId l'ID dell'utente cancellato
+   * @param userType il tipo di utente (STUDENT, TEACHER)
+   * @param reason il motivo della cancellazione
+   */
+  public AnonymisationJob(String userId, String userType, String reason) {
+    this.userId = userId;
+    this.userType = userType;
+    this.reason = reason;
+    this.pseudonym = "anon-" + UUID.randomUUID();
+    this.status = BackgroundJobStatus.PENDING;
+    this.phase = AnonymisationPhase.FEEDBACK_TEXT;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AnonymisationJob that)) {
+      return false;
+    }
+    return Objects.equals(id, that.id)
+        && Objects.equals(userId, that.userId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, userId);
+  }
+
+  @Override
+  public String toString() {
+    return "AnonymisationJob{"
+        + "id='" + id + '\''
+        + ", userType='" + userType + '\''
+        + ", status=" + status
+        + ", phase=" + phase
+        + ", lastKey='" + lastKey + '\''
+        + ", anonymisedCount=" + anonymisedCount
+        + ", chunks=" + chunks
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  public String getUserType() {
+    return userType;
+  }
+
+  public void setUserType(String userType) {
+    this.userType = userType;
+  }
+
+  public String getReason() {
+    return reason;
+  }
+
+  public void setReason(String reason) {
+    this.reason = reason;
+  }
+
+  public String getPseudonym() {
+    return pseudonym;
+  }
+
+  public void setPseudonym(String pseudonym) {
+    this.pseudonym = pseudonym;
+  }
+
+  public BackgroundJobStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(BackgroundJobStatus status) {
+    this.status = status;
+  }
+
+  public AnonymisationPhase getPhase() {
+    return phase;
+  }
+
+  public void setPhase(AnonymisationPhase phase) {
+    this.phase = phase;
+  }
+
+  public String getLastKey() {
+    return lastKey;
+  }
+
+  public void setLastKey(String lastKey) {
+    this.lastKey = lastKey;
+  }
+
+  public long getAnonymisedCount() {
+    return anonymisedCount;
+  }
+
+  public void setAnonymisedCount(long anonymisedCount) {
+    this.anonymisedCount = anonymisedCount;
+  }
+
+  public int getChunks() {
+    return chunks;
+  }
+
+  public void setChunks(int chunks) {
+    this.chunks = chunks;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public LocalDateTime getCompletedAt() {
+    return completedAt;
+  }
+
+  public void setCompletedAt(LocalDateTime completedAt) {
+    this.completedAt = completedAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima della persistenza.
+   * Genera l'ID se assente e imposta le date di creazione e aggiornamento.
+   */
+  @PrePersist
+  protected void onCreate() {
+    if (id == null || id.isEmpty()) {
+      id = TimeOrderedIds.next();
+    }
+    createdAt = LocalDateTime.now(ZoneId.systemDefault());
+    updatedAt = createdAt;
+  }
+
+  /**
+   * Callback JPA eseguito prima dell'update.
+   * Aggiorna il timestamp di ultimo aggiornamento.
+   */
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
@@ -0,0 +1,205 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Entità JPA che rappresenta una riga archiviata di un corso cancellato.
+ * Il contenuto originale è conservato in JSON insieme al tipo di entità e all'ID di origine; la
+ * coppia (tipo, ID) è univoca, così la ripresa di un chunk già archiviato non crea duplicati.
+ * Studente e docente a cui si riferisce la riga sono copiati in colonne indicizzate, usate
+ * dall'anonimizzazione per trovare e pseudonimizzare i contenuti archiviati di un utente.
+ */
+@Entity
+@Table(name = "archived_records", indexes = {
+    @Index(name = "idx_archived_records_course", columnList = "course_id, entity_type"),
+    @Index(name = "uk_archived_records_entity", columnList = "entity_type, entity_id",
+        unique = true),
+    @Index(name = "idx_archived_records_student", columnList = "student_id, id"),
+    @Index(name = "idx_archived_records_teacher", columnList = "teacher_id, id")
+})
+public class ArchivedRecord {
+
+  @Id
+  private String id;
+
+  @Column(name = "entity_type", nullable = false, length = 50)
+  private String entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private String entityId;
+
+  @Column(name = "course_id", nullable = false)
+  private String courseId;
+
+  @Column(name = "job_id", nullable = false)
+  private String jobId;
+
+  @Column(name = "student_id")
+  private String studentId;
+
+  @Column(name = "teacher_id")
+  private String teacherId;
+
+  @Column(columnDefinition = "TEXT", nullable = false)
+  private String payload;
+
+  @Column(name = "archived_at")
+  private LocalDateTime archivedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public ArchivedRecord() {
+  }
+
+  /**
+   * Costruttore di una riga archiviata.
+   *
+   * @param entityType il tipo dell'entità di origine
+   * @param entityId l'ID della riga di origine
+   * @param courseId l'ID del corso cancellato
+   * @param jobId l'ID del job di archiviazione
+   * @param studentId l'ID dello studente a cui si riferisce la riga, se presente
+   * @param teacherId l'ID del docente a cui si riferisce la riga, se presente
+   * @param payload il contenuto della riga in JSON
+   */
+  public ArchivedRecord(String entityType, String entityId, String courseId, String jobId,
+      String studentId, String teacherId, String payload) {
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.courseId = courseId;
+    this.jobId = jobId;
+    this.studentId = studentId;
+    this.teacherId = teacherId;
+    this.payload = payload;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ArchivedRecord that)) {
+      return false;
+    }
+    return Objects.equals(entityType, that.entityType)
+        && Objects.equals(entityId, that.entityId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(entityType, entityId);
+  }
+
+  @Override
+  public String toString() {
+    return "ArchivedRecord{"
+        + "id='" + id + '\''
+        + ", entityType='" + entityType + '\''
+        + ", entityId='" + entityId + '\''
+        + ", courseId='" + courseId + '\''
+        + ", jobId='" + jobId + '\''
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getEntityType() {
+    return entityType;
+  }
+
+  public void setEntityType(String entityType) {
+    this.entityType = entityType;
+  }
+
+  public String getEntityId() {
+    return entityId;
+  }
+
+  public void setEntityId(String entityId) {
+    this.entityId = entityId;
+  }
+
+  public String getCourseId() {
+    return courseId;
+  }
+
+  public void setCourseId(String courseId) {
+    this.courseId = courseId;
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId(String jobId) {
+    this.jobId = jobId;
+  }
+
+  public String getStudentId() {
+    return studentId;
+  }
+
+  public void setStudentId(String studentId) {
+    this.studentId = studentId;
+  }
+
+  public String getTeacherId() {
+    return teacherId;
+  }
+
+  public void setTeacherId(String teacherId) {
+    this.teacherId = teacherId;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public void setPayload(String payload) {
+    this.payload = payload;
+  }
+
+  public LocalDateTime getArchivedAt() {
+    return archivedAt;
+  }
+
+  public void setArchivedAt(LocalDateTime archivedAt) {
+    this.archivedAt = archivedAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima della persistenza.
+   * Genera l'ID se assente e imposta la data di archiviazione.
+   */
+  @PrePersist
+  protected void onCreate() {
+    if (id == null || id.isEmpty()) {
+      id = TimeOrderedIds.next();
+    }
+    archivedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
@@ -1,18 +1,23 @@
 package it.unimol.microserviceassessmentfeedback.model;
 
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.common.util.UuidStringJavaType;
 import it.unimol.microserviceassessmentfeedback.enums.ReferenceType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Objects;
-import java.util.UUID;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * Entità JPA che rappresenta una valutazione.
@@ -20,10 +25,16 @@ import java.util.UUID;
  * (esame o assignment) associato alla valutazione.
  */
 @Entity
-@Table(name = "assessments")
+@Table(name = "assessments", indexes = {
+    @Index(name = "idx_assessments_student", columnList = "student_id, id"),
+    @Index(name = "idx_assessments_teacher", columnList = "teacher_id, id"),
+    @Index(name = "idx_assessments_reference", columnList = "reference_id, student_id")
+})
 public class Assessment {
 
   @Id
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
   private String id;
 
   @Column(name = "reference_id", nullable = false)
@@ -245,12 +256,12 @@ public class Assessment {
 
   /**
    * Callback JPA eseguito prima del persist.
-   * Genera un ID UUID se non presente e imposta le timestamp.
+   * Genera un ID ordinato nel tempo se assente o non valido e imposta le timestamp.
    */
   @PrePersist
   protected void onCreate() {
-    if (id == null || id.isEmpty()) {
-      id = UUID.randomUUID().toString();
+    if (!TimeOrderedIds.isValid(id)) {
+      id = TimeOrderedIds.next();
     }
     createdAt = LocalDateTime.now(ZoneId.systemDefault());
     updatedAt = LocalDateTime.now(ZoneId.systemDefault());
@@ -0,0 +1,293 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.ArchivalPhase;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Entità JPA che rappresenta il job di archiviazione dei dati di un corso cancellato.
+ * Il job avanza per fasi e chunk; fase e ultima chiave elaborata costituiscono il checkpoint da
+ * cui riprende dopo un riavvio. La versione ottimistica impedisce che due repliche registrino lo
+ * stesso chunk.
+ */
+@Entity
+@Table(name = "course_archival_jobs", indexes = {
+    @Index(name = "uk_course_archival_jobs_course", columnList = "course_id", unique = true),
+    @Index(name = "idx_course_archival_jobs_status", columnList = "status, created_at")
+})
+public class CourseArchivalJob {
+
+  @Id
+  private String id;
+
+  @Column(name = "course_id", nullable = false)
+  private String courseId;
+
+  @Column(name = "course_name")
+  private String courseName;
+
+  @Column(name = "teacher_id")
+  private String teacherId;
+
+  @Column(length = 500)
+  private String reason;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private BackgroundJobStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ArchivalPhase phase;
+
+  @Column(name = "last_key")
+  private String lastKey;
+
+  @Column(name = "archived_count", nullable = false)
+  private long archivedCount;
+
+  @Column(nullable = false)
+  private int chunks;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @Version
+  private Long version;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public CourseArchivalJob() {
+  }
+
+  /**
+   * Costruttore di un nuovo job in attesa di esecuzione.
+   *
+   * @param courseId l'ID del corso cancellato
+   * @param courseName il nome del corso
+   * @param teacherId l'ID del docente del corso
+   * @param reason il motivo della cancellazione
+   */
+  public CourseArchivalJob(String courseId, String courseName, String teacherId, String reason) {
+    this.courseId = courseId;
+    this.courseName = courseName;
+    this.teacherId = teacherId;
+    this.reason = reason;
+    this.status = BackgroundJobStatus.PENDING;
+    this.phase = ArchivalPhase.CLOSE_SURVEYS;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CourseArchivalJob that)) {
+      return false;
+    }
+    return Objects.equals(id, that.id)
+        && Objects.equals(courseId, that.courseId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, courseId);
+  }
+
+  @Override
+  public String toString() {
+    return "CourseArchivalJob{"
+        + "id='" + id + '\''
+        + ", courseId='" + courseId + '\''
+        + ", status=" + status
+        + ", phase=" + phase
+        + ", lastKey='" + lastKey + '\''
+        + ", archivedCount=" + archivedCount
+        + ", chunks=" + chunks
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getCourseId() {
+    return courseId;
+  }
+
+  public void setCourseId(String courseId) {
+    this.courseId = courseId;
+  }
+
+  public String getCourseName() {
+    return courseName;
+  }
+
+  public void setCourseName(String courseName) {
+    this.courseName = courseName;
+  }
+
+  public String getTeacherId() {
+    return teacherId;
+  }
+
+  public void setTeacherId(String teacherId) {
+    this.teacherId = teacherId;
+  }
+
+  public String getReason() {
+    return reason;
+  }
+
+  public void setReason(String reason) {
+    this.reason = reason;
+  }
+
+  public BackgroundJobStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(BackgroundJobStatus status) {
+    this.status = status;
+  }
+
+  public ArchivalPhase getPhase() {
+    return phase;
+  }
+
+  public void setPhase(ArchivalPhase phase) {
+    this.phase = phase;
+  }
+
+  public String getLastKey() {
+    return lastKey;
+  }
+
+  public void setLastKey(String lastKey) {
+    this.lastKey = lastKey;
+  }
+
+  public long getArchivedCount() {
+    return archivedCount;
+  }
+
+  public void setArchivedCount(long archivedCount) {
+    this.archivedCount = archivedCount;
+  }
+
+  public int getChunks() {
+    return chunks;
+  }
+
+  public void setChunks(int chunks) {
+    this.chunks = chunks;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public LocalDateTime getCompletedAt() {
+    return completedAt;
+  }
+
+  public void setCompletedAt(LocalDateTime completedAt) {
+    this.completedAt = completedAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima della persistenza.
+   * Genera l'ID se assente e imposta le date di creazione e aggiornamento.
+   */
+  @PrePersist
+  protected void onCreate() {
+    if (id == null || id.isEmpty()) {
+      id = TimeOrderedIds.next();
+    }
+    createdAt = LocalDateTime.now(ZoneId.systemDefault());
+    updatedAt = createdAt;
+  }
+
+  /**
+   * Callback JPA eseguito prima dell'update.
+   * Aggiorna il timestamp di ultimo aggiornamento.
+   */
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
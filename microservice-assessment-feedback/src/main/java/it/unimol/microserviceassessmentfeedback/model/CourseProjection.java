@@ -0,0 +1,192 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Proiezione locale e compatta di un corso, costruita dagli eventi del servizio corsi.
+ * I corsi cancellati restano come tombstone, così un evento di creazione ritardato non li
+ * riattiva.
+ */
+@Entity
+@Table(name = "course_projections", indexes = {
+    @Index(name = "idx_course_projections_updated", columnList = "updated_at"),
+    @Index(name = "idx_course_projections_teacher", columnList = "teacher_id")
+})
+public class CourseProjection {
+
+  @Id
+  private String id;
+
+  private String name;
+
+  private String code;
+
+  @Column(name = "teacher_id")
+  private String teacherId;
+
+  private String department;
+
+  @Column(name = "academic_year")
+  private String academicYear;
+
+  private String semester;
+
+  @Column(nullable = false)
+  private boolean deleted;
+
+  @Column(name = "source_timestamp", nullable = false)
+  private long sourceTimestamp;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public CourseProjection() {
+  }
+
+  /**
+   * Costruttore di una proiezione attiva.
+   *
+   * @param id l'ID del corso
+   * @param sourceTimestamp il timestamp dell'evento di origine
+   */
+  public CourseProjection(String id, long sourceTimestamp) {
+    this.id = id;
+    this.sourceTimestamp = sourceTimestamp;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CourseProjection that)) {
+      return false;
+    }
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+
+  @Override
+  public String toString() {
+    return "CourseProjection{"
+        + "id='" + id + '\''
+        + ", name='" + name + '\''
+        + ", teacherId='" + teacherId + '\''
+        + ", deleted=" + deleted
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  public void setCode(String code) {
+    this.code = code;
+  }
+
+  public String getTeacherId() {
+    return teacherId;
+  }
+
+  public void setTeacherId(String teacherId) {
+    this.teacherId = teacherId;
+  }
+
+  public String getDepartment() {
+    return department;
+  }
+
+  public void setDepartment(String department) {
+    this.department = department;
+  }
+
+  public String getAcademicYear() {
+    return academicYear;
+  }
+
+  public void setAcademicYear(String academicYear) {
+    this.academicYear = academicYear;
+  }
+
+  public String getSemester() {
+    return semester;
+  }
+
+  public void setSemester(String semester) {
+    this.semester = semester;
+  }
+
+  public boolean isDeleted() {
+    return deleted;
+  }
+
+  public void setDeleted(boolean deleted) {
+    this.deleted = deleted;
+  }
+
+  public long getSourceTimestamp() {
+    return sourceTimestamp;
+  }
+
+  public void setSourceTimestamp(long sourceTimestamp) {
+    this.sourceTimestamp = sourceTimestamp;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima della persistenza e dell'update.
+   * Aggiorna il timestamp usato dalle repliche per recuperare le modifiche.
+   */
+  @PrePersist
+  @PreUpdate
+  protected void onWrite() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
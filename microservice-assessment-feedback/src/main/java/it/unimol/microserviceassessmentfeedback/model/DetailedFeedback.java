@@ -1,5 +1,7 @@
 package it.unimol.microserviceassessmentfeedback.model;
 
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.common.util.UuidStringJavaType;
 import it.unimol.microserviceassessmentfeedback.enums.FeedbackCategory;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -15,7 +17,9 @@ import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Objects;
-import java.util.UUID;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * Entità JPA che rappresenta un feedback dettagliato su una valutazione.
@@ -27,8 +31,12 @@ import java.util.UUID;
 public class DetailedFeedback {
 
   @Id
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
   private String id;
 
+  // Lo script db/partition-by-date.sql rimuove la chiave esterna quando assessments viene
+  // partizionata; da lì in poi l'eliminazione è controllata da AssessmentService.
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "assessment_id", nullable = false)
   private Assessment assessment;
@@ -204,12 +212,12 @@ public class DetailedFeedback {
 
   /**
    * Callback JPA eseguito prima del persist.
-   * Genera un ID UUID se non presente e imposta le timestamp.
+   * Genera un ID ordinato nel tempo se assente o non valido e imposta le timestamp.
    */
   @PrePersist
   protected void onCreate() {
-    if (id == null || id.isEmpty()) {
-      id = UUID.randomUUID().toString();
+    if (!TimeOrderedIds.isValid(id)) {
+      id = TimeOrderedIds.next();
     }
     createdAt = LocalDateTime.now(ZoneId.systemDefault());
     updatedAt = LocalDateTime.now(ZoneId.systemDefault());
@@ -0,0 +1,132 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Entità JPA che rappresenta il lease di un job di background condiviso tra le repliche.
+ * La replica che detiene il lease è l'unica autorizzata a eseguire il job finché rinnova
+ * l'heartbeat; il fencing token cresce a ogni cambio di proprietario.
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+  @Id
+  @Column(name = "job_name")
+  private String jobName;
+
+  @Column(name = "owner")
+  private String owner;
+
+  @Column(name = "fencing_token", nullable = false)
+  private long fencingToken;
+
+  @Column(name = "lease_until", nullable = false)
+  private long leaseUntil;
+
+  @Column(name = "heartbeat_at")
+  private Long heartbeatAt;
+
+  @Column(name = "acquired_at")
+  private Long acquiredAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public JobLease() {
+  }
+
+  /**
+   * Costruttore di un lease libero, senza proprietario.
+   *
+   * @param jobName il nome del job
+   */
+  public JobLease(String jobName) {
+    this.jobName = jobName;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof JobLease that)) {
+      return false;
+    }
+    return Objects.equals(jobName, that.jobName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(jobName);
+  }
+
+  @Override
+  public String toString() {
+    return "JobLease{"
+        + "jobName='" + jobName + '\''
+        + ", owner='" + owner + '\''
+        + ", fencingToken=" + fencingToken
+        + ", leaseUntil=" + leaseUntil
+        + ", heartbeatAt=" + heartbeatAt
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getJobName() {
+    return jobName;
+  }
+
+  public void setJobName(String jobName) {
+    this.jobName = jobName;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public void setOwner(String owner) {
+    this.owner = owner;
+  }
+
+  public long getFencingToken() {
+    return fencingToken;
+  }
+
+  public void setFencingToken(long fencingToken) {
+    this.fencingToken = fencingToken;
+  }
+
+  public long getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(long leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  public Long getHeartbeatAt() {
+    return heartbeatAt;
+  }
+
+  public void setHeartbeatAt(Long heartbeatAt) {
+    this.heartbeatAt = heartbeatAt;
+  }
+
+  public Long getAcquiredAt() {
+    return acquiredAt;
+  }
+
+  public void setAcquiredAt(Long acquiredAt) {
+    this.acquiredAt = acquiredAt;
+  }
+}
@@ -0,0 +1,264 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskStatus;
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Entità JPA che rappresenta un task programmato (promemoria, scadenze, survey differiti).
+ * I task sono persistiti per sopravvivere ai riavvii; l'esecuzione è coordinata tra le repliche
+ * tramite claim condizionale sullo stato.
+ */
+@Entity
+@Table(name = "scheduled_tasks", indexes = {
+    @Index(name = "idx_scheduled_tasks_status_due", columnList = "status, due_at"),
+    @Index(name = "uk_scheduled_tasks_dedup", columnList = "dedup_key", unique = true)
+})
+public class ScheduledTask {
+
+  @Id
+  private String id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "task_type", nullable = false)
+  private ScheduledTaskType taskType;
+
+  @Column(name = "dedup_key", nullable = false)
+  private String dedupKey;
+
+  @Column(name = "due_at", nullable = false)
+  private Long dueAt;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ScheduledTaskStatus status;
+
+  @Column(name = "target_id")
+  private String targetId;
+
+  @Column(name = "reference_id")
+  private String referenceId;
+
+  @Column(name = "course_id")
+  private String courseId;
+
+  @Column(name = "entity_id")
+  private String entityId;
+
+  @Column(name = "reference_time")
+  private Long referenceTime;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "claimed_by")
+  private String claimedBy;
+
+  @Column(name = "claimed_until")
+  private Long claimedUntil;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public ScheduledTask() {
+  }
+
+  /**
+   * Costruttore di un nuovo task in attesa di esecuzione.
+   *
+   * @param taskType la tipologia del task
+   * @param dedupKey la chiave che rende idempotente la programmazione
+   * @param dueAt l'istante di esecuzione in epoch millis
+   * @param targetId il destinatario (docente o studente)
+   * @param referenceId il riferimento (assignment, assessment o esame)
+   * @param courseId l'ID del corso
+   */
+  public ScheduledTask(ScheduledTaskType taskType, String dedupKey, Long dueAt, String targetId,
+      String referenceId, String courseId) {
+    this.taskType = taskType;
+    this.dedupKey = dedupKey;
+    this.dueAt = dueAt;
+    this.targetId = targetId;
+    this.referenceId = referenceId;
+    this.courseId = courseId;
+    this.status = ScheduledTaskStatus.PENDING;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ScheduledTask that)) {
+      return false;
+    }
+    return Objects.equals(id, that.id)
+        && Objects.equals(dedupKey, that.dedupKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, dedupKey);
+  }
+
+  @Override
+  public String toString() {
+    return "ScheduledTask{"
+        + "id='" + id + '\''
+        + ", taskType=" + taskType
+        + ", dedupKey='" + dedupKey + '\''
+        + ", dueAt=" + dueAt
+        + ", status=" + status
+        + ", attempts=" + attempts
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public ScheduledTaskType getTaskType() {
+    return taskType;
+  }
+
+  public void setTaskType(ScheduledTaskType taskType) {
+    this.taskType = taskType;
+  }
+
+  public String getDedupKey() {
+    return dedupKey;
+  }
+
+  public void setDedupKey(String dedupKey) {
+    this.dedupKey = dedupKey;
+  }
+
+  public Long getDueAt() {
+    return dueAt;
+  }
+
+  public void setDueAt(Long dueAt) {
+    this.dueAt = dueAt;
+  }
+
+  public ScheduledTaskStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(ScheduledTaskStatus status) {
+    this.status = status;
+  }
+
+  public String getTargetId() {
+    return targetId;
+  }
+
+  public void setTargetId(String targetId) {
+    this.targetId = targetId;
+  }
+
+  public String getReferenceId() {
+    return referenceId;
+  }
+
+  public void setReferenceId(String referenceId) {
+    this.referenceId = referenceId;
+  }
+
+  public String getCourseId() {
+    return courseId;
+  }
+
+  public void setCourseId(String courseId) {
+    this.courseId = courseId;
+  }
+
+  public String getEntityId() {
+    return entityId;
+  }
+
+  public void setEntityId(String entityId) {
+    this.entityId = entityId;
+  }
+
+  public Long getReferenceTime() {
+    return referenceTime;
+  }
+
+  public void setReferenceTime(Long referenceTime) {
+    this.referenceTime = referenceTime;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getClaimedBy() {
+    return claimedBy;
+  }
+
+  public void setClaimedBy(String claimedBy) {
+    this.claimedBy = claimedBy;
+  }
+
+  public Long getClaimedUntil() {
+    return claimedUntil;
+  }
+
+  public void setClaimedUntil(Long claimedUntil) {
+    this.claimedUntil = claimedUntil;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima della persistenza.
+   * Genera l'ID se assente e imposta la data di creazione.
+   */
+  @PrePersist
+  protected void onCreate() {
+    if (id == null || id.isEmpty()) {
+      id = TimeOrderedIds.next();
+    }
+    if (status == null) {
+      status = ScheduledTaskStatus.PENDING;
+    }
+    createdAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
@@ -0,0 +1,142 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Documento denormalizzato della dashboard di uno studente (read model).
+ * Contiene in JSON valutazioni, feedback e risposte dello studente, precalcolati a ogni modifica
+ * invece che a ogni visualizzazione. Le scritture sui dati di origine marcano il documento come
+ * obsoleto incrementandone la versione, così una ricostruzione concorrente basata su dati
+ * precedenti fallisce il controllo ottimistico e non cancella il flag.
+ */
+@Entity
+@Table(name = "student_dashboards", indexes = {
+    @Index(name = "idx_student_dashboards_stale", columnList = "stale, updated_at")
+})
+public class StudentDashboard {
+
+  @Id
+  @Column(name = "student_id")
+  private String studentId;
+
+  @Column(columnDefinition = "TEXT", nullable = false)
+  private String document;
+
+  @Column(nullable = false)
+  private boolean stale;
+
+  @Version
+  private Long version;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public StudentDashboard() {
+  }
+
+  /**
+   * Costruttore della dashboard di uno studente.
+   *
+   * @param studentId l'ID dello studente
+   */
+  public StudentDashboard(String studentId) {
+    this.studentId = studentId;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StudentDashboard that)) {
+      return false;
+    }
+    return Objects.equals(studentId, that.studentId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(studentId);
+  }
+
+  @Override
+  public String toString() {
+    return "StudentDashboard{"
+        + "studentId='" + studentId + '\''
+        + ", stale=" + stale
+        + ", version=" + version
+        + ", updatedAt=" + updatedAt
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getStudentId() {
+    return studentId;
+  }
+
+  public void setStudentId(String studentId) {
+    this.studentId = studentId;
+  }
+
+  public String getDocument() {
+    return document;
+  }
+
+  public void setDocument(String document) {
+    this.document = document;
+  }
+
+  public boolean isStale() {
+    return stale;
+  }
+
+  public void setStale(boolean stale) {
+    this.stale = stale;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima di ogni scrittura.
+   * Aggiorna il timestamp di ultimo aggiornamento.
+   */
+  @PrePersist
+  @PreUpdate
+  protected void onWrite() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
@@ -0,0 +1,89 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Numero progressivo assegnato a uno studente la prima volta che risponde a un questionario.
+ * Gli ordinali sono densi e stabili, quindi possono indicizzare le bitmap dei rispondenti di
+ * {@link SurveyRespondents} al posto degli ID testuali.
+ */
+@Entity
+@Table(name = "student_ordinals")
+public class StudentOrdinal {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer ordinal;
+
+  @Column(name = "student_id", nullable = false, unique = true)
+  private String studentId;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public StudentOrdinal() {
+  }
+
+  /**
+   * Costruttore dell'ordinale di uno studente.
+   *
+   * @param ordinal l'ordinale
+   * @param studentId l'ID dello studente
+   */
+  public StudentOrdinal(Integer ordinal, String studentId) {
+    this.ordinal = ordinal;
+    this.studentId = studentId;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StudentOrdinal that)) {
+      return false;
+    }
+    return Objects.equals(ordinal, that.ordinal);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(ordinal);
+  }
+
+  @Override
+  public String toString() {
+    return "StudentOrdinal{"
+        + "ordinal=" + ordinal
+        + ", studentId='" + studentId + '\''
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public Integer getOrdinal() {
+    return ordinal;
+  }
+
+  public void setOrdinal(Integer ordinal) {
+    this.ordinal = ordinal;
+  }
+
+  public String getStudentId() {
+    return studentId;
+  }
+
+  public void setStudentId(String studentId) {
+    this.studentId = studentId;
+  }
+}
@@ -0,0 +1,139 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import it.unimol.microserviceassessmentfeedback.common.util.UuidStringJavaType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Bitmap persistita degli studenti che hanno risposto a un questionario, indicizzata per
+ * {@link StudentOrdinal}. Le repliche la aggiornano unendo i propri rispondenti alla versione
+ * letta; il controllo di versione fa ripetere l'unione in caso di scritture concorrenti.
+ */
+@Entity
+@Table(name = "survey_respondents")
+public class SurveyRespondents {
+
+  @Id
+  @Column(name = "survey_id")
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
+  private String surveyId;
+
+  @Column(nullable = false, length = 16 * 1024 * 1024)
+  private byte[] bitmap;
+
+  @Column(nullable = false)
+  private long respondents;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Version
+  private Integer version;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public SurveyRespondents() {
+  }
+
+  /**
+   * Costruttore della bitmap dei rispondenti di un questionario.
+   *
+   * @param surveyId l'ID del questionario
+   */
+  public SurveyRespondents(String surveyId) {
+    this.surveyId = surveyId;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SurveyRespondents that)) {
+      return false;
+    }
+    return Objects.equals(surveyId, that.surveyId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(surveyId);
+  }
+
+  @Override
+  public String toString() {
+    return "SurveyRespondents{"
+        + "surveyId='" + surveyId + '\''
+        + ", respondents=" + respondents
+        + ", updatedAt=" + updatedAt
+        + ", version=" + version
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getSurveyId() {
+    return surveyId;
+  }
+
+  public void setSurveyId(String surveyId) {
+    this.surveyId = surveyId;
+  }
+
+  public byte[] getBitmap() {
+    return bitmap;
+  }
+
+  public void setBitmap(byte[] bitmap) {
+    this.bitmap = bitmap;
+  }
+
+  public long getRespondents() {
+    return respondents;
+  }
+
+  public void setRespondents(long respondents) {
+    this.respondents = respondents;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public Integer getVersion() {
+    return version;
+  }
+
+  public void setVersion(Integer version) {
+    this.version = version;
+  }
+
+  // ============ Metodi di Classe ============
+
+  @PrePersist
+  @PreUpdate
+  protected void onWrite() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
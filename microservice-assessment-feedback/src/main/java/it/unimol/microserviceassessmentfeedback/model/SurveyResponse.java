@@ -1,9 +1,12 @@
 package it.unimol.microserviceassessmentfeedback.model;
 
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.common.util.UuidStringJavaType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -12,17 +15,23 @@ import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Objects;
-import java.util.UUID;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * Entità JPA che rappresenta una risposta a un questionario di valutazione docente.
  * Contiene sia valutazioni numeriche che commenti testuali per ogni domanda.
  */
 @Entity
-@Table(name = "survey_responses")
+@Table(name = "survey_responses", indexes = {
+    @Index(name = "idx_survey_responses_student", columnList = "student_id, id")
+})
 public class SurveyResponse {
 
   @Id
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
   private String id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -214,12 +223,12 @@ public class SurveyResponse {
 
   /**
    * Callback JPA eseguito prima del persist.
-   * Genera un ID UUID se non presente e imposta le timestamp.
+   * Genera un ID ordinato nel tempo se assente o non valido e imposta le timestamp.
    */
   @PrePersist
   protected void onCreate() {
-    if (id == null || id.isEmpty()) {
-      id = UUID.randomUUID().toString();
+    if (!TimeOrderedIds.isValid(id)) {
+      id = TimeOrderedIds.next();
     }
     createdAt = LocalDateTime.now(ZoneId.systemDefault());
     updatedAt = LocalDateTime.now(ZoneId.systemDefault());
@@ -0,0 +1,251 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.common.util.UuidStringJavaType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Entità JPA che rappresenta, in forma compatta, la compilazione di un questionario da parte di
+ * uno studente: una sola riga per invio invece di una riga per domanda.
+ *
+ * <p>Le valutazioni sono un array di byte indicizzato dalla posizione della domanda nel
+ * questionario, con 0 per le domande senza valutazione; i commenti sono salvati solo per le
+ * domande che ne hanno uno, come mappa JSON posizione → testo.</p>
+ */
+@Entity
+@Table(name = "survey_submissions", indexes = {
+    @Index(name = "uk_survey_submissions_survey_student", columnList = "survey_id, student_id",
+        unique = true),
+    @Index(name = "idx_survey_submissions_student", columnList = "student_id, id")
+})
+public class SurveySubmission {
+
+  /**
+   * Valore delle posizioni senza valutazione nell'array delle valutazioni.
+   */
+  public static final byte NO_RATING = 0;
+
+  @Id
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
+  private String id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "survey_id", nullable = false)
+  private TeacherSurvey survey;
+
+  @Column(name = "student_id")
+  private String studentId;
+
+  @Column(nullable = false, length = 1024)
+  private byte[] ratings;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  private Map<Integer, String> comments;
+
+  @Column(name = "submission_date", nullable = false)
+  private LocalDateTime submissionDate;
+
+  @Version
+  private Integer version;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public SurveySubmission() {
+  }
+
+  /**
+   * Costruttore di un invio senza risposte.
+   *
+   * @param survey il questionario compilato
+   * @param studentId l'ID dello studente
+   * @param submissionDate la data di invio
+   */
+  public SurveySubmission(TeacherSurvey survey, String studentId, LocalDateTime submissionDate) {
+    this.survey = survey;
+    this.studentId = studentId;
+    this.submissionDate = submissionDate;
+    this.ratings = new byte[0];
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SurveySubmission that)) {
+      return false;
+    }
+    return Objects.equals(id, that.id)
+        && Objects.equals(studentId, that.studentId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, studentId);
+  }
+
+  @Override
+  public String toString() {
+    return "SurveySubmission{"
+        + "id='" + id + '\''
+        + ", studentId='" + studentId + '\''
+        + ", ratings=" + Arrays.toString(ratings)
+        + ", comments=" + (comments != null ? comments.keySet() : null)
+        + ", submissionDate=" + submissionDate
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public TeacherSurvey getSurvey() {
+    return survey;
+  }
+
+  public void setSurvey(TeacherSurvey survey) {
+    this.survey = survey;
+  }
+
+  public String getStudentId() {
+    return studentId;
+  }
+
+  public void setStudentId(String studentId) {
+    this.studentId = studentId;
+  }
+
+  public byte[] getRatings() {
+    return ratings;
+  }
+
+  public void setRatings(byte[] ratings) {
+    this.ratings = ratings;
+  }
+
+  public Map<Integer, String> getComments() {
+    return comments;
+  }
+
+  public void setComments(Map<Integer, String> comments) {
+    this.comments = comments;
+  }
+
+  public LocalDateTime getSubmissionDate() {
+    return submissionDate;
+  }
+
+  public void setSubmissionDate(LocalDateTime submissionDate) {
+    this.submissionDate = submissionDate;
+  }
+
+  public Integer getVersion() {
+    return version;
+  }
+
+  public void setVersion(Integer version) {
+    this.version = version;
+  }
+
+  /**
+   * Restituisce la valutazione data alla domanda in una posizione.
+   *
+   * @param ordinal la posizione della domanda
+   * @return la valutazione, o null se la domanda non è stata valutata
+   */
+  public Integer getRating(int ordinal) {
+    if (ratings == null || ordinal >= ratings.length || ratings[ordinal] == NO_RATING) {
+      return null;
+    }
+    return (int) ratings[ordinal];
+  }
+
+  /**
+   * Restituisce il commento dato alla domanda in una posizione.
+   *
+   * @param ordinal la posizione della domanda
+   * @return il commento, o null se assente
+   */
+  public String getComment(int ordinal) {
+    return comments != null ? comments.get(ordinal) : null;
+  }
+
+  /**
+   * Indica se l'invio contiene una risposta alla domanda in una posizione.
+   *
+   * @param ordinal la posizione della domanda
+   * @return true se la domanda ha una valutazione o un commento
+   */
+  public boolean hasAnswer(int ordinal) {
+    return getRating(ordinal) != null || getComment(ordinal) != null;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Registra la risposta alla domanda in una posizione, sostituendo quella eventualmente
+   * presente.
+   *
+   * @param ordinal la posizione della domanda
+   * @param rating la valutazione, può essere null
+   * @param comment il commento, può essere null o vuoto
+   */
+  public void answer(int ordinal, Integer rating, String comment) {
+    if (ratings == null || ordinal >= ratings.length) {
+      ratings = Arrays.copyOf(ratings != null ? ratings : new byte[0], ordinal + 1);
+    }
+    ratings[ordinal] = rating != null ? rating.byteValue() : NO_RATING;
+
+    Map<Integer, String> updated = comments != null ? new TreeMap<>(comments) : new TreeMap<>();
+    if (comment != null && !comment.isEmpty()) {
+      updated.put(ordinal, comment);
+    } else {
+      updated.remove(ordinal);
+    }
+    comments = updated.isEmpty() ? null : updated;
+  }
+
+  /**
+   * Callback JPA eseguito prima della persistenza.
+   * Genera un ID ordinato nel tempo se assente o non valido e imposta la data di invio se mancante.
+   */
+  @PrePersist
+  protected void onCreate() {
+    if (!TimeOrderedIds.isValid(id)) {
+      id = TimeOrderedIds.next();
+    }
+    if (submissionDate == null) {
+      submissionDate = LocalDateTime.now(ZoneId.systemDefault());
+    }
+  }
+}
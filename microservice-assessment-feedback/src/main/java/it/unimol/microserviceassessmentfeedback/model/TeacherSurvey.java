@@ -1,32 +1,56 @@
 package it.unimol.microserviceassessmentfeedback.model;
 
-import it.unimol.microserviceassessmentfeedback.common.util.ListToJsonConverter;
+import it.unimol.microserviceassessmentfeedback.common.util.SurveyQuestionsCodec;
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.common.util.UuidStringJavaType;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * Entità JPA che rappresenta un questionario di valutazione docente.
  * Contiene informazioni sul corso, docente, periodo accademico, domande e stato del questionario.
+ * Le domande sono salvate come JSON ({@code jsonb} su PostgreSQL) con la relativa versione e
+ * vengono deserializzate solo al primo accesso, tramite {@link SurveyQuestionsCodec}.
+ *
+ * <p>Con il profilo {@code l2cache} l'entità è conservata nella cache di secondo livello di
+ * Hibernate, nella regione {@value #CACHE_REGION}, con strategia read-write.</p>
  */
 @Entity
-@Table(name = "teacher_surveys")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TeacherSurvey.CACHE_REGION)
+@Table(name = "teacher_surveys", indexes = {
+    @Index(name = "idx_teacher_surveys_open_at", columnList = "status, scheduled_open_at"),
+    @Index(name = "idx_teacher_surveys_close_at", columnList = "status, scheduled_close_at"),
+    @Index(name = "idx_teacher_surveys_period", columnList = "academic_year, semester, course_id"),
+    @Index(name = "idx_teacher_surveys_teacher", columnList = "teacher_id, course_id")
+})
 public class TeacherSurvey {
 
+  public static final String CACHE_REGION = "teacher-surveys";
+
   @Id
+  @JavaType(UuidStringJavaType.class)
+  @JdbcTypeCode(SqlTypes.UUID)
   private String id;
 
   @Column(name = "course_id", nullable = false)
@@ -51,6 +75,12 @@ public class TeacherSurvey {
   @Column(name = "closing_date")
   private LocalDateTime closingDate;
 
+  @Column(name = "scheduled_open_at")
+  private LocalDateTime scheduledOpenAt;
+
+  @Column(name = "scheduled_close_at")
+  private LocalDateTime scheduledCloseAt;
+
   @Column(name = "created_at")
   private LocalDateTime createdAt;
 
@@ -63,8 +93,14 @@ public class TeacherSurvey {
   @Column(columnDefinition = "TEXT")
   private String description;
 
-  @Column(name = "questions", columnDefinition = "TEXT")
-  @Convert(converter = ListToJsonConverter.class)
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "questions")
+  private String questionsJson;
+
+  @Column(name = "questions_version", length = 32)
+  private String questionsVersion;
+
+  @Transient
   private List<SurveyQuestionDto> questions;
 
   // ============ Costruttore ============
@@ -108,7 +144,7 @@ public class TeacherSurvey {
     this.updatedAt = updatedAt;
     this.title = title;
     this.description = description;
-    this.questions = questions;
+    setQuestions(questions);
   }
 
   // ============ Metodi Override ============
@@ -129,18 +165,20 @@ public class TeacherSurvey {
         && status == that.status
         && Objects.equals(creationDate, that.creationDate)
         && Objects.equals(closingDate, that.closingDate)
+        && Objects.equals(scheduledOpenAt, that.scheduledOpenAt)
+        && Objects.equals(scheduledCloseAt, that.scheduledCloseAt)
         && Objects.equals(createdAt, that.createdAt)
         && Objects.equals(updatedAt, that.updatedAt)
         && Objects.equals(title, that.title)
         && Objects.equals(description, that.description)
-        && Objects.equals(questions, that.questions);
+        && Objects.equals(questionsJson, that.questionsJson);
   }
 
   @Override
   public int hashCode() {
     return Objects.hash(id, courseId, teacherId, academicYear, semester,
-        status, creationDate, closingDate, createdAt, updatedAt,
-        title, description, questions);
+        status, creationDate, closingDate, scheduledOpenAt, scheduledCloseAt, createdAt, updatedAt,
+        title, description, questionsJson);
   }
 
   @Override
@@ -154,11 +192,13 @@ public class TeacherSurvey {
         + ", status=" + status
         + ", creationDate=" + creationDate
         + ", closingDate=" + closingDate
+        + ", scheduledOpenAt=" + scheduledOpenAt
+        + ", scheduledCloseAt=" + scheduledCloseAt
         + ", createdAt=" + createdAt
         + ", updatedAt=" + updatedAt
         + ", title='" + title + '\''
         + ", description='" + description + '\''
-        + ", questions=" + questions
+        + ", questionsVersion='" + questionsVersion + '\''
         + '}';
   }
 
@@ -228,6 +268,22 @@ public class TeacherSurvey {
     this.closingDate = closingDate;
   }
 
+  public LocalDateTime getScheduledOpenAt() {
+    return scheduledOpenAt;
+  }
+
+  public void setScheduledOpenAt(LocalDateTime scheduledOpenAt) {
+    this.scheduledOpenAt = scheduledOpenAt;
+  }
+
+  public LocalDateTime getScheduledCloseAt() {
+    return scheduledCloseAt;
+  }
+
+  public void setScheduledCloseAt(LocalDateTime scheduledCloseAt) {
+    this.scheduledCloseAt = scheduledCloseAt;
+  }
+
   public LocalDateTime getCreatedAt() {
     return createdAt;
   }
@@ -260,12 +316,47 @@ public class TeacherSurvey {
     this.description = description;
   }
 
+  /**
+   * Restituisce le domande, deserializzandole al primo accesso. Le liste lette dal database sono
+   * condivise tra i questionari con la stessa versione e non vanno modificate.
+   *
+   * @return la lista delle domande, o null se il questionario non ne ha
+   */
   public List<SurveyQuestionDto> getQuestions() {
+    if (questions == null && questionsJson != null) {
+      questions = SurveyQuestionsCodec.decode(questionsVersion, questionsJson);
+    }
     return questions;
   }
 
+  /**
+   * Imposta le domande, aggiornandone il JSON e la versione.
+   *
+   * @param questions la lista delle domande
+   */
   public void setQuestions(List<SurveyQuestionDto> questions) {
     this.questions = questions;
+    this.questionsJson = SurveyQuestionsCodec.encode(questions);
+    this.questionsVersion = SurveyQuestionsCodec.version(questionsJson);
+  }
+
+  public String getQuestionsJson() {
+    return questionsJson;
+  }
+
+  /**
+   * Imposta il JSON delle domande, aggiornandone la versione.
+   *
+   * @param questionsJson il JSON delle domande
+   */
+  public void setQuestionsJson(String questionsJson) {
+    this.questions = null;
+    this.questionsJson = questionsJson;
+    this.questionsVersion = SurveyQuestionsCodec.version(questionsJson);
+  }
+
+  public String getQuestionsVersion() {
+    return questionsVersion;
   }
 
   // ============ Metodi di Classe ============
@@ -281,12 +372,12 @@ public class TeacherSurvey {
 
   /**
    * Callback JPA eseguito prima del persist.
-   * Genera un ID UUID se non presente e imposta le timestamp.
+   * Genera un ID ordinato nel tempo se assente o non valido e imposta le timestamp.
    */
   @PrePersist
   protected void onCreate() {
-    if (id == null || id.isEmpty()) {
-      id = UUID.randomUUID().toString();
+    if (!TimeOrderedIds.isValid(id)) {
+      id = TimeOrderedIds.next();
     }
     createdAt = LocalDateTime.now(ZoneId.systemDefault());
     updatedAt = LocalDateTime.now(ZoneId.systemDefault());
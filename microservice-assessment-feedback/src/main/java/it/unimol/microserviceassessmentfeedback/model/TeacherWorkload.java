@@ -0,0 +1,257 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Contatori di carico di lavoro di un docente su un corso.
+ * Una riga per coppia (docente, corso), aggiornata per incremento dalle scritture su valutazioni,
+ * feedback e risposte ai questionari e riallineata ogni notte dai dati di origine.
+ */
+@Entity
+@Table(name = "teacher_workload_counters")
+@IdClass(TeacherWorkload.Key.class)
+public class TeacherWorkload {
+
+  @Id
+  @Column(name = "teacher_id")
+  private String teacherId;
+
+  @Id
+  @Column(name = "course_id")
+  private String courseId;
+
+  @Column(nullable = false)
+  private long assessments;
+
+  @Column(name = "assessments_with_feedback", nullable = false)
+  private long assessmentsWithFeedback;
+
+  @Column(nullable = false)
+  private long feedback;
+
+  @Column(nullable = false)
+  private long students;
+
+  @Column(name = "survey_submissions", nullable = false)
+  private long surveySubmissions;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(name = "reconciled_at")
+  private LocalDateTime reconciledAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public TeacherWorkload() {
+  }
+
+  /**
+   * Costruttore dei contatori, inizialmente a zero, di un docente su un corso.
+   *
+   * @param teacherId l'ID del docente
+   * @param courseId l'ID del corso
+   */
+  public TeacherWorkload(String teacherId, String courseId) {
+    this.teacherId = teacherId;
+    this.courseId = courseId;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TeacherWorkload that)) {
+      return false;
+    }
+    return Objects.equals(teacherId, that.teacherId)
+        && Objects.equals(courseId, that.courseId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(teacherId, courseId);
+  }
+
+  @Override
+  public String toString() {
+    return "TeacherWorkload{"
+        + "teacherId='" + teacherId + '\''
+        + ", courseId='" + courseId + '\''
+        + ", assessments=" + assessments
+        + ", assessmentsWithFeedback=" + assessmentsWithFeedback
+        + ", feedback=" + feedback
+        + ", students=" + students
+        + ", surveySubmissions=" + surveySubmissions
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getTeacherId() {
+    return teacherId;
+  }
+
+  public void setTeacherId(String teacherId) {
+    this.teacherId = teacherId;
+  }
+
+  public String getCourseId() {
+    return courseId;
+  }
+
+  public void setCourseId(String courseId) {
+    this.courseId = courseId;
+  }
+
+  public long getAssessments() {
+    return assessments;
+  }
+
+  public void setAssessments(long assessments) {
+    this.assessments = assessments;
+  }
+
+  public long getAssessmentsWithFeedback() {
+    return assessmentsWithFeedback;
+  }
+
+  public void setAssessmentsWithFeedback(long assessmentsWithFeedback) {
+    this.assessmentsWithFeedback = assessmentsWithFeedback;
+  }
+
+  public long getFeedback() {
+    return feedback;
+  }
+
+  public void setFeedback(long feedback) {
+    this.feedback = feedback;
+  }
+
+  public long getStudents() {
+    return students;
+  }
+
+  public void setStudents(long students) {
+    this.students = students;
+  }
+
+  public long getSurveySubmissions() {
+    return surveySubmissions;
+  }
+
+  public void setSurveySubmissions(long surveySubmissions) {
+    this.surveySubmissions = surveySubmissions;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public LocalDateTime getReconciledAt() {
+    return reconciledAt;
+  }
+
+  public void setReconciledAt(LocalDateTime reconciledAt) {
+    this.reconciledAt = reconciledAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Restituisce la chiave (docente, corso) della riga.
+   *
+   * @return la chiave dei contatori
+   */
+  public Key key() {
+    return new Key(teacherId, courseId);
+  }
+
+  /**
+   * Callback JPA eseguito prima di ogni scrittura.
+   * Aggiorna il timestamp di ultimo aggiornamento.
+   */
+  @PrePersist
+  @PreUpdate
+  protected void onWrite() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+
+  /**
+   * Chiave composta (docente, corso) dei contatori.
+   */
+  public static class Key implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String teacherId;
+    private String courseId;
+
+    /**
+     * Costruttore di default.
+     */
+    public Key() {
+    }
+
+    /**
+     * Costruttore della chiave.
+     *
+     * @param teacherId l'ID del docente
+     * @param courseId l'ID del corso
+     */
+    public Key(String teacherId, String courseId) {
+      this.teacherId = teacherId;
+      this.courseId = courseId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key that)) {
+        return false;
+      }
+      return Objects.equals(teacherId, that.teacherId)
+          && Objects.equals(courseId, that.courseId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(teacherId, courseId);
+    }
+
+    @Override
+    public String toString() {
+      return teacherId + "/" + courseId;
+    }
+
+    public String getTeacherId() {
+      return teacherId;
+    }
+
+    public String getCourseId() {
+      return courseId;
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package it.unimol.microserviceassessmentfeedback.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Proiezione locale e compatta di uno studente o docente, costruita dagli eventi del servizio
+ * utenti. Conserva solo i dati necessari a validare gli ID, mostrare i nomi e filtrare i
+ * questionari; gli utenti cancellati restano come tombstone, così un evento di creazione
+ * ritardato non li riattiva.
+ */
+@Entity
+@Table(name = "user_projections", indexes = {
+    @Index(name = "idx_user_projections_updated", columnList = "updated_at")
+})
+public class UserProjection {
+
+  @Id
+  private String id;
+
+  @Column(name = "user_type", nullable = false, length = 20)
+  private String userType;
+
+  @Column(name = "first_name")
+  private String firstName;
+
+  @Column(name = "last_name")
+  private String lastName;
+
+  private String department;
+
+  @Column(name = "degree_program")
+  private String degreeProgram;
+
+  @Column(name = "year_of_study")
+  private Integer yearOfStudy;
+
+  @Column(nullable = false)
+  private boolean deleted;
+
+  @Column(name = "source_timestamp", nullable = false)
+  private long sourceTimestamp;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore di default.
+   */
+  public UserProjection() {
+  }
+
+  /**
+   * Costruttore di una proiezione attiva.
+   *
+   * @param id l'ID dell'utente
+   * @param userType il tipo di utente (STUDENT, TEACHER)
+   * @param sourceTimestamp il timestamp dell'evento di origine
+   */
+  public UserProjection(String id, String userType, long sourceTimestamp) {
+    this.id = id;
+    this.userType = userType;
+    this.sourceTimestamp = sourceTimestamp;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof UserProjection that)) {
+      return false;
+    }
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+
+  @Override
+  public String toString() {
+    return "UserProjection{"
+        + "id='" + id + '\''
+        + ", userType='" + userType + '\''
+        + ", deleted=" + deleted
+        + ", sourceTimestamp=" + sourceTimestamp
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getUserType() {
+    return userType;
+  }
+
+  public void setUserType(String userType) {
+    this.userType = userType;
+  }
+
+  public String getFirstName() {
+    return firstName;
+  }
+
+  public void setFirstName(String firstName) {
+    this.firstName = firstName;
+  }
+
+  public String getLastName() {
+    return lastName;
+  }
+
+  public void setLastName(String lastName) {
+    this.lastName = lastName;
+  }
+
+  public String getDepartment() {
+    return department;
+  }
+
+  public void setDepartment(String department) {
+    this.department = department;
+  }
+
+  public String getDegreeProgram() {
+    return degreeProgram;
+  }
+
+  public void setDegreeProgram(String degreeProgram) {
+    this.degreeProgram = degreeProgram;
+  }
+
+  public Integer getYearOfStudy() {
+    return yearOfStudy;
+  }
+
+  public void setYearOfStudy(Integer yearOfStudy) {
+    this.yearOfStudy = yearOfStudy;
+  }
+
+  public boolean isDeleted() {
+    return deleted;
+  }
+
+  public void setDeleted(boolean deleted) {
+    this.deleted = deleted;
+  }
+
+  public long getSourceTimestamp() {
+    return sourceTimestamp;
+  }
+
+  public void setSourceTimestamp(long sourceTimestamp) {
+    this.sourceTimestamp = sourceTimestamp;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Callback JPA eseguito prima della persistenza e dell'update.
+   * Aggiorna il timestamp usato dalle repliche per recuperare le modifiche.
+   */
+  @PrePersist
+  @PreUpdate
+  protected void onWrite() {
+    updatedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+}
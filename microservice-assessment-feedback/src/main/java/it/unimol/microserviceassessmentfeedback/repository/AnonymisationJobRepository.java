@@ -0,0 +1,22 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository per i job di anonimizzazione degli utenti cancellati.
+ */
+@Repository
+public interface AnonymisationJobRepository extends JpaRepository<AnonymisationJob, String> {
+
+  boolean existsByUserId(String userId);
+
+  Optional<AnonymisationJob> findByUserId(String userId);
+
+  Optional<AnonymisationJob> findFirstByStatusInOrderByCreatedAtAsc(
+      Collection<BackgroundJobStatus> statuses);
+}
@@ -0,0 +1,27 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.ArchivedRecord;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository per le righe archiviate dei corsi cancellati.
+ */
+@Repository
+public interface ArchivedRecordRepository extends JpaRepository<ArchivedRecord, String> {
+
+  long countByCourseId(String courseId);
+
+  /**
+   * Restituisce le righe archiviate riferite a un utente, come studente o come docente, con ID
+   * successivo a quello indicato, in ordine di ID.
+   */
+  @Query("SELECT r FROM ArchivedRecord r WHERE (r.studentId = :userId OR r.teacherId = :userId) "
+      + "AND r.id > :after ORDER BY r.id")
+  List<ArchivedRecord> findUserChunk(@Param("userId") String userId,
+      @Param("after") String after, Pageable pageable);
+}
@@ -2,9 +2,19 @@ package it.unimol.microserviceassessmentfeedback.repository;
 
 import it.unimol.microserviceassessmentfeedback.enums.ReferenceType;
 import it.unimol.microserviceassessmentfeedback.model.Assessment;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository per la gestione delle operazioni CRUD sulle valutazioni (Assessment).
@@ -19,7 +29,94 @@ public interface AssessmentRepository extends JpaRepository<Assessment, String>
 
   List<Assessment> findByCourseId(String courseId);
 
+  /**
+   * Restituisce le valutazioni del corso con data nell'intervallo [from, to). Con la tabella
+   * partizionata per data di valutazione, viene letta solo la partizione dell'intervallo.
+   */
+  @Query("SELECT a FROM Assessment a WHERE a.courseId = :courseId "
+      + "AND a.assessmentDate >= :from AND a.assessmentDate < :to")
+  List<Assessment> findByCourseIdInPeriod(@Param("courseId") String courseId,
+      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+  /**
+   * Indica se la valutazione ha feedback associati. Sostituisce il vincolo di chiave esterna, che
+   * non può riferire la tabella partizionata.
+   */
+  @Query("SELECT COUNT(f) > 0 FROM DetailedFeedback f WHERE f.assessment.id = :assessmentId")
+  boolean hasFeedback(@Param("assessmentId") String assessmentId);
+
+  boolean existsByCourseIdAndStudentId(String courseId, String studentId);
+
+  /**
+   * Restituisce gli studenti con almeno una valutazione nel corso, usati come iscritti.
+   */
+  @Query("SELECT DISTINCT a.studentId FROM Assessment a WHERE a.courseId = :courseId "
+      + "AND a.studentId IS NOT NULL")
+  List<String> findStudentIdsByCourseId(@Param("courseId") String courseId);
+
+  /**
+   * Restituisce i corsi in cui lo studente ha almeno una valutazione, usati come iscrizioni.
+   */
+  @Query("SELECT DISTINCT a.courseId FROM Assessment a WHERE a.studentId = :studentId "
+      + "AND a.courseId IS NOT NULL")
+  List<String> findCourseIdsByStudentId(@Param("studentId") String studentId);
+
   List<Assessment> findByReferenceIdAndReferenceType(String referenceId,
       ReferenceType referenceType);
 
-}
\ No newline at end of file
+  /**
+   * Restituisce la prima valutazione dello studente per il riferimento indicato, in ordine di ID
+   * (cioè di creazione).
+   */
+  Optional<Assessment> findFirstByReferenceIdAndReferenceTypeAndStudentIdOrderByIdAsc(
+      String referenceId, ReferenceType referenceType, String studentId);
+
+  /**
+   * Restituisce il chunk successivo di valutazioni del corso in ordine di ID (keyset), in sola
+   * lettura, per l'archiviazione.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+  @Query("SELECT a FROM Assessment a WHERE a.courseId = :courseId AND a.id > :after "
+      + "ORDER BY a.id")
+  List<Assessment> findCourseChunk(@Param("courseId") String courseId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Restituisce il chunk successivo di ID delle valutazioni dello studente in ordine di ID
+   * (keyset), per l'anonimizzazione.
+   */
+  @Query("SELECT a.id FROM Assessment a WHERE a.studentId = :studentId AND a.id > :after "
+      + "ORDER BY a.id")
+  List<String> findStudentAssessmentIds(@Param("studentId") String studentId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Restituisce il chunk successivo di ID delle valutazioni assegnate dal docente in ordine di ID
+   * (keyset), per l'anonimizzazione.
+   */
+  @Query("SELECT a.id FROM Assessment a WHERE a.teacherId = :teacherId AND a.id > :after "
+      + "ORDER BY a.id")
+  List<String> findTeacherAssessmentIds(@Param("teacherId") String teacherId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Sostituisce in un'unica istruzione lo studente delle valutazioni indicate con uno pseudonimo
+   * e ne rimuove le note.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE Assessment a SET a.studentId = :pseudonym, a.notes = NULL, a.updatedAt = :now "
+      + "WHERE a.id IN :ids")
+  int pseudonymiseStudent(@Param("ids") Collection<String> ids,
+      @Param("pseudonym") String pseudonym, @Param("now") LocalDateTime now);
+
+  /**
+   * Sostituisce in un'unica istruzione il docente delle valutazioni indicate con uno pseudonimo.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE Assessment a SET a.teacherId = :pseudonym, a.updatedAt = :now "
+      + "WHERE a.id IN :ids")
+  int pseudonymiseTeacher(@Param("ids") Collection<String> ids,
+      @Param("pseudonym") String pseudonym, @Param("now") LocalDateTime now);
+}
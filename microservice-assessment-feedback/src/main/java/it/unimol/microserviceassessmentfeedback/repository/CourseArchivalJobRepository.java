@@ -0,0 +1,22 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.model.CourseArchivalJob;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository per i job di archiviazione dei corsi cancellati.
+ */
+@Repository
+public interface CourseArchivalJobRepository extends JpaRepository<CourseArchivalJob, String> {
+
+  boolean existsByCourseId(String courseId);
+
+  Optional<CourseArchivalJob> findByCourseId(String courseId);
+
+  Optional<CourseArchivalJob> findFirstByStatusInOrderByCreatedAtAsc(
+      Collection<BackgroundJobStatus> statuses);
+}
@@ -0,0 +1,21 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.CourseProjection;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository per la proiezione locale dei corsi.
+ * Fornisce la lettura a pagine per il bootstrap e quella incrementale per l'allineamento tra
+ * repliche.
+ */
+@Repository
+public interface CourseProjectionRepository extends JpaRepository<CourseProjection, String> {
+
+  List<CourseProjection> findByIdGreaterThanOrderByIdAsc(String after, Pageable pageable);
+
+  List<CourseProjection> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(LocalDateTime since);
+}
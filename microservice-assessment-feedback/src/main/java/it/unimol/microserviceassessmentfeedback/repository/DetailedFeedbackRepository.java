@@ -1,11 +1,18 @@
 package it.unimol.microserviceassessmentfeedback.repository;
 
 import it.unimol.microserviceassessmentfeedback.model.DetailedFeedback;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository per la gestione delle operazioni CRUD sui feedback dettagliati.
@@ -16,6 +23,38 @@ public interface DetailedFeedbackRepository extends JpaRepository<DetailedFeedba
 
   List<DetailedFeedback> findByAssessmentId(String assessmentId);
 
+  boolean existsByAssessmentId(String assessmentId);
+
   @Query("SELECT df FROM DetailedFeedback df JOIN df.assessment a WHERE a.studentId = :studentId")
   List<DetailedFeedback> findByStudentId(@Param("studentId") String studentId);
-}
\ No newline at end of file
+
+  /**
+   * Restituisce il chunk successivo di feedback delle valutazioni del corso in ordine di ID
+   * (keyset), in sola lettura, per l'archiviazione.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+  @Query("SELECT df FROM DetailedFeedback df JOIN df.assessment a "
+      + "WHERE a.courseId = :courseId AND df.id > :after ORDER BY df.id")
+  List<DetailedFeedback> findCourseChunk(@Param("courseId") String courseId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Restituisce il chunk successivo di ID dei feedback delle valutazioni dello studente in ordine
+   * di ID (keyset), per l'anonimizzazione.
+   */
+  @Query("SELECT df.id FROM DetailedFeedback df JOIN df.assessment a "
+      + "WHERE a.studentId = :studentId AND df.id > :after ORDER BY df.id")
+  List<String> findStudentFeedbackIds(@Param("studentId") String studentId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Oscura in un'unica istruzione i testi liberi dei feedback indicati, mantenendo la categoria
+   * per le statistiche aggregate.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE DetailedFeedback df SET df.feedbackText = :text, df.strengths = NULL, "
+      + "df.improvementAreas = NULL, df.updatedAt = :now WHERE df.id IN :ids")
+  int redactAll(@Param("ids") Collection<String> ids, @Param("text") String text,
+      @Param("now") LocalDateTime now);
+}
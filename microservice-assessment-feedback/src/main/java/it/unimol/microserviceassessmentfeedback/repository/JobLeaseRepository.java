@@ -0,0 +1,49 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository dei lease dei job di background. Acquisizione, rinnovo e rilascio sono
+ * aggiornamenti condizionali: una sola replica alla volta può ottenere il lease di un job.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+  @Modifying
+  @Transactional
+  @Query("INSERT INTO JobLease (jobName, fencingToken, leaseUntil) VALUES (:jobName, 0, 0) "
+      + "ON CONFLICT DO NOTHING")
+  int insertIfAbsent(@Param("jobName") String jobName);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE JobLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, "
+      + "l.leaseUntil = :until, l.heartbeatAt = :now, l.acquiredAt = :now "
+      + "WHERE l.jobName = :jobName AND l.leaseUntil < :now")
+  int acquire(@Param("jobName") String jobName, @Param("owner") String owner,
+      @Param("now") long now, @Param("until") long until);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE JobLease l SET l.leaseUntil = :until, l.heartbeatAt = :now "
+      + "WHERE l.jobName = :jobName AND l.owner = :owner AND l.fencingToken = :token "
+      + "AND l.leaseUntil >= :now")
+  int renew(@Param("jobName") String jobName, @Param("owner") String owner,
+      @Param("token") long token, @Param("now") long now, @Param("until") long until);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE JobLease l SET l.leaseUntil = 0 "
+      + "WHERE l.jobName = :jobName AND l.owner = :owner AND l.fencingToken = :token")
+  int release(@Param("jobName") String jobName, @Param("owner") String owner,
+      @Param("token") long token);
+
+  @Query("SELECT l.fencingToken FROM JobLease l WHERE l.jobName = :jobName")
+  Long findFencingToken(@Param("jobName") String jobName);
+}
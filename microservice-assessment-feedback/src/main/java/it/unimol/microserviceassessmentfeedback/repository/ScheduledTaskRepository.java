@@ -0,0 +1,65 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskStatus;
+import it.unimol.microserviceassessmentfeedback.model.ScheduledTask;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository per i task programmati. Oltre alle ricerche per finestra temporale fornisce le
+ * operazioni di claim e completamento condizionali usate per far eseguire ogni task a una sola
+ * replica.
+ */
+@Repository
+public interface ScheduledTaskRepository extends JpaRepository<ScheduledTask, String> {
+
+  boolean existsByDedupKey(String dedupKey);
+
+  /**
+   * Proiezione leggera usata per caricare una fetta temporale nella timing wheel.
+   */
+  interface DueTask {
+
+    String getId();
+
+    Long getDueAt();
+  }
+
+  @Query("SELECT t.id AS id, t.dueAt AS dueAt FROM ScheduledTask t "
+      + "WHERE t.status = :status AND t.dueAt >= :from AND t.dueAt < :to ORDER BY t.dueAt")
+  List<DueTask> findDueSlice(@Param("status") ScheduledTaskStatus status,
+      @Param("from") long from, @Param("to") long to, Pageable pageable);
+
+  @Query("SELECT t.id AS id, t.dueAt AS dueAt FROM ScheduledTask t "
+      + "WHERE (t.status = 'PENDING' AND t.dueAt < :before) "
+      + "OR (t.status = 'CLAIMED' AND t.claimedUntil < :now) ORDER BY t.dueAt")
+  List<DueTask> findOverdue(@Param("before") long before, @Param("now") long now,
+      Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE ScheduledTask t SET t.status = 'CLAIMED', t.claimedBy = :owner, "
+      + "t.claimedUntil = :until, t.attempts = t.attempts + 1 "
+      + "WHERE t.id = :id AND (t.status = 'PENDING' "
+      + "OR (t.status = 'CLAIMED' AND t.claimedUntil < :now))")
+  int claim(@Param("id") String id, @Param("owner") String owner, @Param("now") long now,
+      @Param("until") long until);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE ScheduledTask t SET t.status = :status, t.dueAt = :dueAt, t.claimedBy = NULL, "
+      + "t.claimedUntil = NULL WHERE t.id = :id AND t.claimedBy = :owner")
+  int release(@Param("id") String id, @Param("owner") String owner,
+      @Param("status") ScheduledTaskStatus status, @Param("dueAt") long dueAt);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM ScheduledTask t WHERE t.status = 'DONE' AND t.dueAt < :before")
+  int deleteCompletedBefore(@Param("before") long before);
+}
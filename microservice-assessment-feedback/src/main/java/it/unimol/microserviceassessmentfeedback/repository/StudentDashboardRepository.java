@@ -0,0 +1,33 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.StudentDashboard;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository dei documenti precalcolati della dashboard studente.
+ * La marcatura come obsoleti incrementa la versione, invalidando le ricostruzioni in corso.
+ */
+@Repository
+public interface StudentDashboardRepository extends JpaRepository<StudentDashboard, String> {
+
+  @Query("SELECT d.studentId FROM StudentDashboard d WHERE d.stale = true "
+      + "ORDER BY d.updatedAt ASC")
+  List<String> findStaleStudentIds(Pageable pageable);
+
+  @Modifying
+  @Query("UPDATE StudentDashboard d SET d.stale = true, d.version = d.version + 1 "
+      + "WHERE d.studentId IN :studentIds")
+  int markStale(@Param("studentIds") Collection<String> studentIds);
+
+  @Modifying
+  @Query("UPDATE StudentDashboard d SET d.stale = true, d.version = d.version + 1 "
+      + "WHERE d.studentId IN (SELECT a.studentId FROM Assessment a WHERE a.id IN :assessmentIds)")
+  int markStaleForAssessments(@Param("assessmentIds") Collection<String> assessmentIds);
+}
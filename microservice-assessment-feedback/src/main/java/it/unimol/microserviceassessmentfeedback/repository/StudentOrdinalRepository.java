@@ -0,0 +1,36 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.StudentOrdinal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository degli ordinali degli studenti. L'inserimento ignora i conflitti, quindi più
+ * repliche possono assegnare l'ordinale allo stesso studente senza errori: vince il primo.
+ */
+@Repository
+public interface StudentOrdinalRepository extends JpaRepository<StudentOrdinal, Integer> {
+
+  Optional<StudentOrdinal> findByStudentId(String studentId);
+
+  List<StudentOrdinal> findByStudentIdIn(Collection<String> studentIds);
+
+  @Modifying
+  @Query("INSERT INTO StudentOrdinal (studentId) VALUES (:studentId) ON CONFLICT DO NOTHING")
+  int insertIfAbsent(@Param("studentId") String studentId);
+
+  /**
+   * Sostituisce lo studente di un ordinale con uno pseudonimo, lasciando invariate le bitmap che
+   * lo contengono.
+   */
+  @Modifying
+  @Query("UPDATE StudentOrdinal o SET o.studentId = :pseudonym WHERE o.studentId = :studentId")
+  int pseudonymiseStudent(@Param("studentId") String studentId,
+      @Param("pseudonym") String pseudonym);
+}
@@ -0,0 +1,20 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.SurveyRespondents;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository delle bitmap dei rispondenti ai questionari.
+ */
+@Repository
+public interface SurveyRespondentsRepository extends JpaRepository<SurveyRespondents, String> {
+
+  @Modifying
+  @Query("DELETE FROM SurveyRespondents r WHERE r.surveyId IN :surveyIds")
+  int deleteBySurveyIdIn(@Param("surveyIds") Collection<String> surveyIds);
+}
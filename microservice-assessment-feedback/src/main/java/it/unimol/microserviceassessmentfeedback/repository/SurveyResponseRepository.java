@@ -1,11 +1,18 @@
 package it.unimol.microserviceassessmentfeedback.repository;
 
 import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository per la gestione delle operazioni CRUD sulle risposte ai questionari.
@@ -16,13 +23,54 @@ public interface SurveyResponseRepository extends JpaRepository<SurveyResponse,
 
   List<SurveyResponse> findBySurveyId(String surveyId);
 
+  /**
+   * Restituisce le risposte al questionario inviate dalla data indicata. Con la tabella
+   * partizionata per data di invio, il limite inferiore esclude le partizioni precedenti.
+   */
+  @Query("SELECT sr FROM SurveyResponse sr WHERE sr.survey.id = :surveyId "
+      + "AND sr.submissionDate >= :since")
+  List<SurveyResponse> findBySurveyIdSince(@Param("surveyId") String surveyId,
+      @Param("since") LocalDateTime since);
+
   List<SurveyResponse> findByStudentId(String studentId);
 
   List<SurveyResponse> findByQuestionId(String questionId);
 
   boolean existsBySurveyIdAndStudentId(String surveyId, String studentId);
 
+  @Query("SELECT DISTINCT sr.studentId FROM SurveyResponse sr WHERE sr.survey.id = :surveyId")
+  List<String> findStudentIdsBySurveyId(@Param("surveyId") String surveyId);
+
   @Query("SELECT sr FROM SurveyResponse sr WHERE sr.survey.id = :surveyId AND sr.textComment IS "
       + "NOT NULL AND sr.textComment != ''")
   List<SurveyResponse> findAllWithCommentsForSurvey(@Param("surveyId") String surveyId);
-}
\ No newline at end of file
+
+  /**
+   * Restituisce il chunk successivo di risposte ai questionari del corso in ordine di ID
+   * (keyset), in sola lettura, per l'archiviazione.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+  @Query("SELECT sr FROM SurveyResponse sr JOIN sr.survey s "
+      + "WHERE s.courseId = :courseId AND sr.id > :after ORDER BY sr.id")
+  List<SurveyResponse> findCourseChunk(@Param("courseId") String courseId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Restituisce il chunk successivo di ID delle risposte dello studente in ordine di ID (keyset),
+   * per l'anonimizzazione.
+   */
+  @Query("SELECT sr.id FROM SurveyResponse sr WHERE sr.studentId = :studentId AND sr.id > :after "
+      + "ORDER BY sr.id")
+  List<String> findStudentResponseIds(@Param("studentId") String studentId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Sostituisce in un'unica istruzione lo studente delle risposte indicate con uno pseudonimo.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE SurveyResponse sr SET sr.studentId = :pseudonym, sr.updatedAt = :now "
+      + "WHERE sr.id IN :ids")
+  int pseudonymiseStudent(@Param("ids") Collection<String> ids,
+      @Param("pseudonym") String pseudonym, @Param("now") LocalDateTime now);
+}
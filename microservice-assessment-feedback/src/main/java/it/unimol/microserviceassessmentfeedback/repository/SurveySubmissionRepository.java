@@ -0,0 +1,73 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository per la gestione degli invii compatti dei questionari.
+ * Fornisce metodi di ricerca per questionario e studente e le letture usate dalle aggregazioni.
+ */
+@Repository
+public interface SurveySubmissionRepository extends JpaRepository<SurveySubmission, String> {
+
+  List<SurveySubmission> findBySurveyId(String surveyId);
+
+  List<SurveySubmission> findByStudentId(String studentId);
+
+  Optional<SurveySubmission> findBySurveyIdAndStudentId(String surveyId, String studentId);
+
+  boolean existsBySurveyIdAndStudentId(String surveyId, String studentId);
+
+  @Query("SELECT s.studentId FROM SurveySubmission s WHERE s.survey.id = :surveyId")
+  List<String> findStudentIdsBySurveyId(@Param("surveyId") String surveyId);
+
+  /**
+   * Restituisce solo gli array delle valutazioni degli invii di un questionario, per il calcolo
+   * delle medie senza caricare le entità.
+   */
+  @Query("SELECT s.ratings FROM SurveySubmission s WHERE s.survey.id = :surveyId")
+  List<byte[]> findRatingsBySurveyId(@Param("surveyId") String surveyId);
+
+  @Query("SELECT s FROM SurveySubmission s WHERE s.survey.id = :surveyId "
+      + "AND s.comments IS NOT NULL")
+  List<SurveySubmission> findAllWithCommentsForSurvey(@Param("surveyId") String surveyId);
+
+  /**
+   * Restituisce il chunk successivo di invii ai questionari del corso in ordine di ID (keyset),
+   * in sola lettura, per l'archiviazione.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+  @Query("SELECT sub FROM SurveySubmission sub JOIN sub.survey s "
+      + "WHERE s.courseId = :courseId AND sub.id > :after ORDER BY sub.id")
+  List<SurveySubmission> findCourseChunk(@Param("courseId") String courseId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Restituisce il chunk successivo di ID degli invii dello studente in ordine di ID (keyset),
+   * per l'anonimizzazione.
+   */
+  @Query("SELECT s.id FROM SurveySubmission s WHERE s.studentId = :studentId AND s.id > :after "
+      + "ORDER BY s.id")
+  List<String> findStudentSubmissionIds(@Param("studentId") String studentId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Sostituisce in un'unica istruzione lo studente degli invii indicati con uno pseudonimo.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE SurveySubmission s SET s.studentId = :pseudonym WHERE s.id IN :ids")
+  int pseudonymiseStudent(@Param("ids") Collection<String> ids,
+      @Param("pseudonym") String pseudonym);
+}
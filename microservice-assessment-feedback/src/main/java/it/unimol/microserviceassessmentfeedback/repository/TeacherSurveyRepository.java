@@ -2,23 +2,43 @@ package it.unimol.microserviceassessmentfeedback.repository;
 
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
 import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository per la gestione delle operazioni CRUD sui questionari di valutazione docente.
- * Fornisce metodi di ricerca per docente, corso, stato, anno accademico e semestre.
+ * Fornisce metodi di ricerca per docente, corso, stato, anno accademico e semestre, oltre agli
+ * aggiornamenti massivi di stato usati dalle transizioni programmate e dalle operazioni bulk.
  */
 @Repository
 public interface TeacherSurveyRepository extends JpaRepository<TeacherSurvey, String> {
 
+  String SURVEYS_BY_STATUS_CACHE_REGION = "teacher-surveys-by-status";
+
   List<TeacherSurvey> findByTeacherId(String teacherId);
 
   List<TeacherSurvey> findByCourseId(String courseId);
 
+  /**
+   * Restituisce i questionari nello stato indicato. Con il profilo {@code l2cache} il risultato
+   * è conservato nella cache delle query, invalidata da ogni modifica alla tabella dei
+   * questionari.
+   */
+  @QueryHints({
+      @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+      @QueryHint(name = "org.hibernate.cacheRegion", value = SURVEYS_BY_STATUS_CACHE_REGION)
+  })
   List<TeacherSurvey> findByStatus(SurveyStatus status);
 
   List<TeacherSurvey> findByAcademicYear(String academicYear);
@@ -30,4 +50,114 @@ public interface TeacherSurveyRepository extends JpaRepository<TeacherSurvey, St
 
   boolean existsByTeacherIdAndCourseIdAndAcademicYearAndSemester(
       String teacherId, String courseId, String academicYear, Integer semester);
-}
\ No newline at end of file
+
+  /**
+   * Proiezione leggera con i soli campi necessari a validare una transizione di stato.
+   */
+  interface SurveyLifecycleView {
+
+    String getId();
+
+    SurveyStatus getStatus();
+  }
+
+  @Query("SELECT s.id AS id, s.status AS status FROM TeacherSurvey s "
+      + "WHERE s.academicYear = :academicYear "
+      + "AND (:semester IS NULL OR s.semester = :semester) "
+      + "AND (:courseId IS NULL OR s.courseId = :courseId)")
+  List<SurveyLifecycleView> findLifecycleCandidates(@Param("academicYear") String academicYear,
+      @Param("semester") Integer semester, @Param("courseId") String courseId);
+
+  @Query("SELECT s FROM TeacherSurvey s WHERE s.academicYear = :academicYear "
+      + "AND (:semester IS NULL OR s.semester = :semester) "
+      + "AND (:courseId IS NULL OR s.courseId = :courseId) ORDER BY s.id")
+  Slice<TeacherSurvey> findByPeriod(@Param("academicYear") String academicYear,
+      @Param("semester") Integer semester, @Param("courseId") String courseId,
+      Pageable pageable);
+
+  @Query("SELECT CONCAT(s.teacherId, '|', s.courseId) FROM TeacherSurvey s "
+      + "WHERE s.academicYear = :academicYear AND s.semester = :semester")
+  List<String> findTeacherCourseKeys(@Param("academicYear") String academicYear,
+      @Param("semester") Integer semester);
+
+  /**
+   * Restituisce i questionari con apertura programmata scaduta e non ancora attivi. Sono esclusi
+   * quelli la cui chiusura programmata è anch'essa scaduta: la finestra è già trascorsa e il
+   * questionario viene chiuso invece che aperto.
+   */
+  @Query("SELECT s.id AS id, s.status AS status FROM TeacherSurvey s "
+      + "WHERE s.scheduledOpenAt <= :now AND s.status <> :status "
+      + "AND (s.scheduledCloseAt IS NULL OR s.scheduledCloseAt > :now) "
+      + "ORDER BY s.scheduledOpenAt")
+  List<SurveyLifecycleView> findDueForOpening(@Param("now") LocalDateTime now,
+      @Param("status") SurveyStatus status, Pageable pageable);
+
+  @Query("SELECT s.id AS id, s.status AS status FROM TeacherSurvey s "
+      + "WHERE s.scheduledCloseAt <= :now AND s.status <> :status ORDER BY s.scheduledCloseAt")
+  List<SurveyLifecycleView> findDueForClosing(@Param("now") LocalDateTime now,
+      @Param("status") SurveyStatus status, Pageable pageable);
+
+  /**
+   * Attiva in un'unica istruzione i questionari indicati che si trovano ancora in uno degli stati
+   * di partenza ammessi. Una chiusura programmata già scaduta viene rimossa, altrimenti il
+   * questionario verrebbe richiuso al passaggio successivo dello scheduler: succede solo per
+   * un'apertura massiva, perché lo scheduler non seleziona per l'apertura i questionari con
+   * chiusura scaduta.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE TeacherSurvey s SET s.status = :status, s.closingDate = NULL, "
+      + "s.scheduledOpenAt = NULL, "
+      + "s.scheduledCloseAt = CASE WHEN s.scheduledCloseAt <= :now THEN NULL "
+      + "ELSE s.scheduledCloseAt END, "
+      + "s.updatedAt = :now WHERE s.id IN :ids AND s.status IN :fromStatuses")
+  int openAll(@Param("ids") Collection<String> ids,
+      @Param("fromStatuses") Collection<SurveyStatus> fromStatuses,
+      @Param("status") SurveyStatus status, @Param("now") LocalDateTime now);
+
+  /**
+   * Chiude in un'unica istruzione i questionari indicati che si trovano ancora in uno degli stati
+   * di partenza ammessi. Un'apertura programmata già scaduta viene rimossa, altrimenti il
+   * questionario verrebbe riaperto al passaggio successivo dello scheduler.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE TeacherSurvey s SET s.status = :status, s.closingDate = :now, "
+      + "s.scheduledOpenAt = CASE WHEN s.scheduledOpenAt <= :now THEN NULL "
+      + "ELSE s.scheduledOpenAt END, "
+      + "s.scheduledCloseAt = NULL, s.updatedAt = :now "
+      + "WHERE s.id IN :ids AND s.status IN :fromStatuses")
+  int closeAll(@Param("ids") Collection<String> ids,
+      @Param("fromStatuses") Collection<SurveyStatus> fromStatuses,
+      @Param("status") SurveyStatus status, @Param("now") LocalDateTime now);
+
+  @Query("SELECT s.id FROM TeacherSurvey s WHERE s.courseId = :courseId AND s.id > :after "
+      + "ORDER BY s.id")
+  List<String> findCourseSurveyIds(@Param("courseId") String courseId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Restituisce il chunk successivo di questionari del corso in ordine di ID (keyset), in sola
+   * lettura, per l'archiviazione.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+  @Query("SELECT s FROM TeacherSurvey s WHERE s.courseId = :courseId AND s.id > :after "
+      + "ORDER BY s.id")
+  List<TeacherSurvey> findCourseChunk(@Param("courseId") String courseId,
+      @Param("after") String after, Pageable pageable);
+
+  @Query("SELECT s.id FROM TeacherSurvey s WHERE s.teacherId = :teacherId AND s.id > :after "
+      + "ORDER BY s.id")
+  List<String> findTeacherSurveyIds(@Param("teacherId") String teacherId,
+      @Param("after") String after, Pageable pageable);
+
+  /**
+   * Sostituisce in un'unica istruzione il docente dei questionari indicati con uno pseudonimo.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE TeacherSurvey s SET s.teacherId = :pseudonym, s.updatedAt = :now "
+      + "WHERE s.id IN :ids")
+  int pseudonymiseTeacher(@Param("ids") Collection<String> ids,
+      @Param("pseudonym") String pseudonym, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,132 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository dei contatori di carico di lavoro dei docenti. Gli incrementi sono aggiornamenti
+ * relativi, quindi più repliche possono applicare i propri delta sulla stessa riga senza
+ * leggerla; il ricalcolo dai dati di origine serve solo alla riconciliazione.
+ */
+@Repository
+public interface TeacherWorkloadRepository
+    extends JpaRepository<TeacherWorkload, TeacherWorkload.Key> {
+
+  List<TeacherWorkload> findByTeacherId(String teacherId);
+
+  @Modifying
+  @Query("INSERT INTO TeacherWorkload (teacherId, courseId, assessments, "
+      + "assessmentsWithFeedback, feedback, students, surveySubmissions) "
+      + "VALUES (:teacherId, :courseId, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING")
+  int insertIfAbsent(@Param("teacherId") String teacherId, @Param("courseId") String courseId);
+
+  /**
+   * Somma i delta di una replica ai contatori, solo se la riga non è stata ricalcolata dopo il
+   * primo di quei delta: in quel caso il ricalcolo li comprende già.
+   */
+  @Modifying
+  @Query("UPDATE TeacherWorkload w SET w.assessments = w.assessments + :assessments, "
+      + "w.assessmentsWithFeedback = w.assessmentsWithFeedback + :assessmentsWithFeedback, "
+      + "w.feedback = w.feedback + :feedback, w.students = w.students + :students, "
+      + "w.surveySubmissions = w.surveySubmissions + :surveySubmissions, w.updatedAt = :now "
+      + "WHERE w.teacherId = :teacherId AND w.courseId = :courseId "
+      + "AND (w.reconciledAt IS NULL OR w.reconciledAt < :since)")
+  int addCounts(@Param("teacherId") String teacherId, @Param("courseId") String courseId,
+      @Param("assessments") long assessments,
+      @Param("assessmentsWithFeedback") long assessmentsWithFeedback,
+      @Param("feedback") long feedback, @Param("students") long students,
+      @Param("surveySubmissions") long surveySubmissions, @Param("since") LocalDateTime since,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Ricalcola i contatori di una riga dai dati di origine con un solo aggiornamento, così un
+   * incremento concorrente attende il lock della riga invece di essere sovrascritto.
+   */
+  @Modifying
+  @Query("UPDATE TeacherWorkload w SET "
+      + "w.assessments = (SELECT COUNT(a) FROM Assessment a "
+      + "WHERE a.teacherId = :teacherId AND a.courseId = :courseId), "
+      + "w.students = (SELECT COUNT(DISTINCT a.studentId) FROM Assessment a "
+      + "WHERE a.teacherId = :teacherId AND a.courseId = :courseId), "
+      + "w.feedback = (SELECT COUNT(df) FROM DetailedFeedback df JOIN df.assessment a "
+      + "WHERE a.teacherId = :teacherId AND a.courseId = :courseId), "
+      + "w.assessmentsWithFeedback = (SELECT COUNT(DISTINCT a.id) FROM DetailedFeedback df "
+      + "JOIN df.assessment a WHERE a.teacherId = :teacherId AND a.courseId = :courseId), "
+      + "w.surveySubmissions = (SELECT COUNT(DISTINCT CONCAT(s.id, '|', r.studentId)) "
+      + "FROM SurveyResponse r JOIN r.survey s "
+      + "WHERE s.teacherId = :teacherId AND s.courseId = :courseId) "
+      + "+ (SELECT COUNT(sub) FROM SurveySubmission sub JOIN sub.survey s "
+      + "WHERE s.teacherId = :teacherId AND s.courseId = :courseId), "
+      + "w.updatedAt = :now "
+      + "WHERE w.teacherId = :teacherId AND w.courseId = :courseId")
+  int recount(@Param("teacherId") String teacherId, @Param("courseId") String courseId,
+      @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE TeacherWorkload w SET w.reconciledAt = :reconciledAt, "
+      + "w.updatedAt = :reconciledAt "
+      + "WHERE w.teacherId = :teacherId AND w.courseId = :courseId")
+  int markReconciled(@Param("teacherId") String teacherId, @Param("courseId") String courseId,
+      @Param("reconciledAt") LocalDateTime reconciledAt);
+
+  /**
+   * Elimina le righe azzerate da una riconciliazione precedente e non più incrementate.
+   */
+  @Modifying
+  @Query("DELETE FROM TeacherWorkload w WHERE w.assessments = 0 "
+      + "AND w.assessmentsWithFeedback = 0 AND w.feedback = 0 AND w.students = 0 "
+      + "AND w.surveySubmissions = 0 AND w.reconciledAt < :before "
+      + "AND w.updatedAt <= w.reconciledAt")
+  int deleteEmpty(@Param("before") LocalDateTime before);
+
+  /**
+   * Coppia (docente, corso).
+   */
+  interface KeyView {
+
+    String getTeacherId();
+
+    String getCourseId();
+  }
+
+  @Query("SELECT DISTINCT a.teacherId AS teacherId, a.courseId AS courseId FROM Assessment a "
+      + "WHERE a.courseId IS NOT NULL")
+  List<KeyView> findAssessmentKeys();
+
+  @Query("SELECT DISTINCT s.teacherId AS teacherId, s.courseId AS courseId "
+      + "FROM SurveyResponse r JOIN r.survey s WHERE s.courseId IS NOT NULL")
+  List<KeyView> findSurveyResponseKeys();
+
+  @Query("SELECT DISTINCT s.teacherId AS teacherId, s.courseId AS courseId "
+      + "FROM SurveySubmission sub JOIN sub.survey s WHERE s.courseId IS NOT NULL")
+  List<KeyView> findSurveySubmissionKeys();
+
+  @Query("SELECT w.teacherId AS teacherId, w.courseId AS courseId FROM TeacherWorkload w")
+  List<KeyView> findKeys();
+
+  /**
+   * Conteggio raggruppato per (docente, corso).
+   */
+  interface CountView {
+
+    String getTeacherId();
+
+    String getCourseId();
+
+    Long getTotal();
+
+    Long getDistinctTotal();
+  }
+
+  @Query("SELECT s.teacherId AS teacherId, s.courseId AS courseId, COUNT(s) AS total, "
+      + "COUNT(DISTINCT s.id) AS distinctTotal FROM TeacherSurvey s "
+      + "WHERE s.teacherId = :teacherId AND s.courseId IS NOT NULL "
+      + "GROUP BY s.teacherId, s.courseId")
+  List<CountView> countSurveysByTeacher(@Param("teacherId") String teacherId);
+}
@@ -0,0 +1,21 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import it.unimol.microserviceassessmentfeedback.model.UserProjection;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository per la proiezione locale degli utenti.
+ * Fornisce la lettura a pagine per il bootstrap e quella incrementale per l'allineamento tra
+ * repliche.
+ */
+@Repository
+public interface UserProjectionRepository extends JpaRepository<UserProjection, String> {
+
+  List<UserProjection> findByIdGreaterThanOrderByIdAsc(String after, Pageable pageable);
+
+  List<UserProjection> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(LocalDateTime since);
+}
@@ -1,18 +1,27 @@
 package it.unimol.microserviceassessmentfeedback.service;
 
 import it.unimol.microserviceassessmentfeedback.common.exception.ResourceNotFoundException;
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
 import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
 import it.unimol.microserviceassessmentfeedback.enums.ReferenceType;
 import it.unimol.microserviceassessmentfeedback.enums.RoleType;
 import it.unimol.microserviceassessmentfeedback.messaging.publishers.AssessmentMessageService;
 import it.unimol.microserviceassessmentfeedback.model.Assessment;
 import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.partitioning.AcademicYear;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -32,6 +41,11 @@ public class AssessmentService {
 
   private final AssessmentRepository assessmentRepository;
   private final AssessmentMessageService assessmentMessageService;
+  private final StudentDashboardInvalidator studentDashboardInvalidator;
+  private final TeacherWorkloadCounters teacherWorkloadCounters;
+  private final AvailableSurveyIndex availableSurveyIndex;
+  private final LocalEntityCache localEntityCache;
+  private final PartitioningProperties partitioningProperties;
 
   // ============ Costruttore ============
   /**
@@ -39,11 +53,26 @@ public class AssessmentService {
    *
    * @param assessmentRepository il repository per le valutazioni
    * @param assessmentMessageService il servizio per la pubblicazione di eventi
+   * @param studentDashboardInvalidator l'invalidazione delle dashboard degli studenti
+   * @param teacherWorkloadCounters i contatori di carico di lavoro dei docenti
+   * @param availableSurveyIndex l'indice dei questionari disponibili per gli studenti
+   * @param localEntityCache le cache locali di questionari e valutazioni
+   * @param partitioningProperties la configurazione degli anni accademici
    */
   public AssessmentService(AssessmentRepository assessmentRepository,
-      AssessmentMessageService assessmentMessageService) {
+      AssessmentMessageService assessmentMessageService,
+      StudentDashboardInvalidator studentDashboardInvalidator,
+      TeacherWorkloadCounters teacherWorkloadCounters,
+      AvailableSurveyIndex availableSurveyIndex,
+      LocalEntityCache localEntityCache,
+      PartitioningProperties partitioningProperties) {
     this.assessmentRepository = assessmentRepository;
     this.assessmentMessageService = assessmentMessageService;
+    this.studentDashboardInvalidator = studentDashboardInvalidator;
+    this.teacherWorkloadCounters = teacherWorkloadCounters;
+    this.availableSurveyIndex = availableSurveyIndex;
+    this.localEntityCache = localEntityCache;
+    this.partitioningProperties = partitioningProperties;
   }
 
   // ============ Metodi Override ============
@@ -54,6 +83,7 @@ public class AssessmentService {
    *
    * @return la lista di tutte le valutazioni
    */
+  @Transactional(readOnly = true)
   public List<AssessmentDto> getAllAssessments() {
     logger.debug("Recupero di tutte le valutazioni");
     List<Assessment> assessments = assessmentRepository.findAll();
@@ -67,6 +97,8 @@ public class AssessmentService {
   /**
    * Recupera una valutazione specifica per ID con controlli di autorizzazione.
    * Gli studenti possono accedere solo alle proprie valutazioni.
+   * La valutazione è letta dalla cache locale, ma l'autorizzazione è verificata a ogni richiesta
+   * e il chiamante riceve una copia che può modificare.
    *
    * @param id l'ID della valutazione
    * @return la valutazione richiesta
@@ -76,11 +108,12 @@ public class AssessmentService {
   public AssessmentDto getAssessmentById(String id) {
     logger.debug("Recupero valutazione con ID: {}", id);
 
-    Assessment assessment = assessmentRepository.findById(id)
-        .orElseThrow(() -> {
-          logger.warn("Valutazione non trovata con ID: {}", id);
-          return new ResourceNotFoundException("Valutazione non trovata con id: " + id);
-        });
+    AssessmentDto assessment = localEntityCache.get(CacheRegion.ASSESSMENTS, id,
+        () -> convertToDto(assessmentRepository.findById(id)
+            .orElseThrow(() -> {
+              logger.warn("Valutazione non trovata con ID: {}", id);
+              return new ResourceNotFoundException("Valutazione non trovata con id: " + id);
+            })));
 
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null || !authentication.isAuthenticated()) {
@@ -108,7 +141,10 @@ public class AssessmentService {
     }
 
     logger.debug("Valutazione trovata con ID: {}", id);
-    return convertToDto(assessment);
+    return new AssessmentDto(assessment.getId(), assessment.getReferenceId(),
+        assessment.getReferenceType(), assessment.getStudentId(), assessment.getTeacherId(),
+        assessment.getScore(), assessment.getAssessmentDate(), assessment.getNotes(),
+        assessment.getCourseId());
   }
 
   /**
@@ -148,6 +184,17 @@ public class AssessmentService {
       logger.debug("Accesso autorizzato per studente {} alle proprie valutazioni", currentUsername);
     }
 
+    return findAssessmentsByStudentId(studentId);
+  }
+
+  /**
+   * Recupera le valutazioni di uno studente senza verificare l'utente autenticato.
+   * Usato dai read model interni; il controllo di accesso spetta al chiamante.
+   *
+   * @param studentId l'ID dello studente
+   * @return la lista delle valutazioni dello studente
+   */
+  public List<AssessmentDto> findAssessmentsByStudentId(String studentId) {
     List<Assessment> assessments = assessmentRepository.findByStudentId(studentId);
     logger.debug("Trovate {} valutazioni per studente {}", assessments.size(), studentId);
 
@@ -190,6 +237,19 @@ public class AssessmentService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Recupera la valutazione di uno studente per un esame, senza controlli di accesso: è usata dai
+   * consumer degli eventi esame per aggiornare la valutazione invece di crearne un'altra.
+   *
+   * @param examId l'ID dell'esame
+   * @param studentId l'ID dello studente
+   * @return la valutazione, vuota se non esiste
+   */
+  public Optional<AssessmentDto> findExamAssessment(String examId, String studentId) {
+    return assessmentRepository.findFirstByReferenceIdAndReferenceTypeAndStudentIdOrderByIdAsc(
+        examId, ReferenceType.EXAM, studentId).map(this::convertToDto);
+  }
+
   /**
    * Recupera tutte le valutazioni associate a un corso.
    *
@@ -206,6 +266,30 @@ public class AssessmentService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Recupera le valutazioni di un corso con data nell'anno accademico indicato.
+   * Legge solo la partizione dell'anno accademico.
+   *
+   * @param courseId l'ID del corso
+   * @param academicYear l'anno accademico, ad esempio "2024/2025"
+   * @return la lista delle valutazioni per il corso nell'anno accademico
+   * @throws IllegalArgumentException se l'anno accademico non è valido
+   */
+  public List<AssessmentDto> getAssessmentsByCourse(String courseId, String academicYear) {
+    AcademicYear year = AcademicYear.parse(academicYear,
+        partitioningProperties.getAcademicYearStartMonth());
+    logger.debug("Recupero valutazioni per corso con ID: {} nell'anno accademico {}", courseId,
+        year);
+    List<Assessment> assessments = assessmentRepository.findByCourseIdInPeriod(courseId,
+        year.start(), year.end());
+    logger.debug("Trovate {} valutazioni per corso {} nell'anno accademico {}",
+        assessments.size(), courseId, year);
+
+    return assessments.stream()
+        .map(this::convertToDto)
+        .collect(Collectors.toList());
+  }
+
   // ============ Metodi di Classe ============
   /**
    * Crea una nuova valutazione.
@@ -224,9 +308,18 @@ public class AssessmentService {
 
     Assessment assessment = convertToEntity(assessmentDto);
     assessment.setAssessmentDate(LocalDateTime.now(ZoneId.systemDefault()));
+    boolean newStudent = !assessmentRepository.existsByCourseIdAndStudentId(
+        assessment.getCourseId(), assessment.getStudentId());
 
     Assessment savedAssessment = assessmentRepository.save(assessment);
     logger.info("Valutazione creata con successo con ID: {}", savedAssessment.getId());
+    studentDashboardInvalidator.markStale(savedAssessment.getStudentId());
+    teacherWorkloadCounters.assessmentCreated(savedAssessment.getTeacherId(),
+        savedAssessment.getCourseId(), newStudent);
+    if (newStudent) {
+      availableSurveyIndex.studentEnrolled(savedAssessment.getStudentId(),
+          savedAssessment.getCourseId());
+    }
 
     AssessmentDto result = convertToDto(savedAssessment);
     try {
@@ -268,6 +361,8 @@ public class AssessmentService {
 
     Assessment updatedAssessment = assessmentRepository.save(existingAssessment);
     logger.info("Valutazione aggiornata con successo con ID: {}", id);
+    localEntityCache.evict(CacheRegion.ASSESSMENTS, List.of(id));
+    studentDashboardInvalidator.markStale(updatedAssessment.getStudentId());
 
     AssessmentDto result = convertToDto(updatedAssessment);
     try {
@@ -287,18 +382,30 @@ public class AssessmentService {
    *
    * @param id l'ID della valutazione da eliminare
    * @throws ResourceNotFoundException se la valutazione non esiste
+   * @throws DataIntegrityViolationException se la valutazione ha feedback associati
    */
   @Transactional
   public void deleteAssessment(String id) {
     logger.info("Eliminazione valutazione con ID: {}", id);
 
-    if (!assessmentRepository.existsById(id)) {
-      logger.warn("Tentativo di eliminazione di valutazione inesistente con ID: {}", id);
-      throw new ResourceNotFoundException("Valutazione non trovata con id: " + id);
+    if (assessmentRepository.hasFeedback(id)) {
+      throw new DataIntegrityViolationException(
+          "La valutazione " + id + " ha feedback associati e non può essere eliminata");
     }
 
+    Assessment assessment = assessmentRepository.findById(id)
+        .orElseThrow(() -> {
+          logger.warn("Tentativo di eliminazione di valutazione inesistente con ID: {}", id);
+          return new ResourceNotFoundException("Valutazione non trovata con id: " + id);
+        });
+
     assessmentRepository.deleteById(id);
     logger.info("Valutazione eliminata con successo con ID: {}", id);
+    studentDashboardInvalidator.markStale(assessment.getStudentId());
+    teacherWorkloadCounters.assessmentDeleted(assessment.getTeacherId(), assessment.getCourseId(),
+        !assessmentRepository.existsByCourseIdAndStudentId(assessment.getCourseId(),
+            assessment.getStudentId()));
+    localEntityCache.evict(CacheRegion.ASSESSMENTS, List.of(id));
 
     try {
       assessmentMessageService.publishAssessmentDeleted(id);
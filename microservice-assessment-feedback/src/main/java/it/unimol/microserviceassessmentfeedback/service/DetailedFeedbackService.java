@@ -7,6 +7,8 @@ import it.unimol.microserviceassessmentfeedback.model.Assessment;
 import it.unimol.microserviceassessmentfeedback.model.DetailedFeedback;
 import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
 import it.unimol.microserviceassessmentfeedback.repository.DetailedFeedbackRepository;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -27,6 +29,8 @@ public class DetailedFeedbackService {
   private final DetailedFeedbackRepository feedbackRepository;
   private final AssessmentRepository assessmentRepository;
   private final FeedbackMessageService feedbackMessageService;
+  private final StudentDashboardInvalidator studentDashboardInvalidator;
+  private final TeacherWorkloadCounters teacherWorkloadCounters;
 
   // ============ Costruttore ============
   /**
@@ -35,13 +39,19 @@ public class DetailedFeedbackService {
    * @param feedbackRepository il repository per i feedback
    * @param assessmentRepository il repository per le valutazioni
    * @param feedbackMessageService il servizio per la pubblicazione di eventi
+   * @param studentDashboardInvalidator l'invalidazione delle dashboard degli studenti
+   * @param teacherWorkloadCounters i contatori di carico di lavoro dei docenti
    */
   public DetailedFeedbackService(DetailedFeedbackRepository feedbackRepository,
       AssessmentRepository assessmentRepository,
-      FeedbackMessageService feedbackMessageService) {
+      FeedbackMessageService feedbackMessageService,
+      StudentDashboardInvalidator studentDashboardInvalidator,
+      TeacherWorkloadCounters teacherWorkloadCounters) {
     this.feedbackRepository = feedbackRepository;
     this.assessmentRepository = assessmentRepository;
     this.feedbackMessageService = feedbackMessageService;
+    this.studentDashboardInvalidator = studentDashboardInvalidator;
+    this.teacherWorkloadCounters = teacherWorkloadCounters;
   }
 
   // ============ Metodi Override ============
@@ -120,9 +130,13 @@ public class DetailedFeedbackService {
 
     DetailedFeedback feedback = convertToEntity(feedbackDto);
     feedback.setAssessment(assessment);
+    boolean firstForAssessment = !feedbackRepository.existsByAssessmentId(assessment.getId());
 
     DetailedFeedback savedFeedback = feedbackRepository.save(feedback);
     DetailedFeedbackDto resultDto = convertToDto(savedFeedback);
+    studentDashboardInvalidator.markStale(assessment.getStudentId());
+    teacherWorkloadCounters.feedbackCreated(assessment.getTeacherId(), assessment.getCourseId(),
+        firstForAssessment);
 
     try {
       feedbackMessageService.publishFeedbackCreated(resultDto);
@@ -181,6 +195,7 @@ public class DetailedFeedbackService {
 
       DetailedFeedback updatedFeedback = feedbackRepository.save(existingFeedback);
       logger.debug("Feedback saved successfully with ID: {}", updatedFeedback.getId());
+      studentDashboardInvalidator.markStale(existingFeedback.getAssessment().getStudentId());
 
       DetailedFeedbackDto resultDto = convertToDto(updatedFeedback);
       logger.debug("Converted to DTO: {}", resultDto);
@@ -214,12 +229,15 @@ public class DetailedFeedbackService {
   public void deleteFeedback(String id) {
     logger.info("Deleting feedback with ID: {}", id);
 
-    if (!feedbackRepository.existsById(id)) {
-      throw new ResourceNotFoundException("Feedback non trovato con id: " + id);
-    }
+    DetailedFeedback feedback = feedbackRepository.findById(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Feedback non trovato con id: " + id));
+    Assessment assessment = feedback.getAssessment();
 
     feedbackRepository.deleteById(id);
     logger.info("Feedback deleted successfully with ID: {}", id);
+    studentDashboardInvalidator.markStale(assessment.getStudentId());
+    teacherWorkloadCounters.feedbackDeleted(assessment.getTeacherId(), assessment.getCourseId(),
+        !feedbackRepository.existsByAssessmentId(assessment.getId()));
 
     try {
       feedbackMessageService.publishFeedbackDeleted(id);
@@ -3,16 +3,27 @@ package it.unimol.microserviceassessmentfeedback.service;
 import it.unimol.microserviceassessmentfeedback.common.exception.DuplicateResponseException;
 import it.unimol.microserviceassessmentfeedback.common.exception.ResourceNotFoundException;
 import it.unimol.microserviceassessmentfeedback.common.exception.SurveyClosedException;
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
 import it.unimol.microserviceassessmentfeedback.dto.SurveyResponseDto;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyReadAuditBuffer;
 import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyResponseMessageService;
-import it.unimol.microserviceassessmentfeedback.messaging.publishers.TeacherSurveyMessageService;
 import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
 import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
 import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
 import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshot;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshotStore;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySubmissionStore;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,16 +38,35 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>Fornisce funzionalità di invio, recupero e validazione delle risposte
  * ai questionari, oltre alla pubblicazione degli eventi associati.</p>
+ *
+ * <p>Le risposte sono salvate una riga per domanda oppure, in modalità compatta, un invio per
+ * studente tramite {@link SurveySubmissionStore}; le letture uniscono le due forme. I risultati
+ * dei questionari chiusi sono letti dallo snapshot di {@link SurveySnapshotStore}, se
+ * disponibile.</p>
+ *
+ * <p>I rispondenti di ogni questionario sono tracciati da {@link RespondentTracker}, che
+ * esclude dai questionari disponibili quelli già compilati e individua i non rispondenti a cui
+ * inviare un promemoria.</p>
  */
 @Service
 public class SurveyResponseService {
 
+  static final String REMINDER_SURVEY_TYPE = "PROMEMORIA";
+
   private static final Logger logger = LoggerFactory.getLogger(DetailedFeedbackService.class);
 
   private final SurveyResponseRepository responseRepository;
   private final TeacherSurveyRepository surveyRepository;
   private final SurveyResponseMessageService surveyResponseMessageService;
-  private final TeacherSurveyMessageService teacherSurveyMessageService;
+  private final SurveyReadAuditBuffer surveyReadAuditBuffer;
+  private final StudentDashboardInvalidator studentDashboardInvalidator;
+  private final TeacherWorkloadCounters teacherWorkloadCounters;
+  private final SurveySubmissionStore surveySubmissionStore;
+  private final SurveySnapshotStore surveySnapshotStore;
+  private final RespondentTracker respondentTracker;
+  private final NotificationService notificationService;
+  private final AvailableSurveyIndex availableSurveyIndex;
+  private final PartitioningProperties partitioningProperties;
 
   // ============ Costruttore ============
   /**
@@ -45,16 +75,40 @@ public class SurveyResponseService {
    * @param responseRepository repository delle risposte al questionario
    * @param surveyRepository repository dei questionari
    * @param surveyResponseMessageService servizio di pubblicazione eventi risposte
-   * @param teacherSurveyMessageService servizio di pubblicazione eventi questionari
+   * @param surveyReadAuditBuffer buffer asincrono degli eventi di audit sulle letture
+   * @param studentDashboardInvalidator invalidazione delle dashboard degli studenti
+   * @param teacherWorkloadCounters contatori di carico di lavoro dei docenti
+   * @param surveySubmissionStore archiviazione compatta delle risposte
+   * @param surveySnapshotStore snapshot delle risposte dei questionari chiusi
+   * @param respondentTracker bitmap dei rispondenti ai questionari
+   * @param notificationService servizio di notifica usato per i promemoria
+   * @param availableSurveyIndex indice dei questionari attivi per corso
+   * @param partitioningProperties configurazione del partizionamento delle risposte
    */
   public SurveyResponseService(SurveyResponseRepository responseRepository,
       TeacherSurveyRepository surveyRepository,
       SurveyResponseMessageService surveyResponseMessageService,
-      TeacherSurveyMessageService teacherSurveyMessageService) {
+      SurveyReadAuditBuffer surveyReadAuditBuffer,
+      StudentDashboardInvalidator studentDashboardInvalidator,
+      TeacherWorkloadCounters teacherWorkloadCounters,
+      SurveySubmissionStore surveySubmissionStore,
+      SurveySnapshotStore surveySnapshotStore,
+      RespondentTracker respondentTracker,
+      NotificationService notificationService,
+      AvailableSurveyIndex availableSurveyIndex,
+      PartitioningProperties partitioningProperties) {
     this.responseRepository = responseRepository;
     this.surveyRepository = surveyRepository;
     this.surveyResponseMessageService = surveyResponseMessageService;
-    this.teacherSurveyMessageService = teacherSurveyMessageService;
+    this.surveyReadAuditBuffer = surveyReadAuditBuffer;
+    this.studentDashboardInvalidator = studentDashboardInvalidator;
+    this.teacherWorkloadCounters = teacherWorkloadCounters;
+    this.surveySubmissionStore = surveySubmissionStore;
+    this.surveySnapshotStore = surveySnapshotStore;
+    this.respondentTracker = respondentTracker;
+    this.notificationService = notificationService;
+    this.availableSurveyIndex = availableSurveyIndex;
+    this.partitioningProperties = partitioningProperties;
   }
 
   // ============ Metodi Override ============
@@ -73,9 +127,11 @@ public class SurveyResponseService {
         .orElseThrow(
             () -> new ResourceNotFoundException("Questionario non trovato con id: " + surveyId));
 
-    return responseRepository.findBySurveyId(surveyId).stream()
+    List<SurveyResponseDto> responses = responsesOf(survey).stream()
         .map(this::convertToDto)
-        .collect(Collectors.toList());
+        .collect(Collectors.toCollection(ArrayList::new));
+    responses.addAll(surveySubmissionStore.findBySurvey(surveyId));
+    return responses;
   }
 
   /**
@@ -86,18 +142,21 @@ public class SurveyResponseService {
    * @return lista delle risposte contenenti commenti
    */
   @SuppressWarnings("unused")
+  @Transactional(readOnly = true)
   public List<SurveyResponseDto> getSurveyComments(String surveyId, String userId) {
     TeacherSurvey survey = surveyRepository.findById(surveyId)
         .orElseThrow(
             () -> new ResourceNotFoundException("Questionario non trovato con id: " + surveyId));
 
-    teacherSurveyMessageService.publishSurveyCommentsRequested(surveyId, userId);
+    surveyReadAuditBuffer.recordCommentsRequested(surveyId, userId);
 
-    return responseRepository.findBySurveyId(surveyId).stream()
+    List<SurveyResponseDto> comments = responsesOf(survey).stream()
         .filter(response -> response.getTextComment() != null && !response.getTextComment().trim()
             .isEmpty())
         .map(this::convertToDto)
-        .collect(Collectors.toList());
+        .collect(Collectors.toCollection(ArrayList::new));
+    comments.addAll(surveySubmissionStore.findCommentsBySurvey(surveyId));
+    return comments;
   }
 
   /**
@@ -108,20 +167,22 @@ public class SurveyResponseService {
    * @return mappa questionId → media delle valutazioni
    */
   @SuppressWarnings("unused")
+  @Transactional(readOnly = true)
   public Map<String, Double> getSurveyResults(String surveyId, String userId) {
     TeacherSurvey survey = surveyRepository.findById(surveyId)
         .orElseThrow(
             () -> new ResourceNotFoundException("Questionario non trovato con id: " + surveyId));
 
-    teacherSurveyMessageService.publishSurveyResultsRequested(surveyId, userId);
+    surveyReadAuditBuffer.recordResultsRequested(surveyId, userId);
 
-    List<SurveyResponse> responses = responseRepository.findBySurveyId(surveyId);
+    Map<String, long[]> totals = surveySnapshotStore.find(survey)
+        .map(SurveySnapshot::sumRatings)
+        .orElseGet(() -> sumRatings(survey));
 
-    return responses.stream()
-        .filter(response -> response.getNumericRating() != null)
-        .collect(Collectors.groupingBy(
-            SurveyResponse::getQuestionId,
-            Collectors.averagingDouble(SurveyResponse::getNumericRating)
+    return totals.entrySet().stream()
+        .collect(Collectors.toMap(
+            Map.Entry::getKey,
+            entry -> (double) entry.getValue()[0] / entry.getValue()[1]
         ));
   }
 
@@ -132,22 +193,69 @@ public class SurveyResponseService {
    * @return lista delle risposte dello studente
    */
   public List<SurveyResponseDto> getResponsesByStudentId(String studentId) {
-    return responseRepository.findByStudentId(studentId).stream()
+    List<SurveyResponseDto> responses = responseRepository.findByStudentId(studentId).stream()
         .map(this::convertToDto)
-        .collect(Collectors.toList());
+        .collect(Collectors.toCollection(ArrayList::new));
+    responses.addAll(surveySubmissionStore.findByStudent(studentId));
+    return responses;
   }
 
   /**
-   * Restituisce i questionari attualmente attivi per lo studente.
+   * Restituisce i questionari attivi dei corsi dello studente che non ha ancora compilato.
    *
    * @param studentId identificativo dello studente
-   * @return lista dei questionari attivi
+   * @return lista dei questionari attivi, ordinata per ID
    */
   public List<TeacherSurvey> getAvailableSurveysForStudent(String studentId) {
-    return surveyRepository.findByStatus(SurveyStatus.ACTIVE);
+    return availableSurveyIndex.availableFor(studentId);
+  }
+
+  /**
+   * Restituisce gli studenti del corso che non hanno ancora risposto a un questionario.
+   *
+   * @param surveyId identificativo del questionario
+   * @param userId identificativo dell'utente richiedente
+   * @return lista degli ID degli studenti
+   */
+  @SuppressWarnings("unused")
+  public List<String> getNonRespondents(String surveyId, String userId) {
+    TeacherSurvey survey = surveyRepository.findById(surveyId)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Questionario non trovato con id: " + surveyId));
+
+    return respondentTracker.nonRespondents(survey);
   }
 
   // ============ Metodi di Classe ============
+  /**
+   * Invia un promemoria agli studenti del corso che non hanno ancora risposto a un questionario
+   * attivo.
+   *
+   * @param surveyId identificativo del questionario
+   * @param userId identificativo dell'utente richiedente
+   * @return numero di studenti a cui è stato inviato il promemoria
+   */
+  @SuppressWarnings("unused")
+  public int remindNonRespondents(String surveyId, String userId) {
+    TeacherSurvey survey = surveyRepository.findById(surveyId)
+        .orElseThrow(
+            () -> new ResourceNotFoundException("Questionario non trovato con id: " + surveyId));
+
+    if (survey.getStatus() != SurveyStatus.ACTIVE) {
+      throw new SurveyClosedException("Non è possibile inviare promemoria per un Questionario "
+          + "non attivo");
+    }
+
+    List<String> students = respondentTracker.nonRespondents(survey);
+    for (String studentId : students) {
+      notificationService.notifyStudentOfSurvey(studentId, surveyId, survey.getCourseId(),
+          REMINDER_SURVEY_TYPE);
+    }
+    logger.info("Promemoria del questionario {} inviato a {} studenti", surveyId,
+        students.size());
+    return students.size();
+  }
+
   /**
    * Invia un insieme di risposte per un questionario.
    *
@@ -168,8 +276,9 @@ public class SurveyResponseService {
       throw new SurveyClosedException("Non è possibile inviare risposte ad un Questionario chiuso");
     }
 
-    boolean hasAlreadyResponded = responseRepository.existsBySurveyIdAndStudentId(surveyId,
-        authenticatedUserId);
+    boolean hasAlreadyResponded = respondentTracker.hasResponded(surveyId, authenticatedUserId)
+        || responseRepository.existsBySurveyIdAndStudentId(surveyId, authenticatedUserId)
+        || surveySubmissionStore.hasSubmitted(surveyId, authenticatedUserId);
     if (hasAlreadyResponded) {
       throw new DuplicateResponseException("Hai già compilato questo questionario");
     }
@@ -186,20 +295,27 @@ public class SurveyResponseService {
     }
 
     LocalDateTime submissionTime = LocalDateTime.now(ZoneId.systemDefault());
-    List<SurveyResponse> responses = responseDtos.stream()
-        .map(dto -> {
-          SurveyResponse response = convertToEntity(dto);
-          response.setSurvey(survey);
-          response.setStudentId(authenticatedUserId);
-          response.setSubmissionDate(submissionTime);
-          return response;
-        })
-        .collect(Collectors.toList());
-
-    List<SurveyResponse> savedResponses = responseRepository.saveAll(responses);
-    List<SurveyResponseDto> result = savedResponses.stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
+    List<SurveyResponseDto> result;
+    if (surveySubmissionStore.isCompact()) {
+      result = surveySubmissionStore.submit(survey, authenticatedUserId, responseDtos,
+          submissionTime);
+    } else {
+      List<SurveyResponse> responses = responseDtos.stream()
+          .map(dto -> {
+            SurveyResponse response = convertToEntity(dto);
+            response.setSurvey(survey);
+            response.setStudentId(authenticatedUserId);
+            response.setSubmissionDate(submissionTime);
+            return response;
+          })
+          .collect(Collectors.toList());
+      result = responseRepository.saveAll(responses).stream()
+          .map(this::convertToDto)
+          .collect(Collectors.toList());
+    }
+    studentDashboardInvalidator.markStale(authenticatedUserId);
+    teacherWorkloadCounters.surveySubmitted(survey.getTeacherId(), survey.getCourseId());
+    respondentTracker.recordResponse(surveyId, authenticatedUserId);
 
     try {
       surveyResponseMessageService.publishSurveyResponsesSubmitted(result, surveyId);
@@ -211,6 +327,32 @@ public class SurveyResponseService {
     return result;
   }
 
+  /**
+   * Legge le righe delle risposte al questionario. Con le tabelle partizionate la lettura parte
+   * dall'anno accademico di creazione del questionario ed esclude le partizioni precedenti.
+   */
+  private List<SurveyResponse> responsesOf(TeacherSurvey survey) {
+    LocalDateTime since = partitioningProperties.responsesLowerBound(survey.getCreatedAt());
+    return since != null
+        ? responseRepository.findBySurveyIdSince(survey.getId(), since)
+        : responseRepository.findBySurveyId(survey.getId());
+  }
+
+  /**
+   * Somma le valutazioni di un questionario leggendo le righe e gli invii compatti.
+   */
+  private Map<String, long[]> sumRatings(TeacherSurvey survey) {
+    Map<String, long[]> totals = new HashMap<>(surveySubmissionStore.sumRatings(survey));
+    for (SurveyResponse response : responsesOf(survey)) {
+      if (response.getNumericRating() != null) {
+        long[] total = totals.computeIfAbsent(response.getQuestionId(), id -> new long[2]);
+        total[0] += response.getNumericRating();
+        total[1]++;
+      }
+    }
+    return totals;
+  }
+
   /**
    * Valida l'insieme di risposte fornite per un questionario.
    *
@@ -265,12 +407,25 @@ public class SurveyResponseService {
       throw new SurveyClosedException("Non è possibile inviare risposte ad un Questionario chiuso");
     }
 
-    SurveyResponse response = convertToEntity(responseDto);
-    response.setSurvey(survey);
-    response.setSubmissionDate(LocalDateTime.now(ZoneId.systemDefault()));
-
-    SurveyResponse savedResponse = responseRepository.save(response);
-    SurveyResponseDto result = convertToDto(savedResponse);
+    LocalDateTime submissionTime = LocalDateTime.now(ZoneId.systemDefault());
+    boolean firstSubmission = !responseRepository.existsBySurveyIdAndStudentId(survey.getId(),
+        responseDto.getStudentId())
+        && !surveySubmissionStore.hasSubmitted(survey.getId(), responseDto.getStudentId());
+
+    SurveyResponseDto result;
+    if (surveySubmissionStore.isCompact()) {
+      result = surveySubmissionStore.answer(survey, responseDto, submissionTime);
+    } else {
+      SurveyResponse response = convertToEntity(responseDto);
+      response.setSurvey(survey);
+      response.setSubmissionDate(submissionTime);
+      result = convertToDto(responseRepository.save(response));
+    }
+    studentDashboardInvalidator.markStale(result.getStudentId());
+    if (firstSubmission) {
+      teacherWorkloadCounters.surveySubmitted(survey.getTeacherId(), survey.getCourseId());
+      respondentTracker.recordResponse(survey.getId(), result.getStudentId());
+    }
 
     surveyResponseMessageService.publishSurveyResponseSubmitted(result);
 
@@ -1,20 +1,41 @@
 package it.unimol.microserviceassessmentfeedback.service;
 
 import it.unimol.microserviceassessmentfeedback.common.exception.ResourceNotFoundException;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleRequestDto;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleResultDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
 import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyReadAuditBuffer;
 import it.unimol.microserviceassessmentfeedback.messaging.publishers.TeacherSurveyMessageService;
 import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
 import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository.SurveyLifecycleView;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryReadModel;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshot;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshotStore;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -32,8 +53,21 @@ public class TeacherSurveyService {
 
   private static final Logger logger = LoggerFactory.getLogger(TeacherSurveyService.class);
 
+  static final String TRIGGER_SCHEDULED = "SCHEDULED";
+  static final String TRIGGER_BULK = "BULK";
+  static final String ACTIVE_SURVEYS_KEY = "active";
+
   private final TeacherSurveyRepository surveyRepository;
   private final TeacherSurveyMessageService teacherSurveyMessageService;
+  private final SurveyReadAuditBuffer surveyReadAuditBuffer;
+  private final SurveySnapshotStore surveySnapshotStore;
+  private final RespondentTracker respondentTracker;
+  private final AvailableSurveyIndex availableSurveyIndex;
+  private final LocalEntityCache localEntityCache;
+  private final DirectoryReadModel directoryReadModel;
+
+  @Value("${surveys.lifecycle.batch-size:500}")
+  private int lifecycleBatchSize = 500;
 
   // ============ Costruttore ============
   /**
@@ -41,12 +75,30 @@ public class TeacherSurveyService {
    *
    * @param surveyRepository repository dei questionari
    * @param teacherSurveyMessageService servizio di pubblicazione eventi questionari
+   * @param surveyReadAuditBuffer buffer asincrono degli eventi di audit sulle letture
+   * @param surveySnapshotStore snapshot delle risposte dei questionari chiusi
+   * @param respondentTracker bitmap dei rispondenti ai questionari
+   * @param availableSurveyIndex indice dei questionari attivi per corso
+   * @param localEntityCache cache locali di questionari e valutazioni
+   * @param directoryReadModel indice locale di docenti e corsi
    */
   @Autowired
   public TeacherSurveyService(TeacherSurveyRepository surveyRepository,
-      TeacherSurveyMessageService teacherSurveyMessageService) {
+      TeacherSurveyMessageService teacherSurveyMessageService,
+      SurveyReadAuditBuffer surveyReadAuditBuffer,
+      SurveySnapshotStore surveySnapshotStore,
+      RespondentTracker respondentTracker,
+      AvailableSurveyIndex availableSurveyIndex,
+      LocalEntityCache localEntityCache,
+      DirectoryReadModel directoryReadModel) {
     this.surveyRepository = surveyRepository;
     this.teacherSurveyMessageService = teacherSurveyMessageService;
+    this.surveyReadAuditBuffer = surveyReadAuditBuffer;
+    this.surveySnapshotStore = surveySnapshotStore;
+    this.respondentTracker = respondentTracker;
+    this.availableSurveyIndex = availableSurveyIndex;
+    this.localEntityCache = localEntityCache;
+    this.directoryReadModel = directoryReadModel;
   }
 
   // ============ Metodi Override ============
@@ -60,7 +112,7 @@ public class TeacherSurveyService {
   public List<TeacherSurveyDto> getAllSurveys() {
     logger.info("Recupero di tutti i questionari");
     return surveyRepository.findAll().stream()
-        .map(this::convertToDto)
+        .map(TeacherSurveyService::convertToDto)
         .collect(Collectors.toList());
   }
 
@@ -72,9 +124,9 @@ public class TeacherSurveyService {
    */
   public TeacherSurveyDto getSurveyById(String id) {
     logger.info("Recupero questionario con id: {}", id);
-    TeacherSurvey survey = surveyRepository.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Questionario non trovato con id: " + id));
-    return convertToDto(survey);
+    return localEntityCache.get(CacheRegion.SURVEYS, id, () -> convertToDto(
+        surveyRepository.findById(id).orElseThrow(
+            () -> new ResourceNotFoundException("Questionario non trovato con id: " + id))));
   }
 
   /**
@@ -85,9 +137,10 @@ public class TeacherSurveyService {
    */
   public List<TeacherSurveyDto> getSurveysByCourse(String courseId) {
     logger.info("Recupero questionari per corso: {}", courseId);
-    return surveyRepository.findByCourseId(courseId).stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
+    return localEntityCache.get(CacheRegion.COURSE_SURVEYS, courseId,
+        () -> surveyRepository.findByCourseId(courseId).stream()
+            .map(TeacherSurveyService::convertToDto)
+            .toList());
   }
 
   /**
@@ -99,7 +152,7 @@ public class TeacherSurveyService {
   public List<TeacherSurveyDto> getSurveysByTeacher(String teacherId) {
     logger.info("Recupero questionari per docente: {}", teacherId);
     return surveyRepository.findByTeacherId(teacherId).stream()
-        .map(this::convertToDto)
+        .map(TeacherSurveyService::convertToDto)
         .collect(Collectors.toList());
   }
 
@@ -110,13 +163,15 @@ public class TeacherSurveyService {
    */
   public List<TeacherSurveyDto> getActiveSurveys() {
     logger.info("Recupero questionari attivi");
-    return surveyRepository.findByStatus(SurveyStatus.ACTIVE).stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
+    return localEntityCache.get(CacheRegion.ACTIVE_SURVEYS, ACTIVE_SURVEYS_KEY,
+        () -> surveyRepository.findByStatus(SurveyStatus.ACTIVE).stream()
+            .map(TeacherSurveyService::convertToDto)
+            .toList());
   }
 
   /**
-   * Restituisce statistiche relative a un questionario.
+   * Restituisce statistiche relative a un questionario. Per i questionari chiusi include le
+   * statistiche per domanda, lette dallo snapshot delle risposte quando è disponibile.
    *
    * @param surveyId identificativo del questionario
    * @return oggetto contenente statistiche del questionario
@@ -125,7 +180,7 @@ public class TeacherSurveyService {
   public Object getSurveyStatistics(String surveyId) {
     logger.info("Richiesta statistiche per questionario: {}", surveyId);
     String requestedBy = getCurrentUser();
-    teacherSurveyMessageService.publishSurveyResultsRequested(surveyId, requestedBy);
+    surveyReadAuditBuffer.recordResultsRequested(surveyId, requestedBy);
 
     TeacherSurvey survey = surveyRepository.findById(surveyId)
         .orElseThrow(
@@ -137,6 +192,8 @@ public class TeacherSurveyService {
       public final String description = survey.getDescription();
       public final List<SurveyQuestionDto> questions = survey.getQuestions();
       public final String status = survey.getStatus().toString();
+      public final Map<String, SurveySnapshot.QuestionStatistics> results =
+          surveySnapshotStore.find(survey).map(SurveySnapshot::statistics).orElse(null);
       public final String message = "Statistiche placeholder per questionario " + surveyId;
     };
   }
@@ -147,6 +204,7 @@ public class TeacherSurveyService {
    * @return oggetto contenente statistiche aggregate
    */
   @SuppressWarnings("unused")
+  @Transactional(readOnly = true)
   public Object getGeneralStatistics() {
     logger.info("Richiesta statistiche generali questionari");
 
@@ -189,6 +247,8 @@ public class TeacherSurveyService {
     if (surveyDto.getQuestions() == null || surveyDto.getQuestions().isEmpty()) {
       throw new IllegalArgumentException("Il questionario deve contenere almeno una domanda.");
     }
+    validateSchedule(surveyDto.getScheduledOpenAt(), surveyDto.getScheduledCloseAt());
+    validateDirectory(surveyDto.getTeacherId(), surveyDto.getCourseId());
 
     for (SurveyQuestionDto question : surveyDto.getQuestions()) {
       if (question.getQuestionText() == null || question.getQuestionText().isBlank()) {
@@ -214,12 +274,15 @@ public class TeacherSurveyService {
       }
     }
 
+    assignOrdinals(surveyDto.getQuestions());
     TeacherSurvey survey = convertToEntity(surveyDto);
     survey.setStatus(SurveyStatus.DRAFT);
     survey.setCreationDate(LocalDateTime.now(ZoneId.systemDefault()));
 
     TeacherSurvey savedSurvey = surveyRepository.save(survey);
     TeacherSurveyDto result = convertToDto(savedSurvey);
+    localEntityCache.evict(CacheRegion.COURSE_SURVEYS,
+        Collections.singletonList(savedSurvey.getCourseId()));
 
     try {
       teacherSurveyMessageService.publishSurveyCompleted(result);
@@ -259,6 +322,7 @@ public class TeacherSurveyService {
       existingSurvey.setDescription(surveyDto.getDescription());
     }
     if (surveyDto.getQuestions() != null) {
+      assignOrdinals(surveyDto.getQuestions());
       existingSurvey.setQuestions(surveyDto.getQuestions());
     }
     if (surveyDto.getAcademicYear() != null) {
@@ -267,15 +331,29 @@ public class TeacherSurveyService {
     if (surveyDto.getSemester() != null) {
       existingSurvey.setSemester(surveyDto.getSemester());
     }
+    if (surveyDto.isClearSchedule()) {
+      existingSurvey.setScheduledOpenAt(null);
+      existingSurvey.setScheduledCloseAt(null);
+    }
+    if (surveyDto.getScheduledOpenAt() != null) {
+      existingSurvey.setScheduledOpenAt(surveyDto.getScheduledOpenAt());
+    }
+    if (surveyDto.getScheduledCloseAt() != null) {
+      existingSurvey.setScheduledCloseAt(surveyDto.getScheduledCloseAt());
+    }
+    validateSchedule(existingSurvey.getScheduledOpenAt(), existingSurvey.getScheduledCloseAt());
 
     TeacherSurvey updatedSurvey = surveyRepository.save(existingSurvey);
     TeacherSurveyDto result = convertToDto(updatedSurvey);
+    evictSurveyCaches(List.of(id), updatedSurvey.getCourseId());
 
     return result;
   }
 
   /**
-   * Cambia lo stato di un questionario.
+   * Cambia lo stato di un questionario. Il cambio manuale prevale sulla programmazione dello
+   * stesso verso: un'apertura manuale rimuove l'apertura programmata ma conserva una chiusura
+   * programmata futura, e viceversa; il ritorno a DRAFT le rimuove entrambe.
    *
    * @param id identificativo del questionario
    * @param newStatus nuovo stato da impostare
@@ -288,12 +366,24 @@ public class TeacherSurveyService {
     TeacherSurvey survey = surveyRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Questionario non trovato con id: " + id));
 
-    validateStatusTransition(survey.getStatus(), newStatus);
+    SurveyStatus previousStatus = survey.getStatus();
+    validateStatusTransition(previousStatus, newStatus);
 
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
     survey.setStatus(newStatus);
+    if (newStatus == SurveyStatus.ACTIVE) {
+      survey.setScheduledOpenAt(null);
+      survey.setScheduledCloseAt(futureOrNull(survey.getScheduledCloseAt(), now));
+    } else if (newStatus == SurveyStatus.CLOSED) {
+      survey.setScheduledOpenAt(futureOrNull(survey.getScheduledOpenAt(), now));
+      survey.setScheduledCloseAt(null);
+    } else {
+      survey.setScheduledOpenAt(null);
+      survey.setScheduledCloseAt(null);
+    }
 
     if (newStatus == SurveyStatus.CLOSED) {
-      survey.setClosingDate(LocalDateTime.now(ZoneId.systemDefault()));
+      survey.setClosingDate(now);
     } else if (newStatus == SurveyStatus.ACTIVE && survey.getClosingDate() != null) {
       survey.setClosingDate(null);
     }
@@ -301,6 +391,14 @@ public class TeacherSurveyService {
     TeacherSurvey updatedSurvey = surveyRepository.save(survey);
     TeacherSurveyDto result = convertToDto(updatedSurvey);
 
+    if (newStatus == SurveyStatus.CLOSED) {
+      surveySnapshotStore.requestBuild(List.of(id));
+    } else if (previousStatus == SurveyStatus.CLOSED) {
+      surveySnapshotStore.invalidate(List.of(id));
+    }
+    availableSurveyIndex.surveysChanged(List.of(id));
+    evictSurveyCaches(List.of(id), updatedSurvey.getCourseId());
+
     if (newStatus == SurveyStatus.CLOSED) {
       try {
         teacherSurveyMessageService.publishSurveyCompleted(result);
@@ -320,7 +418,6 @@ public class TeacherSurveyService {
    * @param id identificativo del questionario
    */
   @Transactional
-  @SuppressWarnings("unused")
   public void deleteSurvey(String id) {
     logger.info("Eliminazione questionario con id: {}", id);
 
@@ -328,9 +425,279 @@ public class TeacherSurveyService {
         .orElseThrow(() -> new ResourceNotFoundException("Questionario non trovato con id: " + id));
 
     surveyRepository.deleteById(id);
+    evictSurveyCaches(List.of(id), survey.getCourseId());
+    surveySnapshotStore.invalidate(List.of(id));
+    respondentTracker.forget(List.of(id));
+    availableSurveyIndex.surveysChanged(List.of(id));
     logger.info("Questionario eliminato con successo: {}", id);
   }
 
+  /**
+   * Applica un'operazione massiva ai questionari selezionati dal filtro.
+   *
+   * <p>Per OPEN e CLOSE vengono letti solo ID e stato dei candidati, la transizione è validata
+   * in memoria e i questionari ammessi sono aggiornati a lotti con un'unica UPDATE per lotto.
+   * CLONE crea in bozza i questionari del periodo di destinazione, saltando le coppie docente e
+   * corso già presenti. Per ogni lotto viene pubblicato un solo evento aggregato.</p>
+   *
+   * @param request filtro e operazione da applicare
+   * @return esito dell'operazione
+   */
+  public SurveyBulkLifecycleResultDto applyBulkLifecycle(SurveyBulkLifecycleRequestDto request) {
+    if (request.getAction() == null) {
+      throw new IllegalArgumentException("L'operazione è obbligatoria.");
+    }
+    if (request.getAcademicYear() == null || request.getAcademicYear().isBlank()) {
+      throw new IllegalArgumentException("L'anno accademico è obbligatorio.");
+    }
+    logger.info("Operazione massiva {} su questionari: anno {} semestre {} corso {}",
+        request.getAction(), request.getAcademicYear(), request.getSemester(),
+        request.getCourseId());
+
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    SurveyBulkLifecycleResultDto result;
+    switch (request.getAction()) {
+      case OPEN -> result = transitionAll(surveyRepository.findLifecycleCandidates(
+          request.getAcademicYear(), request.getSemester(), request.getCourseId()),
+          SurveyStatus.ACTIVE, TRIGGER_BULK, now);
+      case CLOSE -> result = transitionAll(surveyRepository.findLifecycleCandidates(
+          request.getAcademicYear(), request.getSemester(), request.getCourseId()),
+          SurveyStatus.CLOSED, TRIGGER_BULK, now);
+      case CLONE -> result = cloneSurveys(request);
+      default -> throw new IllegalArgumentException(
+          "Operazione non supportata: " + request.getAction());
+    }
+
+    logger.info("Operazione massiva {} completata: {} selezionati, {} applicati, {} esclusi",
+        result.getAction(), result.getMatched(), result.getUpdated(), result.getSkipped());
+    return result;
+  }
+
+  /**
+   * Applica le aperture e le chiusure programmate scadute.
+   *
+   * @param now istante di riferimento
+   * @return numero di questionari che hanno cambiato stato
+   */
+  public int applyScheduledTransitions(LocalDateTime now) {
+    int changed = 0;
+    List<SurveyLifecycleView> due;
+    do {
+      due = surveyRepository.findDueForOpening(now, SurveyStatus.ACTIVE,
+          PageRequest.of(0, lifecycleBatchSize));
+      int updated = transitionAll(due, SurveyStatus.ACTIVE, TRIGGER_SCHEDULED, now).getUpdated();
+      changed += updated;
+      if (updated == 0) {
+        break;
+      }
+    } while (due.size() == lifecycleBatchSize);
+
+    do {
+      due = surveyRepository.findDueForClosing(now, SurveyStatus.CLOSED,
+          PageRequest.of(0, lifecycleBatchSize));
+      int updated = transitionAll(due, SurveyStatus.CLOSED, TRIGGER_SCHEDULED, now).getUpdated();
+      changed += updated;
+      if (updated == 0) {
+        break;
+      }
+    } while (due.size() == lifecycleBatchSize);
+
+    if (changed > 0) {
+      logger.info("Transizioni programmate applicate: {} questionari", changed);
+    }
+    return changed;
+  }
+
+  private SurveyBulkLifecycleResultDto transitionAll(List<SurveyLifecycleView> candidates,
+      SurveyStatus target, String trigger, LocalDateTime now) {
+    List<String> eligible = new ArrayList<>();
+    for (SurveyLifecycleView candidate : candidates) {
+      if (isValidTransition(candidate.getStatus(), target)) {
+        eligible.add(candidate.getId());
+      }
+    }
+
+    Set<SurveyStatus> fromStatuses = EnumSet.noneOf(SurveyStatus.class);
+    for (SurveyStatus status : SurveyStatus.values()) {
+      if (isValidTransition(status, target)) {
+        fromStatuses.add(status);
+      }
+    }
+
+    SurveyLifecycleAction action = target == SurveyStatus.CLOSED
+        ? SurveyLifecycleAction.CLOSE : SurveyLifecycleAction.OPEN;
+    int updated = 0;
+    int batches = 0;
+    for (int from = 0; from < eligible.size(); from += lifecycleBatchSize) {
+      List<String> batch = eligible.subList(from,
+          Math.min(from + lifecycleBatchSize, eligible.size()));
+      int count = target == SurveyStatus.CLOSED
+          ? surveyRepository.closeAll(batch, fromStatuses, target, now)
+          : surveyRepository.openAll(batch, fromStatuses, target, now);
+      updated += count;
+      if (target == SurveyStatus.CLOSED) {
+        surveySnapshotStore.requestBuild(batch);
+      } else {
+        surveySnapshotStore.invalidate(batch);
+      }
+      availableSurveyIndex.surveysChanged(batch);
+      evictSurveyCaches(batch, null);
+      if (count > 0) {
+        batches++;
+        publishLifecycleChanged(action, target, batch, trigger);
+      }
+    }
+
+    return new SurveyBulkLifecycleResultDto(action, target, candidates.size(), updated,
+        candidates.size() - updated, batches);
+  }
+
+  private SurveyBulkLifecycleResultDto cloneSurveys(SurveyBulkLifecycleRequestDto request) {
+    String targetYear = request.getTargetAcademicYear();
+    Integer targetSemester = request.getTargetSemester();
+    if (targetYear == null || targetSemester == null) {
+      if (request.getSemester() == null) {
+        throw new IllegalArgumentException(
+            "Per CLONE indicare il semestre di origine o il periodo di destinazione.");
+      }
+      boolean nextYear = request.getSemester() >= 2;
+      targetYear = targetYear != null ? targetYear
+          : nextYear ? nextAcademicYear(request.getAcademicYear()) : request.getAcademicYear();
+      targetSemester = targetSemester != null ? targetSemester : nextYear ? 1 : 2;
+    }
+    if (targetYear.equals(request.getAcademicYear())
+        && targetSemester.equals(request.getSemester())) {
+      throw new IllegalArgumentException("Il periodo di destinazione coincide con l'origine.");
+    }
+
+    Set<String> existing = new HashSet<>(
+        surveyRepository.findTeacherCourseKeys(targetYear, targetSemester));
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    int matched = 0;
+    int created = 0;
+    int batches = 0;
+    Slice<TeacherSurvey> page;
+    int pageNumber = 0;
+    do {
+      page = surveyRepository.findByPeriod(request.getAcademicYear(), request.getSemester(),
+          request.getCourseId(), PageRequest.of(pageNumber++, lifecycleBatchSize));
+      List<TeacherSurvey> clones = new ArrayList<>();
+      for (TeacherSurvey source : page.getContent()) {
+        matched++;
+        if (existing.add(source.getTeacherId() + "|" + source.getCourseId())) {
+          clones.add(cloneForPeriod(source, targetYear, targetSemester, now));
+        }
+      }
+      if (!clones.isEmpty()) {
+        List<String> ids = surveyRepository.saveAll(clones).stream()
+            .map(TeacherSurvey::getId)
+            .collect(Collectors.toList());
+        created += ids.size();
+        batches++;
+        localEntityCache.evict(CacheRegion.COURSE_SURVEYS, clones.stream()
+            .map(TeacherSurvey::getCourseId)
+            .toList());
+        publishLifecycleChanged(SurveyLifecycleAction.CLONE, SurveyStatus.DRAFT, ids,
+            TRIGGER_BULK);
+      }
+    } while (page.hasNext());
+
+    return new SurveyBulkLifecycleResultDto(SurveyLifecycleAction.CLONE, SurveyStatus.DRAFT,
+        matched, created, matched - created, batches);
+  }
+
+  /**
+   * Assegna alle domande la loro posizione nel questionario. Le posizioni sono dense e partono da
+   * 0, così le risposte compatte possono usarle come indice. Il questionario è modificabile solo
+   * in stato DRAFT, cioè prima che esistano risposte, quindi riassegnarle non invalida dati.
+   */
+  private static void assignOrdinals(List<SurveyQuestionDto> questions) {
+    for (int i = 0; i < questions.size(); i++) {
+      questions.get(i).setOrdinal(i);
+    }
+  }
+
+  /**
+   * Invalida le cache dei questionari modificati. Se il corso non è noto vengono invalidati gli
+   * elenchi di tutti i corsi.
+   */
+  private void evictSurveyCaches(List<String> surveyIds, String courseId) {
+    localEntityCache.evict(CacheRegion.SURVEYS, surveyIds);
+    if (courseId != null) {
+      localEntityCache.evict(CacheRegion.COURSE_SURVEYS, List.of(courseId));
+    } else {
+      localEntityCache.evictAll(CacheRegion.COURSE_SURVEYS);
+    }
+    localEntityCache.evictAll(CacheRegion.ACTIVE_SURVEYS);
+  }
+
+  private TeacherSurvey cloneForPeriod(TeacherSurvey source, String academicYear,
+      Integer semester, LocalDateTime now) {
+    TeacherSurvey clone = new TeacherSurvey();
+    clone.setCourseId(source.getCourseId());
+    clone.setTeacherId(source.getTeacherId());
+    clone.setAcademicYear(academicYear);
+    clone.setSemester(semester);
+    clone.setStatus(SurveyStatus.DRAFT);
+    clone.setCreationDate(now);
+    clone.setTitle(source.getTitle());
+    clone.setDescription(source.getDescription());
+    clone.setQuestionsJson(source.getQuestionsJson());
+    return clone;
+  }
+
+  private void publishLifecycleChanged(SurveyLifecycleAction action, SurveyStatus status,
+      List<String> surveyIds, String trigger) {
+    try {
+      teacherSurveyMessageService.publishSurveyLifecycleChanged(action, status,
+          List.copyOf(surveyIds), trigger);
+    } catch (Exception e) {
+      logger.error("Errore nella pubblicazione dell'evento aggregato {} per {} questionari",
+          action, surveyIds.size(), e);
+    }
+  }
+
+  private static String nextAcademicYear(String academicYear) {
+    String[] years = academicYear.split("-");
+    return (Integer.parseInt(years[0]) + 1) + "-" + (Integer.parseInt(years[1]) + 1);
+  }
+
+  /**
+   * Verifica docente e corso sull'indice locale. Finché il bootstrap dell'indice non è terminato
+   * l'assenza di un ID non è significativa e la verifica viene saltata.
+   */
+  private void validateDirectory(String teacherId, String courseId) {
+    if (!directoryReadModel.isReady()) {
+      return;
+    }
+    if (!directoryReadModel.isActiveTeacher(teacherId)) {
+      throw new IllegalArgumentException("Docente non trovato: " + teacherId);
+    }
+    if (courseId != null && !directoryReadModel.isActiveCourse(courseId)) {
+      throw new IllegalArgumentException("Corso non trovato: " + courseId);
+    }
+  }
+
+  private static LocalDateTime futureOrNull(LocalDateTime scheduledAt, LocalDateTime now) {
+    return scheduledAt != null && scheduledAt.isAfter(now) ? scheduledAt : null;
+  }
+
+  private void validateSchedule(LocalDateTime openAt, LocalDateTime closeAt) {
+    if (openAt != null && closeAt != null && !closeAt.isAfter(openAt)) {
+      throw new IllegalArgumentException(
+          "La chiusura programmata deve essere successiva all'apertura programmata.");
+    }
+  }
+
+  private boolean isValidTransition(SurveyStatus currentStatus, SurveyStatus newStatus) {
+    try {
+      validateStatusTransition(currentStatus, newStatus);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
   /**
    * Valida la transizione tra stati di un questionario.
    *
@@ -360,7 +727,13 @@ public class TeacherSurveyService {
     }
   }
 
-  private TeacherSurveyDto convertToDto(TeacherSurvey survey) {
+  /**
+   * Converte un questionario nel relativo DTO.
+   *
+   * @param survey il questionario
+   * @return il DTO del questionario
+   */
+  public static TeacherSurveyDto convertToDto(TeacherSurvey survey) {
     return TeacherSurveyDto.builder()
         .id(survey.getId())
         .courseId(survey.getCourseId())
@@ -370,6 +743,8 @@ public class TeacherSurveyService {
         .status(survey.getStatus())
         .creationDate(survey.getCreationDate())
         .closingDate(survey.getClosingDate())
+        .scheduledOpenAt(survey.getScheduledOpenAt())
+        .scheduledCloseAt(survey.getScheduledCloseAt())
         .title(survey.getTitle())
         .description(survey.getDescription())
         .questions(survey.getQuestions())
@@ -391,6 +766,8 @@ public class TeacherSurveyService {
             ? dto.getCreationDate()
             : LocalDateTime.now(ZoneId.systemDefault()));
     survey.setClosingDate(dto.getClosingDate());
+    survey.setScheduledOpenAt(dto.getScheduledOpenAt());
+    survey.setScheduledCloseAt(dto.getScheduledCloseAt());
     survey.setTitle(dto.getTitle());
     survey.setDescription(dto.getDescription());
     survey.setQuestions(dto.getQuestions());
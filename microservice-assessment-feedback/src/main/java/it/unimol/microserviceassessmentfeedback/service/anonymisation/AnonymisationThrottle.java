@@ -0,0 +1,119 @@
+package it.unimol.microserviceassessmentfeedback.service.anonymisation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limita la velocità dell'anonimizzazione in base al carico del database.
+ *
+ * <p>La dimensione del chunk segue una regola AIMD: cresce di {@code min-chunk-size} righe dopo
+ * ogni chunk pieno completato entro {@code target-chunk-ms} e si dimezza quando un chunk supera
+ * il tempo obiettivo o quando il pool di connessioni ha thread in attesa. In quest'ultimo caso il
+ * ciclo viene saltato, lasciando le connessioni al traffico applicativo.</p>
+ */
+@Component
+public class AnonymisationThrottle {
+
+  private static final Logger logger = LoggerFactory.getLogger(AnonymisationThrottle.class);
+
+  private final DataSource dataSource;
+  private final int minChunkSize;
+  private final int maxChunkSize;
+  private final long targetChunkMs;
+  private volatile int chunkSize;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione del DataSource e della configurazione.
+   *
+   * @param dataSource il DataSource applicativo, usato per leggere lo stato del pool
+   * @param minChunkSize la dimensione minima del chunk, usata anche come incremento
+   * @param maxChunkSize la dimensione massima del chunk
+   * @param targetChunkMs la durata obiettivo di un chunk in millisecondi
+   */
+  public AnonymisationThrottle(DataSource dataSource,
+      @Value("${anonymisation.min-chunk-size:50}") int minChunkSize,
+      @Value("${anonymisation.max-chunk-size:1000}") int maxChunkSize,
+      @Value("${anonymisation.target-chunk-ms:200}") long targetChunkMs) {
+    this.dataSource = dataSource;
+    this.minChunkSize = Math.max(1, minChunkSize);
+    this.maxChunkSize = Math.max(this.minChunkSize, maxChunkSize);
+    this.targetChunkMs = Math.max(1, targetChunkMs);
+    this.chunkSize = this.minChunkSize;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce la dimensione del prossimo chunk.
+   *
+   * @return il numero massimo di righe da elaborare nel prossimo chunk
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Indica se il pool di connessioni è saturo, cioè se ci sono thread in attesa di una
+   * connessione. Con un DataSource diverso da Hikari il carico non è misurabile e il metodo
+   * restituisce sempre false.
+   *
+   * @return true se il ciclo di anonimizzazione deve essere saltato
+   */
+  public boolean isDatabaseBusy() {
+    HikariPoolMXBean pool = poolOf(dataSource);
+    return pool != null && pool.getThreadsAwaitingConnection() > 0;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Aggiorna la dimensione del chunk in base alla durata dell'ultimo chunk elaborato.
+   *
+   * @param elapsedMs la durata del chunk in millisecondi
+   * @param rows il numero di righe aggiornate dal chunk
+   */
+  public void onChunk(long elapsedMs, int rows) {
+    if (elapsedMs > targetChunkMs) {
+      decrease();
+    } else if (rows >= chunkSize && chunkSize < maxChunkSize) {
+      chunkSize = Math.min(maxChunkSize, chunkSize + minChunkSize);
+      logger.debug("Chunk di anonimizzazione aumentato a {} righe", chunkSize);
+    }
+  }
+
+  /**
+   * Dimezza la dimensione del chunk dopo un ciclo saltato per carico del database.
+   */
+  public void onBusy() {
+    decrease();
+  }
+
+  private void decrease() {
+    int reduced = Math.max(minChunkSize, chunkSize / 2);
+    if (reduced != chunkSize) {
+      chunkSize = reduced;
+      logger.debug("Chunk di anonimizzazione ridotto a {} righe", chunkSize);
+    }
+  }
+
+  private static HikariPoolMXBean poolOf(DataSource dataSource) {
+    try {
+      if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+      }
+    } catch (SQLException e) {
+      logger.debug("Stato del pool di connessioni non disponibile: {}", e.getMessage());
+    }
+    return null;
+  }
+}
@@ -0,0 +1,293 @@
+package it.unimol.microserviceassessmentfeedback.service.anonymisation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.AnonymisationPhase;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import it.unimol.microserviceassessmentfeedback.model.ArchivedRecord;
+import it.unimol.microserviceassessmentfeedback.repository.AnonymisationJobRepository;
+import it.unimol.microserviceassessmentfeedback.repository.ArchivedRecordRepository;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.DetailedFeedbackRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.partitioning.TablePartitionManager;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Elabora un singolo chunk di un job di anonimizzazione in una transazione dedicata.
+ *
+ * <p>Ogni chunk legge al più {@code chunkSize} ID della fase corrente in ordine di ID a partire
+ * dall'ultima chiave registrata, li aggiorna con una sola UPDATE e registra il checkpoint del job
+ * nella stessa transazione. Gli aggiornamenti sono idempotenti (stesso pseudonimo, stesso testo
+ * oscurato), quindi un chunk ripetuto dopo un riavvio non produce effetti diversi.</p>
+ *
+ * <p>Le ultime due fasi applicano le stesse regole ai dati archiviati: le righe di
+ * {@code archived_records} dei corsi cancellati, trovate tramite le colonne indicizzate di
+ * studente e docente e riscritte nel contenuto JSON, e le partizioni per anno accademico spostate
+ * nello schema di archivio.</p>
+ */
+@Component
+public class UserAnonymisationChunkProcessor {
+
+  static final String REDACTED_TEXT = "[anonimizzato]";
+
+  private static final TypeReference<LinkedHashMap<String, Object>> PAYLOAD_TYPE =
+      new TypeReference<>() {
+      };
+
+  private final AnonymisationJobRepository anonymisationJobRepository;
+  private final AssessmentRepository assessmentRepository;
+  private final DetailedFeedbackRepository detailedFeedbackRepository;
+  private final SurveyResponseRepository surveyResponseRepository;
+  private final SurveySubmissionRepository surveySubmissionRepository;
+  private final TeacherSurveyRepository teacherSurveyRepository;
+  private final ArchivedRecordRepository archivedRecordRepository;
+  private final TablePartitionManager tablePartitionManager;
+  private final StudentDashboardInvalidator studentDashboardInvalidator;
+  private final RespondentTracker respondentTracker;
+  private final LocalEntityCache localEntityCache;
+  private final ObjectMapper objectMapper;
+  private final JobLeaseManager jobLeaseManager;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param anonymisationJobRepository il repository dei job di anonimizzazione
+   * @param assessmentRepository il repository delle valutazioni
+   * @param detailedFeedbackRepository il repository dei feedback dettagliati
+   * @param surveyResponseRepository il repository delle risposte
+   * @param surveySubmissionRepository il repository degli invii compatti
+   * @param teacherSurveyRepository il repository dei questionari
+   * @param archivedRecordRepository il repository delle righe archiviate dei corsi cancellati
+   * @param tablePartitionManager la manutenzione delle partizioni, incluse quelle archiviate
+   * @param studentDashboardInvalidator l'invalidazione delle dashboard degli studenti
+   * @param respondentTracker le bitmap dei rispondenti ai questionari
+   * @param localEntityCache le cache locali di questionari e valutazioni
+   * @param objectMapper il mapper JSON delle righe archiviate
+   * @param jobLeaseManager la leader election dei job di background
+   */
+  public UserAnonymisationChunkProcessor(AnonymisationJobRepository anonymisationJobRepository,
+      AssessmentRepository assessmentRepository,
+      DetailedFeedbackRepository detailedFeedbackRepository,
+      SurveyResponseRepository surveyResponseRepository,
+      SurveySubmissionRepository surveySubmissionRepository,
+      TeacherSurveyRepository teacherSurveyRepository,
+      ArchivedRecordRepository archivedRecordRepository,
+      TablePartitionManager tablePartitionManager,
+      StudentDashboardInvalidator studentDashboardInvalidator,
+      RespondentTracker respondentTracker,
+      LocalEntityCache localEntityCache,
+      ObjectMapper objectMapper,
+      JobLeaseManager jobLeaseManager) {
+    this.anonymisationJobRepository = anonymisationJobRepository;
+    this.assessmentRepository = assessmentRepository;
+    this.detailedFeedbackRepository = detailedFeedbackRepository;
+    this.surveyResponseRepository = surveyResponseRepository;
+    this.surveySubmissionRepository = surveySubmissionRepository;
+    this.teacherSurveyRepository = teacherSurveyRepository;
+    this.archivedRecordRepository = archivedRecordRepository;
+    this.tablePartitionManager = tablePartitionManager;
+    this.studentDashboardInvalidator = studentDashboardInvalidator;
+    this.respondentTracker = respondentTracker;
+    this.localEntityCache = localEntityCache;
+    this.objectMapper = objectMapper;
+    this.jobLeaseManager = jobLeaseManager;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Elabora il chunk successivo del job. Se la fase corrente non ha più righe il job passa alla
+   * fase successiva; al termine dell'ultima fase viene marcato come completato.
+   *
+   * @param jobId l'ID del job
+   * @param chunkSize il numero massimo di righe aggiornate
+   * @return il job aggiornato, o null se non esiste o è già concluso
+   */
+  @Transactional
+  public AnonymisationJob processChunk(String jobId, int chunkSize) {
+    AnonymisationJob job = anonymisationJobRepository.findById(jobId).orElse(null);
+    if (job == null || job.getStatus() == BackgroundJobStatus.COMPLETED
+        || job.getStatus() == BackgroundJobStatus.FAILED) {
+      return null;
+    }
+
+    String userId = job.getUserId();
+    String pseudonym = job.getPseudonym();
+    String after = job.getLastKey() != null ? job.getLastKey() : TimeOrderedIds.MIN;
+    Pageable page = PageRequest.of(0, Math.max(1, chunkSize));
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    List<String> ids = switch (job.getPhase()) {
+      case FEEDBACK_TEXT -> {
+        List<String> rows = detailedFeedbackRepository.findStudentFeedbackIds(userId, after, page);
+        if (!rows.isEmpty()) {
+          detailedFeedbackRepository.redactAll(rows, REDACTED_TEXT, now);
+        }
+        yield rows;
+      }
+      case STUDENT_ASSESSMENTS -> {
+        List<String> rows = assessmentRepository.findStudentAssessmentIds(userId, after, page);
+        if (!rows.isEmpty()) {
+          assessmentRepository.pseudonymiseStudent(rows, pseudonym, now);
+          localEntityCache.evict(CacheRegion.ASSESSMENTS, rows);
+        }
+        yield rows;
+      }
+      case SURVEY_RESPONSES -> {
+        List<String> rows = surveyResponseRepository.findStudentResponseIds(userId, after, page);
+        if (!rows.isEmpty()) {
+          surveyResponseRepository.pseudonymiseStudent(rows, pseudonym, now);
+        }
+        yield rows;
+      }
+      case SURVEY_SUBMISSIONS -> {
+        List<String> rows =
+            surveySubmissionRepository.findStudentSubmissionIds(userId, after, page);
+        if (!rows.isEmpty()) {
+          surveySubmissionRepository.pseudonymiseStudent(rows, pseudonym);
+        } else {
+          respondentTracker.pseudonymiseStudent(userId, pseudonym);
+        }
+        yield rows;
+      }
+      case TEACHER_ASSESSMENTS -> {
+        List<String> rows = assessmentRepository.findTeacherAssessmentIds(userId, after, page);
+        if (!rows.isEmpty()) {
+          assessmentRepository.pseudonymiseTeacher(rows, pseudonym, now);
+          localEntityCache.evict(CacheRegion.ASSESSMENTS, rows);
+          studentDashboardInvalidator.markStaleForAssessments(rows);
+        }
+        yield rows;
+      }
+      case TEACHER_SURVEYS -> {
+        List<String> rows = teacherSurveyRepository.findTeacherSurveyIds(userId, after, page);
+        if (!rows.isEmpty()) {
+          teacherSurveyRepository.pseudonymiseTeacher(rows, pseudonym, now);
+          localEntityCache.evict(CacheRegion.SURVEYS, rows);
+          localEntityCache.evictAll(CacheRegion.COURSE_SURVEYS);
+          localEntityCache.evictAll(CacheRegion.ACTIVE_SURVEYS);
+        }
+        yield rows;
+      }
+      case ARCHIVED_RECORDS -> {
+        List<ArchivedRecord> rows = archivedRecordRepository.findUserChunk(userId, after, page);
+        rows.forEach(row -> anonymiseArchivedRecord(row, userId, pseudonym));
+        archivedRecordRepository.saveAll(rows);
+        yield rows.stream().map(ArchivedRecord::getId).toList();
+      }
+      case ARCHIVED_PARTITIONS -> {
+        // Una sola istruzione per tabella archiviata, limitata alle righe dell'utente
+        int rows = tablePartitionManager.anonymiseArchivedUser(userId, pseudonym, REDACTED_TEXT);
+        job.setAnonymisedCount(job.getAnonymisedCount() + rows);
+        yield List.of();
+      }
+      case DONE -> List.of();
+    };
+
+    job.setStatus(BackgroundJobStatus.RUNNING);
+    job.setAttempts(0);
+    if (ids.isEmpty()) {
+      AnonymisationPhase next = job.getPhase().next();
+      job.setPhase(next);
+      job.setLastKey(null);
+      if (next == AnonymisationPhase.DONE) {
+        job.setStatus(BackgroundJobStatus.COMPLETED);
+        job.setCompletedAt(now);
+        studentDashboardInvalidator.evict(userId);
+      }
+    } else {
+      job.setLastKey(ids.get(ids.size() - 1));
+      job.setChunks(job.getChunks() + 1);
+      job.setAnonymisedCount(job.getAnonymisedCount() + ids.size());
+    }
+    AnonymisationJob saved = anonymisationJobRepository.save(job);
+    jobLeaseManager.confirmLease(UserAnonymisationService.JOB_NAME);
+    return saved;
+  }
+
+  /**
+   * Pseudonimizza una riga archiviata con le stesse regole delle tabelle operative. Se l'utente è
+   * lo studente della riga vengono oscurati o rimossi anche i testi liberi riferiti a lui: note
+   * della valutazione, testo del feedback e commenti alle risposte.
+   */
+  private void anonymiseArchivedRecord(ArchivedRecord row, String userId, String pseudonym) {
+    Map<String, Object> payload = readPayload(row);
+    if (userId.equals(row.getStudentId())) {
+      row.setStudentId(pseudonym);
+      payload.replace("studentId", pseudonym);
+      if (payload.containsKey("feedbackText")) {
+        payload.put("feedbackText", REDACTED_TEXT);
+        payload.put("strengths", null);
+        payload.put("improvementAreas", null);
+      }
+      payload.replace("notes", null);
+      payload.replace("textComment", null);
+      payload.replace("comments", null);
+    }
+    if (userId.equals(row.getTeacherId())) {
+      row.setTeacherId(pseudonym);
+      payload.replace("teacherId", pseudonym);
+    }
+    try {
+      row.setPayload(objectMapper.writeValueAsString(payload));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Serializzazione della riga archiviata fallita", e);
+    }
+  }
+
+  private Map<String, Object> readPayload(ArchivedRecord row) {
+    try {
+      return objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Lettura della riga archiviata " + row.getId()
+          + " fallita", e);
+    }
+  }
+
+  /**
+   * Registra il fallimento di un chunk. Oltre il numero massimo di tentativi il job viene marcato
+   * come fallito e non viene più ripreso automaticamente.
+   *
+   * @param jobId l'ID del job
+   * @param error il messaggio d'errore
+   * @param maxAttempts il numero massimo di tentativi consecutivi
+   * @return il job aggiornato, o null se non esiste
+   */
+  @Transactional
+  public AnonymisationJob recordFailure(String jobId, String error, int maxAttempts) {
+    AnonymisationJob job = anonymisationJobRepository.findById(jobId).orElse(null);
+    if (job == null) {
+      return null;
+    }
+    job.setAttempts(job.getAttempts() + 1);
+    job.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    if (job.getAttempts() >= maxAttempts) {
+      job.setStatus(BackgroundJobStatus.FAILED);
+    }
+    return anonymisationJobRepository.save(job);
+  }
+}
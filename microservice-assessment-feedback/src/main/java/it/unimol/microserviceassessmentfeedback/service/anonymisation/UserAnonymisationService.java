@@ -0,0 +1,185 @@
+package it.unimol.microserviceassessmentfeedback.service.anonymisation;
+
+import it.unimol.microserviceassessmentfeedback.common.exception.LeaseLostException;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.UserMessageService;
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import it.unimol.microserviceassessmentfeedback.repository.AnonymisationJobRepository;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Anonimizzazione in background dei dati degli utenti cancellati (diritto all'oblio).
+ *
+ * <p>Il consumer di {@code user.deleted} si limita ad accodare un {@link AnonymisationJob}.
+ * Un'esecuzione schedulata, eseguita solo dalla replica leader del job, elabora un chunk per
+ * ciclo con la dimensione decisa da {@link AnonymisationThrottle}, e salta il ciclo quando il
+ * pool di connessioni è saturo. Al completamento viene pubblicato l'evento
+ * {@code user.anonymised}.</p>
+ */
+@Service
+public class UserAnonymisationService {
+
+  static final String JOB_NAME = "user-anonymisation";
+
+  private static final Logger logger = LoggerFactory.getLogger(UserAnonymisationService.class);
+  private static final List<BackgroundJobStatus> OPEN_STATUSES =
+      List.of(BackgroundJobStatus.RUNNING, BackgroundJobStatus.PENDING);
+
+  private final AnonymisationJobRepository anonymisationJobRepository;
+  private final UserAnonymisationChunkProcessor userAnonymisationChunkProcessor;
+  private final AnonymisationThrottle anonymisationThrottle;
+  private final UserMessageService userMessageService;
+  private final JobLeaseManager jobLeaseManager;
+  private final int maxAttempts;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param anonymisationJobRepository il repository dei job di anonimizzazione
+   * @param userAnonymisationChunkProcessor l'elaboratore transazionale dei chunk
+   * @param anonymisationThrottle il limitatore di velocità basato sul carico del database
+   * @param userMessageService il publisher degli eventi relativi agli utenti
+   * @param jobLeaseManager la leader election dei job di background
+   * @param maxAttempts il numero di errori consecutivi dopo cui il job viene marcato fallito
+   */
+  public UserAnonymisationService(AnonymisationJobRepository anonymisationJobRepository,
+      UserAnonymisationChunkProcessor userAnonymisationChunkProcessor,
+      AnonymisationThrottle anonymisationThrottle, UserMessageService userMessageService,
+      JobLeaseManager jobLeaseManager,
+      @Value("${anonymisation.max-attempts:5}") int maxAttempts) {
+    this.anonymisationJobRepository = anonymisationJobRepository;
+    this.userAnonymisationChunkProcessor = userAnonymisationChunkProcessor;
+    this.anonymisationThrottle = anonymisationThrottle;
+    this.userMessageService = userMessageService;
+    this.jobLeaseManager = jobLeaseManager;
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce lo stato del job di anonimizzazione di un utente.
+   *
+   * @param userId l'ID dell'utente
+   * @return il job, se presente
+   */
+  public Optional<AnonymisationJob> getJob(String userId) {
+    return anonymisationJobRepository.findByUserId(userId);
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Accoda l'anonimizzazione dei dati di un utente cancellato. L'operazione è idempotente: un
+   * evento ricevuto più volte non crea job duplicati.
+   *
+   * @param userId l'ID dell'utente
+   * @param userType il tipo di utente (STUDENT, TEACHER)
+   * @param reason il motivo della cancellazione
+   * @return true se è stato creato un nuovo job
+   */
+  public boolean enqueue(String userId, String userType, String reason) {
+    if (userId == null || userId.isBlank()) {
+      logger.warn("Anonimizzazione ignorata: ID utente mancante");
+      return false;
+    }
+    if (anonymisationJobRepository.existsByUserId(userId)) {
+      logger.info("Anonimizzazione dell'utente {} già accodata", userId);
+      return false;
+    }
+
+    try {
+      AnonymisationJob job = anonymisationJobRepository.save(
+          new AnonymisationJob(userId, userType, reason));
+      logger.info("Accodata anonimizzazione dell'utente {} (job {})", userId, job.getId());
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      logger.info("Anonimizzazione dell'utente {} già accodata", userId);
+      return false;
+    }
+  }
+
+  /**
+   * Elabora il chunk successivo del job di anonimizzazione più vecchio ancora aperto, se questa
+   * replica è leader del job.
+   */
+  @Scheduled(fixedDelayString = "${anonymisation.chunk-interval-ms:1000}")
+  public void runNextChunk() {
+    try {
+      jobLeaseManager.runExclusive(JOB_NAME, this::processNextChunk);
+    } catch (Exception e) {
+      logger.error("Errore nell'esecuzione dell'anonimizzazione degli utenti", e);
+    }
+  }
+
+  void processNextChunk() {
+    Optional<AnonymisationJob> next =
+        anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(OPEN_STATUSES);
+    if (next.isEmpty()) {
+      return;
+    }
+    if (anonymisationThrottle.isDatabaseBusy()) {
+      anonymisationThrottle.onBusy();
+      logger.debug("Anonimizzazione rimandata: pool di connessioni saturo");
+      return;
+    }
+
+    String jobId = next.get().getId();
+    long before = next.get().getAnonymisedCount();
+    long start = System.nanoTime();
+    AnonymisationJob job;
+    try {
+      job = userAnonymisationChunkProcessor.processChunk(jobId,
+          anonymisationThrottle.getChunkSize());
+    } catch (ObjectOptimisticLockingFailureException e) {
+      logger.warn("Chunk del job di anonimizzazione {} già elaborato da un'altra replica", jobId);
+      return;
+    } catch (LeaseLostException e) {
+      logger.warn("Chunk del job di anonimizzazione {} annullato: {}", jobId, e.getMessage());
+      return;
+    } catch (RuntimeException e) {
+      recordFailure(jobId, e);
+      return;
+    }
+    if (job == null) {
+      return;
+    }
+
+    anonymisationThrottle.onChunk(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        (int) (job.getAnonymisedCount() - before));
+    if (job.getStatus() == BackgroundJobStatus.COMPLETED) {
+      logger.info("Anonimizzazione dell'utente {} completata: {} righe in {} chunk",
+          job.getUserId(), job.getAnonymisedCount(), job.getChunks());
+      try {
+        userMessageService.publishUserAnonymised(job);
+      } catch (RuntimeException e) {
+        logger.error("Pubblicazione del completamento dell'anonimizzazione {} fallita", jobId, e);
+      }
+    }
+  }
+
+  private void recordFailure(String jobId, RuntimeException e) {
+    AnonymisationJob job =
+        userAnonymisationChunkProcessor.recordFailure(jobId, e.getMessage(), maxAttempts);
+    if (job != null && job.getStatus() == BackgroundJobStatus.FAILED) {
+      logger.error("Anonimizzazione dell'utente {} fallita dopo {} tentativi", job.getUserId(),
+          job.getAttempts(), e);
+    } else {
+      logger.warn("Errore nel chunk del job di anonimizzazione {}: {}", jobId, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,367 @@
+package it.unimol.microserviceassessmentfeedback.service.archival;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.ArchivalPhase;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.ArchivedRecord;
+import it.unimol.microserviceassessmentfeedback.model.Assessment;
+import it.unimol.microserviceassessmentfeedback.model.CourseArchivalJob;
+import it.unimol.microserviceassessmentfeedback.model.DetailedFeedback;
+import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.ArchivedRecordRepository;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.CourseArchivalJobRepository;
+import it.unimol.microserviceassessmentfeedback.repository.DetailedFeedbackRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshotStore;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Elabora un singolo chunk di un job di archiviazione in una transazione dedicata.
+ *
+ * <p>Ogni chunk legge al più {@code chunkSize} righe della fase corrente in ordine di ID a partire
+ * dall'ultima chiave registrata, le copia in {@code archived_records}, le elimina dalle tabelle
+ * operative e aggiorna il checkpoint del job. Copia, eliminazione e checkpoint sono nella stessa
+ * transazione: un errore o un riavvio fanno ripartire il job dall'ultimo chunk confermato. Prima
+ * del commit il lease del job viene confermato, così il chunk di un leader scaduto viene
+ * annullato.</p>
+ */
+@Component
+public class CourseArchivalChunkProcessor {
+
+  static final String TYPE_ASSESSMENT = "ASSESSMENT";
+  static final String TYPE_DETAILED_FEEDBACK = "DETAILED_FEEDBACK";
+  static final String TYPE_TEACHER_SURVEY = "TEACHER_SURVEY";
+  static final String TYPE_SURVEY_RESPONSE = "SURVEY_RESPONSE";
+  static final String TYPE_SURVEY_SUBMISSION = "SURVEY_SUBMISSION";
+
+  private final CourseArchivalJobRepository courseArchivalJobRepository;
+  private final ArchivedRecordRepository archivedRecordRepository;
+  private final AssessmentRepository assessmentRepository;
+  private final DetailedFeedbackRepository detailedFeedbackRepository;
+  private final TeacherSurveyRepository teacherSurveyRepository;
+  private final SurveyResponseRepository surveyResponseRepository;
+  private final SurveySubmissionRepository surveySubmissionRepository;
+  private final StudentDashboardInvalidator studentDashboardInvalidator;
+  private final SurveySnapshotStore surveySnapshotStore;
+  private final RespondentTracker respondentTracker;
+  private final AvailableSurveyIndex availableSurveyIndex;
+  private final LocalEntityCache localEntityCache;
+  private final ObjectMapper objectMapper;
+  private final JobLeaseManager jobLeaseManager;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param courseArchivalJobRepository il repository dei job di archiviazione
+   * @param archivedRecordRepository il repository delle righe archiviate
+   * @param assessmentRepository il repository delle valutazioni
+   * @param detailedFeedbackRepository il repository dei feedback dettagliati
+   * @param teacherSurveyRepository il repository dei questionari
+   * @param surveyResponseRepository il repository delle risposte
+   * @param surveySubmissionRepository il repository degli invii compatti
+   * @param studentDashboardInvalidator l'invalidazione delle dashboard degli studenti
+   * @param surveySnapshotStore gli snapshot delle risposte dei questionari chiusi
+   * @param respondentTracker le bitmap dei rispondenti ai questionari
+   * @param availableSurveyIndex l'indice dei questionari attivi per corso
+   * @param localEntityCache le cache locali di questionari e valutazioni
+   * @param objectMapper il mapper JSON usato per serializzare le righe archiviate
+   * @param jobLeaseManager la leader election dei job di background
+   */
+  public CourseArchivalChunkProcessor(CourseArchivalJobRepository courseArchivalJobRepository,
+      ArchivedRecordRepository archivedRecordRepository,
+      AssessmentRepository assessmentRepository,
+      DetailedFeedbackRepository detailedFeedbackRepository,
+      TeacherSurveyRepository teacherSurveyRepository,
+      SurveyResponseRepository surveyResponseRepository,
+      SurveySubmissionRepository surveySubmissionRepository,
+      StudentDashboardInvalidator studentDashboardInvalidator,
+      SurveySnapshotStore surveySnapshotStore,
+      RespondentTracker respondentTracker,
+      AvailableSurveyIndex availableSurveyIndex,
+      LocalEntityCache localEntityCache,
+      ObjectMapper objectMapper,
+      JobLeaseManager jobLeaseManager) {
+    this.courseArchivalJobRepository = courseArchivalJobRepository;
+    this.archivedRecordRepository = archivedRecordRepository;
+    this.assessmentRepository = assessmentRepository;
+    this.detailedFeedbackRepository = detailedFeedbackRepository;
+    this.teacherSurveyRepository = teacherSurveyRepository;
+    this.surveyResponseRepository = surveyResponseRepository;
+    this.surveySubmissionRepository = surveySubmissionRepository;
+    this.studentDashboardInvalidator = studentDashboardInvalidator;
+    this.surveySnapshotStore = surveySnapshotStore;
+    this.respondentTracker = respondentTracker;
+    this.availableSurveyIndex = availableSurveyIndex;
+    this.localEntityCache = localEntityCache;
+    this.objectMapper = objectMapper;
+    this.jobLeaseManager = jobLeaseManager;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Elabora il chunk successivo del job. Se la fase corrente non ha più righe il job passa alla
+   * fase successiva; al termine dell'ultima fase viene marcato come completato.
+   *
+   * @param jobId l'ID del job
+   * @param chunkSize il numero massimo di righe elaborate
+   * @return il job aggiornato, o null se non esiste o è già concluso
+   */
+  @Transactional
+  public CourseArchivalJob processChunk(String jobId, int chunkSize) {
+    CourseArchivalJob job = courseArchivalJobRepository.findById(jobId).orElse(null);
+    if (job == null || job.getStatus() == BackgroundJobStatus.COMPLETED
+        || job.getStatus() == BackgroundJobStatus.FAILED) {
+      return null;
+    }
+
+    String courseId = job.getCourseId();
+    String after = job.getLastKey() != null ? job.getLastKey() : TimeOrderedIds.MIN;
+    Pageable page = PageRequest.of(0, Math.max(1, chunkSize));
+    List<String> ids = switch (job.getPhase()) {
+      case CLOSE_SURVEYS -> closeSurveys(courseId, after, page);
+      case SURVEY_RESPONSES -> {
+        List<SurveyResponse> rows = surveyResponseRepository.findCourseChunk(courseId, after, page);
+        List<String> moved = archive(job, TYPE_SURVEY_RESPONSE, rows, SurveyResponse::getId,
+            SurveyResponse::getStudentId, response -> null, this::payloadOf);
+        surveyResponseRepository.deleteAllByIdInBatch(moved);
+        studentDashboardInvalidator.markStale(
+            rows.stream().map(SurveyResponse::getStudentId).toList());
+        yield moved;
+      }
+      case SURVEY_SUBMISSIONS -> {
+        List<SurveySubmission> rows =
+            surveySubmissionRepository.findCourseChunk(courseId, after, page);
+        List<String> moved = archive(job, TYPE_SURVEY_SUBMISSION, rows, SurveySubmission::getId,
+            SurveySubmission::getStudentId, submission -> null, this::payloadOf);
+        surveySubmissionRepository.deleteAllByIdInBatch(moved);
+        studentDashboardInvalidator.markStale(
+            rows.stream().map(SurveySubmission::getStudentId).toList());
+        yield moved;
+      }
+      case TEACHER_SURVEYS -> {
+        List<TeacherSurvey> rows = teacherSurveyRepository.findCourseChunk(courseId, after, page);
+        List<String> moved = archive(job, TYPE_TEACHER_SURVEY, rows, TeacherSurvey::getId,
+            survey -> null, TeacherSurvey::getTeacherId, this::payloadOf);
+        teacherSurveyRepository.deleteAllByIdInBatch(moved);
+        surveySnapshotStore.invalidate(moved);
+        respondentTracker.forget(moved);
+        availableSurveyIndex.surveysChanged(moved);
+        localEntityCache.evict(CacheRegion.SURVEYS, moved);
+        localEntityCache.evict(CacheRegion.COURSE_SURVEYS, List.of(courseId));
+        localEntityCache.evictAll(CacheRegion.ACTIVE_SURVEYS);
+        yield moved;
+      }
+      case DETAILED_FEEDBACK -> {
+        List<DetailedFeedback> rows =
+            detailedFeedbackRepository.findCourseChunk(courseId, after, page);
+        List<String> moved = archive(job, TYPE_DETAILED_FEEDBACK, rows, DetailedFeedback::getId,
+            feedback -> feedback.getAssessment() != null
+                ? feedback.getAssessment().getStudentId() : null,
+            feedback -> null, this::payloadOf);
+        detailedFeedbackRepository.deleteAllByIdInBatch(moved);
+        yield moved;
+      }
+      case ASSESSMENTS -> {
+        List<Assessment> rows = assessmentRepository.findCourseChunk(courseId, after, page);
+        List<String> moved = archive(job, TYPE_ASSESSMENT, rows, Assessment::getId,
+            Assessment::getStudentId, Assessment::getTeacherId, this::payloadOf);
+        assessmentRepository.deleteAllByIdInBatch(moved);
+        localEntityCache.evict(CacheRegion.ASSESSMENTS, moved);
+        studentDashboardInvalidator.markStale(rows.stream().map(Assessment::getStudentId).toList());
+        yield moved;
+      }
+      case DONE -> List.of();
+    };
+
+    job.setStatus(BackgroundJobStatus.RUNNING);
+    job.setAttempts(0);
+    if (ids.isEmpty()) {
+      ArchivalPhase next = job.getPhase().next();
+      job.setPhase(next);
+      job.setLastKey(null);
+      if (next == ArchivalPhase.DONE) {
+        job.setStatus(BackgroundJobStatus.COMPLETED);
+        job.setCompletedAt(LocalDateTime.now(ZoneId.systemDefault()));
+      }
+    } else {
+      job.setLastKey(ids.get(ids.size() - 1));
+      job.setChunks(job.getChunks() + 1);
+      if (job.getPhase() != ArchivalPhase.CLOSE_SURVEYS) {
+        job.setArchivedCount(job.getArchivedCount() + ids.size());
+      }
+    }
+    CourseArchivalJob saved = courseArchivalJobRepository.save(job);
+    jobLeaseManager.confirmLease(CourseArchivalService.JOB_NAME);
+    return saved;
+  }
+
+  /**
+   * Registra il fallimento di un chunk. Oltre il numero massimo di tentativi il job viene marcato
+   * come fallito e non viene più ripreso automaticamente.
+   *
+   * @param jobId l'ID del job
+   * @param error il messaggio d'errore
+   * @param maxAttempts il numero massimo di tentativi consecutivi
+   * @return il job aggiornato, o null se non esiste
+   */
+  @Transactional
+  public CourseArchivalJob recordFailure(String jobId, String error, int maxAttempts) {
+    CourseArchivalJob job = courseArchivalJobRepository.findById(jobId).orElse(null);
+    if (job == null) {
+      return null;
+    }
+    job.setAttempts(job.getAttempts() + 1);
+    job.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    if (job.getAttempts() >= maxAttempts) {
+      job.setStatus(BackgroundJobStatus.FAILED);
+    }
+    return courseArchivalJobRepository.save(job);
+  }
+
+  private List<String> closeSurveys(String courseId, String after, Pageable page) {
+    List<String> ids = teacherSurveyRepository.findCourseSurveyIds(courseId, after, page);
+    if (!ids.isEmpty()) {
+      teacherSurveyRepository.closeAll(ids, List.of(SurveyStatus.ACTIVE), SurveyStatus.CLOSED,
+          LocalDateTime.now(ZoneId.systemDefault()));
+    }
+    return ids;
+  }
+
+  private <T> List<String> archive(CourseArchivalJob job, String entityType, List<T> rows,
+      Function<T, String> idOf, Function<T, String> studentOf, Function<T, String> teacherOf,
+      Function<T, Map<String, Object>> payloadOf) {
+    List<String> ids = new ArrayList<>(rows.size());
+    List<ArchivedRecord> records = new ArrayList<>(rows.size());
+    for (T row : rows) {
+      String id = idOf.apply(row);
+      ids.add(id);
+      records.add(new ArchivedRecord(entityType, id, job.getCourseId(), job.getId(),
+          studentOf.apply(row), teacherOf.apply(row), toJson(payloadOf.apply(row))));
+    }
+    archivedRecordRepository.saveAll(records);
+    return ids;
+  }
+
+  private String toJson(Map<String, Object> payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Serializzazione della riga archiviata fallita", e);
+    }
+  }
+
+  private Map<String, Object> payloadOf(SurveyResponse response) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("id", response.getId());
+    payload.put("surveyId", response.getSurvey() != null ? response.getSurvey().getId() : null);
+    payload.put("studentId", response.getStudentId());
+    payload.put("questionId", response.getQuestionId());
+    payload.put("numericRating", response.getNumericRating());
+    payload.put("textComment", response.getTextComment());
+    payload.put("submissionDate", asString(response.getSubmissionDate()));
+    payload.put("createdAt", asString(response.getCreatedAt()));
+    payload.put("updatedAt", asString(response.getUpdatedAt()));
+    return payload;
+  }
+
+  private Map<String, Object> payloadOf(SurveySubmission submission) {
+    byte[] ratings = submission.getRatings() != null ? submission.getRatings() : new byte[0];
+    List<Integer> ratingValues = new ArrayList<>(ratings.length);
+    for (byte rating : ratings) {
+      ratingValues.add((int) rating);
+    }
+
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("id", submission.getId());
+    payload.put("surveyId",
+        submission.getSurvey() != null ? submission.getSurvey().getId() : null);
+    payload.put("studentId", submission.getStudentId());
+    payload.put("ratings", ratingValues);
+    payload.put("comments", submission.getComments());
+    payload.put("submissionDate", asString(submission.getSubmissionDate()));
+    return payload;
+  }
+
+  private Map<String, Object> payloadOf(TeacherSurvey survey) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("id", survey.getId());
+    payload.put("courseId", survey.getCourseId());
+    payload.put("teacherId", survey.getTeacherId());
+    payload.put("academicYear", survey.getAcademicYear());
+    payload.put("semester", survey.getSemester());
+    payload.put("status", asString(survey.getStatus()));
+    payload.put("title", survey.getTitle());
+    payload.put("description", survey.getDescription());
+    payload.put("questions", survey.getQuestions());
+    payload.put("creationDate", asString(survey.getCreationDate()));
+    payload.put("closingDate", asString(survey.getClosingDate()));
+    payload.put("createdAt", asString(survey.getCreatedAt()));
+    payload.put("updatedAt", asString(survey.getUpdatedAt()));
+    return payload;
+  }
+
+  private Map<String, Object> payloadOf(DetailedFeedback feedback) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("id", feedback.getId());
+    payload.put("assessmentId",
+        feedback.getAssessment() != null ? feedback.getAssessment().getId() : null);
+    payload.put("feedbackText", feedback.getFeedbackText());
+    payload.put("category", asString(feedback.getCategory()));
+    payload.put("strengths", feedback.getStrengths());
+    payload.put("improvementAreas", feedback.getImprovementAreas());
+    payload.put("createdAt", asString(feedback.getCreatedAt()));
+    payload.put("updatedAt", asString(feedback.getUpdatedAt()));
+    return payload;
+  }
+
+  private Map<String, Object> payloadOf(Assessment assessment) {
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("id", assessment.getId());
+    payload.put("referenceId", assessment.getReferenceId());
+    payload.put("referenceType", asString(assessment.getReferenceType()));
+    payload.put("studentId", assessment.getStudentId());
+    payload.put("teacherId", assessment.getTeacherId());
+    payload.put("courseId", assessment.getCourseId());
+    payload.put("score", assessment.getScore());
+    payload.put("notes", assessment.getNotes());
+    payload.put("assessmentDate", asString(assessment.getAssessmentDate()));
+    payload.put("createdAt", asString(assessment.getCreatedAt()));
+    payload.put("updatedAt", asString(assessment.getUpdatedAt()));
+    return payload;
+  }
+
+  private static String asString(Object value) {
+    return value != null ? value.toString() : null;
+  }
+}
@@ -0,0 +1,161 @@
+package it.unimol.microserviceassessmentfeedback.service.archival;
+
+import it.unimol.microserviceassessmentfeedback.common.exception.LeaseLostException;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.model.CourseArchivalJob;
+import it.unimol.microserviceassessmentfeedback.repository.CourseArchivalJobRepository;
+import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Archiviazione in background dei dati dei corsi cancellati.
+ *
+ * <p>Il consumer di {@code course.deleted} si limita ad accodare un {@link CourseArchivalJob}.
+ * Un'esecuzione schedulata, eseguita solo dalla replica leader del job, elabora un chunk per
+ * ciclo: la velocità massima è quindi {@code chunk-size} righe ogni {@code chunk-interval-ms},
+ * senza tenere transazioni lunghe né bloccare il thread dello scheduler. Ogni chunk registra il
+ * proprio checkpoint, quindi il job riprende da dove si era fermato dopo un riavvio o un
+ * failover.</p>
+ */
+@Service
+public class CourseArchivalService {
+
+  static final String JOB_NAME = "course-archival";
+
+  private static final Logger logger = LoggerFactory.getLogger(CourseArchivalService.class);
+  private static final List<BackgroundJobStatus> OPEN_STATUSES =
+      List.of(BackgroundJobStatus.RUNNING, BackgroundJobStatus.PENDING);
+
+  private final CourseArchivalJobRepository courseArchivalJobRepository;
+  private final CourseArchivalChunkProcessor courseArchivalChunkProcessor;
+  private final NotificationService notificationService;
+  private final JobLeaseManager jobLeaseManager;
+  private final int chunkSize;
+  private final int maxAttempts;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param courseArchivalJobRepository il repository dei job di archiviazione
+   * @param courseArchivalChunkProcessor l'elaboratore transazionale dei chunk
+   * @param notificationService il servizio di notifica
+   * @param jobLeaseManager la leader election dei job di background
+   * @param chunkSize il numero massimo di righe elaborate per chunk
+   * @param maxAttempts il numero di errori consecutivi dopo cui il job viene marcato fallito
+   */
+  public CourseArchivalService(CourseArchivalJobRepository courseArchivalJobRepository,
+      CourseArchivalChunkProcessor courseArchivalChunkProcessor,
+      NotificationService notificationService, JobLeaseManager jobLeaseManager,
+      @Value("${archival.chunk-size:500}") int chunkSize,
+      @Value("${archival.max-attempts:5}") int maxAttempts) {
+    this.courseArchivalJobRepository = courseArchivalJobRepository;
+    this.courseArchivalChunkProcessor = courseArchivalChunkProcessor;
+    this.notificationService = notificationService;
+    this.jobLeaseManager = jobLeaseManager;
+    this.chunkSize = Math.max(1, chunkSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce lo stato del job di archiviazione di un corso.
+   *
+   * @param courseId l'ID del corso
+   * @return il job, se presente
+   */
+  public Optional<CourseArchivalJob> getJob(String courseId) {
+    return courseArchivalJobRepository.findByCourseId(courseId);
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Accoda l'archiviazione dei dati di un corso cancellato. L'operazione è idempotente: un
+   * evento ricevuto più volte non crea job duplicati.
+   *
+   * @param courseId l'ID del corso
+   * @param courseName il nome del corso
+   * @param teacherId l'ID del docente
+   * @param reason il motivo della cancellazione
+   * @return true se è stato creato un nuovo job
+   */
+  public boolean enqueue(String courseId, String courseName, String teacherId, String reason) {
+    if (courseId == null || courseId.isBlank()) {
+      logger.warn("Archiviazione ignorata: ID corso mancante");
+      return false;
+    }
+    if (courseArchivalJobRepository.existsByCourseId(courseId)) {
+      logger.info("Archiviazione del corso {} già accodata", courseId);
+      return false;
+    }
+
+    try {
+      CourseArchivalJob job = courseArchivalJobRepository.save(
+          new CourseArchivalJob(courseId, courseName, teacherId, reason));
+      logger.info("Accodata archiviazione del corso {} (job {})", courseId, job.getId());
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      logger.info("Archiviazione del corso {} già accodata", courseId);
+      return false;
+    }
+  }
+
+  /**
+   * Elabora il chunk successivo del job di archiviazione più vecchio ancora aperto, se questa
+   * replica è leader del job.
+   */
+  @Scheduled(fixedDelayString = "${archival.chunk-interval-ms:1000}")
+  public void runNextChunk() {
+    try {
+      jobLeaseManager.runExclusive(JOB_NAME, this::processNextChunk);
+    } catch (Exception e) {
+      logger.error("Errore nell'esecuzione dell'archiviazione dei corsi", e);
+    }
+  }
+
+  void processNextChunk() {
+    Optional<CourseArchivalJob> next =
+        courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(OPEN_STATUSES);
+    if (next.isEmpty()) {
+      return;
+    }
+
+    String jobId = next.get().getId();
+    try {
+      CourseArchivalJob job = courseArchivalChunkProcessor.processChunk(jobId, chunkSize);
+      if (job != null && job.getStatus() == BackgroundJobStatus.COMPLETED) {
+        logger.info("Archiviazione del corso {} completata: {} righe in {} chunk",
+            job.getCourseId(), job.getArchivedCount(), job.getChunks());
+        notificationService.notifyCourseDeletion(job.getCourseId(), job.getTeacherId(),
+            job.getReason());
+      }
+    } catch (ObjectOptimisticLockingFailureException e) {
+      logger.warn("Chunk del job di archiviazione {} già elaborato da un'altra replica", jobId);
+    } catch (LeaseLostException e) {
+      logger.warn("Chunk del job di archiviazione {} annullato: {}", jobId, e.getMessage());
+    } catch (RuntimeException e) {
+      CourseArchivalJob job =
+          courseArchivalChunkProcessor.recordFailure(jobId, e.getMessage(), maxAttempts);
+      if (job != null && job.getStatus() == BackgroundJobStatus.FAILED) {
+        logger.error("Archiviazione del corso {} fallita dopo {} tentativi", job.getCourseId(),
+            job.getAttempts(), e);
+      } else {
+        logger.warn("Errore nel chunk del job di archiviazione {}: {}", jobId, e.getMessage());
+      }
+    }
+  }
+}
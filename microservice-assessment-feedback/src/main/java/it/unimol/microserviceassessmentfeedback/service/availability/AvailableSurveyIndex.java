@@ -0,0 +1,282 @@
+package it.unimol.microserviceassessmentfeedback.service.availability;
+
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Indice in memoria dei questionari attivi, raggruppati per corso, da cui si ricavano i
+ * questionari disponibili per uno studente.
+ *
+ * <p>I questionari disponibili sono quelli attivi dei corsi a cui lo studente è iscritto, più
+ * quelli senza corso, esclusi quelli a cui ha già risposto secondo il
+ * {@link RespondentTracker}. Il servizio non riceve le iscrizioni ai corsi: come per i non
+ * rispondenti, i corsi di uno studente sono quelli in cui ha almeno una valutazione, letti alla
+ * prima richiesta, aggiornati alla creazione di una valutazione e riletti dopo
+ * {@code enrollment-ttl-ms}.</p>
+ *
+ * <p>L'indice viene caricato alla prima lettura. I cambi di stato, le cancellazioni e le
+ * archiviazioni accodano dopo il commit gli ID dei questionari coinvolti, che vengono riletti
+ * alla lettura successiva; una ricarica completa ogni {@code refresh-ms} rende visibili i
+ * cambiamenti avvenuti su altre repliche.</p>
+ */
+@Component
+public class AvailableSurveyIndex {
+
+  static final String NO_COURSE = "";
+
+  private static final Logger logger = LoggerFactory.getLogger(AvailableSurveyIndex.class);
+
+  private final TeacherSurveyRepository surveyRepository;
+  private final AssessmentRepository assessmentRepository;
+  private final RespondentTracker respondentTracker;
+  private final long enrollmentTtlMs;
+
+  private final Set<String> stale = ConcurrentHashMap.newKeySet();
+  private final Map<String, Enrollment> enrollments;
+  private volatile Index index;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param surveyRepository il repository dei questionari
+   * @param assessmentRepository il repository delle valutazioni, usato per le iscrizioni
+   * @param respondentTracker le bitmap dei rispondenti ai questionari
+   * @param enrollmentTtlMs l'età oltre la quale i corsi di uno studente vengono riletti
+   * @param maxCachedStudents il numero massimo di studenti con i corsi in cache
+   */
+  public AvailableSurveyIndex(TeacherSurveyRepository surveyRepository,
+      AssessmentRepository assessmentRepository,
+      RespondentTracker respondentTracker,
+      @Value("${surveys.available.enrollment-ttl-ms:300000}") long enrollmentTtlMs,
+      @Value("${surveys.available.max-cached-students:100000}") int maxCachedStudents) {
+    this.surveyRepository = surveyRepository;
+    this.assessmentRepository = assessmentRepository;
+    this.respondentTracker = respondentTracker;
+    this.enrollmentTtlMs = enrollmentTtlMs;
+    int capacity = Math.max(1, maxCachedStudents);
+    this.enrollments = Collections.synchronizedMap(
+        new LinkedHashMap<String, Enrollment>(64, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Enrollment> eldest) {
+            return size() > capacity;
+          }
+        });
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce i questionari attivi dei corsi dello studente a cui non ha ancora risposto.
+   *
+   * @param studentId l'ID dello studente
+   * @return i questionari disponibili, ordinati per ID
+   */
+  public List<TeacherSurvey> availableFor(String studentId) {
+    Index current = current();
+    List<TeacherSurvey> available = new ArrayList<>(current.surveysOf(NO_COURSE));
+    for (String courseId : coursesOf(studentId)) {
+      available.addAll(current.surveysOf(courseId));
+    }
+    available.removeIf(survey -> respondentTracker.hasResponded(survey.getId(), studentId));
+    available.sort(Comparator.comparing(TeacherSurvey::getId));
+    return available;
+  }
+
+  /**
+   * Restituisce il numero di questionari attivi nell'indice.
+   *
+   * @return il numero di questionari attivi
+   */
+  public int getActiveCount() {
+    return current().size();
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Segnala che lo stato dei questionari indicati è cambiato o che sono stati rimossi. I
+   * questionari vengono riletti alla prima lettura dopo il commit della transazione corrente.
+   *
+   * @param surveyIds gli ID dei questionari
+   */
+  public void surveysChanged(Collection<String> surveyIds) {
+    if (surveyIds.isEmpty()) {
+      return;
+    }
+    List<String> ids = List.copyOf(surveyIds);
+    afterCommit(() -> stale.addAll(ids));
+  }
+
+  /**
+   * Aggiunge un corso a quelli dello studente, dopo il commit della transazione corrente.
+   *
+   * @param studentId l'ID dello studente
+   * @param courseId l'ID del corso
+   */
+  public void studentEnrolled(String studentId, String courseId) {
+    if (studentId == null || courseId == null) {
+      return;
+    }
+    afterCommit(() -> {
+      Enrollment enrollment = enrollments.get(studentId);
+      if (enrollment != null) {
+        enrollment.courseIds().add(courseId);
+      }
+    });
+  }
+
+  /**
+   * Ricarica l'indice dal database, se è già stato caricato.
+   */
+  @Scheduled(fixedDelayString = "${surveys.available.refresh-ms:60000}",
+      initialDelayString = "${surveys.available.refresh-ms:60000}")
+  public void refresh() {
+    if (index == null) {
+      return;
+    }
+    try {
+      reload();
+    } catch (RuntimeException e) {
+      logger.warn("Errore nella ricarica dell'indice dei questionari attivi: {}",
+          e.getMessage());
+    }
+  }
+
+  private Index current() {
+    Index current = index;
+    if (current == null || !stale.isEmpty()) {
+      current = load();
+    }
+    return current;
+  }
+
+  /**
+   * Carica l'indice alla prima lettura e applica i questionari da rileggere. Le ricariche e gli
+   * aggiornamenti sono serializzati, così un aggiornamento non viene perso sostituendo l'indice
+   * con una lettura precedente.
+   */
+  private synchronized Index load() {
+    if (index == null) {
+      stale.clear();
+      return reload();
+    }
+    Set<String> ids = new HashSet<>(stale);
+    stale.removeAll(ids);
+    if (!ids.isEmpty()) {
+      Index current = index;
+      ids.forEach(current::remove);
+      for (TeacherSurvey survey : surveyRepository.findAllById(ids)) {
+        if (survey.getStatus() == SurveyStatus.ACTIVE) {
+          current.put(survey);
+        }
+      }
+    }
+    return index;
+  }
+
+  private synchronized Index reload() {
+    long start = System.currentTimeMillis();
+    Index loaded = new Index();
+    surveyRepository.findByStatus(SurveyStatus.ACTIVE).forEach(loaded::put);
+    index = loaded;
+    logger.debug("Indice dei questionari attivi caricato: {} questionari in {} ms",
+        loaded.size(), System.currentTimeMillis() - start);
+    return loaded;
+  }
+
+  /**
+   * Restituisce i corsi dello studente, rileggendoli se mancano o sono scaduti.
+   */
+  private Set<String> coursesOf(String studentId) {
+    long now = System.currentTimeMillis();
+    Enrollment enrollment = enrollments.get(studentId);
+    if (enrollment == null || now - enrollment.loadedAt() >= enrollmentTtlMs) {
+      Set<String> courseIds = ConcurrentHashMap.newKeySet();
+      courseIds.addAll(assessmentRepository.findCourseIdsByStudentId(studentId));
+      enrollment = new Enrollment(courseIds, now);
+      enrollments.put(studentId, enrollment);
+    }
+    return enrollment.courseIds();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Corsi di uno studente e istante della lettura.
+   */
+  private record Enrollment(Set<String> courseIds, long loadedAt) {
+  }
+
+  /**
+   * Questionari attivi per corso. Le letture non prendono lock, le scritture sono serializzate.
+   */
+  private static final class Index {
+
+    private final Map<String, Map<String, TeacherSurvey>> byCourse = new ConcurrentHashMap<>();
+    private final Map<String, String> courseOf = new ConcurrentHashMap<>();
+
+    Collection<TeacherSurvey> surveysOf(String courseId) {
+      Map<String, TeacherSurvey> surveys = byCourse.get(courseId);
+      return surveys != null ? surveys.values() : List.of();
+    }
+
+    int size() {
+      return courseOf.size();
+    }
+
+    synchronized void put(TeacherSurvey survey) {
+      remove(survey.getId());
+      String courseId = survey.getCourseId() != null ? survey.getCourseId() : NO_COURSE;
+      courseOf.put(survey.getId(), courseId);
+      byCourse.computeIfAbsent(courseId, key -> new ConcurrentHashMap<>())
+          .put(survey.getId(), survey);
+    }
+
+    synchronized void remove(String surveyId) {
+      String courseId = courseOf.remove(surveyId);
+      if (courseId != null) {
+        byCourse.computeIfPresent(courseId, (key, surveys) -> {
+          surveys.remove(surveyId);
+          return surveys.isEmpty() ? null : surveys;
+        });
+      }
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package it.unimol.microserviceassessmentfeedback.service.cache;
+
+/**
+ * Cache locali gestite da {@link LocalEntityCache}. Il nome identifica la cache nelle metriche
+ * e nei messaggi di invalidazione scambiati tra le repliche.
+ */
+public enum CacheRegion {
+
+  SURVEYS("surveys"),
+  COURSE_SURVEYS("surveys.by-course"),
+  ACTIVE_SURVEYS("surveys.active"),
+  ASSESSMENTS("assessments");
+
+  private final String cacheName;
+
+  // ============ Costruttore ============
+
+  CacheRegion(String cacheName) {
+    this.cacheName = cacheName;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il nome della cache.
+   *
+   * @return il nome usato in metriche e messaggi
+   */
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Restituisce la cache con il nome indicato.
+   *
+   * @param cacheName il nome della cache
+   * @return la cache, o null se il nome non è noto
+   */
+  public static CacheRegion fromCacheName(String cacheName) {
+    for (CacheRegion region : values()) {
+      if (region.cacheName.equals(cacheName)) {
+        return region;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,209 @@
+package it.unimol.microserviceassessmentfeedback.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.CacheInvalidationPublisher;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache Caffeine per replica delle letture più frequenti di questionari e valutazioni.
+ *
+ * <p>Ogni {@link CacheRegion} è una cache limitata per dimensione e con scadenza dopo la
+ * scrittura. I servizi che modificano le entità invalidano le chiavi interessate dopo il commit
+ * e pubblicano l'invalidazione sul fanout exchange delle cache, così le altre repliche la
+ * applicano appena ricevuta; la scadenza limita l'effetto di un'invalidazione persa durante
+ * una disconnessione dal broker. Un caricamento e un'invalidazione concorrenti della stessa
+ * chiave sono serializzati da Caffeine, quindi un valore letto prima del commit non sopravvive
+ * all'invalidazione.</p>
+ *
+ * <p>Per ogni cache sono esposte le statistiche Caffeine e il rapporto di hit; il ritardo tra la
+ * pubblicazione di un'invalidazione e la sua applicazione sulle altre repliche è misurato dal
+ * timer {@value #INVALIDATION_LAG_METRIC}. I valori in cache sono condivisi tra le richieste e
+ * non devono essere modificati da chi li legge.</p>
+ */
+@Component
+public class LocalEntityCache {
+
+  static final String HIT_RATIO_METRIC = "cache.local.hit.ratio";
+  static final String INVALIDATION_LAG_METRIC = "cache.local.invalidation.lag";
+
+  private static final Logger logger = LoggerFactory.getLogger(LocalEntityCache.class);
+
+  private final CacheInvalidationPublisher cacheInvalidationPublisher;
+  private final boolean enabled;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Map<CacheRegion, Cache<String, Object>> caches = new EnumMap<>(CacheRegion.class);
+  private final Timer invalidationLag;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param cacheInvalidationPublisher il publisher delle invalidazioni verso le altre repliche
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   * @param enabled se false le letture vanno sempre al database
+   * @param maxSize il numero massimo di voci per cache
+   * @param expireAfterWriteMs la durata massima di una voce in cache
+   */
+  public LocalEntityCache(CacheInvalidationPublisher cacheInvalidationPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${cache.local.enabled:true}") boolean enabled,
+      @Value("${cache.local.max-size:10000}") long maxSize,
+      @Value("${cache.local.expire-after-write-ms:300000}") long expireAfterWriteMs) {
+    this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+    this.enabled = enabled;
+    for (CacheRegion region : CacheRegion.values()) {
+      Cache<String, Object> cache = Caffeine.newBuilder()
+          .maximumSize(Math.max(1, maxSize))
+          .expireAfterWrite(Duration.ofMillis(Math.max(1, expireAfterWriteMs)))
+          .recordStats()
+          .build();
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, region.getCacheName());
+      Gauge.builder(HIT_RATIO_METRIC, cache, value -> value.stats().hitRate())
+          .description("Rapporto di hit della cache locale")
+          .tag("cache", region.getCacheName())
+          .register(meterRegistry);
+      caches.put(region, cache);
+    }
+    this.invalidationLag = Timer.builder(INVALIDATION_LAG_METRIC)
+        .description("Ritardo tra la pubblicazione di un'invalidazione e la sua applicazione")
+        .register(meterRegistry);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il valore in cache per la chiave, caricandolo se assente. Le eccezioni del
+   * caricamento vengono propagate e nulla viene messo in cache.
+   *
+   * @param region la cache
+   * @param key la chiave
+   * @param loader il caricamento dal database
+   * @param <V> il tipo del valore
+   * @return il valore in cache o appena caricato
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V get(CacheRegion region, String key, Supplier<V> loader) {
+    if (!enabled || key == null) {
+      return loader.get();
+    }
+    return (V) caches.get(region).get(key, ignored -> loader.get());
+  }
+
+  /**
+   * Restituisce l'identificativo di questa replica, usato per ignorare le proprie invalidazioni.
+   *
+   * @return l'identificativo della replica
+   */
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * Restituisce il numero stimato di voci di una cache.
+   *
+   * @param region la cache
+   * @return il numero di voci
+   */
+  public long size(CacheRegion region) {
+    return caches.get(region).estimatedSize();
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Invalida le chiavi indicate su questa e sulle altre repliche, dopo il commit della
+   * transazione corrente.
+   *
+   * @param region la cache
+   * @param keys le chiavi da invalidare
+   */
+  public void evict(CacheRegion region, Collection<String> keys) {
+    List<String> evicted = keys.stream().filter(Objects::nonNull).distinct().toList();
+    if (!evicted.isEmpty()) {
+      afterCommit(() -> {
+        invalidate(region, evicted);
+        cacheInvalidationPublisher.publishInvalidation(instanceId, region.getCacheName(), evicted);
+      });
+    }
+  }
+
+  /**
+   * Svuota una cache su questa e sulle altre repliche, dopo il commit della transazione corrente.
+   *
+   * @param region la cache
+   */
+  public void evictAll(CacheRegion region) {
+    afterCommit(() -> {
+      invalidate(region, null);
+      cacheInvalidationPublisher.publishInvalidation(instanceId, region.getCacheName(), null);
+    });
+  }
+
+  /**
+   * Applica un'invalidazione ricevuta da un'altra replica.
+   *
+   * @param origin l'identificativo della replica che l'ha pubblicata
+   * @param cacheName il nome della cache
+   * @param keys le chiavi da invalidare, o null per svuotare la cache
+   * @param publishedAt l'istante di pubblicazione in millisecondi, se noto
+   */
+  public void applyRemote(String origin, String cacheName, List<String> keys, Long publishedAt) {
+    if (instanceId.equals(origin)) {
+      return;
+    }
+    CacheRegion region = CacheRegion.fromCacheName(cacheName);
+    if (region == null) {
+      logger.warn("Invalidazione ricevuta per una cache sconosciuta: {}", cacheName);
+      return;
+    }
+    invalidate(region, keys);
+    if (publishedAt != null) {
+      invalidationLag.record(Math.max(0, System.currentTimeMillis() - publishedAt),
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void invalidate(CacheRegion region, List<String> keys) {
+    Cache<String, Object> cache = caches.get(region);
+    if (keys == null) {
+      cache.invalidateAll();
+    } else {
+      cache.invalidateAll(keys);
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
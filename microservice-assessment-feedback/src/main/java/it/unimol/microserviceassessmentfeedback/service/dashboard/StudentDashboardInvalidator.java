@@ -0,0 +1,87 @@
+package it.unimol.microserviceassessmentfeedback.service.dashboard;
+
+import it.unimol.microserviceassessmentfeedback.repository.StudentDashboardRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Riceve le modifiche del dominio che riguardano uno studente e marca obsoleta la sua dashboard.
+ *
+ * <p>Va chiamato nella transazione della modifica: il flag diventa visibile insieme ai dati e
+ * costa un solo aggiornamento per chiave primaria. La ricostruzione avviene dopo, alla prima
+ * lettura o al ciclo successivo di {@link StudentDashboardService}.</p>
+ */
+@Component
+public class StudentDashboardInvalidator {
+
+  private final StudentDashboardRepository studentDashboardRepository;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param studentDashboardRepository il repository delle dashboard
+   */
+  public StudentDashboardInvalidator(StudentDashboardRepository studentDashboardRepository) {
+    this.studentDashboardRepository = studentDashboardRepository;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Marca obsoleta la dashboard di uno studente.
+   *
+   * @param studentId l'ID dello studente
+   */
+  @Transactional
+  public void markStale(String studentId) {
+    if (studentId != null) {
+      studentDashboardRepository.markStale(List.of(studentId));
+    }
+  }
+
+  /**
+   * Marca obsolete le dashboard di più studenti.
+   *
+   * @param studentIds gli ID degli studenti
+   */
+  @Transactional
+  public void markStale(Collection<String> studentIds) {
+    List<String> ids = studentIds.stream().filter(Objects::nonNull).distinct().toList();
+    if (!ids.isEmpty()) {
+      studentDashboardRepository.markStale(ids);
+    }
+  }
+
+  /**
+   * Marca obsolete le dashboard degli studenti a cui appartengono le valutazioni indicate.
+   *
+   * @param assessmentIds gli ID delle valutazioni modificate
+   */
+  @Transactional
+  public void markStaleForAssessments(Collection<String> assessmentIds) {
+    if (!assessmentIds.isEmpty()) {
+      studentDashboardRepository.markStaleForAssessments(assessmentIds);
+    }
+  }
+
+  /**
+   * Elimina la dashboard di uno studente cancellato.
+   *
+   * @param studentId l'ID dello studente
+   */
+  @Transactional
+  public void evict(String studentId) {
+    if (studentId != null && studentDashboardRepository.existsById(studentId)) {
+      studentDashboardRepository.deleteById(studentId);
+    }
+  }
+}
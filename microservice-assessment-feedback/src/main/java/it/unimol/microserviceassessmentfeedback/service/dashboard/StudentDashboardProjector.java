@@ -0,0 +1,112 @@
+package it.unimol.microserviceassessmentfeedback.service.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
+import it.unimol.microserviceassessmentfeedback.dto.StudentDashboardDto;
+import it.unimol.microserviceassessmentfeedback.model.StudentDashboard;
+import it.unimol.microserviceassessmentfeedback.repository.StudentDashboardRepository;
+import it.unimol.microserviceassessmentfeedback.service.AssessmentService;
+import it.unimol.microserviceassessmentfeedback.service.DetailedFeedbackService;
+import it.unimol.microserviceassessmentfeedback.service.SurveyResponseService;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ricostruisce e salva il documento della dashboard di uno studente.
+ *
+ * <p>La riga della dashboard viene letta prima dei dati di origine: se nel frattempo una
+ * modifica la marca obsoleta, la versione cambia e il salvataggio fallisce con un errore di
+ * lock ottimistico, lasciando il documento obsoleto per la ricostruzione successiva.</p>
+ */
+@Component
+public class StudentDashboardProjector {
+
+  private final StudentDashboardRepository studentDashboardRepository;
+  private final AssessmentService assessmentService;
+  private final DetailedFeedbackService detailedFeedbackService;
+  private final SurveyResponseService surveyResponseService;
+  private final ObjectMapper objectMapper;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param studentDashboardRepository il repository delle dashboard
+   * @param assessmentService il servizio delle valutazioni
+   * @param detailedFeedbackService il servizio dei feedback dettagliati
+   * @param surveyResponseService il servizio delle risposte ai questionari
+   * @param objectMapper il mapper JSON usato per serializzare il documento
+   */
+  public StudentDashboardProjector(StudentDashboardRepository studentDashboardRepository,
+      AssessmentService assessmentService, DetailedFeedbackService detailedFeedbackService,
+      SurveyResponseService surveyResponseService, ObjectMapper objectMapper) {
+    this.studentDashboardRepository = studentDashboardRepository;
+    this.assessmentService = assessmentService;
+    this.detailedFeedbackService = detailedFeedbackService;
+    this.surveyResponseService = surveyResponseService;
+    this.objectMapper = objectMapper;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Ricostruisce dai dati di origine la dashboard di uno studente e la salva come aggiornata.
+   *
+   * @param studentId l'ID dello studente
+   * @return la dashboard salvata
+   */
+  @Transactional
+  public StudentDashboard rebuild(String studentId) {
+    StudentDashboard dashboard = studentDashboardRepository.findById(studentId)
+        .orElseGet(() -> new StudentDashboard(studentId));
+
+    dashboard.setDocument(toJson(build(studentId)));
+    dashboard.setStale(false);
+    return studentDashboardRepository.save(dashboard);
+  }
+
+  /**
+   * Calcola la parte personale della dashboard di uno studente, senza i questionari
+   * disponibili che sono comuni a tutti gli studenti.
+   *
+   * @param studentId l'ID dello studente
+   * @return il documento della dashboard
+   */
+  @Transactional(readOnly = true)
+  public StudentDashboardDto build(String studentId) {
+    List<AssessmentDto> assessments = assessmentService.findAssessmentsByStudentId(studentId);
+
+    StudentDashboardDto dashboard = new StudentDashboardDto();
+    dashboard.setStudentId(studentId);
+    dashboard.setAssessments(assessments);
+    dashboard.setFeedback(detailedFeedbackService.getFeedbackByStudentId(studentId));
+    dashboard.setSurveyResponses(surveyResponseService.getResponsesByStudentId(studentId));
+    OptionalDouble averageScore = assessments.stream()
+        .map(AssessmentDto::getScore)
+        .filter(Objects::nonNull)
+        .mapToDouble(Double::doubleValue)
+        .average();
+    dashboard.setAverageScore(averageScore.isPresent() ? averageScore.getAsDouble() : null);
+    dashboard.setGeneratedAt(LocalDateTime.now(ZoneId.systemDefault()));
+    return dashboard;
+  }
+
+  private String toJson(StudentDashboardDto dashboard) {
+    try {
+      return objectMapper.writeValueAsString(dashboard);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Serializzazione della dashboard non riuscita", e);
+    }
+  }
+}
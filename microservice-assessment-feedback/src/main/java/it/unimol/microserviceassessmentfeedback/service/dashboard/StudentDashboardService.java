@@ -0,0 +1,222 @@
+package it.unimol.microserviceassessmentfeedback.service.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.dto.StudentDashboardDto;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyResponseDto;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
+import it.unimol.microserviceassessmentfeedback.model.StudentDashboard;
+import it.unimol.microserviceassessmentfeedback.repository.StudentDashboardRepository;
+import it.unimol.microserviceassessmentfeedback.service.TeacherSurveyService;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Lettura della dashboard studente da un documento precalcolato (read model CQRS).
+ *
+ * <p>Le scritture su valutazioni, feedback e risposte marcano obsoleta la dashboard dello
+ * studente tramite {@link StudentDashboardInvalidator}; un ciclo schedulato, eseguito solo dalla
+ * replica leader del job, ricostruisce i documenti obsoleti. Una lettura è quindi, nel caso
+ * normale, una sola lettura per chiave primaria; se il documento manca o è ancora obsoleto viene
+ * ricostruito subito, così lo studente vede sempre le proprie modifiche.</p>
+ *
+ * <p>I questionari disponibili dipendono dai corsi dello studente: invece di riscrivere ogni
+ * dashboard a ogni cambio di stato di un questionario, vengono letti da
+ * {@link AvailableSurveyIndex} e uniti al documento al momento della risposta. L'ETag combina
+ * l'hash del documento e quello dell'elenco dei questionari dello studente.</p>
+ */
+@Service
+public class StudentDashboardService {
+
+  static final String JOB_NAME = "student-dashboard-refresh";
+
+  private static final Logger logger = LoggerFactory.getLogger(StudentDashboardService.class);
+
+  private final StudentDashboardRepository studentDashboardRepository;
+  private final StudentDashboardProjector studentDashboardProjector;
+  private final AvailableSurveyIndex availableSurveyIndex;
+  private final JobLeaseManager jobLeaseManager;
+  private final ObjectMapper objectMapper;
+  private final int refreshBatchSize;
+
+  /**
+   * Dashboard pronta per la risposta HTTP.
+   *
+   * @param etag l'ETag del contenuto, senza virgolette
+   * @param dashboard la dashboard, null se il client ha già la versione corrente
+   */
+  public record StudentDashboardView(String etag, StudentDashboardDto dashboard) {
+
+    /**
+     * Indica se il client ha già la versione corrente della dashboard.
+     *
+     * @return true se la risposta può essere un 304
+     */
+    public boolean notModified() {
+      return dashboard == null;
+    }
+  }
+
+  private record AvailableSurveys(List<TeacherSurveyDto> surveys, String hash) {
+  }
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param studentDashboardRepository il repository delle dashboard
+   * @param studentDashboardProjector la ricostruzione transazionale delle dashboard
+   * @param availableSurveyIndex l'indice dei questionari disponibili per studente
+   * @param jobLeaseManager la leader election dei job di background
+   * @param objectMapper il mapper JSON dei documenti
+   * @param refreshBatchSize il numero massimo di dashboard ricostruite per ciclo
+   */
+  public StudentDashboardService(StudentDashboardRepository studentDashboardRepository,
+      StudentDashboardProjector studentDashboardProjector,
+      AvailableSurveyIndex availableSurveyIndex, JobLeaseManager jobLeaseManager,
+      ObjectMapper objectMapper,
+      @Value("${dashboard.refresh-batch-size:200}") int refreshBatchSize) {
+    this.studentDashboardRepository = studentDashboardRepository;
+    this.studentDashboardProjector = studentDashboardProjector;
+    this.availableSurveyIndex = availableSurveyIndex;
+    this.jobLeaseManager = jobLeaseManager;
+    this.objectMapper = objectMapper;
+    this.refreshBatchSize = Math.max(1, refreshBatchSize);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce la dashboard di uno studente, o solo il suo ETag se coincide con quello già in
+   * possesso del client.
+   *
+   * @param studentId l'ID dello studente
+   * @param ifNoneMatch il valore dell'header {@code If-None-Match}, può essere null
+   * @return la dashboard con il relativo ETag
+   */
+  public StudentDashboardView getDashboard(String studentId, String ifNoneMatch) {
+    String document = loadDocument(studentId);
+    AvailableSurveys surveys = availableSurveys(studentId);
+    String etag = DigestUtils.md5DigestAsHex(document.getBytes(StandardCharsets.UTF_8))
+        + "-" + surveys.hash();
+
+    if (matches(ifNoneMatch, etag)) {
+      return new StudentDashboardView(etag, null);
+    }
+    return new StudentDashboardView(etag, compose(document, surveys.surveys()));
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Ricostruisce un blocco di dashboard obsolete se questa replica è leader del job.
+   */
+  @Scheduled(fixedDelayString = "${dashboard.refresh-interval-ms:2000}")
+  public void refreshStale() {
+    try {
+      jobLeaseManager.runExclusive(JOB_NAME, this::refreshStaleChunk);
+    } catch (Exception e) {
+      logger.error("Errore nell'aggiornamento delle dashboard studente", e);
+    }
+  }
+
+  void refreshStaleChunk() {
+    List<String> studentIds =
+        studentDashboardRepository.findStaleStudentIds(PageRequest.of(0, refreshBatchSize));
+    for (String studentId : studentIds) {
+      try {
+        studentDashboardProjector.rebuild(studentId);
+      } catch (ObjectOptimisticLockingFailureException e) {
+        logger.debug("Dashboard dello studente {} modificata durante la ricostruzione", studentId);
+      } catch (RuntimeException e) {
+        logger.warn("Errore nella ricostruzione della dashboard dello studente {}: {}",
+            studentId, e.getMessage());
+      }
+    }
+  }
+
+  private String loadDocument(String studentId) {
+    Optional<StudentDashboard> stored = studentDashboardRepository.findById(studentId);
+    if (stored.isPresent() && !stored.get().isStale()) {
+      return stored.get().getDocument();
+    }
+
+    try {
+      return studentDashboardProjector.rebuild(studentId).getDocument();
+    } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+      // Una modifica o una ricostruzione concorrente: il documento salvato resta obsoleto,
+      // ma la risposta deve comunque riflettere i dati correnti.
+      logger.debug("Ricostruzione concorrente della dashboard dello studente {}", studentId);
+      return toJson(studentDashboardProjector.build(studentId));
+    }
+  }
+
+  private AvailableSurveys availableSurveys(String studentId) {
+    List<TeacherSurveyDto> surveys = availableSurveyIndex.availableFor(studentId).stream()
+        .map(TeacherSurveyService::convertToDto)
+        .toList();
+    String hash = DigestUtils.md5DigestAsHex(toJson(surveys).getBytes(StandardCharsets.UTF_8));
+    return new AvailableSurveys(surveys, hash);
+  }
+
+  private StudentDashboardDto compose(String document, List<TeacherSurveyDto> surveys) {
+    StudentDashboardDto dashboard;
+    try {
+      dashboard = objectMapper.readValue(document, StudentDashboardDto.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Documento della dashboard non leggibile", e);
+    }
+
+    Set<String> answered = dashboard.getSurveyResponses() == null ? Set.of()
+        : dashboard.getSurveyResponses().stream()
+            .map(SurveyResponseDto::getSurveyId)
+            .collect(Collectors.toSet());
+    dashboard.setAvailableSurveys(surveys);
+    dashboard.setPendingSurveys((int) surveys.stream()
+        .filter(survey -> !answered.contains(survey.getId()))
+        .count());
+    return dashboard;
+  }
+
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    String quoted = "\"" + etag + "\"";
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(quoted)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Serializzazione della dashboard non riuscita", e);
+    }
+  }
+}
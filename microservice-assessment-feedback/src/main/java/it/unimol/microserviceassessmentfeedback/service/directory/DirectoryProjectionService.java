@@ -0,0 +1,321 @@
+package it.unimol.microserviceassessmentfeedback.service.directory;
+
+import it.unimol.microserviceassessmentfeedback.model.CourseProjection;
+import it.unimol.microserviceassessmentfeedback.model.UserProjection;
+import it.unimol.microserviceassessmentfeedback.repository.CourseProjectionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.UserProjectionRepository;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryReadModel.CourseEntry;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryReadModel.UserEntry;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mantiene le proiezioni locali di utenti e corsi a partire dagli eventi ricevuti e ne alimenta
+ * l'indice in memoria {@link DirectoryReadModel}.
+ *
+ * <p>Ogni evento aggiorna la riga della proiezione solo se è più recente di quello già applicato,
+ * quindi eventi duplicati o fuori ordine non sovrascrivono dati più nuovi; un evento senza
+ * timestamp è considerato il più vecchio. L'indice in memoria viene aggiornato solo dopo il
+ * commit della proiezione. All'avvio l'indice
+ * viene caricato dalle tabelle a pagine in ordine di ID; in seguito ogni replica recupera
+ * periodicamente le righe modificate dalle altre repliche, che consumano eventi diversi dalla
+ * stessa coda.</p>
+ */
+@Service
+public class DirectoryProjectionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(DirectoryProjectionService.class);
+
+  private final UserProjectionRepository userProjectionRepository;
+  private final CourseProjectionRepository courseProjectionRepository;
+  private final DirectoryReadModel directoryReadModel;
+  private final int bootstrapPageSize;
+  private final long refreshOverlapMs;
+  private volatile LocalDateTime lastSync;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param userProjectionRepository il repository della proiezione utenti
+   * @param courseProjectionRepository il repository della proiezione corsi
+   * @param directoryReadModel l'indice in memoria
+   * @param bootstrapPageSize il numero di righe lette per pagina durante il bootstrap
+   * @param refreshOverlapMs la sovrapposizione tra due letture incrementali, per non perdere
+   *                         righe scritte da transazioni ancora aperte o da repliche con
+   *                         orologio sfasato
+   */
+  public DirectoryProjectionService(UserProjectionRepository userProjectionRepository,
+      CourseProjectionRepository courseProjectionRepository,
+      DirectoryReadModel directoryReadModel,
+      @Value("${directory.bootstrap-page-size:1000}") int bootstrapPageSize,
+      @Value("${directory.refresh-overlap-ms:2000}") long refreshOverlapMs) {
+    this.userProjectionRepository = userProjectionRepository;
+    this.courseProjectionRepository = courseProjectionRepository;
+    this.directoryReadModel = directoryReadModel;
+    this.bootstrapPageSize = Math.max(1, bootstrapPageSize);
+    this.refreshOverlapMs = Math.max(0, refreshOverlapMs);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Applica un evento di creazione o aggiornamento di uno studente.
+   *
+   * @param studentId l'ID dello studente
+   * @param firstName il nome
+   * @param lastName il cognome
+   * @param department il dipartimento
+   * @param degreeProgram il corso di laurea
+   * @param yearOfStudy l'anno di corso
+   * @param timestamp il timestamp dell'evento, null se assente
+   * @return true se la proiezione è stata aggiornata
+   */
+  @Transactional
+  public boolean applyStudent(String studentId, String firstName, String lastName,
+      String department, String degreeProgram, Integer yearOfStudy, Long timestamp) {
+    return upsertUser(studentId, DirectoryReadModel.STUDENT, timestamp, projection -> {
+      projection.setFirstName(firstName);
+      projection.setLastName(lastName);
+      projection.setDepartment(department);
+      projection.setDegreeProgram(degreeProgram);
+      projection.setYearOfStudy(yearOfStudy);
+      projection.setDeleted(false);
+    });
+  }
+
+  /**
+   * Applica un evento di creazione o aggiornamento di un docente.
+   *
+   * @param teacherId l'ID del docente
+   * @param firstName il nome
+   * @param lastName il cognome
+   * @param department il dipartimento
+   * @param timestamp il timestamp dell'evento, null se assente
+   * @return true se la proiezione è stata aggiornata
+   */
+  @Transactional
+  public boolean applyTeacher(String teacherId, String firstName, String lastName,
+      String department, Long timestamp) {
+    return upsertUser(teacherId, DirectoryReadModel.TEACHER, timestamp, projection -> {
+      projection.setFirstName(firstName);
+      projection.setLastName(lastName);
+      projection.setDepartment(department);
+      projection.setDeleted(false);
+    });
+  }
+
+  /**
+   * Applica un evento di cancellazione di un utente, registrando un tombstone senza dati
+   * personali.
+   *
+   * @param userId l'ID dell'utente
+   * @param userType il tipo di utente
+   * @param timestamp il timestamp dell'evento, null se assente
+   * @return true se la proiezione è stata aggiornata
+   */
+  @Transactional
+  public boolean applyUserDeleted(String userId, String userType, Long timestamp) {
+    String type = userType != null ? userType : DirectoryReadModel.STUDENT;
+    return upsertUser(userId, type, timestamp, projection -> {
+      projection.setFirstName(null);
+      projection.setLastName(null);
+      projection.setDegreeProgram(null);
+      projection.setYearOfStudy(null);
+      projection.setDeleted(true);
+    });
+  }
+
+  /**
+   * Applica un evento di creazione o aggiornamento di un corso.
+   *
+   * @param courseId l'ID del corso
+   * @param name il nome del corso
+   * @param code il codice del corso
+   * @param teacherId l'ID del docente titolare
+   * @param department il dipartimento
+   * @param academicYear l'anno accademico
+   * @param semester il semestre
+   * @param timestamp il timestamp dell'evento, null se assente
+   * @return true se la proiezione è stata aggiornata
+   */
+  @Transactional
+  public boolean applyCourse(String courseId, String name, String code, String teacherId,
+      String department, String academicYear, String semester, Long timestamp) {
+    return upsertCourse(courseId, timestamp, projection -> {
+      projection.setName(name);
+      projection.setCode(code);
+      projection.setTeacherId(teacherId);
+      projection.setDepartment(department);
+      projection.setAcademicYear(academicYear);
+      projection.setSemester(semester);
+      projection.setDeleted(false);
+    });
+  }
+
+  /**
+   * Applica un evento di cancellazione di un corso.
+   *
+   * @param courseId l'ID del corso
+   * @param timestamp il timestamp dell'evento, null se assente
+   * @return true se la proiezione è stata aggiornata
+   */
+  @Transactional
+  public boolean applyCourseDeleted(String courseId, Long timestamp) {
+    return upsertCourse(courseId, timestamp, projection -> projection.setDeleted(true));
+  }
+
+  /**
+   * Carica l'intero indice dalle proiezioni all'avvio, a pagine in ordine di ID.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void bootstrap() {
+    final long start = System.currentTimeMillis();
+    final LocalDateTime syncPoint = syncPoint();
+    int userCount = loadUsers();
+    int courseCount = loadCourses();
+    lastSync = syncPoint;
+    directoryReadModel.setReady(true);
+    logger.info("Indice locale caricato: {} utenti e {} corsi in {} ms", userCount, courseCount,
+        System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Recupera le righe delle proiezioni modificate dall'ultima lettura, incluse quelle scritte
+   * dalle altre repliche.
+   */
+  @Scheduled(fixedDelayString = "${directory.refresh-interval-ms:5000}",
+      initialDelayString = "${directory.refresh-interval-ms:5000}")
+  public void refresh() {
+    LocalDateTime since = lastSync;
+    if (since == null) {
+      return;
+    }
+    try {
+      LocalDateTime syncPoint = syncPoint();
+      userProjectionRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(since)
+          .forEach(projection -> directoryReadModel.putUser(toEntry(projection)));
+      courseProjectionRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(since)
+          .forEach(projection -> directoryReadModel.putCourse(toEntry(projection)));
+      lastSync = syncPoint;
+    } catch (Exception e) {
+      logger.warn("Aggiornamento dell'indice locale non riuscito: {}", e.getMessage());
+    }
+  }
+
+  private int loadUsers() {
+    int count = 0;
+    String after = "";
+    List<UserProjection> page;
+    do {
+      page = userProjectionRepository.findByIdGreaterThanOrderByIdAsc(after,
+          PageRequest.of(0, bootstrapPageSize));
+      page.forEach(projection -> directoryReadModel.putUser(toEntry(projection)));
+      count += page.size();
+      after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+    } while (page.size() == bootstrapPageSize);
+    return count;
+  }
+
+  private int loadCourses() {
+    int count = 0;
+    String after = "";
+    List<CourseProjection> page;
+    do {
+      page = courseProjectionRepository.findByIdGreaterThanOrderByIdAsc(after,
+          PageRequest.of(0, bootstrapPageSize));
+      page.forEach(projection -> directoryReadModel.putCourse(toEntry(projection)));
+      count += page.size();
+      after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+    } while (page.size() == bootstrapPageSize);
+    return count;
+  }
+
+  private boolean upsertUser(String userId, String userType, Long timestamp,
+      Consumer<UserProjection> update) {
+    if (userId == null || userId.isBlank()) {
+      return false;
+    }
+    long eventTime = timestamp != null ? timestamp : 0L;
+    UserProjection projection = userProjectionRepository.findById(userId).orElse(null);
+    if (projection == null) {
+      projection = new UserProjection(userId, userType, eventTime);
+    } else if (projection.getSourceTimestamp() > eventTime) {
+      logger.debug("Evento obsoleto ignorato per l'utente {}", userId);
+      return false;
+    }
+    projection.setUserType(userType);
+    projection.setSourceTimestamp(eventTime);
+    update.accept(projection);
+    UserEntry entry = toEntry(userProjectionRepository.save(projection));
+    afterCommit(() -> directoryReadModel.putUser(entry));
+    return true;
+  }
+
+  private boolean upsertCourse(String courseId, Long timestamp,
+      Consumer<CourseProjection> update) {
+    if (courseId == null || courseId.isBlank()) {
+      return false;
+    }
+    long eventTime = timestamp != null ? timestamp : 0L;
+    CourseProjection projection = courseProjectionRepository.findById(courseId).orElse(null);
+    if (projection == null) {
+      projection = new CourseProjection(courseId, eventTime);
+    } else if (projection.getSourceTimestamp() > eventTime) {
+      logger.debug("Evento obsoleto ignorato per il corso {}", courseId);
+      return false;
+    }
+    projection.setSourceTimestamp(eventTime);
+    update.accept(projection);
+    CourseEntry entry = toEntry(courseProjectionRepository.save(projection));
+    afterCommit(() -> directoryReadModel.putCourse(entry));
+    return true;
+  }
+
+  private LocalDateTime syncPoint() {
+    return LocalDateTime.now(ZoneId.systemDefault()).minusNanos(refreshOverlapMs * 1_000_000L);
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private static UserEntry toEntry(UserProjection projection) {
+    return new UserEntry(projection.getId(), projection.getUserType(), projection.getFirstName(),
+        projection.getLastName(), projection.getDepartment(), projection.getDegreeProgram(),
+        projection.getYearOfStudy(), projection.isDeleted());
+  }
+
+  private static CourseEntry toEntry(CourseProjection projection) {
+    return new CourseEntry(projection.getId(), projection.getName(), projection.getCode(),
+        projection.getTeacherId(), projection.getDepartment(), projection.getAcademicYear(),
+        projection.getSemester(), projection.isDeleted());
+  }
+}
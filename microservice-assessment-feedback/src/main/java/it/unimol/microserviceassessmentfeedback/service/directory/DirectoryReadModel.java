@@ -0,0 +1,174 @@
+package it.unimol.microserviceassessmentfeedback.service.directory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indice in memoria di studenti, docenti e corsi, alimentato da {@link DirectoryProjectionService}.
+ *
+ * <p>Permette di validare ID, mostrare nomi e filtrare i corsi di un docente senza interrogare il
+ * servizio utenti né il database. Le voci cancellate restano nell'indice marcate come tali, ma
+ * non sono restituite dalle ricerche.</p>
+ */
+@Component
+public class DirectoryReadModel {
+
+  public static final String STUDENT = "STUDENT";
+  public static final String TEACHER = "TEACHER";
+
+  private final Map<String, UserEntry> users = new ConcurrentHashMap<>();
+  private final Map<String, CourseEntry> courses = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> coursesByTeacher = new ConcurrentHashMap<>();
+  private volatile boolean ready;
+
+  // ============ Costruttore ============
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se il bootstrap dell'indice è terminato. Prima di allora l'assenza di un ID non
+   * significa che l'ID sia sconosciuto.
+   *
+   * @return true se l'indice è completo
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  void setReady(boolean ready) {
+    this.ready = ready;
+  }
+
+  /**
+   * Restituisce un utente attivo.
+   *
+   * @param userId l'ID dell'utente
+   * @return l'utente, se presente e non cancellato
+   */
+  public Optional<UserEntry> findUser(String userId) {
+    UserEntry entry = userId != null ? users.get(userId) : null;
+    return entry != null && !entry.deleted() ? Optional.of(entry) : Optional.empty();
+  }
+
+  /**
+   * Restituisce un corso attivo.
+   *
+   * @param courseId l'ID del corso
+   * @return il corso, se presente e non cancellato
+   */
+  public Optional<CourseEntry> findCourse(String courseId) {
+    CourseEntry entry = courseId != null ? courses.get(courseId) : null;
+    return entry != null && !entry.deleted() ? Optional.of(entry) : Optional.empty();
+  }
+
+  public boolean isActiveStudent(String userId) {
+    return findUser(userId).filter(user -> STUDENT.equals(user.userType())).isPresent();
+  }
+
+  public boolean isActiveTeacher(String userId) {
+    return findUser(userId).filter(user -> TEACHER.equals(user.userType())).isPresent();
+  }
+
+  public boolean isActiveCourse(String courseId) {
+    return findCourse(courseId).isPresent();
+  }
+
+  /**
+   * Restituisce il nome da mostrare per un utente, o l'ID stesso se l'utente non è noto.
+   *
+   * @param userId l'ID dell'utente
+   * @return il nome completo dell'utente, o il suo ID
+   */
+  public String getDisplayName(String userId) {
+    return findUser(userId).map(UserEntry::displayName).orElse(userId);
+  }
+
+  /**
+   * Restituisce gli ID dei corsi attivi di un docente.
+   *
+   * @param teacherId l'ID del docente
+   * @return gli ID dei corsi, vuoto se il docente non ha corsi noti
+   */
+  public Set<String> getCourseIdsByTeacher(String teacherId) {
+    Set<String> ids = teacherId != null ? coursesByTeacher.get(teacherId) : null;
+    return ids != null ? Set.copyOf(ids) : Set.of();
+  }
+
+  public int getUserCount() {
+    return users.size();
+  }
+
+  public int getCourseCount() {
+    return courses.size();
+  }
+
+  // ============ Metodi di Classe ============
+
+  void putUser(UserEntry entry) {
+    users.put(entry.id(), entry);
+  }
+
+  void putCourse(CourseEntry entry) {
+    CourseEntry previous = courses.put(entry.id(), entry);
+    if (previous != null && previous.teacherId() != null
+        && (entry.deleted() || !Objects.equals(previous.teacherId(), entry.teacherId()))) {
+      coursesByTeacher.computeIfPresent(previous.teacherId(), (teacher, ids) -> {
+        ids.remove(entry.id());
+        return ids.isEmpty() ? null : ids;
+      });
+    }
+    if (!entry.deleted() && entry.teacherId() != null) {
+      coursesByTeacher.computeIfAbsent(entry.teacherId(), teacher -> ConcurrentHashMap.newKeySet())
+          .add(entry.id());
+    }
+  }
+
+  /**
+   * Voce compatta dell'indice per uno studente o un docente.
+   *
+   * @param id l'ID dell'utente
+   * @param userType il tipo di utente (STUDENT, TEACHER)
+   * @param firstName il nome
+   * @param lastName il cognome
+   * @param department il dipartimento
+   * @param degreeProgram il corso di laurea (solo studenti)
+   * @param yearOfStudy l'anno di corso (solo studenti)
+   * @param deleted true se l'utente è stato cancellato
+   */
+  public record UserEntry(String id, String userType, String firstName, String lastName,
+      String department, String degreeProgram, Integer yearOfStudy, boolean deleted) {
+
+    /**
+     * Restituisce il nome completo dell'utente, o il suo ID se il nome non è noto.
+     *
+     * @return il nome da mostrare
+     */
+    public String displayName() {
+      String name = ((firstName != null ? firstName : "") + " "
+          + (lastName != null ? lastName : "")).trim();
+      return name.isEmpty() ? id : name;
+    }
+  }
+
+  /**
+   * Voce compatta dell'indice per un corso.
+   *
+   * @param id l'ID del corso
+   * @param name il nome del corso
+   * @param code il codice del corso
+   * @param teacherId l'ID del docente titolare
+   * @param department il dipartimento
+   * @param academicYear l'anno accademico
+   * @param semester il semestre
+   * @param deleted true se il corso è stato cancellato
+   */
+  public record CourseEntry(String id, String name, String code, String teacherId,
+      String department, String academicYear, String semester, boolean deleted) {
+  }
+}
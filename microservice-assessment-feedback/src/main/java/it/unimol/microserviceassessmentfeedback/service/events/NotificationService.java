@@ -1,11 +1,15 @@
 package it.unimol.microserviceassessmentfeedback.service.events;
 
+import it.unimol.microserviceassessmentfeedback.enums.NotificationType;
+import it.unimol.microserviceassessmentfeedback.service.notification.NotificationDispatcher;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
@@ -13,7 +17,9 @@ import org.springframework.stereotype.Service;
  * del sistema Assessment & Feedback.
  *
  * <p>Il servizio produce messaggi di notifica per docenti, studenti
- * e stakeholder, utilizzando il logging come meccanismo di output.</p>
+ * e stakeholder. Ogni messaggio viene registrato nel log e inoltrato al
+ * {@link NotificationDispatcher}, che lo accorpa nel digest del destinatario
+ * e lo consegna in modo asincrono sui canali configurati.</p>
  */
 @Service
 public class NotificationService {
@@ -21,6 +27,10 @@ public class NotificationService {
   private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
   private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern(
       "yyyy-MM-dd HH:mm:ss");
+  private static final String COURSE_RECIPIENT_PREFIX = "course:";
+
+  @Autowired(required = false)
+  private NotificationDispatcher notificationDispatcher;
 
   // ============ Costruttore ============
 
@@ -45,6 +55,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [TEACHER]: {}", message);
+    dispatch(teacherId, NotificationType.TEACHER_SUBMISSION, message);
   }
 
   /**
@@ -58,6 +69,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [TEACHER]: {}", message);
+    dispatch(teacherId, NotificationType.TEACHER_EXAM_COMPLETION, message);
   }
 
   /**
@@ -71,6 +83,7 @@ public class NotificationService {
     );
 
     logger.warn("REMINDER [TEACHER]: {}", message);
+    dispatch(teacherId, NotificationType.ASSESSMENT_REMINDER, message);
   }
 
   // ===================================================================
@@ -88,6 +101,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [STUDENT]: {}", message);
+    dispatch(studentId, NotificationType.STUDENT_FEEDBACK, message);
   }
 
   /**
@@ -101,6 +115,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [STUDENT]: {}", message);
+    dispatch(studentId, NotificationType.STUDENT_GRADE, message);
   }
 
   /**
@@ -115,6 +130,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [STUDENT]: {}", message);
+    dispatch(studentId, NotificationType.STUDENT_SURVEY, message);
   }
 
   /**
@@ -129,6 +145,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [ASSIGNMENT_UPDATE]: {}", message);
+    dispatch(COURSE_RECIPIENT_PREFIX + courseId, NotificationType.ASSIGNMENT_UPDATE, message);
 
     switch (updateType) {
       case "DUE_DATE_CHANGED":
@@ -152,6 +169,21 @@ public class NotificationService {
     }
   }
 
+  /**
+   * Promemoria agli studenti del corso per la scadenza imminente di un assignment.
+   */
+  public void sendAssignmentDeadlineReminder(String assignmentId, String courseId,
+      long deadline) {
+    String message = String.format(
+        "[%s] SCADENZA IMMINENTE - Assignment: %s | Corso: %s | Scadenza: %s",
+        getCurrentTimestamp(), assignmentId, courseId, LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(deadline), ZoneId.systemDefault()).format(TIMESTAMP_FORMAT)
+    );
+
+    logger.info("REMINDER [ASSIGNMENT_DEADLINE]: {}", message);
+    dispatch(COURSE_RECIPIENT_PREFIX + courseId, NotificationType.ASSIGNMENT_DEADLINE, message);
+  }
+
   /**
    * Formatta il tipo di aggiornamento in modo user-friendly.
    */
@@ -181,6 +213,7 @@ public class NotificationService {
     );
 
     logger.warn("NOTIFICATION [COURSE_DELETION]: {}", message);
+    dispatch(teacherId, NotificationType.COURSE_DELETION, message);
   }
 
   /**
@@ -194,6 +227,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [WELCOME]: {}", message);
+    dispatch(userId, NotificationType.WELCOME, message);
   }
 
   // ===================================================================
@@ -211,6 +245,7 @@ public class NotificationService {
     );
 
     logger.info("NOTIFICATION [SURVEY]: {}", message);
+    dispatch(studentId, NotificationType.SURVEY_POST_EXAM, message);
   }
 
   /**
@@ -224,12 +259,22 @@ public class NotificationService {
     );
 
     logger.info("📧 NOTIFICATION [SURVEY_SCHEDULED]: {}", message);
+    dispatch(studentId, NotificationType.SURVEY_SCHEDULED, message);
   }
 
   // ===================================================================
   // UTILITY METHODS
   // ===================================================================
 
+  /**
+   * Inoltra la notifica alla pipeline di consegna, che la accorpa nel digest del destinatario.
+   */
+  private void dispatch(String recipientId, NotificationType type, String message) {
+    if (notificationDispatcher != null) {
+      notificationDispatcher.enqueue(recipientId, type, message);
+    }
+  }
+
   private String getCurrentTimestamp() {
     return LocalDateTime.now(ZoneId.systemDefault()).format(TIMESTAMP_FORMAT);
   }
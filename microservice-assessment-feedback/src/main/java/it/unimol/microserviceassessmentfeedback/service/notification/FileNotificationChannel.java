@@ -0,0 +1,79 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canale di notifica su file, sostituto locale di un server SMTP: ogni destinatario ha una
+ * mailbox in formato mbox nella directory configurata.
+ */
+@Component
+@ConditionalOnProperty(prefix = "notifications.channels.file", name = "enabled",
+    havingValue = "true")
+public class FileNotificationChannel implements NotificationChannel {
+
+  private final Path directory;
+  private final double ratePerSecond;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del canale su file.
+   *
+   * @param directory la directory delle mailbox
+   * @param ratePerSecond numero massimo di notifiche al secondo
+   */
+  public FileNotificationChannel(
+      @Value("${notifications.channels.file.directory:./notifications}") String directory,
+      @Value("${notifications.channels.file.rate-per-second:20}") double ratePerSecond) {
+    this.directory = Path.of(directory);
+    this.ratePerSecond = ratePerSecond;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public String getName() {
+    return "file";
+  }
+
+  @Override
+  public double getRatePerSecond() {
+    return ratePerSecond;
+  }
+
+  @Override
+  public void send(Notification notification) throws IOException {
+    Files.createDirectories(directory);
+    String nl = System.lineSeparator();
+    String entry = "From assessment-feedback " + Instant.now() + nl
+        + "To: " + notification.recipientId() + nl
+        + "Subject: " + notification.subject() + nl
+        + nl
+        + notification.body() + nl
+        + nl;
+    Files.writeString(mailbox(notification.recipientId()), entry, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Restituisce il file mailbox di un destinatario.
+   *
+   * @param recipientId identificativo del destinatario
+   * @return il percorso della mailbox
+   */
+  Path mailbox(String recipientId) {
+    return directory.resolve(recipientId.replaceAll("[^A-Za-z0-9._-]", "_") + ".mbox");
+  }
+}
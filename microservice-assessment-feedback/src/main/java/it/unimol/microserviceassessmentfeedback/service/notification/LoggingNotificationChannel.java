@@ -0,0 +1,54 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canale di notifica che scrive le notifiche consegnate nel log applicativo.
+ */
+@Component
+@ConditionalOnProperty(prefix = "notifications.channels.log", name = "enabled",
+    havingValue = "true", matchIfMissing = true)
+public class LoggingNotificationChannel implements NotificationChannel {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationChannel.class);
+
+  private final double ratePerSecond;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del canale di log.
+   *
+   * @param ratePerSecond numero massimo di notifiche al secondo
+   */
+  public LoggingNotificationChannel(
+      @Value("${notifications.channels.log.rate-per-second:50}") double ratePerSecond) {
+    this.ratePerSecond = ratePerSecond;
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public String getName() {
+    return "log";
+  }
+
+  @Override
+  public double getRatePerSecond() {
+    return ratePerSecond;
+  }
+
+  @Override
+  public void send(Notification notification) {
+    logger.info("NOTIFICA CONSEGNATA a {} - {}:{}{}", notification.recipientId(),
+        notification.subject(), System.lineSeparator(), notification.body());
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+}
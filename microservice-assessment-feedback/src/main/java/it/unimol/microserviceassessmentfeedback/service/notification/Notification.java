@@ -0,0 +1,48 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+import it.unimol.microserviceassessmentfeedback.enums.NotificationType;
+import java.util.List;
+
+/**
+ * Notifica pronta per la consegna: raccoglie in un unico messaggio tutti gli eventi dello stesso
+ * tipo ricevuti da un destinatario nella finestra di digest.
+ *
+ * @param recipientId identificativo del destinatario
+ * @param type tipologia della notifica
+ * @param eventCount numero di eventi accorpati
+ * @param lines righe di dettaglio (al massimo quelle configurate per il digest)
+ * @param windowStart inizio della finestra di digest in epoch millis
+ */
+public record Notification(String recipientId, NotificationType type, int eventCount,
+    List<String> lines, long windowStart) {
+
+  /**
+   * Costruttore compatto che rende immutabili le righe di dettaglio.
+   */
+  public Notification {
+    lines = List.copyOf(lines);
+  }
+
+  /**
+   * Restituisce l'oggetto della notifica.
+   *
+   * @return l'etichetta del tipo, con il numero di eventi se accorpati
+   */
+  public String subject() {
+    return eventCount > 1 ? type.getLabel() + " (" + eventCount + ")" : type.getLabel();
+  }
+
+  /**
+   * Restituisce il corpo della notifica, una riga per evento.
+   *
+   * @return il corpo della notifica
+   */
+  public String body() {
+    StringBuilder body = new StringBuilder(String.join(System.lineSeparator(), lines));
+    int omitted = eventCount - lines.size();
+    if (omitted > 0) {
+      body.append(System.lineSeparator()).append("... e altri ").append(omitted).append(" eventi");
+    }
+    return body.toString();
+  }
+}
@@ -0,0 +1,30 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+/**
+ * Canale di consegna delle notifiche. Ogni implementazione registrata come bean riceve tutte le
+ * notifiche prodotte dal {@link NotificationDispatcher}, nel rispetto del proprio rate limit.
+ */
+public interface NotificationChannel {
+
+  /**
+   * Restituisce il nome del canale, usato nei log e nelle metriche.
+   *
+   * @return il nome del canale
+   */
+  String getName();
+
+  /**
+   * Restituisce il numero massimo di notifiche consegnabili al secondo (0 = nessun limite).
+   *
+   * @return il rate limit del canale
+   */
+  double getRatePerSecond();
+
+  /**
+   * Consegna una notifica.
+   *
+   * @param notification la notifica da consegnare
+   * @throws Exception se la consegna fallisce
+   */
+  void send(Notification notification) throws Exception;
+}
@@ -0,0 +1,343 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.unimol.microserviceassessmentfeedback.enums.NotificationType;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pipeline di consegna asincrona delle notifiche.
+ *
+ * <p>Le richieste di notifica vengono accodate senza bloccare il chiamante e accorpate per
+ * (destinatario, tipo) in una finestra temporale: un docente che riceve 300 consegne nella stessa
+ * finestra riceve un'unica notifica di digest. Alla chiusura della finestra il digest viene
+ * inoltrato a tutti i {@link NotificationChannel} registrati, ciascuno con una propria coda di
+ * uscita limitata e un rate limit a token bucket. Le notifiche oltre il limite restano in coda per
+ * il ciclo successivo; quelle la cui consegna fallisce vengono rimesse in coda e ritentate al ciclo
+ * successivo, fino al numero massimo di tentativi. Digest oltre la capacità, notifiche oltre la
+ * coda di uscita e consegne che esauriscono i tentativi vengono scartate e contate.</p>
+ */
+@Component
+public class NotificationDispatcher {
+
+  static final String ENQUEUED_METRIC = "notifications.enqueued";
+  static final String COLLAPSED_METRIC = "notifications.collapsed";
+  static final String DROPPED_METRIC = "notifications.dropped";
+  static final String DELIVERED_METRIC = "notifications.delivered";
+  static final String PENDING_METRIC = "notifications.digests.pending";
+  static final String OUTBOX_METRIC = "notifications.outbox.size";
+
+  private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+  private final MeterRegistry meterRegistry;
+  private final long windowMillis;
+  private final int maxLines;
+  private final int capacity;
+  private final int outboxCapacity;
+  private final int maxAttempts;
+
+  private final Map<DigestKey, Digest> digests = new ConcurrentHashMap<>();
+  private final AtomicInteger openDigests = new AtomicInteger();
+  private final List<ChannelOutbox> outboxes = new ArrayList<>();
+  private final Counter collapsed;
+  private final Counter dropped;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore del dispatcher.
+   *
+   * @param channels i canali di consegna registrati
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   * @param windowMillis ampiezza della finestra di digest in millisecondi (0 = nessun digest)
+   * @param maxLines numero massimo di righe di dettaglio per digest
+   * @param capacity numero massimo di digest aperti contemporaneamente
+   * @param outboxCapacity numero massimo di notifiche in attesa per canale
+   * @param maxAttempts numero massimo di tentativi di consegna di una notifica
+   */
+  public NotificationDispatcher(ObjectProvider<NotificationChannel> channels,
+      MeterRegistry meterRegistry,
+      @Value("${notifications.digest.window-ms:300000}") long windowMillis,
+      @Value("${notifications.digest.max-lines:20}") int maxLines,
+      @Value("${notifications.digest.capacity:50000}") int capacity,
+      @Value("${notifications.outbox.capacity:10000}") int outboxCapacity,
+      @Value("${notifications.delivery.max-attempts:3}") int maxAttempts) {
+    this.meterRegistry = meterRegistry;
+    this.windowMillis = Math.max(0L, windowMillis);
+    this.maxLines = Math.max(1, maxLines);
+    this.capacity = Math.max(1, capacity);
+    this.outboxCapacity = Math.max(1, outboxCapacity);
+    this.maxAttempts = Math.max(1, maxAttempts);
+
+    channels.orderedStream().forEach(channel -> outboxes.add(new ChannelOutbox(channel)));
+    this.collapsed = Counter.builder(COLLAPSED_METRIC)
+        .description("Eventi accorpati in un digest invece di generare una notifica separata")
+        .register(meterRegistry);
+    this.dropped = Counter.builder(DROPPED_METRIC)
+        .description("Notifiche scartate per capacità esaurita o tentativi di consegna esauriti")
+        .register(meterRegistry);
+    Gauge.builder(PENDING_METRIC, digests, Map::size)
+        .description("Digest in attesa della chiusura della finestra")
+        .register(meterRegistry);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il numero di digest aperti.
+   *
+   * @return il numero di digest in attesa
+   */
+  public int getPendingDigests() {
+    return digests.size();
+  }
+
+  /**
+   * Restituisce il numero di notifiche in attesa di consegna su un canale.
+   *
+   * @param channelName il nome del canale
+   * @return la dimensione della coda di uscita, 0 se il canale non esiste
+   */
+  public int getOutboxSize(String channelName) {
+    return outboxes.stream()
+        .filter(outbox -> outbox.channel.getName().equals(channelName))
+        .mapToInt(outbox -> outbox.queue.size())
+        .findFirst()
+        .orElse(0);
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Accoda una notifica per un destinatario. La chiamata non esegue I/O.
+   *
+   * @param recipientId identificativo del destinatario
+   * @param type tipologia della notifica
+   * @param line riga di dettaglio dell'evento
+   */
+  public void enqueue(String recipientId, NotificationType type, String line) {
+    enqueue(recipientId, type, line, System.currentTimeMillis());
+  }
+
+  void enqueue(String recipientId, NotificationType type, String line, long now) {
+    if (recipientId == null || type == null) {
+      return;
+    }
+    Counter.builder(ENQUEUED_METRIC)
+        .description("Richieste di notifica ricevute")
+        .tag("type", type.name())
+        .register(meterRegistry)
+        .increment();
+
+    Digest digest = digests.compute(new DigestKey(recipientId, type), (k, existing) -> {
+      if (existing == null && !reserveDigest()) {
+        return null;
+      }
+      Digest target = existing != null ? existing : new Digest(now);
+      if (existing != null) {
+        collapsed.increment();
+      }
+      target.add(line, maxLines);
+      return target;
+    });
+    if (digest == null) {
+      dropped.increment();
+      logger.warn("Capacità notifiche esaurita, scartata notifica {} per {}", type, recipientId);
+    }
+  }
+
+  /**
+   * Chiude i digest la cui finestra è scaduta e consegna le notifiche entro i rate limit.
+   */
+  @Scheduled(fixedDelayString = "${notifications.dispatch.interval-ms:1000}")
+  public void dispatch() {
+    flush(System.currentTimeMillis(), false);
+  }
+
+  /**
+   * Consegna tutte le notifiche in sospeso ignorando finestre e rate limit.
+   * Invocato alla chiusura del contesto applicativo.
+   */
+  @PreDestroy
+  public void flushAll() {
+    flush(System.currentTimeMillis(), true);
+  }
+
+  void flush(long now, boolean force) {
+    for (Map.Entry<DigestKey, Digest> entry : digests.entrySet()) {
+      Digest digest = entry.getValue();
+      if (!force && digest.windowStart + windowMillis > now) {
+        continue;
+      }
+      if (digests.remove(entry.getKey(), digest)) {
+        openDigests.decrementAndGet();
+        Notification notification = digest.toNotification(entry.getKey());
+        outboxes.forEach(outbox -> outbox.offer(new PendingDelivery(notification, 0)));
+      }
+    }
+    outboxes.forEach(outbox -> outbox.drain(now, force));
+  }
+
+  private boolean reserveDigest() {
+    int open = openDigests.get();
+    while (open < capacity) {
+      if (openDigests.compareAndSet(open, open + 1)) {
+        return true;
+      }
+      open = openDigests.get();
+    }
+    return false;
+  }
+
+  /**
+   * Chiave di accorpamento delle notifiche.
+   */
+  record DigestKey(String recipientId, NotificationType type) {
+  }
+
+  /**
+   * Notifica in attesa di consegna su un canale, con i tentativi già falliti.
+   */
+  private record PendingDelivery(Notification notification, int failedAttempts) {
+  }
+
+  /**
+   * Digest aperto per un destinatario e un tipo.
+   */
+  private static final class Digest {
+
+    private final long windowStart;
+    private final List<String> lines = new ArrayList<>();
+    private int eventCount;
+
+    private Digest(long windowStart) {
+      this.windowStart = windowStart;
+    }
+
+    private synchronized void add(String line, int maxLines) {
+      eventCount++;
+      if (lines.size() < maxLines) {
+        lines.add(line);
+      }
+    }
+
+    private synchronized Notification toNotification(DigestKey key) {
+      return new Notification(key.recipientId(), key.type(), eventCount, lines, windowStart);
+    }
+  }
+
+  /**
+   * Coda di uscita limitata di un canale con rate limit a token bucket.
+   */
+  private final class ChannelOutbox {
+
+    private final NotificationChannel channel;
+    private final Queue<PendingDelivery> queue = new LinkedBlockingQueue<>(outboxCapacity);
+    private final AtomicInteger draining = new AtomicInteger();
+    private final double ratePerMilli;
+    private final double burst;
+    private double tokens;
+    private long lastRefill = -1L;
+
+    private ChannelOutbox(NotificationChannel channel) {
+      this.channel = channel;
+      this.ratePerMilli = Math.max(0.0, channel.getRatePerSecond()) / 1000.0;
+      this.burst = Math.max(1.0, Math.ceil(channel.getRatePerSecond()));
+      this.tokens = burst;
+      Gauge.builder(OUTBOX_METRIC, queue, Queue::size)
+          .description("Notifiche in attesa di consegna per canale")
+          .tag("channel", channel.getName())
+          .register(meterRegistry);
+    }
+
+    private void offer(PendingDelivery delivery) {
+      if (!queue.offer(delivery)) {
+        dropped.increment();
+        logger.warn("Coda di uscita del canale {} piena, scartata notifica {} per {}",
+            channel.getName(), delivery.notification().type(),
+            delivery.notification().recipientId());
+      }
+    }
+
+    private void drain(long now, boolean force) {
+      if (!draining.compareAndSet(0, 1)) {
+        return;
+      }
+      List<PendingDelivery> failed = new ArrayList<>();
+      try {
+        refill(now);
+        while (!queue.isEmpty() && (force || ratePerMilli == 0.0 || tokens >= 1.0)) {
+          PendingDelivery delivery = queue.poll();
+          if (delivery == null) {
+            break;
+          }
+          tokens -= 1.0;
+          if (!deliver(delivery.notification())) {
+            // Alla chiusura si ritenta subito, altrimenti al ciclo successivo
+            if (force) {
+              retry(delivery);
+            } else {
+              failed.add(delivery);
+            }
+          }
+        }
+      } finally {
+        draining.set(0);
+      }
+      failed.forEach(this::retry);
+    }
+
+    private void retry(PendingDelivery delivery) {
+      int failedAttempts = delivery.failedAttempts() + 1;
+      if (failedAttempts >= maxAttempts) {
+        dropped.increment();
+        logger.error("Notifica {} per {} scartata sul canale {} dopo {} tentativi",
+            delivery.notification().type(), delivery.notification().recipientId(),
+            channel.getName(), failedAttempts);
+        return;
+      }
+      offer(new PendingDelivery(delivery.notification(), failedAttempts));
+    }
+
+    private void refill(long now) {
+      if (lastRefill >= 0L && now > lastRefill) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerMilli);
+      }
+      lastRefill = now;
+    }
+
+    private boolean deliver(Notification notification) {
+      String outcome = "success";
+      try {
+        channel.send(notification);
+      } catch (Exception e) {
+        outcome = "failure";
+        logger.warn("Consegna notifica {} a {} fallita sul canale {}: {}", notification.type(),
+            notification.recipientId(), channel.getName(), e.getMessage());
+      }
+      Counter.builder(DELIVERED_METRIC)
+          .description("Notifiche consegnate per canale ed esito")
+          .tag("channel", channel.getName())
+          .tag("outcome", outcome)
+          .register(meterRegistry)
+          .increment();
+      return "success".equals(outcome);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package it.unimol.microserviceassessmentfeedback.service.partitioning;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Anno accademico, dal primo giorno del mese di inizio al giorno precedente lo stesso giorno
+ * dell'anno successivo. È l'unità di partizionamento di valutazioni e risposte ai questionari.
+ *
+ * @param firstYear l'anno solare in cui l'anno accademico inizia
+ * @param startMonth il mese di inizio, da 1 a 12
+ */
+public record AcademicYear(int firstYear, int startMonth) {
+
+  private static final Pattern FORMAT = Pattern.compile("(\\d{4})(?:\\s*[/-]\\s*(\\d{2}|\\d{4}))?");
+
+  /**
+   * Costruttore con validazione del mese di inizio.
+   *
+   * @param firstYear l'anno solare in cui l'anno accademico inizia
+   * @param startMonth il mese di inizio, da 1 a 12
+   * @throws IllegalArgumentException se il mese non è valido
+   */
+  public AcademicYear {
+    if (startMonth < 1 || startMonth > 12) {
+      throw new IllegalArgumentException("Mese di inizio dell'anno accademico non valido: "
+          + startMonth);
+    }
+  }
+
+  /**
+   * Restituisce l'anno accademico che contiene la data indicata.
+   *
+   * @param date la data
+   * @param startMonth il mese di inizio dell'anno accademico
+   * @return l'anno accademico
+   */
+  public static AcademicYear containing(LocalDate date, int startMonth) {
+    int firstYear = date.getMonthValue() < startMonth ? date.getYear() - 1 : date.getYear();
+    return new AcademicYear(firstYear, startMonth);
+  }
+
+  /**
+   * Interpreta un anno accademico nei formati "2024/2025", "2024-2025", "2024/25" o "2024".
+   *
+   * @param academicYear l'anno accademico
+   * @param startMonth il mese di inizio dell'anno accademico
+   * @return l'anno accademico
+   * @throws IllegalArgumentException se il formato non è valido
+   */
+  public static AcademicYear parse(String academicYear, int startMonth) {
+    Matcher matcher = academicYear == null ? null : FORMAT.matcher(academicYear.trim());
+    if (matcher == null || !matcher.matches()) {
+      throw new IllegalArgumentException("Anno accademico non valido: " + academicYear);
+    }
+    int firstYear = Integer.parseInt(matcher.group(1));
+    String second = matcher.group(2);
+    if (second != null) {
+      int expected = second.length() == 2 ? (firstYear + 1) % 100 : firstYear + 1;
+      if (Integer.parseInt(second) != expected) {
+        throw new IllegalArgumentException("Anno accademico non valido: " + academicYear);
+      }
+    }
+    return new AcademicYear(firstYear, startMonth);
+  }
+
+  /**
+   * Restituisce l'istante di inizio, incluso.
+   *
+   * @return il primo istante dell'anno accademico
+   */
+  public LocalDateTime start() {
+    return LocalDate.of(firstYear, startMonth, 1).atStartOfDay();
+  }
+
+  /**
+   * Restituisce l'istante di fine, escluso, cioè l'inizio dell'anno accademico successivo.
+   *
+   * @return l'istante di fine
+   */
+  public LocalDateTime end() {
+    return plusYears(1).start();
+  }
+
+  /**
+   * Restituisce l'anno accademico spostato del numero di anni indicato.
+   *
+   * @param years gli anni da aggiungere, anche negativi
+   * @return l'anno accademico spostato
+   */
+  public AcademicYear plusYears(int years) {
+    return new AcademicYear(firstYear + years, startMonth);
+  }
+
+  /**
+   * Restituisce il nome della partizione di questo anno accademico per la tabella indicata.
+   *
+   * @param table la tabella partizionata
+   * @return il nome della partizione, ad esempio {@code assessments_ay2024}
+   */
+  public String partitionOf(String table) {
+    return table + "_ay" + firstYear;
+  }
+
+  @Override
+  public String toString() {
+    return firstYear + "/" + (firstYear + 1);
+  }
+}
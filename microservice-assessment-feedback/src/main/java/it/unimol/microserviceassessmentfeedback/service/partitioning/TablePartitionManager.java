@@ -0,0 +1,350 @@
+package it.unimol.microserviceassessmentfeedback.service.partitioning;
+
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Manutenzione delle partizioni per anno accademico di valutazioni e risposte ai questionari.
+ *
+ * <p>Le tabelle vengono partizionate una volta con lo script {@code db/partition-by-date.sql};
+ * da lì in poi il job, eseguito dalla sola replica leader, crea in anticipo le partizioni degli
+ * anni accademici futuri e, se {@code partitioning.retained-years} è positivo, archivia quelle
+ * più vecchie. Una nuova partizione viene preparata come tabella separata, riempita con le righe
+ * dello stesso intervallo già finite nella partizione di default e poi agganciata, così il lock
+ * sulla tabella principale non blocca le letture. Su database diversi da PostgreSQL, o se le
+ * tabelle non sono partizionate, il job non fa nulla.</p>
+ *
+ * <p>L'archiviazione di un anno accademico è un'unica transazione: la partizione viene staccata
+ * e spostata nello schema di archivio, insieme ai feedback delle valutazioni archiviate, che
+ * altrimenti riferirebbero valutazioni non più presenti. Nella stessa transazione le dashboard
+ * degli studenti coinvolti vengono marcate obsolete e le bitmap dei rispondenti dei questionari
+ * con risposte archiviate eliminate, così vengono ricostruite dalle righe rimaste; dopo il commit
+ * la cache locale delle valutazioni viene svuotata su tutte le repliche. I contatori di carico
+ * dei docenti si riallineano alla riconciliazione notturna.</p>
+ */
+@Component
+public class TablePartitionManager {
+
+  static final String JOB_NAME = "table-partitions";
+  static final String ASSESSMENTS = "assessments";
+  static final String SURVEY_RESPONSES = "survey_responses";
+  static final String DEFAULT_SUFFIX = "_default";
+
+  static final String IS_POSTGRES_PRODUCT = "PostgreSQL";
+  static final String EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+  static final String IS_PARTITIONED_SQL = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table "
+      + "WHERE partrelid = to_regclass(?))";
+  static final String PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i "
+      + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)";
+  static final String ARCHIVED_TABLES_SQL =
+      "SELECT tablename FROM pg_tables WHERE schemaname = ? ORDER BY tablename";
+  static final String DETAILED_FEEDBACK = "detailed_feedback";
+  static final String STUDENT_DASHBOARDS = "student_dashboards";
+
+  /** Tabelle partizionate e relativa colonna di partizionamento. */
+  private static final Map<String, String> PARTITION_COLUMNS = Map.of(
+      ASSESSMENTS, "assessment_date",
+      SURVEY_RESPONSES, "submission_date");
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private static final Logger logger = LoggerFactory.getLogger(TablePartitionManager.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final JobLeaseManager jobLeaseManager;
+  private final LocalEntityCache localEntityCache;
+  private final RespondentTracker respondentTracker;
+  private final int startMonth;
+  private final int futureYears;
+  private final int retainedYears;
+  private final String archiveSchema;
+  private final long lockTimeoutMs;
+
+  private volatile Boolean postgres;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param jdbcTemplate il JdbcTemplate sul database principale
+   * @param transactionManager il gestore delle transazioni
+   * @param jobLeaseManager la leader election dei job di background
+   * @param localEntityCache le cache locali di questionari e valutazioni
+   * @param respondentTracker le bitmap dei rispondenti ai questionari
+   * @param properties la configurazione del partizionamento
+   * @throws IllegalArgumentException se lo schema di archivio non è un identificatore valido
+   */
+  public TablePartitionManager(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager, JobLeaseManager jobLeaseManager,
+      LocalEntityCache localEntityCache, RespondentTracker respondentTracker,
+      PartitioningProperties properties) {
+    if (!IDENTIFIER.matcher(properties.getArchiveSchema()).matches()) {
+      throw new IllegalArgumentException("Schema di archivio non valido: "
+          + properties.getArchiveSchema());
+    }
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.jobLeaseManager = jobLeaseManager;
+    this.localEntityCache = localEntityCache;
+    this.respondentTracker = respondentTracker;
+    // Il costruttore di AcademicYear rifiuta un mese di inizio non valido
+    this.startMonth = new AcademicYear(0, properties.getAcademicYearStartMonth()).startMonth();
+    this.futureYears = Math.max(0, properties.getFutureYears());
+    this.retainedYears = Math.max(0, properties.getRetainedYears());
+    this.archiveSchema = properties.getArchiveSchema();
+    this.lockTimeoutMs = Math.max(0, properties.getLockTimeoutMs());
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce gli anni accademici delle partizioni agganciate alla tabella, esclusa quella di
+   * default.
+   *
+   * @param table la tabella partizionata
+   * @return gli anni accademici, in ordine crescente
+   */
+  public List<AcademicYear> getPartitions(String table) {
+    String prefix = table + "_ay";
+    List<AcademicYear> years = new ArrayList<>();
+    for (String name : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table)) {
+      if (name.startsWith(prefix) && name.substring(prefix.length()).matches("\\d{4}")) {
+        years.add(new AcademicYear(Integer.parseInt(name.substring(prefix.length())),
+            startMonth));
+      }
+    }
+    years.sort((a, b) -> Integer.compare(a.firstYear(), b.firstYear()));
+    return years;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Crea le partizioni mancanti e archivia quelle scadute se questa replica è leader del job.
+   */
+  @Scheduled(fixedDelayString = "${partitioning.maintenance-interval-ms:21600000}",
+      initialDelayString = "${partitioning.initial-delay-ms:60000}")
+  public void maintain() {
+    try {
+      if (isPostgres()) {
+        jobLeaseManager.runExclusive(JOB_NAME,
+            () -> maintainAll(LocalDate.now(ZoneId.systemDefault())));
+      }
+    } catch (Exception e) {
+      logger.error("Errore nella manutenzione delle partizioni", e);
+    }
+  }
+
+  void maintainAll(LocalDate today) {
+    AcademicYear current = AcademicYear.containing(today, startMonth);
+    for (String table : PARTITION_COLUMNS.keySet()) {
+      if (!Boolean.TRUE.equals(
+          jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class, table))) {
+        logger.debug("Tabella {} non partizionata, manutenzione saltata", table);
+        continue;
+      }
+      for (int offset = 0; offset <= futureYears; offset++) {
+        AcademicYear year = current.plusYears(offset);
+        try {
+          createPartition(table, year);
+        } catch (DataAccessException e) {
+          logger.warn("Impossibile creare la partizione {}: {}", year.partitionOf(table),
+              e.getMessage());
+        }
+      }
+      if (retainedYears > 0) {
+        int oldestRetained = current.firstYear() - retainedYears;
+        for (AcademicYear year : getPartitions(table)) {
+          if (year.firstYear() < oldestRetained) {
+            try {
+              archivePartition(table, year);
+            } catch (DataAccessException e) {
+              logger.warn("Impossibile archiviare la partizione {}: {}",
+                  year.partitionOf(table), e.getMessage());
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Crea la partizione di un anno accademico se non esiste, spostandovi le righe dello stesso
+   * intervallo presenti nella partizione di default.
+   *
+   * @param table la tabella partizionata
+   * @param year l'anno accademico
+   * @return true se la partizione è stata creata
+   * @throws IllegalArgumentException se la tabella non è partizionata per anno accademico
+   */
+  public boolean createPartition(String table, AcademicYear year) {
+    String column = columnOf(table);
+    String partition = year.partitionOf(table);
+    if (exists(partition)) {
+      return false;
+    }
+    String defaultPartition = table + DEFAULT_SUFFIX;
+    int moved = transactionTemplate.execute(status -> {
+      setLockTimeout();
+      jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + table
+          + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+      int rows = 0;
+      if (exists(defaultPartition)) {
+        rows = jdbcTemplate.update("WITH moved AS (DELETE FROM " + defaultPartition + " WHERE "
+            + column + " >= ? AND " + column + " < ? RETURNING *) INSERT INTO " + partition
+            + " SELECT * FROM moved", year.start(), year.end());
+      }
+      jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition
+          + " FOR VALUES FROM ('" + year.start().toLocalDate() + "') TO ('"
+          + year.end().toLocalDate() + "')");
+      return rows;
+    });
+    logger.info("Creata la partizione {} per l'anno accademico {} ({} righe spostate dalla "
+        + "partizione di default)", partition, year, moved);
+    return true;
+  }
+
+  /**
+   * Pseudonimizza un utente nelle partizioni archiviate, con le stesse regole applicate alle
+   * tabelle operative: i feedback delle valutazioni dello studente vengono oscurati, le note delle
+   * sue valutazioni e i commenti delle sue risposte rimossi, e l'ID dello studente o del docente
+   * sostituito dallo pseudonimo. Va eseguito nella transazione del chiamante ed è idempotente,
+   * perché dopo la prima esecuzione nessuna riga riferisce più l'utente. Su database diversi da
+   * PostgreSQL non fa nulla.
+   *
+   * @param userId l'ID dell'utente da anonimizzare
+   * @param pseudonym lo pseudonimo che sostituisce l'ID
+   * @param redactedText il testo che sostituisce i feedback oscurati
+   * @return il numero di righe aggiornate
+   */
+  public int anonymiseArchivedUser(String userId, String pseudonym, String redactedText) {
+    if (!isPostgres()) {
+      return 0;
+    }
+    List<String> tables =
+        jdbcTemplate.queryForList(ARCHIVED_TABLES_SQL, String.class, archiveSchema);
+    List<String> assessmentPartitions = archivedPartitionsOf(tables, ASSESSMENTS);
+    int rows = 0;
+    if (tables.contains(DETAILED_FEEDBACK)) {
+      // I feedback sono individuati tramite lo studente della valutazione archiviata, quindi
+      // vanno oscurati prima di pseudonimizzarla
+      for (String partition : assessmentPartitions) {
+        rows += jdbcTemplate.update("UPDATE " + archiveSchema + "." + DETAILED_FEEDBACK
+            + " f SET feedback_text = ?, strengths = NULL, improvement_areas = NULL FROM "
+            + archiveSchema + "." + partition + " a WHERE f.assessment_id = a.id"
+            + " AND a.student_id = ?", redactedText, userId);
+      }
+    }
+    for (String partition : assessmentPartitions) {
+      rows += jdbcTemplate.update("UPDATE " + archiveSchema + "." + partition
+          + " SET student_id = ?, notes = NULL WHERE student_id = ?", pseudonym, userId);
+      rows += jdbcTemplate.update("UPDATE " + archiveSchema + "." + partition
+          + " SET teacher_id = ? WHERE teacher_id = ?", pseudonym, userId);
+    }
+    for (String partition : archivedPartitionsOf(tables, SURVEY_RESPONSES)) {
+      rows += jdbcTemplate.update("UPDATE " + archiveSchema + "." + partition
+          + " SET student_id = ?, text_comment = NULL WHERE student_id = ?", pseudonym, userId);
+    }
+    return rows;
+  }
+
+  /**
+   * Stacca la partizione di un anno accademico e la sposta nello schema di archivio, in
+   * un'unica transazione. Per le valutazioni vengono archiviati anche i relativi feedback; le
+   * dashboard, le bitmap dei rispondenti e le cache locali che riferiscono le righe archiviate
+   * vengono invalidate nella stessa operazione.
+   *
+   * @param table la tabella partizionata
+   * @param year l'anno accademico
+   * @return true se la partizione è stata archiviata, false se non è agganciata alla tabella
+   * @throws IllegalArgumentException se la tabella non è partizionata per anno accademico
+   */
+  public boolean archivePartition(String table, AcademicYear year) {
+    columnOf(table);
+    String partition = year.partitionOf(table);
+    if (!getPartitions(table).contains(year)) {
+      return false;
+    }
+    int feedback = transactionTemplate.execute(status -> {
+      setLockTimeout();
+      jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+      jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+      jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+      String archived = archiveSchema + "." + partition;
+      jdbcTemplate.update("UPDATE " + STUDENT_DASHBOARDS + " SET stale = true, "
+          + "version = version + 1 WHERE student_id IN (SELECT student_id FROM " + archived + ")");
+      if (!ASSESSMENTS.equals(table)) {
+        respondentTracker.forget(jdbcTemplate.queryForList(
+            "SELECT DISTINCT survey_id FROM " + archived, String.class));
+        return 0;
+      }
+      localEntityCache.evictAll(CacheRegion.ASSESSMENTS);
+      jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveSchema
+          + ".detailed_feedback (LIKE detailed_feedback INCLUDING DEFAULTS)");
+      return jdbcTemplate.update("WITH moved AS (DELETE FROM detailed_feedback f USING "
+          + archived + " a WHERE f.assessment_id = a.id RETURNING f.*) "
+          + "INSERT INTO " + archiveSchema + ".detailed_feedback SELECT * FROM moved");
+    });
+    logger.info("Archiviata la partizione {} dell'anno accademico {} nello schema {} "
+        + "({} feedback archiviati)", partition, year, archiveSchema, feedback);
+    return true;
+  }
+
+  private static List<String> archivedPartitionsOf(List<String> tables, String table) {
+    String prefix = table + "_ay";
+    return tables.stream()
+        .filter(name -> name.startsWith(prefix)
+            && name.substring(prefix.length()).matches("\\d{4}"))
+        .toList();
+  }
+
+  private boolean isPostgres() {
+    Boolean result = postgres;
+    if (result == null) {
+      String product = jdbcTemplate.execute(
+          (ConnectionCallback<String>) connection -> connection.getMetaData()
+              .getDatabaseProductName());
+      result = IS_POSTGRES_PRODUCT.equals(product);
+      postgres = result;
+    }
+    return result;
+  }
+
+  private boolean exists(String relation) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_SQL, Boolean.class, relation));
+  }
+
+  private void setLockTimeout() {
+    jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+  }
+
+  private static String columnOf(String table) {
+    String column = PARTITION_COLUMNS.get(table);
+    if (column == null) {
+      throw new IllegalArgumentException("Tabella non partizionata per anno accademico: " + table);
+    }
+    return column;
+  }
+}
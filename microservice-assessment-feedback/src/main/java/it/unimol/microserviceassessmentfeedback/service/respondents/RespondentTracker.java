@@ -0,0 +1,570 @@
+package it.unimol.microserviceassessmentfeedback.service.respondents;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.unimol.microserviceassessmentfeedback.common.util.CompressedBitmap;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.StudentOrdinal;
+import it.unimol.microserviceassessmentfeedback.model.SurveyRespondents;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.StudentOrdinalRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyRespondentsRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bitmap in memoria degli studenti che hanno risposto a ciascun questionario.
+ *
+ * <p>Ogni studente riceve alla prima risposta un {@link StudentOrdinal} denso, e i rispondenti di
+ * un questionario sono una {@link CompressedBitmap} di ordinali: verificare se uno studente ha
+ * risposto è un accesso alla bitmap, e i non rispondenti di un corso sono la differenza tra la
+ * bitmap degli iscritti e quella dei rispondenti. Le bitmap sono persistite in
+ * {@link SurveyRespondents}; se la riga manca viene ricostruita dalle risposte salvate.</p>
+ *
+ * <p>Come per i contatori di carico, una risposta aggiunge l'ordinale alla bitmap in memoria e a
+ * un buffer solo dopo il commit; un ciclo schedulato unisce il buffer alla riga persistita.
+ * Le bitmap in cache vengono rilette dopo {@code refresh-ms}, così le risposte ricevute da altre
+ * repliche diventano visibili entro quell'intervallo: una risposta positiva è sempre esatta,
+ * una negativa può essere in ritardo e i controlli che non la tollerano devono verificarla sul
+ * database.</p>
+ *
+ * <p>Il servizio non riceve le iscrizioni ai corsi: gli iscritti di un corso sono gli studenti
+ * che vi hanno almeno una valutazione.</p>
+ */
+@Component
+public class RespondentTracker {
+
+  static final String RESPONDENTS_METRIC = "surveys.respondents";
+  static final String RESPONSE_RATE_METRIC = "surveys.response.rate";
+
+  private static final Logger logger = LoggerFactory.getLogger(RespondentTracker.class);
+
+  private final StudentOrdinalRepository studentOrdinalRepository;
+  private final SurveyRespondentsRepository surveyRespondentsRepository;
+  private final SurveyResponseRepository responseRepository;
+  private final SurveySubmissionRepository surveySubmissionRepository;
+  private final AssessmentRepository assessmentRepository;
+  private final TeacherSurveyRepository surveyRepository;
+  private final MeterRegistry meterRegistry;
+  private final TransactionTemplate transactionTemplate;
+  private final long refreshMs;
+
+  private final Map<String, CompressedBitmap> pending = new ConcurrentHashMap<>();
+  private final Map<String, Cached> bitmaps;
+  private final Map<String, Integer> ordinals;
+  private final Map<String, Long> unknownStudents;
+  private final Map<String, SurveyGauge> gauges = new ConcurrentHashMap<>();
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param studentOrdinalRepository il repository degli ordinali degli studenti
+   * @param surveyRespondentsRepository il repository delle bitmap persistite
+   * @param responseRepository il repository delle risposte per riga
+   * @param surveySubmissionRepository il repository degli invii compatti
+   * @param assessmentRepository il repository delle valutazioni, usato per gli iscritti
+   * @param surveyRepository il repository dei questionari
+   * @param transactionManager il transaction manager usato da ricostruzione e svuotamento
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   * @param refreshMs l'età oltre la quale una bitmap in cache viene riletta
+   * @param maxCachedSurveys il numero massimo di bitmap in cache
+   * @param maxCachedStudents il numero massimo di ordinali in cache
+   */
+  public RespondentTracker(StudentOrdinalRepository studentOrdinalRepository,
+      SurveyRespondentsRepository surveyRespondentsRepository,
+      SurveyResponseRepository responseRepository,
+      SurveySubmissionRepository surveySubmissionRepository,
+      AssessmentRepository assessmentRepository,
+      TeacherSurveyRepository surveyRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${surveys.respondents.refresh-ms:30000}") long refreshMs,
+      @Value("${surveys.respondents.max-cached-surveys:1024}") int maxCachedSurveys,
+      @Value("${surveys.respondents.max-cached-students:100000}") int maxCachedStudents) {
+    this.studentOrdinalRepository = studentOrdinalRepository;
+    this.surveyRespondentsRepository = surveyRespondentsRepository;
+    this.responseRepository = responseRepository;
+    this.surveySubmissionRepository = surveySubmissionRepository;
+    this.assessmentRepository = assessmentRepository;
+    this.surveyRepository = surveyRepository;
+    this.meterRegistry = meterRegistry;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.refreshMs = refreshMs;
+    this.bitmaps = lru(maxCachedSurveys);
+    this.ordinals = lru(maxCachedStudents);
+    this.unknownStudents = lru(maxCachedStudents);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se uno studente ha risposto a un questionario.
+   *
+   * @param surveyId l'ID del questionario
+   * @param studentId l'ID dello studente
+   * @return true se lo studente ha risposto; false può essere in ritardo di {@code refresh-ms}
+   *     rispetto alle risposte ricevute da altre repliche
+   */
+  public boolean hasResponded(String surveyId, String studentId) {
+    Integer ordinal = lookupOrdinal(studentId);
+    if (ordinal == null) {
+      return false;
+    }
+    CompressedBitmap bitmap = respondents(surveyId);
+    synchronized (bitmap) {
+      return bitmap.contains(ordinal);
+    }
+  }
+
+  /**
+   * Restituisce il numero di studenti che hanno risposto a un questionario.
+   *
+   * @param surveyId l'ID del questionario
+   * @return il numero di rispondenti
+   */
+  public long countRespondents(String surveyId) {
+    CompressedBitmap bitmap = respondents(surveyId);
+    synchronized (bitmap) {
+      return bitmap.getCardinality();
+    }
+  }
+
+  /**
+   * Restituisce il numero di questionari con rispondenti non ancora persistiti.
+   *
+   * @return il numero di questionari nel buffer
+   */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Restituisce gli iscritti al corso del questionario che non hanno ancora risposto.
+   *
+   * @param survey il questionario
+   * @return gli ID degli studenti, in ordine
+   */
+  public List<String> nonRespondents(TeacherSurvey survey) {
+    if (survey.getCourseId() == null) {
+      return List.of();
+    }
+    Roster roster = rosterOf(survey.getCourseId());
+    CompressedBitmap missing;
+    CompressedBitmap bitmap = respondents(survey.getId());
+    synchronized (bitmap) {
+      missing = roster.ordinals().andNot(bitmap);
+    }
+
+    List<String> students = new ArrayList<>(roster.withoutOrdinal());
+    missing.forEach(ordinal -> students.add(roster.studentsByOrdinal().get(ordinal)));
+    Collections.sort(students);
+    return students;
+  }
+
+  /**
+   * Registra la prima risposta di uno studente a un questionario. L'ordinale viene assegnato
+   * nella transazione corrente, la bitmap aggiornata solo dopo il commit.
+   *
+   * @param surveyId l'ID del questionario
+   * @param studentId l'ID dello studente
+   */
+  public void recordResponse(String surveyId, String studentId) {
+    if (surveyId == null || studentId == null) {
+      return;
+    }
+    int ordinal = assignOrdinal(studentId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          apply(surveyId, studentId, ordinal);
+        }
+      });
+    } else {
+      apply(surveyId, studentId, ordinal);
+    }
+  }
+
+  /**
+   * Elimina le bitmap dei questionari cancellati o archiviati, nella transazione corrente.
+   *
+   * @param surveyIds gli ID dei questionari
+   */
+  public void forget(Collection<String> surveyIds) {
+    if (surveyIds.isEmpty()) {
+      return;
+    }
+    for (String surveyId : surveyIds) {
+      pending.remove(surveyId);
+      bitmaps.remove(surveyId);
+      removeGauges(surveyId);
+    }
+    surveyRespondentsRepository.deleteBySurveyIdIn(surveyIds);
+  }
+
+  /**
+   * Sostituisce l'ID di uno studente anonimizzato con il suo pseudonimo, nella transazione
+   * corrente. L'ordinale non cambia, quindi lo studente resta contato tra i rispondenti.
+   *
+   * @param studentId l'ID dello studente
+   * @param pseudonym lo pseudonimo
+   */
+  public void pseudonymiseStudent(String studentId, String pseudonym) {
+    ordinals.remove(studentId);
+    studentOrdinalRepository.pseudonymiseStudent(studentId, pseudonym);
+  }
+
+  /**
+   * Unisce periodicamente i rispondenti nel buffer alle bitmap persistite. Se la scrittura
+   * fallisce, ad esempio per una scrittura concorrente di un'altra replica, i rispondenti
+   * tornano nel buffer per il ciclo successivo.
+   */
+  @Scheduled(fixedDelayString = "${surveys.respondents.flush-interval-ms:5000}")
+  public void flush() {
+    int written = 0;
+    for (String surveyId : new ArrayList<>(pending.keySet())) {
+      CompressedBitmap added = pending.remove(surveyId);
+      if (added == null) {
+        continue;
+      }
+      try {
+        CompressedBitmap merged = transactionTemplate.execute(status -> merge(surveyId, added));
+        cache(surveyId, merged);
+        written++;
+      } catch (RuntimeException e) {
+        pending.merge(surveyId, added, RespondentTracker::union);
+        logger.warn("Errore nella scrittura dei rispondenti del questionario {}: {}", surveyId,
+            e.getMessage());
+      }
+    }
+
+    if (written > 0) {
+      logger.debug("Scritti i rispondenti di {} questionari", written);
+    }
+  }
+
+  /**
+   * Scrive i rispondenti rimasti alla chiusura del contesto applicativo.
+   */
+  @PreDestroy
+  public void flushAll() {
+    flush();
+  }
+
+  /**
+   * Aggiorna le gauge di rispondenti e tasso di risposta dei questionari attivi e rimuove quelle
+   * dei questionari non più attivi.
+   */
+  @Scheduled(fixedDelayString = "${surveys.respondents.metrics-interval-ms:60000}")
+  public void sampleResponseRates() {
+    Map<String, Roster> rosters = new HashMap<>();
+    Set<String> sampled = new HashSet<>();
+    for (TeacherSurvey survey : surveyRepository.findByStatus(SurveyStatus.ACTIVE)) {
+      if (survey.getCourseId() == null) {
+        continue;
+      }
+      try {
+        Roster roster = rosters.computeIfAbsent(survey.getCourseId(), this::rosterOf);
+        CompressedBitmap bitmap = respondents(survey.getId());
+        long responded;
+        synchronized (bitmap) {
+          responded = roster.ordinals().andCardinality(bitmap);
+        }
+        SurveyGauge gauge = gauges.computeIfAbsent(survey.getId(),
+            id -> new SurveyGauge(id, survey.getCourseId()));
+        gauge.respondents.set(responded);
+        gauge.enrolled.set(roster.size());
+        sampled.add(survey.getId());
+      } catch (RuntimeException e) {
+        logger.debug("Tasso di risposta del questionario {} non disponibile: {}", survey.getId(),
+            e.getMessage());
+      }
+    }
+
+    for (String surveyId : new ArrayList<>(gauges.keySet())) {
+      if (!sampled.contains(surveyId)) {
+        removeGauges(surveyId);
+      }
+    }
+  }
+
+  /**
+   * Restituisce la bitmap dei rispondenti di un questionario, da leggere sincronizzandosi su di
+   * essa. Una bitmap assente o più vecchia di {@code refresh-ms} viene riletta dal database.
+   */
+  CompressedBitmap respondents(String surveyId) {
+    Cached cached = bitmaps.get(surveyId);
+    if (cached != null && System.currentTimeMillis() - cached.loadedAt() < refreshMs) {
+      return cached.bitmap();
+    }
+    try {
+      return cache(surveyId, transactionTemplate.execute(status -> load(surveyId)));
+    } catch (RuntimeException e) {
+      logger.warn("Errore nella lettura dei rispondenti del questionario {}: {}", surveyId,
+          e.getMessage());
+      return cached != null ? cached.bitmap() : new CompressedBitmap();
+    }
+  }
+
+  private CompressedBitmap load(String surveyId) {
+    SurveyRespondents row = surveyRespondentsRepository.findById(surveyId).orElse(null);
+    if (row != null) {
+      return CompressedBitmap.deserialize(row.getBitmap());
+    }
+    CompressedBitmap bitmap = rebuild(surveyId);
+    save(new SurveyRespondents(surveyId), bitmap);
+    logger.info("Ricostruiti {} rispondenti del questionario {}", bitmap.getCardinality(),
+        surveyId);
+    return bitmap;
+  }
+
+  private CompressedBitmap merge(String surveyId, CompressedBitmap added) {
+    SurveyRespondents row = surveyRespondentsRepository.findById(surveyId).orElse(null);
+    CompressedBitmap bitmap;
+    if (row != null) {
+      bitmap = CompressedBitmap.deserialize(row.getBitmap());
+    } else {
+      row = new SurveyRespondents(surveyId);
+      bitmap = rebuild(surveyId);
+    }
+    bitmap.or(added);
+    save(row, bitmap);
+    return bitmap;
+  }
+
+  private void save(SurveyRespondents row, CompressedBitmap bitmap) {
+    row.setBitmap(bitmap.serialize());
+    row.setRespondents(bitmap.getCardinality());
+    surveyRespondentsRepository.save(row);
+  }
+
+  /**
+   * Ricostruisce la bitmap dalle risposte salvate, assegnando gli ordinali mancanti.
+   */
+  private CompressedBitmap rebuild(String surveyId) {
+    Set<String> students = new LinkedHashSet<>(responseRepository.findStudentIdsBySurveyId(
+        surveyId));
+    students.addAll(surveySubmissionRepository.findStudentIdsBySurveyId(surveyId));
+    students.remove(null);
+
+    CompressedBitmap bitmap = new CompressedBitmap();
+    Map<String, Integer> known = ordinalsOf(students);
+    for (String studentId : students) {
+      Integer ordinal = known.get(studentId);
+      bitmap.add(ordinal != null ? ordinal : assignOrdinal(studentId));
+    }
+    return bitmap;
+  }
+
+  /**
+   * Mette in cache una bitmap appena letta, unendovi i rispondenti non ancora persistiti.
+   */
+  private CompressedBitmap cache(String surveyId, CompressedBitmap bitmap) {
+    pending.computeIfPresent(surveyId, (id, added) -> {
+      bitmap.or(added);
+      return added;
+    });
+    bitmaps.put(surveyId, new Cached(bitmap, System.currentTimeMillis()));
+    return bitmap;
+  }
+
+  private void apply(String surveyId, String studentId, int ordinal) {
+    ordinals.put(studentId, ordinal);
+    unknownStudents.remove(studentId);
+    pending.compute(surveyId, (id, added) -> {
+      CompressedBitmap bitmap = added != null ? added : new CompressedBitmap();
+      bitmap.add(ordinal);
+      return bitmap;
+    });
+    Cached cached = bitmaps.get(surveyId);
+    if (cached != null) {
+      synchronized (cached.bitmap()) {
+        cached.bitmap().add(ordinal);
+      }
+    }
+  }
+
+  /**
+   * Restituisce l'ordinale di uno studente, assegnandolo se manca. Non lo mette in cache: la
+   * transazione che lo ha assegnato potrebbe non arrivare al commit.
+   */
+  private int assignOrdinal(String studentId) {
+    Integer cached = ordinals.get(studentId);
+    if (cached != null) {
+      return cached;
+    }
+    return studentOrdinalRepository.findByStudentId(studentId)
+        .or(() -> {
+          studentOrdinalRepository.insertIfAbsent(studentId);
+          return studentOrdinalRepository.findByStudentId(studentId);
+        })
+        .map(StudentOrdinal::getOrdinal)
+        .orElseThrow(() -> new IllegalStateException(
+            "Ordinale non assegnato allo studente " + studentId));
+  }
+
+  /**
+   * Restituisce l'ordinale già assegnato a uno studente. Anche l'assenza resta in cache per
+   * {@code refresh-ms}, così gli studenti che non hanno mai risposto non costano una query a
+   * ogni controllo.
+   */
+  private Integer lookupOrdinal(String studentId) {
+    Integer ordinal = ordinals.get(studentId);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    long now = System.currentTimeMillis();
+    Long checkedAt = unknownStudents.get(studentId);
+    if (checkedAt != null && now - checkedAt < refreshMs) {
+      return null;
+    }
+    ordinal = studentOrdinalRepository.findByStudentId(studentId)
+        .map(StudentOrdinal::getOrdinal)
+        .orElse(null);
+    if (ordinal != null) {
+      ordinals.put(studentId, ordinal);
+      unknownStudents.remove(studentId);
+    } else {
+      unknownStudents.put(studentId, now);
+    }
+    return ordinal;
+  }
+
+  /**
+   * Restituisce gli ordinali già assegnati agli studenti indicati.
+   */
+  private Map<String, Integer> ordinalsOf(Collection<String> studentIds) {
+    Map<String, Integer> result = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (String studentId : studentIds) {
+      Integer ordinal = ordinals.get(studentId);
+      if (ordinal != null) {
+        result.put(studentId, ordinal);
+      } else {
+        missing.add(studentId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (StudentOrdinal row : studentOrdinalRepository.findByStudentIdIn(missing)) {
+        result.put(row.getStudentId(), row.getOrdinal());
+      }
+    }
+    return result;
+  }
+
+  private Roster rosterOf(String courseId) {
+    List<String> students = assessmentRepository.findStudentIdsByCourseId(courseId);
+    Map<String, Integer> known = ordinalsOf(students);
+    CompressedBitmap rosterOrdinals = new CompressedBitmap();
+    Map<Integer, String> studentsByOrdinal = new HashMap<>();
+    List<String> withoutOrdinal = new ArrayList<>();
+    for (String studentId : students) {
+      Integer ordinal = known.get(studentId);
+      if (ordinal != null) {
+        rosterOrdinals.add(ordinal);
+        studentsByOrdinal.put(ordinal, studentId);
+      } else {
+        withoutOrdinal.add(studentId);
+      }
+    }
+    return new Roster(rosterOrdinals, studentsByOrdinal, withoutOrdinal, students.size());
+  }
+
+  private void removeGauges(String surveyId) {
+    SurveyGauge gauge = gauges.remove(surveyId);
+    if (gauge != null) {
+      meterRegistry.remove(gauge.respondentsGauge);
+      meterRegistry.remove(gauge.rateGauge);
+    }
+  }
+
+  private static CompressedBitmap union(CompressedBitmap first, CompressedBitmap second) {
+    first.or(second);
+    return first;
+  }
+
+  private static <V> Map<String, V> lru(int maxSize) {
+    int capacity = Math.max(1, maxSize);
+    return Collections.synchronizedMap(new LinkedHashMap<String, V>(64, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > capacity;
+      }
+    });
+  }
+
+  /**
+   * Bitmap in cache con l'istante della lettura dal database.
+   */
+  private record Cached(CompressedBitmap bitmap, long loadedAt) {
+  }
+
+  /**
+   * Iscritti di un corso: gli ordinali di chi ne ha uno e gli ID di chi non ha mai risposto.
+   */
+  private record Roster(CompressedBitmap ordinals, Map<Integer, String> studentsByOrdinal,
+      List<String> withoutOrdinal, int size) {
+  }
+
+  /**
+   * Gauge di un questionario attivo.
+   */
+  private final class SurveyGauge {
+
+    private final AtomicLong respondents = new AtomicLong();
+    private final AtomicLong enrolled = new AtomicLong();
+    private final Gauge respondentsGauge;
+    private final Gauge rateGauge;
+
+    SurveyGauge(String surveyId, String courseId) {
+      this.respondentsGauge = Gauge.builder(RESPONDENTS_METRIC, respondents, AtomicLong::get)
+          .tag("survey", surveyId)
+          .tag("course", courseId)
+          .register(meterRegistry);
+      this.rateGauge = Gauge.builder(RESPONSE_RATE_METRIC, this, SurveyGauge::rate)
+          .tag("survey", surveyId)
+          .tag("course", courseId)
+          .register(meterRegistry);
+    }
+
+    private double rate() {
+      long total = enrolled.get();
+      return total > 0 ? (double) respondents.get() / total : 0;
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Snapshot immutabile e colonnare delle risposte di un questionario chiuso, letto tramite un
+ * file mappato in memoria.
+ *
+ * <p>Il file contiene un'intestazione con la data di chiusura del questionario e gli ID delle
+ * domande per posizione, seguita da tre colonne con una voce per risposta, ordinate per
+ * posizione: la posizione della domanda ({@code short}), la valutazione ({@code byte}, 0 se
+ * assente) e l'offset di fine del commento ({@code int}) in un'area di testo UTF-8 finale. Le
+ * aggregazioni leggono le colonne direttamente dalla mappatura, senza copiarle nello heap né
+ * creare entità.</p>
+ *
+ * <p>Il buffer condiviso non viene mai spostato: tutte le letture sono assolute, quindi lo
+ * snapshot può essere letto da più thread contemporaneamente.</p>
+ */
+public final class SurveySnapshot {
+
+  static final int MAGIC = 0x53565331;
+  static final int HEADER_BYTES = 24;
+
+  private final ByteBuffer buffer;
+  private final long closedAt;
+  private final int submissions;
+  private final String[] questionIds;
+  private final int answers;
+  private final int ordinalsAt;
+  private final int ratingsAt;
+  private final int commentEndsAt;
+
+  // ============ Costruttore ============
+
+  private SurveySnapshot(ByteBuffer buffer) {
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC) {
+      throw new IllegalStateException("Formato dello snapshot non riconosciuto");
+    }
+    this.closedAt = buffer.getLong(4);
+    this.submissions = buffer.getInt(12);
+    this.questionIds = new String[buffer.getInt(16)];
+    this.answers = buffer.getInt(20);
+
+    int position = HEADER_BYTES;
+    for (int ordinal = 0; ordinal < questionIds.length; ordinal++) {
+      int length = Short.toUnsignedInt(buffer.getShort(position));
+      byte[] bytes = new byte[length];
+      buffer.get(position + Short.BYTES, bytes);
+      questionIds[ordinal] = new String(bytes, StandardCharsets.UTF_8);
+      position += Short.BYTES + length;
+    }
+    this.ordinalsAt = position;
+    this.ratingsAt = ordinalsAt + answers * Short.BYTES;
+    this.commentEndsAt = ratingsAt + answers;
+  }
+
+  /**
+   * Mappa in memoria, in sola lettura, un file di snapshot. Il canale viene chiuso subito: la
+   * mappatura resta valida finché lo snapshot è raggiungibile.
+   *
+   * @param file il file di snapshot
+   * @return lo snapshot
+   * @throws IOException se il file non può essere letto
+   * @throws IllegalStateException se il file non è uno snapshot
+   */
+  public static SurveySnapshot map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new SurveySnapshot(buffer);
+    }
+  }
+
+  /**
+   * Legge uno snapshot da un buffer già in memoria.
+   *
+   * @param buffer il contenuto di un file di snapshot
+   * @return lo snapshot
+   * @throws IllegalStateException se il buffer non è uno snapshot
+   */
+  static SurveySnapshot wrap(ByteBuffer buffer) {
+    return new SurveySnapshot(buffer);
+  }
+
+  // ============ Metodi Override ============
+
+  @Override
+  public String toString() {
+    return "SurveySnapshot{"
+        + "closedAt=" + closedAt
+        + ", submissions=" + submissions
+        + ", questions=" + questionIds.length
+        + ", answers=" + answers
+        + '}';
+  }
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce la data di chiusura del questionario a cui si riferisce lo snapshot, in
+   * millisecondi, o {@link Long#MIN_VALUE} se assente.
+   *
+   * @return la data di chiusura codificata
+   */
+  public long getClosedAt() {
+    return closedAt;
+  }
+
+  /**
+   * Restituisce il numero di compilazioni incluse nello snapshot.
+   *
+   * @return il numero di compilazioni
+   */
+  public int getSubmissions() {
+    return submissions;
+  }
+
+  /**
+   * Restituisce il numero di risposte incluse nello snapshot.
+   *
+   * @return il numero di risposte
+   */
+  public int getAnswers() {
+    return answers;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Somma le valutazioni per domanda.
+   *
+   * @return per ogni ID domanda con almeno una valutazione, la coppia {somma, numero}
+   */
+  public Map<String, long[]> sumRatings() {
+    long[] sums = new long[questionIds.length];
+    long[] counts = new long[questionIds.length];
+    for (int i = 0; i < answers; i++) {
+      byte rating = buffer.get(ratingsAt + i);
+      if (rating != 0) {
+        int ordinal = buffer.getShort(ordinalsAt + i * Short.BYTES);
+        sums[ordinal] += rating;
+        counts[ordinal]++;
+      }
+    }
+
+    Map<String, long[]> totals = new HashMap<>();
+    for (int ordinal = 0; ordinal < questionIds.length; ordinal++) {
+      if (counts[ordinal] > 0) {
+        totals.put(questionIds[ordinal], new long[] {sums[ordinal], counts[ordinal]});
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * Calcola le statistiche per domanda, nell'ordine delle domande.
+   *
+   * @return per ogni ID domanda con almeno una risposta, le relative statistiche
+   */
+  public Map<String, QuestionStatistics> statistics() {
+    long[] answered = new long[questionIds.length];
+    long[] rated = new long[questionIds.length];
+    long[] sums = new long[questionIds.length];
+    long[] commented = new long[questionIds.length];
+    int previousEnd = 0;
+    for (int i = 0; i < answers; i++) {
+      int ordinal = buffer.getShort(ordinalsAt + i * Short.BYTES);
+      byte rating = buffer.get(ratingsAt + i);
+      int commentEnd = buffer.getInt(commentEndsAt + i * Integer.BYTES);
+      answered[ordinal]++;
+      if (rating != 0) {
+        rated[ordinal]++;
+        sums[ordinal] += rating;
+      }
+      if (commentEnd > previousEnd) {
+        commented[ordinal]++;
+      }
+      previousEnd = commentEnd;
+    }
+
+    Map<String, QuestionStatistics> statistics = new LinkedHashMap<>();
+    for (int ordinal = 0; ordinal < questionIds.length; ordinal++) {
+      if (answered[ordinal] > 0) {
+        statistics.put(questionIds[ordinal], new QuestionStatistics(answered[ordinal],
+            rated[ordinal], rated[ordinal] > 0 ? (double) sums[ordinal] / rated[ordinal] : null,
+            commented[ordinal]));
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * Statistiche di una domanda in uno snapshot.
+   *
+   * @param answers il numero di risposte alla domanda
+   * @param ratings il numero di risposte con valutazione
+   * @param averageRating la media delle valutazioni, null se non ce ne sono
+   * @param comments il numero di risposte con commento
+   */
+  public record QuestionStatistics(long answers, long ratings, Double averageRating,
+      long comments) {
+  }
+}
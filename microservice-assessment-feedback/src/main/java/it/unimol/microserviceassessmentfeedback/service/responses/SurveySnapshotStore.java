@@ -0,0 +1,267 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshot su file delle risposte ai questionari chiusi, usati al posto del database per
+ * risultati e statistiche.
+ *
+ * <p>Un questionario chiuso non riceve più risposte, quindi le sue aggregazioni non cambiano.
+ * Alla chiusura il questionario viene accodato e un job periodico scrive un
+ * {@link SurveySnapshot} per questionario nella directory configurata; le letture lo mappano in
+ * memoria e lo tengono aperto in una cache LRU limitata. Ogni snapshot registra la data di
+ * chiusura del questionario e viene usato solo se il questionario è ancora chiuso con la stessa
+ * data: una riapertura o una nuova chiusura lo rendono obsoleto anche su repliche che non hanno
+ * ricevuto l'invalidazione. Un questionario chiuso senza snapshot valido viene accodato alla
+ * prima lettura, così anche le chiusure massive, programmate o avvenute su altre repliche
+ * ottengono il proprio snapshot.</p>
+ */
+@Component
+public class SurveySnapshotStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(SurveySnapshotStore.class);
+
+  static final String FILE_EXTENSION = ".snap";
+  static final long NOT_CLOSED = Long.MIN_VALUE;
+
+  private final TeacherSurveyRepository surveyRepository;
+  private final SurveyResponseRepository responseRepository;
+  private final SurveySubmissionRepository surveySubmissionRepository;
+  private final PartitioningProperties partitioningProperties;
+  private final boolean enabled;
+  private final Path directory;
+  private final int buildBatchSize;
+
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+  private final Map<String, SurveySnapshot> open;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param surveyRepository il repository dei questionari
+   * @param responseRepository il repository delle risposte per riga
+   * @param surveySubmissionRepository il repository degli invii compatti
+   * @param partitioningProperties la configurazione del partizionamento delle risposte
+   * @param enabled se false gli snapshot non vengono né scritti né letti
+   * @param directory la directory dei file di snapshot
+   * @param maxOpen il numero massimo di snapshot mappati in memoria
+   * @param buildBatchSize il numero massimo di snapshot scritti per ciclo
+   */
+  public SurveySnapshotStore(TeacherSurveyRepository surveyRepository,
+      SurveyResponseRepository responseRepository,
+      SurveySubmissionRepository surveySubmissionRepository,
+      PartitioningProperties partitioningProperties,
+      @Value("${surveys.snapshots.enabled:true}") boolean enabled,
+      @Value("${surveys.snapshots.directory:./snapshots}") String directory,
+      @Value("${surveys.snapshots.max-open:256}") int maxOpen,
+      @Value("${surveys.snapshots.build-batch-size:20}") int buildBatchSize) {
+    this.surveyRepository = surveyRepository;
+    this.responseRepository = responseRepository;
+    this.surveySubmissionRepository = surveySubmissionRepository;
+    this.partitioningProperties = partitioningProperties;
+    this.enabled = enabled;
+    this.directory = Path.of(directory);
+    this.buildBatchSize = Math.max(1, buildBatchSize);
+    int capacity = Math.max(1, maxOpen);
+    this.open = Collections.synchronizedMap(
+        new LinkedHashMap<String, SurveySnapshot>(64, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, SurveySnapshot> eldest) {
+            return size() > capacity;
+          }
+        });
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce lo snapshot valido di un questionario chiuso. Se il questionario è chiuso ma lo
+   * snapshot manca o è obsoleto, ne accoda la creazione.
+   *
+   * @param survey il questionario, appena letto dal database
+   * @return lo snapshot, vuoto se il questionario non è chiuso o lo snapshot non è pronto
+   */
+  public Optional<SurveySnapshot> find(TeacherSurvey survey) {
+    if (!enabled || survey.getStatus() != SurveyStatus.CLOSED) {
+      return Optional.empty();
+    }
+
+    long closedAt = closedAt(survey);
+    SurveySnapshot snapshot = open.get(survey.getId());
+    if (snapshot == null || snapshot.getClosedAt() != closedAt) {
+      snapshot = load(survey.getId());
+    }
+    if (snapshot != null && snapshot.getClosedAt() == closedAt) {
+      return Optional.of(snapshot);
+    }
+
+    pending.add(survey.getId());
+    return Optional.empty();
+  }
+
+  /**
+   * Restituisce il numero di questionari in attesa di snapshot.
+   *
+   * @return il numero di questionari accodati
+   */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Accoda la creazione dello snapshot dei questionari appena chiusi.
+   *
+   * @param surveyIds gli ID dei questionari
+   */
+  public void requestBuild(Collection<String> surveyIds) {
+    if (enabled) {
+      pending.addAll(surveyIds);
+    }
+  }
+
+  /**
+   * Elimina gli snapshot dei questionari riaperti o cancellati.
+   *
+   * @param surveyIds gli ID dei questionari
+   */
+  public void invalidate(Collection<String> surveyIds) {
+    for (String surveyId : surveyIds) {
+      pending.remove(surveyId);
+      open.remove(surveyId);
+      try {
+        Files.deleteIfExists(fileOf(surveyId));
+      } catch (IOException e) {
+        logger.warn("Impossibile eliminare lo snapshot del questionario {}: {}", surveyId,
+            e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Scrive gli snapshot dei questionari accodati, al più {@code build-batch-size} per ciclo.
+   */
+  @Scheduled(fixedDelayString = "${surveys.snapshots.build-interval-ms:5000}")
+  public void buildPending() {
+    Set<String> batch = new HashSet<>();
+    Iterator<String> iterator = pending.iterator();
+    while (iterator.hasNext() && batch.size() < buildBatchSize) {
+      batch.add(iterator.next());
+      iterator.remove();
+    }
+
+    for (String surveyId : batch) {
+      try {
+        build(surveyId);
+      } catch (IOException | RuntimeException e) {
+        logger.warn("Errore nella creazione dello snapshot del questionario {}: {}", surveyId,
+            e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Scrive lo snapshot di un questionario, se è chiuso.
+   *
+   * @param surveyId l'ID del questionario
+   * @return true se lo snapshot è stato scritto
+   * @throws IOException se il file non può essere scritto
+   */
+  boolean build(String surveyId) throws IOException {
+    TeacherSurvey survey = surveyRepository.findById(surveyId).orElse(null);
+    if (survey == null || survey.getStatus() != SurveyStatus.CLOSED) {
+      return false;
+    }
+
+    SurveySnapshotWriter writer = new SurveySnapshotWriter(closedAt(survey),
+        SurveySubmissionStore.questionIdsByOrdinal(survey));
+    Set<String> students = new HashSet<>();
+    // Con le tabelle partizionate il limite esclude le partizioni precedenti all'anno
+    // accademico di creazione del questionario
+    LocalDateTime since = partitioningProperties.responsesLowerBound(survey.getCreatedAt());
+    List<SurveyResponse> responses = since != null
+        ? responseRepository.findBySurveyIdSince(surveyId, since)
+        : responseRepository.findBySurveyId(surveyId);
+    for (SurveyResponse response : responses) {
+      writer.add(response.getQuestionId(), response.getNumericRating(),
+          response.getTextComment());
+      if (students.add(response.getStudentId())) {
+        writer.addSubmission();
+      }
+    }
+    for (SurveySubmission submission : surveySubmissionRepository.findBySurveyId(surveyId)) {
+      writer.addSubmission();
+      for (int ordinal = 0; ordinal < submission.getRatings().length; ordinal++) {
+        if (submission.hasAnswer(ordinal)) {
+          writer.add(ordinal, submission.getRating(ordinal), submission.getComment(ordinal));
+        }
+      }
+    }
+
+    writer.writeTo(fileOf(surveyId));
+    open.remove(surveyId);
+    logger.debug("Snapshot del questionario {} scritto", surveyId);
+    return true;
+  }
+
+  private SurveySnapshot load(String surveyId) {
+    Path file = fileOf(surveyId);
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try {
+      SurveySnapshot snapshot = SurveySnapshot.map(file);
+      open.put(surveyId, snapshot);
+      return snapshot;
+    } catch (IOException | IllegalStateException e) {
+      logger.warn("Snapshot del questionario {} non leggibile: {}", surveyId, e.getMessage());
+      return null;
+    }
+  }
+
+  Path fileOf(String surveyId) {
+    return directory.resolve(surveyId.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_EXTENSION);
+  }
+
+  /**
+   * Codifica la data di chiusura del questionario, che identifica la versione dello snapshot.
+   */
+  static long closedAt(TeacherSurvey survey) {
+    LocalDateTime closingDate = survey.getClosingDate();
+    return closingDate != null ? closingDate.toInstant(ZoneOffset.UTC).toEpochMilli() : NOT_CLOSED;
+  }
+}
@@ -0,0 +1,173 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Costruisce il file di un {@link SurveySnapshot} a partire dalle risposte di un questionario.
+ *
+ * <p>Le risposte sono accumulate in memoria, ordinate per posizione della domanda e scritte in
+ * un file temporaneo che sostituisce quello definitivo con uno spostamento atomico: chi ha già
+ * mappato la versione precedente continua a leggerla senza errori.</p>
+ */
+final class SurveySnapshotWriter {
+
+  private static final byte[] NO_COMMENT = new byte[0];
+
+  private final long closedAt;
+  private final List<byte[]> questionIds = new ArrayList<>();
+  private final Map<String, Integer> ordinals = new HashMap<>();
+  private final List<Answer> answers = new ArrayList<>();
+  private int submissions;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore dello snapshot di un questionario.
+   *
+   * @param closedAt la data di chiusura codificata del questionario
+   * @param questionIdsByOrdinal gli ID delle domande indicizzati per posizione
+   */
+  SurveySnapshotWriter(long closedAt, String[] questionIdsByOrdinal) {
+    this.closedAt = closedAt;
+    for (String questionId : questionIdsByOrdinal) {
+      addQuestion(questionId != null ? questionId : "");
+    }
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Conta una compilazione del questionario.
+   */
+  void addSubmission() {
+    submissions++;
+  }
+
+  /**
+   * Aggiunge la risposta alla domanda in una posizione. Le posizioni senza domanda sono ignorate.
+   *
+   * @param ordinal la posizione della domanda
+   * @param rating la valutazione, può essere null
+   * @param comment il commento, può essere null o vuoto
+   */
+  void add(int ordinal, Integer rating, String comment) {
+    if (ordinal >= 0 && ordinal < questionIds.size()) {
+      answers.add(new Answer(ordinal, rating != null ? rating.byteValue() : 0,
+          comment != null && !comment.isEmpty()
+              ? comment.getBytes(StandardCharsets.UTF_8) : NO_COMMENT));
+    }
+  }
+
+  /**
+   * Aggiunge la risposta a una domanda identificata per ID. Una domanda non più presente nel
+   * questionario riceve una nuova posizione, così le sue risposte restano nelle statistiche.
+   *
+   * @param questionId l'ID della domanda
+   * @param rating la valutazione, può essere null
+   * @param comment il commento, può essere null o vuoto
+   */
+  void add(String questionId, Integer rating, String comment) {
+    if (questionId == null) {
+      return;
+    }
+    Integer ordinal = ordinals.get(questionId);
+    add(ordinal != null ? ordinal : addQuestion(questionId), rating, comment);
+  }
+
+  /**
+   * Serializza lo snapshot.
+   *
+   * @return il contenuto del file, pronto per la lettura
+   */
+  ByteBuffer toBuffer() {
+    answers.sort(Comparator.comparingInt(Answer::ordinal));
+
+    int size = SurveySnapshot.HEADER_BYTES;
+    for (byte[] questionId : questionIds) {
+      size += Short.BYTES + questionId.length;
+    }
+    size += answers.size() * (Short.BYTES + 1 + Integer.BYTES);
+    for (Answer answer : answers) {
+      size += answer.comment().length;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(SurveySnapshot.MAGIC)
+        .putLong(closedAt)
+        .putInt(submissions)
+        .putInt(questionIds.size())
+        .putInt(answers.size());
+    for (byte[] questionId : questionIds) {
+      buffer.putShort((short) questionId.length).put(questionId);
+    }
+    for (Answer answer : answers) {
+      buffer.putShort((short) answer.ordinal());
+    }
+    for (Answer answer : answers) {
+      buffer.put(answer.rating());
+    }
+    int commentEnd = 0;
+    for (Answer answer : answers) {
+      commentEnd += answer.comment().length;
+      buffer.putInt(commentEnd);
+    }
+    for (Answer answer : answers) {
+      buffer.put(answer.comment());
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Scrive lo snapshot su file, sostituendo atomicamente quello eventualmente presente.
+   *
+   * @param file il file di destinazione
+   * @throws IOException se il file non può essere scritto
+   */
+  void writeTo(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      ByteBuffer buffer = toBuffer();
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private int addQuestion(String questionId) {
+    int ordinal = questionIds.size();
+    questionIds.add(questionId.getBytes(StandardCharsets.UTF_8));
+    ordinals.putIfAbsent(questionId, ordinal);
+    return ordinal;
+  }
+
+  /**
+   * Risposta da scrivere nelle colonne dello snapshot.
+   */
+  private record Answer(int ordinal, byte rating, byte[] comment) {
+  }
+}
@@ -0,0 +1,250 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import it.unimol.microserviceassessmentfeedback.dto.SurveyResponseDto;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Archiviazione compatta delle risposte ai questionari, esposta come {@link SurveyResponseDto}.
+ *
+ * <p>In modalità {@code compact} ogni compilazione è salvata come un solo
+ * {@link SurveySubmission}, indicizzato dalla posizione delle domande, invece di una riga per
+ * domanda. Le letture convertono gli invii nelle stesse risposte per domanda restituite dalla
+ * modalità {@code rows}, quindi l'API non cambia. Le letture considerano sempre anche gli invii
+ * compatti, così il passaggio da una modalità all'altra non nasconde dati già salvati.</p>
+ */
+@Component
+public class SurveySubmissionStore {
+
+  static final String COMPACT_MODE = "compact";
+
+  private final SurveySubmissionRepository surveySubmissionRepository;
+  private final boolean compact;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param surveySubmissionRepository il repository degli invii compatti
+   * @param storageMode la modalità di scrittura delle risposte, {@code rows} o {@code compact}
+   */
+  public SurveySubmissionStore(SurveySubmissionRepository surveySubmissionRepository,
+      @Value("${surveys.responses.storage-mode:compact}") String storageMode) {
+    this.surveySubmissionRepository = surveySubmissionRepository;
+    this.compact = COMPACT_MODE.equalsIgnoreCase(storageMode.trim());
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Indica se le nuove risposte vanno salvate in forma compatta.
+   *
+   * @return true in modalità {@code compact}
+   */
+  public boolean isCompact() {
+    return compact;
+  }
+
+  /**
+   * Indica se lo studente ha già un invio compatto per il questionario.
+   *
+   * @param surveyId l'ID del questionario
+   * @param studentId l'ID dello studente
+   * @return true se l'invio esiste
+   */
+  public boolean hasSubmitted(String surveyId, String studentId) {
+    return surveySubmissionRepository.existsBySurveyIdAndStudentId(surveyId, studentId);
+  }
+
+  /**
+   * Restituisce le risposte salvate in forma compatta per un questionario.
+   *
+   * @param surveyId l'ID del questionario
+   * @return le risposte, una per domanda risposta
+   */
+  public List<SurveyResponseDto> findBySurvey(String surveyId) {
+    return expand(surveySubmissionRepository.findBySurveyId(surveyId), false);
+  }
+
+  /**
+   * Restituisce le risposte con commento salvate in forma compatta per un questionario.
+   *
+   * @param surveyId l'ID del questionario
+   * @return le risposte con commento
+   */
+  public List<SurveyResponseDto> findCommentsBySurvey(String surveyId) {
+    return expand(surveySubmissionRepository.findAllWithCommentsForSurvey(surveyId), true);
+  }
+
+  /**
+   * Restituisce le risposte salvate in forma compatta da uno studente.
+   *
+   * @param studentId l'ID dello studente
+   * @return le risposte dello studente
+   */
+  public List<SurveyResponseDto> findByStudent(String studentId) {
+    return expand(surveySubmissionRepository.findByStudentId(studentId), false);
+  }
+
+  /**
+   * Somma le valutazioni degli invii compatti di un questionario, leggendo solo gli array delle
+   * valutazioni.
+   *
+   * @param survey il questionario
+   * @return per ogni ID domanda, la coppia {somma, numero} delle valutazioni
+   */
+  public Map<String, long[]> sumRatings(TeacherSurvey survey) {
+    Map<String, long[]> totals = new HashMap<>();
+    List<byte[]> rows = surveySubmissionRepository.findRatingsBySurveyId(survey.getId());
+    if (rows.isEmpty()) {
+      return totals;
+    }
+
+    String[] questionIds = questionIdsByOrdinal(survey);
+    long[] sums = new long[questionIds.length];
+    long[] counts = new long[questionIds.length];
+    for (byte[] ratings : rows) {
+      int length = Math.min(ratings.length, questionIds.length);
+      for (int ordinal = 0; ordinal < length; ordinal++) {
+        if (ratings[ordinal] != SurveySubmission.NO_RATING) {
+          sums[ordinal] += ratings[ordinal];
+          counts[ordinal]++;
+        }
+      }
+    }
+    for (int ordinal = 0; ordinal < questionIds.length; ordinal++) {
+      if (counts[ordinal] > 0) {
+        totals.put(questionIds[ordinal], new long[] {sums[ordinal], counts[ordinal]});
+      }
+    }
+    return totals;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Salva in un solo invio compatto le risposte di uno studente a un questionario.
+   *
+   * @param survey il questionario
+   * @param studentId l'ID dello studente
+   * @param answers le risposte, al più una per domanda
+   * @param submissionDate la data di invio
+   * @return le risposte salvate
+   * @throws IllegalArgumentException se una risposta si riferisce a una domanda inesistente
+   */
+  public List<SurveyResponseDto> submit(TeacherSurvey survey, String studentId,
+      List<SurveyResponseDto> answers, LocalDateTime submissionDate) {
+    Map<String, Integer> ordinals = ordinalsByQuestionId(survey);
+    SurveySubmission submission = new SurveySubmission(survey, studentId, submissionDate);
+    for (SurveyResponseDto answer : answers) {
+      submission.answer(ordinalOf(ordinals, answer.getQuestionId()), answer.getNumericRating(),
+          answer.getTextComment());
+    }
+    return expand(List.of(surveySubmissionRepository.save(submission)), false);
+  }
+
+  /**
+   * Registra una singola risposta nell'invio compatto dello studente, creandolo se assente. Una
+   * risposta alla stessa domanda sostituisce la precedente.
+   *
+   * @param survey il questionario
+   * @param answer la risposta, con l'ID dello studente
+   * @param submissionDate la data di invio
+   * @return la risposta salvata
+   * @throws IllegalArgumentException se la risposta si riferisce a una domanda inesistente
+   */
+  public SurveyResponseDto answer(TeacherSurvey survey, SurveyResponseDto answer,
+      LocalDateTime submissionDate) {
+    int ordinal = ordinalOf(ordinalsByQuestionId(survey), answer.getQuestionId());
+    SurveySubmission submission = surveySubmissionRepository
+        .findBySurveyIdAndStudentId(survey.getId(), answer.getStudentId())
+        .orElseGet(() -> new SurveySubmission(survey, answer.getStudentId(), submissionDate));
+    submission.answer(ordinal, answer.getNumericRating(), answer.getTextComment());
+
+    SurveySubmission saved = surveySubmissionRepository.save(submission);
+    return toDto(saved, ordinal, answer.getQuestionId());
+  }
+
+  private List<SurveyResponseDto> expand(List<SurveySubmission> submissions,
+      boolean commentsOnly) {
+    List<SurveyResponseDto> responses = new ArrayList<>();
+    Map<String, String[]> questionIdsBySurvey = new HashMap<>();
+    for (SurveySubmission submission : submissions) {
+      TeacherSurvey survey = submission.getSurvey();
+      String[] questionIds =
+          questionIdsBySurvey.computeIfAbsent(survey.getId(), id -> questionIdsByOrdinal(survey));
+      for (int ordinal = 0; ordinal < questionIds.length; ordinal++) {
+        boolean include = commentsOnly
+            ? submission.getComment(ordinal) != null
+            : submission.hasAnswer(ordinal);
+        if (include) {
+          responses.add(toDto(submission, ordinal, questionIds[ordinal]));
+        }
+      }
+    }
+    return responses;
+  }
+
+  private static SurveyResponseDto toDto(SurveySubmission submission, int ordinal,
+      String questionId) {
+    return new SurveyResponseDto(submission.getId() + ":" + ordinal,
+        submission.getSurvey().getId(), submission.getStudentId(), questionId,
+        submission.getRating(ordinal), submission.getComment(ordinal),
+        submission.getSubmissionDate());
+  }
+
+  private static int ordinalOf(Map<String, Integer> ordinals, String questionId) {
+    Integer ordinal = ordinals.get(questionId);
+    if (ordinal == null) {
+      throw new IllegalArgumentException("Domanda non presente nel questionario: " + questionId);
+    }
+    return ordinal;
+  }
+
+  private static Map<String, Integer> ordinalsByQuestionId(TeacherSurvey survey) {
+    String[] questionIds = questionIdsByOrdinal(survey);
+    Map<String, Integer> ordinals = new HashMap<>();
+    for (int ordinal = 0; ordinal < questionIds.length; ordinal++) {
+      if (questionIds[ordinal] != null) {
+        ordinals.put(questionIds[ordinal], ordinal);
+      }
+    }
+    return ordinals;
+  }
+
+  /**
+   * Restituisce gli ID delle domande indicizzati per posizione. I questionari creati prima
+   * dell'introduzione delle posizioni usano l'ordine in cui le domande sono salvate.
+   */
+  static String[] questionIdsByOrdinal(TeacherSurvey survey) {
+    List<SurveyQuestionDto> questions = survey.getQuestions();
+    if (questions == null) {
+      return new String[0];
+    }
+
+    int size = questions.size();
+    for (SurveyQuestionDto question : questions) {
+      if (question.getOrdinal() != null) {
+        size = Math.max(size, question.getOrdinal() + 1);
+      }
+    }
+    String[] questionIds = new String[size];
+    for (int i = 0; i < questions.size(); i++) {
+      SurveyQuestionDto question = questions.get(i);
+      questionIds[question.getOrdinal() != null ? question.getOrdinal() : i] = question.getId();
+    }
+    return questionIds;
+  }
+}
@@ -0,0 +1,168 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing wheel gerarchica in memoria.
+ *
+ * <p>Il livello base ha {@code wheelSize} slot da {@code tickMs}; gli elementi oltre il suo
+ * orizzonte vanno in un livello di overflow con tick pari all'intero giro del livello inferiore,
+ * creato al primo utilizzo. Inserimento e scadenza costano O(1) per elemento; quando il livello
+ * superiore raggiunge uno slot, i suoi elementi scendono al livello base. Un elemento scade al
+ * più un tick dopo l'istante richiesto e mai prima.</p>
+ *
+ * <p>La classe non è thread-safe: l'accesso va serializzato dal chiamante.</p>
+ *
+ * @param <T> il tipo degli elementi programmati
+ */
+public final class HierarchicalTimingWheel<T> {
+
+  private final long tickMs;
+  private final int wheelSize;
+  private final long interval;
+  private final List<ArrayDeque<Entry<T>>> buckets;
+  private final HierarchicalTimingWheel<T> root;
+
+  private long currentTime;
+  private int size;
+  private HierarchicalTimingWheel<T> overflow;
+
+  // ============ Costruttore ============
+
+  /**
+   * Crea il livello base della timing wheel.
+   *
+   * @param tickMs durata di uno slot in millisecondi
+   * @param wheelSize numero di slot per livello
+   * @param startMs istante iniziale in epoch millis
+   */
+  public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+    this(tickMs, wheelSize, startMs, null);
+  }
+
+  private HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs,
+      HierarchicalTimingWheel<T> root) {
+    if (tickMs <= 0 || wheelSize <= 1) {
+      throw new IllegalArgumentException("tickMs deve essere positivo e wheelSize maggiore di 1");
+    }
+    this.tickMs = tickMs;
+    this.wheelSize = wheelSize;
+    this.interval = tickMs * wheelSize;
+    this.currentTime = startMs - (startMs % tickMs);
+    this.root = root != null ? root : this;
+    this.buckets = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new ArrayDeque<>());
+    }
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il numero di elementi programmati in tutti i livelli.
+   *
+   * @return il numero di elementi in attesa
+   */
+  public int size() {
+    return size + (overflow != null ? overflow.size() : 0);
+  }
+
+  /**
+   * Restituisce l'istante corrente della wheel, arrotondato al tick.
+   *
+   * @return l'istante corrente in epoch millis
+   */
+  public long getCurrentTime() {
+    return currentTime;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Programma un elemento.
+   *
+   * @param item l'elemento da programmare
+   * @param expirationMs l'istante di scadenza in epoch millis
+   * @return false se l'elemento è già scaduto e va eseguito subito dal chiamante
+   */
+  public boolean add(T item, long expirationMs) {
+    return insert(new Entry<>(item, expirationMs));
+  }
+
+  /**
+   * Fa avanzare la wheel fino all'istante indicato.
+   *
+   * @param nowMs l'istante corrente in epoch millis
+   * @return gli elementi scaduti, in ordine di slot
+   */
+  public List<T> advance(long nowMs) {
+    List<T> expired = new ArrayList<>();
+    while (currentTime + tickMs <= nowMs) {
+      if (size() == 0) {
+        moveTo(nowMs - (nowMs % tickMs));
+        break;
+      }
+      ArrayDeque<Entry<T>> bucket = bucketFor(currentTime);
+      currentTime += tickMs;
+      while (!bucket.isEmpty()) {
+        Entry<T> entry = bucket.poll();
+        size--;
+        expired.add(entry.item);
+      }
+      if (overflow != null) {
+        overflow.cascade(currentTime, expired);
+      }
+    }
+    return expired;
+  }
+
+  private boolean insert(Entry<T> entry) {
+    if (entry.expirationMs <= currentTime) {
+      return false;
+    }
+    if (entry.expirationMs < currentTime + interval) {
+      bucketFor(entry.expirationMs).add(entry);
+      size++;
+      return true;
+    }
+    if (overflow == null) {
+      overflow = new HierarchicalTimingWheel<>(interval, wheelSize, currentTime, root);
+    }
+    return overflow.insert(entry);
+  }
+
+  private void cascade(long lowerTime, List<T> expired) {
+    while (currentTime + tickMs <= lowerTime) {
+      currentTime += tickMs;
+      ArrayDeque<Entry<T>> bucket = bucketFor(currentTime);
+      while (!bucket.isEmpty()) {
+        Entry<T> entry = bucket.poll();
+        size--;
+        if (!root.insert(entry)) {
+          expired.add(entry.item);
+        }
+      }
+      if (overflow != null) {
+        overflow.cascade(currentTime, expired);
+      }
+    }
+  }
+
+  private void moveTo(long timeMs) {
+    currentTime = Math.max(currentTime, timeMs - (timeMs % tickMs));
+    if (overflow != null) {
+      overflow.moveTo(timeMs);
+    }
+  }
+
+  private ArrayDeque<Entry<T>> bucketFor(long timeMs) {
+    return buckets.get((int) ((timeMs / tickMs) % wheelSize));
+  }
+
+  private record Entry<T>(T item, long expirationMs) {
+  }
+}
@@ -0,0 +1,77 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import it.unimol.microserviceassessmentfeedback.model.Assessment;
+import it.unimol.microserviceassessmentfeedback.model.ScheduledTask;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Esegue la logica associata a ciascuna tipologia di task programmato.
+ */
+@Component
+public class ScheduledTaskHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskHandler.class);
+
+  private final NotificationService notificationService;
+  private final AssessmentRepository assessmentRepository;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param notificationService il servizio di notifica
+   * @param assessmentRepository il repository delle valutazioni
+   */
+  public ScheduledTaskHandler(NotificationService notificationService,
+      AssessmentRepository assessmentRepository) {
+    this.notificationService = notificationService;
+    this.assessmentRepository = assessmentRepository;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Esegue un task programmato.
+   *
+   * @param task il task da eseguire
+   */
+  public void handle(ScheduledTask task) {
+    switch (task.getTaskType()) {
+      case ASSESSMENT_REMINDER -> handleAssessmentReminder(task);
+      case ASSIGNMENT_DEADLINE_REMINDER -> notificationService.sendAssignmentDeadlineReminder(
+          task.getReferenceId(), task.getCourseId(),
+          task.getReferenceTime() != null ? task.getReferenceTime() : task.getDueAt());
+      case FEEDBACK_SURVEY -> notificationService.scheduleFeedbackSurvey(task.getTargetId(),
+          task.getReferenceId(), task.getCourseId());
+      default -> logger.warn("Tipo di task non gestito: {}", task.getTaskType());
+    }
+  }
+
+  /**
+   * Invia il promemoria solo se la valutazione esiste ancora e non ha ricevuto un punteggio.
+   */
+  private void handleAssessmentReminder(ScheduledTask task) {
+    Optional<Assessment> assessment = task.getEntityId() != null
+        ? assessmentRepository.findById(task.getEntityId())
+        : Optional.empty();
+    boolean pending = assessment
+        .map(a -> a.getScore() == null || a.getScore() == 0.0)
+        .orElse(task.getEntityId() == null);
+    if (!pending) {
+      logger.debug("Promemoria non necessario per valutazione {}: già valutata o rimossa",
+          task.getEntityId());
+      return;
+    }
+    notificationService.sendAssessmentReminder(task.getTargetId(), task.getReferenceId());
+  }
+}
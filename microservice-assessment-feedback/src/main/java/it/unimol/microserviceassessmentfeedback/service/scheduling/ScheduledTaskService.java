@@ -0,0 +1,356 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskStatus;
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskType;
+import it.unimol.microserviceassessmentfeedback.model.ScheduledTask;
+import it.unimol.microserviceassessmentfeedback.repository.ScheduledTaskRepository;
+import it.unimol.microserviceassessmentfeedback.repository.ScheduledTaskRepository.DueTask;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scheduler persistente per promemoria e job a scadenza.
+ *
+ * <p>I task sono salvati in {@code scheduled_tasks}, così sopravvivono ai riavvii. Ogni replica
+ * carica in una {@link HierarchicalTimingWheel} in memoria solo la fetta di task in scadenza nei
+ * prossimi {@code slice-ms}, a lotti, invece di interrogare periodicamente l'intera tabella. Allo
+ * scadere di un task la replica tenta un claim condizionale sul database: solo chi aggiorna la
+ * riga lo esegue. Il claim ha una durata ({@code lease-ms}); se la replica cade prima di
+ * completarlo, allo scadere del lease il task torna eseguibile da un'altra replica, quindi la
+ * consegna è almeno una volta.</p>
+ */
+@Service
+public class ScheduledTaskService {
+
+  static final String PURGE_JOB_NAME = "scheduled-task-purge";
+
+  private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskService.class);
+
+  private static final long HOUR_MS = 3_600_000L;
+  private static final long ASSESSMENT_REMINDER_DELAY_MS = 48 * HOUR_MS;
+  private static final long[] DEADLINE_REMINDER_OFFSETS_MS = {48 * HOUR_MS, 24 * HOUR_MS};
+
+  private final ScheduledTaskRepository scheduledTaskRepository;
+  private final ScheduledTaskHandler scheduledTaskHandler;
+  private final JobLeaseManager jobLeaseManager;
+  private final long sliceMs;
+  private final long leaseMs;
+  private final int maxAttempts;
+  private final long retryDelayMs;
+  private final int loadBatchSize;
+  private final long retentionMs;
+  private final long feedbackSurveyDelayMs;
+  private final String instanceId;
+
+  private final Object lock = new Object();
+  private final HierarchicalTimingWheel<String> wheel;
+  private final Set<String> wheelIds = new HashSet<>();
+  private long loadedUntil;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param scheduledTaskRepository il repository dei task
+   * @param scheduledTaskHandler l'esecutore dei task
+   * @param jobLeaseManager la leader election dei job di background
+   * @param tickMs la durata di un tick della timing wheel
+   * @param wheelSize il numero di slot per livello della timing wheel
+   * @param sliceMs l'ampiezza della fetta temporale caricata in memoria
+   * @param leaseMs la durata del claim di un task
+   * @param maxAttempts il numero massimo di tentativi prima di marcare il task come fallito
+   * @param retryDelayMs il ritardo base tra un tentativo e il successivo
+   * @param loadBatchSize la dimensione dei lotti letti dal database
+   * @param retentionMs per quanto tempo conservare i task completati
+   * @param feedbackSurveyDelayMs il ritardo del survey di feedback dopo un esame
+   * @param instanceId l'identificativo della replica; se vuoto viene generato
+   */
+  public ScheduledTaskService(ScheduledTaskRepository scheduledTaskRepository,
+      ScheduledTaskHandler scheduledTaskHandler, JobLeaseManager jobLeaseManager,
+      @Value("${scheduler.tick-ms:1000}") long tickMs,
+      @Value("${scheduler.wheel-size:60}") int wheelSize,
+      @Value("${scheduler.slice-ms:600000}") long sliceMs,
+      @Value("${scheduler.lease-ms:60000}") long leaseMs,
+      @Value("${scheduler.max-attempts:5}") int maxAttempts,
+      @Value("${scheduler.retry-delay-ms:300000}") long retryDelayMs,
+      @Value("${scheduler.load-batch-size:5000}") int loadBatchSize,
+      @Value("${scheduler.retention-ms:604800000}") long retentionMs,
+      @Value("${scheduler.feedback-survey-delay-ms:0}") long feedbackSurveyDelayMs,
+      @Value("${scheduler.instance-id:}") String instanceId) {
+    this.scheduledTaskRepository = scheduledTaskRepository;
+    this.scheduledTaskHandler = scheduledTaskHandler;
+    this.jobLeaseManager = jobLeaseManager;
+    this.sliceMs = Math.max(tickMs, sliceMs);
+    this.leaseMs = Math.max(1L, leaseMs);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.retryDelayMs = Math.max(0L, retryDelayMs);
+    this.loadBatchSize = Math.max(1, loadBatchSize);
+    this.retentionMs = Math.max(0L, retentionMs);
+    this.feedbackSurveyDelayMs = Math.max(0L, feedbackSurveyDelayMs);
+    this.instanceId = instanceId == null || instanceId.isBlank()
+        ? UUID.randomUUID().toString() : instanceId;
+    this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il numero di task attualmente caricati nella timing wheel.
+   *
+   * @return il numero di task in memoria
+   */
+  public int getWheelSize() {
+    synchronized (lock) {
+      return wheel.size();
+    }
+  }
+
+  /**
+   * Restituisce l'istante fino al quale i task sono stati caricati in memoria.
+   *
+   * @return l'estremo superiore della fetta caricata in epoch millis
+   */
+  public long getLoadedUntil() {
+    synchronized (lock) {
+      return loadedUntil;
+    }
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Programma il promemoria di valutazione per il docente, 48 ore dopo la consegna.
+   *
+   * @param teacherId l'ID del docente
+   * @param assignmentId l'ID dell'assignment
+   * @param assessmentId l'ID della valutazione creata per la consegna
+   */
+  public void scheduleAssessmentReminder(String teacherId, String assignmentId,
+      String assessmentId) {
+    ScheduledTask task = new ScheduledTask(ScheduledTaskType.ASSESSMENT_REMINDER,
+        "assessment-reminder:" + assessmentId,
+        System.currentTimeMillis() + ASSESSMENT_REMINDER_DELAY_MS, teacherId, assignmentId, null);
+    task.setEntityId(assessmentId);
+    schedule(task);
+  }
+
+  /**
+   * Programma i promemoria di scadenza di un assignment (48 e 24 ore prima). I promemoria già
+   * passati non vengono programmati.
+   *
+   * @param assignmentId l'ID dell'assignment
+   * @param courseId l'ID del corso
+   * @param dueDate la scadenza dell'assignment in epoch millis
+   */
+  public void scheduleDeadlineReminders(String assignmentId, String courseId, long dueDate) {
+    long now = System.currentTimeMillis();
+    for (long offset : DEADLINE_REMINDER_OFFSETS_MS) {
+      long dueAt = dueDate - offset;
+      if (dueAt <= now) {
+        continue;
+      }
+      ScheduledTask task = new ScheduledTask(ScheduledTaskType.ASSIGNMENT_DEADLINE_REMINDER,
+          "deadline-reminder:" + assignmentId + ":" + dueDate + ":" + (offset / HOUR_MS) + "h",
+          dueAt, null, assignmentId, courseId);
+      task.setReferenceTime(dueDate);
+      schedule(task);
+    }
+  }
+
+  /**
+   * Programma l'invio del survey di feedback allo studente dopo il completamento di un esame.
+   *
+   * @param studentId l'ID dello studente
+   * @param examId l'ID dell'esame
+   * @param courseId l'ID del corso
+   */
+  public void scheduleFeedbackSurvey(String studentId, String examId, String courseId) {
+    schedule(new ScheduledTask(ScheduledTaskType.FEEDBACK_SURVEY,
+        "feedback-survey:" + studentId + ":" + examId,
+        System.currentTimeMillis() + feedbackSurveyDelayMs, studentId, examId, courseId));
+  }
+
+  /**
+   * Persiste un task. La programmazione è idempotente sulla chiave di deduplica; se il task
+   * scade entro la fetta già caricata viene aggiunto anche alla timing wheel.
+   *
+   * @param task il task da programmare
+   * @return true se il task è stato creato, false se esisteva già
+   */
+  public boolean schedule(ScheduledTask task) {
+    if (scheduledTaskRepository.existsByDedupKey(task.getDedupKey())) {
+      logger.debug("Task già programmato: {}", task.getDedupKey());
+      return false;
+    }
+
+    ScheduledTask saved;
+    try {
+      saved = scheduledTaskRepository.save(task);
+    } catch (DataIntegrityViolationException e) {
+      logger.debug("Task programmato in concorrenza da un'altra replica: {}", task.getDedupKey());
+      return false;
+    }
+    logger.info("Task {} programmato per {} (chiave: {})", saved.getTaskType(), saved.getDueAt(),
+        saved.getDedupKey());
+
+    synchronized (lock) {
+      if (saved.getDueAt() < loadedUntil) {
+        addToWheel(saved.getId(), saved.getDueAt());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fa avanzare la timing wheel ed esegue i task scaduti.
+   */
+  @Scheduled(fixedDelayString = "${scheduler.tick-ms:1000}")
+  public void tick() {
+    advance(System.currentTimeMillis());
+  }
+
+  /**
+   * Carica in memoria la prossima fetta temporale di task ed esegue quelli arretrati
+   * (scadenze passate durante un riavvio o claim con lease scaduto).
+   */
+  @Scheduled(fixedDelayString = "${scheduler.load-interval-ms:60000}")
+  public void loadSlice() {
+    load(System.currentTimeMillis());
+  }
+
+  /**
+   * Elimina i task completati più vecchi del periodo di conservazione. La pulizia viene
+   * eseguita solo dalla replica che detiene il lease del job.
+   */
+  @Scheduled(fixedDelayString = "${scheduler.purge-interval-ms:3600000}")
+  public void purgeCompleted() {
+    jobLeaseManager.runExclusive(PURGE_JOB_NAME, () -> {
+      int deleted = scheduledTaskRepository.deleteCompletedBefore(
+          System.currentTimeMillis() - retentionMs);
+      if (deleted > 0) {
+        logger.info("Eliminati {} task completati", deleted);
+      }
+    });
+  }
+
+  void advance(long now) {
+    List<String> expired;
+    synchronized (lock) {
+      expired = wheel.advance(now);
+      expired.forEach(wheelIds::remove);
+    }
+    for (String id : expired) {
+      fire(id, now);
+    }
+  }
+
+  void load(long now) {
+    long from;
+    long to = now + sliceMs;
+    synchronized (lock) {
+      from = Math.max(loadedUntil, now);
+    }
+
+    int loaded = 0;
+    if (from < to) {
+      List<DueTask> batch;
+      long cursor = from;
+      do {
+        batch = scheduledTaskRepository.findDueSlice(ScheduledTaskStatus.PENDING, cursor, to,
+            PageRequest.of(0, loadBatchSize));
+        synchronized (lock) {
+          for (DueTask task : batch) {
+            addToWheel(task.getId(), task.getDueAt());
+          }
+        }
+        loaded += batch.size();
+        if (!batch.isEmpty()) {
+          long last = batch.get(batch.size() - 1).getDueAt();
+          // Un lotto pieno con un solo istante di scadenza: si avanza di 1 ms per non ciclare.
+          cursor = last > cursor ? last : last + 1;
+        }
+      } while (batch.size() == loadBatchSize);
+      synchronized (lock) {
+        loadedUntil = Math.max(loadedUntil, to);
+      }
+    }
+
+    List<DueTask> overdue = scheduledTaskRepository.findOverdue(now, now,
+        PageRequest.of(0, loadBatchSize));
+    for (DueTask task : overdue) {
+      boolean inWheel;
+      synchronized (lock) {
+        inWheel = wheelIds.contains(task.getId());
+      }
+      if (!inWheel) {
+        fire(task.getId(), now);
+      }
+    }
+
+    if (loaded > 0 || !overdue.isEmpty()) {
+      logger.debug("Caricati {} task fino a {}, {} arretrati", loaded, to, overdue.size());
+    }
+  }
+
+  /**
+   * Tenta il claim di un task e, se riuscito, lo esegue. In caso di errore il task viene
+   * riprogrammato con backoff lineare fino a {@code max-attempts}, poi marcato come fallito.
+   */
+  void fire(String id, long now) {
+    if (scheduledTaskRepository.claim(id, instanceId, now, now + leaseMs) == 0) {
+      return;
+    }
+
+    Optional<ScheduledTask> claimed = scheduledTaskRepository.findById(id);
+    if (claimed.isEmpty()) {
+      return;
+    }
+    ScheduledTask task = claimed.get();
+
+    try {
+      scheduledTaskHandler.handle(task);
+      scheduledTaskRepository.release(id, instanceId, ScheduledTaskStatus.DONE, task.getDueAt());
+      logger.info("Task {} eseguito (chiave: {})", task.getTaskType(), task.getDedupKey());
+    } catch (Exception e) {
+      if (task.getAttempts() >= maxAttempts) {
+        scheduledTaskRepository.release(id, instanceId, ScheduledTaskStatus.FAILED,
+            task.getDueAt());
+        logger.error("Task {} fallito definitivamente dopo {} tentativi (chiave: {}): {}",
+            task.getTaskType(), task.getAttempts(), task.getDedupKey(), e.getMessage());
+        return;
+      }
+      long retryAt = now + retryDelayMs * task.getAttempts();
+      scheduledTaskRepository.release(id, instanceId, ScheduledTaskStatus.PENDING, retryAt);
+      logger.warn("Errore nell'esecuzione del task {} (tentativo {}), nuovo tentativo a {}: {}",
+          task.getDedupKey(), task.getAttempts(), retryAt, e.getMessage());
+      synchronized (lock) {
+        if (retryAt < loadedUntil) {
+          addToWheel(id, retryAt);
+        }
+      }
+    }
+  }
+
+  private void addToWheel(String id, long dueAt) {
+    if (!wheelIds.add(id)) {
+      return;
+    }
+    if (!wheel.add(id, dueAt)) {
+      // Già scaduto rispetto alla wheel: scade al prossimo tick.
+      wheel.add(id, wheel.getCurrentTime() + 1);
+    }
+  }
+}
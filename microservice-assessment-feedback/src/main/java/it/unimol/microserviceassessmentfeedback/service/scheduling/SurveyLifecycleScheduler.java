@@ -0,0 +1,61 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import it.unimol.microserviceassessmentfeedback.service.TeacherSurveyService;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applica periodicamente le aperture e chiusure programmate dei questionari.
+ *
+ * <p>La scansione viene eseguita da una sola replica, quella che detiene il lease del job in
+ * {@link JobLeaseManager}. Le transizioni restano comunque aggiornamenti condizionati sullo stato
+ * corrente, quindi un'eventuale sovrapposizione durante il failover non produce doppie
+ * transizioni.</p>
+ */
+@Component
+public class SurveyLifecycleScheduler {
+
+  static final String JOB_NAME = "survey-lifecycle";
+
+  private static final Logger logger = LoggerFactory.getLogger(SurveyLifecycleScheduler.class);
+
+  private final TeacherSurveyService teacherSurveyService;
+  private final JobLeaseManager jobLeaseManager;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param teacherSurveyService il servizio dei questionari
+   * @param jobLeaseManager la leader election dei job di background
+   */
+  public SurveyLifecycleScheduler(TeacherSurveyService teacherSurveyService,
+      JobLeaseManager jobLeaseManager) {
+    this.teacherSurveyService = teacherSurveyService;
+    this.jobLeaseManager = jobLeaseManager;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Esegue le transizioni programmate scadute se questa replica è leader del job.
+   */
+  @Scheduled(fixedDelayString = "${surveys.lifecycle.scan-interval-ms:60000}")
+  public void run() {
+    try {
+      jobLeaseManager.runExclusive(JOB_NAME, () -> teacherSurveyService
+          .applyScheduledTransitions(LocalDateTime.now(ZoneId.systemDefault())));
+    } catch (Exception e) {
+      logger.error("Errore nell'applicazione delle transizioni programmate dei questionari", e);
+    }
+  }
+}
@@ -0,0 +1,279 @@
+package it.unimol.microserviceassessmentfeedback.service.workload;
+
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fronte in memoria dei contatori di carico di lavoro dei docenti.
+ *
+ * <p>Le scritture su valutazioni, feedback e risposte registrano solo un delta per (docente,
+ * corso), dopo il commit della transazione che le contiene: nessuna query aggiuntiva sul percorso
+ * della richiesta. Un ciclo schedulato svuota i delta e li applica alla tabella con aggiornamenti
+ * relativi, una transazione per chiave. Se la scrittura fallisce i delta tornano nel buffer;
+ * quelli persi per un arresto improvviso vengono corretti dalla riconciliazione notturna.</p>
+ *
+ * <p>Ogni gruppo di delta ricorda l'istante del primo delta, letto prima del commit della
+ * scrittura di origine. Se la riga è stata ricalcolata dopo quell'istante il ricalcolo comprende
+ * già le scritture del gruppo, anche se solo in parte: invece di sommare i delta la riga viene
+ * ricalcolata di nuovo e il gruppo scartato.</p>
+ */
+@Component
+public class TeacherWorkloadCounters {
+
+  private static final Logger logger = LoggerFactory.getLogger(TeacherWorkloadCounters.class);
+
+  private final TeacherWorkloadRepository teacherWorkloadRepository;
+  private final TeacherWorkloadReconciler teacherWorkloadReconciler;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<TeacherWorkload.Key, Deltas> pending = new ConcurrentHashMap<>();
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param teacherWorkloadRepository il repository dei contatori
+   * @param teacherWorkloadReconciler il ricalcolo dei contatori dai dati di origine
+   * @param transactionManager il transaction manager usato dallo svuotamento
+   */
+  public TeacherWorkloadCounters(TeacherWorkloadRepository teacherWorkloadRepository,
+      TeacherWorkloadReconciler teacherWorkloadReconciler,
+      PlatformTransactionManager transactionManager) {
+    this.teacherWorkloadRepository = teacherWorkloadRepository;
+    this.teacherWorkloadReconciler = teacherWorkloadReconciler;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce i delta non ancora scritti sulla tabella per i corsi di un docente.
+   *
+   * @param teacherId l'ID del docente
+   * @return i delta per corso, indicizzati secondo {@link Metric}
+   */
+  Map<String, long[]> getPending(String teacherId) {
+    Map<String, long[]> result = new HashMap<>();
+    pending.forEach((key, deltas) -> {
+      if (key.getTeacherId().equals(teacherId)) {
+        result.put(key.getCourseId(), deltas.values().clone());
+      }
+    });
+    return result;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Registra la creazione di una valutazione.
+   *
+   * @param teacherId l'ID del docente
+   * @param courseId l'ID del corso
+   * @param newStudent true se è la prima valutazione dello studente nel corso
+   */
+  public void assessmentCreated(String teacherId, String courseId, boolean newStudent) {
+    long[] deltas = new long[Metric.COUNT];
+    deltas[Metric.ASSESSMENTS.ordinal()] = 1;
+    deltas[Metric.STUDENTS.ordinal()] = newStudent ? 1 : 0;
+    record(teacherId, courseId, deltas);
+  }
+
+  /**
+   * Registra l'eliminazione di una valutazione.
+   *
+   * @param teacherId l'ID del docente
+   * @param courseId l'ID del corso
+   * @param lastOfStudent true se lo studente non ha altre valutazioni nel corso
+   */
+  public void assessmentDeleted(String teacherId, String courseId, boolean lastOfStudent) {
+    long[] deltas = new long[Metric.COUNT];
+    deltas[Metric.ASSESSMENTS.ordinal()] = -1;
+    deltas[Metric.STUDENTS.ordinal()] = lastOfStudent ? -1 : 0;
+    record(teacherId, courseId, deltas);
+  }
+
+  /**
+   * Registra la creazione di un feedback dettagliato.
+   *
+   * @param teacherId l'ID del docente della valutazione
+   * @param courseId l'ID del corso della valutazione
+   * @param firstForAssessment true se è il primo feedback della valutazione
+   */
+  public void feedbackCreated(String teacherId, String courseId, boolean firstForAssessment) {
+    long[] deltas = new long[Metric.COUNT];
+    deltas[Metric.FEEDBACK.ordinal()] = 1;
+    deltas[Metric.ASSESSMENTS_WITH_FEEDBACK.ordinal()] = firstForAssessment ? 1 : 0;
+    record(teacherId, courseId, deltas);
+  }
+
+  /**
+   * Registra l'eliminazione di un feedback dettagliato.
+   *
+   * @param teacherId l'ID del docente della valutazione
+   * @param courseId l'ID del corso della valutazione
+   * @param lastForAssessment true se la valutazione non ha altri feedback
+   */
+  public void feedbackDeleted(String teacherId, String courseId, boolean lastForAssessment) {
+    long[] deltas = new long[Metric.COUNT];
+    deltas[Metric.FEEDBACK.ordinal()] = -1;
+    deltas[Metric.ASSESSMENTS_WITH_FEEDBACK.ordinal()] = lastForAssessment ? -1 : 0;
+    record(teacherId, courseId, deltas);
+  }
+
+  /**
+   * Registra la prima compilazione di un questionario da parte di uno studente.
+   *
+   * @param teacherId l'ID del docente del questionario
+   * @param courseId l'ID del corso del questionario
+   */
+  public void surveySubmitted(String teacherId, String courseId) {
+    long[] deltas = new long[Metric.COUNT];
+    deltas[Metric.SURVEY_SUBMISSIONS.ordinal()] = 1;
+    record(teacherId, courseId, deltas);
+  }
+
+  /**
+   * Scrive periodicamente sulla tabella i delta accumulati.
+   */
+  @Scheduled(fixedDelayString = "${workload.flush-interval-ms:5000}")
+  public void flush() {
+    int written = 0;
+    for (TeacherWorkload.Key key : pending.keySet()) {
+      Deltas deltas = pending.remove(key);
+      if (deltas == null || deltas.isEmpty()) {
+        continue;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> write(key, deltas));
+        written++;
+      } catch (RuntimeException e) {
+        pending.merge(key, deltas, Deltas::plus);
+        logger.warn("Errore nella scrittura dei contatori di carico {}: {}", key,
+            e.getMessage());
+      }
+    }
+
+    if (written > 0) {
+      logger.debug("Scritti i contatori di carico di {} coppie docente/corso", written);
+    }
+  }
+
+  /**
+   * Scrive i delta rimasti alla chiusura del contesto applicativo.
+   */
+  @PreDestroy
+  public void flushAll() {
+    flush();
+  }
+
+  void record(String teacherId, String courseId, long[] values) {
+    if (teacherId == null || courseId == null) {
+      return;
+    }
+    TeacherWorkload.Key key = new TeacherWorkload.Key(teacherId, courseId);
+    // Istante letto prima del commit della scrittura di origine
+    Deltas deltas = new Deltas(values, LocalDateTime.now(ZoneId.systemDefault()));
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          pending.merge(key, deltas, Deltas::plus);
+        }
+      });
+    } else {
+      pending.merge(key, deltas, Deltas::plus);
+    }
+  }
+
+  private void write(TeacherWorkload.Key key, Deltas deltas) {
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    if (addCounts(key, deltas, now) > 0) {
+      return;
+    }
+    teacherWorkloadRepository.insertIfAbsent(key.getTeacherId(), key.getCourseId());
+    if (addCounts(key, deltas, now) == 0) {
+      // Riga ricalcolata dopo il primo delta: il gruppo è già compreso, in tutto o in parte
+      teacherWorkloadReconciler.recount(key);
+    }
+  }
+
+  private int addCounts(TeacherWorkload.Key key, Deltas deltas, LocalDateTime now) {
+    long[] values = deltas.values();
+    return teacherWorkloadRepository.addCounts(key.getTeacherId(), key.getCourseId(),
+        values[Metric.ASSESSMENTS.ordinal()],
+        values[Metric.ASSESSMENTS_WITH_FEEDBACK.ordinal()],
+        values[Metric.FEEDBACK.ordinal()],
+        values[Metric.STUDENTS.ordinal()],
+        values[Metric.SURVEY_SUBMISSIONS.ordinal()],
+        deltas.since(), now);
+  }
+
+  /**
+   * Delta accumulati per una coppia (docente, corso) e istante del primo. Immutabile: la
+   * somma e lo svuotamento passano per le operazioni atomiche della mappa.
+   */
+  private static final class Deltas {
+
+    private final long[] values;
+    private final LocalDateTime since;
+
+    Deltas(long[] values, LocalDateTime since) {
+      this.values = values;
+      this.since = since;
+    }
+
+    long[] values() {
+      return values;
+    }
+
+    LocalDateTime since() {
+      return since;
+    }
+
+    boolean isEmpty() {
+      for (long value : values) {
+        if (value != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    Deltas plus(Deltas other) {
+      long[] sum = new long[Metric.COUNT];
+      for (int i = 0; i < sum.length; i++) {
+        sum[i] = values[i] + other.values[i];
+      }
+      return new Deltas(sum, since.isBefore(other.since) ? since : other.since);
+    }
+  }
+
+  /**
+   * Contatori mantenuti per ogni coppia (docente, corso).
+   */
+  enum Metric {
+    ASSESSMENTS,
+    ASSESSMENTS_WITH_FEEDBACK,
+    FEEDBACK,
+    STUDENTS,
+    SURVEY_SUBMISSIONS;
+
+    static final int COUNT = values().length;
+  }
+}
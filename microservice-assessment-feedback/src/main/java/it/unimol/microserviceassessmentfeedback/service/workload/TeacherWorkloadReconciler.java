@@ -0,0 +1,111 @@
+package it.unimol.microserviceassessmentfeedback.service.workload;
+
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository.KeyView;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ricalcola dai dati di origine i contatori di carico di lavoro dei docenti.
+ *
+ * <p>Corregge le derive accumulate dai contatori incrementali: delta persi per un arresto
+ * improvviso, valutazioni pseudonimizzate o archiviate. Ogni riga viene ricalcolata con un solo
+ * aggiornamento, in una transazione propria, e marcata con l'istante del ricalcolo: gli incrementi
+ * scritti nel frattempo attendono il lock della riga invece di essere sovrascritti, e i delta
+ * ancora in memoria nelle repliche registrati prima di quell'istante non vengono più sommati
+ * (vedi {@link TeacherWorkloadCounters}). Le righe rimaste a zero vengono eliminate alla
+ * riconciliazione successiva.</p>
+ */
+@Component
+public class TeacherWorkloadReconciler {
+
+  private static final Logger logger = LoggerFactory.getLogger(TeacherWorkloadReconciler.class);
+
+  private final TeacherWorkloadRepository teacherWorkloadRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param teacherWorkloadRepository il repository dei contatori
+   * @param transactionManager il transaction manager usato per il ricalcolo di ogni riga
+   */
+  public TeacherWorkloadReconciler(TeacherWorkloadRepository teacherWorkloadRepository,
+      PlatformTransactionManager transactionManager) {
+    this.teacherWorkloadRepository = teacherWorkloadRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Ricalcola tutte le righe esistenti e quelle dei docenti con dati di origine senza contatori.
+   *
+   * @return il numero di righe ricalcolate
+   */
+  public int reconcile() {
+    LocalDateTime start = LocalDateTime.now(ZoneId.systemDefault());
+    int removed = transactionTemplate.execute(
+        status -> teacherWorkloadRepository.deleteEmpty(start));
+    if (removed > 0) {
+      logger.debug("Eliminate {} righe di carico di lavoro senza dati di origine", removed);
+    }
+
+    Set<TeacherWorkload.Key> keys = new LinkedHashSet<>();
+    addKeys(keys, teacherWorkloadRepository.findKeys());
+    addKeys(keys, teacherWorkloadRepository.findAssessmentKeys());
+    addKeys(keys, teacherWorkloadRepository.findSurveyResponseKeys());
+    addKeys(keys, teacherWorkloadRepository.findSurveySubmissionKeys());
+
+    int recounted = 0;
+    for (TeacherWorkload.Key key : keys) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> recount(key));
+        recounted++;
+      } catch (RuntimeException e) {
+        logger.warn("Errore nel ricalcolo dei contatori di carico {}: {}", key, e.getMessage());
+      }
+    }
+    return recounted;
+  }
+
+  /**
+   * Ricalcola una riga dai dati di origine nella transazione corrente, creandola se manca.
+   *
+   * <p>L'istante del ricalcolo viene letto dopo l'aggiornamento, quindi è successivo alla
+   * lettura dei dati di origine: un delta registrato prima di quell'istante è già compreso nei
+   * conteggi, uno registrato dopo appartiene a una scrittura non ancora visibile.</p>
+   *
+   * @param key la coppia (docente, corso)
+   */
+  void recount(TeacherWorkload.Key key) {
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    if (teacherWorkloadRepository.recount(key.getTeacherId(), key.getCourseId(), now) == 0) {
+      teacherWorkloadRepository.insertIfAbsent(key.getTeacherId(), key.getCourseId());
+      teacherWorkloadRepository.recount(key.getTeacherId(), key.getCourseId(), now);
+    }
+    teacherWorkloadRepository.markReconciled(key.getTeacherId(), key.getCourseId(),
+        LocalDateTime.now(ZoneId.systemDefault()));
+  }
+
+  private static void addKeys(Set<TeacherWorkload.Key> keys, List<KeyView> rows) {
+    for (KeyView row : rows) {
+      keys.add(new TeacherWorkload.Key(row.getTeacherId(), row.getCourseId()));
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package it.unimol.microserviceassessmentfeedback.service.workload;
+
+import it.unimol.microserviceassessmentfeedback.dto.TeacherWorkloadDto;
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository.CountView;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters.Metric;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Carico di lavoro dei docenti per corso: valutazioni senza feedback, feedback scritti e tasso
+ * di risposta ai questionari.
+ *
+ * <p>La lettura somma i contatori salvati e i delta non ancora scritti da questa replica, invece
+ * di contare valutazioni e risposte a ogni richiesta. I delta delle altre repliche diventano
+ * visibili entro {@code workload.flush-interval-ms}. Una riconciliazione notturna, eseguita
+ * solo dalla replica leader del job, riallinea i contatori ai dati di origine.</p>
+ */
+@Service
+public class TeacherWorkloadService {
+
+  static final String JOB_NAME = "teacher-workload-reconcile";
+
+  private static final Logger logger = LoggerFactory.getLogger(TeacherWorkloadService.class);
+
+  private final TeacherWorkloadRepository teacherWorkloadRepository;
+  private final TeacherWorkloadCounters teacherWorkloadCounters;
+  private final TeacherWorkloadReconciler teacherWorkloadReconciler;
+  private final JobLeaseManager jobLeaseManager;
+
+  // ============ Costruttore ============
+
+  /**
+   * Costruttore con iniezione delle dipendenze.
+   *
+   * @param teacherWorkloadRepository il repository dei contatori
+   * @param teacherWorkloadCounters il fronte in memoria dei contatori
+   * @param teacherWorkloadReconciler il ricalcolo dei contatori dai dati di origine
+   * @param jobLeaseManager la leader election dei job di background
+   */
+  public TeacherWorkloadService(TeacherWorkloadRepository teacherWorkloadRepository,
+      TeacherWorkloadCounters teacherWorkloadCounters,
+      TeacherWorkloadReconciler teacherWorkloadReconciler, JobLeaseManager jobLeaseManager) {
+    this.teacherWorkloadRepository = teacherWorkloadRepository;
+    this.teacherWorkloadCounters = teacherWorkloadCounters;
+    this.teacherWorkloadReconciler = teacherWorkloadReconciler;
+    this.jobLeaseManager = jobLeaseManager;
+  }
+
+  // ============ Metodi Override ============
+
+  // ============ Getters & Setters & Bool ============
+
+  /**
+   * Restituisce il carico di lavoro di un docente, un elemento per corso.
+   *
+   * @param teacherId l'ID del docente
+   * @return il carico di lavoro per corso, ordinato per ID del corso
+   */
+  public List<TeacherWorkloadDto> getWorkload(String teacherId) {
+    Map<String, long[]> counts = new TreeMap<>();
+    for (TeacherWorkload row : teacherWorkloadRepository.findByTeacherId(teacherId)) {
+      long[] values = counts.computeIfAbsent(row.getCourseId(), id -> new long[Metric.COUNT]);
+      values[Metric.ASSESSMENTS.ordinal()] += row.getAssessments();
+      values[Metric.ASSESSMENTS_WITH_FEEDBACK.ordinal()] += row.getAssessmentsWithFeedback();
+      values[Metric.FEEDBACK.ordinal()] += row.getFeedback();
+      values[Metric.STUDENTS.ordinal()] += row.getStudents();
+      values[Metric.SURVEY_SUBMISSIONS.ordinal()] += row.getSurveySubmissions();
+    }
+    teacherWorkloadCounters.getPending(teacherId).forEach((courseId, deltas) -> {
+      long[] values = counts.computeIfAbsent(courseId, id -> new long[Metric.COUNT]);
+      for (int i = 0; i < values.length; i++) {
+        values[i] += deltas[i];
+      }
+    });
+
+    Map<String, Long> surveys = new TreeMap<>();
+    for (CountView row : teacherWorkloadRepository.countSurveysByTeacher(teacherId)) {
+      surveys.put(row.getCourseId(), row.getTotal());
+      counts.computeIfAbsent(row.getCourseId(), id -> new long[Metric.COUNT]);
+    }
+
+    List<TeacherWorkloadDto> result = new ArrayList<>(counts.size());
+    counts.forEach((courseId, values) ->
+        result.add(toDto(teacherId, courseId, values, surveys.getOrDefault(courseId, 0L))));
+    return result;
+  }
+
+  // ============ Metodi di Classe ============
+
+  /**
+   * Riallinea ogni notte i contatori ai dati di origine se questa replica è leader del job.
+   */
+  @Scheduled(cron = "${workload.reconcile-cron:0 30 2 * * *}")
+  public void reconcile() {
+    try {
+      jobLeaseManager.runExclusive(JOB_NAME, this::reconcileAll);
+    } catch (Exception e) {
+      logger.error("Errore nella riconciliazione dei contatori di carico dei docenti", e);
+    }
+  }
+
+  void reconcileAll() {
+    teacherWorkloadCounters.flush();
+    int corrected = teacherWorkloadReconciler.reconcile();
+    logger.info("Riconciliazione dei contatori di carico completata: {} righe corrette",
+        corrected);
+  }
+
+  private static TeacherWorkloadDto toDto(String teacherId, String courseId, long[] values,
+      long surveys) {
+    long assessments = Math.max(0, values[Metric.ASSESSMENTS.ordinal()]);
+    long withFeedback = Math.max(0, values[Metric.ASSESSMENTS_WITH_FEEDBACK.ordinal()]);
+    long students = Math.max(0, values[Metric.STUDENTS.ordinal()]);
+    long submissions = Math.max(0, values[Metric.SURVEY_SUBMISSIONS.ordinal()]);
+
+    TeacherWorkloadDto dto = new TeacherWorkloadDto();
+    dto.setTeacherId(teacherId);
+    dto.setCourseId(courseId);
+    dto.setAssessments(assessments);
+    dto.setPendingGrading(Math.max(0, assessments - withFeedback));
+    dto.setFeedbackWritten(Math.max(0, values[Metric.FEEDBACK.ordinal()]));
+    dto.setStudents(students);
+    dto.setSurveys(surveys);
+    dto.setSurveySubmissions(submissions);
+    long expectedSubmissions = surveys * students;
+    dto.setSurveyResponseRate(expectedSubmissions > 0
+        ? Math.min(1.0, (double) submissions / expectedSubmissions) : null);
+    return dto;
+  }
+}
@@ -17,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -129,6 +130,41 @@ class GlobalExceptionHandlerTest {
     assertEquals(errorMessage, response.getBody().getMessage());
   }
 
+  @Test
+  void testHandleDataIntegrityViolationException() {
+    when(request.getRequestURI()).thenReturn(TEST_URI);
+    String errorMessage = "La valutazione a1 ha feedback associati e non può essere eliminata";
+    DataIntegrityViolationException exception = new DataIntegrityViolationException(errorMessage);
+
+    ResponseEntity<ErrorResponse> response =
+        exceptionHandler.handleDataIntegrityViolationException(exception, request);
+
+    assertNotNull(response);
+    assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+
+    ErrorResponse errorResponse = response.getBody();
+    assertNotNull(errorResponse);
+    assertEquals(HttpStatus.CONFLICT.value(), errorResponse.getStatus());
+    assertEquals("Conflict", errorResponse.getError());
+    assertEquals(errorMessage, errorResponse.getMessage());
+    assertEquals(TEST_URI, errorResponse.getPath());
+  }
+
+  @Test
+  void testHandleDataIntegrityViolationException_HidesConstraintDetails() {
+    when(request.getRequestURI()).thenReturn(TEST_URI);
+    DataIntegrityViolationException exception = new DataIntegrityViolationException(
+        "could not execute statement [delete from assessments where id=?]",
+        new IllegalStateException("fk_detailed_feedback_assessment"));
+
+    ResponseEntity<ErrorResponse> response =
+        exceptionHandler.handleDataIntegrityViolationException(exception, request);
+
+    assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    assertEquals("L'operazione viola un vincolo di integrità dei dati",
+        response.getBody().getMessage());
+  }
+
   @Test
   void testHandleValidationExceptions() throws NoSuchMethodException {
     // Crea un mock di BindingResult con errori di validazione
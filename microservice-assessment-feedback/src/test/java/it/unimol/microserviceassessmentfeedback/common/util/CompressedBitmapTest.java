@@ -0,0 +1,122 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+
+  @Test
+  void testAddAndContains() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+
+    assertTrue(bitmap.isEmpty());
+    assertTrue(bitmap.add(5));
+    assertFalse(bitmap.add(5));
+    assertTrue(bitmap.add(70_000));
+    assertTrue(bitmap.add(0));
+
+    assertTrue(bitmap.contains(5));
+    assertTrue(bitmap.contains(70_000));
+    assertFalse(bitmap.contains(6));
+    assertFalse(bitmap.contains(65_541));
+    assertEquals(3, bitmap.getCardinality());
+    assertArrayEquals(new int[] {0, 5, 70_000}, bitmap.toArray());
+  }
+
+  @Test
+  void testAdd_RejectsNegativeValues() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+
+    assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+  }
+
+  @Test
+  void testAdd_SwitchesToDenseContainer() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int i = 0; i < 10_000; i++) {
+      bitmap.add(i * 2);
+    }
+
+    assertEquals(10_000, bitmap.getCardinality());
+    assertTrue(bitmap.contains(19_998));
+    assertFalse(bitmap.contains(19_999));
+    assertTrue(bitmap.serialize().length < 9 * 1024 + 16);
+  }
+
+  @Test
+  void testAndNot_MatchesBitSet() {
+    Random random = new Random(42);
+    CompressedBitmap roster = new CompressedBitmap();
+    CompressedBitmap respondents = new CompressedBitmap();
+    BitSet expected = new BitSet();
+    for (int i = 0; i < 200_000; i++) {
+      int value = random.nextInt(300_000);
+      roster.add(value);
+      expected.set(value);
+    }
+    for (int i = 0; i < 150_000; i++) {
+      int value = random.nextInt(300_000);
+      respondents.add(value);
+      expected.clear(value);
+    }
+
+    CompressedBitmap missing = roster.andNot(respondents);
+
+    assertArrayEquals(expected.stream().toArray(), missing.toArray());
+    assertEquals(roster.getCardinality() - expected.cardinality(),
+        roster.andCardinality(respondents));
+  }
+
+  @Test
+  void testOr_MergesSparseAndDenseContainers() {
+    CompressedBitmap dense = new CompressedBitmap();
+    for (int i = 0; i < 5_000; i++) {
+      dense.add(i);
+    }
+    CompressedBitmap sparse = CompressedBitmap.of(3, 6_000, 131_072);
+
+    sparse.or(dense);
+
+    assertEquals(5_002, sparse.getCardinality());
+    assertTrue(sparse.contains(4_999));
+    assertTrue(sparse.contains(6_000));
+    assertTrue(sparse.contains(131_072));
+  }
+
+  @Test
+  void testSerialize_RoundTrip() {
+    CompressedBitmap bitmap = CompressedBitmap.of(1, 2, 65_536, 1_000_000);
+    for (int i = 200_000; i < 210_000; i++) {
+      bitmap.add(i);
+    }
+
+    CompressedBitmap copy = CompressedBitmap.deserialize(bitmap.serialize());
+
+    assertEquals(bitmap, copy);
+    assertEquals(bitmap.getCardinality(), copy.getCardinality());
+  }
+
+  @Test
+  void testDeserialize_RejectsUnknownFormat() {
+    assertThrows(IllegalArgumentException.class,
+        () -> CompressedBitmap.deserialize(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+  }
+
+  @Test
+  void testCopy_IsIndependent() {
+    CompressedBitmap bitmap = CompressedBitmap.of(1, 2);
+    CompressedBitmap copy = bitmap.copy();
+
+    copy.add(3);
+
+    assertFalse(bitmap.contains(3));
+    assertTrue(copy.contains(3));
+  }
+}
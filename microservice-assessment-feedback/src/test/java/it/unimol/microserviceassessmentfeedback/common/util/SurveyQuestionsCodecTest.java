@@ -0,0 +1,105 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
+import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SurveyQuestionsCodecTest {
+
+  private List<SurveyQuestionDto> questions;
+
+  @BeforeEach
+  void setUp() {
+    SurveyQuestionsCodec.clearCache();
+    questions = List.of(SurveyQuestionDto.builder()
+        .id("Q1")
+        .questionText("Quanto è stata chiara la spiegazione?")
+        .questionType(QuestionType.RATING)
+        .minRating(1)
+        .maxRating(5)
+        .build());
+  }
+
+  @Test
+  void testDecode_SameVersionSharesParsedList() {
+    String json = SurveyQuestionsCodec.encode(questions);
+    String version = SurveyQuestionsCodec.version(json);
+
+    List<SurveyQuestionDto> first = SurveyQuestionsCodec.decode(version, json);
+    List<SurveyQuestionDto> second = SurveyQuestionsCodec.decode(version, json);
+
+    assertSame(first, second);
+    assertEquals("Q1", first.get(0).getId());
+    assertEquals(1, SurveyQuestionsCodec.cachedVersions());
+  }
+
+  @Test
+  void testDecode_UsesStoredVersionEvenIfJsonIsNormalised() {
+    String json = SurveyQuestionsCodec.encode(questions);
+    String version = SurveyQuestionsCodec.version(json);
+    List<SurveyQuestionDto> first = SurveyQuestionsCodec.decode(version, json);
+
+    List<SurveyQuestionDto> second = SurveyQuestionsCodec.decode(version, " " + json + " ");
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void testDecode_ReturnsUnmodifiableList() {
+    String json = SurveyQuestionsCodec.encode(questions);
+
+    List<SurveyQuestionDto> decoded = SurveyQuestionsCodec.decode(null, json);
+
+    assertThrows(UnsupportedOperationException.class, () -> decoded.add(questions.get(0)));
+  }
+
+  @Test
+  void testDecode_EmptyOrInvalidJson() {
+    assertNull(SurveyQuestionsCodec.decode(null, null));
+    assertNull(SurveyQuestionsCodec.decode(null, "  "));
+    assertNull(SurveyQuestionsCodec.decode(null, "{invalid"));
+    assertEquals(0, SurveyQuestionsCodec.cachedVersions());
+  }
+
+  @Test
+  void testDecode_CacheIsBounded() {
+    String json = SurveyQuestionsCodec.encode(questions);
+
+    for (int i = 0; i < SurveyQuestionsCodec.MAX_CACHED_VERSIONS + 10; i++) {
+      SurveyQuestionsCodec.decode("v" + i, json);
+    }
+
+    assertEquals(SurveyQuestionsCodec.MAX_CACHED_VERSIONS, SurveyQuestionsCodec.cachedVersions());
+  }
+
+  @Test
+  void testVersion_ChangesWithContent() {
+    String json = SurveyQuestionsCodec.encode(questions);
+
+    assertNull(SurveyQuestionsCodec.version(null));
+    assertEquals(SurveyQuestionsCodec.version(json), SurveyQuestionsCodec.version(json));
+    assertNotEquals(SurveyQuestionsCodec.version(json), SurveyQuestionsCodec.version("[]"));
+  }
+
+  @Test
+  void testTeacherSurvey_ParsesQuestionsLazily() {
+    TeacherSurvey source = TeacherSurvey.builder().questions(questions).build();
+    TeacherSurvey loaded = new TeacherSurvey();
+
+    loaded.setQuestionsJson(source.getQuestionsJson());
+
+    assertEquals(0, SurveyQuestionsCodec.cachedVersions());
+    assertEquals(source.getQuestionsVersion(), loaded.getQuestionsVersion());
+    assertEquals("Q1", loaded.getQuestions().get(0).getId());
+    assertEquals(1, SurveyQuestionsCodec.cachedVersions());
+  }
+}
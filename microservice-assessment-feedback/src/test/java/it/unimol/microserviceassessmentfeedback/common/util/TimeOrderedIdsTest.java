@@ -0,0 +1,55 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdsTest {
+
+  @Test
+  void testNext_IsVersion7WithRfcVariant() {
+    UUID uuid = UUID.fromString(TimeOrderedIds.next());
+
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+  }
+
+  @Test
+  void testNext_IsStrictlyIncreasingAsText() {
+    String previous = TimeOrderedIds.next();
+    for (int i = 0; i < 10_000; i++) {
+      String current = TimeOrderedIds.next();
+      assertTrue(current.compareTo(previous) > 0, previous + " >= " + current);
+      previous = current;
+    }
+  }
+
+  @Test
+  void testNext_IsGreaterThanMin() {
+    assertTrue(TimeOrderedIds.next().compareTo(TimeOrderedIds.MIN) > 0);
+  }
+
+  @Test
+  void testTimestampOf_EncodesCreationTime() {
+    long before = System.currentTimeMillis();
+    String id = TimeOrderedIds.next();
+
+    assertTrue(TimeOrderedIds.timestampOf(id) >= before);
+    String randomId = UUID.randomUUID().toString();
+    assertThrows(IllegalArgumentException.class, () -> TimeOrderedIds.timestampOf(randomId));
+  }
+
+  @Test
+  void testIsValid() {
+    assertTrue(TimeOrderedIds.isValid(TimeOrderedIds.next()));
+    assertTrue(TimeOrderedIds.isValid(UUID.randomUUID().toString()));
+    assertFalse(TimeOrderedIds.isValid(null));
+    assertFalse(TimeOrderedIds.isValid(""));
+    assertFalse(TimeOrderedIds.isValid("survey1"));
+    assertFalse(TimeOrderedIds.isValid("1-1-1-1-1"));
+  }
+}
@@ -0,0 +1,32 @@
+package it.unimol.microserviceassessmentfeedback.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidStringJavaTypeTest {
+
+  private final UuidStringJavaType javaType = new UuidStringJavaType();
+
+  @Test
+  void testUnwrap_ConvertsValidIdToUuid() {
+    String id = TimeOrderedIds.next();
+
+    assertEquals(UUID.fromString(id), javaType.unwrap(id, UUID.class, null));
+    assertEquals(id, javaType.unwrap(id, String.class, null));
+  }
+
+  @Test
+  void testUnwrap_MalformedIdMatchesNothing() {
+    assertEquals(UUID.fromString(TimeOrderedIds.MIN), javaType.unwrap("survey1", UUID.class, null));
+  }
+
+  @Test
+  void testWrap_ReturnsCanonicalString() {
+    UUID uuid = TimeOrderedIds.nextUuid();
+
+    assertEquals(uuid.toString(), javaType.wrap(uuid, null));
+    assertEquals("survey1", javaType.wrap("survey1", null));
+  }
+}
@@ -0,0 +1,97 @@
+package it.unimol.microserviceassessmentfeedback.config.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Queue;
+
+class RabbitMqInfrastructureConfigTest {
+
+  private RabbitMqProperties properties;
+  private RabbitMqInfrastructureConfig config;
+
+  @BeforeEach
+  void setUp() {
+    properties = new RabbitMqProperties();
+    properties.getExchange().setAssessments("unimol.exchange");
+    properties.getQueue().setExamCompleted("exam.completed.queue");
+    properties.getQueue().setCourseCreated("course.created.queue");
+    properties.getQueue().setUserCreated("user.created.queue");
+    config = new RabbitMqInfrastructureConfig(properties);
+  }
+
+  private RabbitMqProperties.QueueProfile profile(RabbitMqProperties.QueueType type) {
+    RabbitMqProperties.QueueProfile profile = new RabbitMqProperties.QueueProfile();
+    profile.setType(type);
+    return profile;
+  }
+
+  @Test
+  void testDefaultProfile_KeepsClassicQueueArguments() {
+    Map<String, Object> arguments = config.userCreatedQueue().getArguments();
+
+    assertEquals(Map.of("x-dead-letter-exchange", "unimol.dlx",
+        "x-dead-letter-routing-key", "dlq",
+        "x-message-ttl", 86400000), arguments);
+  }
+
+  @Test
+  void testOnlyProfileQueues_IgnoreDeclarationExceptions() {
+    assertTrue(config.userCreatedQueue().isIgnoreDeclarationExceptions());
+    assertFalse(config.deadLetterQueue().isIgnoreDeclarationExceptions());
+    assertFalse(config.assessmentsExchange().isIgnoreDeclarationExceptions());
+  }
+
+  @Test
+  void testQuorumProfile_AddsTypeDeliveryLimitAndMaxLength() {
+    RabbitMqProperties.QueueProfile exam = profile(RabbitMqProperties.QueueType.QUORUM);
+    exam.setDeliveryLimit(5);
+    exam.setMaxLength(1000L);
+    exam.setOverflow(RabbitMqProperties.Overflow.REJECT_PUBLISH);
+    properties.getQueueProfiles().getFamilies().put("exam", exam);
+
+    Map<String, Object> arguments = config.examCompletedQueue().getArguments();
+
+    assertEquals("quorum", arguments.get("x-queue-type"));
+    assertEquals(5, arguments.get("x-delivery-limit"));
+    assertEquals(1000L, arguments.get("x-max-length"));
+    assertEquals("reject-publish", arguments.get("x-overflow"));
+  }
+
+  @Test
+  void testQuorumProfile_SkipsLanePriority() {
+    properties.getLanes().getCritical().setMaxPriority(10);
+    properties.getQueueProfiles().getFamilies()
+        .put("exam", profile(RabbitMqProperties.QueueType.QUORUM));
+
+    assertFalse(config.examCompletedQueue().getArguments().containsKey("x-max-priority"));
+  }
+
+  @Test
+  void testQuorumProfile_RejectsRejectPublishDlx() {
+    RabbitMqProperties.QueueProfile exam = profile(RabbitMqProperties.QueueType.QUORUM);
+    exam.setOverflow(RabbitMqProperties.Overflow.REJECT_PUBLISH_DLX);
+    properties.getQueueProfiles().getFamilies().put("exam", exam);
+
+    assertThrows(IllegalStateException.class, () -> config.examCompletedQueue());
+  }
+
+  @Test
+  void testLazyProfile_InheritsDefaultsAndOverridesTtl() {
+    properties.getQueueProfiles().getDefaults().setMaxLength(200L);
+    RabbitMqProperties.QueueProfile course = profile(RabbitMqProperties.QueueType.LAZY);
+    course.setTtl(3600000);
+    properties.getQueueProfiles().getFamilies().put("course", course);
+
+    Queue queue = config.courseCreatedQueue();
+
+    assertEquals("lazy", queue.getArguments().get("x-queue-mode"));
+    assertEquals(3600000, queue.getArguments().get("x-message-ttl"));
+    assertEquals(200L, queue.getArguments().get("x-max-length"));
+  }
+}
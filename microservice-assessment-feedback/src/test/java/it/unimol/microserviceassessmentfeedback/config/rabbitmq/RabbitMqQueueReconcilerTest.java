@@ -0,0 +1,132 @@
+package it.unimol.microserviceassessmentfeedback.config.rabbitmq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.ShutdownSignalException;
+import com.rabbitmq.client.impl.AMQImpl;
+import java.io.IOException;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.DeclarationExceptionEvent;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitMqQueueReconcilerTest {
+
+  @Mock
+  private AmqpAdmin amqpAdmin;
+
+  private RabbitMqProperties properties;
+  private RabbitMqQueueReconciler reconciler;
+  private Queue queue;
+
+  @BeforeEach
+  void setUp() {
+    properties = new RabbitMqProperties();
+    reconciler = new RabbitMqQueueReconciler(amqpAdmin, properties);
+    queue = QueueBuilder.durable("exam.completed.queue").quorum().build();
+    queue.setIgnoreDeclarationExceptions(true);
+  }
+
+  @Test
+  void testReconcile_DisabledKeepsQueueAndRecordsMismatch() {
+    assertFalse(reconciler.reconcile(queue));
+
+    verifyNoInteractions(amqpAdmin);
+    assertEquals(Set.of("exam.completed.queue"), reconciler.getMismatchedQueues());
+  }
+
+  @Test
+  void testReconcile_RecreatesEmptyIdleQueue() {
+    properties.getQueueProfiles().setRecreateEmptyOnMismatch(true);
+    when(amqpAdmin.getQueueInfo("exam.completed.queue"))
+        .thenReturn(new QueueInformation("exam.completed.queue", 0, 0));
+
+    assertTrue(reconciler.reconcile(queue));
+
+    verify(amqpAdmin).deleteQueue("exam.completed.queue", true, true);
+    verify(amqpAdmin).declareQueue(queue);
+    assertTrue(reconciler.getMismatchedQueues().isEmpty());
+  }
+
+  @Test
+  void testReconcile_NonEmptyQueueIsKept() {
+    properties.getQueueProfiles().setRecreateEmptyOnMismatch(true);
+    when(amqpAdmin.getQueueInfo("exam.completed.queue"))
+        .thenReturn(new QueueInformation("exam.completed.queue", 42, 0));
+
+    assertFalse(reconciler.reconcile(queue));
+
+    verify(amqpAdmin, never()).deleteQueue(anyString(), anyBoolean(), anyBoolean());
+    verify(amqpAdmin, never()).declareQueue(any());
+  }
+
+  @Test
+  void testReconcile_QueueWithConsumersIsKept() {
+    properties.getQueueProfiles().setRecreateEmptyOnMismatch(true);
+    when(amqpAdmin.getQueueInfo("exam.completed.queue"))
+        .thenReturn(new QueueInformation("exam.completed.queue", 0, 2));
+
+    assertFalse(reconciler.reconcile(queue));
+
+    verify(amqpAdmin, never()).deleteQueue(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  void testReconcile_DeleteFailureKeepsMismatch() {
+    properties.getQueueProfiles().setRecreateEmptyOnMismatch(true);
+    when(amqpAdmin.getQueueInfo("exam.completed.queue"))
+        .thenReturn(new QueueInformation("exam.completed.queue", 0, 0));
+    doThrow(new AmqpIOException(new java.io.IOException("in use"))).when(amqpAdmin)
+        .deleteQueue("exam.completed.queue", true, true);
+
+    assertFalse(reconciler.reconcile(queue));
+
+    verify(amqpAdmin, never()).declareQueue(any());
+    assertEquals(Set.of("exam.completed.queue"), reconciler.getMismatchedQueues());
+  }
+
+  @Test
+  void testOnApplicationEvent_IgnoresOtherErrors() {
+    reconciler.onApplicationEvent(new DeclarationExceptionEvent(this, queue,
+        new IllegalStateException("boom")));
+
+    assertTrue(reconciler.getMismatchedQueues().isEmpty());
+  }
+
+  @Test
+  void testOnApplicationEvent_ReconcilesMarkedQueuesOnly() {
+    Queue unmarked = QueueBuilder.durable("audit.queue").build();
+
+    reconciler.onApplicationEvent(new DeclarationExceptionEvent(this, unmarked,
+        mismatchedArguments()));
+    assertTrue(reconciler.getMismatchedQueues().isEmpty());
+
+    reconciler.onApplicationEvent(new DeclarationExceptionEvent(this, queue,
+        mismatchedArguments()));
+    assertEquals(Set.of("exam.completed.queue"), reconciler.getMismatchedQueues());
+  }
+
+  private static Exception mismatchedArguments() {
+    return new AmqpIOException(new IOException(new ShutdownSignalException(false, false,
+        new AMQImpl.Channel.Close(406, "PRECONDITION_FAILED", 50, 10), null)));
+  }
+}
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -137,7 +138,7 @@ class AssessmentControllerTest {
         .thenReturn(Arrays.asList(testAssessmentDto));
 
     ResponseEntity<List<AssessmentDto>> response = assessmentController.getAssessmentsByCourse(
-        "course1");
+        "course1", null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
@@ -145,6 +146,19 @@ class AssessmentControllerTest {
     verify(assessmentService, times(1)).getAssessmentsByCourse("course1");
   }
 
+  @Test
+  void testGetAssessmentsByCourse_WithAcademicYear() {
+    when(assessmentService.getAssessmentsByCourse("course1", "2024/2025"))
+        .thenReturn(Arrays.asList(testAssessmentDto));
+
+    ResponseEntity<List<AssessmentDto>> response = assessmentController.getAssessmentsByCourse(
+        "course1", "2024/2025");
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody().size());
+    verify(assessmentService, never()).getAssessmentsByCourse("course1");
+  }
+
   @Test
   void testGetPersonalAssessments() {
     when(jwtRequestHelper.getUsernameFromRequest(any())).thenReturn("student1");
@@ -321,7 +335,7 @@ class AssessmentControllerTest {
         .thenThrow(new RuntimeException("Error"));
 
     assertThrows(RuntimeException.class,
-        () -> assessmentController.getAssessmentsByCourse("course1"));
+        () -> assessmentController.getAssessmentsByCourse("course1", null));
   }
 
   @Test
@@ -0,0 +1,70 @@
+package it.unimol.microserviceassessmentfeedback.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.common.util.JwtRequestHelper;
+import it.unimol.microserviceassessmentfeedback.dto.StudentDashboardDto;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardService;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardService.StudentDashboardView;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StudentDashboardControllerTest {
+
+  @Mock
+  private StudentDashboardService studentDashboardService;
+
+  @Mock
+  private JwtRequestHelper jwtRequestHelper;
+
+  @Mock
+  private HttpServletRequest request;
+
+  @InjectMocks
+  private StudentDashboardController studentDashboardController;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(studentDashboardController, "jwtRequestHelper", jwtRequestHelper);
+    when(jwtRequestHelper.extractStudentIdFromRequest(request)).thenReturn("student1");
+  }
+
+  @Test
+  void testGetPersonalDashboard() {
+    StudentDashboardDto dashboard = new StudentDashboardDto();
+    dashboard.setStudentId("student1");
+    when(studentDashboardService.getDashboard("student1", null))
+        .thenReturn(new StudentDashboardView("abc-def", dashboard));
+
+    ResponseEntity<StudentDashboardDto> response =
+        studentDashboardController.getPersonalDashboard(request, null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("\"abc-def\"", response.getHeaders().getETag());
+    assertEquals("student1", response.getBody().getStudentId());
+  }
+
+  @Test
+  void testGetPersonalDashboard_NotModified() {
+    when(studentDashboardService.getDashboard("student1", "\"abc-def\""))
+        .thenReturn(new StudentDashboardView("abc-def", null));
+
+    ResponseEntity<StudentDashboardDto> response =
+        studentDashboardController.getPersonalDashboard(request, "\"abc-def\"");
+
+    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    assertEquals("\"abc-def\"", response.getHeaders().getETag());
+    assertNull(response.getBody());
+  }
+}
@@ -111,6 +111,32 @@ class SurveyResponseControllerTest {
     verify(responseService, times(1)).getSurveyResults("survey1", "teacher1");
   }
 
+  @Test
+  void testGetNonRespondents() {
+    when(jwtRequestHelper.getUserIdFromRequest(any())).thenReturn("teacher1");
+    when(responseService.getNonRespondents("survey1", "teacher1"))
+        .thenReturn(List.of("student2"));
+
+    ResponseEntity<List<String>> response = surveyResponseController.getNonRespondents(
+        "survey1", request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(List.of("student2"), response.getBody());
+  }
+
+  @Test
+  void testRemindNonRespondents() {
+    when(jwtRequestHelper.getUserIdFromRequest(any())).thenReturn("teacher1");
+    when(responseService.remindNonRespondents("survey1", "teacher1")).thenReturn(3);
+
+    ResponseEntity<Map<String, Object>> response = surveyResponseController.remindNonRespondents(
+        "survey1", request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNotNull(response.getBody());
+    assertEquals(3, response.getBody().get("reminded"));
+  }
+
   @Test
   void testSubmitSurveyResponses() {
     when(jwtRequestHelper.getUserIdFromRequest(any())).thenReturn("student1");
@@ -10,9 +10,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import it.unimol.microserviceassessmentfeedback.common.util.JwtRequestHelper;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleRequestDto;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleResultDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
 import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
 import it.unimol.microserviceassessmentfeedback.service.TeacherSurveyService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -223,6 +226,22 @@ class TeacherSurveyControllerTest {
     verify(surveyService, times(1)).changeSurveyStatus("survey1", SurveyStatus.ACTIVE);
   }
 
+  @Test
+  void testApplyBulkLifecycle() {
+    SurveyBulkLifecycleRequestDto request = new SurveyBulkLifecycleRequestDto(
+        SurveyLifecycleAction.CLOSE, "2023-2024", 2, null);
+    SurveyBulkLifecycleResultDto result = new SurveyBulkLifecycleResultDto(
+        SurveyLifecycleAction.CLOSE, SurveyStatus.CLOSED, 10, 8, 2, 1);
+    when(surveyService.applyBulkLifecycle(request)).thenReturn(result);
+
+    ResponseEntity<SurveyBulkLifecycleResultDto> response =
+        surveyController.applyBulkLifecycle(request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(result, response.getBody());
+    verify(surveyService, times(1)).applyBulkLifecycle(request);
+  }
+
   @Test
   void testDeleteSurvey() {
     doNothing().when(surveyService).deleteSurvey("survey1");
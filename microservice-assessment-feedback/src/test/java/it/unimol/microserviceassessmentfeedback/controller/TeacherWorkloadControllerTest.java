@@ -0,0 +1,82 @@
+package it.unimol.microserviceassessmentfeedback.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.common.util.JwtRequestHelper;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherWorkloadDto;
+import it.unimol.microserviceassessmentfeedback.enums.RoleType;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherWorkloadControllerTest {
+
+  @Mock
+  private TeacherWorkloadService teacherWorkloadService;
+
+  @Mock
+  private JwtRequestHelper jwtRequestHelper;
+
+  @Mock
+  private HttpServletRequest request;
+
+  @InjectMocks
+  private TeacherWorkloadController teacherWorkloadController;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(teacherWorkloadController, "jwtRequestHelper", jwtRequestHelper);
+  }
+
+  @Test
+  void testGetTeacherWorkload_OwnWorkload() {
+    TeacherWorkloadDto workload = new TeacherWorkloadDto();
+    workload.setCourseId("course1");
+    when(jwtRequestHelper.getUserRoleFromRequest(request)).thenReturn(RoleType.ROLE_TEACHER);
+    when(jwtRequestHelper.extractTeacherIdFromRequest(request)).thenReturn("teacher1");
+    when(teacherWorkloadService.getWorkload("teacher1")).thenReturn(List.of(workload));
+
+    ResponseEntity<List<TeacherWorkloadDto>> response =
+        teacherWorkloadController.getTeacherWorkload("teacher1", request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(1, response.getBody().size());
+  }
+
+  @Test
+  void testGetTeacherWorkload_OtherTeacherIsDenied() {
+    when(jwtRequestHelper.getUserRoleFromRequest(request)).thenReturn(RoleType.ROLE_TEACHER);
+    when(jwtRequestHelper.extractTeacherIdFromRequest(request)).thenReturn("teacher2");
+
+    assertThrows(AccessDeniedException.class,
+        () -> teacherWorkloadController.getTeacherWorkload("teacher1", request));
+    verify(teacherWorkloadService, never()).getWorkload(anyString());
+  }
+
+  @Test
+  void testGetTeacherWorkload_AdminCanReadAnyTeacher() {
+    when(jwtRequestHelper.getUserRoleFromRequest(request)).thenReturn(RoleType.ROLE_ADMIN);
+    when(teacherWorkloadService.getWorkload("teacher1")).thenReturn(List.of());
+
+    ResponseEntity<List<TeacherWorkloadDto>> response =
+        teacherWorkloadController.getTeacherWorkload("teacher1", request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+  }
+}
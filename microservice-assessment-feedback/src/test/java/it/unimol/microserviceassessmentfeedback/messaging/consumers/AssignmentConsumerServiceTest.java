@@ -1,6 +1,7 @@
 package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -10,6 +11,7 @@ import static org.mockito.Mockito.when;
 import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
 import it.unimol.microserviceassessmentfeedback.service.AssessmentService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.ScheduledTaskService;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +30,9 @@ class AssignmentConsumerServiceTest {
   @Mock
   private NotificationService notificationService;
 
+  @Mock
+  private ScheduledTaskService scheduledTaskService;
+
   @InjectMocks
   private AssignmentConsumerService assignmentConsumerService;
 
@@ -59,6 +64,8 @@ class AssignmentConsumerServiceTest {
 
     verify(assessmentService).createAssessment(any(AssessmentDto.class));
     verify(notificationService).notifyTeacherOfSubmission("teacher001", "assignment123", "student456");
+    verify(scheduledTaskService).scheduleAssessmentReminder("teacher001", "assignment123",
+        "assessment123");
   }
 
   @Test
@@ -126,6 +133,8 @@ class AssignmentConsumerServiceTest {
 
     // Verifica che il metodo non lanci eccezioni
     verify(notificationService, never()).notifyTeacherOfSubmission(anyString(), anyString(), anyString());
+    verify(scheduledTaskService).scheduleDeadlineReminders(eq("assignment123"), eq("course789"),
+        anyLong());
   }
 
   @Test
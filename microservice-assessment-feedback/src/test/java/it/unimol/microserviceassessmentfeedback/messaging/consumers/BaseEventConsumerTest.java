@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -298,6 +299,23 @@ class BaseEventConsumerTest {
     assertTrue(testConsumer.wasHandleMessageCalled());
   }
 
+  @Test
+  void testProcessMessage_RecordsConsumerMetrics() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(testConsumer, "consumerMetrics",
+        new EventConsumerMetrics(meterRegistry));
+    Map<String, Object> message = new HashMap<>();
+    message.put("eventType", "TEST_EVENT");
+    message.put("timestamp", System.currentTimeMillis());
+
+    testConsumer.processMessage(message, "TEST");
+
+    assertTrue(testConsumer.wasHandleMessageCalled());
+    assertEquals(1.0, meterRegistry.get("rabbitmq.consumer.messages")
+        .tag("messageType", "TEST").tag("outcome", "success").counter().count());
+    assertEquals(1, meterRegistry.get("rabbitmq.consumer.lag").timer().count());
+  }
+
   // ===================================================================
   // CLASSE HELPER PER TEST
   // ===================================================================
@@ -0,0 +1,61 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationConsumerTest {
+
+  @Mock
+  private LocalEntityCache localEntityCache;
+
+  @InjectMocks
+  private CacheInvalidationConsumer cacheInvalidationConsumer;
+
+  private Map<String, Object> testMessage;
+
+  @BeforeEach
+  void setUp() {
+    testMessage = new HashMap<>();
+    testMessage.put("eventType", "CACHE_INVALIDATED");
+    testMessage.put("origin", "replica2");
+    testMessage.put("cache", "surveys");
+    testMessage.put("timestamp", 1_700_000_000_000L);
+  }
+
+  @Test
+  void testHandleCacheInvalidated_AppliesKeys() {
+    testMessage.put("keys", List.of("s1", "s2"));
+
+    cacheInvalidationConsumer.handleCacheInvalidated(testMessage);
+
+    verify(localEntityCache).applyRemote("replica2", "surveys", List.of("s1", "s2"),
+        1_700_000_000_000L);
+  }
+
+  @Test
+  void testHandleCacheInvalidated_WithoutKeysClearsCache() {
+    cacheInvalidationConsumer.handleCacheInvalidated(testMessage);
+
+    verify(localEntityCache).applyRemote("replica2", "surveys", null, 1_700_000_000_000L);
+  }
+
+  @Test
+  void testHandleMessage_UnknownTypeIsIgnored() {
+    cacheInvalidationConsumer.handleMessage(testMessage, "UNKNOWN");
+
+    verify(localEntityCache, never()).applyRemote(any(), any(), any(), any());
+  }
+}
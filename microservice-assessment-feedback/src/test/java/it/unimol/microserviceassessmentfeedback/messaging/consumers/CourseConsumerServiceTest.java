@@ -1,9 +1,12 @@
 package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import it.unimol.microserviceassessmentfeedback.service.archival.CourseArchivalService;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryProjectionService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +23,12 @@ class CourseConsumerServiceTest {
   @Mock
   private NotificationService notificationService;
 
+  @Mock
+  private CourseArchivalService courseArchivalService;
+
+  @Mock
+  private DirectoryProjectionService directoryProjectionService;
+
   @InjectMocks
   private CourseConsumerService courseConsumerService;
 
@@ -50,6 +59,8 @@ class CourseConsumerServiceTest {
     courseConsumerService.handleCourseCreated(testMessage);
 
     verify(notificationService).sendWelcomeNotification("teacher001", "TEACHER", "Computer Science");
+    verify(directoryProjectionService).applyCourse("course123", "Introduction to Java", "CS101",
+        "teacher001", "Computer Science", "2023-2024", "1", null);
   }
 
   @Test
@@ -127,8 +138,9 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion(
-        "course123", "teacher001", "Course no longer offered");
+    verify(courseArchivalService).enqueue(
+        "course123", "Old Course", "teacher001", "Course no longer offered");
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
@@ -140,8 +152,9 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion(
-        "course123", "teacher001", "Low enrollment");
+    verify(courseArchivalService).enqueue(
+        "course123", "Discontinued Course", "teacher001", "Low enrollment");
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
@@ -153,7 +166,8 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion("course123", "teacher001", null);
+    verify(courseArchivalService).enqueue("course123", "Test Course", "teacher001", null);
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
@@ -166,7 +180,8 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion("course123", "teacher001", "Test reason");
+    verify(courseArchivalService).enqueue("course123", "Test Course", "teacher001", "Test reason");
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   // ===================================================================
@@ -194,7 +209,8 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleMessage(testMessage, "COURSE_DELETED");
 
-    verify(notificationService).notifyCourseDeletion("course123", "teacher001", "Test");
+    verify(courseArchivalService).enqueue("course123", "Test Course", "teacher001", "Test");
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
@@ -230,7 +246,8 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion("course123", "teacher001", null);
+    verify(courseArchivalService).enqueue("course123", "Minimal Course", "teacher001", null);
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
@@ -262,8 +279,9 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion(
-        "course123", "teacher001", "Complete deletion with all data");
+    verify(courseArchivalService).enqueue(
+        "course123", "Complete Course", "teacher001", "Complete deletion with all data");
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
@@ -287,7 +305,8 @@ class CourseConsumerServiceTest {
 
     courseConsumerService.handleCourseDeleted(testMessage);
 
-    verify(notificationService).notifyCourseDeletion("", "", "");
+    verify(courseArchivalService).enqueue("", "", "", "");
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
   }
 
   @Test
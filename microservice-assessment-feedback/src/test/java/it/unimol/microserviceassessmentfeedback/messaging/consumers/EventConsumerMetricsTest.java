@@ -0,0 +1,102 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventConsumerMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private EventConsumerMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new EventConsumerMetrics(meterRegistry);
+  }
+
+  private double messages(String messageType, String outcome) {
+    return meterRegistry.get(EventConsumerMetrics.MESSAGES_METRIC)
+        .tag("messageType", messageType).tag("outcome", outcome).counter().count();
+  }
+
+  private Timer lag(String lane) {
+    return meterRegistry.get(EventConsumerMetrics.LAG_METRIC).tag("lane", lane).timer();
+  }
+
+  @Test
+  void testObserve_SuccessRecordsLagDurationAndCounter() {
+    metrics.observe("ExamConsumerService", "EXAM_COMPLETED", System.currentTimeMillis() - 250,
+        () -> { });
+
+    assertEquals(1.0, messages("EXAM_COMPLETED", "success"));
+    assertEquals(1, meterRegistry.get(EventConsumerMetrics.HANDLER_METRIC)
+        .tag("messageType", "EXAM_COMPLETED").tag("outcome", "success").timer().count());
+    assertEquals(1, meterRegistry.get(EventConsumerMetrics.LAG_METRIC)
+        .tag("messageType", "EXAM_COMPLETED").timer().count());
+    assertEquals(250.0, meterRegistry.get(EventConsumerMetrics.LAG_METRIC).timer()
+        .totalTime(TimeUnit.MILLISECONDS), 1000.0);
+  }
+
+  @Test
+  void testObserve_FailureIsCountedAndRethrown() {
+    assertThrows(IllegalStateException.class, () -> metrics.observe("UserConsumerService",
+        "USER_CREATED", null, () -> {
+          throw new IllegalStateException("boom");
+        }));
+
+    assertEquals(1.0, messages("USER_CREATED", "failure"));
+    assertEquals(0, meterRegistry.find(EventConsumerMetrics.LAG_METRIC).timers().size());
+    assertEquals(0, metrics.getInFlight("UserConsumerService"));
+  }
+
+  @Test
+  void testObserve_TracksInFlightPerListener() {
+    AtomicInteger observed = new AtomicInteger(-1);
+
+    metrics.observe("CourseConsumerService", "COURSE_CREATED", null,
+        () -> observed.set(metrics.getInFlight("CourseConsumerService")));
+
+    assertEquals(1, observed.get());
+    assertEquals(0, metrics.getInFlight("CourseConsumerService"));
+    assertEquals(0.0, meterRegistry.get(EventConsumerMetrics.IN_FLIGHT_METRIC)
+        .tag("listener", "CourseConsumerService").gauge().value());
+  }
+
+  @Test
+  void testObserve_LagIsTaggedWithThePriorityLane() {
+    metrics.observe("ExamConsumerService", "EXAM_GRADE_REGISTERED",
+        System.currentTimeMillis() - 500, () -> { });
+    metrics.observe("UserConsumerService", "STUDENT_CREATED", System.currentTimeMillis(),
+        () -> { });
+    metrics.observe("AssignmentConsumerService", "ASSIGNMENT_SUBMITTED",
+        System.currentTimeMillis() + 60_000, () -> { });
+
+    assertEquals(1, lag("critical").count());
+    assertTrue(lag("critical").totalTime(TimeUnit.MILLISECONDS) >= 500);
+    assertEquals(1, lag("housekeeping").count());
+    assertEquals(1, lag("standard").count());
+    assertEquals(0.0, lag("standard").totalTime(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testForMessageType_NullIsStandard() {
+    assertEquals(ConsumerLane.STANDARD, ConsumerLane.forMessageType(null));
+    assertEquals(ConsumerLane.CRITICAL, ConsumerLane.forMessageType("EXAM_COMPLETED"));
+    assertEquals(ConsumerLane.HOUSEKEEPING, ConsumerLane.forMessageType("TEACHER_CREATED"));
+  }
+
+  @Test
+  void testObserve_NullMessageTypeIsTaggedUnknown() {
+    metrics.observe("Listener", null, null, () -> { });
+
+    assertEquals(1.0, messages("UNKNOWN", "success"));
+  }
+}
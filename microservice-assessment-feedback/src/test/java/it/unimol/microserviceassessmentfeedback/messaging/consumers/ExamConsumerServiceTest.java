@@ -1,5 +1,6 @@
 package it.unimol.microserviceassessmentfeedback.messaging.consumers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -11,11 +12,14 @@ import static org.mockito.Mockito.when;
 import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
 import it.unimol.microserviceassessmentfeedback.service.AssessmentService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.ScheduledTaskService;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,6 +33,9 @@ class ExamConsumerServiceTest {
   @Mock
   private NotificationService notificationService;
 
+  @Mock
+  private ScheduledTaskService scheduledTaskService;
+
   @InjectMocks
   private ExamConsumerService examConsumerService;
 
@@ -61,7 +68,7 @@ class ExamConsumerServiceTest {
 
     verify(assessmentService).createAssessment(any(AssessmentDto.class));
     verify(notificationService).notifyTeacherOfExamCompletion("teacher001", "exam123", "student456");
-    verify(notificationService).scheduleFeedbackSurvey("student456", "exam123", "course789");
+    verify(scheduledTaskService).scheduleFeedbackSurvey("student456", "exam123", "course789");
   }
 
   @Test
@@ -165,6 +172,76 @@ class ExamConsumerServiceTest {
     verify(notificationService).notifyStudentOfGrade("student456", "exam123", "B", 25, 30);
   }
 
+  @Test
+  void testHandleExamGradeRegistered_WithoutAssessmentIdUpdatesExistingExamAssessment() {
+    testMessage.put("examId", "exam123");
+    testMessage.put("studentId", "student456");
+    testMessage.put("courseId", "course789");
+    testMessage.put("teacherId", "teacher001");
+    testMessage.put("score", 27);
+    testMessage.put("maxScore", 30);
+    testMessage.put("grade", "A");
+
+    AssessmentDto pending = new AssessmentDto();
+    pending.setId("assessment123");
+    pending.setNotes("Exam completed (FINAL) - awaiting grade | Duration: 90 minutes");
+    when(assessmentService.findExamAssessment("exam123", "student456"))
+        .thenReturn(Optional.of(pending));
+
+    examConsumerService.handleExamGradeRegistered(testMessage);
+
+    ArgumentCaptor<AssessmentDto> updated = ArgumentCaptor.forClass(AssessmentDto.class);
+    verify(assessmentService).updateAssessment(eq("assessment123"), updated.capture());
+    verify(assessmentService, never()).createAssessment(any(AssessmentDto.class));
+    assertEquals(27.0, updated.getValue().getScore());
+    assertEquals("Exam completed (FINAL) - graded | Duration: 90 minutes | Grade: A",
+        updated.getValue().getNotes());
+  }
+
+  @Test
+  void testHandleExamGradeRegistered_RedeliveryReplacesPreviousGrade() {
+    testMessage.put("examId", "exam123");
+    testMessage.put("studentId", "student456");
+    testMessage.put("courseId", "course789");
+    testMessage.put("teacherId", "teacher001");
+    testMessage.put("score", 27);
+    testMessage.put("maxScore", 30);
+    testMessage.put("grade", "A");
+    testMessage.put("feedback", "Good");
+
+    AssessmentDto graded = new AssessmentDto();
+    graded.setId("assessment123");
+    graded.setNotes("Exam completed (FINAL) - graded | Grade: A | Feedback: Good");
+    when(assessmentService.findExamAssessment("exam123", "student456"))
+        .thenReturn(Optional.of(graded));
+
+    examConsumerService.handleExamGradeRegistered(testMessage);
+
+    ArgumentCaptor<AssessmentDto> updated = ArgumentCaptor.forClass(AssessmentDto.class);
+    verify(assessmentService).updateAssessment(eq("assessment123"), updated.capture());
+    verify(assessmentService, never()).createAssessment(any(AssessmentDto.class));
+    assertEquals("Exam completed (FINAL) - graded | Grade: A | Feedback: Good",
+        updated.getValue().getNotes());
+  }
+
+  @Test
+  void testHandleExamCompleted_RedeliveryDoesNotCreateSecondAssessment() {
+    testMessage.put("examId", "exam123");
+    testMessage.put("studentId", "student456");
+    testMessage.put("courseId", "course789");
+    testMessage.put("teacherId", "teacher001");
+
+    AssessmentDto pending = new AssessmentDto();
+    pending.setId("assessment123");
+    when(assessmentService.findExamAssessment("exam123", "student456"))
+        .thenReturn(Optional.of(pending));
+
+    examConsumerService.handleExamCompleted(testMessage);
+
+    verify(assessmentService, never()).createAssessment(any(AssessmentDto.class));
+    verify(notificationService).notifyTeacherOfExamCompletion("teacher001", "exam123", "student456");
+  }
+
   @Test
   void testHandleExamGradeRegistered_ExcellentPerformance() {
     testMessage.put("examId", "exam123");
@@ -0,0 +1,218 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.config.rabbitmq.RabbitMqProperties;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ExamPartitionConsumerTest {
+
+  @Mock
+  private ConnectionFactory connectionFactory;
+
+  @Mock
+  private MessageConverter messageConverter;
+
+  @Mock
+  private AmqpAdmin amqpAdmin;
+
+  @Mock
+  private AmqpTemplate amqpTemplate;
+
+  @Mock
+  private ExamConsumerService examConsumerService;
+
+  private ExamPartitionConsumer consumer;
+
+  @BeforeEach
+  void setUp() {
+    RabbitMqProperties properties = new RabbitMqProperties();
+    properties.getPartitioning().setEnabled(true);
+    properties.getPartitioning().setPartitions(4);
+    properties.getPartitioning().setActiveWindowMs(1000);
+    properties.getExchange().setAssessments("unimol.assessments");
+    properties.getQueue().setExamCompleted("exam.completed.queue");
+    properties.getQueue().setExamGradeRegistered("exam.grade.registered.queue");
+    consumer = new ExamPartitionConsumer(connectionFactory, messageConverter, amqpAdmin,
+        amqpTemplate, examConsumerService, properties);
+  }
+
+  @Test
+  void testDispatch_ExamCompleted() {
+    Map<String, Object> body = new HashMap<>();
+    body.put("studentId", "student1");
+
+    consumer.dispatch("exam.completed", body);
+
+    verify(examConsumerService).handleExamCompleted(body);
+    verify(examConsumerService, never()).handleExamGradeRegistered(any());
+  }
+
+  @Test
+  void testDispatch_ExamGradeRegistered() {
+    Map<String, Object> body = new HashMap<>();
+    body.put("studentId", "student1");
+
+    consumer.dispatch("exam.grade.registered", body);
+
+    verify(examConsumerService).handleExamGradeRegistered(body);
+    verify(examConsumerService, never()).handleExamCompleted(any());
+  }
+
+  @Test
+  void testRemoveLegacyBindings_UnbindsBothExamQueues() {
+    consumer.removeLegacyBindings();
+
+    ArgumentCaptor<Binding> bindings = ArgumentCaptor.forClass(Binding.class);
+    verify(amqpAdmin, times(2)).removeBinding(bindings.capture());
+    Binding completed = bindings.getAllValues().get(0);
+    assertEquals("exam.completed.queue", completed.getDestination());
+    assertEquals("unimol.assessments", completed.getExchange());
+    assertEquals("exam.completed", completed.getRoutingKey());
+    Binding graded = bindings.getAllValues().get(1);
+    assertEquals("exam.grade.registered.queue", graded.getDestination());
+    assertEquals("exam.grade.registered", graded.getRoutingKey());
+  }
+
+  @Test
+  void testRemoveLegacyBindings_BrokerErrorIsNotFatal() {
+    doThrow(new AmqpException("NOT_FOUND")).when(amqpAdmin).removeBinding(any(Binding.class));
+
+    consumer.removeLegacyBindings();
+
+    verify(amqpAdmin, times(2)).removeBinding(any(Binding.class));
+  }
+
+  @Test
+  void testDispatch_UnknownRoutingKey() {
+    consumer.dispatch("exam.unknown", new HashMap<>());
+
+    verify(examConsumerService, never()).handleExamCompleted(any());
+    verify(examConsumerService, never()).handleExamGradeRegistered(any());
+  }
+
+  @Test
+  void testOnMessage_ConvertsAndMarksPartitionActive() {
+    MessageProperties messageProperties = new MessageProperties();
+    messageProperties.setReceivedRoutingKey("exam.completed");
+    Message message = new Message(new byte[0], messageProperties);
+    Map<String, Object> body = new HashMap<>();
+    body.put("studentId", "student1");
+    when(messageConverter.fromMessage(message)).thenReturn(body);
+
+    consumer.onMessage(2, message);
+
+    verify(examConsumerService).handleExamCompleted(body);
+    assertEquals(List.of(2), consumer.activePartitions(System.currentTimeMillis()));
+  }
+
+  @Test
+  void testOnMessage_NonMapPayloadIsDiscarded() {
+    MessageProperties messageProperties = new MessageProperties();
+    messageProperties.setReceivedRoutingKey("exam.completed");
+    Message message = new Message(new byte[0], messageProperties);
+    when(messageConverter.fromMessage(message)).thenReturn("not a map");
+
+    consumer.onMessage(0, message);
+
+    verify(examConsumerService, never()).handleExamCompleted(any());
+  }
+
+  @Test
+  void testActivePartitions_ExpireAfterWindow() {
+    MessageProperties messageProperties = new MessageProperties();
+    messageProperties.setReceivedRoutingKey("exam.completed");
+    Message message = new Message(new byte[0], messageProperties);
+    when(messageConverter.fromMessage(message)).thenReturn(new HashMap<String, Object>());
+
+    consumer.onMessage(1, message);
+
+    assertTrue(consumer.activePartitions(System.currentTimeMillis() + 5000).isEmpty());
+  }
+
+  @Test
+  void testOnIntake_RepublishesWithStudentIdHashHeader() {
+    MessageProperties messageProperties = new MessageProperties();
+    messageProperties.setReceivedRoutingKey("exam.grade.registered");
+    Message message = new Message(new byte[0], messageProperties);
+    Map<String, Object> body = new HashMap<>();
+    body.put("studentId", 42L);
+    when(messageConverter.fromMessage(message)).thenReturn(body);
+
+    consumer.onIntake(message);
+
+    assertEquals("42", messageProperties.getHeader("studentId"));
+    verify(amqpTemplate).send(eq("unimol.exam.partitioned"), eq("exam.grade.registered"),
+        same(message));
+    verify(examConsumerService, never()).handleExamGradeRegistered(any());
+  }
+
+  @Test
+  void testOnIntake_WithoutStudentIdIsStillRepublished() {
+    MessageProperties messageProperties = new MessageProperties();
+    messageProperties.setReceivedRoutingKey("exam.completed");
+    Message message = new Message(new byte[0], messageProperties);
+    when(messageConverter.fromMessage(message)).thenReturn(new HashMap<String, Object>());
+
+    consumer.onIntake(message);
+
+    assertNull(messageProperties.getHeader("studentId"));
+    verify(amqpTemplate).send(eq("unimol.exam.partitioned"), eq("exam.completed"),
+        same(message));
+  }
+
+  @Test
+  void testCreateContainer_RejectedMessagesAreNotRequeued() {
+    SimpleMessageListenerContainer container =
+        consumer.createContainer("exam.events.partition.intake", consumer::onIntake);
+
+    assertFalse((Boolean) ReflectionTestUtils.getField(container, "defaultRequeueRejected"));
+    assertEquals(List.of("exam.events.partition.intake"), List.of(container.getQueueNames()));
+  }
+
+  @Test
+  void testExcessPartitions() {
+    assertEquals(0, ExamPartitionConsumer.excessPartitions(4, 4, 1));
+    assertEquals(2, ExamPartitionConsumer.excessPartitions(4, 4, 2));
+    assertEquals(2, ExamPartitionConsumer.excessPartitions(4, 4, 3));
+    assertEquals(0, ExamPartitionConsumer.excessPartitions(2, 4, 3));
+    assertEquals(0, ExamPartitionConsumer.excessPartitions(0, 4, 0));
+  }
+
+  @Test
+  void testRebalance_NotRunningDoesNothing() {
+    consumer.rebalance();
+
+    verify(amqpAdmin, never()).getQueueInfo(any());
+  }
+}
@@ -0,0 +1,68 @@
+package it.unimol.microserviceassessmentfeedback.messaging.consumers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.ObjectProvider;
+
+@ExtendWith(MockitoExtension.class)
+class QueueDepthSamplerTest {
+
+  @Mock
+  private AmqpAdmin amqpAdmin;
+
+  @Mock
+  private ObjectProvider<Queue> queues;
+
+  @Mock
+  private ObjectProvider<Declarables> declarables;
+
+  private SimpleMeterRegistry meterRegistry;
+  private QueueDepthSampler sampler;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sampler = new QueueDepthSampler(amqpAdmin, meterRegistry, queues, declarables);
+    when(queues.orderedStream()).thenAnswer(invocation -> Stream.of(
+        new Queue("exam.completed.queue"), new Queue("user.created.queue")));
+    when(declarables.orderedStream()).thenAnswer(invocation -> Stream.of(
+        new Declarables(new Queue("exam.events.partition.0"))));
+  }
+
+  @Test
+  void testQueueNames_IncludesDeclarables() {
+    assertEquals(Set.of("exam.completed.queue", "user.created.queue", "exam.events.partition.0"),
+        sampler.queueNames());
+  }
+
+  @Test
+  void testSample_UpdatesGauges() {
+    when(amqpAdmin.getQueueInfo("exam.completed.queue"))
+        .thenReturn(new QueueInformation("exam.completed.queue", 120, 3));
+    when(amqpAdmin.getQueueInfo("user.created.queue")).thenReturn(null);
+    when(amqpAdmin.getQueueInfo("exam.events.partition.0"))
+        .thenThrow(new AmqpConnectException(new RuntimeException("down")));
+
+    sampler.sample();
+
+    assertEquals(120.0, meterRegistry.get(QueueDepthSampler.DEPTH_METRIC)
+        .tag("queue", "exam.completed.queue").gauge().value());
+    assertEquals(3.0, meterRegistry.get(QueueDepthSampler.CONSUMERS_METRIC)
+        .tag("queue", "exam.completed.queue").gauge().value());
+    assertEquals(1, meterRegistry.find(QueueDepthSampler.DEPTH_METRIC).gauges().size());
+  }
+}
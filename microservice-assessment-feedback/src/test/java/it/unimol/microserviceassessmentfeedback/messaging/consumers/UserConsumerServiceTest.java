@@ -4,6 +4,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import it.unimol.microserviceassessmentfeedback.service.anonymisation.UserAnonymisationService;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryProjectionService;
 import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +22,12 @@ class UserConsumerServiceTest {
   @Mock
   private NotificationService notificationService;
 
+  @Mock
+  private UserAnonymisationService userAnonymisationService;
+
+  @Mock
+  private DirectoryProjectionService directoryProjectionService;
+
   @InjectMocks
   private UserConsumerService userConsumerService;
 
@@ -49,6 +57,8 @@ class UserConsumerServiceTest {
     userConsumerService.handleTeacherCreated(testMessage);
 
     verify(notificationService).sendWelcomeNotification("teacher123", "TEACHER", "Computer Science");
+    verify(directoryProjectionService).applyTeacher("teacher123", "John", "Smith",
+        "Computer Science", null);
   }
 
   @Test
@@ -152,6 +162,8 @@ class UserConsumerServiceTest {
     userConsumerService.handleStudentCreated(testMessage);
 
     verify(notificationService).sendWelcomeNotification("student123", "STUDENT", "Computer Science");
+    verify(directoryProjectionService).applyStudent("student123", "Tom", "Anderson",
+        "Computer Science", "Computer Science", 1, null);
   }
 
   @Test
@@ -246,6 +258,7 @@ class UserConsumerServiceTest {
     userConsumerService.handleUserDeleted(testMessage);
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("teacher123", "TEACHER", "Retirement");
   }
 
   @Test
@@ -258,6 +271,8 @@ class UserConsumerServiceTest {
     userConsumerService.handleUserDeleted(testMessage);
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("student456", "STUDENT", "Graduation");
+    verify(directoryProjectionService).applyUserDeleted("student456", "STUDENT", null);
   }
 
   @Test
@@ -269,6 +284,7 @@ class UserConsumerServiceTest {
     userConsumerService.handleUserDeleted(testMessage);
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("user999", "ADMIN", "Unknown");
   }
 
   @Test
@@ -280,6 +296,7 @@ class UserConsumerServiceTest {
     userConsumerService.handleUserDeleted(testMessage);
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("teacher456", "TEACHER", null);
   }
 
   @Test
@@ -292,6 +309,7 @@ class UserConsumerServiceTest {
     userConsumerService.handleUserDeleted(testMessage);
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("student789", "STUDENT", "Transfer");
   }
 
   // ===================================================================
@@ -334,6 +352,7 @@ class UserConsumerServiceTest {
     userConsumerService.handleMessage(testMessage, "USER_DELETED");
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("user123", "TEACHER", "Test");
   }
 
   @Test
@@ -383,6 +402,7 @@ class UserConsumerServiceTest {
     userConsumerService.handleUserDeleted(testMessage);
 
     verify(notificationService, never()).sendWelcomeNotification(anyString(), anyString(), anyString());
+    verify(userAnonymisationService).enqueue("", "TEACHER", "");
   }
 
   @Test
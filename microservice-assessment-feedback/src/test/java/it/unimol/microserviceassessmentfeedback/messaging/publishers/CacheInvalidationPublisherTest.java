@@ -0,0 +1,62 @@
+package it.unimol.microserviceassessmentfeedback.messaging.publishers;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationPublisherTest {
+
+  @Mock
+  private RabbitTemplate rabbitTemplate;
+
+  @InjectMocks
+  private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(cacheInvalidationPublisher, "cacheExchange", "cache.exchange");
+    ReflectionTestUtils.setField(cacheInvalidationPublisher, "serviceName",
+        "microservice-assessment-feedback");
+  }
+
+  @Test
+  void testPublishInvalidation_SendsToFanoutExchange() {
+    cacheInvalidationPublisher.publishInvalidation("replica1", "surveys", List.of("s1", "s2"));
+
+    verify(rabbitTemplate).convertAndSend(
+        eq("cache.exchange"),
+        eq(""),
+        argThat((Map<String, Object> message) ->
+            "CACHE_INVALIDATED".equals(message.get("eventType"))
+                && "replica1".equals(message.get("origin"))
+                && "surveys".equals(message.get("cache"))
+                && List.of("s1", "s2").equals(message.get("keys"))
+                && message.get("timestamp") != null)
+    );
+  }
+
+  @Test
+  void testPublishInvalidation_BrokerErrorIsNotPropagated() {
+    doThrow(new AmqpException("down")).when(rabbitTemplate)
+        .convertAndSend(eq("cache.exchange"), eq(""), any(Object.class));
+
+    assertDoesNotThrow(
+        () -> cacheInvalidationPublisher.publishInvalidation("replica1", "surveys", null));
+  }
+}
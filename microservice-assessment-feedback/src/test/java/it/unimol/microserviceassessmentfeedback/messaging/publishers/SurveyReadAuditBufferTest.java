@@ -0,0 +1,154 @@
+package it.unimol.microserviceassessmentfeedback.messaging.publishers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyReadAuditBuffer.AuditType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+
+@ExtendWith(MockitoExtension.class)
+class SurveyReadAuditBufferTest {
+
+  private static final long WINDOW = 60_000L;
+
+  @Mock
+  private TeacherSurveyMessageService teacherSurveyMessageService;
+
+  private SurveyReadAuditBuffer newBuffer(double sampleRate, int capacity, int batchSize) {
+    return new SurveyReadAuditBuffer(teacherSurveyMessageService, sampleRate, capacity, WINDOW,
+        batchSize);
+  }
+
+  @Test
+  void testRecord_CoalescesRequestsInSameWindow() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 10, 10);
+
+    buffer.record(AuditType.RESULTS, "survey1", "teacher1", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey1", "teacher1", 2_000L);
+    buffer.record(AuditType.RESULTS, "survey1", "teacher1", 59_000L);
+
+    assertEquals(1, buffer.getPendingCount());
+
+    buffer.drain(WINDOW, false);
+
+    verify(teacherSurveyMessageService).publishSurveyResultsRequested("survey1", "teacher1", 3, 0L);
+    assertEquals(0, buffer.getPendingCount());
+    assertEquals(1, buffer.getPublishedCount());
+  }
+
+  @Test
+  void testRecord_SeparatesKeysByTypeUserAndWindow() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 10, 10);
+
+    buffer.record(AuditType.RESULTS, "survey1", "teacher1", 1_000L);
+    buffer.record(AuditType.COMMENTS, "survey1", "teacher1", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey1", "teacher2", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey1", "teacher1", WINDOW + 1_000L);
+
+    assertEquals(4, buffer.getPendingCount());
+
+    buffer.drain(2 * WINDOW, false);
+
+    verify(teacherSurveyMessageService).publishSurveyResultsRequested("survey1", "teacher1", 1, 0L);
+    verify(teacherSurveyMessageService).publishSurveyCommentsRequested("survey1", "teacher1", 1,
+        0L);
+    verify(teacherSurveyMessageService).publishSurveyResultsRequested("survey1", "teacher2", 1, 0L);
+    verify(teacherSurveyMessageService).publishSurveyResultsRequested("survey1", "teacher1", 1,
+        WINDOW);
+  }
+
+  @Test
+  void testDrain_KeepsOpenWindowUntilItCloses() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 10, 10);
+
+    buffer.record(AuditType.COMMENTS, "survey1", "teacher1", 1_000L);
+
+    assertEquals(0, buffer.drain(30_000L, false));
+    verifyNoInteractions(teacherSurveyMessageService);
+
+    assertEquals(1, buffer.drain(WINDOW, false));
+    verify(teacherSurveyMessageService).publishSurveyCommentsRequested("survey1", "teacher1", 1,
+        0L);
+  }
+
+  @Test
+  void testDrain_RespectsBatchSize() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 10, 2);
+
+    buffer.record(AuditType.RESULTS, "survey1", "user1", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey1", "user2", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey1", "user3", 1_000L);
+
+    assertEquals(2, buffer.drain(WINDOW, false));
+    assertEquals(1, buffer.getPendingCount());
+    assertEquals(1, buffer.drain(WINDOW, false));
+  }
+
+  @Test
+  void testRecord_DropsWhenBufferIsFull() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 1, 10);
+
+    buffer.record(AuditType.RESULTS, "survey1", "user1", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey2", "user1", 1_000L);
+
+    assertEquals(1, buffer.getPendingCount());
+    assertEquals(1, buffer.getDroppedCount());
+  }
+
+  @Test
+  void testRecord_ZeroSampleRateSkipsEverything() {
+    SurveyReadAuditBuffer buffer = newBuffer(0.0, 10, 10);
+
+    buffer.recordResultsRequested("survey1", "user1");
+    buffer.recordCommentsRequested("survey1", "user1");
+
+    assertEquals(0, buffer.getPendingCount());
+    buffer.flushAll();
+    verifyNoInteractions(teacherSurveyMessageService);
+  }
+
+  @Test
+  void testFlushAll_PublishesOpenWindows() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 10, 1);
+
+    buffer.recordResultsRequested("survey1", "user1");
+    buffer.recordCommentsRequested("survey1", "user1");
+
+    buffer.flushAll();
+
+    verify(teacherSurveyMessageService).publishSurveyResultsRequested(eq("survey1"), eq("user1"),
+        eq(1), anyLong());
+    verify(teacherSurveyMessageService).publishSurveyCommentsRequested(eq("survey1"), eq("user1"),
+        eq(1), anyLong());
+    assertEquals(0, buffer.getPendingCount());
+  }
+
+  @Test
+  void testDrain_PublishFailureDoesNotStopBatch() {
+    SurveyReadAuditBuffer buffer = newBuffer(1.0, 10, 10);
+    doThrow(new AmqpException("Broker down")).when(teacherSurveyMessageService)
+        .publishSurveyResultsRequested(eq("survey1"), anyString(), anyInt(), anyLong());
+
+    buffer.record(AuditType.RESULTS, "survey1", "user1", 1_000L);
+    buffer.record(AuditType.RESULTS, "survey2", "user1", 1_000L);
+
+    assertEquals(2, buffer.drain(WINDOW, false));
+    verify(teacherSurveyMessageService, times(1)).publishSurveyResultsRequested("survey2", "user1",
+        1, 0L);
+    verify(teacherSurveyMessageService, never()).publishSurveyCommentsRequested(anyString(),
+        anyString(), anyInt(), anyLong());
+    assertEquals(1, buffer.getPublishedCount());
+  }
+}
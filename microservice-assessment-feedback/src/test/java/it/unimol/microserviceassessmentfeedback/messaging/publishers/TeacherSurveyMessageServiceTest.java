@@ -2,6 +2,7 @@ package it.unimol.microserviceassessmentfeedback.messaging.publishers;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -11,10 +12,12 @@ import static org.mockito.Mockito.verify;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
 import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -101,6 +104,34 @@ class TeacherSurveyMessageServiceTest {
     );
   }
 
+  @Test
+  void testPublishSurveyResultsRequested_Coalesced() {
+    doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Map.class));
+
+    teacherSurveyMessageService.publishSurveyResultsRequested("survey1", "teacher1", 5, 60000L);
+
+    verify(rabbitTemplate, times(1)).convertAndSend(
+        eq("assessments.exchange"),
+        eq("survey.results.requested"),
+        argThat((Map<String, Object> message) -> Integer.valueOf(5).equals(
+            message.get("requestCount")) && Long.valueOf(60000L).equals(message.get("windowStart")))
+    );
+  }
+
+  @Test
+  void testPublishSurveyCommentsRequested_Coalesced() {
+    doNothing().when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Map.class));
+
+    teacherSurveyMessageService.publishSurveyCommentsRequested("survey1", "teacher1", 2, 0L);
+
+    verify(rabbitTemplate, times(1)).convertAndSend(
+        eq("assessments.exchange"),
+        eq("survey.comments.requested"),
+        argThat((Map<String, Object> message) -> Integer.valueOf(2).equals(
+            message.get("requestCount")))
+    );
+  }
+
   @Test
   void testPublishSurveyCompleted_WithException() {
     doThrow(new RuntimeException("RabbitMQ error"))
@@ -130,4 +161,21 @@ class TeacherSurveyMessageServiceTest {
         any(Map.class)
     );
   }
-}
\ No newline at end of file
+
+  @Test
+  void testPublishSurveyLifecycleChanged() {
+    teacherSurveyMessageService.publishSurveyLifecycleChanged(SurveyLifecycleAction.CLOSE,
+        SurveyStatus.CLOSED, List.of("survey1", "survey2"), "BULK");
+
+    verify(rabbitTemplate).convertAndSend(
+        eq("assessments.exchange"),
+        eq("survey.lifecycle.changed"),
+        argThat((Map<String, Object> message) ->
+            "SURVEY_LIFECYCLE_CHANGED".equals(message.get("eventType"))
+                && "CLOSED".equals(message.get("status"))
+                && Integer.valueOf(2).equals(message.get("surveyCount"))
+                && List.of("survey1", "survey2").equals(message.get("surveyIds"))
+                && message.get("batchId") != null)
+    );
+  }
+}
@@ -0,0 +1,54 @@
+package it.unimol.microserviceassessmentfeedback.messaging.publishers;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class UserMessageServiceTest {
+
+  @Mock
+  private RabbitTemplate rabbitTemplate;
+
+  @InjectMocks
+  private UserMessageService userMessageService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(userMessageService, "assessmentsExchange", "assessments.exchange");
+    ReflectionTestUtils.setField(userMessageService, "serviceName", "microservice-assessment-feedback");
+  }
+
+  @Test
+  void testPublishUserAnonymised_OmitsPseudonym() {
+    AnonymisationJob job = new AnonymisationJob("student1", "STUDENT", "Graduation");
+    job.setId("job1");
+    job.setAnonymisedCount(42L);
+    job.setChunks(3);
+
+    userMessageService.publishUserAnonymised(job);
+
+    verify(rabbitTemplate).convertAndSend(
+        eq("assessments.exchange"),
+        eq("user.anonymised"),
+        argThat((Map<String, Object> message) ->
+            "USER_ANONYMISED".equals(message.get("eventType"))
+                && "student1".equals(message.get("userId"))
+                && "STUDENT".equals(message.get("userType"))
+                && Long.valueOf(42L).equals(message.get("anonymisedCount"))
+                && "job1".equals(message.get("jobId"))
+                && !message.containsValue(job.getPseudonym()))
+    );
+  }
+}
@@ -0,0 +1,100 @@
+package it.unimol.microserviceassessmentfeedback.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unimol.microserviceassessmentfeedback.config.TestRabbitConfig;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "l2cache"})
+@Import(TestRabbitConfig.class)
+class TeacherSurveyRepositoryL2CacheTest {
+
+  @Autowired
+  private TeacherSurveyRepository teacherSurveyRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transaction;
+  private Statistics statistics;
+  private String surveyId;
+
+  @BeforeEach
+  void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    teacherSurveyRepository.deleteAll();
+    surveyId = teacherSurveyRepository.save(survey(SurveyStatus.ACTIVE)).getId();
+    statistics.clear();
+  }
+
+  @Test
+  void testFindById_IsServedFromEntityCache() {
+    for (int i = 0; i < 3; i++) {
+      transaction.executeWithoutResult(status -> teacherSurveyRepository.findById(surveyId));
+    }
+
+    assertEquals(3L, statistics.getDomainDataRegionStatistics(TeacherSurvey.CACHE_REGION)
+        .getHitCount());
+    assertEquals(0L, statistics.getEntityLoadCount());
+    assertEquals(0L, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void testFindByStatus_IsServedFromQueryCache() {
+    for (int i = 0; i < 3; i++) {
+      transaction.executeWithoutResult(status -> teacherSurveyRepository
+          .findByStatus(SurveyStatus.ACTIVE));
+    }
+
+    assertEquals(1L, statistics.getQueryCacheMissCount());
+    assertEquals(2L, statistics.getQueryCacheHitCount());
+    assertEquals(1L, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void testBulkUpdate_InvalidatesEntityAndQueryCache() {
+    transaction.executeWithoutResult(status -> teacherSurveyRepository
+        .findByStatus(SurveyStatus.ACTIVE));
+    transaction.executeWithoutResult(status -> teacherSurveyRepository.findById(surveyId));
+
+    teacherSurveyRepository.closeAll(List.of(surveyId), List.of(SurveyStatus.ACTIVE),
+        SurveyStatus.CLOSED, LocalDateTime.now());
+    statistics.clear();
+
+    List<TeacherSurvey> active = transaction.execute(status -> teacherSurveyRepository
+        .findByStatus(SurveyStatus.ACTIVE));
+    TeacherSurvey survey = transaction.execute(status -> teacherSurveyRepository
+        .findById(surveyId).orElseThrow());
+
+    assertTrue(active.isEmpty());
+    assertEquals(SurveyStatus.CLOSED, survey.getStatus());
+    assertEquals(0L, statistics.getQueryCacheHitCount());
+    assertEquals(0L, statistics.getSecondLevelCacheHitCount());
+  }
+
+  private static TeacherSurvey survey(SurveyStatus status) {
+    LocalDateTime now = LocalDateTime.now();
+    return new TeacherSurvey(null, "course1", "teacher1", "2025/2026", 1, status, now, null,
+        now, now, "Questionario", "Descrizione", List.of());
+  }
+}
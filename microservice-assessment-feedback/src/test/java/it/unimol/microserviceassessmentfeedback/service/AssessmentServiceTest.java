@@ -8,16 +8,26 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.unimol.microserviceassessmentfeedback.common.exception.ResourceNotFoundException;
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
 import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
 import it.unimol.microserviceassessmentfeedback.enums.ReferenceType;
 import it.unimol.microserviceassessmentfeedback.messaging.publishers.AssessmentMessageService;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.CacheInvalidationPublisher;
 import it.unimol.microserviceassessmentfeedback.model.Assessment;
 import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
@@ -30,7 +40,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -46,6 +58,22 @@ class AssessmentServiceTest {
   @Mock
   private AssessmentMessageService assessmentMessageService;
 
+  @Mock
+  private StudentDashboardInvalidator studentDashboardInvalidator;
+
+  @Mock
+  private TeacherWorkloadCounters teacherWorkloadCounters;
+
+  @Mock
+  private AvailableSurveyIndex availableSurveyIndex;
+
+  @Spy
+  private LocalEntityCache localEntityCache = new LocalEntityCache(
+      mock(CacheInvalidationPublisher.class), new SimpleMeterRegistry(), false, 16, 60_000);
+
+  @Spy
+  private PartitioningProperties partitioningProperties = new PartitioningProperties();
+
   @Mock
   private SecurityContext securityContext;
 
@@ -221,6 +249,19 @@ class AssessmentServiceTest {
     assertEquals(1, result.size());
   }
 
+  @Test
+  void testGetAssessmentsByCourse_InAcademicYear() {
+    when(assessmentRepository.findByCourseIdInPeriod("course1",
+        LocalDateTime.of(2024, 9, 1, 0, 0), LocalDateTime.of(2025, 9, 1, 0, 0)))
+        .thenReturn(Arrays.asList(testAssessment));
+
+    List<AssessmentDto> result = assessmentService.getAssessmentsByCourse("course1", "2024/2025");
+
+    assertEquals(1, result.size());
+    assertThrows(IllegalArgumentException.class,
+        () -> assessmentService.getAssessmentsByCourse("course1", "2024/2026"));
+  }
+
   @Test
   void testCreateAssessment_Success() {
     when(assessmentRepository.save(any(Assessment.class))).thenReturn(testAssessment);
@@ -231,6 +272,8 @@ class AssessmentServiceTest {
     assertNotNull(result);
     assertEquals("assessment1", result.getId());
     verify(assessmentRepository, times(1)).save(any(Assessment.class));
+    verify(teacherWorkloadCounters).assessmentCreated("teacher1", "course1", true);
+    verify(availableSurveyIndex).studentEnrolled("student1", "course1");
     verify(assessmentMessageService, times(1)).publishAssessmentCreated(any(AssessmentDto.class));
   }
 
@@ -349,19 +392,33 @@ class AssessmentServiceTest {
 
   @Test
   void testDeleteAssessment_Success() {
-    when(assessmentRepository.existsById("assessment1")).thenReturn(true);
+    when(assessmentRepository.findById("assessment1")).thenReturn(Optional.of(testAssessment));
     doNothing().when(assessmentRepository).deleteById("assessment1");
     doNothing().when(assessmentMessageService).publishAssessmentDeleted("assessment1");
 
     assertDoesNotThrow(() -> assessmentService.deleteAssessment("assessment1"));
 
     verify(assessmentRepository, times(1)).deleteById("assessment1");
+    verify(studentDashboardInvalidator).markStale("student1");
+    verify(teacherWorkloadCounters).assessmentDeleted("teacher1", "course1", true);
     verify(assessmentMessageService, times(1)).publishAssessmentDeleted("assessment1");
+    verify(localEntityCache).evict(CacheRegion.ASSESSMENTS, List.of("assessment1"));
+  }
+
+  @Test
+  void testDeleteAssessment_WithFeedback() {
+    when(assessmentRepository.hasFeedback("assessment1")).thenReturn(true);
+
+    assertThrows(DataIntegrityViolationException.class,
+        () -> assessmentService.deleteAssessment("assessment1"));
+
+    verify(assessmentRepository, never()).deleteById(any());
+    verify(assessmentMessageService, never()).publishAssessmentDeleted(any());
   }
 
   @Test
   void testDeleteAssessment_NotFound() {
-    when(assessmentRepository.existsById("nonexistent")).thenReturn(false);
+    when(assessmentRepository.findById("nonexistent")).thenReturn(Optional.empty());
 
     assertThrows(ResourceNotFoundException.class,
         () -> assessmentService.deleteAssessment("nonexistent"));
@@ -369,7 +426,7 @@ class AssessmentServiceTest {
 
   @Test
   void testDeleteAssessment_WithMessagingError() {
-    when(assessmentRepository.existsById("assessment1")).thenReturn(true);
+    when(assessmentRepository.findById("assessment1")).thenReturn(Optional.of(testAssessment));
     doNothing().when(assessmentRepository).deleteById("assessment1");
     doThrow(new RuntimeException("Messaging error")).when(assessmentMessageService)
         .publishAssessmentDeleted("assessment1");
@@ -20,6 +20,8 @@ import it.unimol.microserviceassessmentfeedback.model.Assessment;
 import it.unimol.microserviceassessmentfeedback.model.DetailedFeedback;
 import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
 import it.unimol.microserviceassessmentfeedback.repository.DetailedFeedbackRepository;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -43,6 +45,12 @@ class DetailedFeedbackServiceTest {
   @Mock
   private FeedbackMessageService feedbackMessageService;
 
+  @Mock
+  private StudentDashboardInvalidator studentDashboardInvalidator;
+
+  @Mock
+  private TeacherWorkloadCounters teacherWorkloadCounters;
+
   @InjectMocks
   private DetailedFeedbackService feedbackService;
 
@@ -55,6 +63,8 @@ class DetailedFeedbackServiceTest {
     testAssessment = new Assessment();
     testAssessment.setId("assessment1");
     testAssessment.setStudentId("student1");
+    testAssessment.setTeacherId("teacher1");
+    testAssessment.setCourseId("course1");
 
     testFeedback = new DetailedFeedback();
     testFeedback.setId("feedback1");
@@ -167,6 +177,7 @@ class DetailedFeedbackServiceTest {
     assertNotNull(result);
     assertEquals("feedback1", result.getId());
     verify(feedbackRepository, times(1)).save(any(DetailedFeedback.class));
+    verify(teacherWorkloadCounters).feedbackCreated("teacher1", "course1", true);
     verify(feedbackMessageService, times(1)).publishFeedbackCreated(any(DetailedFeedbackDto.class));
   }
 
@@ -239,19 +250,21 @@ class DetailedFeedbackServiceTest {
 
   @Test
   void testDeleteFeedback_Success() {
-    when(feedbackRepository.existsById("feedback1")).thenReturn(true);
+    when(feedbackRepository.findById("feedback1")).thenReturn(Optional.of(testFeedback));
     doNothing().when(feedbackRepository).deleteById("feedback1");
     doNothing().when(feedbackMessageService).publishFeedbackDeleted("feedback1");
 
     assertDoesNotThrow(() -> feedbackService.deleteFeedback("feedback1"));
 
     verify(feedbackRepository, times(1)).deleteById("feedback1");
+    verify(studentDashboardInvalidator).markStale("student1");
+    verify(teacherWorkloadCounters).feedbackDeleted("teacher1", "course1", true);
     verify(feedbackMessageService, times(1)).publishFeedbackDeleted("feedback1");
   }
 
   @Test
   void testDeleteFeedback_NotFound() {
-    when(feedbackRepository.existsById("nonexistent")).thenReturn(false);
+    when(feedbackRepository.findById("nonexistent")).thenReturn(Optional.empty());
 
     assertThrows(ResourceNotFoundException.class,
         () -> feedbackService.deleteFeedback("nonexistent"));
@@ -259,7 +272,7 @@ class DetailedFeedbackServiceTest {
 
   @Test
   void testDeleteFeedback_WithMessagingError() {
-    when(feedbackRepository.existsById("feedback1")).thenReturn(true);
+    when(feedbackRepository.findById("feedback1")).thenReturn(Optional.of(testFeedback));
     doNothing().when(feedbackRepository).deleteById("feedback1");
     doThrow(new RuntimeException("Messaging error")).when(feedbackMessageService)
         .publishFeedbackDeleted("feedback1");
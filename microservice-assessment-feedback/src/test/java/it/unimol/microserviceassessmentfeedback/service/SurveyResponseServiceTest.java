@@ -9,23 +9,35 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import it.unimol.microserviceassessmentfeedback.common.exception.DuplicateResponseException;
 import it.unimol.microserviceassessmentfeedback.common.exception.ResourceNotFoundException;
 import it.unimol.microserviceassessmentfeedback.common.exception.SurveyClosedException;
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
 import it.unimol.microserviceassessmentfeedback.dto.SurveyResponseDto;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyReadAuditBuffer;
 import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyResponseMessageService;
-import it.unimol.microserviceassessmentfeedback.messaging.publishers.TeacherSurveyMessageService;
 import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
 import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
 import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
 import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshot;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshotStore;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySubmissionStore;
+import it.unimol.microserviceassessmentfeedback.service.workload.TeacherWorkloadCounters;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,6 +46,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,7 +62,31 @@ class SurveyResponseServiceTest {
   private SurveyResponseMessageService surveyResponseMessageService;
 
   @Mock
-  private TeacherSurveyMessageService teacherSurveyMessageService;
+  private SurveyReadAuditBuffer surveyReadAuditBuffer;
+
+  @Mock
+  private StudentDashboardInvalidator studentDashboardInvalidator;
+
+  @Mock
+  private TeacherWorkloadCounters teacherWorkloadCounters;
+
+  @Mock
+  private SurveySubmissionStore surveySubmissionStore;
+
+  @Mock
+  private SurveySnapshotStore surveySnapshotStore;
+
+  @Mock
+  private RespondentTracker respondentTracker;
+
+  @Mock
+  private NotificationService notificationService;
+
+  @Mock
+  private AvailableSurveyIndex availableSurveyIndex;
+
+  @Spy
+  private PartitioningProperties partitioningProperties = new PartitioningProperties();
 
   @InjectMocks
   private SurveyResponseService surveyResponseService;
@@ -96,6 +133,34 @@ class SurveyResponseServiceTest {
     assertEquals(1, result.size());
   }
 
+  @Test
+  void testGetResponsesBySurveyId_UnboundedWithoutPartitioning() {
+    testSurvey.setCreatedAt(LocalDateTime.of(2024, 10, 1, 9, 0));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(responseRepository.findBySurveyId("survey1")).thenReturn(Arrays.asList(testResponse));
+
+    List<SurveyResponseDto> result = surveyResponseService.getResponsesBySurveyId("survey1",
+        "user1");
+
+    assertEquals(1, result.size());
+    verify(responseRepository, never()).findBySurveyIdSince(any(), any());
+  }
+
+  @Test
+  void testGetResponsesBySurveyId_BoundedByAcademicYearOfCreation() {
+    partitioningProperties.setEnabled(true);
+    testSurvey.setCreatedAt(LocalDateTime.of(2024, 10, 1, 9, 0));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(responseRepository.findBySurveyIdSince("survey1", LocalDateTime.of(2024, 9, 1, 0, 0)))
+        .thenReturn(Arrays.asList(testResponse));
+
+    List<SurveyResponseDto> result = surveyResponseService.getResponsesBySurveyId("survey1",
+        "user1");
+
+    assertEquals(1, result.size());
+    verify(responseRepository, never()).findBySurveyId(any());
+  }
+
   @Test
   void testGetResponsesBySurveyId_SurveyNotFound() {
     when(surveyRepository.findById("nonexistent")).thenReturn(Optional.empty());
@@ -113,7 +178,7 @@ class SurveyResponseServiceTest {
 
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(teacherSurveyMessageService).publishSurveyCommentsRequested("survey1", "user1");
+    verify(surveyReadAuditBuffer).recordCommentsRequested("survey1", "user1");
   }
 
   @Test
@@ -145,7 +210,7 @@ class SurveyResponseServiceTest {
     assertNotNull(result);
     assertTrue(result.containsKey("q1"));
     assertEquals(4.0, result.get("q1"));
-    verify(teacherSurveyMessageService).publishSurveyResultsRequested("survey1", "user1");
+    verify(surveyReadAuditBuffer).recordResultsRequested("survey1", "user1");
   }
 
   @Test
@@ -177,12 +242,45 @@ class SurveyResponseServiceTest {
 
   @Test
   void testGetAvailableSurveysForStudent() {
-    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(Arrays.asList(testSurvey));
+    when(availableSurveyIndex.availableFor("student1")).thenReturn(List.of(testSurvey));
 
     List<TeacherSurvey> result = surveyResponseService.getAvailableSurveysForStudent("student1");
 
-    assertNotNull(result);
-    assertEquals(1, result.size());
+    assertEquals(List.of(testSurvey), result);
+    verify(surveyRepository, never()).findByStatus(any());
+  }
+
+  @Test
+  void testGetNonRespondents() {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(respondentTracker.nonRespondents(testSurvey)).thenReturn(List.of("student2"));
+
+    assertEquals(List.of("student2"), surveyResponseService.getNonRespondents("survey1", "t1"));
+  }
+
+  @Test
+  void testRemindNonRespondents() {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(respondentTracker.nonRespondents(testSurvey)).thenReturn(List.of("student2", "student3"));
+
+    int reminded = surveyResponseService.remindNonRespondents("survey1", "teacher1");
+
+    assertEquals(2, reminded);
+    verify(notificationService).notifyStudentOfSurvey("student2", "survey1", "course1",
+        SurveyResponseService.REMINDER_SURVEY_TYPE);
+    verify(notificationService).notifyStudentOfSurvey("student3", "survey1", "course1",
+        SurveyResponseService.REMINDER_SURVEY_TYPE);
+  }
+
+  @Test
+  void testRemindNonRespondents_SurveyNotActive() {
+    testSurvey.setStatus(SurveyStatus.CLOSED);
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+
+    assertThrows(SurveyClosedException.class,
+        () -> surveyResponseService.remindNonRespondents("survey1", "teacher1"));
+    verify(notificationService, never()).notifyStudentOfSurvey(anyString(), anyString(),
+        anyString(), anyString());
   }
 
   @Test
@@ -197,6 +295,9 @@ class SurveyResponseServiceTest {
 
     assertNotNull(result);
     assertEquals(1, result.size());
+    verify(studentDashboardInvalidator).markStale("student1");
+    verify(teacherWorkloadCounters).surveySubmitted("teacher1", "course1");
+    verify(respondentTracker).recordResponse("survey1", "student1");
     verify(surveyResponseMessageService).publishSurveyResponsesSubmitted(anyList(), eq("survey1"));
   }
 
@@ -232,6 +333,18 @@ class SurveyResponseServiceTest {
         () -> surveyResponseService.submitSurveyResponses("survey1", responses, "student1"));
   }
 
+  @Test
+  void testSubmitSurveyResponses_DuplicateFromRespondentBitmap() {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(respondentTracker.hasResponded("survey1", "student1")).thenReturn(true);
+
+    List<SurveyResponseDto> responses = Arrays.asList(testResponseDto);
+
+    assertThrows(DuplicateResponseException.class,
+        () -> surveyResponseService.submitSurveyResponses("survey1", responses, "student1"));
+    verify(responseRepository, never()).existsBySurveyIdAndStudentId(anyString(), anyString());
+  }
+
   @Test
   void testSubmitSurveyResponses_DuplicateQuestions() {
     when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
@@ -372,4 +485,68 @@ class SurveyResponseServiceTest {
     assertThrows(SurveyClosedException.class,
         () -> surveyResponseService.createResponse(testResponseDto));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testSubmitSurveyResponses_CompactStorage() {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveySubmissionStore.isCompact()).thenReturn(true);
+    when(surveySubmissionStore.submit(eq(testSurvey), eq("student1"), anyList(), any()))
+        .thenReturn(List.of(testResponseDto));
+
+    List<SurveyResponseDto> result = surveyResponseService.submitSurveyResponses("survey1",
+        List.of(testResponseDto), "student1");
+
+    assertEquals(1, result.size());
+    verify(responseRepository, never()).saveAll(anyList());
+    verify(teacherWorkloadCounters).surveySubmitted("teacher1", "course1");
+  }
+
+  @Test
+  void testSubmitSurveyResponses_DuplicateCompactSubmission() {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveySubmissionStore.hasSubmitted("survey1", "student1")).thenReturn(true);
+
+    List<SurveyResponseDto> responses = List.of(testResponseDto);
+    assertThrows(DuplicateResponseException.class,
+        () -> surveyResponseService.submitSurveyResponses("survey1", responses, "student1"));
+  }
+
+  @Test
+  void testGetSurveyResults_MergesCompactSubmissions() {
+    Map<String, long[]> compactTotals = new HashMap<>();
+    compactTotals.put("q1", new long[] {6, 3});
+    compactTotals.put("q2", new long[] {5, 1});
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveySubmissionStore.sumRatings(testSurvey)).thenReturn(compactTotals);
+    when(responseRepository.findBySurveyId("survey1")).thenReturn(List.of(testResponse));
+
+    Map<String, Double> result = surveyResponseService.getSurveyResults("survey1", "user1");
+
+    assertEquals(2.5, result.get("q1"));
+    assertEquals(5.0, result.get("q2"));
+  }
+
+  @Test
+  void testGetSurveyResults_ClosedSurveyReadsSnapshot() {
+    SurveySnapshot snapshot = mock(SurveySnapshot.class);
+    when(snapshot.sumRatings()).thenReturn(Map.of("q1", new long[] {9, 2}));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveySnapshotStore.find(testSurvey)).thenReturn(Optional.of(snapshot));
+
+    Map<String, Double> result = surveyResponseService.getSurveyResults("survey1", "user1");
+
+    assertEquals(4.5, result.get("q1"));
+    verify(responseRepository, never()).findBySurveyId(any());
+    verify(surveySubmissionStore, never()).sumRatings(any());
+  }
+
+  @Test
+  void testGetResponsesByStudentId_IncludesCompactSubmissions() {
+    when(responseRepository.findByStudentId("student1")).thenReturn(List.of(testResponse));
+    when(surveySubmissionStore.findByStudent("student1")).thenReturn(List.of(testResponseDto));
+
+    List<SurveyResponseDto> result = surveyResponseService.getResponsesByStudentId("student1");
+
+    assertEquals(2, result.size());
+  }
+}
@@ -3,38 +3,64 @@ package it.unimol.microserviceassessmentfeedback.service;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import it.unimol.microserviceassessmentfeedback.common.exception.ResourceNotFoundException;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleRequestDto;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyBulkLifecycleResultDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
 import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
 import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyLifecycleAction;
 import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.CacheInvalidationPublisher;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.SurveyReadAuditBuffer;
 import it.unimol.microserviceassessmentfeedback.messaging.publishers.TeacherSurveyMessageService;
 import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
 import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository.SurveyLifecycleView;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryReadModel;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshot;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshot.QuestionStatistics;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshotStore;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class TeacherSurveyServiceTest {
@@ -45,6 +71,25 @@ class TeacherSurveyServiceTest {
   @Mock
   private TeacherSurveyMessageService teacherSurveyMessageService;
 
+  @Mock
+  private SurveyReadAuditBuffer surveyReadAuditBuffer;
+
+  @Mock
+  private SurveySnapshotStore surveySnapshotStore;
+
+  @Mock
+  private RespondentTracker respondentTracker;
+
+  @Mock
+  private AvailableSurveyIndex availableSurveyIndex;
+
+  @Spy
+  private LocalEntityCache localEntityCache = new LocalEntityCache(
+      mock(CacheInvalidationPublisher.class), new SimpleMeterRegistry(), false, 16, 60_000);
+
+  @Spy
+  private DirectoryReadModel directoryReadModel = new DirectoryReadModel();
+
   @Mock
   private SecurityContext securityContext;
 
@@ -165,7 +210,25 @@ class TeacherSurveyServiceTest {
     Object result = surveyService.getSurveyStatistics("survey1");
 
     assertNotNull(result);
-    verify(teacherSurveyMessageService).publishSurveyResultsRequested("survey1", "teacher1");
+    verify(surveyReadAuditBuffer).recordResultsRequested("survey1", "teacher1");
+  }
+
+  @Test
+  void testGetSurveyStatistics_ClosedSurveyReadsSnapshot() {
+    SecurityContextHolder.setContext(securityContext);
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    when(authentication.getName()).thenReturn("teacher1");
+    testSurvey.setStatus(SurveyStatus.CLOSED);
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    SurveySnapshot snapshot = mock(SurveySnapshot.class);
+    Map<String, QuestionStatistics> statistics =
+        Map.of("q1", new QuestionStatistics(3, 2, 4.5, 1));
+    when(snapshot.statistics()).thenReturn(statistics);
+    when(surveySnapshotStore.find(testSurvey)).thenReturn(Optional.of(snapshot));
+
+    Object result = surveyService.getSurveyStatistics("survey1");
+
+    assertEquals(statistics, ReflectionTestUtils.getField(result, "results"));
   }
 
   @Test
@@ -209,6 +272,38 @@ class TeacherSurveyServiceTest {
     verify(teacherSurveyMessageService).publishSurveyCompleted(any(TeacherSurveyDto.class));
   }
 
+  @Test
+  void testCreateSurvey_AssignsDenseQuestionOrdinals() {
+    SurveyQuestionDto second = SurveyQuestionDto.builder()
+        .questionText("Commenti")
+        .questionType(QuestionType.TEXT)
+        .ordinal(7)
+        .build();
+    testSurveyDto.setQuestions(Arrays.asList(testQuestion, second));
+    when(surveyRepository.existsByTeacherIdAndCourseIdAndAcademicYearAndSemester(
+        anyString(), anyString(), anyString(), anyInt())).thenReturn(false);
+    when(surveyRepository.save(any(TeacherSurvey.class))).thenReturn(testSurvey);
+
+    surveyService.createSurvey(testSurveyDto);
+
+    assertEquals(0, testQuestion.getOrdinal());
+    assertEquals(1, second.getOrdinal());
+  }
+
+  @Test
+  void testCreateSurvey_UnknownCourseIsRejectedOnceDirectoryIsReady() {
+    when(directoryReadModel.isReady()).thenReturn(true);
+    when(directoryReadModel.isActiveTeacher("teacher1")).thenReturn(true);
+    when(surveyRepository.existsByTeacherIdAndCourseIdAndAcademicYearAndSemester(
+        anyString(), anyString(), anyString(), anyInt())).thenReturn(false);
+
+    IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+        () -> surveyService.createSurvey(testSurveyDto));
+
+    assertEquals("Corso non trovato: course1", error.getMessage());
+    verify(surveyRepository, never()).save(any(TeacherSurvey.class));
+  }
+
   @Test
   void testCreateSurvey_DuplicateExists() {
     when(surveyRepository.existsByTeacherIdAndCourseIdAndAcademicYearAndSemester(
@@ -363,6 +458,25 @@ class TeacherSurveyServiceTest {
     verify(surveyRepository).save(any(TeacherSurvey.class));
   }
 
+  @Test
+  void testUpdateSurvey_ClearScheduleRemovesExistingSchedule() {
+    LocalDateTime openAt = LocalDateTime.now(ZoneId.systemDefault()).plusDays(1);
+    testSurvey.setScheduledOpenAt(openAt);
+    testSurvey.setScheduledCloseAt(openAt.plusDays(7));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveyRepository.save(any(TeacherSurvey.class))).thenReturn(testSurvey);
+
+    TeacherSurveyDto updateDto = TeacherSurveyDto.builder()
+        .scheduledCloseAt(openAt.plusDays(14))
+        .build();
+    updateDto.setClearSchedule(true);
+
+    surveyService.updateSurvey("survey1", updateDto);
+
+    assertNull(testSurvey.getScheduledOpenAt());
+    assertEquals(openAt.plusDays(14), testSurvey.getScheduledCloseAt());
+  }
+
   @Test
   void testUpdateSurvey_NotFound() {
     when(surveyRepository.findById("nonexistent")).thenReturn(Optional.empty());
@@ -389,6 +503,47 @@ class TeacherSurveyServiceTest {
 
     assertNotNull(result);
     verify(surveyRepository).save(any(TeacherSurvey.class));
+    verify(availableSurveyIndex).surveysChanged(List.of("survey1"));
+  }
+
+  @Test
+  void testChangeSurveyStatus_ActivationKeepsFutureScheduledClose() {
+    LocalDateTime openAt = LocalDateTime.now(ZoneId.systemDefault()).plusDays(1);
+    testSurvey.setScheduledOpenAt(openAt);
+    testSurvey.setScheduledCloseAt(openAt.plusDays(7));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveyRepository.save(any(TeacherSurvey.class))).thenReturn(testSurvey);
+
+    surveyService.changeSurveyStatus("survey1", SurveyStatus.ACTIVE);
+
+    assertNull(testSurvey.getScheduledOpenAt());
+    assertEquals(openAt.plusDays(7), testSurvey.getScheduledCloseAt());
+  }
+
+  @Test
+  void testChangeSurveyStatus_ActivationClearsPastScheduledClose() {
+    testSurvey.setScheduledCloseAt(LocalDateTime.now(ZoneId.systemDefault()).minusHours(1));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveyRepository.save(any(TeacherSurvey.class))).thenReturn(testSurvey);
+
+    surveyService.changeSurveyStatus("survey1", SurveyStatus.ACTIVE);
+
+    assertNull(testSurvey.getScheduledCloseAt());
+  }
+
+  @Test
+  void testChangeSurveyStatus_ClosingClearsScheduledClose() {
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    testSurvey.setStatus(SurveyStatus.ACTIVE);
+    testSurvey.setScheduledOpenAt(now.plusDays(30));
+    testSurvey.setScheduledCloseAt(now.plusDays(7));
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(testSurvey));
+    when(surveyRepository.save(any(TeacherSurvey.class))).thenReturn(testSurvey);
+
+    surveyService.changeSurveyStatus("survey1", SurveyStatus.CLOSED);
+
+    assertEquals(now.plusDays(30), testSurvey.getScheduledOpenAt());
+    assertNull(testSurvey.getScheduledCloseAt());
   }
 
   @Test
@@ -401,6 +556,7 @@ class TeacherSurveyServiceTest {
 
     assertNotNull(result);
     verify(teacherSurveyMessageService).publishSurveyCompleted(any(TeacherSurveyDto.class));
+    verify(surveySnapshotStore).requestBuild(List.of("survey1"));
   }
 
   @Test
@@ -413,6 +569,7 @@ class TeacherSurveyServiceTest {
     TeacherSurveyDto result = surveyService.changeSurveyStatus("survey1", SurveyStatus.ACTIVE);
 
     assertNotNull(result);
+    verify(surveySnapshotStore).invalidate(List.of("survey1"));
   }
 
   @Test
@@ -440,6 +597,11 @@ class TeacherSurveyServiceTest {
     assertDoesNotThrow(() -> surveyService.deleteSurvey("survey1"));
 
     verify(surveyRepository).deleteById("survey1");
+    verify(surveySnapshotStore).invalidate(List.of("survey1"));
+    verify(respondentTracker).forget(List.of("survey1"));
+    verify(availableSurveyIndex).surveysChanged(List.of("survey1"));
+    verify(localEntityCache).evict(CacheRegion.SURVEYS, List.of("survey1"));
+    verify(localEntityCache).evictAll(CacheRegion.ACTIVE_SURVEYS);
   }
 
   @Test
@@ -449,4 +611,131 @@ class TeacherSurveyServiceTest {
     assertThrows(ResourceNotFoundException.class,
         () -> surveyService.deleteSurvey("nonexistent"));
   }
-}
\ No newline at end of file
+
+  // ===================================================================
+  // TEST OPERAZIONI MASSIVE E TRANSIZIONI PROGRAMMATE
+  // ===================================================================
+
+  private static SurveyLifecycleView view(String id, SurveyStatus status) {
+    return new SurveyLifecycleView() {
+      @Override
+      public String getId() {
+        return id;
+      }
+
+      @Override
+      public SurveyStatus getStatus() {
+        return status;
+      }
+    };
+  }
+
+  @Test
+  void testApplyBulkLifecycle_CloseSkipsInvalidTransitionsAndPublishesOneEvent() {
+    when(surveyRepository.findLifecycleCandidates("2023-2024", 2, null)).thenReturn(List.of(
+        view("s1", SurveyStatus.ACTIVE), view("s2", SurveyStatus.DRAFT),
+        view("s3", SurveyStatus.CLOSED)));
+    when(surveyRepository.closeAll(eq(List.of("s1", "s2")), any(), eq(SurveyStatus.CLOSED),
+        any(LocalDateTime.class))).thenReturn(2);
+
+    SurveyBulkLifecycleResultDto result = surveyService.applyBulkLifecycle(
+        new SurveyBulkLifecycleRequestDto(SurveyLifecycleAction.CLOSE, "2023-2024", 2, null));
+
+    assertEquals(3, result.getMatched());
+    assertEquals(2, result.getUpdated());
+    assertEquals(1, result.getSkipped());
+    assertEquals(1, result.getBatches());
+    verify(teacherSurveyMessageService).publishSurveyLifecycleChanged(SurveyLifecycleAction.CLOSE,
+        SurveyStatus.CLOSED, List.of("s1", "s2"), TeacherSurveyService.TRIGGER_BULK);
+    verify(teacherSurveyMessageService, never()).publishSurveyCompleted(any());
+    verify(surveySnapshotStore).requestBuild(List.of("s1", "s2"));
+    verify(availableSurveyIndex).surveysChanged(List.of("s1", "s2"));
+  }
+
+  @Test
+  void testApplyBulkLifecycle_SplitsIntoBatches() {
+    ReflectionTestUtils.setField(surveyService, "lifecycleBatchSize", 2);
+    when(surveyRepository.findLifecycleCandidates("2023-2024", null, "course1")).thenReturn(
+        List.of(view("s1", SurveyStatus.DRAFT), view("s2", SurveyStatus.CLOSED),
+            view("s3", SurveyStatus.DRAFT)));
+    when(surveyRepository.openAll(any(), any(), eq(SurveyStatus.ACTIVE),
+        any(LocalDateTime.class))).thenReturn(2, 1);
+
+    SurveyBulkLifecycleResultDto result = surveyService.applyBulkLifecycle(
+        new SurveyBulkLifecycleRequestDto(SurveyLifecycleAction.OPEN, "2023-2024", null,
+            "course1"));
+
+    assertEquals(3, result.getUpdated());
+    assertEquals(2, result.getBatches());
+    verify(surveyRepository).openAll(eq(List.of("s1", "s2")), any(), eq(SurveyStatus.ACTIVE),
+        any(LocalDateTime.class));
+    verify(surveyRepository).openAll(eq(List.of("s3")), any(), eq(SurveyStatus.ACTIVE),
+        any(LocalDateTime.class));
+  }
+
+  @Test
+  void testApplyBulkLifecycle_RequiresAcademicYear() {
+    assertThrows(IllegalArgumentException.class, () -> surveyService.applyBulkLifecycle(
+        new SurveyBulkLifecycleRequestDto(SurveyLifecycleAction.CLOSE, null, 1, null)));
+  }
+
+  @Test
+  void testApplyBulkLifecycle_CloneToNextSemesterSkipsExisting() {
+    TeacherSurvey other = new TeacherSurvey();
+    other.setId("survey2");
+    other.setCourseId("course2");
+    other.setTeacherId("teacher1");
+    other.setTitle("Other");
+    other.setQuestions(List.of(testQuestion));
+    when(surveyRepository.findTeacherCourseKeys("2024-2025", 1))
+        .thenReturn(List.of("teacher1|course2"));
+    when(surveyRepository.findByPeriod(eq("2023-2024"), eq(2), eq(null), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(testSurvey, other), PageRequest.of(0, 500), false));
+    when(surveyRepository.saveAll(any())).thenAnswer(invocation -> {
+      List<TeacherSurvey> saved = invocation.getArgument(0);
+      saved.forEach(survey -> survey.setId("clone-" + survey.getCourseId()));
+      return saved;
+    });
+
+    SurveyBulkLifecycleResultDto result = surveyService.applyBulkLifecycle(
+        new SurveyBulkLifecycleRequestDto(SurveyLifecycleAction.CLONE, "2023-2024", 2, null));
+
+    assertEquals(2, result.getMatched());
+    assertEquals(1, result.getUpdated());
+    assertEquals(1, result.getSkipped());
+    verify(teacherSurveyMessageService).publishSurveyLifecycleChanged(SurveyLifecycleAction.CLONE,
+        SurveyStatus.DRAFT, List.of("clone-" + testSurvey.getCourseId()),
+        TeacherSurveyService.TRIGGER_BULK);
+  }
+
+  @Test
+  void testApplyScheduledTransitions_OpensAndCloses() {
+    LocalDateTime now = LocalDateTime.now(ZoneId.systemDefault());
+    when(surveyRepository.findDueForOpening(eq(now), eq(SurveyStatus.ACTIVE), any(Pageable.class)))
+        .thenReturn(List.of(view("s1", SurveyStatus.DRAFT)));
+    when(surveyRepository.findDueForClosing(eq(now), eq(SurveyStatus.CLOSED), any(Pageable.class)))
+        .thenReturn(List.of(view("s2", SurveyStatus.ACTIVE)));
+    when(surveyRepository.openAll(List.of("s1"), EnumSet.of(SurveyStatus.DRAFT,
+        SurveyStatus.CLOSED), SurveyStatus.ACTIVE, now)).thenReturn(1);
+    when(surveyRepository.closeAll(List.of("s2"), EnumSet.of(SurveyStatus.DRAFT,
+        SurveyStatus.ACTIVE), SurveyStatus.CLOSED, now)).thenReturn(1);
+
+    assertEquals(2, surveyService.applyScheduledTransitions(now));
+
+    verify(teacherSurveyMessageService).publishSurveyLifecycleChanged(SurveyLifecycleAction.OPEN,
+        SurveyStatus.ACTIVE, List.of("s1"), TeacherSurveyService.TRIGGER_SCHEDULED);
+    verify(teacherSurveyMessageService).publishSurveyLifecycleChanged(SurveyLifecycleAction.CLOSE,
+        SurveyStatus.CLOSED, List.of("s2"), TeacherSurveyService.TRIGGER_SCHEDULED);
+  }
+
+  @Test
+  void testCreateSurvey_RejectsCloseBeforeOpen() {
+    LocalDateTime openAt = LocalDateTime.now(ZoneId.systemDefault()).plusDays(1);
+    testSurveyDto.setScheduledOpenAt(openAt);
+    testSurveyDto.setScheduledCloseAt(openAt.minusHours(1));
+    when(surveyRepository.existsByTeacherIdAndCourseIdAndAcademicYearAndSemester(anyString(),
+        anyString(), anyString(), anyInt())).thenReturn(false);
+
+    assertThrows(IllegalArgumentException.class, () -> surveyService.createSurvey(testSurveyDto));
+  }
+}
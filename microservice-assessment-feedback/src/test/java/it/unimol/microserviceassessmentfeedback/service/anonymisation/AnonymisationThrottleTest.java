@@ -0,0 +1,74 @@
+package it.unimol.microserviceassessmentfeedback.service.anonymisation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class AnonymisationThrottleTest {
+
+  @Test
+  void testOnChunk_FullFastChunkIncreasesAdditively() {
+    AnonymisationThrottle throttle = new AnonymisationThrottle(null, 50, 120, 200);
+
+    throttle.onChunk(10, 50);
+    assertEquals(100, throttle.getChunkSize());
+
+    throttle.onChunk(10, 100);
+    assertEquals(120, throttle.getChunkSize());
+  }
+
+  @Test
+  void testOnChunk_PartialChunkKeepsSize() {
+    AnonymisationThrottle throttle = new AnonymisationThrottle(null, 50, 1000, 200);
+
+    throttle.onChunk(10, 20);
+
+    assertEquals(50, throttle.getChunkSize());
+  }
+
+  @Test
+  void testOnChunk_SlowChunkHalvesDownToMinimum() {
+    AnonymisationThrottle throttle = new AnonymisationThrottle(null, 50, 1000, 200);
+    for (int i = 0; i < 5; i++) {
+      throttle.onChunk(10, throttle.getChunkSize());
+    }
+    assertEquals(300, throttle.getChunkSize());
+
+    throttle.onChunk(500, 300);
+    assertEquals(150, throttle.getChunkSize());
+
+    throttle.onBusy();
+    throttle.onBusy();
+    assertEquals(50, throttle.getChunkSize());
+  }
+
+  @Test
+  void testIsDatabaseBusy_ThreadsAwaitingConnection() throws SQLException {
+    HikariDataSource dataSource = mock(HikariDataSource.class);
+    HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+    when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+    when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+    when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+    when(pool.getThreadsAwaitingConnection()).thenReturn(0, 2);
+    AnonymisationThrottle throttle = new AnonymisationThrottle(dataSource, 50, 1000, 200);
+
+    assertFalse(throttle.isDatabaseBusy());
+    assertTrue(throttle.isDatabaseBusy());
+  }
+
+  @Test
+  void testIsDatabaseBusy_NonHikariDataSource() {
+    AnonymisationThrottle throttle =
+        new AnonymisationThrottle(mock(DataSource.class), 50, 1000, 200);
+
+    assertFalse(throttle.isDatabaseBusy());
+  }
+}
@@ -0,0 +1,291 @@
+package it.unimol.microserviceassessmentfeedback.service.anonymisation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.common.exception.LeaseLostException;
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.AnonymisationPhase;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import it.unimol.microserviceassessmentfeedback.model.ArchivedRecord;
+import it.unimol.microserviceassessmentfeedback.repository.AnonymisationJobRepository;
+import it.unimol.microserviceassessmentfeedback.repository.ArchivedRecordRepository;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.DetailedFeedbackRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.partitioning.TablePartitionManager;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class UserAnonymisationChunkProcessorTest {
+
+  @Mock
+  private AnonymisationJobRepository anonymisationJobRepository;
+
+  @Mock
+  private AssessmentRepository assessmentRepository;
+
+  @Mock
+  private DetailedFeedbackRepository detailedFeedbackRepository;
+
+  @Mock
+  private SurveyResponseRepository surveyResponseRepository;
+
+  @Mock
+  private SurveySubmissionRepository surveySubmissionRepository;
+
+  @Mock
+  private TeacherSurveyRepository teacherSurveyRepository;
+
+  @Mock
+  private ArchivedRecordRepository archivedRecordRepository;
+
+  @Mock
+  private TablePartitionManager tablePartitionManager;
+
+  @Mock
+  private StudentDashboardInvalidator studentDashboardInvalidator;
+
+  @Mock
+  private RespondentTracker respondentTracker;
+
+  @Mock
+  private LocalEntityCache localEntityCache;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private UserAnonymisationChunkProcessor processor;
+  private AnonymisationJob job;
+
+  @BeforeEach
+  void setUp() {
+    processor = new UserAnonymisationChunkProcessor(anonymisationJobRepository,
+        assessmentRepository, detailedFeedbackRepository, surveyResponseRepository,
+        surveySubmissionRepository, teacherSurveyRepository, archivedRecordRepository,
+        tablePartitionManager, studentDashboardInvalidator, respondentTracker, localEntityCache,
+        new ObjectMapper(), jobLeaseManager);
+    job = new AnonymisationJob("student1", "STUDENT", "Graduation");
+    job.setId("job1");
+    when(anonymisationJobRepository.findById("job1")).thenReturn(Optional.of(job));
+  }
+
+  @Test
+  void testProcessChunk_RedactsFeedbackAndRecordsCheckpoint() {
+    when(detailedFeedbackRepository.findStudentFeedbackIds(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of("f1", "f2"));
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    verify(detailedFeedbackRepository).redactAll(eq(List.of("f1", "f2")),
+        eq(UserAnonymisationChunkProcessor.REDACTED_TEXT), any());
+    assertEquals(AnonymisationPhase.FEEDBACK_TEXT, result.getPhase());
+    assertEquals("f2", result.getLastKey());
+    assertEquals(2L, result.getAnonymisedCount());
+    assertEquals(1, result.getChunks());
+    assertEquals(BackgroundJobStatus.RUNNING, result.getStatus());
+    verify(jobLeaseManager).confirmLease(UserAnonymisationService.JOB_NAME);
+  }
+
+  @Test
+  void testProcessChunk_LostLeaseAbortsChunk() {
+    when(detailedFeedbackRepository.findStudentFeedbackIds(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of("f1"));
+    doThrow(new LeaseLostException("lease scaduto"))
+        .when(jobLeaseManager).confirmLease(UserAnonymisationService.JOB_NAME);
+
+    assertThrows(LeaseLostException.class, () -> processor.processChunk("job1", 100));
+  }
+
+  @Test
+  void testProcessChunk_EmptyPhaseAdvancesAndResetsCheckpoint() {
+    job.setLastKey("f2");
+    when(detailedFeedbackRepository.findStudentFeedbackIds(eq("student1"), eq("f2"),
+        any(Pageable.class))).thenReturn(List.of());
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    assertEquals(AnonymisationPhase.STUDENT_ASSESSMENTS, result.getPhase());
+    assertNull(result.getLastKey());
+    verify(detailedFeedbackRepository, never()).redactAll(anyList(), anyString(), any());
+  }
+
+  @Test
+  void testProcessChunk_PseudonymisesStudentResponses() {
+    job.setPhase(AnonymisationPhase.SURVEY_RESPONSES);
+    job.setLastKey("r0");
+    when(surveyResponseRepository.findStudentResponseIds(eq("student1"), eq("r0"),
+        any(Pageable.class))).thenReturn(List.of("r1"));
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    verify(surveyResponseRepository).pseudonymiseStudent(eq(List.of("r1")),
+        eq(job.getPseudonym()), any());
+    assertTrue(job.getPseudonym().startsWith("anon-"));
+    assertEquals("r1", result.getLastKey());
+  }
+
+  @Test
+  void testProcessChunk_PseudonymisesStudentSubmissions() {
+    job.setPhase(AnonymisationPhase.SURVEY_SUBMISSIONS);
+    when(surveySubmissionRepository.findStudentSubmissionIds(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of("sub1"));
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    verify(surveySubmissionRepository).pseudonymiseStudent(List.of("sub1"), job.getPseudonym());
+    assertEquals(AnonymisationPhase.SURVEY_SUBMISSIONS, result.getPhase());
+    assertEquals("sub1", result.getLastKey());
+    verify(respondentTracker, never()).pseudonymiseStudent(anyString(), anyString());
+  }
+
+  @Test
+  void testProcessChunk_PseudonymisesStudentOrdinalAfterSubmissions() {
+    job.setPhase(AnonymisationPhase.SURVEY_SUBMISSIONS);
+    when(surveySubmissionRepository.findStudentSubmissionIds(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of());
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    verify(respondentTracker).pseudonymiseStudent("student1", job.getPseudonym());
+    assertEquals(AnonymisationPhase.TEACHER_ASSESSMENTS, result.getPhase());
+  }
+
+  @Test
+  void testProcessChunk_PseudonymisesTeacherSurveys() {
+    job.setPhase(AnonymisationPhase.TEACHER_SURVEYS);
+    when(teacherSurveyRepository.findTeacherSurveyIds(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of("s1"));
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    processor.processChunk("job1", 100);
+
+    verify(teacherSurveyRepository).pseudonymiseTeacher(eq(List.of("s1")),
+        eq(job.getPseudonym()), any());
+    verify(localEntityCache).evict(CacheRegion.SURVEYS, List.of("s1"));
+    verify(localEntityCache).evictAll(CacheRegion.COURSE_SURVEYS);
+  }
+
+  @Test
+  void testProcessChunk_TeacherSurveysAdvanceToArchivedRecords() {
+    job.setPhase(AnonymisationPhase.TEACHER_SURVEYS);
+    when(teacherSurveyRepository.findTeacherSurveyIds(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of());
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    assertEquals(AnonymisationPhase.ARCHIVED_RECORDS, result.getPhase());
+    assertEquals(BackgroundJobStatus.RUNNING, result.getStatus());
+  }
+
+  @Test
+  void testProcessChunk_PseudonymisesArchivedRecords() {
+    job.setPhase(AnonymisationPhase.ARCHIVED_RECORDS);
+    ArchivedRecord response = new ArchivedRecord("SURVEY_RESPONSE", "r1", "course1", "a1",
+        "student1", null, "{\"id\":\"r1\",\"studentId\":\"student1\","
+        + "\"numericRating\":4,\"textComment\":\"Mario Rossi, 3B\"}");
+    response.setId("ar1");
+    ArchivedRecord feedback = new ArchivedRecord("DETAILED_FEEDBACK", "f1", "course1", "a1",
+        "student1", null, "{\"id\":\"f1\",\"feedbackText\":\"Bravo Mario\","
+        + "\"category\":\"CONTENT\",\"strengths\":\"Sintesi\",\"improvementAreas\":null}");
+    feedback.setId("ar2");
+    ArchivedRecord assessment = new ArchivedRecord("ASSESSMENT", "as1", "course1", "a1",
+        "student2", "student1", "{\"id\":\"as1\",\"studentId\":\"student2\","
+        + "\"teacherId\":\"student1\",\"notes\":\"Ottimo lavoro\"}");
+    assessment.setId("ar3");
+    when(archivedRecordRepository.findUserChunk(eq("student1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class))).thenReturn(List.of(response, feedback, assessment));
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    String pseudonym = job.getPseudonym();
+    verify(archivedRecordRepository).saveAll(List.of(response, feedback, assessment));
+    assertEquals(pseudonym, response.getStudentId());
+    assertEquals("{\"id\":\"r1\",\"studentId\":\"" + pseudonym + "\","
+        + "\"numericRating\":4,\"textComment\":null}", response.getPayload());
+    assertEquals(pseudonym, feedback.getStudentId());
+    assertEquals("{\"id\":\"f1\",\"feedbackText\":\""
+        + UserAnonymisationChunkProcessor.REDACTED_TEXT + "\",\"category\":\"CONTENT\","
+        + "\"strengths\":null,\"improvementAreas\":null}", feedback.getPayload());
+    assertEquals("student2", assessment.getStudentId());
+    assertEquals(pseudonym, assessment.getTeacherId());
+    assertEquals("{\"id\":\"as1\",\"studentId\":\"student2\",\"teacherId\":\""
+        + pseudonym + "\",\"notes\":\"Ottimo lavoro\"}", assessment.getPayload());
+    assertFalse(assessment.getPayload().contains("student1"));
+    assertEquals(AnonymisationPhase.ARCHIVED_RECORDS, result.getPhase());
+    assertEquals("ar3", result.getLastKey());
+    assertEquals(3L, result.getAnonymisedCount());
+  }
+
+  @Test
+  void testProcessChunk_LastPhaseCompletesJob() {
+    job.setPhase(AnonymisationPhase.ARCHIVED_PARTITIONS);
+    when(tablePartitionManager.anonymiseArchivedUser("student1", job.getPseudonym(),
+        UserAnonymisationChunkProcessor.REDACTED_TEXT)).thenReturn(5);
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.processChunk("job1", 100);
+
+    assertEquals(5L, result.getAnonymisedCount());
+    assertEquals(AnonymisationPhase.DONE, result.getPhase());
+    assertEquals(BackgroundJobStatus.COMPLETED, result.getStatus());
+    assertNotNull(result.getCompletedAt());
+    verify(studentDashboardInvalidator).evict("student1");
+  }
+
+  @Test
+  void testProcessChunk_CompletedJobIsIgnored() {
+    job.setStatus(BackgroundJobStatus.COMPLETED);
+
+    assertNull(processor.processChunk("job1", 100));
+
+    verify(anonymisationJobRepository, never()).save(any());
+  }
+
+  @Test
+  void testRecordFailure_MarksFailedAfterMaxAttempts() {
+    job.setAttempts(2);
+    when(anonymisationJobRepository.save(job)).thenReturn(job);
+
+    AnonymisationJob result = processor.recordFailure("job1", "boom", 3);
+
+    assertEquals(3, result.getAttempts());
+    assertEquals("boom", result.getLastError());
+    assertEquals(BackgroundJobStatus.FAILED, result.getStatus());
+  }
+}
@@ -0,0 +1,210 @@
+package it.unimol.microserviceassessmentfeedback.service.anonymisation;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.common.exception.LeaseLostException;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.UserMessageService;
+import it.unimol.microserviceassessmentfeedback.model.AnonymisationJob;
+import it.unimol.microserviceassessmentfeedback.repository.AnonymisationJobRepository;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class UserAnonymisationServiceTest {
+
+  @Mock
+  private AnonymisationJobRepository anonymisationJobRepository;
+
+  @Mock
+  private UserAnonymisationChunkProcessor userAnonymisationChunkProcessor;
+
+  @Mock
+  private AnonymisationThrottle anonymisationThrottle;
+
+  @Mock
+  private UserMessageService userMessageService;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private UserAnonymisationService service;
+  private AnonymisationJob job;
+
+  @BeforeEach
+  void setUp() {
+    service = new UserAnonymisationService(anonymisationJobRepository,
+        userAnonymisationChunkProcessor, anonymisationThrottle, userMessageService,
+        jobLeaseManager, 3);
+    job = new AnonymisationJob("student1", "STUDENT", "Graduation");
+    job.setId("job1");
+  }
+
+  @Test
+  void testEnqueue_CreatesJob() {
+    when(anonymisationJobRepository.existsByUserId("student1")).thenReturn(false);
+    when(anonymisationJobRepository.save(any(AnonymisationJob.class))).thenReturn(job);
+
+    assertTrue(service.enqueue("student1", "STUDENT", "Graduation"));
+  }
+
+  @Test
+  void testEnqueue_DuplicateEventIsIgnored() {
+    when(anonymisationJobRepository.existsByUserId("student1")).thenReturn(true);
+
+    assertFalse(service.enqueue("student1", "STUDENT", "Graduation"));
+
+    verify(anonymisationJobRepository, never()).save(any());
+  }
+
+  @Test
+  void testEnqueue_ConcurrentInsertIsIgnored() {
+    when(anonymisationJobRepository.existsByUserId("student1")).thenReturn(false);
+    when(anonymisationJobRepository.save(any(AnonymisationJob.class)))
+        .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+    assertFalse(service.enqueue("student1", "STUDENT", "Graduation"));
+  }
+
+  @Test
+  void testEnqueue_MissingUserIdIsIgnored() {
+    assertFalse(service.enqueue(" ", "STUDENT", "Graduation"));
+
+    verify(anonymisationJobRepository, never()).save(any());
+  }
+
+  @Test
+  void testRunNextChunk_RunsOnlyAsLeader() {
+    service.runNextChunk();
+
+    verify(jobLeaseManager).runExclusive(eq(UserAnonymisationService.JOB_NAME), any());
+    verify(anonymisationJobRepository, never()).findFirstByStatusInOrderByCreatedAtAsc(anyList());
+  }
+
+  @Test
+  void testRunNextChunk_ProcessesWithThrottledChunkSize() {
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return true;
+    }).when(jobLeaseManager).runExclusive(eq(UserAnonymisationService.JOB_NAME), any());
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.getChunkSize()).thenReturn(75);
+    AnonymisationJob processed = new AnonymisationJob("student1", "STUDENT", "Graduation");
+    processed.setAnonymisedCount(75L);
+    when(userAnonymisationChunkProcessor.processChunk("job1", 75)).thenReturn(processed);
+
+    service.runNextChunk();
+
+    verify(anonymisationThrottle).onChunk(anyLong(), eq(75));
+    verify(userMessageService, never()).publishUserAnonymised(any());
+  }
+
+  @Test
+  void testProcessNextChunk_SkipsWhenDatabaseBusy() {
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.isDatabaseBusy()).thenReturn(true);
+
+    service.processNextChunk();
+
+    verify(anonymisationThrottle).onBusy();
+    verify(userAnonymisationChunkProcessor, never()).processChunk(anyString(), anyInt());
+  }
+
+  @Test
+  void testProcessNextChunk_PublishesOnCompletion() {
+    job.setStatus(BackgroundJobStatus.COMPLETED);
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.getChunkSize()).thenReturn(50);
+    when(userAnonymisationChunkProcessor.processChunk("job1", 50)).thenReturn(job);
+
+    service.processNextChunk();
+
+    verify(userMessageService).publishUserAnonymised(job);
+  }
+
+  @Test
+  void testProcessNextChunk_PublishFailureDoesNotFailJob() {
+    job.setStatus(BackgroundJobStatus.COMPLETED);
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.getChunkSize()).thenReturn(50);
+    when(userAnonymisationChunkProcessor.processChunk("job1", 50)).thenReturn(job);
+    doThrow(new AmqpException("broker down")).when(userMessageService).publishUserAnonymised(job);
+
+    service.processNextChunk();
+
+    verify(userAnonymisationChunkProcessor, never()).recordFailure(anyString(), any(), anyInt());
+  }
+
+  @Test
+  void testProcessNextChunk_NoOpenJobs() {
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.empty());
+
+    service.processNextChunk();
+
+    verify(userAnonymisationChunkProcessor, never()).processChunk(anyString(), anyInt());
+  }
+
+  @Test
+  void testProcessNextChunk_FailureIsRecorded() {
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.getChunkSize()).thenReturn(50);
+    when(userAnonymisationChunkProcessor.processChunk("job1", 50))
+        .thenThrow(new IllegalStateException("db down"));
+
+    service.processNextChunk();
+
+    verify(userAnonymisationChunkProcessor).recordFailure("job1", "db down", 3);
+  }
+
+  @Test
+  void testProcessNextChunk_ConcurrentChunkIsNotAFailure() {
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.getChunkSize()).thenReturn(50);
+    when(userAnonymisationChunkProcessor.processChunk("job1", 50))
+        .thenThrow(new ObjectOptimisticLockingFailureException(AnonymisationJob.class, "job1"));
+
+    service.processNextChunk();
+
+    verify(userAnonymisationChunkProcessor, never()).recordFailure(anyString(), any(), anyInt());
+  }
+
+  @Test
+  void testProcessNextChunk_LostLeaseIsNotAFailure() {
+    when(anonymisationJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(anonymisationThrottle.getChunkSize()).thenReturn(50);
+    when(userAnonymisationChunkProcessor.processChunk("job1", 50))
+        .thenThrow(new LeaseLostException("lease scaduto"));
+
+    service.processNextChunk();
+
+    verify(userAnonymisationChunkProcessor, never()).recordFailure(anyString(), any(), anyInt());
+  }
+}
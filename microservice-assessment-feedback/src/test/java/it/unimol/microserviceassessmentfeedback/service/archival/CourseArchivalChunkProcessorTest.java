@@ -0,0 +1,273 @@
+package it.unimol.microserviceassessmentfeedback.service.archival;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.common.exception.LeaseLostException;
+import it.unimol.microserviceassessmentfeedback.common.util.TimeOrderedIds;
+import it.unimol.microserviceassessmentfeedback.enums.ArchivalPhase;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.ArchivedRecord;
+import it.unimol.microserviceassessmentfeedback.model.Assessment;
+import it.unimol.microserviceassessmentfeedback.model.CourseArchivalJob;
+import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.ArchivedRecordRepository;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.CourseArchivalJobRepository;
+import it.unimol.microserviceassessmentfeedback.repository.DetailedFeedbackRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardInvalidator;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshotStore;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class CourseArchivalChunkProcessorTest {
+
+  @Mock
+  private CourseArchivalJobRepository courseArchivalJobRepository;
+
+  @Mock
+  private ArchivedRecordRepository archivedRecordRepository;
+
+  @Mock
+  private AssessmentRepository assessmentRepository;
+
+  @Mock
+  private DetailedFeedbackRepository detailedFeedbackRepository;
+
+  @Mock
+  private TeacherSurveyRepository teacherSurveyRepository;
+
+  @Mock
+  private SurveyResponseRepository surveyResponseRepository;
+
+  @Mock
+  private SurveySubmissionRepository surveySubmissionRepository;
+
+  @Mock
+  private StudentDashboardInvalidator studentDashboardInvalidator;
+
+  @Mock
+  private SurveySnapshotStore surveySnapshotStore;
+
+  @Mock
+  private RespondentTracker respondentTracker;
+
+  @Mock
+  private AvailableSurveyIndex availableSurveyIndex;
+
+  @Mock
+  private LocalEntityCache localEntityCache;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private CourseArchivalChunkProcessor processor;
+  private CourseArchivalJob job;
+
+  @BeforeEach
+  void setUp() {
+    processor = new CourseArchivalChunkProcessor(courseArchivalJobRepository,
+        archivedRecordRepository, assessmentRepository, detailedFeedbackRepository,
+        teacherSurveyRepository, surveyResponseRepository, surveySubmissionRepository,
+        studentDashboardInvalidator, surveySnapshotStore, respondentTracker, availableSurveyIndex,
+        localEntityCache, new ObjectMapper(), jobLeaseManager);
+    job = new CourseArchivalJob("course1", "Corso", "teacher1", "Chiuso");
+    job.setId("job1");
+    when(courseArchivalJobRepository.findById("job1")).thenReturn(Optional.of(job));
+  }
+
+  @Test
+  void testProcessChunk_ClosesActiveSurveysAndRecordsCheckpoint() {
+    when(teacherSurveyRepository.findCourseSurveyIds(eq("course1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class)))
+        .thenReturn(List.of("s1", "s2"));
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    CourseArchivalJob result = processor.processChunk("job1", 100);
+
+    verify(teacherSurveyRepository).closeAll(eq(List.of("s1", "s2")),
+        eq(List.of(SurveyStatus.ACTIVE)), eq(SurveyStatus.CLOSED), any());
+    assertEquals(ArchivalPhase.CLOSE_SURVEYS, result.getPhase());
+    assertEquals("s2", result.getLastKey());
+    assertEquals(BackgroundJobStatus.RUNNING, result.getStatus());
+    assertEquals(0L, result.getArchivedCount());
+    verify(jobLeaseManager).confirmLease(CourseArchivalService.JOB_NAME);
+  }
+
+  @Test
+  void testProcessChunk_LostLeaseAbortsChunk() {
+    when(teacherSurveyRepository.findCourseSurveyIds(eq("course1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class)))
+        .thenReturn(List.of("s1"));
+    doThrow(new LeaseLostException("lease scaduto"))
+        .when(jobLeaseManager).confirmLease(CourseArchivalService.JOB_NAME);
+
+    assertThrows(LeaseLostException.class, () -> processor.processChunk("job1", 100));
+  }
+
+  @Test
+  void testProcessChunk_EmptyPhaseAdvancesAndResetsCheckpoint() {
+    job.setLastKey("s2");
+    when(teacherSurveyRepository.findCourseSurveyIds(eq("course1"), eq("s2"), any(Pageable.class)))
+        .thenReturn(List.of());
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    CourseArchivalJob result = processor.processChunk("job1", 100);
+
+    assertEquals(ArchivalPhase.SURVEY_RESPONSES, result.getPhase());
+    assertNull(result.getLastKey());
+    verify(teacherSurveyRepository, never()).closeAll(anyList(), anyList(), any(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testProcessChunk_MovesResponsesToArchive() {
+    job.setPhase(ArchivalPhase.SURVEY_RESPONSES);
+    job.setLastKey("r0");
+    TeacherSurvey survey = new TeacherSurvey();
+    survey.setId("s1");
+    SurveyResponse response = new SurveyResponse();
+    response.setId("r1");
+    response.setStudentId("student1");
+    response.setSurvey(survey);
+    response.setQuestionId("q1");
+    response.setNumericRating(4);
+    when(surveyResponseRepository.findCourseChunk(eq("course1"), eq("r0"), any(Pageable.class)))
+        .thenReturn(List.of(response));
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    CourseArchivalJob result = processor.processChunk("job1", 100);
+
+    ArgumentCaptor<List<ArchivedRecord>> records = ArgumentCaptor.forClass(List.class);
+    verify(archivedRecordRepository).saveAll(records.capture());
+    ArchivedRecord record = records.getValue().get(0);
+    assertEquals(CourseArchivalChunkProcessor.TYPE_SURVEY_RESPONSE, record.getEntityType());
+    assertEquals("r1", record.getEntityId());
+    assertEquals("course1", record.getCourseId());
+    assertEquals("job1", record.getJobId());
+    assertEquals("student1", record.getStudentId());
+    assertNull(record.getTeacherId());
+    assertTrue(record.getPayload().contains("\"surveyId\":\"s1\""));
+    verify(surveyResponseRepository).deleteAllByIdInBatch(List.of("r1"));
+    verify(studentDashboardInvalidator).markStale(List.of("student1"));
+    assertEquals("r1", result.getLastKey());
+    assertEquals(1L, result.getArchivedCount());
+    assertEquals(1, result.getChunks());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testProcessChunk_MovesSubmissionsToArchive() {
+    job.setPhase(ArchivalPhase.SURVEY_SUBMISSIONS);
+    TeacherSurvey survey = new TeacherSurvey();
+    survey.setId("s1");
+    SurveySubmission submission = new SurveySubmission(survey, "student1", null);
+    submission.setId("sub1");
+    submission.answer(1, 4, "Ottimo");
+    when(surveySubmissionRepository.findCourseChunk(eq("course1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class)))
+        .thenReturn(List.of(submission));
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    CourseArchivalJob result = processor.processChunk("job1", 100);
+
+    ArgumentCaptor<List<ArchivedRecord>> records = ArgumentCaptor.forClass(List.class);
+    verify(archivedRecordRepository).saveAll(records.capture());
+    ArchivedRecord record = records.getValue().get(0);
+    assertEquals(CourseArchivalChunkProcessor.TYPE_SURVEY_SUBMISSION, record.getEntityType());
+    assertTrue(record.getPayload().contains("\"ratings\":[0,4]"));
+    assertTrue(record.getPayload().contains("\"comments\":{\"1\":\"Ottimo\"}"));
+    verify(surveySubmissionRepository).deleteAllByIdInBatch(List.of("sub1"));
+    verify(studentDashboardInvalidator).markStale(List.of("student1"));
+    assertEquals("sub1", result.getLastKey());
+  }
+
+  @Test
+  void testProcessChunk_MovesSurveysAndDropsSnapshots() {
+    job.setPhase(ArchivalPhase.TEACHER_SURVEYS);
+    TeacherSurvey survey = TeacherSurvey.builder()
+        .id("s1")
+        .courseId("course1")
+        .status(SurveyStatus.CLOSED)
+        .build();
+    when(teacherSurveyRepository.findCourseChunk(eq("course1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class)))
+        .thenReturn(List.of(survey));
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    processor.processChunk("job1", 100);
+
+    verify(teacherSurveyRepository).deleteAllByIdInBatch(List.of("s1"));
+    verify(surveySnapshotStore).invalidate(List.of("s1"));
+    verify(respondentTracker).forget(List.of("s1"));
+    verify(availableSurveyIndex).surveysChanged(List.of("s1"));
+    verify(localEntityCache).evict(CacheRegion.SURVEYS, List.of("s1"));
+    verify(localEntityCache).evict(CacheRegion.COURSE_SURVEYS, List.of("course1"));
+  }
+
+  @Test
+  void testProcessChunk_LastPhaseCompletesJob() {
+    job.setPhase(ArchivalPhase.ASSESSMENTS);
+    when(assessmentRepository.findCourseChunk(eq("course1"), eq(TimeOrderedIds.MIN),
+        any(Pageable.class)))
+        .thenReturn(List.<Assessment>of());
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    CourseArchivalJob result = processor.processChunk("job1", 100);
+
+    assertEquals(ArchivalPhase.DONE, result.getPhase());
+    assertEquals(BackgroundJobStatus.COMPLETED, result.getStatus());
+    assertNotNull(result.getCompletedAt());
+  }
+
+  @Test
+  void testProcessChunk_CompletedJobIsIgnored() {
+    job.setStatus(BackgroundJobStatus.COMPLETED);
+
+    assertNull(processor.processChunk("job1", 100));
+
+    verify(courseArchivalJobRepository, never()).save(any());
+  }
+
+  @Test
+  void testRecordFailure_MarksFailedAfterMaxAttempts() {
+    job.setAttempts(2);
+    when(courseArchivalJobRepository.save(job)).thenReturn(job);
+
+    CourseArchivalJob result = processor.recordFailure("job1", "boom", 3);
+
+    assertEquals(3, result.getAttempts());
+    assertEquals("boom", result.getLastError());
+    assertEquals(BackgroundJobStatus.FAILED, result.getStatus());
+  }
+}
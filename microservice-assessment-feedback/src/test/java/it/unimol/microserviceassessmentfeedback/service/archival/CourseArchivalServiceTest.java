@@ -0,0 +1,170 @@
+package it.unimol.microserviceassessmentfeedback.service.archival;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.common.exception.LeaseLostException;
+import it.unimol.microserviceassessmentfeedback.enums.BackgroundJobStatus;
+import it.unimol.microserviceassessmentfeedback.model.CourseArchivalJob;
+import it.unimol.microserviceassessmentfeedback.repository.CourseArchivalJobRepository;
+import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class CourseArchivalServiceTest {
+
+  @Mock
+  private CourseArchivalJobRepository courseArchivalJobRepository;
+
+  @Mock
+  private CourseArchivalChunkProcessor courseArchivalChunkProcessor;
+
+  @Mock
+  private NotificationService notificationService;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private CourseArchivalService service;
+  private CourseArchivalJob job;
+
+  @BeforeEach
+  void setUp() {
+    service = new CourseArchivalService(courseArchivalJobRepository, courseArchivalChunkProcessor,
+        notificationService, jobLeaseManager, 100, 3);
+    job = new CourseArchivalJob("course1", "Corso", "teacher1", "Chiuso");
+    job.setId("job1");
+  }
+
+  @Test
+  void testEnqueue_CreatesJob() {
+    when(courseArchivalJobRepository.existsByCourseId("course1")).thenReturn(false);
+    when(courseArchivalJobRepository.save(any(CourseArchivalJob.class))).thenReturn(job);
+
+    assertTrue(service.enqueue("course1", "Corso", "teacher1", "Chiuso"));
+  }
+
+  @Test
+  void testEnqueue_DuplicateEventIsIgnored() {
+    when(courseArchivalJobRepository.existsByCourseId("course1")).thenReturn(true);
+
+    assertFalse(service.enqueue("course1", "Corso", "teacher1", "Chiuso"));
+
+    verify(courseArchivalJobRepository, never()).save(any());
+  }
+
+  @Test
+  void testEnqueue_ConcurrentInsertIsIgnored() {
+    when(courseArchivalJobRepository.existsByCourseId("course1")).thenReturn(false);
+    when(courseArchivalJobRepository.save(any(CourseArchivalJob.class)))
+        .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+    assertFalse(service.enqueue("course1", "Corso", "teacher1", "Chiuso"));
+  }
+
+  @Test
+  void testEnqueue_MissingCourseIdIsIgnored() {
+    assertFalse(service.enqueue(null, "Corso", "teacher1", "Chiuso"));
+
+    verify(courseArchivalJobRepository, never()).save(any());
+  }
+
+  @Test
+  void testRunNextChunk_RunsOnlyAsLeader() {
+    service.runNextChunk();
+
+    verify(jobLeaseManager).runExclusive(eq(CourseArchivalService.JOB_NAME), any());
+    verify(courseArchivalJobRepository, never()).findFirstByStatusInOrderByCreatedAtAsc(anyList());
+  }
+
+  @Test
+  void testRunNextChunk_ProcessesOldestOpenJob() {
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return true;
+    }).when(jobLeaseManager).runExclusive(eq(CourseArchivalService.JOB_NAME), any());
+    when(courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(courseArchivalChunkProcessor.processChunk("job1", 100)).thenReturn(job);
+
+    service.runNextChunk();
+
+    verify(courseArchivalChunkProcessor).processChunk("job1", 100);
+    verify(notificationService, never()).notifyCourseDeletion(any(), any(), any());
+  }
+
+  @Test
+  void testProcessNextChunk_NotifiesOnCompletion() {
+    job.setStatus(BackgroundJobStatus.COMPLETED);
+    when(courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(courseArchivalChunkProcessor.processChunk("job1", 100)).thenReturn(job);
+
+    service.processNextChunk();
+
+    verify(notificationService).notifyCourseDeletion("course1", "teacher1", "Chiuso");
+  }
+
+  @Test
+  void testProcessNextChunk_NoOpenJobs() {
+    when(courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.empty());
+
+    service.processNextChunk();
+
+    verify(courseArchivalChunkProcessor, never()).processChunk(anyString(), anyInt());
+  }
+
+  @Test
+  void testProcessNextChunk_FailureIsRecorded() {
+    when(courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(courseArchivalChunkProcessor.processChunk("job1", 100))
+        .thenThrow(new IllegalStateException("db down"));
+
+    service.processNextChunk();
+
+    verify(courseArchivalChunkProcessor).recordFailure("job1", "db down", 3);
+  }
+
+  @Test
+  void testProcessNextChunk_ConcurrentChunkIsNotAFailure() {
+    when(courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(courseArchivalChunkProcessor.processChunk("job1", 100))
+        .thenThrow(new ObjectOptimisticLockingFailureException(CourseArchivalJob.class, "job1"));
+
+    service.processNextChunk();
+
+    verify(courseArchivalChunkProcessor, never()).recordFailure(anyString(), any(), anyInt());
+  }
+
+  @Test
+  void testProcessNextChunk_LostLeaseIsNotAFailure() {
+    when(courseArchivalJobRepository.findFirstByStatusInOrderByCreatedAtAsc(anyList()))
+        .thenReturn(Optional.of(job));
+    when(courseArchivalChunkProcessor.processChunk("job1", 100))
+        .thenThrow(new LeaseLostException("lease scaduto"));
+
+    service.processNextChunk();
+
+    verify(courseArchivalChunkProcessor, never()).recordFailure(anyString(), any(), anyInt());
+  }
+}
@@ -0,0 +1,151 @@
+package it.unimol.microserviceassessmentfeedback.service.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class AvailableSurveyIndexTest {
+
+  @Mock
+  private TeacherSurveyRepository surveyRepository;
+
+  @Mock
+  private AssessmentRepository assessmentRepository;
+
+  @Mock
+  private RespondentTracker respondentTracker;
+
+  private AvailableSurveyIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new AvailableSurveyIndex(surveyRepository, assessmentRepository, respondentTracker,
+        60_000, 16);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testAvailableFor_ReturnsActiveSurveysOfEnrolledCoursesNotYetAnswered() {
+    TeacherSurvey general = survey("s4", null, SurveyStatus.ACTIVE);
+    TeacherSurvey enrolled = survey("s2", "course1", SurveyStatus.ACTIVE);
+    TeacherSurvey answered = survey("s1", "course1", SurveyStatus.ACTIVE);
+    TeacherSurvey otherCourse = survey("s3", "course2", SurveyStatus.ACTIVE);
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE))
+        .thenReturn(List.of(general, enrolled, answered, otherCourse));
+    when(assessmentRepository.findCourseIdsByStudentId("student1")).thenReturn(List.of("course1"));
+    when(respondentTracker.hasResponded(any(), eq("student1")))
+        .thenAnswer(invocation -> "s1".equals(invocation.getArgument(0)));
+
+    assertEquals(List.of(enrolled, general), index.availableFor("student1"));
+  }
+
+  @Test
+  void testAvailableFor_LoadsIndexAndEnrollmentsOnce() {
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE))
+        .thenReturn(List.of(survey("s1", "course1", SurveyStatus.ACTIVE)));
+    when(assessmentRepository.findCourseIdsByStudentId("student1")).thenReturn(List.of("course1"));
+
+    index.availableFor("student1");
+    index.availableFor("student1");
+
+    verify(surveyRepository, times(1)).findByStatus(SurveyStatus.ACTIVE);
+    verify(assessmentRepository, times(1)).findCourseIdsByStudentId("student1");
+  }
+
+  @Test
+  void testSurveysChanged_ReloadsSurveysAfterCommit() {
+    TeacherSurvey closing = survey("s1", "course1", SurveyStatus.ACTIVE);
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(List.of(closing));
+    when(assessmentRepository.findCourseIdsByStudentId("student1")).thenReturn(List.of("course1"));
+    assertEquals(List.of(closing), index.availableFor("student1"));
+
+    TransactionSynchronizationManager.initSynchronization();
+    index.surveysChanged(List.of("s1", "s2"));
+    assertEquals(List.of(closing), index.availableFor("student1"));
+    verify(surveyRepository, never()).findAllById(any());
+
+    TeacherSurvey opened = survey("s2", "course1", SurveyStatus.ACTIVE);
+    when(surveyRepository.findAllById(Set.of("s1", "s2")))
+        .thenReturn(List.of(survey("s1", "course1", SurveyStatus.CLOSED), opened));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertEquals(List.of(opened), index.availableFor("student1"));
+    assertEquals(1, index.getActiveCount());
+  }
+
+  @Test
+  void testSurveysChanged_RemovesDeletedSurveys() {
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE))
+        .thenReturn(List.of(survey("s1", "course1", SurveyStatus.ACTIVE)));
+    assertEquals(1, index.getActiveCount());
+
+    index.surveysChanged(List.of("s1"));
+
+    assertEquals(0, index.getActiveCount());
+    verify(surveyRepository).findAllById(Set.of("s1"));
+  }
+
+  @Test
+  void testStudentEnrolled_AddsCourseToCachedEnrollments() {
+    TeacherSurvey survey = survey("s1", "course2", SurveyStatus.ACTIVE);
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(List.of(survey));
+    when(assessmentRepository.findCourseIdsByStudentId("student1")).thenReturn(List.of("course1"));
+    assertTrue(index.availableFor("student1").isEmpty());
+
+    index.studentEnrolled("student1", "course2");
+
+    assertEquals(List.of(survey), index.availableFor("student1"));
+    verify(assessmentRepository, times(1)).findCourseIdsByStudentId("student1");
+  }
+
+  @Test
+  void testRefresh_ReloadsOnlyLoadedIndex() {
+    index.refresh();
+    verify(surveyRepository, never()).findByStatus(any());
+
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(List.of(),
+        List.of(survey("s1", "course1", SurveyStatus.ACTIVE)));
+    assertEquals(0, index.getActiveCount());
+
+    index.refresh();
+
+    assertEquals(1, index.getActiveCount());
+  }
+
+  private static TeacherSurvey survey(String id, String courseId, SurveyStatus status) {
+    TeacherSurvey survey = new TeacherSurvey();
+    survey.setId(id);
+    survey.setCourseId(courseId);
+    survey.setStatus(status);
+    return survey;
+  }
+}
@@ -0,0 +1,120 @@
+package it.unimol.microserviceassessmentfeedback.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.unimol.microserviceassessmentfeedback.messaging.publishers.CacheInvalidationPublisher;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class LocalEntityCacheTest {
+
+  @Mock
+  private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+  private SimpleMeterRegistry meterRegistry;
+  private LocalEntityCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new LocalEntityCache(cacheInvalidationPublisher, meterRegistry, true, 16, 60_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testGet_LoadsOnceAndRecordsHitRatio() {
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals("v1", cache.get(CacheRegion.SURVEYS, "s1", () -> "v" + loads.incrementAndGet()));
+    assertEquals("v1", cache.get(CacheRegion.SURVEYS, "s1", () -> "v" + loads.incrementAndGet()));
+
+    assertEquals(1, loads.get());
+    assertEquals(0.5, meterRegistry.get(LocalEntityCache.HIT_RATIO_METRIC)
+        .tag("cache", "surveys").gauge().value());
+  }
+
+  @Test
+  void testGet_DisabledAlwaysLoads() {
+    LocalEntityCache disabled = new LocalEntityCache(cacheInvalidationPublisher,
+        new SimpleMeterRegistry(), false, 16, 60_000);
+    AtomicInteger loads = new AtomicInteger();
+
+    disabled.get(CacheRegion.SURVEYS, "s1", loads::incrementAndGet);
+    disabled.get(CacheRegion.SURVEYS, "s1", loads::incrementAndGet);
+
+    assertEquals(2, loads.get());
+    assertEquals(0, disabled.size(CacheRegion.SURVEYS));
+  }
+
+  @Test
+  void testEvict_InvalidatesAndPublishesAfterCommit() {
+    cache.get(CacheRegion.SURVEYS, "s1", () -> "v1");
+    cache.get(CacheRegion.SURVEYS, "s2", () -> "v2");
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.evict(CacheRegion.SURVEYS, List.of("s1", "s1"));
+    assertEquals(2, cache.size(CacheRegion.SURVEYS));
+    verify(cacheInvalidationPublisher, never()).publishInvalidation(any(), any(), any());
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertEquals("v2", cache.get(CacheRegion.SURVEYS, "s2", () -> "reloaded"));
+    assertEquals("reloaded", cache.get(CacheRegion.SURVEYS, "s1", () -> "reloaded"));
+    verify(cacheInvalidationPublisher)
+        .publishInvalidation(cache.getInstanceId(), "surveys", List.of("s1"));
+  }
+
+  @Test
+  void testEvictAll_ClearsRegionAndPublishesWithoutKeys() {
+    cache.get(CacheRegion.ACTIVE_SURVEYS, "active", () -> List.of("s1"));
+    cache.get(CacheRegion.ASSESSMENTS, "a1", () -> "a1");
+
+    cache.evictAll(CacheRegion.ACTIVE_SURVEYS);
+
+    assertEquals(0, cache.size(CacheRegion.ACTIVE_SURVEYS));
+    assertEquals(1, cache.size(CacheRegion.ASSESSMENTS));
+    verify(cacheInvalidationPublisher)
+        .publishInvalidation(cache.getInstanceId(), "surveys.active", null);
+  }
+
+  @Test
+  void testApplyRemote_InvalidatesAndRecordsLag() {
+    cache.get(CacheRegion.ASSESSMENTS, "a1", () -> "a1");
+
+    cache.applyRemote("replica2", "assessments", List.of("a1"), System.currentTimeMillis());
+
+    assertEquals("reloaded", cache.get(CacheRegion.ASSESSMENTS, "a1", () -> "reloaded"));
+    assertEquals(1, meterRegistry.get(LocalEntityCache.INVALIDATION_LAG_METRIC).timer().count());
+  }
+
+  @Test
+  void testApplyRemote_IgnoresOwnAndUnknownInvalidations() {
+    cache.get(CacheRegion.ASSESSMENTS, "a1", () -> "a1");
+
+    cache.applyRemote(cache.getInstanceId(), "assessments", null, System.currentTimeMillis());
+    cache.applyRemote("replica2", "unknown", null, System.currentTimeMillis());
+
+    assertEquals("a1", cache.get(CacheRegion.ASSESSMENTS, "a1", () -> "reloaded"));
+    assertEquals(0, meterRegistry.get(LocalEntityCache.INVALIDATION_LAG_METRIC).timer().count());
+  }
+}
@@ -0,0 +1,54 @@
+package it.unimol.microserviceassessmentfeedback.service.dashboard;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.repository.StudentDashboardRepository;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StudentDashboardInvalidatorTest {
+
+  @Mock
+  private StudentDashboardRepository studentDashboardRepository;
+
+  private StudentDashboardInvalidator invalidator;
+
+  @BeforeEach
+  void setUp() {
+    invalidator = new StudentDashboardInvalidator(studentDashboardRepository);
+  }
+
+  @Test
+  void testMarkStale_DeduplicatesAndSkipsNulls() {
+    invalidator.markStale(Arrays.asList("student1", null, "student1", "student2"));
+
+    verify(studentDashboardRepository).markStale(List.of("student1", "student2"));
+  }
+
+  @Test
+  void testMarkStale_EmptyCollectionIsNoOp() {
+    invalidator.markStale(List.of());
+    invalidator.markStaleForAssessments(List.of());
+
+    verify(studentDashboardRepository, never()).markStale(any());
+    verify(studentDashboardRepository, never()).markStaleForAssessments(any());
+  }
+
+  @Test
+  void testEvict_DeletesExistingDashboard() {
+    when(studentDashboardRepository.existsById("student1")).thenReturn(true);
+
+    invalidator.evict("student1");
+
+    verify(studentDashboardRepository).deleteById("student1");
+  }
+}
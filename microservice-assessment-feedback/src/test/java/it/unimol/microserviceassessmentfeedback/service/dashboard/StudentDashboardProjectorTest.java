@@ -0,0 +1,98 @@
+package it.unimol.microserviceassessmentfeedback.service.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.dto.AssessmentDto;
+import it.unimol.microserviceassessmentfeedback.dto.StudentDashboardDto;
+import it.unimol.microserviceassessmentfeedback.model.StudentDashboard;
+import it.unimol.microserviceassessmentfeedback.repository.StudentDashboardRepository;
+import it.unimol.microserviceassessmentfeedback.service.AssessmentService;
+import it.unimol.microserviceassessmentfeedback.service.DetailedFeedbackService;
+import it.unimol.microserviceassessmentfeedback.service.SurveyResponseService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StudentDashboardProjectorTest {
+
+  @Mock
+  private StudentDashboardRepository studentDashboardRepository;
+
+  @Mock
+  private AssessmentService assessmentService;
+
+  @Mock
+  private DetailedFeedbackService detailedFeedbackService;
+
+  @Mock
+  private SurveyResponseService surveyResponseService;
+
+  private StudentDashboardProjector projector;
+
+  @BeforeEach
+  void setUp() {
+    projector = new StudentDashboardProjector(studentDashboardRepository, assessmentService,
+        detailedFeedbackService, surveyResponseService, new ObjectMapper().findAndRegisterModules());
+  }
+
+  @Test
+  void testBuild_ComputesAverageScore() {
+    when(assessmentService.findAssessmentsByStudentId("student1"))
+        .thenReturn(List.of(assessment(24.0), assessment(null), assessment(30.0)));
+    when(detailedFeedbackService.getFeedbackByStudentId("student1")).thenReturn(List.of());
+    when(surveyResponseService.getResponsesByStudentId("student1")).thenReturn(List.of());
+
+    StudentDashboardDto dashboard = projector.build("student1");
+
+    assertEquals("student1", dashboard.getStudentId());
+    assertEquals(3, dashboard.getAssessments().size());
+    assertEquals(27.0, dashboard.getAverageScore());
+    assertNotNull(dashboard.getGeneratedAt());
+  }
+
+  @Test
+  void testBuild_NoScoresLeavesAverageEmpty() {
+    when(assessmentService.findAssessmentsByStudentId("student1")).thenReturn(List.of());
+    when(detailedFeedbackService.getFeedbackByStudentId("student1")).thenReturn(List.of());
+    when(surveyResponseService.getResponsesByStudentId("student1")).thenReturn(List.of());
+
+    assertNull(projector.build("student1").getAverageScore());
+  }
+
+  @Test
+  void testRebuild_SavesFreshDocumentOnExistingRow() {
+    StudentDashboard existing = new StudentDashboard("student1");
+    existing.setStale(true);
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.of(existing));
+    when(assessmentService.findAssessmentsByStudentId("student1")).thenReturn(List.of());
+    when(detailedFeedbackService.getFeedbackByStudentId("student1")).thenReturn(List.of());
+    when(surveyResponseService.getResponsesByStudentId("student1")).thenReturn(List.of());
+    when(studentDashboardRepository.save(any(StudentDashboard.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    StudentDashboard saved = projector.rebuild("student1");
+
+    assertSame(existing, saved);
+    assertFalse(saved.isStale());
+    assertTrue(saved.getDocument().contains("\"studentId\":\"student1\""));
+  }
+
+  private static AssessmentDto assessment(Double score) {
+    AssessmentDto assessment = new AssessmentDto();
+    assessment.setScore(score);
+    return assessment;
+  }
+}
@@ -0,0 +1,196 @@
+package it.unimol.microserviceassessmentfeedback.service.dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimol.microserviceassessmentfeedback.dto.StudentDashboardDto;
+import it.unimol.microserviceassessmentfeedback.dto.SurveyResponseDto;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.StudentDashboard;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.StudentDashboardRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import it.unimol.microserviceassessmentfeedback.service.availability.AvailableSurveyIndex;
+import it.unimol.microserviceassessmentfeedback.service.dashboard.StudentDashboardService.StudentDashboardView;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class StudentDashboardServiceTest {
+
+  @Mock
+  private StudentDashboardRepository studentDashboardRepository;
+
+  @Mock
+  private StudentDashboardProjector studentDashboardProjector;
+
+  @Mock
+  private AvailableSurveyIndex availableSurveyIndex;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private StudentDashboardService service;
+  private StudentDashboard stored;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    service = new StudentDashboardService(studentDashboardRepository, studentDashboardProjector,
+        availableSurveyIndex, jobLeaseManager, objectMapper, 50);
+
+    SurveyResponseDto response = new SurveyResponseDto();
+    response.setSurveyId("survey1");
+    StudentDashboardDto dashboard = new StudentDashboardDto();
+    dashboard.setStudentId("student1");
+    dashboard.setSurveyResponses(List.of(response));
+    stored = new StudentDashboard("student1");
+    stored.setDocument(objectMapper.writeValueAsString(dashboard));
+  }
+
+  @Test
+  void testGetDashboard_FreshDocumentIsServedWithoutRebuild() {
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.of(stored));
+    when(availableSurveyIndex.availableFor("student1"))
+        .thenReturn(List.of(survey("survey1", null), survey("survey2", null)));
+
+    StudentDashboardView view = service.getDashboard("student1", null);
+
+    assertFalse(view.notModified());
+    assertNotNull(view.etag());
+    assertEquals("student1", view.dashboard().getStudentId());
+    assertEquals(2, view.dashboard().getAvailableSurveys().size());
+    assertEquals(1, view.dashboard().getPendingSurveys());
+    verify(studentDashboardProjector, never()).rebuild(any());
+  }
+
+  @Test
+  void testGetDashboard_StaleDocumentIsRebuilt() {
+    StudentDashboard staleRow = new StudentDashboard("student1");
+    staleRow.setStale(true);
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.of(staleRow));
+    when(studentDashboardProjector.rebuild("student1")).thenReturn(stored);
+    when(availableSurveyIndex.availableFor("student1")).thenReturn(List.of());
+
+    StudentDashboardView view = service.getDashboard("student1", null);
+
+    assertEquals("student1", view.dashboard().getStudentId());
+    verify(studentDashboardProjector).rebuild("student1");
+  }
+
+  @Test
+  void testGetDashboard_ConcurrentRebuildFallsBackToUnsavedDocument() {
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.empty());
+    when(studentDashboardProjector.rebuild("student1"))
+        .thenThrow(new ObjectOptimisticLockingFailureException(StudentDashboard.class, "student1"));
+    StudentDashboardDto built = new StudentDashboardDto();
+    built.setStudentId("student1");
+    when(studentDashboardProjector.build("student1")).thenReturn(built);
+    when(availableSurveyIndex.availableFor("student1")).thenReturn(List.of());
+
+    StudentDashboardView view = service.getDashboard("student1", null);
+
+    assertEquals("student1", view.dashboard().getStudentId());
+  }
+
+  @Test
+  void testGetDashboard_MatchingEtagReturnsNotModified() {
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.of(stored));
+    when(availableSurveyIndex.availableFor("student1"))
+        .thenReturn(List.of(survey("survey1", null)));
+    String etag = service.getDashboard("student1", null).etag();
+
+    StudentDashboardView view = service.getDashboard("student1", "W/\"other\", \"" + etag + "\"");
+
+    assertTrue(view.notModified());
+    assertNull(view.dashboard());
+    assertEquals(etag, view.etag());
+  }
+
+  @Test
+  void testGetDashboard_EtagChangesWithAvailableSurveys() {
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.of(stored));
+    when(availableSurveyIndex.availableFor("student1"))
+        .thenReturn(List.of(survey("survey1", null)))
+        .thenReturn(List.of(survey("survey1", null), survey("survey2", null)));
+    String etag = service.getDashboard("student1", null).etag();
+
+    StudentDashboardView view = service.getDashboard("student1", "\"" + etag + "\"");
+
+    assertFalse(view.notModified());
+    assertEquals(1, view.dashboard().getPendingSurveys());
+  }
+
+  @Test
+  void testGetDashboard_AvailableSurveysFollowTheStudentCourses(
+      @Mock TeacherSurveyRepository surveyRepository,
+      @Mock AssessmentRepository assessmentRepository,
+      @Mock RespondentTracker respondentTracker) throws Exception {
+    AvailableSurveyIndex index = new AvailableSurveyIndex(surveyRepository, assessmentRepository,
+        respondentTracker, 60_000, 16);
+    service = new StudentDashboardService(studentDashboardRepository, studentDashboardProjector,
+        index, jobLeaseManager, objectMapper, 50);
+    StudentDashboardDto otherDashboard = new StudentDashboardDto();
+    otherDashboard.setStudentId("student2");
+    StudentDashboard other = new StudentDashboard("student2");
+    other.setDocument(objectMapper.writeValueAsString(otherDashboard));
+    when(studentDashboardRepository.findById("student1")).thenReturn(Optional.of(stored));
+    when(studentDashboardRepository.findById("student2")).thenReturn(Optional.of(other));
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(List.of(
+        survey("surveyA", "courseA"), survey("surveyB", "courseB"), survey("surveyG", null)));
+    when(assessmentRepository.findCourseIdsByStudentId("student1")).thenReturn(List.of("courseA"));
+    when(assessmentRepository.findCourseIdsByStudentId("student2")).thenReturn(List.of("courseB"));
+
+    StudentDashboardView first = service.getDashboard("student1", null);
+    StudentDashboardView second = service.getDashboard("student2", null);
+
+    assertEquals(List.of("surveyA", "surveyG"), ids(first.dashboard()));
+    assertEquals(2, first.dashboard().getPendingSurveys());
+    assertEquals(List.of("surveyB", "surveyG"), ids(second.dashboard()));
+    assertEquals(2, second.dashboard().getPendingSurveys());
+  }
+
+  @Test
+  void testRefreshStaleChunk_RebuildsEachStaleDashboard() {
+    when(studentDashboardRepository.findStaleStudentIds(any(Pageable.class)))
+        .thenReturn(List.of("student1", "student2"));
+    when(studentDashboardProjector.rebuild("student1"))
+        .thenThrow(new ObjectOptimisticLockingFailureException(StudentDashboard.class, "student1"));
+
+    service.refreshStaleChunk();
+
+    verify(studentDashboardProjector).rebuild("student1");
+    verify(studentDashboardProjector).rebuild("student2");
+  }
+
+  private static TeacherSurvey survey(String id, String courseId) {
+    TeacherSurvey survey = new TeacherSurvey();
+    survey.setId(id);
+    survey.setCourseId(courseId);
+    survey.setStatus(SurveyStatus.ACTIVE);
+    return survey;
+  }
+
+  private static List<String> ids(StudentDashboardDto dashboard) {
+    return dashboard.getAvailableSurveys().stream().map(TeacherSurveyDto::getId).toList();
+  }
+}
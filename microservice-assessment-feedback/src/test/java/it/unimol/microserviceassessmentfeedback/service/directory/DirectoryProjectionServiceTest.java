@@ -0,0 +1,181 @@
+package it.unimol.microserviceassessmentfeedback.service.directory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.model.CourseProjection;
+import it.unimol.microserviceassessmentfeedback.model.UserProjection;
+import it.unimol.microserviceassessmentfeedback.repository.CourseProjectionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.UserProjectionRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryProjectionServiceTest {
+
+  @Mock
+  private UserProjectionRepository userProjectionRepository;
+
+  @Mock
+  private CourseProjectionRepository courseProjectionRepository;
+
+  private DirectoryReadModel readModel;
+  private DirectoryProjectionService service;
+
+  @BeforeEach
+  void setUp() {
+    readModel = new DirectoryReadModel();
+    service = new DirectoryProjectionService(userProjectionRepository, courseProjectionRepository,
+        readModel, 2, 0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static UserProjection user(String id, long timestamp) {
+    UserProjection projection = new UserProjection(id, "STUDENT", timestamp);
+    projection.setFirstName("Nome" + id);
+    projection.setLastName("Cognome");
+    return projection;
+  }
+
+  @Test
+  void testApplyStudent_CreatesProjectionAndIndexEntry() {
+    when(userProjectionRepository.findById("s1")).thenReturn(Optional.empty());
+    when(userProjectionRepository.save(any(UserProjection.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    assertTrue(service.applyStudent("s1", "Mario", "Rossi", "Informatica", "Informatica", 2,
+        100L));
+
+    assertTrue(readModel.isActiveStudent("s1"));
+    assertEquals("Mario Rossi", readModel.getDisplayName("s1"));
+  }
+
+  @Test
+  void testApplyStudent_StaleEventIsIgnored() {
+    when(userProjectionRepository.findById("s1")).thenReturn(Optional.of(user("s1", 200L)));
+
+    assertFalse(service.applyStudent("s1", "Mario", "Rossi", null, null, null, 100L));
+
+    verify(userProjectionRepository, never()).save(any());
+  }
+
+  @Test
+  void testApplyStudent_EventWithoutTimestampIsTheOldest() {
+    when(userProjectionRepository.findById("s1")).thenReturn(Optional.of(user("s1", 1L)));
+
+    assertFalse(service.applyStudent("s1", "Mario", "Rossi", null, null, null, null));
+
+    verify(userProjectionRepository, never()).save(any());
+  }
+
+  @Test
+  void testApplyStudent_IndexIsUpdatedOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    when(userProjectionRepository.findById("s1")).thenReturn(Optional.empty());
+    when(userProjectionRepository.save(any(UserProjection.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    assertTrue(service.applyStudent("s1", "Mario", "Rossi", null, null, null, 100L));
+    assertFalse(readModel.isActiveStudent("s1"));
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    assertTrue(readModel.isActiveStudent("s1"));
+  }
+
+  @Test
+  void testApplyUserDeleted_StoresTombstoneWithoutPersonalData() {
+    UserProjection existing = user("s1", 100L);
+    when(userProjectionRepository.findById("s1")).thenReturn(Optional.of(existing));
+    when(userProjectionRepository.save(existing)).thenReturn(existing);
+
+    assertTrue(service.applyUserDeleted("s1", "STUDENT", 200L));
+
+    assertTrue(existing.isDeleted());
+    assertNull(existing.getFirstName());
+    assertFalse(readModel.findUser("s1").isPresent());
+  }
+
+  @Test
+  void testApplyCourse_IndexesTeacherCourses() {
+    when(courseProjectionRepository.findById("c1")).thenReturn(Optional.empty());
+    when(courseProjectionRepository.save(any(CourseProjection.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    assertTrue(service.applyCourse("c1", "Basi di dati", "BD", "t1", "Informatica", "2024/2025",
+        "1", null));
+
+    assertTrue(readModel.getCourseIdsByTeacher("t1").contains("c1"));
+  }
+
+  @Test
+  void testApplyCourse_MissingIdIsIgnored() {
+    assertFalse(service.applyCourse(null, "Corso", null, null, null, null, null, 1L));
+
+    verify(courseProjectionRepository, never()).save(any());
+  }
+
+  @Test
+  void testBootstrap_LoadsAllPagesAndMarksReady() {
+    when(userProjectionRepository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class)))
+        .thenReturn(List.of(user("a", 1L), user("b", 1L)));
+    when(userProjectionRepository.findByIdGreaterThanOrderByIdAsc(eq("b"), any(Pageable.class)))
+        .thenReturn(List.of(user("c", 1L)));
+    when(courseProjectionRepository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class)))
+        .thenReturn(List.of());
+
+    assertFalse(readModel.isReady());
+    service.bootstrap();
+
+    assertTrue(readModel.isReady());
+    assertEquals(3, readModel.getUserCount());
+  }
+
+  @Test
+  void testRefresh_SkippedBeforeBootstrap() {
+    service.refresh();
+
+    verify(userProjectionRepository, never())
+        .findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(any());
+  }
+
+  @Test
+  void testRefresh_AppliesRowsWrittenByOtherReplicas() {
+    when(userProjectionRepository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class)))
+        .thenReturn(List.of());
+    when(courseProjectionRepository.findByIdGreaterThanOrderByIdAsc(eq(""), any(Pageable.class)))
+        .thenReturn(List.of());
+    service.bootstrap();
+    when(userProjectionRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(
+        any(LocalDateTime.class))).thenReturn(List.of(user("s9", 5L)));
+    when(courseProjectionRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(
+        any(LocalDateTime.class))).thenReturn(List.of());
+
+    service.refresh();
+
+    assertTrue(readModel.isActiveStudent("s9"));
+  }
+}
@@ -0,0 +1,65 @@
+package it.unimol.microserviceassessmentfeedback.service.directory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryReadModel.CourseEntry;
+import it.unimol.microserviceassessmentfeedback.service.directory.DirectoryReadModel.UserEntry;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DirectoryReadModelTest {
+
+  private DirectoryReadModel readModel;
+
+  @BeforeEach
+  void setUp() {
+    readModel = new DirectoryReadModel();
+  }
+
+  private static CourseEntry course(String id, String teacherId, boolean deleted) {
+    return new CourseEntry(id, "Corso " + id, "C-" + id, teacherId, "Informatica", "2024/2025",
+        "1", deleted);
+  }
+
+  @Test
+  void testUserLookups() {
+    readModel.putUser(new UserEntry("s1", "STUDENT", "Mario", "Rossi", "Informatica",
+        "Informatica", 2, false));
+    readModel.putUser(new UserEntry("t1", "TEACHER", "Anna", "Bianchi", "Informatica", null,
+        null, false));
+
+    assertTrue(readModel.isActiveStudent("s1"));
+    assertFalse(readModel.isActiveStudent("t1"));
+    assertTrue(readModel.isActiveTeacher("t1"));
+    assertEquals("Mario Rossi", readModel.getDisplayName("s1"));
+    assertEquals("unknown", readModel.getDisplayName("unknown"));
+  }
+
+  @Test
+  void testDeletedUserIsNotReturned() {
+    readModel.putUser(new UserEntry("s1", "STUDENT", null, null, null, null, null, true));
+
+    assertFalse(readModel.findUser("s1").isPresent());
+    assertEquals("s1", readModel.getDisplayName("s1"));
+    assertEquals(1, readModel.getUserCount());
+  }
+
+  @Test
+  void testCoursesByTeacherFollowReassignmentAndDeletion() {
+    readModel.putCourse(course("c1", "t1", false));
+    readModel.putCourse(course("c2", "t1", false));
+    assertEquals(Set.of("c1", "c2"), readModel.getCourseIdsByTeacher("t1"));
+
+    readModel.putCourse(course("c2", "t2", false));
+    assertEquals(Set.of("c1"), readModel.getCourseIdsByTeacher("t1"));
+    assertEquals(Set.of("c2"), readModel.getCourseIdsByTeacher("t2"));
+
+    readModel.putCourse(course("c1", "t1", true));
+    assertEquals(Set.of(), readModel.getCourseIdsByTeacher("t1"));
+    assertFalse(readModel.isActiveCourse("c1"));
+    assertTrue(readModel.isActiveCourse("c2"));
+  }
+}
@@ -3,14 +3,21 @@ package it.unimol.microserviceassessmentfeedback.service.events;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import it.unimol.microserviceassessmentfeedback.enums.NotificationType;
+import it.unimol.microserviceassessmentfeedback.service.notification.NotificationDispatcher;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class NotificationServiceTest {
 
@@ -35,6 +42,21 @@ class NotificationServiceTest {
     logger.detachAppender(listAppender);
   }
 
+  @Test
+  void testNotifyTeacherOfSubmission_EnqueuesToDispatcher() {
+    NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+    ReflectionTestUtils.setField(notificationService, "notificationDispatcher", dispatcher);
+
+    notificationService.notifyTeacherOfSubmission("teacher123", "assignment456", "student789");
+    notificationService.notifyStudentsOfAssignmentUpdate("assignment456", "course1",
+        "DUE_DATE_CHANGED", "Progetto");
+
+    verify(dispatcher).enqueue(eq("teacher123"), eq(NotificationType.TEACHER_SUBMISSION),
+        contains("assignment456"));
+    verify(dispatcher).enqueue(eq("course:course1"), eq(NotificationType.ASSIGNMENT_UPDATE),
+        contains("Scadenza modificata"));
+  }
+
   // ===================================================================
   // TEST NOTIFICHE DOCENTI
   // ===================================================================
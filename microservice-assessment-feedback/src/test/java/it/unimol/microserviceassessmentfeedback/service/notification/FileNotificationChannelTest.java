@@ -0,0 +1,43 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import it.unimol.microserviceassessmentfeedback.enums.NotificationType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileNotificationChannelTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testSend_AppendsToRecipientMailbox() throws Exception {
+    FileNotificationChannel channel = new FileNotificationChannel(tempDir.toString(), 0);
+    Notification first = new Notification("teacher1", NotificationType.TEACHER_SUBMISSION, 2,
+        List.of("consegna 1", "consegna 2"), 0L);
+    Notification second = new Notification("teacher1", NotificationType.ASSESSMENT_REMINDER, 1,
+        List.of("promemoria"), 0L);
+
+    channel.send(first);
+    channel.send(second);
+
+    String mailbox = Files.readString(tempDir.resolve("teacher1.mbox"));
+    assertTrue(mailbox.contains("Subject: Nuove consegne (2)"));
+    assertTrue(mailbox.contains("consegna 2"));
+    assertTrue(mailbox.contains("Subject: Valutazioni in sospeso"));
+    assertEquals(2, mailbox.split("From assessment-feedback").length - 1);
+  }
+
+  @Test
+  void testMailbox_SanitizesRecipientId() {
+    FileNotificationChannel channel = new FileNotificationChannel(tempDir.toString(), 0);
+
+    assertEquals(tempDir.resolve("course_c1.mbox"), channel.mailbox("course:c1"));
+    assertEquals(tempDir.resolve(".._x.mbox"), channel.mailbox("../x"));
+  }
+}
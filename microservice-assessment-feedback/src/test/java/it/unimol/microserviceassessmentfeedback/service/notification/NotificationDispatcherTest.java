@@ -0,0 +1,250 @@
+package it.unimol.microserviceassessmentfeedback.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.unimol.microserviceassessmentfeedback.enums.NotificationType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class NotificationDispatcherTest {
+
+  private static final long WINDOW = 60_000L;
+
+  private SimpleMeterRegistry meterRegistry;
+  private RecordingChannel channel;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    channel = new RecordingChannel(0);
+  }
+
+  private NotificationDispatcher newDispatcher(int maxLines, int capacity,
+      NotificationChannel... channels) {
+    return newDispatcher(maxLines, capacity, 100, channels);
+  }
+
+  private NotificationDispatcher newDispatcher(int maxLines, int capacity, int outboxCapacity,
+      NotificationChannel... channels) {
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    for (NotificationChannel c : channels) {
+      beanFactory.addBean(c.getName(), c);
+    }
+    return new NotificationDispatcher(beanFactory.getBeanProvider(NotificationChannel.class),
+        meterRegistry, WINDOW, maxLines, capacity, outboxCapacity, 3);
+  }
+
+  private double delivered(String channelName, String outcome) {
+    return meterRegistry.get(NotificationDispatcher.DELIVERED_METRIC)
+        .tag("channel", channelName).tag("outcome", outcome).counter().count();
+  }
+
+  @Test
+  void testEnqueue_CollapsesBurstIntoSingleDigest() {
+    NotificationDispatcher dispatcher = newDispatcher(2, 100, channel);
+
+    for (int i = 0; i < 300; i++) {
+      dispatcher.enqueue("teacher1", NotificationType.TEACHER_SUBMISSION, "consegna " + i, 1_000L);
+    }
+    dispatcher.flush(30_000L, false);
+    assertTrue(channel.sent.isEmpty());
+
+    dispatcher.flush(1_000L + WINDOW, false);
+
+    assertEquals(1, channel.sent.size());
+    Notification notification = channel.sent.get(0);
+    assertEquals(300, notification.eventCount());
+    assertEquals(List.of("consegna 0", "consegna 1"), notification.lines());
+    assertEquals("Nuove consegne (300)", notification.subject());
+    assertTrue(notification.body().endsWith("... e altri 298 eventi"));
+    assertEquals(299.0, meterRegistry.get(NotificationDispatcher.COLLAPSED_METRIC).counter()
+        .count());
+    assertEquals(0, dispatcher.getPendingDigests());
+  }
+
+  @Test
+  void testEnqueue_SeparatesRecipientsAndTypes() {
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, channel);
+
+    dispatcher.enqueue("teacher1", NotificationType.TEACHER_SUBMISSION, "a", 0L);
+    dispatcher.enqueue("teacher2", NotificationType.TEACHER_SUBMISSION, "b", 0L);
+    dispatcher.enqueue("teacher1", NotificationType.TEACHER_EXAM_COMPLETION, "c", 0L);
+    dispatcher.enqueue(null, NotificationType.WELCOME, "ignored", 0L);
+
+    assertEquals(3, dispatcher.getPendingDigests());
+    dispatcher.flush(WINDOW, false);
+    assertEquals(3, channel.sent.size());
+  }
+
+  @Test
+  void testEnqueue_DropsWhenCapacityIsExhausted() {
+    NotificationDispatcher dispatcher = newDispatcher(10, 1, channel);
+
+    dispatcher.enqueue("teacher1", NotificationType.TEACHER_SUBMISSION, "a", 0L);
+    dispatcher.enqueue("teacher1", NotificationType.TEACHER_SUBMISSION, "b", 0L);
+    dispatcher.enqueue("teacher2", NotificationType.TEACHER_SUBMISSION, "c", 0L);
+
+    assertEquals(1, dispatcher.getPendingDigests());
+    assertEquals(1.0, meterRegistry.get(NotificationDispatcher.DROPPED_METRIC).counter().count());
+  }
+
+  @Test
+  void testFlush_RespectsChannelRateLimit() {
+    RecordingChannel limited = new RecordingChannel(2);
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, limited);
+    for (int i = 0; i < 5; i++) {
+      dispatcher.enqueue("student" + i, NotificationType.STUDENT_GRADE, "voto", 0L);
+    }
+
+    dispatcher.flush(WINDOW, false);
+    assertEquals(2, limited.sent.size());
+    assertEquals(3, dispatcher.getOutboxSize("recording"));
+
+    dispatcher.flush(WINDOW + 500L, false);
+    assertEquals(3, limited.sent.size());
+
+    dispatcher.flush(WINDOW + 1_500L, false);
+    assertEquals(5, limited.sent.size());
+    assertEquals(0, dispatcher.getOutboxSize("recording"));
+  }
+
+  @Test
+  void testFlush_FailureIsCountedPerChannelAndRetried() {
+    RecordingChannel failing = new RecordingChannel(0);
+    failing.fail = true;
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, failing);
+
+    dispatcher.enqueue("teacher1", NotificationType.COURSE_DELETION, "corso", 0L);
+    dispatcher.flush(WINDOW, false);
+
+    assertEquals(1.0, delivered("recording", "failure"));
+    assertEquals(1, dispatcher.getOutboxSize("recording"));
+
+    failing.fail = false;
+    dispatcher.flush(WINDOW + 1_000L, false);
+
+    assertEquals(1, failing.sent.size());
+    assertEquals(0, dispatcher.getOutboxSize("recording"));
+  }
+
+  @Test
+  void testFlush_DropsAfterMaxAttempts() {
+    RecordingChannel failing = new RecordingChannel(0);
+    failing.fail = true;
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, failing);
+
+    dispatcher.enqueue("teacher1", NotificationType.COURSE_DELETION, "corso", 0L);
+    for (int i = 0; i < 4; i++) {
+      dispatcher.flush(WINDOW + i * 1_000L, false);
+    }
+
+    assertEquals(3.0, delivered("recording", "failure"));
+    assertEquals(0, dispatcher.getOutboxSize("recording"));
+    assertEquals(1.0, meterRegistry.get(NotificationDispatcher.DROPPED_METRIC).counter().count());
+  }
+
+  @Test
+  void testFlush_OutboxIsBounded() {
+    RecordingChannel limited = new RecordingChannel(1);
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, 2, limited);
+    for (int i = 0; i < 5; i++) {
+      dispatcher.enqueue("student" + i, NotificationType.STUDENT_GRADE, "voto", 0L);
+    }
+
+    dispatcher.flush(WINDOW, false);
+
+    assertEquals(1, limited.sent.size());
+    assertEquals(1, dispatcher.getOutboxSize("recording"));
+    assertEquals(3.0, meterRegistry.get(NotificationDispatcher.DROPPED_METRIC).counter().count());
+  }
+
+  @Test
+  void testEnqueue_ConcurrentCapacityIsNeverExceeded() throws Exception {
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, channel);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 50; i++) {
+            dispatcher.enqueue("teacher" + thread + "-" + i, NotificationType.TEACHER_SUBMISSION,
+                "a", 0L);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(100, dispatcher.getPendingDigests());
+    assertEquals(300.0, meterRegistry.get(NotificationDispatcher.DROPPED_METRIC).counter()
+        .count());
+  }
+
+  @Test
+  void testEnqueue_CapacityIsReleasedOnFlush() {
+    NotificationDispatcher dispatcher = newDispatcher(10, 1, channel);
+
+    dispatcher.enqueue("teacher1", NotificationType.TEACHER_SUBMISSION, "a", 0L);
+    dispatcher.flush(WINDOW, false);
+    dispatcher.enqueue("teacher2", NotificationType.TEACHER_SUBMISSION, "b", WINDOW);
+
+    assertEquals(1, dispatcher.getPendingDigests());
+    assertEquals(0.0, meterRegistry.get(NotificationDispatcher.DROPPED_METRIC).counter().count());
+  }
+
+  @Test
+  void testFlushAll_IgnoresWindowAndRateLimit() {
+    RecordingChannel limited = new RecordingChannel(1);
+    NotificationDispatcher dispatcher = newDispatcher(10, 100, limited);
+    dispatcher.enqueue("student1", NotificationType.WELCOME, "benvenuto", System.currentTimeMillis());
+    dispatcher.enqueue("student2", NotificationType.WELCOME, "benvenuto", System.currentTimeMillis());
+    dispatcher.enqueue("student3", NotificationType.WELCOME, "benvenuto", System.currentTimeMillis());
+
+    dispatcher.flushAll();
+
+    assertEquals(3, limited.sent.size());
+    assertEquals(3.0, delivered("recording", "success"));
+  }
+
+  private static class RecordingChannel implements NotificationChannel {
+
+    private final List<Notification> sent = new ArrayList<>();
+    private final double ratePerSecond;
+    private boolean fail;
+
+    RecordingChannel(double ratePerSecond) {
+      this.ratePerSecond = ratePerSecond;
+    }
+
+    @Override
+    public String getName() {
+      return "recording";
+    }
+
+    @Override
+    public double getRatePerSecond() {
+      return ratePerSecond;
+    }
+
+    @Override
+    public void send(Notification notification) {
+      if (fail) {
+        throw new IllegalStateException("SMTP down");
+      }
+      sent.add(notification);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package it.unimol.microserviceassessmentfeedback.service.partitioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class AcademicYearTest {
+
+  @Test
+  void testContaining_DateBeforeStartMonthBelongsToPreviousYear() {
+    assertEquals(new AcademicYear(2024, 9), AcademicYear.containing(LocalDate.of(2025, 8, 31), 9));
+    assertEquals(new AcademicYear(2025, 9), AcademicYear.containing(LocalDate.of(2025, 9, 1), 9));
+    assertEquals(new AcademicYear(2025, 1), AcademicYear.containing(LocalDate.of(2025, 1, 1), 1));
+  }
+
+  @Test
+  void testParse_SupportedFormats() {
+    AcademicYear expected = new AcademicYear(2024, 9);
+
+    assertEquals(expected, AcademicYear.parse("2024/2025", 9));
+    assertEquals(expected, AcademicYear.parse("2024-2025", 9));
+    assertEquals(expected, AcademicYear.parse("2024/25", 9));
+    assertEquals(expected, AcademicYear.parse(" 2024 ", 9));
+    assertEquals(new AcademicYear(2099, 9), AcademicYear.parse("2099/00", 9));
+  }
+
+  @Test
+  void testParse_InvalidValues() {
+    assertThrows(IllegalArgumentException.class, () -> AcademicYear.parse(null, 9));
+    assertThrows(IllegalArgumentException.class, () -> AcademicYear.parse("2024/2026", 9));
+    assertThrows(IllegalArgumentException.class, () -> AcademicYear.parse("anno", 9));
+    assertThrows(IllegalArgumentException.class, () -> new AcademicYear(2024, 13));
+  }
+
+  @Test
+  void testBoundsAndPartitionName() {
+    AcademicYear year = new AcademicYear(2024, 10);
+
+    assertEquals(LocalDateTime.of(2024, 10, 1, 0, 0), year.start());
+    assertEquals(LocalDateTime.of(2025, 10, 1, 0, 0), year.end());
+    assertEquals("assessments_ay2024", year.partitionOf("assessments"));
+    assertEquals("2024/2025", year.toString());
+  }
+}
@@ -0,0 +1,222 @@
+package it.unimol.microserviceassessmentfeedback.service.partitioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
+import it.unimol.microserviceassessmentfeedback.service.cache.CacheRegion;
+import it.unimol.microserviceassessmentfeedback.service.cache.LocalEntityCache;
+import it.unimol.microserviceassessmentfeedback.service.respondents.RespondentTracker;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TablePartitionManagerTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  @Mock
+  private LocalEntityCache localEntityCache;
+
+  @Mock
+  private RespondentTracker respondentTracker;
+
+  private PartitioningProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new PartitioningProperties();
+    lenient().when(jdbcTemplate.queryForObject(eq(TablePartitionManager.EXISTS_SQL),
+        eq(Boolean.class), anyString())).thenReturn(false);
+    lenient().when(jdbcTemplate.queryForObject(eq(TablePartitionManager.EXISTS_SQL),
+        eq(Boolean.class), eq("assessments_default"))).thenReturn(true);
+  }
+
+  @Test
+  void testMaintain_SkipsDatabasesOtherThanPostgres() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+    manager().maintain();
+
+    verify(jobLeaseManager, never()).runExclusive(anyString(), any());
+  }
+
+  @Test
+  void testMaintain_RunsAsLeaderOnPostgres() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+    manager().maintain();
+
+    verify(jobLeaseManager).runExclusive(eq(TablePartitionManager.JOB_NAME), any());
+  }
+
+  @Test
+  void testMaintainAll_CreatesMissingPartitionsMovingRowsFromDefault() {
+    partitioned(TablePartitionManager.ASSESSMENTS, true);
+    partitioned(TablePartitionManager.SURVEY_RESPONSES, false);
+    when(jdbcTemplate.queryForObject(TablePartitionManager.EXISTS_SQL, Boolean.class,
+        "assessments_ay2025")).thenReturn(true);
+    when(jdbcTemplate.update(anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(3);
+
+    manager().maintainAll(LocalDate.of(2025, 10, 18));
+
+    InOrder order = Mockito.inOrder(jdbcTemplate);
+    order.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 5000");
+    order.verify(jdbcTemplate).execute(
+        "CREATE TABLE assessments_ay2026 (LIKE assessments INCLUDING DEFAULTS "
+            + "INCLUDING CONSTRAINTS)");
+    order.verify(jdbcTemplate).update(
+        "WITH moved AS (DELETE FROM assessments_default WHERE assessment_date >= ? "
+            + "AND assessment_date < ? RETURNING *) INSERT INTO assessments_ay2026 "
+            + "SELECT * FROM moved",
+        LocalDateTime.of(2026, 9, 1, 0, 0), LocalDateTime.of(2027, 9, 1, 0, 0));
+    order.verify(jdbcTemplate).execute("ALTER TABLE assessments ATTACH PARTITION "
+        + "assessments_ay2026 FOR VALUES FROM ('2026-09-01') TO ('2027-09-01')");
+    verify(jdbcTemplate, never()).execute(
+        "CREATE TABLE assessments_ay2025 (LIKE assessments INCLUDING DEFAULTS "
+            + "INCLUDING CONSTRAINTS)");
+    verify(jdbcTemplate, never()).execute(
+        "CREATE TABLE survey_responses_ay2026 (LIKE survey_responses INCLUDING DEFAULTS "
+            + "INCLUDING CONSTRAINTS)");
+  }
+
+  @Test
+  void testMaintainAll_ArchivesPartitionsOlderThanRetention() {
+    properties.setRetainedYears(2);
+    properties.setFutureYears(0);
+    partitioned(TablePartitionManager.ASSESSMENTS, false);
+    partitioned(TablePartitionManager.SURVEY_RESPONSES, true);
+    when(jdbcTemplate.queryForObject(TablePartitionManager.EXISTS_SQL, Boolean.class,
+        "survey_responses_ay2025")).thenReturn(true);
+    when(jdbcTemplate.queryForList(TablePartitionManager.PARTITIONS_SQL, String.class,
+        TablePartitionManager.SURVEY_RESPONSES)).thenReturn(List.of("survey_responses_default",
+        "survey_responses_ay2022", "survey_responses_ay2023", "survey_responses_ay2025"));
+    when(jdbcTemplate.queryForList("SELECT DISTINCT survey_id FROM "
+        + "archive.survey_responses_ay2022", String.class)).thenReturn(List.of("s1", "s2"));
+
+    manager().maintainAll(LocalDate.of(2025, 10, 18));
+
+    verify(jdbcTemplate).execute("CREATE SCHEMA IF NOT EXISTS archive");
+    verify(jdbcTemplate).execute(
+        "ALTER TABLE survey_responses DETACH PARTITION survey_responses_ay2022");
+    verify(jdbcTemplate).execute("ALTER TABLE survey_responses_ay2022 SET SCHEMA archive");
+    verify(jdbcTemplate).update("UPDATE student_dashboards SET stale = true, "
+        + "version = version + 1 WHERE student_id IN (SELECT student_id FROM "
+        + "archive.survey_responses_ay2022)");
+    verify(respondentTracker).forget(List.of("s1", "s2"));
+    verify(localEntityCache, never()).evictAll(any());
+    verify(jdbcTemplate, never()).execute(
+        "ALTER TABLE survey_responses DETACH PARTITION survey_responses_ay2023");
+  }
+
+  @Test
+  void testArchivePartition_MovesFeedbackOfArchivedAssessments() {
+    when(jdbcTemplate.queryForList(TablePartitionManager.PARTITIONS_SQL, String.class,
+        TablePartitionManager.ASSESSMENTS)).thenReturn(List.of("assessments_ay2020"));
+    when(jdbcTemplate.update(anyString())).thenReturn(7);
+
+    assertTrue(manager().archivePartition(TablePartitionManager.ASSESSMENTS,
+        new AcademicYear(2020, 9)));
+    assertFalse(manager().archivePartition(TablePartitionManager.ASSESSMENTS,
+        new AcademicYear(2019, 9)));
+
+    verify(jdbcTemplate).execute("ALTER TABLE assessments DETACH PARTITION assessments_ay2020");
+    verify(jdbcTemplate).execute("ALTER TABLE assessments_ay2020 SET SCHEMA archive");
+    verify(jdbcTemplate).update("WITH moved AS (DELETE FROM detailed_feedback f USING "
+        + "archive.assessments_ay2020 a WHERE f.assessment_id = a.id RETURNING f.*) "
+        + "INSERT INTO archive.detailed_feedback SELECT * FROM moved");
+    verify(jdbcTemplate).update("UPDATE student_dashboards SET stale = true, "
+        + "version = version + 1 WHERE student_id IN (SELECT student_id FROM "
+        + "archive.assessments_ay2020)");
+    verify(localEntityCache).evictAll(CacheRegion.ASSESSMENTS);
+    verify(respondentTracker, never()).forget(any());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void testAnonymiseArchivedUser_RedactsFeedbackBeforePseudonymisingArchivedRows() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+    when(jdbcTemplate.queryForList(TablePartitionManager.ARCHIVED_TABLES_SQL, String.class,
+        "archive")).thenReturn(List.of("assessments_ay2020", "detailed_feedback",
+        "survey_responses_ay2020"));
+    when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+    assertEquals(4, manager().anonymiseArchivedUser("student1", "anon-1", "[anonimizzato]"));
+
+    InOrder order = Mockito.inOrder(jdbcTemplate);
+    order.verify(jdbcTemplate).update("UPDATE archive.detailed_feedback f SET feedback_text = ?, "
+        + "strengths = NULL, improvement_areas = NULL FROM archive.assessments_ay2020 a "
+        + "WHERE f.assessment_id = a.id AND a.student_id = ?", "[anonimizzato]", "student1");
+    order.verify(jdbcTemplate).update("UPDATE archive.assessments_ay2020 SET student_id = ?, "
+        + "notes = NULL WHERE student_id = ?", "anon-1", "student1");
+    order.verify(jdbcTemplate).update("UPDATE archive.assessments_ay2020 SET teacher_id = ? "
+        + "WHERE teacher_id = ?", "anon-1", "student1");
+    order.verify(jdbcTemplate).update("UPDATE archive.survey_responses_ay2020 SET "
+        + "student_id = ?, text_comment = NULL WHERE student_id = ?", "anon-1", "student1");
+  }
+
+  @Test
+  void testAnonymiseArchivedUser_SkipsDatabasesOtherThanPostgres() {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+    assertEquals(0, manager().anonymiseArchivedUser("student1", "anon-1", "[anonimizzato]"));
+
+    verify(jdbcTemplate, never()).queryForList(TablePartitionManager.ARCHIVED_TABLES_SQL,
+        String.class, "archive");
+  }
+
+  @Test
+  void testInvalidConfigurationAndTables_AreRejected() {
+    properties.setArchiveSchema("archive; DROP TABLE assessments");
+    assertThrows(IllegalArgumentException.class, this::manager);
+
+    properties.setArchiveSchema("archive");
+    properties.setAcademicYearStartMonth(0);
+    assertThrows(IllegalArgumentException.class, this::manager);
+
+    properties.setAcademicYearStartMonth(9);
+    TablePartitionManager manager = manager();
+    assertThrows(IllegalArgumentException.class,
+        () -> manager.createPartition("teacher_surveys", new AcademicYear(2025, 9)));
+    assertEquals(List.of(), manager.getPartitions(TablePartitionManager.ASSESSMENTS));
+  }
+
+  private void partitioned(String table, boolean partitioned) {
+    when(jdbcTemplate.queryForObject(TablePartitionManager.IS_PARTITIONED_SQL, Boolean.class,
+        table)).thenReturn(partitioned);
+  }
+
+  private TablePartitionManager manager() {
+    return new TablePartitionManager(jdbcTemplate, transactionManager, jobLeaseManager,
+        localEntityCache, respondentTracker, properties);
+  }
+}
@@ -0,0 +1,242 @@
+package it.unimol.microserviceassessmentfeedback.service.respondents;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.unimol.microserviceassessmentfeedback.common.util.CompressedBitmap;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.StudentOrdinal;
+import it.unimol.microserviceassessmentfeedback.model.SurveyRespondents;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.repository.StudentOrdinalRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyRespondentsRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class RespondentTrackerTest {
+
+  @Mock
+  private StudentOrdinalRepository studentOrdinalRepository;
+
+  @Mock
+  private SurveyRespondentsRepository surveyRespondentsRepository;
+
+  @Mock
+  private SurveyResponseRepository responseRepository;
+
+  @Mock
+  private SurveySubmissionRepository surveySubmissionRepository;
+
+  @Mock
+  private AssessmentRepository assessmentRepository;
+
+  @Mock
+  private TeacherSurveyRepository surveyRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private RespondentTracker tracker;
+  private TeacherSurvey survey;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    tracker = new RespondentTracker(studentOrdinalRepository, surveyRespondentsRepository,
+        responseRepository, surveySubmissionRepository, assessmentRepository, surveyRepository,
+        transactionManager, meterRegistry, 60_000, 16, 16);
+    survey = new TeacherSurvey();
+    survey.setId("survey1");
+    survey.setCourseId("course1");
+    survey.setStatus(SurveyStatus.ACTIVE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testHasResponded_ReadsPersistedBitmap() {
+    stored("survey1", 1, 3);
+    ordinal("student1", 1);
+    ordinal("student2", 2);
+
+    assertTrue(tracker.hasResponded("survey1", "student1"));
+    assertFalse(tracker.hasResponded("survey1", "student2"));
+    verify(surveyRespondentsRepository, times(1)).findById("survey1");
+  }
+
+  @Test
+  void testHasResponded_FalseForStudentWithoutOrdinal() {
+    assertFalse(tracker.hasResponded("survey1", "student1"));
+    assertFalse(tracker.hasResponded("survey2", "student1"));
+
+    verify(studentOrdinalRepository, times(1)).findByStudentId("student1");
+    verify(surveyRespondentsRepository, never()).findById(any());
+  }
+
+  @Test
+  void testRespondents_RebuildsMissingBitmapFromResponses() {
+    when(surveyRespondentsRepository.findById("survey1")).thenReturn(Optional.empty());
+    when(responseRepository.findStudentIdsBySurveyId("survey1")).thenReturn(List.of("student1"));
+    when(surveySubmissionRepository.findStudentIdsBySurveyId("survey1"))
+        .thenReturn(List.of("student2"));
+    when(studentOrdinalRepository.findByStudentIdIn(anyCollection()))
+        .thenReturn(List.of(new StudentOrdinal(7, "student1")));
+    when(studentOrdinalRepository.findByStudentId("student2"))
+        .thenReturn(Optional.empty(), Optional.of(new StudentOrdinal(8, "student2")));
+
+    assertEquals(2, tracker.countRespondents("survey1"));
+
+    verify(studentOrdinalRepository).insertIfAbsent("student2");
+    ArgumentCaptor<SurveyRespondents> saved = ArgumentCaptor.forClass(SurveyRespondents.class);
+    verify(surveyRespondentsRepository).save(saved.capture());
+    assertEquals(2, saved.getValue().getRespondents());
+    assertEquals(CompressedBitmap.of(7, 8),
+        CompressedBitmap.deserialize(saved.getValue().getBitmap()));
+  }
+
+  @Test
+  void testRecordResponse_AppliesOnlyAfterCommit() {
+    stored("survey1");
+    when(studentOrdinalRepository.findByStudentId("student1"))
+        .thenReturn(Optional.of(new StudentOrdinal(4, "student1")));
+    assertEquals(0, tracker.countRespondents("survey1"));
+
+    TransactionSynchronizationManager.initSynchronization();
+    tracker.recordResponse("survey1", "student1");
+
+    assertEquals(0, tracker.countRespondents("survey1"));
+    assertEquals(0, tracker.getPendingCount());
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertTrue(tracker.hasResponded("survey1", "student1"));
+    assertEquals(1, tracker.getPendingCount());
+  }
+
+  @Test
+  void testFlush_MergesPendingIntoPersistedBitmap() {
+    SurveyRespondents row = stored("survey1", 1);
+    when(studentOrdinalRepository.findByStudentId("student2"))
+        .thenReturn(Optional.of(new StudentOrdinal(2, "student2")));
+
+    tracker.recordResponse("survey1", "student2");
+    tracker.flush();
+
+    verify(surveyRespondentsRepository).save(row);
+    assertEquals(CompressedBitmap.of(1, 2), CompressedBitmap.deserialize(row.getBitmap()));
+    assertEquals(2, row.getRespondents());
+    assertEquals(0, tracker.getPendingCount());
+  }
+
+  @Test
+  void testFlush_KeepsPendingOnConcurrentWrite() {
+    stored("survey1");
+    when(studentOrdinalRepository.findByStudentId("student1"))
+        .thenReturn(Optional.of(new StudentOrdinal(1, "student1")));
+    when(surveyRespondentsRepository.save(any()))
+        .thenThrow(new OptimisticLockingFailureException("conflict"));
+
+    tracker.recordResponse("survey1", "student1");
+    tracker.flush();
+
+    assertEquals(1, tracker.getPendingCount());
+  }
+
+  @Test
+  void testNonRespondents_SubtractsRespondentsFromRoster() {
+    stored("survey1", 1, 3);
+    when(assessmentRepository.findStudentIdsByCourseId("course1"))
+        .thenReturn(List.of("student1", "student2", "student3", "student4"));
+    when(studentOrdinalRepository.findByStudentIdIn(anyCollection())).thenReturn(List.of(
+        new StudentOrdinal(1, "student1"), new StudentOrdinal(2, "student2"),
+        new StudentOrdinal(3, "student3")));
+
+    assertEquals(List.of("student2", "student4"), tracker.nonRespondents(survey));
+  }
+
+  @Test
+  void testForget_DropsBitmapsAndRows() {
+    stored("survey1", 1);
+    tracker.countRespondents("survey1");
+
+    tracker.forget(List.of("survey1"));
+    tracker.countRespondents("survey1");
+
+    verify(surveyRespondentsRepository).deleteBySurveyIdIn(List.of("survey1"));
+    verify(surveyRespondentsRepository, times(2)).findById("survey1");
+  }
+
+  @Test
+  void testSampleResponseRates_PublishesAndRemovesGauges() {
+    stored("survey1", 1);
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(List.of(survey));
+    when(assessmentRepository.findStudentIdsByCourseId("course1"))
+        .thenReturn(List.of("student1", "student2", "student3", "student4"));
+    when(studentOrdinalRepository.findByStudentIdIn(anyCollection()))
+        .thenReturn(List.of(new StudentOrdinal(1, "student1")));
+
+    tracker.sampleResponseRates();
+
+    assertEquals(1.0, meterRegistry.get(RespondentTracker.RESPONDENTS_METRIC)
+        .tag("survey", "survey1").gauge().value());
+    assertEquals(0.25, meterRegistry.get(RespondentTracker.RESPONSE_RATE_METRIC)
+        .tag("survey", "survey1").gauge().value());
+
+    when(surveyRepository.findByStatus(SurveyStatus.ACTIVE)).thenReturn(List.of());
+    tracker.sampleResponseRates();
+
+    assertNull(meterRegistry.find(RespondentTracker.RESPONSE_RATE_METRIC).gauge());
+  }
+
+  @Test
+  void testPseudonymiseStudent() {
+    tracker.pseudonymiseStudent("student1", "anon-1");
+
+    verify(studentOrdinalRepository).pseudonymiseStudent("student1", "anon-1");
+  }
+
+  private SurveyRespondents stored(String surveyId, int... ordinals) {
+    SurveyRespondents row = new SurveyRespondents(surveyId);
+    row.setBitmap(CompressedBitmap.of(ordinals).serialize());
+    row.setRespondents(ordinals.length);
+    when(surveyRespondentsRepository.findById(surveyId)).thenReturn(Optional.of(row));
+    return row;
+  }
+
+  private void ordinal(String studentId, int ordinal) {
+    when(studentOrdinalRepository.findByStudentId(studentId))
+        .thenReturn(Optional.of(new StudentOrdinal(ordinal, studentId)));
+  }
+}
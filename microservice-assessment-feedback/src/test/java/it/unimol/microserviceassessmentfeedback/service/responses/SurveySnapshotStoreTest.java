@@ -0,0 +1,160 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.config.datasource.PartitioningProperties;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
+import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.enums.SurveyStatus;
+import it.unimol.microserviceassessmentfeedback.model.SurveyResponse;
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.SurveyResponseRepository;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherSurveyRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SurveySnapshotStoreTest {
+
+  private static final LocalDateTime CLOSED_AT = LocalDateTime.of(2026, 6, 30, 18, 0);
+
+  @TempDir
+  Path directory;
+
+  @Mock
+  private TeacherSurveyRepository surveyRepository;
+
+  @Mock
+  private SurveyResponseRepository responseRepository;
+
+  @Mock
+  private SurveySubmissionRepository surveySubmissionRepository;
+
+  private SurveySnapshotStore store;
+  private TeacherSurvey survey;
+
+  @BeforeEach
+  void setUp() {
+    store = new SurveySnapshotStore(surveyRepository, responseRepository,
+        surveySubmissionRepository, new PartitioningProperties(), true, directory.toString(), 16,
+        10);
+    survey = TeacherSurvey.builder()
+        .id("survey1")
+        .status(SurveyStatus.CLOSED)
+        .closingDate(CLOSED_AT)
+        .questions(List.of(question("q1", 0), question("q2", 1)))
+        .build();
+  }
+
+  @Test
+  void testBuildPending_WritesSnapshotMergingRowsAndSubmissions() {
+    SurveyResponse row = new SurveyResponse();
+    row.setStudentId("student1");
+    row.setQuestionId("q2");
+    row.setNumericRating(2);
+    SurveySubmission submission = new SurveySubmission(survey, "student2", CLOSED_AT);
+    submission.answer(0, 5, null);
+    submission.answer(1, 4, "Bene");
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(survey));
+    when(responseRepository.findBySurveyId("survey1")).thenReturn(List.of(row));
+    when(surveySubmissionRepository.findBySurveyId("survey1")).thenReturn(List.of(submission));
+
+    store.requestBuild(List.of("survey1"));
+    store.buildPending();
+
+    SurveySnapshot snapshot = store.find(survey).orElseThrow();
+    assertEquals(2, snapshot.getSubmissions());
+    assertArrayEquals(new long[] {5, 1}, snapshot.sumRatings().get("q1"));
+    assertArrayEquals(new long[] {6, 2}, snapshot.sumRatings().get("q2"));
+    assertEquals(0, store.getPendingCount());
+  }
+
+  @Test
+  void testFind_MissingSnapshotIsQueued() {
+    assertTrue(store.find(survey).isEmpty());
+
+    assertEquals(1, store.getPendingCount());
+  }
+
+  @Test
+  void testFind_OpenSurveyIsNeverServedFromSnapshot() throws Exception {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(survey));
+    assertTrue(store.build("survey1"));
+    survey.setStatus(SurveyStatus.ACTIVE);
+
+    assertTrue(store.find(survey).isEmpty());
+    assertEquals(0, store.getPendingCount());
+  }
+
+  @Test
+  void testFind_ClosedAgainRebuildsStaleSnapshot() throws Exception {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(survey));
+    assertTrue(store.build("survey1"));
+    assertTrue(store.find(survey).isPresent());
+
+    survey.setClosingDate(CLOSED_AT.plusDays(1));
+
+    assertTrue(store.find(survey).isEmpty());
+    assertEquals(1, store.getPendingCount());
+  }
+
+  @Test
+  void testInvalidate_DeletesFileAndPendingRequest() throws Exception {
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(survey));
+    assertTrue(store.build("survey1"));
+    store.requestBuild(List.of("survey1"));
+
+    store.invalidate(List.of("survey1"));
+
+    assertFalse(Files.exists(store.fileOf("survey1")));
+    assertEquals(0, store.getPendingCount());
+  }
+
+  @Test
+  void testBuild_SkipsSurveyReopenedBeforeBuild() throws Exception {
+    survey.setStatus(SurveyStatus.ACTIVE);
+    when(surveyRepository.findById("survey1")).thenReturn(Optional.of(survey));
+
+    assertFalse(store.build("survey1"));
+
+    verify(responseRepository, never()).findBySurveyId("survey1");
+  }
+
+  @Test
+  void testDisabledStoreIgnoresRequests() {
+    SurveySnapshotStore disabled = new SurveySnapshotStore(surveyRepository, responseRepository,
+        surveySubmissionRepository, new PartitioningProperties(), false, directory.toString(),
+        16, 10);
+
+    disabled.requestBuild(List.of("survey1"));
+
+    assertTrue(disabled.find(survey).isEmpty());
+    assertEquals(0, disabled.getPendingCount());
+  }
+
+  private static SurveyQuestionDto question(String id, int ordinal) {
+    return SurveyQuestionDto.builder()
+        .id(id)
+        .questionText("Domanda " + id)
+        .questionType(QuestionType.RATING)
+        .ordinal(ordinal)
+        .build();
+  }
+}
@@ -0,0 +1,99 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import it.unimol.microserviceassessmentfeedback.service.responses.SurveySnapshot.QuestionStatistics;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SurveySnapshotTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testSumRatings_AggregatesColumnsByQuestion() {
+    SurveySnapshotWriter writer = new SurveySnapshotWriter(42L, new String[] {"q1", "q2", "q3"});
+    writer.addSubmission();
+    writer.add(2, 5, null);
+    writer.add(0, 4, "Chiaro");
+    writer.add(1, null, "Troppo veloce");
+    writer.addSubmission();
+    writer.add(0, 2, null);
+    writer.add(2, 3, "");
+
+    SurveySnapshot snapshot = SurveySnapshot.wrap(writer.toBuffer());
+
+    assertEquals(42L, snapshot.getClosedAt());
+    assertEquals(2, snapshot.getSubmissions());
+    assertEquals(5, snapshot.getAnswers());
+    Map<String, long[]> totals = snapshot.sumRatings();
+    assertArrayEquals(new long[] {6, 2}, totals.get("q1"));
+    assertNull(totals.get("q2"));
+    assertArrayEquals(new long[] {8, 2}, totals.get("q3"));
+  }
+
+  @Test
+  void testStatistics_CountsAnswersRatingsAndComments() {
+    SurveySnapshotWriter writer = new SurveySnapshotWriter(1L, new String[] {"q1", "q2"});
+    writer.add(1, null, "Commento è lungo");
+    writer.add(0, 4, "Sì");
+    writer.add(0, 5, null);
+    writer.add(1, null, "Altro");
+
+    Map<String, QuestionStatistics> statistics =
+        SurveySnapshot.wrap(writer.toBuffer()).statistics();
+
+    assertEquals(List.of("q1", "q2"), List.copyOf(statistics.keySet()));
+    assertEquals(new QuestionStatistics(2, 2, 4.5, 1), statistics.get("q1"));
+    assertEquals(new QuestionStatistics(2, 0, null, 2), statistics.get("q2"));
+  }
+
+  @Test
+  void testAdd_QuestionNoLongerInSurveyKeepsItsAnswers() {
+    SurveySnapshotWriter writer = new SurveySnapshotWriter(1L, new String[] {"q1", null});
+    writer.add("legacy", 3, null);
+    writer.add("q1", 1, null);
+    writer.add(5, 4, null);
+
+    Map<String, long[]> totals = SurveySnapshot.wrap(writer.toBuffer()).sumRatings();
+
+    assertEquals(2, totals.size());
+    assertArrayEquals(new long[] {3, 1}, totals.get("legacy"));
+    assertArrayEquals(new long[] {1, 1}, totals.get("q1"));
+  }
+
+  @Test
+  void testMap_ReadsFileWrittenAtomically() throws Exception {
+    Path file = directory.resolve("survey1.snap");
+    SurveySnapshotWriter first = new SurveySnapshotWriter(1L, new String[] {"q1"});
+    first.add(0, 2, null);
+    first.writeTo(file);
+    SurveySnapshot mapped = SurveySnapshot.map(file);
+
+    SurveySnapshotWriter second = new SurveySnapshotWriter(2L, new String[] {"q1"});
+    second.add(0, 5, null);
+    second.writeTo(file);
+
+    assertArrayEquals(new long[] {2, 1}, mapped.sumRatings().get("q1"));
+    assertEquals(2L, SurveySnapshot.map(file).getClosedAt());
+    try (var files = Files.list(directory)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void testWrap_RejectsUnknownFormat() {
+    ByteBuffer buffer = ByteBuffer.allocate(SurveySnapshot.HEADER_BYTES);
+
+    assertThrows(IllegalStateException.class, () -> SurveySnapshot.wrap(buffer));
+  }
+}
@@ -0,0 +1,168 @@
+package it.unimol.microserviceassessmentfeedback.service.responses;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.dto.SurveyResponseDto;
+import it.unimol.microserviceassessmentfeedback.dto.TeacherSurveyDto.SurveyQuestionDto;
+import it.unimol.microserviceassessmentfeedback.enums.QuestionType;
+import it.unimol.microserviceassessmentfeedback.model.SurveySubmission;
+import it.unimol.microserviceassessmentfeedback.model.TeacherSurvey;
+import it.unimol.microserviceassessmentfeedback.repository.SurveySubmissionRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SurveySubmissionStoreTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+  @Mock
+  private SurveySubmissionRepository surveySubmissionRepository;
+
+  private SurveySubmissionStore store;
+  private TeacherSurvey survey;
+
+  @BeforeEach
+  void setUp() {
+    store = new SurveySubmissionStore(surveySubmissionRepository, "compact");
+    survey = TeacherSurvey.builder()
+        .id("survey1")
+        .questions(List.of(
+            question("q1", QuestionType.RATING, 0),
+            question("q2", QuestionType.TEXT, 1),
+            question("q3", QuestionType.RATING, 2)))
+        .build();
+  }
+
+  @Test
+  void testIsCompact_DependsOnStorageMode() {
+    assertTrue(store.isCompact());
+    assertFalse(new SurveySubmissionStore(surveySubmissionRepository, "rows").isCompact());
+  }
+
+  @Test
+  void testSubmit_PacksAnswersIntoOneRow() {
+    when(surveySubmissionRepository.save(any(SurveySubmission.class)))
+        .thenAnswer(invocation -> withId(invocation.getArgument(0), "sub1"));
+
+    List<SurveyResponseDto> result = store.submit(survey, "student1", List.of(
+        answer("q3", 5, null), answer("q2", null, "Ottimo corso")), NOW);
+
+    assertEquals(2, result.size());
+    assertEquals("q2", result.get(0).getQuestionId());
+    assertEquals("Ottimo corso", result.get(0).getTextComment());
+    assertEquals("sub1:1", result.get(0).getId());
+    assertEquals("q3", result.get(1).getQuestionId());
+    assertEquals(5, result.get(1).getNumericRating());
+    assertEquals("student1", result.get(1).getStudentId());
+    assertEquals(NOW, result.get(1).getSubmissionDate());
+  }
+
+  @Test
+  void testSubmit_UnknownQuestionIsRejected() {
+    List<SurveyResponseDto> answers = List.of(answer("missing", 3, null));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> store.submit(survey, "student1", answers, NOW));
+  }
+
+  @Test
+  void testAnswer_ReplacesPreviousAnswerInExistingSubmission() {
+    SurveySubmission existing = new SurveySubmission(survey, "student1", NOW);
+    existing.setId("sub1");
+    existing.answer(0, 2, null);
+    when(surveySubmissionRepository.findBySurveyIdAndStudentId("survey1", "student1"))
+        .thenReturn(Optional.of(existing));
+    when(surveySubmissionRepository.save(existing)).thenReturn(existing);
+
+    SurveyResponseDto answer = answer("q1", 4, null);
+    answer.setStudentId("student1");
+    SurveyResponseDto result = store.answer(survey, answer, NOW);
+
+    assertEquals(4, result.getNumericRating());
+    assertEquals(4, existing.getRating(0));
+  }
+
+  @Test
+  void testSumRatings_AggregatesPackedArrays() {
+    when(surveySubmissionRepository.findRatingsBySurveyId("survey1")).thenReturn(List.of(
+        new byte[] {4, 0, 5}, new byte[] {2}, new byte[] {0, 0, 3}));
+
+    Map<String, long[]> totals = store.sumRatings(survey);
+
+    assertArrayEquals(new long[] {6, 2}, totals.get("q1"));
+    assertNull(totals.get("q2"));
+    assertArrayEquals(new long[] {8, 2}, totals.get("q3"));
+  }
+
+  @Test
+  void testFindByStudent_LegacySurveyUsesQuestionOrder() {
+    TeacherSurvey legacy = TeacherSurvey.builder()
+        .id("legacy")
+        .questions(List.of(question("a", QuestionType.RATING, null),
+            question("b", QuestionType.RATING, null)))
+        .build();
+    SurveySubmission submission = new SurveySubmission(legacy, "student1", NOW);
+    submission.setId("sub2");
+    submission.answer(1, 3, null);
+    when(surveySubmissionRepository.findByStudentId("student1")).thenReturn(List.of(submission));
+
+    List<SurveyResponseDto> result = store.findByStudent("student1");
+
+    assertEquals(1, result.size());
+    assertEquals("b", result.get(0).getQuestionId());
+    assertEquals("legacy", result.get(0).getSurveyId());
+  }
+
+  @Test
+  void testFindCommentsBySurvey_SkipsRatingOnlyAnswers() {
+    SurveySubmission submission = new SurveySubmission(survey, "student1", NOW);
+    submission.setId("sub1");
+    submission.answer(0, 5, null);
+    submission.answer(1, null, "Commento");
+    when(surveySubmissionRepository.findAllWithCommentsForSurvey("survey1"))
+        .thenReturn(List.of(submission));
+
+    List<SurveyResponseDto> result = store.findCommentsBySurvey("survey1");
+
+    assertEquals(1, result.size());
+    assertEquals("Commento", result.get(0).getTextComment());
+  }
+
+  private static SurveyQuestionDto question(String id, QuestionType type, Integer ordinal) {
+    return SurveyQuestionDto.builder()
+        .id(id)
+        .questionText("Domanda " + id)
+        .questionType(type)
+        .ordinal(ordinal)
+        .build();
+  }
+
+  private static SurveyResponseDto answer(String questionId, Integer rating, String comment) {
+    SurveyResponseDto dto = new SurveyResponseDto();
+    dto.setSurveyId("survey1");
+    dto.setQuestionId(questionId);
+    dto.setNumericRating(rating);
+    dto.setTextComment(comment);
+    return dto;
+  }
+
+  private static SurveySubmission withId(SurveySubmission submission, String id) {
+    submission.setId(id);
+    return submission;
+  }
+}
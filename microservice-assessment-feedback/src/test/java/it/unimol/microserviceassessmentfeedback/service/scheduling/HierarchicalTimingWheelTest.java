@@ -0,0 +1,70 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+  @Test
+  void testAdd_ExpiredItemIsRejected() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1_000);
+
+    assertFalse(wheel.add("late", 1_000));
+    assertFalse(wheel.add("later", 500));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void testAdvance_FiresWithinOneTickAndNeverEarly() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+    assertTrue(wheel.add("a", 35));
+
+    assertTrue(wheel.advance(34).isEmpty());
+    assertEquals(List.of("a"), wheel.advance(40));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void testAdvance_CascadesFromOverflowLevels() {
+    HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+    long[] expirations = {15, 45, 170, 655, 2_000};
+    for (long expiration : expirations) {
+      assertTrue(wheel.add(expiration, expiration));
+    }
+    assertEquals(expirations.length, wheel.size());
+
+    List<Long> fired = new ArrayList<>();
+    for (long now = 0; now <= 2_100; now += 5) {
+      for (Long item : wheel.advance(now)) {
+        assertTrue(item <= now, "fired early: " + item + " at " + now);
+        assertTrue(now - item <= 10, "fired late: " + item + " at " + now);
+        fired.add(item);
+      }
+    }
+
+    assertEquals(List.of(15L, 45L, 170L, 655L, 2_000L), fired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void testAdvance_JumpsAheadWhenEmpty() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+
+    assertTrue(wheel.advance(1_000_000).isEmpty());
+    assertEquals(1_000_000, wheel.getCurrentTime());
+    assertTrue(wheel.add("a", 1_000_050));
+    assertEquals(List.of("a"), wheel.advance(1_000_060));
+  }
+
+  @Test
+  void testConstructor_RejectsInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(0, 8, 0));
+    assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 1, 0));
+  }
+}
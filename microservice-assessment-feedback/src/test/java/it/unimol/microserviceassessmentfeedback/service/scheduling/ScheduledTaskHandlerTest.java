@@ -0,0 +1,90 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskType;
+import it.unimol.microserviceassessmentfeedback.model.Assessment;
+import it.unimol.microserviceassessmentfeedback.model.ScheduledTask;
+import it.unimol.microserviceassessmentfeedback.repository.AssessmentRepository;
+import it.unimol.microserviceassessmentfeedback.service.events.NotificationService;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTaskHandlerTest {
+
+  @Mock
+  private NotificationService notificationService;
+
+  @Mock
+  private AssessmentRepository assessmentRepository;
+
+  @InjectMocks
+  private ScheduledTaskHandler scheduledTaskHandler;
+
+  private ScheduledTask reminderTask() {
+    ScheduledTask task = new ScheduledTask(ScheduledTaskType.ASSESSMENT_REMINDER,
+        "assessment-reminder:assessment1", 1_000L, "teacher1", "assignment1", null);
+    task.setEntityId("assessment1");
+    return task;
+  }
+
+  @Test
+  void testHandle_AssessmentReminderForPendingAssessment() {
+    Assessment assessment = new Assessment();
+    assessment.setScore(0.0);
+    when(assessmentRepository.findById("assessment1")).thenReturn(Optional.of(assessment));
+
+    scheduledTaskHandler.handle(reminderTask());
+
+    verify(notificationService).sendAssessmentReminder("teacher1", "assignment1");
+  }
+
+  @Test
+  void testHandle_AssessmentReminderSkippedWhenGraded() {
+    Assessment assessment = new Assessment();
+    assessment.setScore(28.0);
+    when(assessmentRepository.findById("assessment1")).thenReturn(Optional.of(assessment));
+
+    scheduledTaskHandler.handle(reminderTask());
+
+    verify(notificationService, never()).sendAssessmentReminder(anyString(), anyString());
+  }
+
+  @Test
+  void testHandle_AssessmentReminderSkippedWhenDeleted() {
+    when(assessmentRepository.findById("assessment1")).thenReturn(Optional.empty());
+
+    scheduledTaskHandler.handle(reminderTask());
+
+    verify(notificationService, never()).sendAssessmentReminder(anyString(), anyString());
+  }
+
+  @Test
+  void testHandle_DeadlineReminder() {
+    ScheduledTask task = new ScheduledTask(ScheduledTaskType.ASSIGNMENT_DEADLINE_REMINDER,
+        "deadline-reminder:assignment1:5000:24h", 1_000L, null, "assignment1", "course1");
+    task.setReferenceTime(5_000L);
+
+    scheduledTaskHandler.handle(task);
+
+    verify(notificationService).sendAssignmentDeadlineReminder("assignment1", "course1", 5_000L);
+  }
+
+  @Test
+  void testHandle_FeedbackSurvey() {
+    ScheduledTask task = new ScheduledTask(ScheduledTaskType.FEEDBACK_SURVEY,
+        "feedback-survey:student1:exam1", 1_000L, "student1", "exam1", "course1");
+
+    scheduledTaskHandler.handle(task);
+
+    verify(notificationService).scheduleFeedbackSurvey("student1", "exam1", "course1");
+  }
+}
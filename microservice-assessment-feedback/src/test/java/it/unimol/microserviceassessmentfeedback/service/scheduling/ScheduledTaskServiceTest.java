@@ -0,0 +1,210 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskStatus;
+import it.unimol.microserviceassessmentfeedback.enums.ScheduledTaskType;
+import it.unimol.microserviceassessmentfeedback.model.ScheduledTask;
+import it.unimol.microserviceassessmentfeedback.repository.ScheduledTaskRepository;
+import it.unimol.microserviceassessmentfeedback.repository.ScheduledTaskRepository.DueTask;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTaskServiceTest {
+
+  private static final long SLICE = 600_000L;
+  private static final long LEASE = 60_000L;
+  private static final long RETRY = 300_000L;
+
+  @Mock
+  private ScheduledTaskRepository scheduledTaskRepository;
+
+  @Mock
+  private ScheduledTaskHandler scheduledTaskHandler;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private ScheduledTaskService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new ScheduledTaskService(scheduledTaskRepository, scheduledTaskHandler,
+        jobLeaseManager, 1_000L, 60, SLICE, LEASE, 3, RETRY, 2, 0L, 86_400_000L, "replica-1");
+  }
+
+  private static DueTask due(String id, long dueAt) {
+    return new DueTask() {
+      @Override
+      public String getId() {
+        return id;
+      }
+
+      @Override
+      public Long getDueAt() {
+        return dueAt;
+      }
+    };
+  }
+
+  private ScheduledTask task(String id, int attempts) {
+    ScheduledTask task = new ScheduledTask(ScheduledTaskType.FEEDBACK_SURVEY,
+        "feedback-survey:" + id, 1_000L, "student1", "exam1", "course1");
+    task.setId(id);
+    task.setAttempts(attempts);
+    return task;
+  }
+
+  @Test
+  void testSchedule_SkipsExistingDedupKey() {
+    when(scheduledTaskRepository.existsByDedupKey("feedback-survey:t1")).thenReturn(true);
+
+    assertFalse(service.schedule(task("t1", 0)));
+
+    verify(scheduledTaskRepository, never()).save(any());
+  }
+
+  @Test
+  void testSchedule_ConcurrentInsertIsIgnored() {
+    when(scheduledTaskRepository.save(any())).thenThrow(new DataIntegrityViolationException("dup"));
+
+    assertFalse(service.schedule(task("t1", 0)));
+  }
+
+  @Test
+  void testScheduleDeadlineReminders_SkipsPastOffsets() {
+    when(scheduledTaskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    long dueDate = System.currentTimeMillis() + 30 * 3_600_000L;
+
+    service.scheduleDeadlineReminders("assignment1", "course1", dueDate);
+
+    ArgumentCaptor<ScheduledTask> captor = ArgumentCaptor.forClass(ScheduledTask.class);
+    verify(scheduledTaskRepository, times(1)).save(captor.capture());
+    ScheduledTask saved = captor.getValue();
+    assertEquals(ScheduledTaskType.ASSIGNMENT_DEADLINE_REMINDER, saved.getTaskType());
+    assertEquals(dueDate - 24 * 3_600_000L, saved.getDueAt());
+    assertEquals(dueDate, saved.getReferenceTime());
+    assertTrue(saved.getDedupKey().endsWith(":24h"));
+  }
+
+  @Test
+  void testLoadSlice_LoadsInBatchesAndFiresFromWheel() {
+    long now = System.currentTimeMillis();
+    when(scheduledTaskRepository.findDueSlice(eq(ScheduledTaskStatus.PENDING), eq(now),
+        eq(now + SLICE), any(Pageable.class)))
+        .thenReturn(List.of(due("t1", now + 2_000), due("t2", now + 5_000)));
+    when(scheduledTaskRepository.findDueSlice(eq(ScheduledTaskStatus.PENDING), eq(now + 5_000),
+        eq(now + SLICE), any(Pageable.class)))
+        .thenReturn(List.of(due("t2", now + 5_000)));
+    when(scheduledTaskRepository.findOverdue(anyLong(), anyLong(), any(Pageable.class)))
+        .thenReturn(List.of());
+
+    service.load(now);
+
+    assertEquals(2, service.getWheelSize());
+    assertEquals(now + SLICE, service.getLoadedUntil());
+
+    when(scheduledTaskRepository.claim(eq("t1"), eq("replica-1"), anyLong(), anyLong()))
+        .thenReturn(1);
+    when(scheduledTaskRepository.findById("t1")).thenReturn(Optional.of(task("t1", 1)));
+
+    service.advance(now + 3_000);
+
+    verify(scheduledTaskHandler).handle(any(ScheduledTask.class));
+    verify(scheduledTaskRepository).release("t1", "replica-1", ScheduledTaskStatus.DONE, 1_000L);
+    assertEquals(1, service.getWheelSize());
+  }
+
+  @Test
+  void testLoadSlice_FiresOverdueTasks() {
+    long now = System.currentTimeMillis();
+    when(scheduledTaskRepository.findDueSlice(any(), anyLong(), anyLong(), any(Pageable.class)))
+        .thenReturn(List.of());
+    when(scheduledTaskRepository.findOverdue(eq(now), eq(now), any(Pageable.class)))
+        .thenReturn(List.of(due("late", now - 10_000)));
+    when(scheduledTaskRepository.claim(eq("late"), eq("replica-1"), eq(now), eq(now + LEASE)))
+        .thenReturn(1);
+    when(scheduledTaskRepository.findById("late")).thenReturn(Optional.of(task("late", 1)));
+
+    service.load(now);
+
+    verify(scheduledTaskHandler).handle(any(ScheduledTask.class));
+  }
+
+  @Test
+  void testFire_ClaimLostToOtherReplica() {
+    when(scheduledTaskRepository.claim(eq("t1"), eq("replica-1"), anyLong(), anyLong()))
+        .thenReturn(0);
+
+    service.fire("t1", 1_000L);
+
+    verify(scheduledTaskHandler, never()).handle(any());
+    verify(scheduledTaskRepository, never()).release(any(), any(), any(), anyLong());
+  }
+
+  @Test
+  void testFire_FailureIsRetriedWithBackoff() {
+    when(scheduledTaskRepository.claim(eq("t1"), eq("replica-1"), anyLong(), anyLong()))
+        .thenReturn(1);
+    when(scheduledTaskRepository.findById("t1")).thenReturn(Optional.of(task("t1", 2)));
+    doThrow(new IllegalStateException("boom")).when(scheduledTaskHandler).handle(any());
+
+    service.fire("t1", 1_000L);
+
+    verify(scheduledTaskRepository).release("t1", "replica-1", ScheduledTaskStatus.PENDING,
+        1_000L + 2 * RETRY);
+  }
+
+  @Test
+  void testFire_FailureAfterMaxAttemptsMarksFailed() {
+    when(scheduledTaskRepository.claim(eq("t1"), eq("replica-1"), anyLong(), anyLong()))
+        .thenReturn(1);
+    when(scheduledTaskRepository.findById("t1")).thenReturn(Optional.of(task("t1", 3)));
+    doThrow(new IllegalStateException("boom")).when(scheduledTaskHandler).handle(any());
+
+    service.fire("t1", 1_000L);
+
+    verify(scheduledTaskRepository).release("t1", "replica-1", ScheduledTaskStatus.FAILED,
+        1_000L);
+  }
+
+  @Test
+  void testPurgeCompleted_RunsOnlyAsLeader() {
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return true;
+    }).when(jobLeaseManager).runExclusive(eq(ScheduledTaskService.PURGE_JOB_NAME), any());
+
+    service.purgeCompleted();
+
+    verify(scheduledTaskRepository).deleteCompletedBefore(anyLong());
+  }
+
+  @Test
+  void testPurgeCompleted_SkippedWhenNotLeader() {
+    service.purgeCompleted();
+
+    verify(jobLeaseManager).runExclusive(eq(ScheduledTaskService.PURGE_JOB_NAME), any());
+    verify(scheduledTaskRepository, never()).deleteCompletedBefore(anyLong());
+  }
+}
@@ -0,0 +1,63 @@
+package it.unimol.microserviceassessmentfeedback.service.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.service.TeacherSurveyService;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SurveyLifecycleSchedulerTest {
+
+  @Mock
+  private TeacherSurveyService teacherSurveyService;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  @InjectMocks
+  private SurveyLifecycleScheduler scheduler;
+
+  @Test
+  void testRun_AppliesScheduledTransitions() {
+    runJobsAsLeader();
+
+    scheduler.run();
+
+    verify(teacherSurveyService).applyScheduledTransitions(any(LocalDateTime.class));
+  }
+
+  @Test
+  void testRun_SkippedWhenNotLeader() {
+    scheduler.run();
+
+    verify(jobLeaseManager).runExclusive(eq(SurveyLifecycleScheduler.JOB_NAME), any());
+    verify(teacherSurveyService, never()).applyScheduledTransitions(any(LocalDateTime.class));
+  }
+
+  @Test
+  void testRun_SwallowsErrors() {
+    runJobsAsLeader();
+    when(teacherSurveyService.applyScheduledTransitions(any(LocalDateTime.class)))
+        .thenThrow(new IllegalStateException("db down"));
+
+    assertDoesNotThrow(() -> scheduler.run());
+  }
+
+  private void runJobsAsLeader() {
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return true;
+    }).when(jobLeaseManager).runExclusive(eq(SurveyLifecycleScheduler.JOB_NAME), any());
+  }
+}
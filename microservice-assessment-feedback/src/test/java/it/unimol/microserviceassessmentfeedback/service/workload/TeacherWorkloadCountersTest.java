@@ -0,0 +1,145 @@
+package it.unimol.microserviceassessmentfeedback.service.workload;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherWorkloadCountersTest {
+
+  @Mock
+  private TeacherWorkloadRepository teacherWorkloadRepository;
+
+  @Mock
+  private TeacherWorkloadReconciler teacherWorkloadReconciler;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private TeacherWorkloadCounters counters;
+
+  @BeforeEach
+  void setUp() {
+    counters = new TeacherWorkloadCounters(teacherWorkloadRepository, teacherWorkloadReconciler,
+        transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testRecord_AccumulatesDeltasPerCourse() {
+    counters.assessmentCreated("teacher1", "course1", true);
+    counters.assessmentCreated("teacher1", "course1", false);
+    counters.feedbackCreated("teacher1", "course1", true);
+    counters.surveySubmitted("teacher1", "course2");
+    counters.surveySubmitted("teacher2", "course1");
+
+    assertArrayEquals(new long[] {2, 1, 1, 1, 0}, counters.getPending("teacher1").get("course1"));
+    assertArrayEquals(new long[] {0, 0, 0, 0, 1}, counters.getPending("teacher1").get("course2"));
+  }
+
+  @Test
+  void testRecord_IgnoresMissingCourse() {
+    counters.assessmentCreated("teacher1", null, true);
+
+    assertTrue(counters.getPending("teacher1").isEmpty());
+  }
+
+  @Test
+  void testRecord_InTransactionAppliesOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    counters.assessmentDeleted("teacher1", "course1", true);
+    assertTrue(counters.getPending("teacher1").isEmpty());
+
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    synchronizations.forEach(TransactionSynchronization::afterCommit);
+    assertArrayEquals(new long[] {-1, 0, 0, -1, 0}, counters.getPending("teacher1").get("course1"));
+  }
+
+  @Test
+  void testFlush_WritesAndResetsDeltas() {
+    when(teacherWorkloadRepository.addCounts(eq("teacher1"), eq("course1"), eq(1L), eq(0L),
+        eq(0L), eq(1L), eq(0L), any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(1);
+    counters.assessmentCreated("teacher1", "course1", true);
+
+    counters.flush();
+    counters.flush();
+
+    verify(teacherWorkloadRepository, times(1)).addCounts(anyString(), anyString(), anyLong(),
+        anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class),
+        any(LocalDateTime.class));
+    verify(teacherWorkloadRepository, never()).insertIfAbsent(anyString(), anyString());
+    assertTrue(counters.getPending("teacher1").isEmpty());
+  }
+
+  @Test
+  void testFlush_InsertsMissingRow() {
+    when(teacherWorkloadRepository.addCounts(anyString(), anyString(), anyLong(), anyLong(),
+        anyLong(), anyLong(), anyLong(), any(LocalDateTime.class),
+        any(LocalDateTime.class))).thenReturn(0, 1);
+    counters.surveySubmitted("teacher1", "course1");
+
+    counters.flush();
+
+    verify(teacherWorkloadRepository).insertIfAbsent("teacher1", "course1");
+    verify(teacherWorkloadRepository, times(2)).addCounts(anyString(), anyString(), anyLong(),
+        anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class),
+        any(LocalDateTime.class));
+  }
+
+  @Test
+  void testFlush_DeltasRecordedBeforeReconciliationRecountTheRow() {
+    // La riga esiste ma è stata ricalcolata dopo il delta: nessun incremento viene applicato
+    when(teacherWorkloadRepository.addCounts(anyString(), anyString(), anyLong(), anyLong(),
+        anyLong(), anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+        .thenReturn(0);
+    counters.assessmentCreated("teacher1", "course1", true);
+
+    counters.flush();
+
+    verify(teacherWorkloadReconciler).recount(new TeacherWorkload.Key("teacher1", "course1"));
+    assertTrue(counters.getPending("teacher1").isEmpty());
+  }
+
+  @Test
+  void testFlush_FailureRestoresDeltas() {
+    when(teacherWorkloadRepository.addCounts(anyString(), anyString(), anyLong(), anyLong(),
+        anyLong(), anyLong(), anyLong(), any(LocalDateTime.class),
+        any(LocalDateTime.class)))
+        .thenThrow(new RuntimeException("DB down"));
+    counters.feedbackDeleted("teacher1", "course1", false);
+
+    counters.flush();
+
+    assertArrayEquals(new long[] {0, 0, -1, 0, 0}, counters.getPending("teacher1").get("course1"));
+  }
+}
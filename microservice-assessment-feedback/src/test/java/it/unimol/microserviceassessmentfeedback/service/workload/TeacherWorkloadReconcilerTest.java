@@ -0,0 +1,114 @@
+package it.unimol.microserviceassessmentfeedback.service.workload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository.KeyView;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherWorkloadReconcilerTest {
+
+  @Mock
+  private TeacherWorkloadRepository teacherWorkloadRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private TeacherWorkloadReconciler reconciler;
+
+  @BeforeEach
+  void setUp() {
+    reconciler = new TeacherWorkloadReconciler(teacherWorkloadRepository, transactionManager);
+  }
+
+  @Test
+  void testReconcile_RecountsStoredAndSourceRowsInPlace() {
+    when(teacherWorkloadRepository.findKeys()).thenReturn(List.of(
+        key("teacher1", "course1"), key("pseudonym", "course1")));
+    when(teacherWorkloadRepository.findAssessmentKeys()).thenReturn(List.of(
+        key("teacher1", "course1"), key("teacher1", "course2")));
+    when(teacherWorkloadRepository.findSurveyResponseKeys())
+        .thenReturn(List.of(key("teacher1", "course1")));
+    when(teacherWorkloadRepository.findSurveySubmissionKeys()).thenReturn(List.of());
+    when(teacherWorkloadRepository.recount(anyString(), anyString(), any(LocalDateTime.class)))
+        .thenReturn(1);
+
+    int recounted = reconciler.reconcile();
+
+    assertEquals(3, recounted);
+    verify(teacherWorkloadRepository).deleteEmpty(any(LocalDateTime.class));
+    verify(teacherWorkloadRepository).recount(eq("teacher1"), eq("course1"),
+        any(LocalDateTime.class));
+    verify(teacherWorkloadRepository).recount(eq("pseudonym"), eq("course1"),
+        any(LocalDateTime.class));
+    verify(teacherWorkloadRepository).recount(eq("teacher1"), eq("course2"),
+        any(LocalDateTime.class));
+    verify(teacherWorkloadRepository, never()).insertIfAbsent(anyString(), anyString());
+    // Nessuna sovrascrittura dei contatori letti: un incremento concorrente non va perso
+    verify(teacherWorkloadRepository, never()).saveAll(any());
+  }
+
+  @Test
+  void testRecount_MarksTheRowAfterReadingTheSourceData() {
+    when(teacherWorkloadRepository.recount(eq("teacher1"), eq("course1"),
+        any(LocalDateTime.class))).thenReturn(1);
+
+    LocalDateTime before = LocalDateTime.now(ZoneId.systemDefault());
+    reconciler.recount(new TeacherWorkload.Key("teacher1", "course1"));
+
+    InOrder order = inOrder(teacherWorkloadRepository);
+    order.verify(teacherWorkloadRepository).recount(eq("teacher1"), eq("course1"),
+        any(LocalDateTime.class));
+    ArgumentCaptor<LocalDateTime> reconciledAt = ArgumentCaptor.forClass(LocalDateTime.class);
+    order.verify(teacherWorkloadRepository).markReconciled(eq("teacher1"), eq("course1"),
+        reconciledAt.capture());
+    assertFalse(reconciledAt.getValue().isBefore(before));
+  }
+
+  @Test
+  void testRecount_CreatesMissingRow() {
+    when(teacherWorkloadRepository.recount(eq("teacher1"), eq("course2"),
+        any(LocalDateTime.class))).thenReturn(0, 1);
+
+    reconciler.recount(new TeacherWorkload.Key("teacher1", "course2"));
+
+    verify(teacherWorkloadRepository).insertIfAbsent("teacher1", "course2");
+    verify(teacherWorkloadRepository, times(2)).recount(eq("teacher1"), eq("course2"),
+        any(LocalDateTime.class));
+  }
+
+  private static KeyView key(String teacherId, String courseId) {
+    return new KeyView() {
+      @Override
+      public String getTeacherId() {
+        return teacherId;
+      }
+
+      @Override
+      public String getCourseId() {
+        return courseId;
+      }
+    };
+  }
+}
@@ -0,0 +1,110 @@
+package it.unimol.microserviceassessmentfeedback.service.workload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceassessmentfeedback.dto.TeacherWorkloadDto;
+import it.unimol.microserviceassessmentfeedback.model.TeacherWorkload;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository;
+import it.unimol.microserviceassessmentfeedback.repository.TeacherWorkloadRepository.CountView;
+import it.unimol.microserviceassessmentfeedback.service.scheduling.JobLeaseManager;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherWorkloadServiceTest {
+
+  @Mock
+  private TeacherWorkloadRepository teacherWorkloadRepository;
+
+  @Mock
+  private TeacherWorkloadCounters teacherWorkloadCounters;
+
+  @Mock
+  private TeacherWorkloadReconciler teacherWorkloadReconciler;
+
+  @Mock
+  private JobLeaseManager jobLeaseManager;
+
+  private TeacherWorkloadService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new TeacherWorkloadService(teacherWorkloadRepository, teacherWorkloadCounters,
+        teacherWorkloadReconciler, jobLeaseManager);
+  }
+
+  @Test
+  void testGetWorkload_MergesStoredCountsPendingDeltasAndSurveys() {
+    TeacherWorkload stored = new TeacherWorkload("teacher1", "course1");
+    stored.setAssessments(10);
+    stored.setAssessmentsWithFeedback(6);
+    stored.setFeedback(8);
+    stored.setStudents(5);
+    stored.setSurveySubmissions(6);
+    when(teacherWorkloadRepository.findByTeacherId("teacher1")).thenReturn(List.of(stored));
+    when(teacherWorkloadCounters.getPending("teacher1"))
+        .thenReturn(Map.of("course1", new long[] {2, 1, 1, 0, 1}));
+    when(teacherWorkloadRepository.countSurveysByTeacher("teacher1"))
+        .thenReturn(List.of(surveyCount("course1", 2), surveyCount("course2", 1)));
+
+    List<TeacherWorkloadDto> result = service.getWorkload("teacher1");
+
+    assertEquals(2, result.size());
+    TeacherWorkloadDto course1 = result.get(0);
+    assertEquals("course1", course1.getCourseId());
+    assertEquals(12, course1.getAssessments());
+    assertEquals(5, course1.getPendingGrading());
+    assertEquals(9, course1.getFeedbackWritten());
+    assertEquals(2, course1.getSurveys());
+    assertEquals(7, course1.getSurveySubmissions());
+    assertEquals(0.7, course1.getSurveyResponseRate(), 1e-9);
+
+    TeacherWorkloadDto course2 = result.get(1);
+    assertEquals("course2", course2.getCourseId());
+    assertEquals(0, course2.getAssessments());
+    assertEquals(1, course2.getSurveys());
+    assertNull(course2.getSurveyResponseRate());
+  }
+
+  @Test
+  void testReconcileAll_FlushesBeforeRecomputing() {
+    service.reconcileAll();
+
+    InOrder order = inOrder(teacherWorkloadCounters, teacherWorkloadReconciler);
+    order.verify(teacherWorkloadCounters).flush();
+    order.verify(teacherWorkloadReconciler).reconcile();
+  }
+
+  private static CountView surveyCount(String courseId, long total) {
+    return new CountView() {
+      @Override
+      public String getTeacherId() {
+        return "teacher1";
+      }
+
+      @Override
+      public String getCourseId() {
+        return courseId;
+      }
+
+      @Override
+      public Long getTotal() {
+        return total;
+      }
+
+      @Override
+      public Long getDistinctTotal() {
+        return total;
+      }
+    };
+  }
+}
@@ -2,6 +2,7 @@ package it.unimol.microserviceuserrole;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principale dell'applicazione Microservice User Role.
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * dedicata alla gestione di utenti e ruoli.
  */
 @SpringBootApplication
+@EnableScheduling
 public class MicroserviceUserRoleApplication {
 
   /**
@@ -0,0 +1,214 @@
+package it.unimol.microserviceuserrole.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource che instrada le connessioni tra primario e repliche. Le connessioni delle transazioni
+ * in sola lettura vanno a rotazione sulle repliche il cui ritardo di replica è entro la soglia,
+ * con ripiego sul primario quando nessuna è utilizzabile; tutte le altre vanno al primario.
+ *
+ * <p>La scelta dipende dalla transazione corrente, quindi va usato dietro un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, che prende la
+ * connessione fisica al primo statement, quando la transazione è già stata avviata. Le
+ * transazioni in sola lettura aperte da Spring Data attorno alle singole chiamate ai repository
+ * restano sul primario, salvo configurazione contraria: i servizi le usano anche per leggere
+ * un'entità prima di modificarla fuori da una transazione, e una lettura dalla replica potrebbe
+ * essere vecchia.</p>
+ *
+ * <p>Il ritardo di ogni replica è misurato periodicamente con una query configurabile; una replica
+ * che non risponde o non ha ancora una misura non riceve letture. Sono esposti il numero di
+ * connessioni per destinazione ({@value #ROUTE_METRIC}) e il ritardo per replica
+ * ({@value #LAG_METRIC}).</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+  static final String ROUTE_METRIC = "datasource.routing.connections";
+  static final String LAG_METRIC = "datasource.replica.lag";
+  static final String PRIMARY = "primary";
+
+  private static final String SPRING_DATA_PREFIX = "org.springframework.data.";
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final long maxLagMs;
+  private final String lagQuery;
+  private final boolean repositoryReads;
+  private final MeterRegistry meterRegistry;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Map<String, Counter> routes = new ConcurrentHashMap<>();
+
+  /**
+   * Costruttore del DataSource che instrada le connessioni.
+   *
+   * @param primary il DataSource del primario
+   * @param replicas i DataSource delle repliche per nome, nell'ordine di rotazione
+   * @param maxLagMs il ritardo massimo in millisecondi oltre il quale una replica è esclusa
+   * @param lagQuery la query che restituisce il ritardo di una replica in millisecondi
+   * @param repositoryReads se true anche le transazioni dei repository vanno sulle repliche
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   */
+  public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+      long maxLagMs, String lagQuery, boolean repositoryReads, MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.maxLagMs = maxLagMs;
+    this.lagQuery = lagQuery;
+    this.repositoryReads = repositoryReads;
+    this.meterRegistry = meterRegistry;
+    replicas.forEach((name, dataSource) -> {
+      Replica replica = new Replica(name, dataSource);
+      Gauge.builder(LAG_METRIC, replica, Replica::getLagMs)
+          .description("Ritardo di replica misurato, NaN se la replica non risponde")
+          .baseUnit("milliseconds")
+          .tag("replica", name)
+          .register(meterRegistry);
+      this.replicas.add(replica);
+    });
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return route(null, null);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return route(username, password);
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeQuietly(primary);
+    replicas.forEach(replica -> closeQuietly(replica.dataSource));
+  }
+
+  /**
+   * Restituisce il DataSource del primario.
+   *
+   * @return il DataSource del primario
+   */
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  /**
+   * Misura il ritardo di ogni replica. Una replica che non risponde resta esclusa fino alla misura
+   * successiva andata a buon fine.
+   */
+  @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-ms:5000}")
+  public void checkLag() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection();
+          Statement statement = connection.createStatement();
+          ResultSet result = statement.executeQuery(lagQuery)) {
+        replica.update(result.next() ? result.getDouble(1) : 0);
+      } catch (SQLException e) {
+        replica.markUnavailable(e.getMessage());
+      }
+    }
+  }
+
+  private Connection route(String username, String password) throws SQLException {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return open(primary, PRIMARY, "read-write", username, password);
+    }
+    if (!repositoryReads && isRepositoryTransaction()) {
+      return open(primary, PRIMARY, "repository", username, password);
+    }
+    for (int attempt = 0; attempt < replicas.size(); attempt++) {
+      Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+      if (replica.isEligible(maxLagMs)) {
+        try {
+          return open(replica.dataSource, replica.name, "read-only", username, password);
+        } catch (SQLException e) {
+          replica.markUnavailable(e.getMessage());
+        }
+      }
+    }
+    return open(primary, PRIMARY, "fallback", username, password);
+  }
+
+  private Connection open(DataSource target, String name, String reason, String username,
+      String password) throws SQLException {
+    Connection connection = username == null
+        ? target.getConnection()
+        : target.getConnection(username, password);
+    routes.computeIfAbsent(name + '|' + reason, key -> Counter.builder(ROUTE_METRIC)
+            .description("Connessioni aperte per destinazione e motivo")
+            .tag("target", name)
+            .tag("reason", reason)
+            .register(meterRegistry))
+        .increment();
+    return connection;
+  }
+
+  private static boolean isRepositoryTransaction() {
+    String name = TransactionSynchronizationManager.getCurrentTransactionName();
+    return name != null && name.startsWith(SPRING_DATA_PREFIX);
+  }
+
+  private static void closeQuietly(DataSource dataSource) {
+    if (dataSource instanceof Closeable closeable) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        logger.warn("Error closing data source: {}", e.getMessage());
+      }
+    }
+  }
+
+  private static final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile double lagMs = Double.NaN;
+
+    private Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    private double getLagMs() {
+      return lagMs;
+    }
+
+    private boolean isEligible(long maxLagMs) {
+      return lagMs <= maxLagMs;
+    }
+
+    private void update(double measuredLagMs) {
+      if (Double.isNaN(lagMs)) {
+        logger.info("Read replica {} available, lag {} ms", name, Math.round(measuredLagMs));
+      }
+      lagMs = measuredLagMs;
+    }
+
+    private void markUnavailable(String reason) {
+      if (!Double.isNaN(lagMs)) {
+        logger.warn("Read replica {} unavailable, reads fall back to the primary: {}", name,
+            reason);
+      }
+      lagMs = Double.NaN;
+    }
+  }
+}
@@ -10,6 +10,7 @@ import it.unimol.microserviceuserrole.dto.auth.ChangePasswordRequestDto;
 import it.unimol.microserviceuserrole.dto.role.AssignRoleDto;
 import it.unimol.microserviceuserrole.dto.user.CreateUserDto;
 import it.unimol.microserviceuserrole.dto.user.UpdateUserProfileDto;
+import it.unimol.microserviceuserrole.dto.user.UserChangesPageDto;
 import it.unimol.microserviceuserrole.dto.user.UserDto;
 import it.unimol.microserviceuserrole.dto.user.UserProfileDto;
 import it.unimol.microserviceuserrole.enums.RoleType;
@@ -17,6 +18,7 @@ import it.unimol.microserviceuserrole.exceptions.InvalidRequestException;
 import it.unimol.microserviceuserrole.exceptions.UnknownUserException;
 import it.unimol.microserviceuserrole.service.RoleService;
 import it.unimol.microserviceuserrole.service.TokenJwtService;
+import it.unimol.microserviceuserrole.service.UserChangeFeedService;
 import it.unimol.microserviceuserrole.service.UserService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -32,6 +34,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -52,6 +55,9 @@ public class UserController {
   @Autowired
   private TokenJwtService tokenService;
 
+  @Autowired
+  private UserChangeFeedService userChangeFeedService;
+
   // ============= ENDPOINTS PUBBLICI =============
 
   /**
@@ -142,6 +148,42 @@ public class UserController {
     }
   }
 
+  /**
+   * Restituisce le modifiche degli utenti successive a un cursore, per il bootstrap e la
+   * risincronizzazione dei servizi che mantengono una copia degli utenti.
+   *
+   * @param authHeader l'header Authorization contenente il token JWT
+   * @param since l'ultimo numero di sequenza già elaborato, 0 per partire dall'inizio
+   * @param limit il numero massimo di modifiche da restituire
+   * @return la pagina di modifiche con il cursore successivo
+   */
+  @Operation(summary = "Feed modifiche utenti", description = "Restituisce, in ordine di "
+      + "sequenza, gli utenti creati, modificati o cancellati dopo il cursore indicato")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Pagina di modifiche recuperata"),
+      @ApiResponse(responseCode = "400", description = "Cursore non valido"),
+      @ApiResponse(responseCode = "403", description = "Privilegi insufficienti")
+  })
+  @GetMapping("/changes")
+  public ResponseEntity<UserChangesPageDto> getUserChanges(
+      @RequestHeader("Authorization") String authHeader,
+      @RequestParam(defaultValue = "0") long since,
+      @RequestParam(defaultValue = "500") int limit) {
+    try {
+      String token = tokenService.extractTokenFromHeader(authHeader);
+      roleService.checkRole(token, RoleType.ADMIN);
+
+      if (since < 0) {
+        return ResponseEntity.badRequest().build();
+      }
+      return ResponseEntity.ok(userChangeFeedService.getChanges(since, limit));
+    } catch (SecurityException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
   /**
    * Ottiene i dettagli di un utente specifico.
    *
@@ -0,0 +1,27 @@
+package it.unimol.microserviceuserrole.dto.user;
+
+/**
+ * DTO compatto che rappresenta una modifica di un utente nel feed delle modifiche.
+ * Per le cancellazioni sono valorizzati solo il numero di sequenza, l'ID e il tipo.
+ *
+ * @param seq il numero di sequenza della modifica
+ * @param userId l'identificativo dell'utente
+ * @param changeType il tipo di modifica, {@code UPSERT} o {@code DELETE}
+ * @param username il nome utente
+ * @param email l'indirizzo email
+ * @param name il nome dell'utente
+ * @param surname il cognome dell'utente
+ * @param roleName il nome del ruolo dell'utente
+ */
+public record UserChangeDto(
+    long seq,
+    String userId,
+    String changeType,
+    String username,
+    String email,
+    String name,
+    String surname,
+    String roleName
+) {
+
+}
@@ -0,0 +1,20 @@
+package it.unimol.microserviceuserrole.dto.user;
+
+import java.util.List;
+
+/**
+ * DTO che rappresenta una pagina del feed delle modifiche degli utenti.
+ * Il consumer richiede la pagina successiva passando {@code nextCursor} come cursore finché
+ * {@code hasMore} è true.
+ *
+ * @param changes le modifiche della pagina, in ordine di sequenza crescente
+ * @param nextCursor il cursore da usare per la richiesta successiva
+ * @param hasMore true se esistono altre modifiche oltre questa pagina
+ */
+public record UserChangesPageDto(
+    List<UserChangeDto> changes,
+    long nextCursor,
+    boolean hasMore
+) {
+
+}
@@ -0,0 +1,18 @@
+package it.unimol.microserviceuserrole.exceptions;
+
+/**
+ * Eccezione lanciata quando un job di background non detiene più il lease con cui è stato
+ * avviato. Annulla la transazione in corso, così le scritture di un leader scaduto non vengono
+ * confermate.
+ */
+public class LeaseLostException extends RuntimeException {
+
+  /**
+   * Costruisce una nuova LeaseLostException con il messaggio specificato.
+   *
+   * @param message il messaggio di errore dettagliato
+   */
+  public LeaseLostException(String message) {
+    super(message);
+  }
+}
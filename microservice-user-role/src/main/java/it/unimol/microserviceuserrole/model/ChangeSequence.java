@@ -0,0 +1,102 @@
+package it.unimol.microserviceuserrole.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Entità JPA che rappresenta un contatore di sequenza condiviso tra le repliche.
+ * L'incremento avviene con un aggiornamento sulla riga, che resta bloccata fino al commit della
+ * transazione: i numeri vengono quindi assegnati e resi visibili nello stesso ordine.
+ */
+@Entity
+@Table(name = "change_sequences")
+public class ChangeSequence {
+
+  @Id
+  @Column(name = "name")
+  private String name;
+
+  @Column(name = "seq_value", nullable = false)
+  private long value;
+
+
+  /**
+   * Costruttore vuoto richiesto da JPA.
+   */
+  public ChangeSequence() {
+  }
+
+  /**
+   * Costruttore di una sequenza che parte da zero.
+   *
+   * @param name il nome della sequenza
+   */
+  public ChangeSequence(String name) {
+    this.name = name;
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ChangeSequence that)) {
+      return false;
+    }
+    return Objects.equals(name, that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name);
+  }
+
+  @Override
+  public String toString() {
+    return "ChangeSequence{"
+        + "name='" + name + '\''
+        + ", value=" + value
+        + '}';
+  }
+
+
+  /**
+   * Restituisce il nome della sequenza.
+   *
+   * @return il nome della sequenza
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Imposta il nome della sequenza.
+   *
+   * @param name il nome della sequenza
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Restituisce l'ultimo valore assegnato.
+   *
+   * @return l'ultimo valore assegnato
+   */
+  public long getValue() {
+    return value;
+  }
+
+  /**
+   * Imposta l'ultimo valore assegnato.
+   *
+   * @param value l'ultimo valore assegnato
+   */
+  public void setValue(long value) {
+    this.value = value;
+  }
+}
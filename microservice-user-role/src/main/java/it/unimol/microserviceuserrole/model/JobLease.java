@@ -0,0 +1,189 @@
+package it.unimol.microserviceuserrole.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Entità JPA che rappresenta il lease di un job di background condiviso tra le repliche.
+ * La replica che detiene il lease è l'unica autorizzata a eseguire il job finché rinnova
+ * l'heartbeat; il fencing token cresce a ogni cambio di proprietario.
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+  @Id
+  @Column(name = "job_name")
+  private String jobName;
+
+  @Column(name = "owner")
+  private String owner;
+
+  @Column(name = "fencing_token", nullable = false)
+  private long fencingToken;
+
+  @Column(name = "lease_until", nullable = false)
+  private long leaseUntil;
+
+  @Column(name = "heartbeat_at")
+  private Long heartbeatAt;
+
+  @Column(name = "acquired_at")
+  private Long acquiredAt;
+
+
+  /**
+   * Costruttore vuoto richiesto da JPA.
+   */
+  public JobLease() {
+  }
+
+  /**
+   * Costruttore di un lease libero, senza proprietario.
+   *
+   * @param jobName il nome del job
+   */
+  public JobLease(String jobName) {
+    this.jobName = jobName;
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof JobLease that)) {
+      return false;
+    }
+    return Objects.equals(jobName, that.jobName);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(jobName);
+  }
+
+  @Override
+  public String toString() {
+    return "JobLease{"
+        + "jobName='" + jobName + '\''
+        + ", owner='" + owner + '\''
+        + ", fencingToken=" + fencingToken
+        + ", leaseUntil=" + leaseUntil
+        + ", heartbeatAt=" + heartbeatAt
+        + '}';
+  }
+
+
+  /**
+   * Restituisce il nome del job.
+   *
+   * @return il nome del job
+   */
+  public String getJobName() {
+    return jobName;
+  }
+
+  /**
+   * Imposta il nome del job.
+   *
+   * @param jobName il nome del job
+   */
+  public void setJobName(String jobName) {
+    this.jobName = jobName;
+  }
+
+  /**
+   * Restituisce la replica che detiene il lease.
+   *
+   * @return l'identificativo della replica proprietaria
+   */
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * Imposta la replica che detiene il lease.
+   *
+   * @param owner l'identificativo della replica proprietaria
+   */
+  public void setOwner(String owner) {
+    this.owner = owner;
+  }
+
+  /**
+   * Restituisce il fencing token corrente.
+   *
+   * @return il fencing token
+   */
+  public long getFencingToken() {
+    return fencingToken;
+  }
+
+  /**
+   * Imposta il fencing token corrente.
+   *
+   * @param fencingToken il fencing token
+   */
+  public void setFencingToken(long fencingToken) {
+    this.fencingToken = fencingToken;
+  }
+
+  /**
+   * Restituisce la scadenza del lease.
+   *
+   * @return la scadenza in epoch millis
+   */
+  public long getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  /**
+   * Imposta la scadenza del lease.
+   *
+   * @param leaseUntil la scadenza in epoch millis
+   */
+  public void setLeaseUntil(long leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  /**
+   * Restituisce l'istante dell'ultimo heartbeat.
+   *
+   * @return l'ultimo heartbeat in epoch millis
+   */
+  public Long getHeartbeatAt() {
+    return heartbeatAt;
+  }
+
+  /**
+   * Imposta l'istante dell'ultimo heartbeat.
+   *
+   * @param heartbeatAt l'ultimo heartbeat in epoch millis
+   */
+  public void setHeartbeatAt(Long heartbeatAt) {
+    this.heartbeatAt = heartbeatAt;
+  }
+
+  /**
+   * Restituisce l'istante di acquisizione del lease.
+   *
+   * @return l'acquisizione in epoch millis
+   */
+  public Long getAcquiredAt() {
+    return acquiredAt;
+  }
+
+  /**
+   * Imposta l'istante di acquisizione del lease.
+   *
+   * @param acquiredAt l'acquisizione in epoch millis
+   */
+  public void setAcquiredAt(Long acquiredAt) {
+    this.acquiredAt = acquiredAt;
+  }
+}
@@ -1,18 +1,29 @@
 package it.unimol.microserviceuserrole.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entità JPA che rappresenta un ruolo utente nel sistema.
  * Ogni ruolo ha un identificativo univoco, un nome e una descrizione opzionale.
+ *
+ * <p>Con il profilo {@code l2cache} l'entità è conservata nella cache di secondo livello di
+ * Hibernate, nella regione {@value #CACHE_REGION}, con strategia read-write: il ruolo viene
+ * caricato insieme a ogni utente e cambia di rado.</p>
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 @Table(name = "roles")
 public class Role {
 
+  public static final String CACHE_REGION = "roles";
+
   @Id
   @Column(name = "roleId", nullable = false, length = 255)
   private String id;
@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +18,9 @@ import java.util.Objects;
  * e il ruolo assegnato.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_change_seq", columnList = "change_seq")
+})
 public class User {
 
   @Id
@@ -48,6 +51,9 @@ public class User {
   @JoinColumn(name = "role_id")
   private Role role;
 
+  @Column(name = "change_seq")
+  private Long changeSeq;
+
   /**
    * Costruttore vuoto richiesto da JPA.
    * Inizializza automaticamente la data di creazione.
@@ -250,6 +256,24 @@ public class User {
     return role != null ? role.getName() : null;
   }
 
+  /**
+   * Restituisce il numero di sequenza dell'ultima modifica dell'utente.
+   *
+   * @return il numero di sequenza, null se l'utente non è ancora stato registrato nel feed
+   */
+  public Long getChangeSeq() {
+    return changeSeq;
+  }
+
+  /**
+   * Imposta il numero di sequenza dell'ultima modifica dell'utente.
+   *
+   * @param changeSeq il nuovo numero di sequenza
+   */
+  public void setChangeSeq(Long changeSeq) {
+    this.changeSeq = changeSeq;
+  }
+
   /**
    * Aggiorna la data dell'ultimo accesso all'istante corrente.
    */
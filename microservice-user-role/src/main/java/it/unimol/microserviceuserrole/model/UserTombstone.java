@@ -0,0 +1,132 @@
+package it.unimol.microserviceuserrole.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Entità JPA che registra la cancellazione di un utente nel feed delle modifiche.
+ * Non conserva dati personali: solo l'ID dell'utente e il numero di sequenza della
+ * cancellazione, così che i consumer possano rimuovere l'utente dalle proprie copie.
+ */
+@Entity
+@Table(name = "user_tombstones", indexes = {
+    @Index(name = "idx_user_tombstones_change_seq", columnList = "change_seq")
+})
+public class UserTombstone {
+
+  @Id
+  @Column(name = "user_id")
+  private String userId;
+
+  @Column(name = "change_seq", nullable = false)
+  private long changeSeq;
+
+  @Column(name = "deleted_at", nullable = false)
+  private LocalDateTime deletedAt;
+
+
+  /**
+   * Costruttore vuoto richiesto da JPA.
+   */
+  public UserTombstone() {
+  }
+
+  /**
+   * Costruttore della cancellazione di un utente.
+   *
+   * @param userId l'ID dell'utente cancellato
+   * @param changeSeq il numero di sequenza della cancellazione
+   */
+  public UserTombstone(String userId, long changeSeq) {
+    this.userId = userId;
+    this.changeSeq = changeSeq;
+    this.deletedAt = LocalDateTime.now(ZoneId.systemDefault());
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof UserTombstone that)) {
+      return false;
+    }
+    return Objects.equals(userId, that.userId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(userId);
+  }
+
+  @Override
+  public String toString() {
+    return "UserTombstone{"
+        + "userId='" + userId + '\''
+        + ", changeSeq=" + changeSeq
+        + ", deletedAt=" + deletedAt
+        + '}';
+  }
+
+
+  /**
+   * Restituisce l'ID dell'utente cancellato.
+   *
+   * @return l'ID dell'utente
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Imposta l'ID dell'utente cancellato.
+   *
+   * @param userId l'ID dell'utente
+   */
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Restituisce il numero di sequenza della cancellazione.
+   *
+   * @return il numero di sequenza
+   */
+  public long getChangeSeq() {
+    return changeSeq;
+  }
+
+  /**
+   * Imposta il numero di sequenza della cancellazione.
+   *
+   * @param changeSeq il numero di sequenza
+   */
+  public void setChangeSeq(long changeSeq) {
+    this.changeSeq = changeSeq;
+  }
+
+  /**
+   * Restituisce la data della cancellazione.
+   *
+   * @return la data della cancellazione
+   */
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  /**
+   * Imposta la data della cancellazione.
+   *
+   * @param deletedAt la data della cancellazione
+   */
+  public void setDeletedAt(LocalDateTime deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+}
@@ -0,0 +1,27 @@
+package it.unimol.microserviceuserrole.repository;
+
+import it.unimol.microserviceuserrole.model.ChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository dei contatori di sequenza. L'incremento blocca la riga fino al commit della
+ * transazione chiamante, quindi va sempre eseguito nella stessa transazione della modifica.
+ */
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+
+  @Modifying
+  @Query("INSERT INTO ChangeSequence (name, value) VALUES (:name, 0) ON CONFLICT DO NOTHING")
+  int insertIfAbsent(@Param("name") String name);
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE ChangeSequence s SET s.value = s.value + 1 WHERE s.name = :name")
+  int increment(@Param("name") String name);
+
+  @Query("SELECT s.value FROM ChangeSequence s WHERE s.name = :name")
+  Long current(@Param("name") String name);
+}
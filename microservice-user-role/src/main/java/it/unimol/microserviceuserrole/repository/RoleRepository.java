@@ -1,8 +1,11 @@
 package it.unimol.microserviceuserrole.repository;
 
 import it.unimol.microserviceuserrole.model.Role;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,6 +15,28 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, String> {
 
+  String ALL_ROLES_CACHE_REGION = "roles-all";
+  String ROLES_BY_NAME_CACHE_REGION = "roles-by-name";
+
+  /**
+   * Restituisce tutti i ruoli. Con il profilo {@code l2cache} il risultato è conservato nella
+   * cache delle query, invalidata da ogni modifica alla tabella dei ruoli.
+   */
+  @Override
+  @QueryHints({
+      @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+      @QueryHint(name = "org.hibernate.cacheRegion", value = ALL_ROLES_CACHE_REGION)
+  })
+  List<Role> findAll();
+
+  /**
+   * Restituisce il ruolo con il nome indicato. Con il profilo {@code l2cache} il risultato è
+   * conservato nella cache delle query.
+   */
+  @QueryHints({
+      @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+      @QueryHint(name = "org.hibernate.cacheRegion", value = ROLES_BY_NAME_CACHE_REGION)
+  })
   Optional<Role> findByName(String name);
 
   boolean existsByName(String name);
@@ -3,6 +3,7 @@ package it.unimol.microserviceuserrole.repository;
 import it.unimol.microserviceuserrole.model.User;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,4 +32,8 @@ public interface UserRepository extends JpaRepository<User, String> {
 
   @Query("SELECT COUNT(u) FROM User u WHERE u.role.name = 'SUPER_ADMIN'")
   long countSuperAdmins();
+
+  List<User> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long changeSeq, Pageable pageable);
+
+  List<User> findByChangeSeqIsNull(Pageable pageable);
 }
\ No newline at end of file
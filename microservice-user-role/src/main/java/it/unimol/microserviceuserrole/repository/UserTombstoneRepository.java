@@ -0,0 +1,17 @@
+package it.unimol.microserviceuserrole.repository;
+
+import it.unimol.microserviceuserrole.model.UserTombstone;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository delle cancellazioni di utenti registrate nel feed delle modifiche.
+ */
+@Repository
+public interface UserTombstoneRepository extends JpaRepository<UserTombstone, String> {
+
+  List<UserTombstone> findByChangeSeqGreaterThanOrderByChangeSeqAsc(long changeSeq,
+      Pageable pageable);
+}
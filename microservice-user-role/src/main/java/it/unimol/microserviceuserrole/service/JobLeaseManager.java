@@ -0,0 +1,284 @@
+package it.unimol.microserviceuserrole.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import it.unimol.microserviceuserrole.exceptions.LeaseLostException;
+import it.unimol.microserviceuserrole.repository.JobLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leader election per i job di background basata su lease nel database.
+ *
+ * <p>Ogni job ha una riga nella tabella {@code job_leases}: la replica che la acquisisce con un
+ * aggiornamento condizionale diventa leader per quel job finché rinnova l'heartbeat. Se la
+ * replica leader si ferma, il lease scade dopo {@code jobs.lease.duration-ms} e la prima replica
+ * in attesa lo acquisisce al successivo heartbeat, quindi il failover avviene in pochi secondi.
+ * A ogni cambio di proprietario il fencing token cresce: i job a chunk invocano
+ * {@link #confirmLease(String)} prima del commit di ogni chunk, così le scritture di un leader
+ * ormai scaduto vengono annullate.</p>
+ *
+ * <p>L'heartbeat gira su un proprio scheduler a thread singolo e non su quello condiviso dai job
+ * {@code @Scheduled}: un job lungo non può ritardare il rinnovo e far scadere il lease durante la
+ * sua stessa esecuzione.</p>
+ *
+ * <p>Il lease è considerato valido localmente fino a {@code jobs.lease.clock-skew-ms} prima della
+ * scadenza scritta sul database, per tollerare piccole differenze di orologio tra le repliche.</p>
+ */
+@Component
+public class JobLeaseManager {
+
+  static final String RUNS_METRIC = "jobs.runs";
+  static final String DURATION_METRIC = "jobs.duration";
+  static final String LEADER_METRIC = "jobs.leader";
+  static final String TRANSITIONS_METRIC = "jobs.lease.transitions";
+
+  private static final Logger logger = LoggerFactory.getLogger(JobLeaseManager.class);
+
+  private final JobLeaseRepository jobLeaseRepository;
+  private final MeterRegistry meterRegistry;
+  private final long leaseMs;
+  private final long clockSkewMs;
+  private final long heartbeatMs;
+  private final String instanceId;
+
+  private final Set<String> jobs = ConcurrentHashMap.newKeySet();
+  private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+  private ThreadPoolTaskScheduler heartbeatScheduler;
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param jobLeaseRepository il repository dei lease
+   * @param meterRegistry il registry Micrometer dell'applicazione
+   * @param leaseMs la durata del lease, cioè il tempo massimo di failover
+   * @param clockSkewMs il margine sottratto alla scadenza per tollerare lo sfasamento degli orologi
+   * @param heartbeatMs l'intervallo tra due rinnovi dei lease
+   * @param instanceId l'identificativo della replica; se vuoto viene generato
+   */
+  public JobLeaseManager(JobLeaseRepository jobLeaseRepository, MeterRegistry meterRegistry,
+      @Value("${jobs.lease.duration-ms:15000}") long leaseMs,
+      @Value("${jobs.lease.clock-skew-ms:1000}") long clockSkewMs,
+      @Value("${jobs.lease.heartbeat-ms:5000}") long heartbeatMs,
+      @Value("${jobs.lease.instance-id:}") String instanceId) {
+    this.jobLeaseRepository = jobLeaseRepository;
+    this.meterRegistry = meterRegistry;
+    this.leaseMs = Math.max(1L, leaseMs);
+    this.clockSkewMs = Math.max(0L, Math.min(clockSkewMs, this.leaseMs / 2));
+    this.heartbeatMs = Math.max(1L, heartbeatMs);
+    this.instanceId = instanceId == null || instanceId.isBlank()
+        ? UUID.randomUUID().toString() : instanceId;
+  }
+
+  /**
+   * Restituisce l'identificativo con cui la replica acquisisce i lease.
+   *
+   * @return l'identificativo della replica
+   */
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * Indica se questa replica detiene un lease valido per il job.
+   *
+   * @param jobName il nome del job
+   * @return true se la replica è leader per il job
+   */
+  public boolean isLeader(String jobName) {
+    Lease lease = leases.get(jobName);
+    return lease != null && lease.validUntil() > System.currentTimeMillis();
+  }
+
+  /**
+   * Restituisce il fencing token del lease detenuto da questa replica.
+   *
+   * @param jobName il nome del job
+   * @return il fencing token, vuoto se la replica non è leader
+   */
+  public OptionalLong getFencingToken(String jobName) {
+    Lease lease = leases.get(jobName);
+    return lease != null && lease.validUntil() > System.currentTimeMillis()
+        ? OptionalLong.of(lease.token()) : OptionalLong.empty();
+  }
+
+  /**
+   * Avvia l'heartbeat dei lease sul suo scheduler dedicato.
+   */
+  @PostConstruct
+  public void startHeartbeat() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("job-lease-heartbeat-");
+    scheduler.setDaemon(true);
+    scheduler.initialize();
+    scheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofMillis(heartbeatMs));
+    heartbeatScheduler = scheduler;
+  }
+
+  /**
+   * Conferma, nella transazione corrente, che questa replica detiene ancora il lease del job.
+   *
+   * <p>Va invocato dai job a chunk subito prima del commit di ogni chunk. Il rinnovo è
+   * condizionato al fencing token e tiene bloccata la riga del lease fino al commit, quindi
+   * nessun'altra replica può acquisirlo finché il chunk non è confermato. Se il lease è stato
+   * perso l'eccezione annulla la transazione.</p>
+   *
+   * @param jobName il nome del job
+   * @throws LeaseLostException se il lease è scaduto o è stato acquisito da un'altra replica
+   */
+  public void confirmLease(String jobName) {
+    Lease lease = leases.get(jobName);
+    long now = System.currentTimeMillis();
+    if (lease == null || jobLeaseRepository.renew(jobName, instanceId, lease.token(), now,
+        now + leaseMs) == 0) {
+      throw new LeaseLostException("Lease del job " + jobName + " non più detenuto da "
+          + instanceId);
+    }
+  }
+
+  /**
+   * Esegue il job solo se questa replica è leader, acquisendo il lease se libero.
+   * Esecuzioni, durata ed esito sono registrati come metriche; le eccezioni del job vengono
+   * conteggiate come errori e rilanciate.
+   *
+   * @param jobName il nome del job
+   * @param job la logica del job
+   * @return true se il job è stato eseguito da questa replica
+   */
+  public boolean runExclusive(String jobName, Runnable job) {
+    register(jobName);
+    long now = System.currentTimeMillis();
+    Lease lease = leases.get(jobName);
+    if ((lease == null || lease.validUntil() <= now) && !tryAcquire(jobName, now)) {
+      runs(jobName, "skipped").increment();
+      return false;
+    }
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "failure";
+    try {
+      job.run();
+      outcome = "success";
+    } finally {
+      sample.stop(Timer.builder(DURATION_METRIC)
+          .description("Durata delle esecuzioni dei job di background")
+          .tag("job", jobName)
+          .tag("outcome", outcome)
+          .register(meterRegistry));
+      runs(jobName, outcome).increment();
+    }
+    return true;
+  }
+
+  /**
+   * Rinnova i lease detenuti e prova ad acquisire quelli scaduti dei job registrati.
+   */
+  public void heartbeat() {
+    long now = System.currentTimeMillis();
+    for (String jobName : jobs) {
+      try {
+        Lease lease = leases.get(jobName);
+        if (lease == null) {
+          tryAcquire(jobName, now);
+        } else if (jobLeaseRepository.renew(jobName, instanceId, lease.token(), now,
+            now + leaseMs) == 1) {
+          leases.put(jobName, new Lease(lease.token(), now + leaseMs - clockSkewMs));
+        } else {
+          leases.remove(jobName);
+          transition(jobName, "lost");
+          logger.warn("Lost lease for job {} (fencing token {})", jobName, lease.token());
+        }
+      } catch (DataAccessException e) {
+        logger.warn("Error renewing lease for job {}: {}", jobName, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Rilascia i lease detenuti alla chiusura del contesto, così un'altra replica può acquisirli
+   * senza attenderne la scadenza.
+   */
+  @PreDestroy
+  public void releaseAll() {
+    if (heartbeatScheduler != null) {
+      heartbeatScheduler.shutdown();
+      heartbeatScheduler = null;
+    }
+    leases.forEach((jobName, lease) -> {
+      try {
+        if (jobLeaseRepository.release(jobName, instanceId, lease.token()) == 1) {
+          transition(jobName, "released");
+          logger.info("Released lease for job {}", jobName);
+        }
+      } catch (DataAccessException e) {
+        logger.warn("Error releasing lease for job {}: {}", jobName, e.getMessage());
+      }
+    });
+    leases.clear();
+  }
+
+  boolean tryAcquire(String jobName, long now) {
+    if (!jobLeaseRepository.existsById(jobName)) {
+      jobLeaseRepository.insertIfAbsent(jobName);
+    }
+    if (jobLeaseRepository.acquire(jobName, instanceId, now, now + leaseMs) == 0) {
+      return false;
+    }
+
+    Long token = jobLeaseRepository.findFencingToken(jobName);
+    if (token == null) {
+      return false;
+    }
+    leases.put(jobName, new Lease(token, now + leaseMs - clockSkewMs));
+    transition(jobName, "acquired");
+    logger.info("Acquired lease for job {} (fencing token {})", jobName, token);
+    return true;
+  }
+
+  private void register(String jobName) {
+    if (jobs.add(jobName)) {
+      Gauge.builder(LEADER_METRIC, this, manager -> manager.isLeader(jobName) ? 1 : 0)
+          .description("1 se la replica è leader per il job, 0 altrimenti")
+          .tag("job", jobName)
+          .register(meterRegistry);
+    }
+  }
+
+  private Counter runs(String jobName, String outcome) {
+    return Counter.builder(RUNS_METRIC)
+        .description("Esecuzioni dei job di background per esito")
+        .tag("job", jobName)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private void transition(String jobName, String event) {
+    Counter.builder(TRANSITIONS_METRIC)
+        .description("Acquisizioni, perdite e rilasci dei lease dei job")
+        .tag("job", jobName)
+        .tag("event", event)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  /**
+   * Lease detenuto localmente con il relativo fencing token.
+   */
+  record Lease(long token, long validUntil) {
+  }
+}
@@ -15,6 +15,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Servizio per la gestione dei ruoli utente.
@@ -38,6 +39,9 @@ public class RoleService {
   @Autowired
   private MessageService messageService;
 
+  @Autowired
+  private UserChangeFeedService userChangeFeedService;
+
   /**
    * Restituisce tutti i ruoli presenti nel sistema.
    *
@@ -139,6 +143,7 @@ public class RoleService {
    * @return true se il role è stato assegnato, false se l'utente ha già quel role.
    * @throws IllegalArgumentException Se l'utente o il role non esistono.
    */
+  @Transactional
   public boolean assignRole(String userId, String roleId)
       throws UnknownUserException, InvalidRequestException {
 
@@ -154,6 +159,7 @@ public class RoleService {
     }
 
     user.setRole(role);
+    userChangeFeedService.markChanged(user);
     userRepository.save(user);
 
     messageService.publishRoleAssigned(userId, roleId);
@@ -168,6 +174,7 @@ public class RoleService {
    * @return true se il ruolo è stato rimosso, false se l'utente non aveva un ruolo.
    * @throws UnknownUserException Se l'utente non esiste.
    */
+  @Transactional
   public boolean removeRole(String userId) throws UnknownUserException {
     User user = userRepository.findById(userId)
         .orElseThrow(() -> new UnknownUserException("Utente con ID '" + userId + "' non trovato"));
@@ -177,6 +184,7 @@ public class RoleService {
     }
 
     user.setRole(null);
+    userChangeFeedService.markChanged(user);
     userRepository.save(user);
 
     return true;
@@ -0,0 +1,173 @@
+package it.unimol.microserviceuserrole.service;
+
+import it.unimol.microserviceuserrole.dto.user.UserChangeDto;
+import it.unimol.microserviceuserrole.dto.user.UserChangesPageDto;
+import it.unimol.microserviceuserrole.model.User;
+import it.unimol.microserviceuserrole.model.UserTombstone;
+import it.unimol.microserviceuserrole.repository.ChangeSequenceRepository;
+import it.unimol.microserviceuserrole.repository.UserRepository;
+import it.unimol.microserviceuserrole.repository.UserTombstoneRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Feed delle modifiche degli utenti per il bootstrap e la risincronizzazione dei consumer.
+ *
+ * <p>Ogni scrittura su un utente gli assegna il numero successivo della sequenza
+ * {@code users}; le cancellazioni lasciano una tombstone con il proprio numero. L'incremento
+ * blocca la riga della sequenza fino al commit, quindi le modifiche diventano visibili nello
+ * stesso ordine dei numeri: un consumer che legge "tutto ciò che segue il cursore" non salta mai
+ * una modifica confermata dopo la sua lettura. Poiché ogni utente conserva solo l'ultimo numero,
+ * il feed restituisce lo stato corrente di ciascun utente modificato e non la cronologia
+ * completa.</p>
+ */
+@Service
+public class UserChangeFeedService {
+
+  static final String SEQUENCE_NAME = "users";
+  static final String CHANGE_UPSERT = "UPSERT";
+  static final String CHANGE_DELETE = "DELETE";
+
+  private static final Logger logger = LoggerFactory.getLogger(UserChangeFeedService.class);
+
+  private final ChangeSequenceRepository changeSequenceRepository;
+  private final UserRepository userRepository;
+  private final UserTombstoneRepository userTombstoneRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxPageSize;
+  private final int backfillBatchSize;
+
+  /**
+   * Costruttore con iniezione delle dipendenze e della configurazione.
+   *
+   * @param changeSequenceRepository il repository dei contatori di sequenza
+   * @param userRepository il repository degli utenti
+   * @param userTombstoneRepository il repository delle cancellazioni
+   * @param transactionManager il transaction manager usato dal backfill all'avvio
+   * @param maxPageSize il numero massimo di modifiche restituite per pagina
+   * @param backfillBatchSize il numero di utenti numerati per transazione durante il backfill
+   */
+  public UserChangeFeedService(ChangeSequenceRepository changeSequenceRepository,
+      UserRepository userRepository, UserTombstoneRepository userTombstoneRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${users.change-feed.max-page-size:1000}") int maxPageSize,
+      @Value("${users.change-feed.backfill-batch-size:500}") int backfillBatchSize) {
+    this.changeSequenceRepository = changeSequenceRepository;
+    this.userRepository = userRepository;
+    this.userTombstoneRepository = userTombstoneRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxPageSize = Math.max(1, maxPageSize);
+    this.backfillBatchSize = Math.max(1, backfillBatchSize);
+  }
+
+  /**
+   * Assegna all'utente il numero di sequenza successivo. Va chiamato nella transazione che
+   * salva l'utente, prima del salvataggio.
+   *
+   * @param user l'utente modificato
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void markChanged(User user) {
+    user.setChangeSeq(nextSequence());
+  }
+
+  /**
+   * Registra la cancellazione di un utente. Va chiamato nella transazione che elimina l'utente.
+   *
+   * @param userId l'ID dell'utente cancellato
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordDeletion(String userId) {
+    userTombstoneRepository.save(new UserTombstone(userId, nextSequence()));
+  }
+
+  /**
+   * Restituisce le modifiche successive al cursore, in ordine di sequenza crescente.
+   *
+   * @param since il cursore, cioè l'ultimo numero di sequenza già elaborato dal consumer
+   * @param limit il numero massimo di modifiche richieste
+   * @return la pagina di modifiche con il cursore successivo
+   */
+  @Transactional(readOnly = true)
+  public UserChangesPageDto getChanges(long since, int limit) {
+    int pageSize = Math.min(Math.max(1, limit), maxPageSize);
+    PageRequest page = PageRequest.of(0, pageSize + 1);
+    List<User> users = userRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, page);
+    List<UserTombstone> tombstones =
+        userTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since, page);
+
+    List<UserChangeDto> changes = new ArrayList<>(pageSize);
+    int u = 0;
+    int t = 0;
+    while (changes.size() < pageSize && (u < users.size() || t < tombstones.size())) {
+      boolean takeUser = t >= tombstones.size()
+          || (u < users.size() && users.get(u).getChangeSeq() < tombstones.get(t).getChangeSeq());
+      changes.add(takeUser ? toChange(users.get(u++)) : toChange(tombstones.get(t++)));
+    }
+
+    boolean hasMore = u < users.size() || t < tombstones.size();
+    long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+    return new UserChangesPageDto(changes, nextCursor, hasMore);
+  }
+
+  /**
+   * Numera all'avvio gli utenti creati prima dell'introduzione del feed, un blocco per
+   * transazione.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    try {
+      int total = 0;
+      int stamped;
+      do {
+        stamped = transactionTemplate.execute(status -> stampUnsequencedUsers());
+        total += stamped;
+      } while (stamped == backfillBatchSize);
+
+      if (total > 0) {
+        logger.info("Feed modifiche utenti: numerati {} utenti esistenti", total);
+      }
+    } catch (RuntimeException e) {
+      logger.error("Errore nel backfill del feed modifiche utenti", e);
+    }
+  }
+
+  int stampUnsequencedUsers() {
+    List<User> users = userRepository.findByChangeSeqIsNull(PageRequest.of(0, backfillBatchSize));
+    for (User user : users) {
+      user.setChangeSeq(nextSequence());
+    }
+    userRepository.saveAll(users);
+    return users.size();
+  }
+
+  private long nextSequence() {
+    if (changeSequenceRepository.increment(SEQUENCE_NAME) == 0) {
+      changeSequenceRepository.insertIfAbsent(SEQUENCE_NAME);
+      changeSequenceRepository.increment(SEQUENCE_NAME);
+    }
+    return changeSequenceRepository.current(SEQUENCE_NAME);
+  }
+
+  private UserChangeDto toChange(User user) {
+    return new UserChangeDto(user.getChangeSeq(), user.getId(), CHANGE_UPSERT,
+        user.getUsername(), user.getEmail(), user.getName(), user.getSurname(),
+        user.getRoleName());
+  }
+
+  private UserChangeDto toChange(UserTombstone tombstone) {
+    return new UserChangeDto(tombstone.getChangeSeq(), tombstone.getUserId(), CHANGE_DELETE,
+        null, null, null, null, null);
+  }
+}
@@ -42,6 +42,9 @@ public class UserService {
   @Autowired
   private MessageService messageService;
 
+  @Autowired
+  private UserChangeFeedService userChangeFeedService;
+
   /**
    * Crea un SuperAdmin se non esiste già.
    *
@@ -49,6 +52,7 @@ public class UserService {
    * @return UserDto rappresentante il SuperAdmin creato.
    * @throws InvalidRequestException Se un SuperAdmin esiste già.
    */
+  @Transactional
   public UserDto createSuperAdminIfNotExists(CreateUserDto request) throws InvalidRequestException {
     if (userRepository.countSuperAdmins() > 0) {
       throw new InvalidRequestException("SuperAdmin già esistente");
@@ -59,6 +63,7 @@ public class UserService {
 
     User superAdmin = userConverter.toEntity(request, superAdminRole);
     superAdmin.setId("000000");
+    userChangeFeedService.markChanged(superAdmin);
 
     User savedUser = userRepository.save(superAdmin);
     UserDto userDto = userConverter.toDto(savedUser);
@@ -74,6 +79,7 @@ public class UserService {
    * @return UserDto rappresentante l'utente creato.
    * @throws InvalidRequestException Se l'username o l'email esistono già o se il ruolo non esiste.
    */
+  @Transactional
   public UserDto createUser(CreateUserDto request) throws InvalidRequestException {
     if (userRepository.existsByUsername(request.username())) {
       throw new InvalidRequestException("Username già esistente");
@@ -92,6 +98,7 @@ public class UserService {
     }
 
     User user = userConverter.toEntity(request, role);
+    userChangeFeedService.markChanged(user);
     User savedUser = userRepository.save(user);
     UserDto userDto = userConverter.toDto(savedUser);
 
@@ -179,12 +186,14 @@ public class UserService {
    * @return UserDto rappresentante l'utente aggiornato.
    * @throws UnknownUserException Se l'utente non viene trovato.
    */
+  @Transactional
   public UserDto updateUser(String userId, UpdateUserProfileDto updateData)
       throws UnknownUserException {
     User user = userRepository.findById(userId)
         .orElseThrow(() -> new UnknownUserException("Utente non trovato"));
 
     userConverter.updateEntity(user, updateData);
+    userChangeFeedService.markChanged(user);
     User savedUser = userRepository.save(user);
     UserDto userDto = userConverter.toDto(savedUser);
 
@@ -198,10 +207,12 @@ public class UserService {
    * @param userId ID dell'utente da eliminare.
    * @return true se l'utente è stato eliminato, false se l'utente non esiste.
    */
+  @Transactional
   public boolean deleteUser(String userId) {
     Optional<User> user = userRepository.findById(userId);
     if (user.isPresent()) {
       userRepository.delete(user.get());
+      userChangeFeedService.recordDeletion(userId);
       messageService.publishUserDeleted(userId);
       return true;
     }
@@ -232,6 +243,7 @@ public class UserService {
    * @return UserProfileDto contenente i dati del profilo aggiornato.
    * @throws UnknownUserException Se l'utente non viene trovato.
    */
+  @Transactional
   public UserProfileDto updateCurrentUserProfile(String token, UpdateUserProfileDto updateData)
       throws UnknownUserException {
     String userId = tokenService.extractUserId(token);
@@ -239,6 +251,7 @@ public class UserService {
         .orElseThrow(() -> new UnknownUserException("Utente non trovato"));
 
     userConverter.updateEntity(user, updateData);
+    userChangeFeedService.markChanged(user);
     User savedUser = userRepository.save(user);
     UserProfileDto profile = userConverter.toProfileDto(savedUser);
 
@@ -0,0 +1,101 @@
+package it.unimol.microserviceuserrole.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadReplicaDataSourceConfigTest {
+
+  private final ReadReplicaDataSourceConfig config = new ReadReplicaDataSourceConfig();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    DataSourceProperties dataSourceProperties = new DataSourceProperties();
+    dataSourceProperties.setUrl("jdbc:h2:mem:primary-" + UUID.randomUUID());
+    dataSourceProperties.setUsername("sa");
+    dataSourceProperties.setPassword("");
+    dataSourceProperties.afterPropertiesSet();
+
+    ReadReplicaProperties.Target target = new ReadReplicaProperties.Target();
+    target.setName("replica-1");
+    target.setUrl("jdbc:h2:mem:replica-" + UUID.randomUUID());
+    target.setMaximumPoolSize(3);
+    ReadReplicaProperties replicaProperties = new ReadReplicaProperties();
+    replicaProperties.setTargets(List.of(target));
+    replicaProperties.setLagQuery("SELECT 0");
+
+    MockEnvironment environment = new MockEnvironment()
+        .withProperty("spring.datasource.hikari.maximum-pool-size", "4")
+        .withProperty("spring.datasource.hikari.pool-name", "ignored");
+
+    routing = config.replicaRoutingDataSource(dataSourceProperties, replicaProperties,
+        environment, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    routing.close();
+  }
+
+  @Test
+  void testReplicaRoutingDataSource_CreatesOnePoolPerTarget() {
+    HikariDataSource primary = assertInstanceOf(HikariDataSource.class, routing.getPrimary());
+    assertEquals(ReplicaRoutingDataSource.PRIMARY, primary.getPoolName());
+    assertEquals(4, primary.getMaximumPoolSize());
+
+    routing.checkLag();
+    DataSource dataSource = config.dataSource(routing);
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transaction.setReadOnly(true);
+    transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT 1",
+        Integer.class));
+
+    assertEquals(1, meterRegistry.get(ReplicaRoutingDataSource.ROUTE_METRIC)
+        .tag("target", "replica-1").counter().count());
+    assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-1").gauge());
+    assertEquals(0.0, meterRegistry.get(ReplicaRoutingDataSource.LAG_METRIC)
+        .tag("replica", "replica-1").gauge().value());
+  }
+
+  @Test
+  void testDataSource_IsLazyProxyOverRouting() {
+    DataSource dataSource = config.dataSource(routing);
+
+    LazyConnectionDataSourceProxy proxy =
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+    assertEquals(routing, proxy.getTargetDataSource());
+  }
+
+  @Test
+  void testConnectionHandling_ReleasesAfterTransaction() {
+    Map<String, Object> properties = new HashMap<>();
+
+    config.replicaConnectionHandlingCustomizer().customize(properties);
+
+    assertEquals(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION,
+        properties.get(AvailableSettings.CONNECTION_HANDLING));
+  }
+}
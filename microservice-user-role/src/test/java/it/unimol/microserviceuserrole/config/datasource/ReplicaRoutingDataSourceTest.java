@@ -0,0 +1,159 @@
+package it.unimol.microserviceuserrole.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+  private static final String LAG_QUERY = "SELECT lag_ms FROM replica_lag";
+
+  private SimpleMeterRegistry meterRegistry;
+  private DataSource primary;
+  private DataSource replica1;
+  private DataSource replica2;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    primary = database("primary");
+    replica1 = database("replica-1");
+    replica2 = database("replica-2");
+  }
+
+  @Test
+  void testReadOnlyTransaction_GoesToReplica() {
+    ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica1), false);
+    routing.checkLag();
+    DataSource dataSource = proxy(routing);
+
+    assertEquals("replica-1", read(dataSource, true, null));
+    assertEquals("primary", read(dataSource, false, null));
+    assertEquals("primary", new JdbcTemplate(dataSource)
+        .queryForObject("SELECT name FROM marker", String.class));
+    assertEquals(1, routeCount("replica-1", "read-only"));
+  }
+
+  @Test
+  void testReplicaWithoutLagMeasure_FallsBackToPrimary() {
+    ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica1), false);
+    DataSource dataSource = proxy(routing);
+
+    assertEquals("primary", read(dataSource, true, null));
+    assertEquals(1, routeCount(ReplicaRoutingDataSource.PRIMARY, "fallback"));
+    assertTrue(Double.isNaN(lagGauge("replica-1")));
+  }
+
+  @Test
+  void testLaggingReplica_IsSkipped() {
+    new JdbcTemplate(replica1).update("UPDATE replica_lag SET lag_ms = 60000");
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-1", replica1);
+    replicas.put("replica-2", replica2);
+    ReplicaRoutingDataSource routing = routing(replicas, false);
+    routing.checkLag();
+    DataSource dataSource = proxy(routing);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals("replica-2", read(dataSource, true, null));
+    }
+    assertEquals(60000.0, lagGauge("replica-1"));
+  }
+
+  @Test
+  void testHealthyReplicas_AreUsedInRotation() {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-1", replica1);
+    replicas.put("replica-2", replica2);
+    ReplicaRoutingDataSource routing = routing(replicas, false);
+    routing.checkLag();
+    DataSource dataSource = proxy(routing);
+
+    for (int i = 0; i < 4; i++) {
+      read(dataSource, true, null);
+    }
+
+    assertEquals(2, routeCount("replica-1", "read-only"));
+    assertEquals(2, routeCount("replica-2", "read-only"));
+  }
+
+  @Test
+  void testUnreachableReplica_IsExcludedAfterLagCheck() {
+    DataSource unreachable = new DriverManagerDataSource(
+        "jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+    ReplicaRoutingDataSource routing = routing(Map.of("replica-1", unreachable), false);
+    routing.checkLag();
+    DataSource dataSource = proxy(routing);
+
+    assertEquals("primary", read(dataSource, true, null));
+    assertTrue(Double.isNaN(lagGauge("replica-1")));
+  }
+
+  @Test
+  void testRepositoryTransaction_StaysOnPrimaryUnlessEnabled() {
+    String repositoryTransaction =
+        "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+    ReplicaRoutingDataSource routing = routing(Map.of("replica-1", replica1), false);
+    routing.checkLag();
+    DataSource dataSource = proxy(routing);
+    assertEquals("primary", read(dataSource, true, repositoryTransaction));
+    assertEquals(1, routeCount(ReplicaRoutingDataSource.PRIMARY, "repository"));
+
+    ReplicaRoutingDataSource repositoryReads = routing(Map.of("replica-1", replica1), true);
+    repositoryReads.checkLag();
+    DataSource replicaDataSource = proxy(repositoryReads);
+    assertEquals("replica-1", read(replicaDataSource, true, repositoryTransaction));
+  }
+
+  private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas,
+      boolean repositoryReads) {
+    return new ReplicaRoutingDataSource(primary, replicas, 5000, LAG_QUERY, repositoryReads,
+        meterRegistry);
+  }
+
+  private static DataSource proxy(ReplicaRoutingDataSource routing) {
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  private static String read(DataSource dataSource, boolean readOnly, String transactionName) {
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transaction.setReadOnly(readOnly);
+    transaction.setName(transactionName);
+    return transaction.execute(status -> new JdbcTemplate(dataSource)
+        .queryForObject("SELECT name FROM marker", String.class));
+  }
+
+  private double routeCount(String target, String reason) {
+    return meterRegistry.get(ReplicaRoutingDataSource.ROUTE_METRIC)
+        .tag("target", target).tag("reason", reason).counter().count();
+  }
+
+  private double lagGauge(String replica) {
+    return meterRegistry.get(ReplicaRoutingDataSource.LAG_METRIC)
+        .tag("replica", replica).gauge().value();
+  }
+
+  private static DataSource database(String name) {
+    DataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE marker (name VARCHAR(32))");
+    jdbc.update("INSERT INTO marker VALUES (?)", name);
+    jdbc.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+    jdbc.update("INSERT INTO replica_lag VALUES (0)");
+    return dataSource;
+  }
+}
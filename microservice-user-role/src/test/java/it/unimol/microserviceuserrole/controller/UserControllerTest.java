@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -17,6 +19,8 @@ import it.unimol.microserviceuserrole.dto.role.AssignRoleDto;
 import it.unimol.microserviceuserrole.dto.role.RoleDto;
 import it.unimol.microserviceuserrole.dto.user.CreateUserDto;
 import it.unimol.microserviceuserrole.dto.user.UpdateUserProfileDto;
+import it.unimol.microserviceuserrole.dto.user.UserChangeDto;
+import it.unimol.microserviceuserrole.dto.user.UserChangesPageDto;
 import it.unimol.microserviceuserrole.dto.user.UserDto;
 import it.unimol.microserviceuserrole.dto.user.UserProfileDto;
 import it.unimol.microserviceuserrole.enums.RoleType;
@@ -24,6 +28,7 @@ import it.unimol.microserviceuserrole.exceptions.InvalidRequestException;
 import it.unimol.microserviceuserrole.exceptions.UnknownUserException;
 import it.unimol.microserviceuserrole.service.RoleService;
 import it.unimol.microserviceuserrole.service.TokenJwtService;
+import it.unimol.microserviceuserrole.service.UserChangeFeedService;
 import it.unimol.microserviceuserrole.service.UserService;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -51,6 +56,9 @@ class UserControllerTest {
   @Mock
   private TokenJwtService tokenService;
 
+  @Mock
+  private UserChangeFeedService userChangeFeedService;
+
   @InjectMocks
   private UserController userController;
 
@@ -266,6 +274,57 @@ class UserControllerTest {
     assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
   }
 
+  // ========== USER CHANGES TESTS ==========
+
+  @Test
+  void testGetUserChanges_Success() {
+    // Arrange
+    UserChangesPageDto page = new UserChangesPageDto(List.of(new UserChangeDto(5L, "user123",
+        "UPSERT", "testuser", "test@example.com", "John", "Doe", "STUDENT")), 5L, false);
+    when(tokenService.extractTokenFromHeader(authHeader)).thenReturn(token);
+    doNothing().when(roleService).checkRole(token, RoleType.ADMIN);
+    when(userChangeFeedService.getChanges(4L, 100)).thenReturn(page);
+
+    // Act
+    ResponseEntity<UserChangesPageDto> response =
+        userController.getUserChanges(authHeader, 4L, 100);
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(page, response.getBody());
+  }
+
+  @Test
+  void testGetUserChanges_Forbidden() {
+    // Arrange
+    when(tokenService.extractTokenFromHeader(authHeader)).thenReturn(token);
+    doThrow(new SecurityException("Insufficient permissions"))
+        .when(roleService).checkRole(token, RoleType.ADMIN);
+
+    // Act
+    ResponseEntity<UserChangesPageDto> response =
+        userController.getUserChanges(authHeader, 0L, 100);
+
+    // Assert
+    assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    verify(userChangeFeedService, never()).getChanges(anyLong(), anyInt());
+  }
+
+  @Test
+  void testGetUserChanges_NegativeCursor() {
+    // Arrange
+    when(tokenService.extractTokenFromHeader(authHeader)).thenReturn(token);
+    doNothing().when(roleService).checkRole(token, RoleType.ADMIN);
+
+    // Act
+    ResponseEntity<UserChangesPageDto> response =
+        userController.getUserChanges(authHeader, -1L, 100);
+
+    // Assert
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    verify(userChangeFeedService, never()).getChanges(anyLong(), anyInt());
+  }
+
   // ========== GET USER BY ID TESTS ==========
 
   @Test
@@ -0,0 +1,94 @@
+package it.unimol.microserviceuserrole.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import it.unimol.microserviceuserrole.config.TestRabbitConfig;
+import it.unimol.microserviceuserrole.model.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "l2cache"})
+@Import(TestRabbitConfig.class)
+class RoleRepositoryL2CacheTest {
+
+  private static final String ROLE_ID = "L2CACHE_TEST";
+  private static final String ROLE_NAME = "L2CACHE_TEST_ROLE";
+
+  @Autowired
+  private RoleRepository roleRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transaction;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    transaction = new TransactionTemplate(transactionManager);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    roleRepository.save(new Role(ROLE_ID, ROLE_NAME, "Ruolo di test"));
+    statistics.clear();
+  }
+
+  @Test
+  void testFindById_IsServedFromEntityCache() {
+    for (int i = 0; i < 3; i++) {
+      transaction.executeWithoutResult(status -> roleRepository.findById(ROLE_ID));
+    }
+
+    assertEquals(3L, statistics.getDomainDataRegionStatistics(Role.CACHE_REGION).getHitCount());
+    assertEquals(0L, statistics.getEntityLoadCount());
+    assertEquals(0L, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void testFindByName_IsServedFromQueryCache() {
+    for (int i = 0; i < 3; i++) {
+      transaction.executeWithoutResult(status -> roleRepository.findByName(ROLE_NAME));
+    }
+
+    assertEquals(1L, statistics.getQueryCacheMissCount());
+    assertEquals(2L, statistics.getQueryCacheHitCount());
+    assertEquals(1L, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void testBulkUpdate_InvalidatesEntityAndQueryCache() {
+    transaction.executeWithoutResult(status -> roleRepository.findByName(ROLE_NAME));
+    transaction.executeWithoutResult(status -> roleRepository.findById(ROLE_ID));
+
+    transaction.executeWithoutResult(status -> entityManager
+        .createQuery("UPDATE Role r SET r.description = :description WHERE r.id = :id")
+        .setParameter("description", "Descrizione aggiornata")
+        .setParameter("id", ROLE_ID)
+        .executeUpdate());
+    statistics.clear();
+
+    Role byName = transaction.execute(status -> roleRepository.findByName(ROLE_NAME)
+        .orElseThrow());
+    Role byId = transaction.execute(status -> roleRepository.findById(ROLE_ID).orElseThrow());
+
+    assertEquals("Descrizione aggiornata", byName.getDescription());
+    assertEquals("Descrizione aggiornata", byId.getDescription());
+    assertEquals(0L, statistics.getQueryCacheHitCount());
+    assertEquals(1L, statistics.getQueryCacheMissCount());
+  }
+}
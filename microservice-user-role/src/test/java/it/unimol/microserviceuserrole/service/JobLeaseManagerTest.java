@@ -0,0 +1,202 @@
+package it.unimol.microserviceuserrole.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.unimol.microserviceuserrole.exceptions.LeaseLostException;
+import it.unimol.microserviceuserrole.repository.JobLeaseRepository;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeaseManagerTest {
+
+  private static final String JOB = "test-job";
+  private static final String OWNER = "replica-1";
+
+  @Mock
+  private JobLeaseRepository jobLeaseRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private JobLeaseManager manager;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    manager = new JobLeaseManager(jobLeaseRepository, meterRegistry, 15_000L, 1_000L, 5_000L,
+        OWNER);
+  }
+
+  @Test
+  void testRunExclusive_AcquiresLeaseAndRunsJob() {
+    givenLeaseAcquired(7L);
+    AtomicInteger runs = new AtomicInteger();
+
+    assertTrue(manager.runExclusive(JOB, runs::incrementAndGet));
+
+    assertEquals(1, runs.get());
+    assertTrue(manager.isLeader(JOB));
+    assertEquals(OptionalLong.of(7L), manager.getFencingToken(JOB));
+    assertEquals(1.0, meterRegistry.get(JobLeaseManager.RUNS_METRIC)
+        .tag("job", JOB).tag("outcome", "success").counter().count());
+    assertEquals(1.0, meterRegistry.get(JobLeaseManager.LEADER_METRIC)
+        .tag("job", JOB).gauge().value());
+  }
+
+  @Test
+  void testRunExclusive_CreatesMissingLeaseRow() {
+    when(jobLeaseRepository.existsById(JOB)).thenReturn(false);
+    when(jobLeaseRepository.acquire(eq(JOB), eq(OWNER), anyLong(), anyLong())).thenReturn(1);
+    when(jobLeaseRepository.findFencingToken(JOB)).thenReturn(1L);
+
+    manager.runExclusive(JOB, () -> { });
+
+    verify(jobLeaseRepository).insertIfAbsent(JOB);
+  }
+
+  @Test
+  void testRunExclusive_SkippedWhenLeaseHeldElsewhere() {
+    when(jobLeaseRepository.existsById(JOB)).thenReturn(true);
+    when(jobLeaseRepository.acquire(eq(JOB), eq(OWNER), anyLong(), anyLong())).thenReturn(0);
+    AtomicInteger runs = new AtomicInteger();
+
+    assertFalse(manager.runExclusive(JOB, runs::incrementAndGet));
+
+    assertEquals(0, runs.get());
+    assertFalse(manager.isLeader(JOB));
+    assertEquals(OptionalLong.empty(), manager.getFencingToken(JOB));
+    assertEquals(1.0, meterRegistry.get(JobLeaseManager.RUNS_METRIC)
+        .tag("job", JOB).tag("outcome", "skipped").counter().count());
+  }
+
+  @Test
+  void testRunExclusive_ReusesHeldLease() {
+    givenLeaseAcquired(3L);
+
+    manager.runExclusive(JOB, () -> { });
+    manager.runExclusive(JOB, () -> { });
+
+    verify(jobLeaseRepository).acquire(eq(JOB), eq(OWNER), anyLong(), anyLong());
+  }
+
+  @Test
+  void testRunExclusive_FailureIsCountedAndRethrown() {
+    givenLeaseAcquired(3L);
+
+    assertThrows(IllegalStateException.class, () -> manager.runExclusive(JOB, () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    assertEquals(1.0, meterRegistry.get(JobLeaseManager.RUNS_METRIC)
+        .tag("job", JOB).tag("outcome", "failure").counter().count());
+  }
+
+  @Test
+  void testHeartbeat_RenewsHeldLease() {
+    givenLeaseAcquired(5L);
+    manager.runExclusive(JOB, () -> { });
+    when(jobLeaseRepository.renew(eq(JOB), eq(OWNER), eq(5L), anyLong(), anyLong()))
+        .thenReturn(1);
+
+    manager.heartbeat();
+
+    assertTrue(manager.isLeader(JOB));
+  }
+
+  @Test
+  void testHeartbeat_LostLeaseStopsLeadership() {
+    givenLeaseAcquired(5L);
+    manager.runExclusive(JOB, () -> { });
+    when(jobLeaseRepository.renew(eq(JOB), eq(OWNER), eq(5L), anyLong(), anyLong()))
+        .thenReturn(0);
+
+    manager.heartbeat();
+
+    assertFalse(manager.isLeader(JOB));
+    assertEquals(1.0, meterRegistry.get(JobLeaseManager.TRANSITIONS_METRIC)
+        .tag("job", JOB).tag("event", "lost").counter().count());
+  }
+
+  @Test
+  void testHeartbeat_StandbyTakesOverExpiredLease() {
+    when(jobLeaseRepository.existsById(JOB)).thenReturn(true);
+    when(jobLeaseRepository.acquire(eq(JOB), eq(OWNER), anyLong(), anyLong()))
+        .thenReturn(0, 1);
+    when(jobLeaseRepository.findFencingToken(JOB)).thenReturn(9L);
+    manager.runExclusive(JOB, () -> { });
+
+    manager.heartbeat();
+
+    assertTrue(manager.isLeader(JOB));
+    assertEquals(OptionalLong.of(9L), manager.getFencingToken(JOB));
+  }
+
+  @Test
+  void testReleaseAll_ReleasesHeldLeases() {
+    givenLeaseAcquired(4L);
+    manager.runExclusive(JOB, () -> { });
+    when(jobLeaseRepository.release(JOB, OWNER, 4L)).thenReturn(1);
+
+    manager.releaseAll();
+
+    verify(jobLeaseRepository).release(JOB, OWNER, 4L);
+    assertFalse(manager.isLeader(JOB));
+  }
+
+  @Test
+  void testConfirmLease_RenewsWithHeldFencingToken() {
+    givenLeaseAcquired(4L);
+    manager.runExclusive(JOB, () -> { });
+    when(jobLeaseRepository.renew(eq(JOB), eq(OWNER), eq(4L), anyLong(), anyLong()))
+        .thenReturn(1);
+
+    manager.confirmLease(JOB);
+
+    verify(jobLeaseRepository).renew(eq(JOB), eq(OWNER), eq(4L), anyLong(), anyLong());
+  }
+
+  @Test
+  void testConfirmLease_ThrowsWhenLeaseIsLost() {
+    givenLeaseAcquired(4L);
+    manager.runExclusive(JOB, () -> { });
+    when(jobLeaseRepository.renew(eq(JOB), eq(OWNER), eq(4L), anyLong(), anyLong()))
+        .thenReturn(0);
+
+    assertThrows(LeaseLostException.class, () -> manager.confirmLease(JOB));
+    assertThrows(LeaseLostException.class, () -> manager.confirmLease("other-job"));
+  }
+
+  @Test
+  void testStartHeartbeat_RenewsOnDedicatedThreadUntilRelease() {
+    manager = new JobLeaseManager(jobLeaseRepository, meterRegistry, 15_000L, 1_000L, 10L, OWNER);
+    givenLeaseAcquired(4L);
+    manager.runExclusive(JOB, () -> { });
+    when(jobLeaseRepository.renew(eq(JOB), eq(OWNER), eq(4L), anyLong(), anyLong()))
+        .thenReturn(1);
+
+    manager.startHeartbeat();
+
+    verify(jobLeaseRepository, timeout(2_000L).atLeast(2))
+        .renew(eq(JOB), eq(OWNER), eq(4L), anyLong(), anyLong());
+    manager.releaseAll();
+  }
+
+  private void givenLeaseAcquired(long token) {
+    when(jobLeaseRepository.existsById(JOB)).thenReturn(true);
+    when(jobLeaseRepository.acquire(eq(JOB), eq(OWNER), anyLong(), anyLong())).thenReturn(1);
+    when(jobLeaseRepository.findFencingToken(JOB)).thenReturn(token);
+  }
+}
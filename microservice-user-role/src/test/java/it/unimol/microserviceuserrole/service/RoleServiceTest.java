@@ -51,6 +51,9 @@ class RoleServiceTest {
   @Mock
   private MessageService messageService;
 
+  @Mock
+  private UserChangeFeedService userChangeFeedService;
+
   @InjectMocks
   private RoleService roleService;
 
@@ -0,0 +1,159 @@
+package it.unimol.microserviceuserrole.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import it.unimol.microserviceuserrole.dto.user.UserChangeDto;
+import it.unimol.microserviceuserrole.dto.user.UserChangesPageDto;
+import it.unimol.microserviceuserrole.model.Role;
+import it.unimol.microserviceuserrole.model.User;
+import it.unimol.microserviceuserrole.model.UserTombstone;
+import it.unimol.microserviceuserrole.repository.ChangeSequenceRepository;
+import it.unimol.microserviceuserrole.repository.UserRepository;
+import it.unimol.microserviceuserrole.repository.UserTombstoneRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeFeedServiceTest {
+
+  @Mock
+  private ChangeSequenceRepository changeSequenceRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private UserTombstoneRepository userTombstoneRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private UserChangeFeedService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new UserChangeFeedService(changeSequenceRepository, userRepository,
+        userTombstoneRepository, transactionManager, 3, 2);
+  }
+
+  private User user(String id, long seq) {
+    User user = new User(id, id, id + "@example.com", "Mario", "Rossi", "hash",
+        new Role("STUDENT", "STUDENT", "Studente"));
+    user.setChangeSeq(seq);
+    return user;
+  }
+
+  @Test
+  void testMarkChanged_AssignsNextSequence() {
+    when(changeSequenceRepository.increment(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(1);
+    when(changeSequenceRepository.current(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(42L);
+    User user = new User();
+
+    service.markChanged(user);
+
+    assertEquals(42L, user.getChangeSeq());
+    verify(changeSequenceRepository, never()).insertIfAbsent(any());
+  }
+
+  @Test
+  void testMarkChanged_CreatesMissingSequence() {
+    when(changeSequenceRepository.increment(UserChangeFeedService.SEQUENCE_NAME))
+        .thenReturn(0, 1);
+    when(changeSequenceRepository.current(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(1L);
+    User user = new User();
+
+    service.markChanged(user);
+
+    verify(changeSequenceRepository).insertIfAbsent(UserChangeFeedService.SEQUENCE_NAME);
+    assertEquals(1L, user.getChangeSeq());
+  }
+
+  @Test
+  void testRecordDeletion_SavesTombstoneWithSequence() {
+    when(changeSequenceRepository.increment(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(1);
+    when(changeSequenceRepository.current(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(7L);
+
+    service.recordDeletion("user1");
+
+    ArgumentCaptor<UserTombstone> tombstone = ArgumentCaptor.forClass(UserTombstone.class);
+    verify(userTombstoneRepository).save(tombstone.capture());
+    assertEquals("user1", tombstone.getValue().getUserId());
+    assertEquals(7L, tombstone.getValue().getChangeSeq());
+  }
+
+  @Test
+  void testGetChanges_MergesUsersAndTombstonesInSequenceOrder() {
+    when(userRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L), any(Pageable.class)))
+        .thenReturn(List.of(user("u1", 11), user("u3", 14)));
+    when(userTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(eq(10L),
+        any(Pageable.class))).thenReturn(List.of(new UserTombstone("u2", 12)));
+
+    UserChangesPageDto page = service.getChanges(10L, 100);
+
+    assertEquals(List.of(11L, 12L, 14L), page.changes().stream().map(UserChangeDto::seq).toList());
+    UserChangeDto deletion = page.changes().get(1);
+    assertEquals(UserChangeFeedService.CHANGE_DELETE, deletion.changeType());
+    assertNull(deletion.email());
+    assertEquals("STUDENT", page.changes().get(0).roleName());
+    assertEquals(14L, page.nextCursor());
+    assertFalse(page.hasMore());
+  }
+
+  @Test
+  void testGetChanges_LimitIsCappedAndReportsMore() {
+    when(userRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(anyLong(),
+        any(Pageable.class)))
+        .thenReturn(List.of(user("u1", 1), user("u2", 2), user("u3", 3), user("u4", 4)));
+    when(userTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(anyLong(),
+        any(Pageable.class))).thenReturn(List.of());
+
+    UserChangesPageDto page = service.getChanges(0L, 100);
+
+    assertEquals(3, page.changes().size());
+    assertEquals(3L, page.nextCursor());
+    assertTrue(page.hasMore());
+  }
+
+  @Test
+  void testGetChanges_EmptyKeepsCursor() {
+    when(userRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(anyLong(),
+        any(Pageable.class))).thenReturn(List.of());
+    when(userTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(anyLong(),
+        any(Pageable.class))).thenReturn(List.of());
+
+    UserChangesPageDto page = service.getChanges(25L, 10);
+
+    assertTrue(page.changes().isEmpty());
+    assertEquals(25L, page.nextCursor());
+    assertFalse(page.hasMore());
+  }
+
+  @Test
+  void testStampUnsequencedUsers_AssignsSequenceToLegacyUsers() {
+    User legacy = new User();
+    when(userRepository.findByChangeSeqIsNull(any(Pageable.class))).thenReturn(List.of(legacy));
+    when(changeSequenceRepository.increment(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(1);
+    when(changeSequenceRepository.current(UserChangeFeedService.SEQUENCE_NAME)).thenReturn(3L);
+
+    assertEquals(1, service.stampUnsequencedUsers());
+
+    assertEquals(3L, legacy.getChangeSeq());
+    verify(userRepository).saveAll(List.of(legacy));
+  }
+}
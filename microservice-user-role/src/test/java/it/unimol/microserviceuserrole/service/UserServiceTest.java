@@ -53,6 +53,9 @@ class UserServiceTest {
   @Mock
   private MessageService messageService;
 
+  @Mock
+  private UserChangeFeedService userChangeFeedService;
+
   @InjectMocks
   private UserService userService;
 
@@ -336,6 +339,7 @@ class UserServiceTest {
     // Assert
     assertTrue(result);
     verify(userRepository).delete(testUser);
+    verify(userChangeFeedService).recordDeletion("user123");
     verify(messageService).publishUserDeleted("user123");
   }
 